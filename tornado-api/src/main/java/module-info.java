@@ -15,13 +15,18 @@
  * limitations under the License.
  *
  */
+import uk.ac.manchester.tornado.api.metrics.TornadoMetricsListener;
+
 module tornado.api {
+    requires jdk.jfr;
+
     exports uk.ac.manchester.tornado.api;
     exports uk.ac.manchester.tornado.api.annotations;
     exports uk.ac.manchester.tornado.api.common;
     exports uk.ac.manchester.tornado.api.enums;
     exports uk.ac.manchester.tornado.api.exceptions;
     exports uk.ac.manchester.tornado.api.memory;
+    exports uk.ac.manchester.tornado.api.metrics;
     exports uk.ac.manchester.tornado.api.profiler;
     exports uk.ac.manchester.tornado.api.runtime;
     exports uk.ac.manchester.tornado.api.internal.annotations;
@@ -52,4 +57,6 @@ module tornado.api {
     opens uk.ac.manchester.tornado.api.runtime;
     exports uk.ac.manchester.tornado.api.plan.types;
     opens uk.ac.manchester.tornado.api.plan.types;
+
+    uses TornadoMetricsListener;
 }
@@ -17,6 +17,9 @@
  */
 package uk.ac.manchester.tornado.api;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 import uk.ac.manchester.tornado.api.common.TornadoDevice;
 import uk.ac.manchester.tornado.api.enums.ProfilerMode;
 import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
@@ -50,6 +53,10 @@ public class ImmutableTaskGraph {
         this.taskGraph.execute(executionPackage);
     }
 
+    CompletableFuture<Void> executeAsync(ExecutorFrame executionPackage, Executor executor) {
+        return this.taskGraph.executeAsync(executionPackage, executor);
+    }
+
     void warmup(ExecutorFrame executionPackage) {
         taskGraph.warmup(executionPackage);
     }
@@ -150,8 +157,8 @@ public class ImmutableTaskGraph {
         taskGraph.useDefaultThreadScheduler(useDefaultScheduler);
     }
 
-    void withBatch(String batchSize) {
-        taskGraph.batch(batchSize);
+    void withBatch(String batchSize, Object... broadcastObjects) {
+        taskGraph.batch(batchSize, broadcastObjects);
     }
 
     void withMemoryLimit(String memoryLimit) {
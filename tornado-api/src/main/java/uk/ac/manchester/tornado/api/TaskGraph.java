@@ -20,6 +20,8 @@ package uk.ac.manchester.tornado.api;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import uk.ac.manchester.tornado.api.common.PrebuiltTaskPackage;
 import uk.ac.manchester.tornado.api.common.TaskPackage;
@@ -786,8 +788,8 @@ public class TaskGraph implements TaskGraphInterface {
         taskGraphImpl.setDevice(taskName, device);
     }
 
-    void batch(String batchSize) {
-        taskGraphImpl.withBatch(batchSize);
+    void batch(String batchSize, Object... broadcastObjects) {
+        taskGraphImpl.withBatch(batchSize, broadcastObjects);
     }
 
     void withMemoryLimit(String memoryLimit) {
@@ -798,6 +800,10 @@ public class TaskGraph implements TaskGraphInterface {
         taskGraphImpl.execute(executionPackage).waitOn();
     }
 
+    CompletableFuture<Void> executeAsync(ExecutorFrame executionPackage, Executor executor) {
+        return taskGraphImpl.executeAsync(executionPackage, executor);
+    }
+
     void warmup(ExecutorFrame executionPackage) {
         taskGraphImpl.warmup(executionPackage);
     }
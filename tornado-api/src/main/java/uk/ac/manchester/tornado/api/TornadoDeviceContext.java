@@ -51,4 +51,13 @@ public interface TornadoDeviceContext {
     int getDriverIndex();
 
     Set<Long> getRegisteredPlanIds();
+
+    /**
+     * Returns the number of native command queues (or streams) created by the
+     * device context. Backends that create one queue per execution plan return the
+     * number of registered plans.
+     */
+    default int getNumCommandQueues() {
+        return getRegisteredPlanIds().size();
+    }
 }
@@ -18,8 +18,14 @@
 package uk.ac.manchester.tornado.api;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 import uk.ac.manchester.tornado.api.common.TornadoDevice;
@@ -27,6 +33,7 @@ import uk.ac.manchester.tornado.api.enums.ProfilerMode;
 import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
 import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.plan.types.OffCoExecution;
 import uk.ac.manchester.tornado.api.plan.types.OffConcurrentDevices;
 import uk.ac.manchester.tornado.api.plan.types.OffMemoryLimit;
 import uk.ac.manchester.tornado.api.plan.types.OffPrintKernel;
@@ -35,6 +42,7 @@ import uk.ac.manchester.tornado.api.plan.types.OffThreadInfo;
 import uk.ac.manchester.tornado.api.plan.types.WithAllGraphs;
 import uk.ac.manchester.tornado.api.plan.types.WithBatch;
 import uk.ac.manchester.tornado.api.plan.types.WithClearProfiles;
+import uk.ac.manchester.tornado.api.plan.types.WithCoExecution;
 import uk.ac.manchester.tornado.api.plan.types.WithCompilerFlags;
 import uk.ac.manchester.tornado.api.plan.types.WithConcurrentDevices;
 import uk.ac.manchester.tornado.api.plan.types.WithDefaultScheduler;
@@ -97,6 +105,13 @@ public sealed class TornadoExecutionPlan implements AutoCloseable permits Execut
 
     protected List<TornadoExecutionResult> planResults;
 
+    /**
+     * Tail of the chain of asynchronous executions submitted for this plan. It is
+     * only used from the root node, since all nodes of a plan share the same
+     * executor.
+     */
+    private CompletableFuture<TornadoExecutionResult> lastAsyncExecution;
+
     /**
      * Create an Execution Plan: Object to create and optimize an execution plan for
      * running a set of immutable tasks-graphs. An executor plan contains an
@@ -113,7 +128,7 @@ public sealed class TornadoExecutionPlan implements AutoCloseable permits Execut
         executionFrame = new ExecutorFrame(id);
         updateAccess(immutableTaskGraphs);
         rootNode = this;
-        planResults = new ArrayList<>();
+        planResults = Collections.synchronizedList(new ArrayList<>());
     }
 
     /**
@@ -177,12 +192,65 @@ public sealed class TornadoExecutionPlan implements AutoCloseable permits Execut
      */
     public TornadoExecutionResult execute() {
         tornadoExecutor.execute(executionFrame);
+        return createExecutionResult();
+    }
+
+    private TornadoExecutionResult createExecutionResult() {
         TornadoProfilerResult profilerResult = new TornadoProfilerResult(tornadoExecutor, this.getTraceExecutionPlan());
         TornadoExecutionResult executionResult = new TornadoExecutionResult(profilerResult);
         planResults.add(executionResult);
         return executionResult;
     }
 
+    /**
+     * Execute an execution plan without blocking the calling thread. The
+     * commands are dispatched from a runtime-wide pool of worker threads
+     * (configurable with {@code -Dtornado.execution.async.threads=N}), and the
+     * returned future is completed with the {@link TornadoExecutionResult}
+     * once all device-to-host transfers of the plan have finished. Completion is
+     * signalled by the device (event callbacks in OpenCL, host functions in
+     * CUDA), so no worker thread is blocked while the plan runs on the device.
+     *
+     * <p>
+     * Asynchronous executions of the same plan are serialized in submission
+     * order, so the caller can prepare the input data of the next execution
+     * while the current one is running on the device. Calls to
+     * {@link #execute()} on the same plan while an asynchronous execution is
+     * pending are not ordered with respect to it.
+     * </p>
+     *
+     * @since 1.0.11
+     * @return {@link CompletableFuture} of {@link TornadoExecutionResult}
+     */
+    public CompletableFuture<TornadoExecutionResult> executeAsync() {
+        return executeAsync(AsyncExecutionPool.EXECUTOR);
+    }
+
+    /**
+     * Execute an execution plan without blocking the calling thread, using the
+     * given {@link Executor} to dispatch the execution and to complete the
+     * returned future. Executions of the same plan are serialized in submission
+     * order.
+     *
+     * @param executor
+     *     {@link Executor} used to dispatch the execution plan.
+     * @since 1.0.11
+     * @return {@link CompletableFuture} of {@link TornadoExecutionResult}
+     */
+    public CompletableFuture<TornadoExecutionResult> executeAsync(Executor executor) {
+        Objects.requireNonNull(executor);
+        synchronized (rootNode) {
+            CompletableFuture<TornadoExecutionResult> previous = rootNode.lastAsyncExecution;
+            // Wait for the previous execution, even if it failed, before launching the next one
+            CompletableFuture<Void> ready = (previous == null) ? CompletableFuture.completedFuture(null) : previous.handle((result, error) -> null);
+            CompletableFuture<TornadoExecutionResult> next = ready //
+                    .thenComposeAsync(ignored -> tornadoExecutor.executeAsync(executionFrame, executor), executor) //
+                    .thenApply(ignored -> createExecutionResult());
+            rootNode.lastAsyncExecution = next;
+            return next;
+        }
+    }
+
     /**
      * Select a graph from the {@link TornadoExecutionPlan} to execute.
      * This method allows developers to select a specific graph from the
@@ -377,15 +445,67 @@ public sealed class TornadoExecutionPlan implements AutoCloseable permits Execut
      * users want to execute big data applications that do not fit on the device's
      * global memory.
      *
+     * <p>
+     * All objects are split in batches that advance the same number of elements,
+     * even if their element types differ. Read-only objects with a different
+     * number of elements (e.g., lookup tables) can be passed as broadcast
+     * objects: they are transferred whole, only once, and shared by all
+     * batches.
+     * </p>
+     *
      * @param batchSize
      *     String in the format a number + "MB" Example "512MB".
+     * @param broadcastObjects
+     *     Read-only objects that are not split in batches.
      * @return {@link TornadoExecutionPlan}
      */
-    public TornadoExecutionPlan withBatch(String batchSize) {
-        tornadoExecutor.withBatch(batchSize);
+    public TornadoExecutionPlan withBatch(String batchSize, Object... broadcastObjects) {
+        tornadoExecutor.withBatch(batchSize, broadcastObjects);
         return new WithBatch(this, batchSize);
     }
 
+    /**
+     * Enable co-execution. TornadoVM splits the iteration space of the task-graph
+     * across all participants (the given devices and, optionally, the host JVM)
+     * and runs every partition concurrently. Partition sizes start equal and are
+     * rebalanced between invocations according to the throughput measured for
+     * each participant. The partial results are merged back into the user
+     * arrays.
+     *
+     * <p>
+     * Co-execution follows the same contract as batch processing: the tasks must
+     * be element-wise over arrays with the same number of elements. Read-only
+     * arrays with a different number of elements are passed whole to every
+     * participant. Reductions, prebuilt tasks and the Kernel API are not
+     * supported.
+     * </p>
+     *
+     * @param includeHostJVM
+     *     If true, one partition runs on the host JVM using the Java
+     *     fork-join pool.
+     * @param devices
+     *     Devices to co-execute the task-graph.
+     * @return {@link TornadoExecutionPlan}
+     */
+    public TornadoExecutionPlan withCoExecution(boolean includeHostJVM, TornadoDevice... devices) {
+        if (devices.length == 0 && !includeHostJVM) {
+            throw new TornadoRuntimeException("[ERROR] Co-execution requires at least one participant");
+        }
+        List<TornadoDevice> coExecutionDevices = List.of(devices);
+        executionFrame.withCoExecution(coExecutionDevices, includeHostJVM);
+        return new WithCoExecution(this, includeHostJVM, coExecutionDevices);
+    }
+
+    /**
+     * Disables co-execution if previous execution plan had co-execution enabled.
+     *
+     * @return {@link TornadoExecutionPlan}
+     */
+    public TornadoExecutionPlan withoutCoExecution() {
+        executionFrame.withoutCoExecution();
+        return new OffCoExecution(this);
+    }
+
     /**
      * Enables the profiler. The profiler includes options to query device kernel
      * time, data transfers and compilation at different stages (JIT, driver
@@ -549,6 +669,14 @@ public sealed class TornadoExecutionPlan implements AutoCloseable permits Execut
      */
     @Override
     public void close() throws TornadoExecutionPlanException {
+        CompletableFuture<TornadoExecutionResult> pending;
+        synchronized (rootNode) {
+            pending = rootNode.lastAsyncExecution;
+        }
+        if (pending != null) {
+            // Device buffers cannot be released while an asynchronous execution is in flight
+            pending.handle((result, error) -> result).join();
+        }
         tornadoExecutor.freeDeviceMemory();
     }
 
@@ -593,4 +721,21 @@ public sealed class TornadoExecutionPlan implements AutoCloseable permits Execut
         tornadoExecutor.mapOnDeviceMemoryRegion(destTornadoArray, srcTornadoArray, offset, fromGraphIndex, toGraphIndex);
     }
 
+    /**
+     * Shared pool of daemon threads that dispatches the asynchronous executions of
+     * all execution plans and completes their futures. It is created on the first call to {@link #executeAsync()}.
+     */
+    private static final class AsyncExecutionPool {
+
+        private static final int NUM_THREADS = Integer.parseInt(System.getProperty("tornado.execution.async.threads", Integer.toString(Runtime.getRuntime().availableProcessors())));
+
+        private static final AtomicInteger threadCounter = new AtomicInteger(0);
+
+        private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(Math.max(1, NUM_THREADS), runnable -> {
+            Thread thread = new Thread(runnable, "tornado-async-" + threadCounter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
 }
@@ -20,6 +20,8 @@ package uk.ac.manchester.tornado.api;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import uk.ac.manchester.tornado.api.common.TornadoDevice;
@@ -47,6 +49,18 @@ class TornadoExecutor {
         immutableTaskGraphList.forEach(immutableTaskGraph -> immutableTaskGraph.execute(executionPackage));
     }
 
+    /**
+     * Dispatch the task-graphs in order. Each task-graph is dispatched in the
+     * given executor once the previous one has completed on the device.
+     */
+    CompletableFuture<Void> executeAsync(ExecutorFrame executionPackage, Executor executor) {
+        CompletableFuture<Void> completion = CompletableFuture.completedFuture(null);
+        for (ImmutableTaskGraph immutableTaskGraph : immutableTaskGraphList) {
+            completion = completion.thenComposeAsync(ignored -> immutableTaskGraph.executeAsync(executionPackage, executor), executor);
+        }
+        return completion;
+    }
+
     void withGridScheduler(GridScheduler gridScheduler) {
         immutableTaskGraphList.forEach(immutableTaskGraph -> immutableTaskGraph.withGridScheduler(gridScheduler));
     }
@@ -55,8 +69,8 @@ class TornadoExecutor {
         immutableTaskGraphList.forEach(immutableTaskGraph -> immutableTaskGraph.warmup(executorFrame));
     }
 
-    void withBatch(String batchSize) {
-        immutableTaskGraphList.forEach(immutableTaskGraph -> immutableTaskGraph.withBatch(batchSize));
+    void withBatch(String batchSize, Object... broadcastObjects) {
+        immutableTaskGraphList.forEach(immutableTaskGraph -> immutableTaskGraph.withBatch(batchSize, broadcastObjects));
     }
 
     void withMemoryLimit(String memoryLimit) {
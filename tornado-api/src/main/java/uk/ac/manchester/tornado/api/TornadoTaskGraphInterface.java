@@ -21,6 +21,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 import uk.ac.manchester.tornado.api.common.SchedulableTask;
@@ -50,7 +52,7 @@ public interface TornadoTaskGraphInterface extends ProfilerInterface {
 
     void scheduleInner();
 
-    void withBatch(String batchSize);
+    void withBatch(String batchSize, Object... broadcastObjects);
 
     void withMemoryLimit(String memoryLimit);
 
@@ -92,6 +94,8 @@ public interface TornadoTaskGraphInterface extends ProfilerInterface {
 
     TornadoTaskGraphInterface execute(ExecutorFrame executionPackage);
 
+    CompletableFuture<Void> executeAsync(ExecutorFrame executionPackage, Executor executor);
+
     void addTask(TaskPackage taskPackage);
 
     void addPrebuiltTask(TaskPackage taskPackage);
@@ -34,6 +34,7 @@ import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task6;
 import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task7;
 import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task8;
 import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task9;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 
 public class TaskPackage {
 
@@ -148,6 +149,12 @@ public class TaskPackage {
         this.taskParameters = new Object[] { code, arg1, arg2, arg3, arg4, arg5, arg6, arg7, arg8, arg9, arg10, arg11, arg12, arg13, arg14, arg15 };
     }
 
+    private TaskPackage(String id, int taskType, Object[] taskParameters) {
+        this.id = id;
+        this.taskType = taskType;
+        this.taskParameters = taskParameters;
+    }
+
     public static TaskPackage createPackage(String id, Task code) {
         return new TaskPackage(id, code);
     }
@@ -253,4 +260,27 @@ public class TaskPackage {
         return isPrebuiltTask;
     }
 
+    /**
+     * Creates a new task package that runs the same code with a different list of
+     * arguments. This is used by the runtime when a task-graph is rewritten (e.g.,
+     * to run a task over a partition of its input data).
+     *
+     * @param newId
+     *     Identifier of the new task.
+     * @param arguments
+     *     Arguments to the lambda expression, excluding the code.
+     * @return a new {@link TaskPackage}.
+     */
+    public TaskPackage copyWithArguments(String newId, Object... arguments) {
+        if (isPrebuiltTask() || arguments.length != taskType) {
+            throw new TornadoRuntimeException("[ERROR] Task " + id + " cannot be copied with " + arguments.length + " arguments");
+        }
+        Object[] parameters = new Object[taskType + 1];
+        parameters[0] = taskParameters[0];
+        System.arraycopy(arguments, 0, parameters, 1, taskType);
+        TaskPackage taskPackage = new TaskPackage(newId, taskType, parameters);
+        taskPackage.numThreadsToRun = numThreadsToRun;
+        return taskPackage;
+    }
+
 }
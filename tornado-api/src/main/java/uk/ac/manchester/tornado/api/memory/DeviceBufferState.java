@@ -39,4 +39,24 @@ public interface DeviceBufferState {
 
     long getPartialCopySize();
 
+    /**
+     * @return The version of the dirty ranges of the host array contained in the
+     *     buffer. See {@code TornadoNativeArray#getDirtyRangesVersion()}.
+     */
+    long getDirtyRangesVersion();
+
+    void setDirtyRangesVersion(long version);
+
+    /**
+     * Records the ranges of elements copied by the last transfer to the buffer,
+     * so the copy-in metrics report the bytes of each range.
+     *
+     * @param ranges
+     *     Pairs of start (inclusive) and end (exclusive) element indices, or null
+     *     if the whole object was copied.
+     * @param elementSize
+     *     Size in bytes of each element.
+     */
+    void setCopyInRanges(long[] ranges, long elementSize);
+
 }
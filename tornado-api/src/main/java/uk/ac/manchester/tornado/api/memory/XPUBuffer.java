@@ -51,6 +51,16 @@ public interface XPUBuffer {
 
     List<Integer> enqueueWrite(long executionPlanId, Object reference, long batchSize, long hostOffset, int[] events, boolean useDeps);
 
+    /**
+     * Copies the given ranges of elements of a native array from the host to the
+     * device buffer. Ranges are pairs of start (inclusive) and end (exclusive)
+     * element indices. Buffers that do not support partial copies transfer the
+     * whole object.
+     */
+    default List<Integer> enqueueWriteRanges(long executionPlanId, Object reference, long[] ranges, int[] events, boolean useDeps) {
+        return enqueueWrite(executionPlanId, reference, 0, 0, events, useDeps);
+    }
+
     void allocate(Object reference, long batchSize, Access access) throws TornadoOutOfMemoryException, TornadoMemoryException;
 
     void markAsFreeBuffer() throws TornadoMemoryException;
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK Flight Recorder events of TornadoVM. They are committed by
+ * {@link TornadoMetrics} when a recording is active.
+ */
+final class TornadoJFREvents {
+
+    private static final String CATEGORY = "TornadoVM";
+
+    private TornadoJFREvents() {
+    }
+
+    @Name("uk.ac.manchester.tornado.KernelExecution")
+    @Label("Kernel Execution")
+    @Category(CATEGORY)
+    @Description("Kernel time of a task measured with the device events")
+    static final class KernelExecution extends Event {
+        @Label("Task")
+        String taskName;
+
+        @Label("Device")
+        String deviceName;
+
+        @Label("Kernel Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long kernelTime;
+    }
+
+    @Name("uk.ac.manchester.tornado.DataTransfer")
+    @Label("Data Transfer")
+    @Category(CATEGORY)
+    @Description("Copy between the host and a device")
+    static final class DataTransfer extends Event {
+        @Label("Direction")
+        String direction;
+
+        @Label("Device")
+        String deviceName;
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+
+        @Label("Transfer Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long transferTime;
+    }
+
+    @Name("uk.ac.manchester.tornado.Compilation")
+    @Label("Task Compilation")
+    @Category(CATEGORY)
+    @Description("Compilation of a task by TornadoVM")
+    static final class Compilation extends Event {
+        @Label("Task")
+        String taskName;
+
+        @Label("Device")
+        String deviceName;
+
+        @Label("Compilation Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long compilationTime;
+    }
+
+    @Name("uk.ac.manchester.tornado.KernelBuild")
+    @Label("Kernel Build")
+    @Category(CATEGORY)
+    @Description("Build of a kernel by the driver")
+    static final class KernelBuild extends Event {
+        @Label("Kernel")
+        String kernelName;
+
+        @Label("Device")
+        String deviceName;
+
+        @Label("From Binary")
+        boolean fromBinary;
+
+        @Label("Build Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long buildTime;
+    }
+
+    @Name("uk.ac.manchester.tornado.BufferPool")
+    @Label("Buffer Pool")
+    @Category(CATEGORY)
+    @Description("Device buffer allocations of an execution")
+    static final class BufferPool extends Event {
+        @Label("Device")
+        String deviceName;
+
+        @Label("Hits")
+        long hits;
+
+        @Label("Misses")
+        long misses;
+    }
+
+    @Name("uk.ac.manchester.tornado.EventPool")
+    @Label("Event Pool")
+    @Category(CATEGORY)
+    @Description("Occupancy of the event pool at the end of an execution")
+    static final class EventPool extends Event {
+        @Label("Device")
+        String deviceName;
+
+        @Label("Retained Events")
+        int retainedEvents;
+
+        @Label("Capacity")
+        int capacity;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.metrics;
+
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import uk.ac.manchester.tornado.api.metrics.TornadoMetricsListener.TransferDirection;
+
+/**
+ * Entry point for the runtime metrics of TornadoVM. The runtime publishes each
+ * metric through this class: it is
+ * committed as a JDK Flight Recorder event (see {@link TornadoJFREvents}) and
+ * dispatched to the registered {@link TornadoMetricsListener}s.
+ *
+ * <p>
+ * How to use?
+ * <ul>
+ * <li><code>-Dtornado.metrics.enable=true</code> together with
+ * <code>-XX:StartFlightRecording</code> to record the JFR events.</li>
+ * <li>{@link #register} a {@link TornadoMetricsRegistry} (or any other
+ * listener) to aggregate the metrics in the application.</li>
+ * </ul>
+ * </p>
+ */
+public final class TornadoMetrics {
+
+    /**
+     * Publish the runtime metrics even if no listener is registered (e.g., only to
+     * record the JFR events). Disabled by default.
+     */
+    public static final boolean METRICS_ENABLED = Boolean.parseBoolean(System.getProperty("tornado.metrics.enable", "false"));
+
+    private static final List<TornadoMetricsListener> LISTENERS = new CopyOnWriteArrayList<>(loadListeners());
+    private static volatile boolean enabled = METRICS_ENABLED || !LISTENERS.isEmpty();
+
+    private TornadoMetrics() {
+    }
+
+    private static List<TornadoMetricsListener> loadListeners() {
+        try {
+            return ServiceLoader.load(TornadoMetricsListener.class).stream().map(ServiceLoader.Provider::get).toList();
+        } catch (ServiceConfigurationError e) {
+            System.err.println("[TornadoVM] Unable to load the metrics listeners: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * @return true if the runtime must measure and publish its metrics.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Registers a listener. It enables the collection of metrics.
+     *
+     * @param listener
+     *     {@link TornadoMetricsListener}
+     */
+    public static void register(TornadoMetricsListener listener) {
+        LISTENERS.add(listener);
+        enabled = true;
+    }
+
+    public static void unregister(TornadoMetricsListener listener) {
+        LISTENERS.remove(listener);
+        enabled = METRICS_ENABLED || !LISTENERS.isEmpty();
+    }
+
+    public static void kernelExecuted(String taskName, String deviceName, long elapsedTime) {
+        TornadoJFREvents.KernelExecution event = new TornadoJFREvents.KernelExecution();
+        if (event.shouldCommit()) {
+            event.taskName = taskName;
+            event.deviceName = deviceName;
+            event.kernelTime = elapsedTime;
+            event.commit();
+        }
+        for (TornadoMetricsListener listener : LISTENERS) {
+            listener.onKernelExecution(taskName, deviceName, elapsedTime);
+        }
+    }
+
+    public static void dataTransferred(TransferDirection direction, String deviceName, long bytes, long elapsedTime) {
+        TornadoJFREvents.DataTransfer event = new TornadoJFREvents.DataTransfer();
+        if (event.shouldCommit()) {
+            event.direction = direction.name();
+            event.deviceName = deviceName;
+            event.bytes = bytes;
+            event.transferTime = elapsedTime;
+            event.commit();
+        }
+        for (TornadoMetricsListener listener : LISTENERS) {
+            listener.onDataTransfer(direction, deviceName, bytes, elapsedTime);
+        }
+    }
+
+    public static void taskCompiled(String taskName, String deviceName, long elapsedTime) {
+        TornadoJFREvents.Compilation event = new TornadoJFREvents.Compilation();
+        if (event.shouldCommit()) {
+            event.taskName = taskName;
+            event.deviceName = deviceName;
+            event.compilationTime = elapsedTime;
+            event.commit();
+        }
+        for (TornadoMetricsListener listener : LISTENERS) {
+            listener.onCompilation(taskName, deviceName, elapsedTime);
+        }
+    }
+
+    public static void kernelBuilt(String kernelName, String deviceName, boolean fromBinary, long elapsedTime) {
+        TornadoJFREvents.KernelBuild event = new TornadoJFREvents.KernelBuild();
+        if (event.shouldCommit()) {
+            event.kernelName = kernelName;
+            event.deviceName = deviceName;
+            event.fromBinary = fromBinary;
+            event.buildTime = elapsedTime;
+            event.commit();
+        }
+        for (TornadoMetricsListener listener : LISTENERS) {
+            listener.onKernelBuild(kernelName, deviceName, fromBinary, elapsedTime);
+        }
+    }
+
+    public static void bufferPoolUsed(String deviceName, long hits, long misses) {
+        TornadoJFREvents.BufferPool event = new TornadoJFREvents.BufferPool();
+        if (event.shouldCommit()) {
+            event.deviceName = deviceName;
+            event.hits = hits;
+            event.misses = misses;
+            event.commit();
+        }
+        for (TornadoMetricsListener listener : LISTENERS) {
+            listener.onBufferPool(deviceName, hits, misses);
+        }
+    }
+
+    public static void eventPoolUsed(String deviceName, int retainedEvents, int capacity) {
+        TornadoJFREvents.EventPool event = new TornadoJFREvents.EventPool();
+        if (event.shouldCommit()) {
+            event.deviceName = deviceName;
+            event.retainedEvents = retainedEvents;
+            event.capacity = capacity;
+            event.commit();
+        }
+        for (TornadoMetricsListener listener : LISTENERS) {
+            listener.onEventPool(deviceName, retainedEvents, capacity);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.metrics;
+
+/**
+ * Service interface to receive the runtime metrics of TornadoVM. Listeners are
+ * discovered with the {@link java.util.ServiceLoader} or registered with
+ * {@link TornadoMetrics#register}. Metrics are only collected when
+ * <code>-Dtornado.metrics.enable=true</code> is set or a listener has been
+ * registered.
+ *
+ * <p>
+ * Callbacks are invoked from the threads that run the execution plans, so
+ * implementations must be thread-safe and should not block. All times are
+ * in nanoseconds.
+ * </p>
+ */
+public interface TornadoMetricsListener {
+
+    enum TransferDirection {
+        HOST_TO_DEVICE, DEVICE_TO_HOST
+    }
+
+    /**
+     * Kernel time of a task, measured with the events of the device.
+     */
+    default void onKernelExecution(String taskName, String deviceName, long elapsedTime) {
+    }
+
+    /**
+     * Data transfer between the host and a device.
+     */
+    default void onDataTransfer(TransferDirection direction, String deviceName, long bytes, long elapsedTime) {
+    }
+
+    /**
+     * Compilation of a task by TornadoVM, including the build of the kernel by
+     * the driver.
+     */
+    default void onCompilation(String taskName, String deviceName, long elapsedTime) {
+    }
+
+    /**
+     * Build of a kernel by the driver, from source or from a cached binary.
+     */
+    default void onKernelBuild(String kernelName, String deviceName, boolean fromBinary, long elapsedTime) {
+    }
+
+    /**
+     * Buffer allocations of an execution, served from the buffer pool (hits) or
+     * from the driver (misses).
+     */
+    default void onBufferPool(String deviceName, long hits, long misses) {
+    }
+
+    /**
+     * Events retained in the event pool of an execution plan at the end of an
+     * execution.
+     */
+    default void onEventPool(String deviceName, int retainedEvents, int capacity) {
+    }
+}
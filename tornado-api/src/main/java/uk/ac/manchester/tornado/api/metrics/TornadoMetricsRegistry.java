@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local registry that aggregates the runtime metrics without printing them. It
+ * keeps a {@link LatencyHistogram} of the kernel time and of the compilation
+ * time per task, and counters for data transfers, buffer pool and event pool
+ * usage.
+ *
+ * <p>
+ * Example:
+ * <code>
+ * TornadoMetricsRegistry registry = new TornadoMetricsRegistry();
+ * TornadoMetrics.register(registry);
+ * ...
+ * long p99 = registry.getKernelLatency("s0.t0").getPercentile(99);
+ * </code>
+ * </p>
+ */
+public class TornadoMetricsRegistry implements TornadoMetricsListener {
+
+    private final Map<String, LatencyHistogram> kernelLatencies;
+    private final Map<String, LatencyHistogram> compilationTimes;
+    private final LatencyHistogram kernelBuildTimes;
+    private final EnumMap<TransferDirection, LongAdder> transferBytes;
+    private final EnumMap<TransferDirection, LatencyHistogram> transferTimes;
+    private final LongAdder bufferPoolHits;
+    private final LongAdder bufferPoolMisses;
+    private final LongAccumulator maxRetainedEvents;
+
+    public TornadoMetricsRegistry() {
+        kernelLatencies = new ConcurrentHashMap<>();
+        compilationTimes = new ConcurrentHashMap<>();
+        kernelBuildTimes = new LatencyHistogram();
+        transferBytes = new EnumMap<>(TransferDirection.class);
+        transferTimes = new EnumMap<>(TransferDirection.class);
+        for (TransferDirection direction : TransferDirection.values()) {
+            transferBytes.put(direction, new LongAdder());
+            transferTimes.put(direction, new LatencyHistogram());
+        }
+        bufferPoolHits = new LongAdder();
+        bufferPoolMisses = new LongAdder();
+        maxRetainedEvents = new LongAccumulator(Math::max, 0);
+    }
+
+    private static LatencyHistogram histogramOf(Map<String, LatencyHistogram> histograms, String taskName) {
+        LatencyHistogram histogram = histograms.get(taskName);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(taskName, k -> new LatencyHistogram());
+        }
+        return histogram;
+    }
+
+    @Override
+    public void onKernelExecution(String taskName, String deviceName, long elapsedTime) {
+        histogramOf(kernelLatencies, taskName).record(elapsedTime);
+    }
+
+    @Override
+    public void onDataTransfer(TransferDirection direction, String deviceName, long bytes, long elapsedTime) {
+        transferBytes.get(direction).add(bytes);
+        transferTimes.get(direction).record(elapsedTime);
+    }
+
+    @Override
+    public void onCompilation(String taskName, String deviceName, long elapsedTime) {
+        histogramOf(compilationTimes, taskName).record(elapsedTime);
+    }
+
+    @Override
+    public void onKernelBuild(String kernelName, String deviceName, boolean fromBinary, long elapsedTime) {
+        kernelBuildTimes.record(elapsedTime);
+    }
+
+    @Override
+    public void onBufferPool(String deviceName, long hits, long misses) {
+        bufferPoolHits.add(hits);
+        bufferPoolMisses.add(misses);
+    }
+
+    @Override
+    public void onEventPool(String deviceName, int retainedEvents, int capacity) {
+        maxRetainedEvents.accumulate(retainedEvents);
+    }
+
+    /**
+     * @return the names of the tasks with kernel time measurements.
+     */
+    public Set<String> getTaskNames() {
+        return kernelLatencies.keySet();
+    }
+
+    /**
+     * @param taskName
+     *     Task name (e.g., <code>s0.t0</code>).
+     * @return the histogram of the kernel time of the task, or null if the task
+     *     has not been executed.
+     */
+    public LatencyHistogram getKernelLatency(String taskName) {
+        return kernelLatencies.get(taskName);
+    }
+
+    /**
+     * @param taskName
+     *     Task name (e.g., <code>s0.t0</code>).
+     * @return the histogram of the compilation time of the task, or null if the
+     *     task has not been compiled.
+     */
+    public LatencyHistogram getCompilationTime(String taskName) {
+        return compilationTimes.get(taskName);
+    }
+
+    public LatencyHistogram getKernelBuildTime() {
+        return kernelBuildTimes;
+    }
+
+    public long getTransferredBytes(TransferDirection direction) {
+        return transferBytes.get(direction).sum();
+    }
+
+    public LatencyHistogram getTransferTime(TransferDirection direction) {
+        return transferTimes.get(direction);
+    }
+
+    public long getBufferPoolHits() {
+        return bufferPoolHits.sum();
+    }
+
+    public long getBufferPoolMisses() {
+        return bufferPoolMisses.sum();
+    }
+
+    /**
+     * @return the maximum number of events retained in an event pool at the end
+     *     of an execution.
+     */
+    public long getMaxRetainedEvents() {
+        return maxRetainedEvents.get();
+    }
+
+    public void reset() {
+        kernelLatencies.clear();
+        compilationTimes.clear();
+        kernelBuildTimes.reset();
+        for (TransferDirection direction : TransferDirection.values()) {
+            transferBytes.get(direction).reset();
+            transferTimes.get(direction).reset();
+        }
+        bufferPoolHits.reset();
+        bufferPoolMisses.reset();
+        maxRetainedEvents.reset();
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.plan.types;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import uk.ac.manchester.tornado.api.ExecutionPlanType;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+
+public final class WithCoExecution extends ExecutionPlanType {
+
+    private final boolean includeHostJVM;
+    private final List<TornadoDevice> devices;
+
+    public WithCoExecution(TornadoExecutionPlan parent, boolean includeHostJVM, List<TornadoDevice> devices) {
+        super(parent);
+        this.includeHostJVM = includeHostJVM;
+        this.devices = devices;
+    }
+
+    @Override
+    public String toString() {
+        String deviceNames = devices.stream().map(device -> device.getTornadoVMBackend() + ":" + device.getPhysicalDevice().getDeviceName()).collect(Collectors.joining(", "));
+        return parentLink.toString() + "\n -> withCoExecution(" + (includeHostJVM ? "JVM, " : "") + deviceNames + ")";
+    }
+}
@@ -34,6 +34,8 @@ public enum ProfilerType {
     DEVICE_ID("Device-ID"),
     DEVICE("Device"),
     ALLOCATION_BYTES("Allocation-(Bytes)"),
+    BUFFER_POOL_HITS("Buffer-Pool-Hits"),
+    BUFFER_POOL_MISSES("Buffer-Pool-Misses"),
     TOTAL_COPY_IN_SIZE_BYTES("CopyIn-Size-(Bytes)"),
     TOTAL_COPY_OUT_SIZE_BYTES("CopyOut-Size-(Bytes)"),
     TASK_COMPILE_DRIVER_TIME("Task-Compile-Driver"),
@@ -41,6 +43,8 @@ public enum ProfilerType {
 
     TASK_CODE_GENERATION_TIME("Task-Code-Generation"),
     TASK_KERNEL_TIME("Task-Kernel"),
+    TASK_LAUNCHES_QUICK_TIER("Task-Launches-Quick-Tier"),
+    TASK_LAUNCHES_OPTIMISED_TIER("Task-Launches-Optimised-Tier"),
     TOTAL_BYTE_CODE_GENERATION("Total-Bytecode-Gen"),
     TOTAL_DRIVER_COMPILE_TIME("Total-Driver-Compilation-Time"),
     TOTAL_GRAAL_COMPILE_TIME("Total-Graal-Compilation-Time"),
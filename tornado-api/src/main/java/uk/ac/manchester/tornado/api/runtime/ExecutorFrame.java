@@ -17,9 +17,12 @@
  */
 package uk.ac.manchester.tornado.api.runtime;
 
+import java.util.List;
+
 import uk.ac.manchester.tornado.api.DRMode;
 import uk.ac.manchester.tornado.api.GridScheduler;
 import uk.ac.manchester.tornado.api.Policy;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
 import uk.ac.manchester.tornado.api.enums.ProfilerMode;
 
 /**
@@ -32,6 +35,8 @@ public class ExecutorFrame {
     private Policy dynamicReconfigurationPolicy;
     private GridScheduler gridScheduler;
     private ProfilerMode profilerMode;
+    private List<TornadoDevice> coExecutionDevices;
+    private boolean coExecutionOnHostJVM;
 
     public ExecutorFrame(long id) {
         this.executionPlanId = id;
@@ -79,4 +84,28 @@ public class ExecutorFrame {
     public ProfilerMode getProfilerMode() {
         return profilerMode;
     }
+
+    public ExecutorFrame withCoExecution(List<TornadoDevice> devices, boolean includeHostJVM) {
+        this.coExecutionDevices = devices;
+        this.coExecutionOnHostJVM = includeHostJVM;
+        return this;
+    }
+
+    public ExecutorFrame withoutCoExecution() {
+        this.coExecutionDevices = null;
+        this.coExecutionOnHostJVM = false;
+        return this;
+    }
+
+    public boolean isCoExecutionEnabled() {
+        return coExecutionDevices != null;
+    }
+
+    public List<TornadoDevice> getCoExecutionDevices() {
+        return coExecutionDevices;
+    }
+
+    public boolean isCoExecutionOnHostJVM() {
+        return coExecutionOnHostJVM;
+    }
 }
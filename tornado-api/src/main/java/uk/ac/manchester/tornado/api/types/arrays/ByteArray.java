@@ -18,11 +18,15 @@
 package uk.ac.manchester.tornado.api.types.arrays;
 
 import static java.lang.foreign.ValueLayout.JAVA_BYTE;
-import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
 
+import java.io.IOException;
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SegmentAllocator;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 
 import uk.ac.manchester.tornado.api.annotations.Parallel;
@@ -38,7 +42,7 @@ import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
 public final class ByteArray extends TornadoNativeArray {
     private static final int BYTE_BYTES = 1;
     private MemorySegment segment;
-    private int numberOfElements;
+    private long numberOfElements;
     private int arrayHeaderSize;
 
     private int baseIndex;
@@ -52,13 +56,38 @@ public final class ByteArray extends TornadoNativeArray {
      *     The number of elements in the array.
      */
     public ByteArray(int numberOfElements) {
-        this.numberOfElements = numberOfElements;
+        this((long) numberOfElements);
+    }
+
+    /**
+     * Constructs a new instance of the {@link ByteArray} that will store a user-specified number of elements
+     * given as a long. It cannot be larger than {@link Integer#MAX_VALUE}.
+     *
+     * @param numberOfElements
+     *     The number of elements in the array.
+     */
+    public ByteArray(long numberOfElements) {
+        this(numberOfElements, Arena.ofAuto());
+    }
+
+    /**
+     * Constructs a new instance of the {@link ByteArray} that will store a user-specified number of elements
+     * in a segment allocated by the given allocator. It cannot be larger than {@link Integer#MAX_VALUE}.
+     *
+     * @param numberOfElements
+     *     The number of elements in the array.
+     * @param allocator
+     *     The allocator of the off-heap memory, e.g., a confined or shared {@link Arena} whose lifetime is managed by
+     *     the caller, or a {@link NativeSegmentPool}.
+     */
+    public ByteArray(long numberOfElements, SegmentAllocator allocator) {
+        this.numberOfElements = checkNumberOfElements(numberOfElements);
         arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
         baseIndex = arrayHeaderSize / BYTE_BYTES;
         segmentByteSize = numberOfElements * BYTE_BYTES + arrayHeaderSize;
 
-        segment = Arena.ofAuto().allocate(segmentByteSize, 1);
-        segment.setAtIndex(JAVA_INT, 0, numberOfElements);
+        segment = allocateSegment(allocator, segmentByteSize);
+        segment.setAtIndex(JAVA_LONG, 0, numberOfElements);
     }
 
     /**
@@ -71,6 +100,23 @@ public final class ByteArray extends TornadoNativeArray {
         concat(arrays);
     }
 
+    /**
+     * Internal constructor used to create a new instance of the {@link ByteArray} on top of an existing segment
+     * that already includes the array header.
+     *
+     * @param segmentWithHeader
+     *     The {@link MemorySegment} with the header and the byte data.
+     * @param numberOfElements
+     *     The number of elements in the array.
+     */
+    private ByteArray(MemorySegment segmentWithHeader, long numberOfElements) {
+        this.numberOfElements = checkNumberOfElements(numberOfElements);
+        arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
+        baseIndex = arrayHeaderSize / BYTE_BYTES;
+        segmentByteSize = segmentWithHeader.byteSize();
+        segment = segmentWithHeader;
+    }
+
     /**
      * Internal method used to create a new instance of the {@link ByteArray} from on-heap data.
      *
@@ -117,13 +163,54 @@ public final class ByteArray extends TornadoNativeArray {
      */
     public static ByteArray fromSegment(MemorySegment segment) {
         long byteSize = segment.byteSize();
-        int numElements = (int) (byteSize / BYTE_BYTES);
+        long numElements = byteSize / BYTE_BYTES;
         ensureMultipleOfElementSize(byteSize, BYTE_BYTES);
         ByteArray byteArray = new ByteArray(numElements);
         MemorySegment.copy(segment, 0, byteArray.segment, byteArray.baseIndex * BYTE_BYTES, byteSize);
         return byteArray;
     }
 
+    /**
+     * Creates a new instance of the {@link ByteArray} class backed by a memory-mapped region of a file. The file is
+     * expected to contain the raw byte data, without the array header.
+     *
+     * <p>
+     * Whenever possible, the data is served directly from the page cache with no copy on the host (see
+     * {@link TornadoNativeArray#mapFile}). Modifications of the array are not written back to the file.
+     * </p>
+     *
+     * @param path
+     *     The path of the file.
+     * @param offset
+     *     The offset, in bytes, of the first element in the file.
+     * @param numberOfElements
+     *     The number of elements to map.
+     * @return A new {@link ByteArray} instance, backed by the file data.
+     * @throws IOException
+     *     if the file cannot be opened or mapped.
+     */
+    public static ByteArray fromFile(Path path, long offset, long numberOfElements) throws IOException {
+        return new ByteArray(mapFile(path, offset, numberOfElements, BYTE_BYTES), numberOfElements);
+    }
+
+    /**
+     * Creates a new instance of the {@link ByteArray} class from a file that contains only the raw
+     * byte data. As the data starts at the beginning of the file, there is no room for the array header in the mapping,
+     * so the data is copied once into off-heap memory. Use {@link #fromFile(Path, long, long)} to map data stored
+     * after a header of at least {@link TornadoNativeArray#ARRAY_HEADER} bytes without any copy.
+     *
+     * @param path
+     *     The path of the file.
+     * @return A new {@link ByteArray} instance, initialized with the file data.
+     * @throws IOException
+     *     if the file cannot be opened or mapped.
+     */
+    public static ByteArray fromFile(Path path) throws IOException {
+        long byteSize = Files.size(path);
+        ensureMultipleOfElementSize(byteSize, BYTE_BYTES);
+        return fromFile(path, 0, byteSize / BYTE_BYTES);
+    }
+
     /**
      * Creates a new instance of the {@link ByteArray} class from a {@link ByteBuffer}.
      *
@@ -145,8 +232,8 @@ public final class ByteArray extends TornadoNativeArray {
      * @return A new on-heap byte array, initialized with the values stored in the {@link ByteArray} instance.
      */
     public byte[] toHeapArray() {
-        byte[] outputArray = new byte[getSize()];
-        for (int i = 0; i < getSize(); i++) {
+        byte[] outputArray = new byte[Math.toIntExact(numberOfElements)];
+        for (int i = 0; i < outputArray.length; i++) {
             outputArray[i] = get(i);
         }
         return outputArray;
@@ -175,6 +262,29 @@ public final class ByteArray extends TornadoNativeArray {
         return segment.getAtIndex(JAVA_BYTE, baseIndex + index);
     }
 
+    /**
+     * Sets the byte value at a specified 64-bit index of the {@link ByteArray} instance.
+     *
+     * @param index
+     *     The index at which to set the byte value.
+     * @param value
+     *     The byte value to store at the specified index.
+     */
+    public void set(long index, byte value) {
+        segment.setAtIndex(JAVA_BYTE, baseIndex + index, value);
+    }
+
+    /**
+     * Gets the byte value stored at the specified 64-bit index of the {@link ByteArray} instance.
+     *
+     * @param index
+     *     The index of which to retrieve the byte value.
+     * @return The byte value at the specified index.
+     */
+    public byte get(long index) {
+        return segment.getAtIndex(JAVA_BYTE, baseIndex + index);
+    }
+
     /**
      * Sets all the values of the {@link ByteArray} instance to zero.
      */
@@ -195,7 +305,7 @@ public final class ByteArray extends TornadoNativeArray {
      *     The byte value to initialize the {@link ByteArray} instance with.
      */
     public void init(byte value) {
-        for (int i = 0; i < getSize(); i++) {
+        for (long i = 0; i < numberOfElements; i++) {
             segment.setAtIndex(JAVA_BYTE, baseIndex + i, value);
         }
     }
@@ -206,6 +316,17 @@ public final class ByteArray extends TornadoNativeArray {
      */
     @Override
     public int getSize() {
+        return (int) numberOfElements;
+    }
+
+    /**
+     * Returns the number of elements stored in the {@link ByteArray} instance as a long. It is used for 64-bit
+     * index arithmetic on the host.
+     *
+     * @return The number of elements of the array.
+     */
+    @Override
+    public long getSizeAsLong() {
         return numberOfElements;
     }
 
@@ -273,7 +394,7 @@ public final class ByteArray extends TornadoNativeArray {
      *     concatenated in the order they were provided.
      */
     public static ByteArray concat(ByteArray... arrays) {
-        int newSize = Arrays.stream(arrays).mapToInt(ByteArray::getSize).sum();
+        long newSize = Arrays.stream(arrays).mapToLong(ByteArray::getSizeAsLong).sum();
         ByteArray concatArray = new ByteArray(newSize);
         long currentPositionBytes = 0;
         for (ByteArray array : arrays) {
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.types.arrays;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Log of the ranges of elements of a native array that have been modified on the host. Each range is tagged with the
+ * version of the array when it was marked, so every device buffer can query the ranges marked since the version it
+ * last copied. Ranges that overlap or are adjacent are coalesced when they are queried.
+ */
+final class DirtyRanges {
+
+    /**
+     * Maximum number of entries of the log. Above it, the oldest entries are folded together.
+     */
+    private static final int MAX_LOG_ENTRIES = 64;
+
+    /**
+     * Version of the array when tracking started. Buffers copied before it may miss modifications that were not
+     * marked, so they must be copied whole.
+     */
+    private final long baseVersion;
+
+    /**
+     * Entries of version, start index (inclusive) and end index (exclusive), in increasing version order.
+     */
+    private final List<long[]> log = new ArrayList<>();
+
+    DirtyRanges(long baseVersion) {
+        this.baseVersion = baseVersion;
+    }
+
+    void add(long version, long fromIndex, long toIndex) {
+        if (fromIndex == toIndex) {
+            return;
+        }
+        log.add(new long[] { version, fromIndex, toIndex });
+        if (log.size() > MAX_LOG_ENTRIES) {
+            fold();
+        }
+    }
+
+    /**
+     * Replaces the older half of the log with a few coalesced ranges tagged with the newest version among them. Buffers
+     * older than that version copy a superset of the modified elements, which keeps the log bounded.
+     */
+    private void fold() {
+        List<long[]> oldest = log.subList(0, log.size() / 2);
+        final long version = oldest.get(oldest.size() - 1)[0];
+        long[] ranges = coalesce(oldest, Long.MIN_VALUE, MAX_LOG_ENTRIES / 4);
+        oldest.clear();
+        for (int i = ranges.length - 2; i >= 0; i -= 2) {
+            log.add(0, new long[] { version, ranges[i], ranges[i + 1] });
+        }
+    }
+
+    /**
+     * Returns the ranges marked after {@code version} as pairs of start (inclusive) and end (exclusive) indices. If
+     * there are more than {@code maxRanges} ranges, the ranges separated by the smallest gaps are merged, so the number
+     * of transfers is bounded at the cost of copying some unmodified elements.
+     *
+     * @return The ranges, or null if {@code version} is older than the start of the tracking.
+     */
+    long[] rangesSince(long version, int maxRanges) {
+        if (version < baseVersion) {
+            return null;
+        }
+        return coalesce(log, version, maxRanges);
+    }
+
+    private static long[] coalesce(List<long[]> entries, long sinceVersion, int maxRanges) {
+        // Start index to end index of disjoint, non-adjacent ranges
+        TreeMap<Long, Long> ranges = new TreeMap<>();
+        for (long[] entry : entries) {
+            if (entry[0] > sinceVersion) {
+                addRange(ranges, entry[1], entry[2]);
+            }
+        }
+        return toArray(ranges, maxRanges);
+    }
+
+    private static void addRange(TreeMap<Long, Long> ranges, long fromIndex, long toIndex) {
+        Map.Entry<Long, Long> previous = ranges.floorEntry(fromIndex);
+        if (previous != null && previous.getValue() >= fromIndex) {
+            fromIndex = previous.getKey();
+            toIndex = Math.max(toIndex, previous.getValue());
+        }
+        Map.Entry<Long, Long> next = ranges.ceilingEntry(fromIndex);
+        while (next != null && next.getKey() <= toIndex) {
+            toIndex = Math.max(toIndex, next.getValue());
+            ranges.remove(next.getKey());
+            next = ranges.ceilingEntry(fromIndex);
+        }
+        ranges.put(fromIndex, toIndex);
+    }
+
+    private static long[] toArray(TreeMap<Long, Long> ranges, int maxRanges) {
+        int numRanges = ranges.size();
+        long[] starts = new long[numRanges];
+        long[] ends = new long[numRanges];
+        int index = 0;
+        for (Map.Entry<Long, Long> range : ranges.entrySet()) {
+            starts[index] = range.getKey();
+            ends[index] = range.getValue();
+            index++;
+        }
+
+        // Gap i separates range i and range i + 1. Close the smallest gaps first.
+        boolean[] closedGaps = new boolean[Math.max(numRanges - 1, 0)];
+        int gapsToClose = numRanges - Math.max(maxRanges, 1);
+        if (gapsToClose > 0) {
+            Integer[] gaps = new Integer[numRanges - 1];
+            Arrays.setAll(gaps, i -> i);
+            Arrays.sort(gaps, (a, b) -> Long.compare(starts[a + 1] - ends[a], starts[b + 1] - ends[b]));
+            for (int i = 0; i < gapsToClose; i++) {
+                closedGaps[gaps[i]] = true;
+            }
+        }
+
+        long[] result = new long[2 * (numRanges - Math.max(gapsToClose, 0))];
+        int position = 0;
+        for (int i = 0; i < numRanges; i++) {
+            if (i == 0 || !closedGaps[i - 1]) {
+                result[position] = starts[i];
+                position += 2;
+            }
+            result[position - 1] = ends[i];
+        }
+        return result;
+    }
+}
@@ -18,11 +18,15 @@
 package uk.ac.manchester.tornado.api.types.arrays;
 
 import static java.lang.foreign.ValueLayout.JAVA_FLOAT;
-import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
 
+import java.io.IOException;
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SegmentAllocator;
 import java.nio.FloatBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 
 import uk.ac.manchester.tornado.api.annotations.Parallel;
@@ -39,7 +43,7 @@ public final class FloatArray extends TornadoNativeArray {
     private static final int FLOAT_BYTES = 4;
     private MemorySegment segment;
 
-    private int numberOfElements;
+    private long numberOfElements;
 
     private int arrayHeaderSize;
 
@@ -54,13 +58,38 @@ public final class FloatArray extends TornadoNativeArray {
      *     The number of elements in the array.
      */
     public FloatArray(int numberOfElements) {
-        this.numberOfElements = numberOfElements;
+        this((long) numberOfElements);
+    }
+
+    /**
+     * Constructs a new instance of the {@link FloatArray} that will store a user-specified number of elements
+     * given as a long. It cannot be larger than {@link Integer#MAX_VALUE}.
+     *
+     * @param numberOfElements
+     *     The number of elements in the array.
+     */
+    public FloatArray(long numberOfElements) {
+        this(numberOfElements, Arena.ofAuto());
+    }
+
+    /**
+     * Constructs a new instance of the {@link FloatArray} that will store a user-specified number of elements
+     * in a segment allocated by the given allocator. It cannot be larger than {@link Integer#MAX_VALUE}.
+     *
+     * @param numberOfElements
+     *     The number of elements in the array.
+     * @param allocator
+     *     The allocator of the off-heap memory, e.g., a confined or shared {@link Arena} whose lifetime is managed by
+     *     the caller, or a {@link NativeSegmentPool}.
+     */
+    public FloatArray(long numberOfElements, SegmentAllocator allocator) {
+        this.numberOfElements = checkNumberOfElements(numberOfElements);
         arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
         baseIndex = arrayHeaderSize / FLOAT_BYTES;
         segmentByteSize = numberOfElements * FLOAT_BYTES + arrayHeaderSize;
 
-        segment = Arena.ofAuto().allocate(segmentByteSize, 1);
-        segment.setAtIndex(JAVA_INT, 0, numberOfElements);
+        segment = allocateSegment(allocator, segmentByteSize);
+        segment.setAtIndex(JAVA_LONG, 0, numberOfElements);
     }
 
     /**
@@ -73,6 +102,23 @@ public final class FloatArray extends TornadoNativeArray {
         concat(arrays);
     }
 
+    /**
+     * Internal constructor used to create a new instance of the {@link FloatArray} on top of an existing segment
+     * that already includes the array header.
+     *
+     * @param segmentWithHeader
+     *     The {@link MemorySegment} with the header and the float data.
+     * @param numberOfElements
+     *     The number of elements in the array.
+     */
+    private FloatArray(MemorySegment segmentWithHeader, long numberOfElements) {
+        this.numberOfElements = checkNumberOfElements(numberOfElements);
+        arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
+        baseIndex = arrayHeaderSize / FLOAT_BYTES;
+        segmentByteSize = segmentWithHeader.byteSize();
+        segment = segmentWithHeader;
+    }
+
     /**
      * Internal method used to create a new instance of the {@link FloatArray} from on-heap data.
      *
@@ -119,13 +165,54 @@ public final class FloatArray extends TornadoNativeArray {
      */
     public static FloatArray fromSegment(MemorySegment segment) {
         long byteSize = segment.byteSize();
-        int numElements = (int) (byteSize / FLOAT_BYTES);
+        long numElements = byteSize / FLOAT_BYTES;
         ensureMultipleOfElementSize(byteSize, FLOAT_BYTES);
         FloatArray floatArray = new FloatArray(numElements);
         MemorySegment.copy(segment, 0, floatArray.segment, floatArray.baseIndex * FLOAT_BYTES, byteSize);
         return floatArray;
     }
 
+    /**
+     * Creates a new instance of the {@link FloatArray} class backed by a memory-mapped region of a file. The file is
+     * expected to contain the raw float data, without the array header.
+     *
+     * <p>
+     * Whenever possible, the data is served directly from the page cache with no copy on the host (see
+     * {@link TornadoNativeArray#mapFile}). Modifications of the array are not written back to the file.
+     * </p>
+     *
+     * @param path
+     *     The path of the file.
+     * @param offset
+     *     The offset, in bytes, of the first element in the file.
+     * @param numberOfElements
+     *     The number of elements to map.
+     * @return A new {@link FloatArray} instance, backed by the file data.
+     * @throws IOException
+     *     if the file cannot be opened or mapped.
+     */
+    public static FloatArray fromFile(Path path, long offset, long numberOfElements) throws IOException {
+        return new FloatArray(mapFile(path, offset, numberOfElements, FLOAT_BYTES), numberOfElements);
+    }
+
+    /**
+     * Creates a new instance of the {@link FloatArray} class from a file that contains only the raw
+     * float data. As the data starts at the beginning of the file, there is no room for the array header in the mapping,
+     * so the data is copied once into off-heap memory. Use {@link #fromFile(Path, long, long)} to map data stored
+     * after a header of at least {@link TornadoNativeArray#ARRAY_HEADER} bytes without any copy.
+     *
+     * @param path
+     *     The path of the file.
+     * @return A new {@link FloatArray} instance, initialized with the file data.
+     * @throws IOException
+     *     if the file cannot be opened or mapped.
+     */
+    public static FloatArray fromFile(Path path) throws IOException {
+        long byteSize = Files.size(path);
+        ensureMultipleOfElementSize(byteSize, FLOAT_BYTES);
+        return fromFile(path, 0, byteSize / FLOAT_BYTES);
+    }
+
     /**
      * Creates a new instance of the {@link FloatArray} class from a {@link FloatBuffer}.
      *
@@ -147,8 +234,8 @@ public final class FloatArray extends TornadoNativeArray {
      * @return A new on-heap float array, initialized with the values stored in the {@link FloatArray} instance.
      */
     public float[] toHeapArray() {
-        float[] outputArray = new float[getSize()];
-        for (int i = 0; i < getSize(); i++) {
+        float[] outputArray = new float[Math.toIntExact(numberOfElements)];
+        for (int i = 0; i < outputArray.length; i++) {
             outputArray[i] = get(i);
         }
         return outputArray;
@@ -177,6 +264,29 @@ public final class FloatArray extends TornadoNativeArray {
         return segment.getAtIndex(JAVA_FLOAT, baseIndex + index);
     }
 
+    /**
+     * Sets the float value at a specified 64-bit index of the {@link FloatArray} instance.
+     *
+     * @param index
+     *     The index at which to set the float value.
+     * @param value
+     *     The float value to store at the specified index.
+     */
+    public void set(long index, float value) {
+        segment.setAtIndex(JAVA_FLOAT, baseIndex + index, value);
+    }
+
+    /**
+     * Gets the float value stored at the specified 64-bit index of the {@link FloatArray} instance.
+     *
+     * @param index
+     *     The index of which to retrieve the float value.
+     * @return The float value at the specified index.
+     */
+    public float get(long index) {
+        return segment.getAtIndex(JAVA_FLOAT, baseIndex + index);
+    }
+
     /**
      * Sets all the values of the {@link FloatArray} instance to zero.
      */
@@ -197,7 +307,7 @@ public final class FloatArray extends TornadoNativeArray {
      *     The float value to initialize the {@link FloatArray} instance with.
      */
     public void init(float value) {
-        for (int i = 0; i < getSize(); i++) {
+        for (long i = 0; i < numberOfElements; i++) {
             segment.setAtIndex(JAVA_FLOAT, baseIndex + i, value);
         }
     }
@@ -209,6 +319,17 @@ public final class FloatArray extends TornadoNativeArray {
      */
     @Override
     public int getSize() {
+        return (int) numberOfElements;
+    }
+
+    /**
+     * Returns the number of elements stored in the {@link FloatArray} instance as a long. It is used for 64-bit
+     * index arithmetic on the host.
+     *
+     * @return The number of elements of the array.
+     */
+    @Override
+    public long getSizeAsLong() {
         return numberOfElements;
     }
 
@@ -276,7 +397,7 @@ public final class FloatArray extends TornadoNativeArray {
      *     concatenated in the order they were provided.
      */
     public static FloatArray concat(FloatArray... arrays) {
-        int newSize = Arrays.stream(arrays).mapToInt(FloatArray::getSize).sum();
+        long newSize = Arrays.stream(arrays).mapToLong(FloatArray::getSizeAsLong).sum();
         FloatArray concatArray = new FloatArray(newSize);
         long currentPositionBytes = 0;
         for (FloatArray array : arrays) {
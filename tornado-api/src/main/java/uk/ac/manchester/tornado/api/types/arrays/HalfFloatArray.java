@@ -20,8 +20,12 @@ package uk.ac.manchester.tornado.api.types.arrays;
 import static java.lang.foreign.ValueLayout.JAVA_INT;
 import static java.lang.foreign.ValueLayout.JAVA_SHORT;
 
+import java.io.IOException;
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SegmentAllocator;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 
 import uk.ac.manchester.tornado.api.annotations.Parallel;
@@ -55,12 +59,26 @@ public final class HalfFloatArray extends TornadoNativeArray {
      *     The number of elements in the array.
      */
     public HalfFloatArray(int numberOfElements) {
+        this(numberOfElements, Arena.ofAuto());
+    }
+
+    /**
+     * Constructs a new instance of the {@link HalfFloatArray} that will store a user-specified number of elements
+     * in a segment allocated by the given allocator.
+     *
+     * @param numberOfElements
+     *     The number of elements in the array.
+     * @param allocator
+     *     The allocator of the off-heap memory, e.g., a confined or shared {@link Arena} whose lifetime is managed by
+     *     the caller, or a {@link NativeSegmentPool}.
+     */
+    public HalfFloatArray(int numberOfElements, SegmentAllocator allocator) {
         this.numberOfElements = numberOfElements;
         arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
         baseIndex = arrayHeaderSize / HALF_FLOAT_BYTES;
         segmentByteSize = numberOfElements * HALF_FLOAT_BYTES + arrayHeaderSize;
 
-        segment = Arena.ofAuto().allocate(segmentByteSize, 1);
+        segment = allocateSegment(allocator, segmentByteSize);
         segment.setAtIndex(JAVA_INT, 0, numberOfElements);
     }
 
@@ -74,6 +92,23 @@ public final class HalfFloatArray extends TornadoNativeArray {
         concat(arrays);
     }
 
+    /**
+     * Internal constructor used to create a new instance of the {@link HalfFloatArray} on top of an existing segment
+     * that already includes the array header.
+     *
+     * @param segmentWithHeader
+     *     The {@link MemorySegment} with the header and the half float data.
+     * @param numberOfElements
+     *     The number of elements in the array.
+     */
+    private HalfFloatArray(MemorySegment segmentWithHeader, int numberOfElements) {
+        this.numberOfElements = numberOfElements;
+        arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
+        baseIndex = arrayHeaderSize / HALF_FLOAT_BYTES;
+        segmentByteSize = segmentWithHeader.byteSize();
+        segment = segmentWithHeader;
+    }
+
     /**
      * Internal method used to create a new instance of the {@link HalfFloatArray} from on-heap data.
      *
@@ -127,6 +162,107 @@ public final class HalfFloatArray extends TornadoNativeArray {
         return halfFloatArray;
     }
 
+    /**
+     * Creates a new instance of the {@link HalfFloatArray} class backed by a memory-mapped region of a file. The file is
+     * expected to contain the raw half float data, without the array header.
+     *
+     * <p>
+     * Whenever possible, the data is served directly from the page cache with no copy on the host (see
+     * {@link TornadoNativeArray#mapFile}). Modifications of the array are not written back to the file.
+     * </p>
+     *
+     * @param path
+     *     The path of the file.
+     * @param offset
+     *     The offset, in bytes, of the first element in the file.
+     * @param numberOfElements
+     *     The number of elements to map.
+     * @return A new {@link HalfFloatArray} instance, backed by the file data.
+     * @throws IOException
+     *     if the file cannot be opened or mapped.
+     */
+    public static HalfFloatArray fromFile(Path path, long offset, int numberOfElements) throws IOException {
+        return new HalfFloatArray(mapFile(path, offset, numberOfElements, HALF_FLOAT_BYTES), numberOfElements);
+    }
+
+    /**
+     * Creates a new instance of the {@link HalfFloatArray} class from a file that contains only the raw
+     * half float data. As the data starts at the beginning of the file, there is no room for the array header in the mapping,
+     * so the data is copied once into off-heap memory. Use {@link #fromFile(Path, long, int)} to map data stored
+     * after a header of at least {@link TornadoNativeArray#ARRAY_HEADER} bytes without any copy.
+     *
+     * @param path
+     *     The path of the file.
+     * @return A new {@link HalfFloatArray} instance, initialized with the file data.
+     * @throws IOException
+     *     if the file cannot be opened or mapped.
+     */
+    public static HalfFloatArray fromFile(Path path) throws IOException {
+        long byteSize = Files.size(path);
+        return fromFile(path, 0, numberOfElementsInFile(path, byteSize, HALF_FLOAT_BYTES));
+    }
+
+    /**
+     * Creates a new instance of the {@link HalfFloatArray} class by converting the values of a {@link FloatArray}
+     * to half floats.
+     *
+     * @param values
+     *     The {@link FloatArray} to convert.
+     * @return A new {@link HalfFloatArray} instance, initialized with the converted values.
+     */
+    public static HalfFloatArray fromFloatArray(FloatArray values) {
+        HalfFloatArray array = new HalfFloatArray(values.getSize());
+        array.copyFrom(values);
+        return array;
+    }
+
+    /**
+     * Converts the half float values of the {@link HalfFloatArray} instance to a new {@link FloatArray}.
+     *
+     * @return A new {@link FloatArray} instance, initialized with the values converted to float-32.
+     */
+    public FloatArray toFloatArray() {
+        FloatArray array = new FloatArray(getSize());
+        copyTo(array);
+        return array;
+    }
+
+    /**
+     * Converts the values of a {@link FloatArray} to half floats and stores them in the {@link HalfFloatArray}
+     * instance, without allocating intermediate {@link HalfFloat} objects.
+     *
+     * @param values
+     *     The {@link FloatArray} to convert. It must have the same size as the {@link HalfFloatArray} instance.
+     * @throws IllegalArgumentException
+     *     if the sizes of the arrays do not match.
+     */
+    public void copyFrom(FloatArray values) {
+        if (values.getSize() != getSize()) {
+            throw new IllegalArgumentException("Size mismatch: " + values.getSize() + " != " + getSize());
+        }
+        for (int i = 0; i < getSize(); i++) {
+            segment.setAtIndex(JAVA_SHORT, baseIndex + i, Float.floatToFloat16(values.get(i)));
+        }
+    }
+
+    /**
+     * Converts the half float values of the {@link HalfFloatArray} instance to float-32 and stores them in a
+     * {@link FloatArray}, without allocating intermediate {@link HalfFloat} objects.
+     *
+     * @param values
+     *     The destination {@link FloatArray}. It must have the same size as the {@link HalfFloatArray} instance.
+     * @throws IllegalArgumentException
+     *     if the sizes of the arrays do not match.
+     */
+    public void copyTo(FloatArray values) {
+        if (values.getSize() != getSize()) {
+            throw new IllegalArgumentException("Size mismatch: " + values.getSize() + " != " + getSize());
+        }
+        for (int i = 0; i < getSize(); i++) {
+            values.set(i, Float.float16ToFloat(segment.getAtIndex(JAVA_SHORT, baseIndex + i)));
+        }
+    }
+
     /**
      * Converts the {@link HalfFloat} data from off-heap to on-heap, by copying the values of a {@link HalfFloatArray}
      * instance into a new on-heap {@link HalfFloat}.
@@ -151,7 +287,7 @@ public final class HalfFloatArray extends TornadoNativeArray {
     public short[] toShortArray() {
         short[] outputArray = new short[getSize()];
         for (int i = 0; i < getSize(); i++) {
-            outputArray[i] = get(i).getHalfFloatValue();
+            outputArray[i] = getRawShort(i);
         }
         return outputArray;
     }
@@ -180,6 +316,54 @@ public final class HalfFloatArray extends TornadoNativeArray {
         return new HalfFloat(halfFloatValue);
     }
 
+    /**
+     * Sets the value at a specified index of the {@link HalfFloatArray} instance from a float-32 value,
+     * without allocating a {@link HalfFloat} object. Inside kernels, it compiles to a native half store.
+     *
+     * @param index
+     *     The index at which to set the value.
+     * @param value
+     *     The float value to convert to a half float and store at the specified index.
+     */
+    public void setFloat(int index, float value) {
+        segment.setAtIndex(JAVA_SHORT, baseIndex + index, Float.floatToFloat16(value));
+    }
+
+    /**
+     * Gets the value stored at the specified index of the {@link HalfFloatArray} instance as a float-32 value,
+     * without allocating a {@link HalfFloat} object. Inside kernels, it compiles to a native half load.
+     *
+     * @param index
+     *     The index of which to retrieve the value.
+     * @return The half float value converted to float-32.
+     */
+    public float getFloat(int index) {
+        return Float.float16ToFloat(segment.getAtIndex(JAVA_SHORT, baseIndex + index));
+    }
+
+    /**
+     * Sets the raw float-16 bits at a specified index of the {@link HalfFloatArray} instance.
+     *
+     * @param index
+     *     The index at which to set the value.
+     * @param value
+     *     The float-16 value, in the format of {@link Float#floatToFloat16(float)}.
+     */
+    public void setRawShort(int index, short value) {
+        segment.setAtIndex(JAVA_SHORT, baseIndex + index, value);
+    }
+
+    /**
+     * Gets the raw float-16 bits stored at the specified index of the {@link HalfFloatArray} instance.
+     *
+     * @param index
+     *     The index of which to retrieve the value.
+     * @return The float-16 value, in the format of {@link Float#float16ToFloat(short)}.
+     */
+    public short getRawShort(int index) {
+        return segment.getAtIndex(JAVA_SHORT, baseIndex + index);
+    }
+
     /**
      * Sets all the values of the {@link HalfFloatArray} instance to zero.
      */
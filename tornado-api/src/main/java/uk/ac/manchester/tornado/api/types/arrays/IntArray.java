@@ -18,10 +18,15 @@
 package uk.ac.manchester.tornado.api.types.arrays;
 
 import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
 
+import java.io.IOException;
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SegmentAllocator;
 import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 
 import uk.ac.manchester.tornado.api.annotations.Parallel;
@@ -36,7 +41,7 @@ import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
 @SegmentElementSize(size = 4)
 public final class IntArray extends TornadoNativeArray {
     private static final int INT_BYTES = 4;
-    private int numberOfElements;
+    private long numberOfElements;
     private MemorySegment segment;
     private int arrayHeaderSize;
 
@@ -51,13 +56,38 @@ public final class IntArray extends TornadoNativeArray {
      *     The number of elements in the array.
      */
     public IntArray(int numberOfElements) {
-        this.numberOfElements = numberOfElements;
+        this((long) numberOfElements);
+    }
+
+    /**
+     * Constructs a new instance of the {@link IntArray} that will store a user-specified number of elements
+     * given as a long. It cannot be larger than {@link Integer#MAX_VALUE}.
+     *
+     * @param numberOfElements
+     *     The number of elements in the array.
+     */
+    public IntArray(long numberOfElements) {
+        this(numberOfElements, Arena.ofAuto());
+    }
+
+    /**
+     * Constructs a new instance of the {@link IntArray} that will store a user-specified number of elements
+     * in a segment allocated by the given allocator. It cannot be larger than {@link Integer#MAX_VALUE}.
+     *
+     * @param numberOfElements
+     *     The number of elements in the array.
+     * @param allocator
+     *     The allocator of the off-heap memory, e.g., a confined or shared {@link Arena} whose lifetime is managed by
+     *     the caller, or a {@link NativeSegmentPool}.
+     */
+    public IntArray(long numberOfElements, SegmentAllocator allocator) {
+        this.numberOfElements = checkNumberOfElements(numberOfElements);
         arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
         baseIndex = arrayHeaderSize / INT_BYTES;
         segmentByteSize = numberOfElements * INT_BYTES + arrayHeaderSize;
 
-        segment = Arena.ofAuto().allocate(segmentByteSize, 1);
-        segment.setAtIndex(JAVA_INT, 0, numberOfElements);
+        segment = allocateSegment(allocator, segmentByteSize);
+        segment.setAtIndex(JAVA_LONG, 0, numberOfElements);
     }
 
     /**
@@ -70,6 +100,23 @@ public final class IntArray extends TornadoNativeArray {
         concat(arrays);
     }
 
+    /**
+     * Internal constructor used to create a new instance of the {@link IntArray} on top of an existing segment
+     * that already includes the array header.
+     *
+     * @param segmentWithHeader
+     *     The {@link MemorySegment} with the header and the int data.
+     * @param numberOfElements
+     *     The number of elements in the array.
+     */
+    private IntArray(MemorySegment segmentWithHeader, long numberOfElements) {
+        this.numberOfElements = checkNumberOfElements(numberOfElements);
+        arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
+        baseIndex = arrayHeaderSize / INT_BYTES;
+        segmentByteSize = segmentWithHeader.byteSize();
+        segment = segmentWithHeader;
+    }
+
     /**
      * Internal method used to create a new instance of the {@link IntArray} from on-heap data.
      *
@@ -116,13 +163,54 @@ public final class IntArray extends TornadoNativeArray {
      */
     public static IntArray fromSegment(MemorySegment segment) {
         long byteSize = segment.byteSize();
-        int numElements = (int) (byteSize / INT_BYTES);
+        long numElements = byteSize / INT_BYTES;
         ensureMultipleOfElementSize(byteSize, INT_BYTES);
         IntArray intArray = new IntArray(numElements);
         MemorySegment.copy(segment, 0, intArray.segment, intArray.baseIndex * INT_BYTES, byteSize);
         return intArray;
     }
 
+    /**
+     * Creates a new instance of the {@link IntArray} class backed by a memory-mapped region of a file. The file is
+     * expected to contain the raw int data, without the array header.
+     *
+     * <p>
+     * Whenever possible, the data is served directly from the page cache with no copy on the host (see
+     * {@link TornadoNativeArray#mapFile}). Modifications of the array are not written back to the file.
+     * </p>
+     *
+     * @param path
+     *     The path of the file.
+     * @param offset
+     *     The offset, in bytes, of the first element in the file.
+     * @param numberOfElements
+     *     The number of elements to map.
+     * @return A new {@link IntArray} instance, backed by the file data.
+     * @throws IOException
+     *     if the file cannot be opened or mapped.
+     */
+    public static IntArray fromFile(Path path, long offset, long numberOfElements) throws IOException {
+        return new IntArray(mapFile(path, offset, numberOfElements, INT_BYTES), numberOfElements);
+    }
+
+    /**
+     * Creates a new instance of the {@link IntArray} class from a file that contains only the raw
+     * int data. As the data starts at the beginning of the file, there is no room for the array header in the mapping,
+     * so the data is copied once into off-heap memory. Use {@link #fromFile(Path, long, long)} to map data stored
+     * after a header of at least {@link TornadoNativeArray#ARRAY_HEADER} bytes without any copy.
+     *
+     * @param path
+     *     The path of the file.
+     * @return A new {@link IntArray} instance, initialized with the file data.
+     * @throws IOException
+     *     if the file cannot be opened or mapped.
+     */
+    public static IntArray fromFile(Path path) throws IOException {
+        long byteSize = Files.size(path);
+        ensureMultipleOfElementSize(byteSize, INT_BYTES);
+        return fromFile(path, 0, byteSize / INT_BYTES);
+    }
+
     /**
      * Creates a new instance of the {@link IntArray} class from a {@link IntBuffer}.
      *
@@ -144,8 +232,8 @@ public final class IntArray extends TornadoNativeArray {
      * @return A new on-heap int array, initialized with the values stored in the {@link IntArray} instance.
      */
     public int[] toHeapArray() {
-        int[] outputArray = new int[getSize()];
-        for (int i = 0; i < getSize(); i++) {
+        int[] outputArray = new int[Math.toIntExact(numberOfElements)];
+        for (int i = 0; i < outputArray.length; i++) {
             outputArray[i] = get(i);
         }
         return outputArray;
@@ -174,6 +262,29 @@ public final class IntArray extends TornadoNativeArray {
         return segment.getAtIndex(JAVA_INT, baseIndex + index);
     }
 
+    /**
+     * Sets the int value at a specified 64-bit index of the {@link IntArray} instance.
+     *
+     * @param index
+     *     The index at which to set the int value.
+     * @param value
+     *     The int value to store at the specified index.
+     */
+    public void set(long index, int value) {
+        segment.setAtIndex(JAVA_INT, baseIndex + index, value);
+    }
+
+    /**
+     * Gets the int value stored at the specified 64-bit index of the {@link IntArray} instance.
+     *
+     * @param index
+     *     The index of which to retrieve the int value.
+     * @return The int value at the specified index.
+     */
+    public int get(long index) {
+        return segment.getAtIndex(JAVA_INT, baseIndex + index);
+    }
+
     /**
      * Sets all the values of the {@link IntArray} instance to zero.
      */
@@ -194,7 +305,7 @@ public final class IntArray extends TornadoNativeArray {
      *     The int value to initialize the {@link IntArray} instance with.
      */
     public void init(int value) {
-        for (int i = 0; i < getSize(); i++) {
+        for (long i = 0; i < numberOfElements; i++) {
             segment.setAtIndex(JAVA_INT, baseIndex + i, value);
         }
     }
@@ -206,6 +317,17 @@ public final class IntArray extends TornadoNativeArray {
      */
     @Override
     public int getSize() {
+        return (int) numberOfElements;
+    }
+
+    /**
+     * Returns the number of elements stored in the {@link IntArray} instance as a long. It is used for 64-bit
+     * index arithmetic on the host.
+     *
+     * @return The number of elements of the array.
+     */
+    @Override
+    public long getSizeAsLong() {
         return numberOfElements;
     }
 
@@ -273,7 +395,7 @@ public final class IntArray extends TornadoNativeArray {
      *     concatenated in the order they were provided.
      */
     public static IntArray concat(IntArray... arrays) {
-        int newSize = Arrays.stream(arrays).mapToInt(IntArray::getSize).sum();
+        long newSize = Arrays.stream(arrays).mapToLong(IntArray::getSizeAsLong).sum();
         IntArray concatArray = new IntArray(newSize);
         long currentPositionBytes = 0;
         for (IntArray array : arrays) {
@@ -20,9 +20,13 @@ package uk.ac.manchester.tornado.api.types.arrays;
 import static java.lang.foreign.ValueLayout.JAVA_INT;
 import static java.lang.foreign.ValueLayout.JAVA_LONG;
 
+import java.io.IOException;
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SegmentAllocator;
 import java.nio.LongBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 
 import uk.ac.manchester.tornado.api.annotations.Parallel;
@@ -52,12 +56,26 @@ public final class LongArray extends TornadoNativeArray {
      *     The number of elements in the array.
      */
     public LongArray(int numberOfElements) {
+        this(numberOfElements, Arena.ofAuto());
+    }
+
+    /**
+     * Constructs a new instance of the {@link LongArray} that will store a user-specified number of elements
+     * in a segment allocated by the given allocator.
+     *
+     * @param numberOfElements
+     *     The number of elements in the array.
+     * @param allocator
+     *     The allocator of the off-heap memory, e.g., a confined or shared {@link Arena} whose lifetime is managed by
+     *     the caller, or a {@link NativeSegmentPool}.
+     */
+    public LongArray(int numberOfElements, SegmentAllocator allocator) {
         this.numberOfElements = numberOfElements;
         arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
         baseIndex = arrayHeaderSize / LONG_BYTES;
 
         segmentByteSize = numberOfElements * LONG_BYTES + arrayHeaderSize;
-        segment = Arena.ofAuto().allocate(segmentByteSize, 1);
+        segment = allocateSegment(allocator, segmentByteSize);
         segment.setAtIndex(JAVA_INT, 0, numberOfElements);
     }
 
@@ -71,6 +89,23 @@ public final class LongArray extends TornadoNativeArray {
         concat(arrays);
     }
 
+    /**
+     * Internal constructor used to create a new instance of the {@link LongArray} on top of an existing segment
+     * that already includes the array header.
+     *
+     * @param segmentWithHeader
+     *     The {@link MemorySegment} with the header and the long data.
+     * @param numberOfElements
+     *     The number of elements in the array.
+     */
+    private LongArray(MemorySegment segmentWithHeader, int numberOfElements) {
+        this.numberOfElements = numberOfElements;
+        arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
+        baseIndex = arrayHeaderSize / LONG_BYTES;
+        segmentByteSize = segmentWithHeader.byteSize();
+        segment = segmentWithHeader;
+    }
+
     /**
      * Internal method used to create a new instance of the {@link LongArray} from on-heap data.
      *
@@ -124,6 +159,46 @@ public final class LongArray extends TornadoNativeArray {
         return longArray;
     }
 
+    /**
+     * Creates a new instance of the {@link LongArray} class backed by a memory-mapped region of a file. The file is
+     * expected to contain the raw long data, without the array header.
+     *
+     * <p>
+     * Whenever possible, the data is served directly from the page cache with no copy on the host (see
+     * {@link TornadoNativeArray#mapFile}). Modifications of the array are not written back to the file.
+     * </p>
+     *
+     * @param path
+     *     The path of the file.
+     * @param offset
+     *     The offset, in bytes, of the first element in the file.
+     * @param numberOfElements
+     *     The number of elements to map.
+     * @return A new {@link LongArray} instance, backed by the file data.
+     * @throws IOException
+     *     if the file cannot be opened or mapped.
+     */
+    public static LongArray fromFile(Path path, long offset, int numberOfElements) throws IOException {
+        return new LongArray(mapFile(path, offset, numberOfElements, LONG_BYTES), numberOfElements);
+    }
+
+    /**
+     * Creates a new instance of the {@link LongArray} class from a file that contains only the raw
+     * long data. As the data starts at the beginning of the file, there is no room for the array header in the mapping,
+     * so the data is copied once into off-heap memory. Use {@link #fromFile(Path, long, int)} to map data stored
+     * after a header of at least {@link TornadoNativeArray#ARRAY_HEADER} bytes without any copy.
+     *
+     * @param path
+     *     The path of the file.
+     * @return A new {@link LongArray} instance, initialized with the file data.
+     * @throws IOException
+     *     if the file cannot be opened or mapped.
+     */
+    public static LongArray fromFile(Path path) throws IOException {
+        long byteSize = Files.size(path);
+        return fromFile(path, 0, numberOfElementsInFile(path, byteSize, LONG_BYTES));
+    }
+
     /**
      * Creates a new instance of the {@link LongArray} class from a {@link LongBuffer}.
      *
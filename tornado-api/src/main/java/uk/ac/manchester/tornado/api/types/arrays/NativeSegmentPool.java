@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.types.arrays;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SegmentAllocator;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A thread-safe pool of off-heap segments that can be used to allocate TornadoVM native arrays, so that arrays of the
+ * same size can reuse the host memory across requests instead of allocating new memory each time.
+ *
+ * <p>
+ * Each segment is allocated in its own shared {@link Arena}. When a native array allocated from the pool is closed,
+ * its segment is returned to the pool. The pool retains at most {@code maxSegmentsPerSize} free segments of each
+ * size, and the memory of any additional segment is released immediately. Closing the pool releases the memory of all
+ * the segments, including the ones that are still used by native arrays.
+ * </p>
+ *
+ * <p>
+ * Example:
+ * </p>
+ *
+ * <pre>
+ * {@code
+ * try (NativeSegmentPool pool = new NativeSegmentPool()) {
+ *     for (Request request : requests) {
+ *         try (FloatArray input = new FloatArray(request.size(), pool)) {
+ *             ...
+ *         }
+ *     }
+ * }
+ * }
+ * </pre>
+ */
+public final class NativeSegmentPool implements SegmentAllocator, AutoCloseable {
+
+    /**
+     * Default number of free segments of each size that the pool retains.
+     */
+    public static final int DEFAULT_MAX_SEGMENTS_PER_SIZE = 8;
+
+    /**
+     * Alignment, in bytes, of the segments allocated by the pool.
+     */
+    private static final long SEGMENT_ALIGNMENT = 64;
+
+    private record PooledSegment(Arena arena, MemorySegment segment) {
+    }
+
+    private final int maxSegmentsPerSize;
+    private final Map<Long, Deque<PooledSegment>> freeSegments;
+    private final Map<Long, PooledSegment> usedSegments;
+    private final AtomicInteger numberOfFreeSegments;
+    private volatile boolean closed;
+
+    /**
+     * Creates a new pool that retains up to {@link #DEFAULT_MAX_SEGMENTS_PER_SIZE} free segments of each size.
+     */
+    public NativeSegmentPool() {
+        this(DEFAULT_MAX_SEGMENTS_PER_SIZE);
+    }
+
+    /**
+     * Creates a new pool.
+     *
+     * @param maxSegmentsPerSize
+     *     The maximum number of free segments of each size that the pool retains.
+     */
+    public NativeSegmentPool(int maxSegmentsPerSize) {
+        if (maxSegmentsPerSize < 0) {
+            throw new IllegalArgumentException("The maximum number of segments per size must be non-negative: " + maxSegmentsPerSize);
+        }
+        this.maxSegmentsPerSize = maxSegmentsPerSize;
+        this.freeSegments = new ConcurrentHashMap<>();
+        this.usedSegments = new ConcurrentHashMap<>();
+        this.numberOfFreeSegments = new AtomicInteger();
+    }
+
+    /**
+     * Returns a zero-initialized segment of the requested size. A free segment of the same size is reused when
+     * available, otherwise a new segment is allocated.
+     *
+     * @param byteSize
+     *     The size, in bytes, of the segment.
+     * @param byteAlignment
+     *     The alignment, in bytes, of the segment.
+     * @return A zero-initialized {@link MemorySegment}.
+     * @throws IllegalStateException
+     *     if the pool is closed.
+     */
+    @Override
+    public MemorySegment allocate(long byteSize, long byteAlignment) {
+        if (closed) {
+            throw new IllegalStateException("The segment pool is closed");
+        }
+        PooledSegment pooledSegment = null;
+        Deque<PooledSegment> free = freeSegments.get(byteSize);
+        if (free != null) {
+            pooledSegment = free.pollFirst();
+            if (pooledSegment != null && pooledSegment.segment().address() % byteAlignment != 0) {
+                // Keep the segment for a request with a smaller alignment
+                free.offerFirst(pooledSegment);
+                pooledSegment = null;
+            }
+        }
+        if (pooledSegment != null) {
+            numberOfFreeSegments.decrementAndGet();
+            pooledSegment.segment().fill((byte) 0);
+        } else {
+            Arena arena = Arena.ofShared();
+            pooledSegment = new PooledSegment(arena, arena.allocate(byteSize, Math.max(byteAlignment, SEGMENT_ALIGNMENT)));
+        }
+        usedSegments.put(pooledSegment.segment().address(), pooledSegment);
+        return pooledSegment.segment();
+    }
+
+    /**
+     * Returns a segment allocated by this pool, so it can be reused by the next allocation of the same size. The
+     * segment must not be accessed after it has been released. Releasing a segment after the pool has been closed has
+     * no effect.
+     *
+     * @param segment
+     *     The segment to release.
+     * @throws IllegalArgumentException
+     *     if the segment was not allocated by this pool or it was already released.
+     */
+    public void release(MemorySegment segment) {
+        if (closed) {
+            // The memory of the segment has already been released by close()
+            return;
+        }
+        PooledSegment pooledSegment = usedSegments.remove(segment.address());
+        if (pooledSegment == null) {
+            throw new IllegalArgumentException("The segment was not allocated by this pool or it was already released");
+        }
+        Deque<PooledSegment> free = freeSegments.computeIfAbsent(segment.byteSize(), size -> new ConcurrentLinkedDeque<>());
+        if (free.size() < maxSegmentsPerSize) {
+            free.offerFirst(pooledSegment);
+            numberOfFreeSegments.incrementAndGet();
+        } else {
+            pooledSegment.arena().close();
+        }
+    }
+
+    /**
+     * Returns the number of free segments that are currently retained by the pool.
+     *
+     * @return The number of free segments.
+     */
+    public int getNumberOfFreeSegments() {
+        return numberOfFreeSegments.get();
+    }
+
+    /**
+     * Returns the number of segments allocated by the pool that have not been released yet.
+     *
+     * @return The number of segments in use.
+     */
+    public int getNumberOfUsedSegments() {
+        return usedSegments.size();
+    }
+
+    /**
+     * Releases the memory of all the segments of the pool. Native arrays allocated from the pool must not be accessed
+     * after the pool is closed.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        freeSegments.values().forEach(free -> free.forEach(pooledSegment -> pooledSegment.arena().close()));
+        freeSegments.clear();
+        numberOfFreeSegments.set(0);
+        usedSegments.values().forEach(pooledSegment -> pooledSegment.arena().close());
+        usedSegments.clear();
+    }
+}
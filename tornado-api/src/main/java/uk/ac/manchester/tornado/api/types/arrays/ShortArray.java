@@ -20,9 +20,13 @@ package uk.ac.manchester.tornado.api.types.arrays;
 import static java.lang.foreign.ValueLayout.JAVA_INT;
 import static java.lang.foreign.ValueLayout.JAVA_SHORT;
 
+import java.io.IOException;
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SegmentAllocator;
 import java.nio.ShortBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 
 import uk.ac.manchester.tornado.api.annotations.Parallel;
@@ -52,13 +56,27 @@ public final class ShortArray extends TornadoNativeArray {
      *     The number of elements in the array.
      */
     public ShortArray(int numberOfElements) {
+        this(numberOfElements, Arena.ofAuto());
+    }
+
+    /**
+     * Constructs a new instance of the {@link ShortArray} that will store a user-specified number of elements
+     * in a segment allocated by the given allocator.
+     *
+     * @param numberOfElements
+     *     The number of elements in the array.
+     * @param allocator
+     *     The allocator of the off-heap memory, e.g., a confined or shared {@link Arena} whose lifetime is managed by
+     *     the caller, or a {@link NativeSegmentPool}.
+     */
+    public ShortArray(int numberOfElements, SegmentAllocator allocator) {
         this.numberOfElements = numberOfElements;
         arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
         assert arrayHeaderSize >= 4;
         baseIndex = arrayHeaderSize / SHORT_BYTES;
         segmentByteSize = numberOfElements * SHORT_BYTES + arrayHeaderSize;
 
-        segment = Arena.ofAuto().allocate(segmentByteSize, 1);
+        segment = allocateSegment(allocator, segmentByteSize);
         segment.setAtIndex(JAVA_INT, 0, numberOfElements);
     }
 
@@ -72,6 +90,23 @@ public final class ShortArray extends TornadoNativeArray {
         concat(arrays);
     }
 
+    /**
+     * Internal constructor used to create a new instance of the {@link ShortArray} on top of an existing segment
+     * that already includes the array header.
+     *
+     * @param segmentWithHeader
+     *     The {@link MemorySegment} with the header and the short data.
+     * @param numberOfElements
+     *     The number of elements in the array.
+     */
+    private ShortArray(MemorySegment segmentWithHeader, int numberOfElements) {
+        this.numberOfElements = numberOfElements;
+        arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
+        baseIndex = arrayHeaderSize / SHORT_BYTES;
+        segmentByteSize = segmentWithHeader.byteSize();
+        segment = segmentWithHeader;
+    }
+
     /**
      * Internal method used to create a new instance of the {@link ShortArray} from on-heap data.
      *
@@ -125,6 +160,46 @@ public final class ShortArray extends TornadoNativeArray {
         return shortArray;
     }
 
+    /**
+     * Creates a new instance of the {@link ShortArray} class backed by a memory-mapped region of a file. The file is
+     * expected to contain the raw short data, without the array header.
+     *
+     * <p>
+     * Whenever possible, the data is served directly from the page cache with no copy on the host (see
+     * {@link TornadoNativeArray#mapFile}). Modifications of the array are not written back to the file.
+     * </p>
+     *
+     * @param path
+     *     The path of the file.
+     * @param offset
+     *     The offset, in bytes, of the first element in the file.
+     * @param numberOfElements
+     *     The number of elements to map.
+     * @return A new {@link ShortArray} instance, backed by the file data.
+     * @throws IOException
+     *     if the file cannot be opened or mapped.
+     */
+    public static ShortArray fromFile(Path path, long offset, int numberOfElements) throws IOException {
+        return new ShortArray(mapFile(path, offset, numberOfElements, SHORT_BYTES), numberOfElements);
+    }
+
+    /**
+     * Creates a new instance of the {@link ShortArray} class from a file that contains only the raw
+     * short data. As the data starts at the beginning of the file, there is no room for the array header in the mapping,
+     * so the data is copied once into off-heap memory. Use {@link #fromFile(Path, long, int)} to map data stored
+     * after a header of at least {@link TornadoNativeArray#ARRAY_HEADER} bytes without any copy.
+     *
+     * @param path
+     *     The path of the file.
+     * @return A new {@link ShortArray} instance, initialized with the file data.
+     * @throws IOException
+     *     if the file cannot be opened or mapped.
+     */
+    public static ShortArray fromFile(Path path) throws IOException {
+        long byteSize = Files.size(path);
+        return fromFile(path, 0, numberOfElementsInFile(path, byteSize, SHORT_BYTES));
+    }
+
     /**
      * Creates a new instance of the {@link ShortArray} class from a {@link ShortBuffer}.
      *
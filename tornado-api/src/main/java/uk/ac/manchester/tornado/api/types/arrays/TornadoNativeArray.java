@@ -17,11 +17,20 @@
  */
 package uk.ac.manchester.tornado.api.types.arrays;
 
+import java.io.IOException;
+import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SegmentAllocator;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
+import uk.ac.manchester.tornado.api.memory.DeviceBufferState;
 import uk.ac.manchester.tornado.api.types.tensors.Tensor;
 
 import static java.lang.String.format;
+import static java.lang.foreign.ValueLayout.JAVA_LONG_UNALIGNED;
 
 /**
  * This abstract sealed class represents the common functionality of the TornadoVM custom native arrays,
@@ -37,7 +46,7 @@ import static java.lang.String.format;
  * The constant {@link ARRAY_HEADER} represents the size of the header in bytes.
  * </p>
  */
-public abstract sealed class TornadoNativeArray //
+public abstract sealed class TornadoNativeArray implements AutoCloseable //
         permits ByteArray, CharArray, DoubleArray, //
         FloatArray, HalfFloatArray, IntArray, //
         LongArray, ShortArray, Tensor {
@@ -48,6 +57,26 @@ public abstract sealed class TornadoNativeArray //
      */
     public static final long ARRAY_HEADER = Long.parseLong(System.getProperty("tornado.panama.objectHeader", "24"));
 
+    /**
+     * Alignment, in bytes, of the segments of at least one page.
+     */
+    static final long PAGE_ALIGNMENT = 4096;
+
+    /**
+     * The pool that allocated the segment of the native array, if any.
+     */
+    private NativeSegmentPool segmentPool;
+
+    /**
+     * Ranges of elements marked as modified, or null if the array does not track them.
+     */
+    private DirtyRanges dirtyRanges;
+
+    /**
+     * Version of the marked ranges. It is incremented by every marked range and when the tracking stops.
+     */
+    private long dirtyRangesVersion;
+
     /**
      * Returns the number of elements stored in the native array.
      *
@@ -55,6 +84,34 @@ public abstract sealed class TornadoNativeArray //
      */
     public abstract int getSize();
 
+    /**
+     * Returns the number of elements stored in the native array as a long, so that index arithmetic on the host can be
+     * done in 64 bits. The number of elements never exceeds {@link Integer#MAX_VALUE}.
+     *
+     * @return The number of elements of the native data array.
+     */
+    public long getSizeAsLong() {
+        return getSize();
+    }
+
+    /**
+     * Checks, at construction time, that the number of elements of a native array that can be indexed with a long fits
+     * in the int returned by {@link #getSize()}. Kernels iterate over native arrays with int {@code @Parallel}
+     * induction variables, so larger arrays could not be processed on the device.
+     *
+     * @param numberOfElements
+     *     The number of elements of the array.
+     * @return The number of elements.
+     * @throws IllegalArgumentException
+     *     if the number of elements is negative or larger than {@link Integer#MAX_VALUE}.
+     */
+    protected static long checkNumberOfElements(long numberOfElements) {
+        if (numberOfElements < 0 || numberOfElements > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(format("Native arrays hold at most %d elements, but %d were requested", Integer.MAX_VALUE, numberOfElements));
+        }
+        return numberOfElements;
+    }
+
     /**
      * Returns the underlying {@link MemorySegment} of the native array, without the Tornado Array header.
      *
@@ -90,6 +147,131 @@ public abstract sealed class TornadoNativeArray //
 
     public abstract int getElementSize();
 
+    /**
+     * Marks the elements in the range {@code [fromIndex, toIndex)} as modified on the host. Once an array has marked
+     * ranges, transfers to the device with {@code DataTransferMode.EVERY_EXECUTION} only copy the ranges marked since
+     * the previous transfer, after the first full copy. Adjacent and overlapping ranges are coalesced into a single
+     * copy.
+     *
+     * <p>
+     * The elements that are not marked are assumed to be the same on the host and on the device. Each device buffer of
+     * the array keeps the version of the ranges it has copied, so the array can be transferred to several devices and
+     * execution plans.
+     * </p>
+     *
+     * @param fromIndex
+     *     Index of the first modified element.
+     * @param toIndex
+     *     Index after the last modified element.
+     */
+    public void markDirty(long fromIndex, long toIndex) {
+        if (fromIndex < 0 || fromIndex > toIndex || toIndex > getSizeAsLong()) {
+            throw new IndexOutOfBoundsException(format("Invalid range [%d, %d) for an array of %d elements", fromIndex, toIndex, getSizeAsLong()));
+        }
+        synchronized (this) {
+            if (dirtyRanges == null) {
+                dirtyRanges = new DirtyRanges(dirtyRangesVersion);
+            }
+            dirtyRangesVersion++;
+            dirtyRanges.add(dirtyRangesVersion, fromIndex, toIndex);
+        }
+    }
+
+    /**
+     * Marks a single element as modified on the host.
+     *
+     * @param index
+     *     Index of the modified element.
+     */
+    public void markDirty(long index) {
+        markDirty(index, index + 1);
+    }
+
+    /**
+     * Stops tracking modified ranges. The next transfers to the device copy the whole array, until a new range is
+     * marked with {@link #markDirty(long, long)}.
+     */
+    public synchronized void markAllDirty() {
+        dirtyRanges = null;
+        dirtyRangesVersion++;
+    }
+
+    /**
+     * Returns the current version of the marked ranges. A device buffer that copies the array records it, and asks for
+     * the ranges marked after it in the next transfer.
+     *
+     * @return The version of the marked ranges.
+     */
+    public synchronized long getDirtyRangesVersion() {
+        return dirtyRangesVersion;
+    }
+
+    /**
+     * Returns the ranges of elements marked as modified after the given version, as pairs of start (inclusive) and end
+     * (exclusive) indices.
+     *
+     * @param version
+     *     Version recorded by the last copy of the array to the device buffer.
+     * @param maxRanges
+     *     Maximum number of ranges to return. Ranges separated by the smallest gaps are merged to meet it.
+     * @return The modified ranges, or null if the array does not track them since that version and must be copied
+     *     whole.
+     */
+    public synchronized long[] getDirtyRangesSince(long version, int maxRanges) {
+        if (dirtyRanges == null) {
+            return null;
+        }
+        return dirtyRanges.rangesSince(version, maxRanges);
+    }
+
+    /**
+     * Returns the ranges of elements marked as modified since the previous transfer to the given device buffer, and
+     * records the current version in the buffer state. This method is used by the TornadoVM runtime when the array is
+     * transferred to a device.
+     *
+     * @param deviceBufferState
+     *     State of the device buffer of the array.
+     * @param maxRanges
+     *     Maximum number of ranges to return. Ranges separated by the smallest gaps are merged to meet it.
+     * @return The modified ranges, or null if the array must be copied whole.
+     */
+    public synchronized long[] pollDirtyRanges(DeviceBufferState deviceBufferState, int maxRanges) {
+        long[] ranges = getDirtyRangesSince(deviceBufferState.getDirtyRangesVersion(), maxRanges);
+        deviceBufferState.setDirtyRangesVersion(dirtyRangesVersion);
+        return ranges;
+    }
+
+    /**
+     * Releases the off-heap memory of the native array, if it is owned by the array. Segments allocated from a
+     * {@link NativeSegmentPool} are returned to the pool, so they can be reused by the next native array of the same
+     * size. The memory of arrays allocated from a caller-supplied {@link Arena} is released when the arena is closed,
+     * and the memory of the other arrays when they are garbage collected, so this method has no effect on them.
+     *
+     * <p>
+     * The native array must not be accessed after it has been closed.
+     * </p>
+     */
+    @Override
+    public void close() {
+        if (segmentPool != null) {
+            segmentPool.release(getSegmentWithHeader());
+            segmentPool = null;
+        }
+    }
+
+    /**
+     * Allocates the segment of a native array, including the header, from the given allocator. If the allocator is a
+     * {@link NativeSegmentPool}, the segment is returned to the pool when the array is closed. Segments of at least one
+     * page are aligned to the page size, so devices that share the host memory can use them without a copy.
+     */
+    MemorySegment allocateSegment(SegmentAllocator allocator, long byteSize) {
+        MemorySegment segment = allocator.allocate(byteSize, byteSize >= PAGE_ALIGNMENT ? PAGE_ALIGNMENT : 1);
+        if (allocator instanceof NativeSegmentPool pool) {
+            segmentPool = pool;
+        }
+        return segment;
+    }
+
     /**
      * Checks that the byte size is a multiple of the element size.
      */
@@ -99,4 +281,71 @@ public abstract sealed class TornadoNativeArray //
         }
     }
 
+    /**
+     * Returns the number of elements of a file for native arrays with an int size.
+     */
+    static int numberOfElementsInFile(Path path, long byteSize, long elementSize) {
+        ensureMultipleOfElementSize(byteSize, elementSize);
+        long numberOfElements = byteSize / elementSize;
+        if (numberOfElements > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(format("The file %s holds %d elements, but the array can hold at most %d elements", path, numberOfElements, Integer.MAX_VALUE));
+        }
+        return (int) numberOfElements;
+    }
+
+    /**
+     * Maps a region of a file into a {@link MemorySegment} with the layout of the native arrays, i.e., the
+     * {@link #ARRAY_HEADER} bytes followed by the raw data.
+     *
+     * <p>
+     * When the data is aligned to the element size, it is preceded by at least {@link #ARRAY_HEADER} bytes
+     * in the file, and the file is writable, the region is mapped privately (copy-on-write) including the bytes that
+     * precede the data. Writing the header then only copies the first page of the mapping, while the data is served
+     * directly from the page cache, without any host copy. Changes to the mapped data are never written back to the
+     * file. Otherwise, the data is copied once from the mapping into a new off-heap segment.
+     * </p>
+     *
+     * @param path
+     *     The path of the file to map.
+     * @param offset
+     *     The offset, in bytes, of the first element in the file.
+     * @param numberOfElements
+     *     The number of elements to map.
+     * @param elementSize
+     *     The size, in bytes, of each element.
+     * @return The {@link MemorySegment} with the header and the data of the file.
+     * @throws IOException
+     *     if the file cannot be opened or mapped.
+     * @throws IllegalArgumentException
+     *     if the requested region is outside the file.
+     */
+    static MemorySegment mapFile(Path path, long offset, long numberOfElements, long elementSize) throws IOException {
+        long dataByteSize = numberOfElements * elementSize;
+        if (offset < 0 || numberOfElements < 0) {
+            throw new IllegalArgumentException(format("Invalid file region (offset: %d, elements: %d)", offset, numberOfElements));
+        }
+        boolean mapInPlace = offset >= ARRAY_HEADER && offset % elementSize == 0 && Files.isWritable(path);
+        StandardOpenOption[] options = mapInPlace //
+                ? new StandardOpenOption[] { StandardOpenOption.READ, StandardOpenOption.WRITE } //
+                : new StandardOpenOption[] { StandardOpenOption.READ };
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            if (offset + dataByteSize > channel.size()) {
+                throw new IllegalArgumentException(format("The file region [%d, %d) exceeds the size of %s (%d bytes)", offset, offset + dataByteSize, path, channel.size()));
+            }
+            MemorySegment segment;
+            if (mapInPlace) {
+                segment = channel.map(FileChannel.MapMode.PRIVATE, offset - ARRAY_HEADER, ARRAY_HEADER + dataByteSize, Arena.ofAuto());
+            } else {
+                segment = Arena.ofAuto().allocate(ARRAY_HEADER + dataByteSize, 1);
+                try (Arena arena = Arena.ofConfined()) {
+                    MemorySegment data = channel.map(FileChannel.MapMode.READ_ONLY, offset, dataByteSize, arena);
+                    MemorySegment.copy(data, 0, segment, ARRAY_HEADER, dataByteSize);
+                }
+            }
+            // The header may not be aligned when the data is mapped in place
+            segment.set(JAVA_LONG_UNALIGNED, 0, numberOfElements);
+            return segment;
+        }
+    }
+
 }
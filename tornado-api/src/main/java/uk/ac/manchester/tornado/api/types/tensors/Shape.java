@@ -43,9 +43,20 @@ public record Shape(long... dimensions) {
      * Calculates and returns the size of the shape, which is the product of all its dimensions.
      *
      * @return the total size of the shape as an int
+     * @throws ArithmeticException
+     *     if the size does not fit in an int. {@link #getSizeAsLong()} must be used instead.
      */
     public int getSize() {
-        return (int) Arrays.stream(dimensions).reduce(1, (a, b) -> a * b);
+        return Math.toIntExact(getSizeAsLong());
+    }
+
+    /**
+     * Calculates and returns the size of the shape, which is the product of all its dimensions, as a long.
+     *
+     * @return the total size of the shape as a long
+     */
+    public long getSizeAsLong() {
+        return Arrays.stream(dimensions).reduce(1, Math::multiplyExact);
     }
 
     @Override
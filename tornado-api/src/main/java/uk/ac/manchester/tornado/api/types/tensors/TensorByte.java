@@ -19,9 +19,13 @@ package uk.ac.manchester.tornado.api.types.tensors;
 
 import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
 import uk.ac.manchester.tornado.api.types.arrays.ByteArray;
+import uk.ac.manchester.tornado.api.types.arrays.NativeSegmentPool;
 import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 
+import java.io.IOException;
 import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SegmentAllocator;
+import java.nio.file.Path;
 import java.util.Arrays;
 
 import static java.lang.foreign.ValueLayout.JAVA_BYTE;
@@ -41,7 +45,7 @@ public final class TensorByte extends Tensor {
     /**
      * The total number of elements in the tensor.
      */
-    private int numberOfElements;
+    private long numberOfElements;
 
     /**
      * The memory segment representing the tensor data in native memory.
@@ -50,13 +54,53 @@ public final class TensorByte extends Tensor {
     public TensorByte(Shape shape) {
         super(DType.BOOL, shape);
         this.shape = shape;
-        this.numberOfElements = shape.getSize();
+        this.numberOfElements = checkNumberOfElements(shape.getSizeAsLong());
         this.dType = DType.BOOL;
         this.tensorStorage = new ByteArray(numberOfElements);
     }
 
+    private TensorByte(Shape shape, ByteArray tensorStorage) {
+        super(DType.BOOL, shape);
+        this.shape = shape;
+        this.numberOfElements = checkNumberOfElements(shape.getSizeAsLong());
+        this.dType = DType.BOOL;
+        this.tensorStorage = tensorStorage;
+    }
+
+    /**
+     * Creates a new tensor whose data is stored in a segment allocated by the given allocator.
+     *
+     * @param shape
+     *     The shape of the tensor.
+     * @param allocator
+     *     The allocator of the off-heap memory, e.g., a confined or shared {@link java.lang.foreign.Arena} whose
+     *     lifetime is managed by the caller, or a {@link NativeSegmentPool}.
+     */
+    public TensorByte(Shape shape, SegmentAllocator allocator) {
+        this(shape, new ByteArray(shape.getSizeAsLong(), allocator));
+    }
+
+    /**
+     * Creates a new tensor backed by a memory-mapped region of a file that contains the raw tensor data.
+     * The number of elements to map is given by the shape of the tensor.
+     *
+     * @param shape
+     *     The shape of the tensor.
+     * @param path
+     *     The path of the file.
+     * @param offset
+     *     The offset, in bytes, of the first element in the file.
+     * @return A new {@link TensorByte} backed by the file data.
+     * @throws IOException
+     *     if the file cannot be opened or mapped.
+     * @see ByteArray#fromFile(Path, long, long)
+     */
+    public static TensorByte fromFile(Shape shape, Path path, long offset) throws IOException {
+        return new TensorByte(shape, ByteArray.fromFile(path, offset, shape.getSizeAsLong()));
+    }
+
     public void init(byte value) {
-        for (int i = 0; i < getSize(); i++) {
+        for (long i = 0; i < numberOfElements; i++) {
             tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_BYTE, getBaseIndex() + i, value);
         }
     }
@@ -80,8 +124,21 @@ public final class TensorByte extends Tensor {
         return tensorStorage.getSegmentWithHeader().getAtIndex(JAVA_BYTE, getBaseIndex() + index);
     }
 
+    public void set(long index, byte value) {
+        tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_BYTE, getBaseIndex() + index, value);
+    }
+
+    public byte get(long index) {
+        return tensorStorage.getSegmentWithHeader().getAtIndex(JAVA_BYTE, getBaseIndex() + index);
+    }
+
     @Override
     public int getSize() {
+        return (int) numberOfElements;
+    }
+
+    @Override
+    public long getSizeAsLong() {
         return numberOfElements;
     }
 
@@ -110,6 +167,11 @@ public final class TensorByte extends Tensor {
         init((byte) 0);
     }
 
+    @Override
+    public void close() {
+        tensorStorage.close();
+    }
+
     @Override
     public int getElementSize() {
         return BYTE;
@@ -139,7 +201,7 @@ public final class TensorByte extends Tensor {
      *     concatenated in the order they were provided.
      */
     public static TensorByte concat(TensorByte... arrays) {
-        int newSize = Arrays.stream(arrays).mapToInt(TensorByte::getSize).sum();
+        long newSize = Arrays.stream(arrays).mapToLong(TensorByte::getSizeAsLong).sum();
         TensorByte concatArray = new TensorByte(new Shape(newSize));
         long currentPositionBytes = 0;
         for (TensorByte array : arrays) {
@@ -20,10 +20,15 @@ package uk.ac.manchester.tornado.api.types.tensors;
 import uk.ac.manchester.tornado.api.annotations.Parallel;
 import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
 import uk.ac.manchester.tornado.api.types.HalfFloat;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
 import uk.ac.manchester.tornado.api.types.arrays.HalfFloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.NativeSegmentPool;
 import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 
+import java.io.IOException;
 import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SegmentAllocator;
+import java.nio.file.Path;
 import java.util.Arrays;
 
 import static java.lang.foreign.ValueLayout.JAVA_SHORT;
@@ -56,6 +61,46 @@ public final class TensorFP16 extends Tensor {
         this.tensorStorage = new HalfFloatArray(numberOfElements);
     }
 
+    private TensorFP16(Shape shape, HalfFloatArray tensorStorage) {
+        super(DType.HALF_FLOAT, shape);
+        this.shape = shape;
+        this.numberOfElements = shape.getSize();
+        this.dType = DType.HALF_FLOAT;
+        this.tensorStorage = tensorStorage;
+    }
+
+    /**
+     * Creates a new tensor whose data is stored in a segment allocated by the given allocator.
+     *
+     * @param shape
+     *     The shape of the tensor.
+     * @param allocator
+     *     The allocator of the off-heap memory, e.g., a confined or shared {@link java.lang.foreign.Arena} whose
+     *     lifetime is managed by the caller, or a {@link NativeSegmentPool}.
+     */
+    public TensorFP16(Shape shape, SegmentAllocator allocator) {
+        this(shape, new HalfFloatArray(shape.getSize(), allocator));
+    }
+
+    /**
+     * Creates a new tensor backed by a memory-mapped region of a file that contains the raw tensor data.
+     * The number of elements to map is given by the shape of the tensor.
+     *
+     * @param shape
+     *     The shape of the tensor.
+     * @param path
+     *     The path of the file.
+     * @param offset
+     *     The offset, in bytes, of the first element in the file.
+     * @return A new {@link TensorFP16} backed by the file data.
+     * @throws IOException
+     *     if the file cannot be opened or mapped.
+     * @see HalfFloatArray#fromFile(Path, long, int)
+     */
+    public static TensorFP16 fromFile(Shape shape, Path path, long offset) throws IOException {
+        return new TensorFP16(shape, HalfFloatArray.fromFile(path, offset, shape.getSize()));
+    }
+
     public void init(HalfFloat value) {
         for (int i = 0; i < getSize(); i++) {
             tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_SHORT, getBaseIndex() + i, value.getHalfFloatValue());
@@ -82,6 +127,72 @@ public final class TensorFP16 extends Tensor {
         return new HalfFloat(halfFloatValue);
     }
 
+    /**
+     * Sets the value at the specified index from a float-32 value, without allocating a {@link HalfFloat}.
+     *
+     * @param index
+     *     The index at which to set the value.
+     * @param value
+     *     The float value to convert to a half float.
+     */
+    public void setFloat(int index, float value) {
+        tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_SHORT, getBaseIndex() + index, Float.floatToFloat16(value));
+    }
+
+    /**
+     * Gets the value stored at the specified index as a float-32 value, without allocating a {@link HalfFloat}.
+     *
+     * @param index
+     *     The index of which to retrieve the value.
+     * @return The half float value converted to float-32.
+     */
+    public float getFloat(int index) {
+        return Float.float16ToFloat(tensorStorage.getSegmentWithHeader().getAtIndex(JAVA_SHORT, getBaseIndex() + index));
+    }
+
+    /**
+     * Sets the raw float-16 bits at the specified index.
+     *
+     * @param index
+     *     The index at which to set the value.
+     * @param value
+     *     The float-16 value, in the format of {@link Float#floatToFloat16(float)}.
+     */
+    public void setRawShort(int index, short value) {
+        tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_SHORT, getBaseIndex() + index, value);
+    }
+
+    /**
+     * Gets the raw float-16 bits stored at the specified index.
+     *
+     * @param index
+     *     The index of which to retrieve the value.
+     * @return The float-16 value, in the format of {@link Float#float16ToFloat(short)}.
+     */
+    public short getRawShort(int index) {
+        return tensorStorage.getSegmentWithHeader().getAtIndex(JAVA_SHORT, getBaseIndex() + index);
+    }
+
+    /**
+     * Converts the values of a {@link FloatArray} to half floats and stores them in the tensor.
+     *
+     * @param values
+     *     The {@link FloatArray} to convert. It must have the same number of elements as the tensor.
+     */
+    public void copyFrom(FloatArray values) {
+        tensorStorage.copyFrom(values);
+    }
+
+    /**
+     * Converts the values of the tensor to float-32 and stores them in a {@link FloatArray}.
+     *
+     * @param values
+     *     The destination {@link FloatArray}. It must have the same number of elements as the tensor.
+     */
+    public void copyTo(FloatArray values) {
+        tensorStorage.copyTo(values);
+    }
+
     @Override
     public int getSize() {
         return numberOfElements;
@@ -112,6 +223,11 @@ public final class TensorFP16 extends Tensor {
         init(new HalfFloat(0));
     }
 
+    @Override
+    public void close() {
+        tensorStorage.close();
+    }
+
     @Override
     public int getElementSize() {
         return HALF_FLOAT_BYTES;
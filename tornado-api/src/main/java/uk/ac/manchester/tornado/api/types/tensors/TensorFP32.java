@@ -20,10 +20,14 @@ package uk.ac.manchester.tornado.api.types.tensors;
 import uk.ac.manchester.tornado.api.annotations.Parallel;
 import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
 import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.NativeSegmentPool;
 import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 
+import java.io.IOException;
 import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SegmentAllocator;
 import java.nio.FloatBuffer;
+import java.nio.file.Path;
 import java.util.Arrays;
 
 import static java.lang.foreign.ValueLayout.JAVA_FLOAT;
@@ -43,7 +47,7 @@ public final class TensorFP32 extends Tensor {
     /**
      * The total number of elements in the tensor.
      */
-    private int numberOfElements;
+    private long numberOfElements;
 
     /**
      * The memory segment representing the tensor data in native memory.
@@ -52,13 +56,53 @@ public final class TensorFP32 extends Tensor {
     public TensorFP32(Shape shape) {
         super(DType.FLOAT, shape);
         this.shape = shape;
-        this.numberOfElements = shape.getSize();
+        this.numberOfElements = checkNumberOfElements(shape.getSizeAsLong());
         this.dType = DType.FLOAT;
         this.tensorStorage = new FloatArray(numberOfElements);
     }
 
+    private TensorFP32(Shape shape, FloatArray tensorStorage) {
+        super(DType.FLOAT, shape);
+        this.shape = shape;
+        this.numberOfElements = checkNumberOfElements(shape.getSizeAsLong());
+        this.dType = DType.FLOAT;
+        this.tensorStorage = tensorStorage;
+    }
+
+    /**
+     * Creates a new tensor whose data is stored in a segment allocated by the given allocator.
+     *
+     * @param shape
+     *     The shape of the tensor.
+     * @param allocator
+     *     The allocator of the off-heap memory, e.g., a confined or shared {@link java.lang.foreign.Arena} whose
+     *     lifetime is managed by the caller, or a {@link NativeSegmentPool}.
+     */
+    public TensorFP32(Shape shape, SegmentAllocator allocator) {
+        this(shape, new FloatArray(shape.getSizeAsLong(), allocator));
+    }
+
+    /**
+     * Creates a new tensor backed by a memory-mapped region of a file that contains the raw tensor data.
+     * The number of elements to map is given by the shape of the tensor.
+     *
+     * @param shape
+     *     The shape of the tensor.
+     * @param path
+     *     The path of the file.
+     * @param offset
+     *     The offset, in bytes, of the first element in the file.
+     * @return A new {@link TensorFP32} backed by the file data.
+     * @throws IOException
+     *     if the file cannot be opened or mapped.
+     * @see FloatArray#fromFile(Path, long, long)
+     */
+    public static TensorFP32 fromFile(Shape shape, Path path, long offset) throws IOException {
+        return new TensorFP32(shape, FloatArray.fromFile(path, offset, shape.getSizeAsLong()));
+    }
+
     public void init(float value) {
-        for (int i = 0; i < getSize(); i++) {
+        for (long i = 0; i < numberOfElements; i++) {
             tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_FLOAT, getBaseIndex() + i, value);
         }
     }
@@ -82,8 +126,21 @@ public final class TensorFP32 extends Tensor {
         return tensorStorage.getSegmentWithHeader().getAtIndex(JAVA_FLOAT, getBaseIndex() + index);
     }
 
+    public void set(long index, float value) {
+        tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_FLOAT, getBaseIndex() + index, value);
+    }
+
+    public float get(long index) {
+        return tensorStorage.getSegmentWithHeader().getAtIndex(JAVA_FLOAT, getBaseIndex() + index);
+    }
+
     @Override
     public int getSize() {
+        return (int) numberOfElements;
+    }
+
+    @Override
+    public long getSizeAsLong() {
         return numberOfElements;
     }
 
@@ -112,6 +169,11 @@ public final class TensorFP32 extends Tensor {
         init(0.0f);
     }
 
+    @Override
+    public void close() {
+        tensorStorage.close();
+    }
+
     @Override
     public int getElementSize() {
         return DType.FLOAT.getByteSize();
@@ -133,8 +195,8 @@ public final class TensorFP32 extends Tensor {
     }
 
     public float[] toHeapArray() {
-        float[] outputArray = new float[getSize()];
-        for (int i = 0; i < getSize(); i++) {
+        float[] outputArray = new float[Math.toIntExact(numberOfElements)];
+        for (int i = 0; i < outputArray.length; i++) {
             outputArray[i] = get(i);
         }
         return outputArray;
@@ -159,7 +221,7 @@ public final class TensorFP32 extends Tensor {
      *     concatenated in the order they were provided.
      */
     public static TensorFP32 concat(TensorFP32... arrays) {
-        int newSize = Arrays.stream(arrays).mapToInt(TensorFP32::getSize).sum();
+        long newSize = Arrays.stream(arrays).mapToLong(TensorFP32::getSizeAsLong).sum();
         TensorFP32 concatArray = new TensorFP32(new Shape(newSize));
         long currentPositionBytes = 0;
         for (TensorFP32 array : arrays) {
@@ -20,10 +20,14 @@ package uk.ac.manchester.tornado.api.types.tensors;
 import uk.ac.manchester.tornado.api.annotations.Parallel;
 import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
 import uk.ac.manchester.tornado.api.types.arrays.DoubleArray;
+import uk.ac.manchester.tornado.api.types.arrays.NativeSegmentPool;
 import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 
+import java.io.IOException;
 import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SegmentAllocator;
 import java.nio.DoubleBuffer;
+import java.nio.file.Path;
 import java.util.Arrays;
 
 import static java.lang.foreign.ValueLayout.JAVA_DOUBLE;
@@ -57,6 +61,46 @@ public final class TensorFP64 extends Tensor {
         this.tensorStorage = new DoubleArray(numberOfElements);
     }
 
+    private TensorFP64(Shape shape, DoubleArray tensorStorage) {
+        super(DType.DOUBLE, shape);
+        this.shape = shape;
+        this.numberOfElements = shape.getSize();
+        this.dType = DType.DOUBLE;
+        this.tensorStorage = tensorStorage;
+    }
+
+    /**
+     * Creates a new tensor whose data is stored in a segment allocated by the given allocator.
+     *
+     * @param shape
+     *     The shape of the tensor.
+     * @param allocator
+     *     The allocator of the off-heap memory, e.g., a confined or shared {@link java.lang.foreign.Arena} whose
+     *     lifetime is managed by the caller, or a {@link NativeSegmentPool}.
+     */
+    public TensorFP64(Shape shape, SegmentAllocator allocator) {
+        this(shape, new DoubleArray(shape.getSize(), allocator));
+    }
+
+    /**
+     * Creates a new tensor backed by a memory-mapped region of a file that contains the raw tensor data.
+     * The number of elements to map is given by the shape of the tensor.
+     *
+     * @param shape
+     *     The shape of the tensor.
+     * @param path
+     *     The path of the file.
+     * @param offset
+     *     The offset, in bytes, of the first element in the file.
+     * @return A new {@link TensorFP64} backed by the file data.
+     * @throws IOException
+     *     if the file cannot be opened or mapped.
+     * @see DoubleArray#fromFile(Path, long, int)
+     */
+    public static TensorFP64 fromFile(Shape shape, Path path, long offset) throws IOException {
+        return new TensorFP64(shape, DoubleArray.fromFile(path, offset, shape.getSize()));
+    }
+
     public void init(double value) {
         for (int i = 0; i < getSize(); i++) {
             tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_DOUBLE, getBaseIndex() + i, value);
@@ -112,6 +156,11 @@ public final class TensorFP64 extends Tensor {
         init(0d);
     }
 
+    @Override
+    public void close() {
+        tensorStorage.close();
+    }
+
     @Override
     public int getElementSize() {
         return DOUBLE_BYTES;
@@ -20,11 +20,15 @@ package uk.ac.manchester.tornado.api.types.tensors;
 import uk.ac.manchester.tornado.api.annotations.Parallel;
 import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
 import uk.ac.manchester.tornado.api.types.arrays.HalfFloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.NativeSegmentPool;
 import uk.ac.manchester.tornado.api.types.arrays.ShortArray;
 import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 
+import java.io.IOException;
 import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SegmentAllocator;
 import java.nio.ShortBuffer;
+import java.nio.file.Path;
 import java.util.Arrays;
 
 import static java.lang.foreign.ValueLayout.JAVA_SHORT;
@@ -58,6 +62,46 @@ public final class TensorInt16 extends Tensor {
         this.tensorStorage = new ShortArray(numberOfElements);
     }
 
+    private TensorInt16(Shape shape, ShortArray tensorStorage) {
+        super(DType.HALF_FLOAT, shape);
+        this.shape = shape;
+        this.numberOfElements = shape.getSize();
+        this.dType = DType.HALF_FLOAT;
+        this.tensorStorage = tensorStorage;
+    }
+
+    /**
+     * Creates a new tensor whose data is stored in a segment allocated by the given allocator.
+     *
+     * @param shape
+     *     The shape of the tensor.
+     * @param allocator
+     *     The allocator of the off-heap memory, e.g., a confined or shared {@link java.lang.foreign.Arena} whose
+     *     lifetime is managed by the caller, or a {@link NativeSegmentPool}.
+     */
+    public TensorInt16(Shape shape, SegmentAllocator allocator) {
+        this(shape, new ShortArray(shape.getSize(), allocator));
+    }
+
+    /**
+     * Creates a new tensor backed by a memory-mapped region of a file that contains the raw tensor data.
+     * The number of elements to map is given by the shape of the tensor.
+     *
+     * @param shape
+     *     The shape of the tensor.
+     * @param path
+     *     The path of the file.
+     * @param offset
+     *     The offset, in bytes, of the first element in the file.
+     * @return A new {@link TensorInt16} backed by the file data.
+     * @throws IOException
+     *     if the file cannot be opened or mapped.
+     * @see ShortArray#fromFile(Path, long, int)
+     */
+    public static TensorInt16 fromFile(Shape shape, Path path, long offset) throws IOException {
+        return new TensorInt16(shape, ShortArray.fromFile(path, offset, shape.getSize()));
+    }
+
     public void init(short value) {
         for (int i = 0; i < getSize(); i++) {
             tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_SHORT, getBaseIndex() + i, value);
@@ -113,6 +157,11 @@ public final class TensorInt16 extends Tensor {
         init((short) 0);
     }
 
+    @Override
+    public void close() {
+        tensorStorage.close();
+    }
+
     @Override
     public int getElementSize() {
         return SHORT_BYTES;
@@ -21,10 +21,14 @@ import uk.ac.manchester.tornado.api.annotations.Parallel;
 import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
 import uk.ac.manchester.tornado.api.types.arrays.HalfFloatArray;
 import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.NativeSegmentPool;
 import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 
+import java.io.IOException;
 import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SegmentAllocator;
 import java.nio.IntBuffer;
+import java.nio.file.Path;
 import java.util.Arrays;
 
 import static java.lang.foreign.ValueLayout.JAVA_INT;
@@ -44,7 +48,7 @@ public final class TensorInt32 extends Tensor {
     /**
      * The total number of elements in the tensor.
      */
-    private int numberOfElements;
+    private long numberOfElements;
 
     /**
      * The memory segment representing the tensor data in native memory.
@@ -53,13 +57,53 @@ public final class TensorInt32 extends Tensor {
     public TensorInt32(Shape shape) {
         super(DType.INT32, shape);
         this.shape = shape;
-        this.numberOfElements = shape.getSize();
+        this.numberOfElements = checkNumberOfElements(shape.getSizeAsLong());
         this.dType = DType.INT32;
         this.tensorStorage = new IntArray(numberOfElements);
     }
 
+    private TensorInt32(Shape shape, IntArray tensorStorage) {
+        super(DType.INT32, shape);
+        this.shape = shape;
+        this.numberOfElements = checkNumberOfElements(shape.getSizeAsLong());
+        this.dType = DType.INT32;
+        this.tensorStorage = tensorStorage;
+    }
+
+    /**
+     * Creates a new tensor whose data is stored in a segment allocated by the given allocator.
+     *
+     * @param shape
+     *     The shape of the tensor.
+     * @param allocator
+     *     The allocator of the off-heap memory, e.g., a confined or shared {@link java.lang.foreign.Arena} whose
+     *     lifetime is managed by the caller, or a {@link NativeSegmentPool}.
+     */
+    public TensorInt32(Shape shape, SegmentAllocator allocator) {
+        this(shape, new IntArray(shape.getSizeAsLong(), allocator));
+    }
+
+    /**
+     * Creates a new tensor backed by a memory-mapped region of a file that contains the raw tensor data.
+     * The number of elements to map is given by the shape of the tensor.
+     *
+     * @param shape
+     *     The shape of the tensor.
+     * @param path
+     *     The path of the file.
+     * @param offset
+     *     The offset, in bytes, of the first element in the file.
+     * @return A new {@link TensorInt32} backed by the file data.
+     * @throws IOException
+     *     if the file cannot be opened or mapped.
+     * @see IntArray#fromFile(Path, long, long)
+     */
+    public static TensorInt32 fromFile(Shape shape, Path path, long offset) throws IOException {
+        return new TensorInt32(shape, IntArray.fromFile(path, offset, shape.getSizeAsLong()));
+    }
+
     public void init(int value) {
-        for (int i = 0; i < getSize(); i++) {
+        for (long i = 0; i < numberOfElements; i++) {
             tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_INT, getBaseIndex() + i, value);
         }
     }
@@ -83,8 +127,21 @@ public final class TensorInt32 extends Tensor {
         return tensorStorage.getSegmentWithHeader().getAtIndex(JAVA_INT, getBaseIndex() + index);
     }
 
+    public void set(long index, int value) {
+        tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_INT, getBaseIndex() + index, value);
+    }
+
+    public int get(long index) {
+        return tensorStorage.getSegmentWithHeader().getAtIndex(JAVA_INT, getBaseIndex() + index);
+    }
+
     @Override
     public int getSize() {
+        return (int) numberOfElements;
+    }
+
+    @Override
+    public long getSizeAsLong() {
         return numberOfElements;
     }
 
@@ -113,6 +170,11 @@ public final class TensorInt32 extends Tensor {
         init(0);
     }
 
+    @Override
+    public void close() {
+        tensorStorage.close();
+    }
+
     @Override
     public int getElementSize() {
         return INT_BYTES;
@@ -152,7 +214,7 @@ public final class TensorInt32 extends Tensor {
      *     concatenated in the order they were provided.
      */
     public static TensorInt32 concat(TensorInt32... arrays) {
-        int newSize = Arrays.stream(arrays).mapToInt(TensorInt32::getSize).sum();
+        long newSize = Arrays.stream(arrays).mapToLong(TensorInt32::getSizeAsLong).sum();
         TensorInt32 concatArray = new TensorInt32(new Shape(newSize));
         long currentPositionBytes = 0;
         for (TensorInt32 array : arrays) {
@@ -21,10 +21,14 @@ import uk.ac.manchester.tornado.api.annotations.Parallel;
 import uk.ac.manchester.tornado.api.internal.annotations.SegmentElementSize;
 import uk.ac.manchester.tornado.api.types.arrays.HalfFloatArray;
 import uk.ac.manchester.tornado.api.types.arrays.LongArray;
+import uk.ac.manchester.tornado.api.types.arrays.NativeSegmentPool;
 import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 
+import java.io.IOException;
 import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SegmentAllocator;
 import java.nio.LongBuffer;
+import java.nio.file.Path;
 import java.util.Arrays;
 
 import static java.lang.foreign.ValueLayout.JAVA_LONG;
@@ -57,6 +61,46 @@ public final class TensorInt64 extends Tensor {
         this.tensorStorage = new LongArray(numberOfElements);
     }
 
+    private TensorInt64(Shape shape, LongArray tensorStorage) {
+        super(DType.INT64, shape);
+        this.shape = shape;
+        this.numberOfElements = shape.getSize();
+        this.dType = DType.INT64;
+        this.tensorStorage = tensorStorage;
+    }
+
+    /**
+     * Creates a new tensor whose data is stored in a segment allocated by the given allocator.
+     *
+     * @param shape
+     *     The shape of the tensor.
+     * @param allocator
+     *     The allocator of the off-heap memory, e.g., a confined or shared {@link java.lang.foreign.Arena} whose
+     *     lifetime is managed by the caller, or a {@link NativeSegmentPool}.
+     */
+    public TensorInt64(Shape shape, SegmentAllocator allocator) {
+        this(shape, new LongArray(shape.getSize(), allocator));
+    }
+
+    /**
+     * Creates a new tensor backed by a memory-mapped region of a file that contains the raw tensor data.
+     * The number of elements to map is given by the shape of the tensor.
+     *
+     * @param shape
+     *     The shape of the tensor.
+     * @param path
+     *     The path of the file.
+     * @param offset
+     *     The offset, in bytes, of the first element in the file.
+     * @return A new {@link TensorInt64} backed by the file data.
+     * @throws IOException
+     *     if the file cannot be opened or mapped.
+     * @see LongArray#fromFile(Path, long, int)
+     */
+    public static TensorInt64 fromFile(Shape shape, Path path, long offset) throws IOException {
+        return new TensorInt64(shape, LongArray.fromFile(path, offset, shape.getSize()));
+    }
+
     public void init(long value) {
         for (int i = 0; i < getSize(); i++) {
             tensorStorage.getSegmentWithHeader().setAtIndex(JAVA_LONG, getBaseIndex() + i, value);
@@ -112,6 +156,11 @@ public final class TensorInt64 extends Tensor {
         init((long) 0);
     }
 
+    @Override
+    public void close() {
+        tensorStorage.close();
+    }
+
     @Override
     public int getElementSize() {
         return LONG_BYTES;
@@ -303,6 +303,26 @@ def runWithJMH(args):
     os.system(command)
 
 
+def runRuntimeOverheadsWithJMH(args):
+    jvm_options, tornado_options = composeAllOptions(args)
+    virtual_device = (
+        " -Dtornado.virtual.device=True -Dtornado.device.desc="
+        + os.environ["TORNADO_SDK"]
+        + "/examples/virtual-device-GPU.json"
+    )
+    command = (
+        __TORNADO_COMMAND__
+        + ' --jvm="'
+        + jvm_options
+        + virtual_device
+        + '" '
+        + " -jar tornado-runtime-benchmarks/target/jmhbenchmarks.jar -rf json -rff "
+        + args.jmhResultFile
+    )
+    print(command)
+    os.system(command)
+
+
 def runDefaultSizePerBenchmark(args):
     if args.benchmark and args.benchmark not in allSizes:
         print(f"Error: '{args.benchmark}' does not match a valid key in allSizes. Please provide a valid benchmark.")
@@ -407,6 +427,20 @@ def parseArguments():
     parser.add_argument(
         "--jmh", action="store_true", dest="jmh", default=False, help="Run with JMH"
     )
+    parser.add_argument(
+        "--jmhRuntime",
+        action="store_true",
+        dest="jmhRuntime",
+        default=False,
+        help="Run the JMH benchmarks for the runtime overheads on the virtual device",
+    )
+    parser.add_argument(
+        "--jmhResultFile",
+        action="store",
+        dest="jmhResultFile",
+        default="tornado-runtime-overheads.json",
+        help="JSON file to store the results of --jmhRuntime",
+    )
     parser.add_argument(
         "--jvm",
         "-J",
@@ -486,6 +520,9 @@ def main():
     elif args.jmh:
         print("[INFO] Running default size with JMH")
         runWithJMH(args)
+    elif args.jmhRuntime:
+        print("[INFO] Running the runtime overhead benchmarks with JMH")
+        runRuntimeOverheadsWithJMH(args)
     elif args.properties:
         printProperties()
     else:
@@ -0,0 +1,140 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.drivers.common;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Buddy allocator over one large device buffer. Small objects are allocated as
+ * regions inside the arena, so they do not need a driver allocation each. The
+ * arena is split in blocks of power-of-two sizes, and every block is aligned to
+ * its size, so any offset returned is aligned to the minimum block size.
+ */
+public final class DeviceArena {
+
+    public static final long NO_SPACE = -1;
+
+    private final long buffer;
+    private final long capacity;
+    private final int minOrder;
+    private final List<HashSet<Long>> freeBlocks;
+    private final HashMap<Long, Integer> allocatedBlocks;
+    private long usedBytes;
+    private boolean retired;
+
+    public DeviceArena(long buffer, long capacity, long minBlockSize) {
+        this.buffer = buffer;
+        this.minOrder = orderOf(minBlockSize);
+        int maxOrder = Long.numberOfTrailingZeros(Long.highestOneBit(capacity));
+        this.capacity = 1L << maxOrder;
+        this.freeBlocks = new ArrayList<>();
+        for (int order = minOrder; order <= maxOrder; order++) {
+            freeBlocks.add(new HashSet<>());
+        }
+        freeBlocks.getLast().add(0L);
+        this.allocatedBlocks = new HashMap<>();
+    }
+
+    private static int orderOf(long size) {
+        return size <= 1 ? 0 : 64 - Long.numberOfLeadingZeros(size - 1);
+    }
+
+    public long getBuffer() {
+        return buffer;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Allocates a block that can hold the given number of bytes.
+     *
+     * @return the offset of the block within the arena, or {@link #NO_SPACE}.
+     */
+    public synchronized long allocate(long size) {
+        if (retired) {
+            return NO_SPACE;
+        }
+        final int order = Math.max(minOrder, orderOf(size));
+        int index = order - minOrder;
+        if (index >= freeBlocks.size()) {
+            return NO_SPACE;
+        }
+
+        // Find the smallest free block that fits and split it down to the requested order
+        int current = index;
+        while (current < freeBlocks.size() && freeBlocks.get(current).isEmpty()) {
+            current++;
+        }
+        if (current == freeBlocks.size()) {
+            return NO_SPACE;
+        }
+        long offset = freeBlocks.get(current).iterator().next();
+        freeBlocks.get(current).remove(offset);
+        while (current > index) {
+            current--;
+            freeBlocks.get(current).add(offset + (1L << (current + minOrder)));
+        }
+        usedBytes += 1L << order;
+        allocatedBlocks.put(offset, index);
+        return offset;
+    }
+
+    /**
+     * Returns the block allocated at the given offset to the arena, merging it
+     * with its buddy when both are free.
+     */
+    public synchronized void free(long offset) {
+        Integer allocatedIndex = allocatedBlocks.remove(offset);
+        if (allocatedIndex == null) {
+            throw new IllegalArgumentException("No block allocated at offset " + offset);
+        }
+        int index = allocatedIndex;
+        usedBytes -= 1L << (index + minOrder);
+        while (index < freeBlocks.size() - 1) {
+            long buddy = offset ^ (1L << (index + minOrder));
+            if (!freeBlocks.get(index).remove(buddy)) {
+                break;
+            }
+            offset = Math.min(offset, buddy);
+            index++;
+        }
+        freeBlocks.get(index).add(offset);
+    }
+
+    /**
+     * Marks the arena as retired if no block is in use, so it can be released.
+     *
+     * @return true if the arena has been retired.
+     */
+    public synchronized boolean retireIfEmpty() {
+        if (usedBytes == 0) {
+            retired = true;
+        }
+        return retired;
+    }
+}
@@ -0,0 +1,365 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.drivers.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.graalvm.compiler.graph.Graph;
+import org.graalvm.compiler.nodes.StructuredGraph;
+
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.domain.DomainTree;
+import uk.ac.manchester.tornado.runtime.domain.IntDomain;
+import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
+
+/**
+ * Persistent, content-addressed cache of compiled kernels that survives JVM
+ * restarts. Each entry is indexed by a SHA-256 hash of:
+ *
+ * <ul>
+ * <li>the bytecode of the task method and every method inlined during the
+ * sketch,</li>
+ * <li>the specialised arguments (scalar values and array lengths),</li>
+ * <li>the compiler flags and batch configuration,</li>
+ * <li>the TornadoVM options that affect code generation,</li>
+ * <li>the backend and device/driver identity.</li>
+ * </ul>
+ *
+ * <p>
+ * An entry stores the kernel binary (or source, depending on the backend), the
+ * kernel entry point and the parallel domain discovered by the shape analysis,
+ * so that a hit can skip both the Graal compilation and, when the backend
+ * supports binaries, the driver build. The total size of the cache is bounded
+ * by {@link TornadoOptions#KERNEL_DISK_CACHE_SIZE}. When exceeded, the least
+ * recently used entries are evicted.
+ * </p>
+ *
+ * <p>
+ * Options:
+ * <ul>
+ * <li><code>-Dtornado.kernel.cache.enable=true</code></li>
+ * <li><code>-Dtornado.kernel.cache.dir=PATH</code></li>
+ * <li><code>-Dtornado.kernel.cache.size=512MB</code></li>
+ * </ul>
+ * </p>
+ */
+public final class KernelDiskCache {
+
+    private static final String BINARY_SUFFIX = ".bin";
+    private static final String METADATA_SUFFIX = ".meta";
+    private static final String ENTRY_POINT = "entryPoint";
+    private static final String DOMAIN = "domain";
+    private static final String KERNEL_CACHE_PROPERTY_PREFIX = "tornado.kernel.cache";
+
+    private static final ConcurrentHashMap<String, KernelDiskCache> CACHES = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private final String deviceIdentity;
+    private final TornadoLogger logger = new TornadoLogger(KernelDiskCache.class);
+
+    private KernelDiskCache(String backendName, String deviceIdentity) {
+        this.directory = Paths.get(TornadoOptions.KERNEL_DISK_CACHE_DIR, backendName);
+        this.deviceIdentity = deviceIdentity;
+    }
+
+    public static boolean isEnabled() {
+        return TornadoOptions.KERNEL_DISK_CACHE;
+    }
+
+    /**
+     * Returns the kernel cache for a device. There is a single instance per
+     * backend and device identity.
+     *
+     * @param backendName
+     *     Name of the backend (e.g., opencl, ptx, spirv).
+     * @param deviceIdentity
+     *     String that uniquely identifies the physical device and the driver
+     *     version.
+     * @return {@link KernelDiskCache}
+     */
+    public static KernelDiskCache getInstance(String backendName, String deviceIdentity) {
+        return CACHES.computeIfAbsent(backendName + "@" + deviceIdentity, k -> new KernelDiskCache(backendName, deviceIdentity));
+    }
+
+    /**
+     * Builds the lookup key for a task.
+     *
+     * @param task
+     *     {@link CompilableTask} to compile.
+     * @param resolvedMethod
+     *     Task method.
+     * @param sketchGraph
+     *     Graph from the sketcher. It is used to collect the methods inlined
+     *     during the sketch.
+     * @param compilerFlags
+     *     Compiler flags passed to the driver.
+     * @param extra
+     *     Additional backend-specific values that are part of the generated
+     *     code (e.g., the kernel name).
+     * @return a hexadecimal SHA-256 string.
+     */
+    public String buildKey(CompilableTask task, ResolvedJavaMethod resolvedMethod, Graph sketchGraph, String compilerFlags, String... extra) {
+        MessageDigest digest = createDigest();
+        update(digest, deviceIdentity);
+        update(digest, compilerFlags);
+        updateMethod(digest, resolvedMethod);
+        if (sketchGraph instanceof StructuredGraph structuredGraph) {
+            for (ResolvedJavaMethod inlinedMethod : structuredGraph.getMethods()) {
+                updateMethod(digest, inlinedMethod);
+            }
+        }
+
+        for (Object argument : task.getArguments()) {
+            update(digest, describeArgument(argument));
+        }
+
+        final long batchThreads = (task.meta().getNumThreads() > 0) ? task.meta().getNumThreads() : task.getBatchThreads();
+        update(digest, "batch=" + batchThreads + ":" + task.getBatchNumber() + ":" + task.getBatchSize());
+
+        // Compiler options are global system properties
+        TreeSet<String> keys = new TreeSet<>(System.getProperties().stringPropertyNames());
+        for (String key : keys) {
+            if (key.startsWith("tornado.") && !key.startsWith(KERNEL_CACHE_PROPERTY_PREFIX)) {
+                update(digest, key + "=" + System.getProperty(key));
+            }
+        }
+
+        for (String value : extra) {
+            update(digest, value);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Looks up an entry in the cache. On a hit, the entry is marked as recently
+     * used.
+     *
+     * @param key
+     *     Key built with {@link #buildKey}.
+     * @return the {@link Entry} or null if the kernel is not in the cache.
+     */
+    public Entry lookup(String key) {
+        Path binaryFile = directory.resolve(key + BINARY_SUFFIX);
+        Path metadataFile = directory.resolve(key + METADATA_SUFFIX);
+        if (!Files.exists(binaryFile) || !Files.exists(metadataFile)) {
+            return null;
+        }
+        try (InputStream inputStream = Files.newInputStream(metadataFile)) {
+            Properties metadata = new Properties();
+            metadata.load(inputStream);
+            byte[] binary = Files.readAllBytes(binaryFile);
+            FileTime now = FileTime.fromMillis(System.currentTimeMillis());
+            Files.setLastModifiedTime(binaryFile, now);
+            Files.setLastModifiedTime(metadataFile, now);
+            logger.debug("Kernel cache hit: %s (%s)", metadata.getProperty(ENTRY_POINT), key);
+            return new Entry(metadata.getProperty(ENTRY_POINT), decodeDomain(metadata.getProperty(DOMAIN, "")), binary);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Unable to read kernel cache entry %s: %s", key, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stores a compiled kernel in the cache and evicts the least recently used
+     * entries if the cache exceeds its maximum size.
+     *
+     * @param key
+     *     Key built with {@link #buildKey}.
+     * @param entryPoint
+     *     Name of the kernel.
+     * @param domain
+     *     Parallel domain of the task. It can be null.
+     * @param binary
+     *     Kernel binary or source.
+     */
+    public void store(String key, String entryPoint, DomainTree domain, byte[] binary) {
+        if (binary == null || binary.length == 0 || binary.length > TornadoOptions.KERNEL_DISK_CACHE_SIZE) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            Properties metadata = new Properties();
+            metadata.setProperty(ENTRY_POINT, entryPoint);
+            metadata.setProperty(DOMAIN, encodeDomain(domain));
+
+            // Write to temporary files first and then move them, so that concurrent JVMs never
+            // observe a partially written entry.
+            Path tmpBinary = Files.createTempFile(directory, key, BINARY_SUFFIX);
+            Files.write(tmpBinary, binary);
+            Path tmpMetadata = Files.createTempFile(directory, key, METADATA_SUFFIX);
+            try (OutputStream outputStream = Files.newOutputStream(tmpMetadata)) {
+                metadata.store(outputStream, null);
+            }
+            Files.move(tmpBinary, directory.resolve(key + BINARY_SUFFIX), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.move(tmpMetadata, directory.resolve(key + METADATA_SUFFIX), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.debug("Kernel cache store: %s (%s)", entryPoint, key);
+        } catch (IOException e) {
+            logger.warn("Unable to store kernel %s in the kernel cache: %s", entryPoint, e.getMessage());
+            return;
+        }
+        evict();
+    }
+
+    private synchronized void evict() {
+        List<Path> binaries = new ArrayList<>();
+        long totalSize = 0;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(f -> f.toString().endsWith(BINARY_SUFFIX)).toList()) {
+                binaries.add(file);
+                totalSize += Files.size(file);
+            }
+        } catch (IOException e) {
+            logger.warn("Unable to list the kernel cache directory %s: %s", directory, e.getMessage());
+            return;
+        }
+        if (totalSize <= TornadoOptions.KERNEL_DISK_CACHE_SIZE) {
+            return;
+        }
+
+        binaries.sort(Comparator.comparing(this::lastModifiedTime));
+        for (Path binaryFile : binaries) {
+            if (totalSize <= TornadoOptions.KERNEL_DISK_CACHE_SIZE) {
+                break;
+            }
+            try {
+                long size = Files.size(binaryFile);
+                String fileName = binaryFile.getFileName().toString();
+                String key = fileName.substring(0, fileName.length() - BINARY_SUFFIX.length());
+                Files.deleteIfExists(directory.resolve(key + METADATA_SUFFIX));
+                Files.deleteIfExists(binaryFile);
+                totalSize -= size;
+                logger.debug("Kernel cache eviction: %s", key);
+            } catch (IOException e) {
+                logger.warn("Unable to evict %s from the kernel cache: %s", binaryFile, e.getMessage());
+            }
+        }
+    }
+
+    private FileTime lastModifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        byte[] bytes = (value == null ? "null" : value).getBytes(StandardCharsets.UTF_8);
+        digest.update(bytes);
+        // Separator to avoid collisions between concatenated values
+        digest.update((byte) 0);
+    }
+
+    private static void updateMethod(MessageDigest digest, ResolvedJavaMethod method) {
+        update(digest, method.format("%H.%n(%P)%R"));
+        byte[] code = method.getCode();
+        if (code != null) {
+            digest.update(code);
+        }
+        digest.update((byte) 0);
+    }
+
+    private static String describeArgument(Object argument) {
+        if (argument == null) {
+            return "null";
+        } else if (argument instanceof Number || argument instanceof Boolean || argument instanceof Character) {
+            return argument.getClass().getName() + ":" + argument;
+        } else if (argument.getClass().isArray()) {
+            return argument.getClass().getName() + "[" + Array.getLength(argument) + "]";
+        } else if (argument instanceof TornadoNativeArray nativeArray) {
+            return argument.getClass().getName() + "[" + nativeArray.getSizeAsLong() + "]";
+        }
+        return argument.getClass().getName();
+    }
+
+    private static String encodeDomain(DomainTree domain) {
+        if (domain == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < domain.getDepth(); i++) {
+            if (!(domain.get(i) instanceof IntDomain intDomain)) {
+                return "";
+            }
+            sb.append(intDomain.getOffset()).append(",").append(intDomain.getStep()).append(",").append(intDomain.cardinality()).append(";");
+        }
+        return sb.toString();
+    }
+
+    private static DomainTree decodeDomain(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        String[] dimensions = value.split(";");
+        DomainTree domain = new DomainTree(dimensions.length);
+        for (int i = 0; i < dimensions.length; i++) {
+            String[] fields = dimensions[i].split(",");
+            domain.set(i, new IntDomain(Integer.parseInt(fields[0]), Integer.parseInt(fields[1]), Integer.parseInt(fields[2])));
+        }
+        return domain;
+    }
+
+    /**
+     * Entry of the kernel cache.
+     *
+     * @param entryPoint
+     *     Name of the kernel.
+     * @param domain
+     *     Parallel domain of the task, or null if the task has no parallel
+     *     loops.
+     * @param binary
+     *     Kernel binary or source.
+     */
+    public record Entry(String entryPoint, DomainTree domain, byte[] binary) {
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.drivers.common;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import uk.ac.manchester.tornado.runtime.common.PropertiesDatabase;
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+
+/**
+ * Autotuner for the local work size (block size in CUDA) of kernels that do
+ * not define their own work-group configuration.
+ *
+ * <p>
+ * For each kernel, device and global size bucket (the next power of two of
+ * each dimension), the first launches try a bounded set of local sizes, each
+ * one {@link TornadoOptions#AUTOTUNE_SAMPLES} times, and measure the kernel
+ * time with the events of the backend. The fastest local size is stored in a
+ * persistent database, so later runs (also in other JVMs) use it directly.
+ * </p>
+ *
+ * <p>
+ * Options:
+ * <ul>
+ * <li><code>-Dtornado.autotune.enable=true</code></li>
+ * <li><code>-Dtornado.autotune.db=FILE</code></li>
+ * <li><code>-Dtornado.autotune.samples=3</code></li>
+ * </ul>
+ * </p>
+ */
+public final class LocalWorkTuner {
+
+    /**
+     * Elapsed time to record when a candidate cannot be launched.
+     */
+    public static final long FAILED = -1;
+
+    private static final int NO_CANDIDATE = -1;
+    private static final int KEY_HASH_LENGTH = 16;
+
+    // @formatter:off
+    private static final long[][] CANDIDATES_1D = {
+            { 32, 1, 1 }, { 64, 1, 1 }, { 128, 1, 1 }, { 256, 1, 1 }, { 512, 1, 1 }, { 1024, 1, 1 } };
+    private static final long[][] CANDIDATES_2D = {
+            { 8, 8, 1 }, { 16, 8, 1 }, { 8, 16, 1 }, { 16, 16, 1 }, { 32, 4, 1 }, { 32, 8, 1 }, { 64, 4, 1 }, { 32, 16, 1 }, { 32, 32, 1 } };
+    // @formatter:on
+
+    private static final ConcurrentHashMap<String, LocalWorkTuner> TUNERS = new ConcurrentHashMap<>();
+    private static final TornadoLogger logger = new TornadoLogger(LocalWorkTuner.class);
+
+    private final String keyPrefix;
+    private final ConcurrentHashMap<String, TuningSession> sessions;
+    private final Database database;
+
+    private LocalWorkTuner(String backendName, String deviceIdentity, Database database) {
+        this.keyPrefix = backendName + "." + hash(deviceIdentity.getBytes(StandardCharsets.UTF_8)) + ".";
+        this.sessions = new ConcurrentHashMap<>();
+        this.database = database;
+    }
+
+    /**
+     * Creates a tuner that uses its own database file, instead of
+     * {@link TornadoOptions#AUTOTUNE_DB}.
+     */
+    public LocalWorkTuner(String backendName, String deviceIdentity, Path databaseFile) {
+        this(backendName, deviceIdentity, new Database(databaseFile));
+    }
+
+    public static boolean isEnabled() {
+        return TornadoOptions.AUTOTUNE_LOCAL_WORK;
+    }
+
+    /**
+     * Returns the tuner for a device. There is a single instance per backend and
+     * device identity.
+     *
+     * @param backendName
+     *     Name of the backend (e.g., opencl, ptx).
+     * @param deviceIdentity
+     *     String that uniquely identifies the physical device and the driver
+     *     version.
+     * @return {@link LocalWorkTuner}
+     */
+    public static LocalWorkTuner getInstance(String backendName, String deviceIdentity) {
+        return TUNERS.computeIfAbsent(backendName + "@" + deviceIdentity, k -> new LocalWorkTuner(backendName, deviceIdentity, Database.DEFAULT));
+    }
+
+    /**
+     * Computes the identifier of a kernel from its source or binary.
+     */
+    public static String hash(byte[] code) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(code);
+            return HexFormat.of().formatHex(digest, 0, KEY_HASH_LENGTH / 2);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long bucketOf(long globalWork) {
+        return globalWork <= 1 ? 1 : Long.highestOneBit(globalWork - 1) << 1;
+    }
+
+    private String buildKey(String kernelHash, int dims, long[] globalWork) {
+        StringBuilder key = new StringBuilder(keyPrefix).append(kernelHash).append('.').append(dims);
+        for (int i = 0; i < dims; i++) {
+            key.append(i == 0 ? '.' : 'x').append(bucketOf(globalWork[i]));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Selects the local work for the next launch of a kernel.
+     *
+     * @param kernelHash
+     *     Identifier of the kernel, computed with {@link #hash}.
+     * @param dims
+     *     Number of dimensions of the kernel.
+     * @param globalWork
+     *     Global work of the launch.
+     * @param defaultLocalWork
+     *     Local work selected by the scheduler of the backend. It is one of the
+     *     candidates.
+     * @param maxWorkItemSizes
+     *     Maximum local work per dimension.
+     * @param maxWorkGroupSize
+     *     Maximum number of work-items in a work-group.
+     * @return The {@link Trial} to launch, or null to use the default local work.
+     */
+    public Trial select(String kernelHash, int dims, long[] globalWork, long[] defaultLocalWork, long[] maxWorkItemSizes, long maxWorkGroupSize) {
+        final String key = buildKey(kernelHash, dims, globalWork);
+        long[] tuned = database.lookup(key);
+        if (tuned != null) {
+            return new Trial(key, tuned, NO_CANDIDATE);
+        }
+        TuningSession session = sessions.computeIfAbsent(key, k -> new TuningSession(createCandidates(dims, globalWork, defaultLocalWork, maxWorkItemSizes, maxWorkGroupSize)));
+        int candidate = session.nextCandidate();
+        if (candidate == NO_CANDIDATE) {
+            // All candidates are in flight; keep the default until their times are recorded
+            return null;
+        }
+        return new Trial(key, session.candidates.get(candidate), candidate);
+    }
+
+    /**
+     * Records the kernel time of a launch that used a candidate local work.
+     *
+     * @param trial
+     *     The trial returned by {@link #select}.
+     * @param elapsedTime
+     *     Kernel time in nanoseconds, or {@link #FAILED}.
+     */
+    public void record(Trial trial, long elapsedTime) {
+        if (!trial.isMeasured()) {
+            return;
+        }
+        TuningSession session = sessions.get(trial.key);
+        if (session == null) {
+            return;
+        }
+        long[] winner = session.record(trial.candidate, elapsedTime);
+        if (winner != null) {
+            sessions.remove(trial.key);
+            database.store(trial.key, winner);
+            logger.info("Local work tuned for %s: %s (%d ns)", trial.key, Arrays.toString(winner), session.bestTime);
+        }
+    }
+
+    private static List<long[]> createCandidates(int dims, long[] globalWork, long[] defaultLocalWork, long[] maxWorkItemSizes, long maxWorkGroupSize) {
+        List<long[]> candidates = new ArrayList<>();
+        long[] defaultCandidate = new long[] { 1, 1, 1 };
+        System.arraycopy(defaultLocalWork, 0, defaultCandidate, 0, Math.min(dims, defaultLocalWork.length));
+        candidates.add(defaultCandidate);
+
+        for (long[] candidate : dims == 1 ? CANDIDATES_1D : CANDIDATES_2D) {
+            boolean fits = true;
+            long workGroupSize = 1;
+            for (int i = 0; i < dims && i < candidate.length; i++) {
+                workGroupSize *= candidate[i];
+                fits &= candidate[i] <= maxWorkItemSizes[i] && candidate[i] <= bucketOf(globalWork[i]);
+            }
+            if (fits && workGroupSize <= maxWorkGroupSize && !Arrays.equals(candidate, defaultCandidate)) {
+                candidates.add(candidate.clone());
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Local work to launch a kernel with. If the trial is measured, the kernel
+     * time must be passed to {@link #record}.
+     */
+    public record Trial(String key, long[] localWork, int candidate) {
+        public boolean isMeasured() {
+            return candidate != NO_CANDIDATE;
+        }
+    }
+
+    private static final class TuningSession {
+
+        private final List<long[]> candidates;
+        private final long[] bestTimes;
+        private int launched;
+        private int recorded;
+        private long bestTime = Long.MAX_VALUE;
+
+        private TuningSession(List<long[]> candidates) {
+            this.candidates = candidates;
+            this.bestTimes = new long[candidates.size()];
+            Arrays.fill(bestTimes, Long.MAX_VALUE);
+        }
+
+        private synchronized int nextCandidate() {
+            if (launched == candidates.size() * TornadoOptions.AUTOTUNE_SAMPLES) {
+                return NO_CANDIDATE;
+            }
+            return launched++ / TornadoOptions.AUTOTUNE_SAMPLES;
+        }
+
+        /**
+         * @return the fastest candidate once all samples have been recorded, null
+         *     otherwise.
+         */
+        private synchronized long[] record(int candidate, long elapsedTime) {
+            if (elapsedTime == FAILED) {
+                bestTimes[candidate] = FAILED;
+            } else if (bestTimes[candidate] != FAILED) {
+                bestTimes[candidate] = Math.min(bestTimes[candidate], elapsedTime);
+            }
+            recorded++;
+            if (recorded < candidates.size() * TornadoOptions.AUTOTUNE_SAMPLES) {
+                return null;
+            }
+            // The default candidate is kept if all others fail
+            int best = 0;
+            for (int i = 0; i < candidates.size(); i++) {
+                if (bestTimes[i] != FAILED && bestTimes[i] < bestTime) {
+                    bestTime = bestTimes[i];
+                    best = i;
+                }
+            }
+            return candidates.get(best);
+        }
+    }
+
+    /**
+     * Persistent database of tuned local sizes. It is a properties file shared by
+     * all backends and devices, loaded on first use.
+     */
+    private static final class Database {
+
+        private static final Database DEFAULT = new Database(Paths.get(TornadoOptions.AUTOTUNE_DB));
+
+        private final PropertiesDatabase file;
+        private final ConcurrentHashMap<String, long[]> entries;
+
+        private Database(Path path) {
+            this.file = new PropertiesDatabase(path, "TornadoVM local work autotuning database");
+            this.entries = new ConcurrentHashMap<>();
+            for (var entry : read().entrySet()) {
+                try {
+                    entries.put((String) entry.getKey(), Arrays.stream(((String) entry.getValue()).split(",")).mapToLong(Long::parseLong).toArray());
+                } catch (NumberFormatException e) {
+                    logger.warn("Ignoring invalid entry %s in the autotuning database %s", entry.getKey(), path);
+                }
+            }
+        }
+
+        private Properties read() {
+            try {
+                return file.read();
+            } catch (IOException e) {
+                logger.warn("Unable to read the autotuning database %s: %s", file.getFile(), e.getMessage());
+                return new Properties();
+            }
+        }
+
+        private long[] lookup(String key) {
+            return entries.get(key);
+        }
+
+        private void store(String key, long[] localWork) {
+            entries.put(key, localWork);
+            try {
+                // Merge with the entries stored by other JVMs since the database was loaded
+                file.update(properties -> properties.setProperty(key, String.join(",", Arrays.stream(localWork).mapToObj(Long::toString).toList())));
+            } catch (IOException e) {
+                logger.warn("Unable to update the autotuning database %s: %s", file.getFile(), e.getMessage());
+            }
+        }
+    }
+}
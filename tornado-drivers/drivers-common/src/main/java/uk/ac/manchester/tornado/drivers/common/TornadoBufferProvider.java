@@ -22,33 +22,84 @@
  */
 package uk.ac.manchester.tornado.drivers.common;
 
-import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.DEVICE_AVAILABLE_MEMORY;
+import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.shouldNotReachHere;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 import uk.ac.manchester.tornado.api.TornadoDeviceContext;
-import uk.ac.manchester.tornado.api.TornadoTargetDevice;
 import uk.ac.manchester.tornado.api.common.Access;
-import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 import uk.ac.manchester.tornado.api.exceptions.TornadoOutOfMemoryException;
+import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 
 /**
- * This class implements a cache of allocated buffers on the device and also
+ * This class implements a pool of allocated buffers on the device and also
  * handles the logic to allocate and free buffers. This class is extended for
- * each backend. The logic is as follows: it maintains a list of used buffers
- * and another list of free buffers. When performing an allocation, it first
- * checks if memory is available on the device. If it is not, then it will try
- * to reuse a buffer from the free list of buffers.
+ * each backend.
+ *
+ * <p>
+ * Buffers are grouped in size classes (powers of two by default, see
+ * {@link TornadoOptions#BUFFER_POOL_SIZE_CLASS}). When performing an
+ * allocation, the provider first tries to reuse a free buffer of the same size
+ * class, and only calls the driver if none is available. If the device runs
+ * out of memory, any larger free buffer is reused, and the oldest free buffers
+ * are released to make room for the new allocation. If the size class still
+ * does not fit, the exact size is allocated.
+ * </p>
+ *
+ * <p>
+ * Free lists are kept per access type and size class in concurrent
+ * collections, so threads allocating different size classes do not contend on
+ * a global lock. When the amount of memory held in free buffers exceeds the
+ * high watermark, the pool is trimmed down to the low watermark.
+ * </p>
+ *
+ * <p>
+ * When the arena mode is enabled ({@link TornadoOptions#DEVICE_ARENA}), small
+ * objects are allocated as regions inside large device buffers (arenas)
+ * instead of using one driver allocation each. Backends whose buffers are
+ * device pointers hand out a pointer to the region (see
+ * {@link #isSubBufferSupported()}). Backends that pass buffers to the kernels
+ * as base and offset hand out the arena buffer and the offset of the region
+ * (see {@link #isBufferOffsetSupported()}).
+ * </p>
  */
 public abstract class TornadoBufferProvider {
 
+    private static final long POWER_OF_TWO_CLASSES = -1;
+    private static final long MIN_SIZE_CLASS = 64;
+    private static final long SIZE_CLASS_GRANULARITY = parseSizeClassGranularity(TornadoOptions.BUFFER_POOL_SIZE_CLASS);
+
     protected final TornadoDeviceContext deviceContext;
-    protected final HashMap<Access, ArrayList<BufferContainer>> freeBuffers;
-    protected final HashMap<Access, ArrayList<BufferContainer>> usedBuffers;
-    protected long currentMemoryAvailable;
+    private final EnumMap<Access, ConcurrentSkipListMap<Long, ConcurrentLinkedDeque<BufferContainer>>> freeBuffers;
+    private final EnumMap<Access, ConcurrentHashMap<Long, BufferContainer>> usedBuffers;
+    private final EnumMap<Access, AtomicInteger> numFreeBuffers;
+    private final AtomicLong currentMemoryAvailable;
+    private final AtomicLong pooledFreeBytes;
+    private final AtomicLong releaseCounter;
+    private final LongAdder poolHits;
+    private final LongAdder poolMisses;
+    private final long highWatermark;
+    private final long lowWatermark;
+    private final EnumMap<Access, List<DeviceArena>> arenas;
+    private final ConcurrentHashMap<Long, ArenaRegion> arenaRegions;
+    private final ConcurrentHashMap<Long, DeviceArena> arenaBuffers;
+
+    /**
+     * Serializes the calls to the driver and the trimming of the pool. The
+     * lookup of free buffers does not take this lock.
+     */
+    private final ReentrantLock driverLock;
     private TornadoLogger logger = new TornadoLogger(this.getClass());
 
     private static final String RESET = "\u001B[0m";
@@ -57,98 +108,310 @@ public abstract class TornadoBufferProvider {
 
     protected TornadoBufferProvider(TornadoDeviceContext deviceContext) {
         this.deviceContext = deviceContext;
-        this.usedBuffers = initializeBufferHashMap();
-        this.freeBuffers = initializeBufferHashMap();
-        currentMemoryAvailable = TornadoOptions.DEVICE_AVAILABLE_MEMORY;
-    }
-
-    private HashMap<Access, ArrayList<BufferContainer>> initializeBufferHashMap() {
-        HashMap<Access, ArrayList<BufferContainer>> bufferAccesses = new HashMap<>();
+        this.freeBuffers = new EnumMap<>(Access.class);
+        this.usedBuffers = new EnumMap<>(Access.class);
+        this.numFreeBuffers = new EnumMap<>(Access.class);
+        for (Access access : Access.values()) {
+            freeBuffers.put(access, new ConcurrentSkipListMap<>());
+            usedBuffers.put(access, new ConcurrentHashMap<>());
+            numFreeBuffers.put(access, new AtomicInteger());
+        }
+        this.currentMemoryAvailable = new AtomicLong(TornadoOptions.DEVICE_AVAILABLE_MEMORY);
+        this.pooledFreeBytes = new AtomicLong();
+        this.releaseCounter = new AtomicLong();
+        this.poolHits = new LongAdder();
+        this.poolMisses = new LongAdder();
+        this.highWatermark = TornadoOptions.DEVICE_AVAILABLE_MEMORY / 100 * TornadoOptions.BUFFER_POOL_HIGH_WATERMARK;
+        this.lowWatermark = Math.min(highWatermark, TornadoOptions.DEVICE_AVAILABLE_MEMORY / 100 * TornadoOptions.BUFFER_POOL_LOW_WATERMARK);
+        this.driverLock = new ReentrantLock();
+        this.arenas = new EnumMap<>(Access.class);
         for (Access access : Access.values()) {
-            ArrayList<BufferContainer> bufferList = new ArrayList<>();
-            bufferAccesses.put(access, bufferList);
+            arenas.put(access, new CopyOnWriteArrayList<>());
         }
-        return bufferAccesses;
+        this.arenaRegions = new ConcurrentHashMap<>();
+        this.arenaBuffers = new ConcurrentHashMap<>();
+    }
+
+    private static long parseSizeClassGranularity(String policy) {
+        return switch (policy.toLowerCase()) {
+            case "pow2" -> POWER_OF_TWO_CLASSES;
+            case "exact" -> 1;
+            default -> Math.max(1, RuntimeUtilities.parseSize(policy));
+        };
     }
 
     protected abstract long allocateBuffer(long size, Access access);
 
     protected abstract void releaseBuffer(long buffer);
 
-    private synchronized long allocate(long size, Access access) {
-        long buffer = allocateBuffer(size, access);
-        currentMemoryAvailable -= size;
-        BufferContainer bufferInfo = new BufferContainer(buffer, size, access);
-        usedBuffers.get(access).add(bufferInfo);
-        logger.debug("Buffer %s has been allocated and included in the usedBuffers list with access: %s", bufferInfo, access);
-        return bufferInfo.buffer;
+    /**
+     * @return true if the backend can create handles for regions of a buffer,
+     *     which enables the arena mode for
+     *     {@link #getOrAllocateBufferWithSize(long, Access)}.
+     */
+    protected boolean isSubBufferSupported() {
+        return false;
+    }
+
+    /**
+     * @return true if the backend passes buffers to the kernels as base and
+     *     offset, which enables the arena mode for
+     *     {@link #getOrAllocateBufferRegionWithSize(long, Access)}.
+     */
+    protected boolean isBufferOffsetSupported() {
+        return false;
+    }
+
+    /**
+     * Creates a handle for the region [offset, offset + size) of a buffer
+     * allocated with {@link #allocateBuffer}. The handle can be used as any other
+     * buffer. Only called when {@link #isSubBufferSupported()} returns true.
+     */
+    protected long createSubBuffer(long buffer, long offset, long size, Access access) {
+        throw shouldNotReachHere("sub-buffers are not supported by %s", getClass().getSimpleName());
+    }
+
+    protected void releaseSubBuffer(long subBuffer) {
+        throw shouldNotReachHere("sub-buffers are not supported by %s", getClass().getSimpleName());
+    }
+
+    /**
+     * @return the alignment in bytes for the offset of a region within an arena.
+     */
+    protected long getArenaAlignment() {
+        return 128;
+    }
+
+    private static boolean isArenaAllocation(long sizeInBytes, boolean isSupported) {
+        return TornadoOptions.DEVICE_ARENA && sizeInBytes <= TornadoOptions.DEVICE_ARENA_THRESHOLD && isSupported;
+    }
+
+    /**
+     * Allocates a small object as a block of an arena. A new arena is allocated
+     * if none of the existing ones has space.
+     *
+     * @return the arena and the offset of the block, or null if a new arena does
+     *     not fit in the device memory.
+     */
+    private ArenaRegion allocateFromArena(long sizeInBytes, Access access) {
+        List<DeviceArena> arenasForAccess = arenas.get(access);
+        for (DeviceArena arena : arenasForAccess) {
+            long offset = arena.allocate(sizeInBytes);
+            if (offset != DeviceArena.NO_SPACE) {
+                poolHits.increment();
+                return new ArenaRegion(arena, offset);
+            }
+        }
+
+        final long alignment = Long.highestOneBit(Math.max(1, getArenaAlignment() - 1)) << 1;
+        final long minArenaSize = Math.max(TornadoOptions.DEVICE_ARENA_SIZE, Math.max(alignment, TornadoOptions.DEVICE_ARENA_THRESHOLD));
+        final long arenaSize = Long.highestOneBit(minArenaSize - 1) << 1;
+        if (!reserveMemory(arenaSize)) {
+            return null;
+        }
+        long arenaBuffer;
+        driverLock.lock();
+        try {
+            arenaBuffer = allocateBuffer(arenaSize, access);
+        } catch (RuntimeException e) {
+            currentMemoryAvailable.addAndGet(arenaSize);
+            throw e;
+        } finally {
+            driverLock.unlock();
+        }
+        poolMisses.increment();
+        DeviceArena arena = new DeviceArena(arenaBuffer, arenaSize, alignment);
+        long offset = arena.allocate(sizeInBytes);
+        arenaBuffers.put(arenaBuffer, arena);
+        arenasForAccess.add(arena);
+        logger.debug("Arena of %d bytes has been allocated for access: %s", arenaSize, access);
+        return new ArenaRegion(arena, offset);
     }
 
-    private synchronized void freeBuffers(long size, Access access) {
-        // Attempts to free buffers of given size.
-        long remainingSize = size;
-        while (!freeBuffers.get(access).isEmpty() && remainingSize > 0) {
-            BufferContainer bufferInfo = freeBuffers.get(access).removeFirst();
-            TornadoInternalError.guarantee(!usedBuffers.get(access).contains(bufferInfo), "This buffer should not be used");
-            remainingSize -= bufferInfo.size;
-            currentMemoryAvailable += bufferInfo.size;
-            releaseBuffer(bufferInfo.buffer);
+    /**
+     * Allocates a small object as a region of an arena and creates a handle for it.
+     *
+     * @return the handle of the region, or {@link DeviceArena#NO_SPACE} if a new
+     *     arena does not fit in the device memory.
+     */
+    private long allocateSubBufferFromArena(long sizeInBytes, Access access) {
+        ArenaRegion region = allocateFromArena(sizeInBytes, access);
+        if (region == null) {
+            return DeviceArena.NO_SPACE;
         }
+        long subBuffer = createSubBuffer(region.arena.getBuffer(), region.offset, sizeInBytes, access);
+        arenaRegions.put(subBuffer, region);
+        return subBuffer;
     }
 
-    public synchronized long deallocate(Access access) {
-        // Attempts to free buffers of given size.
+    /**
+     * Releases the arenas of the given access type that do not hold any object.
+     *
+     * @return the number of bytes released.
+     */
+    private long releaseEmptyArenas(Access access) {
         long spaceDeallocated = 0;
-        while (!freeBuffers.get(access).isEmpty()) {
-            BufferContainer bufferInfo = freeBuffers.get(access).removeFirst();
-            TornadoInternalError.guarantee(!usedBuffers.get(access).contains(bufferInfo), "This buffer should not be used");
-            currentMemoryAvailable += bufferInfo.size;
-            spaceDeallocated += bufferInfo.size;
-            releaseBuffer(bufferInfo.buffer);
+        driverLock.lock();
+        try {
+            for (DeviceArena arena : arenas.get(access)) {
+                if (arena.retireIfEmpty()) {
+                    arenas.get(access).remove(arena);
+                    arenaBuffers.remove(arena.getBuffer());
+                    releaseBuffer(arena.getBuffer());
+                    currentMemoryAvailable.addAndGet(arena.getCapacity());
+                    spaceDeallocated += arena.getCapacity();
+                }
+            }
+        } finally {
+            driverLock.unlock();
         }
         return spaceDeallocated;
     }
 
-    private synchronized BufferContainer markBufferUsed(int freeBufferIndex, Access access) {
-        BufferContainer buffer = freeBuffers.get(access).get(freeBufferIndex);
-        usedBuffers.get(access).add(buffer);
-        freeBuffers.get(access).remove(buffer);
-        return buffer;
+    /**
+     * Rounds up the requested size to its size class. If the rounded size does
+     * not fit in the device, the exact size is used.
+     */
+    private long sizeClassOf(long sizeInBytes, long maxAllocationSize) {
+        long sizeClass;
+        if (SIZE_CLASS_GRANULARITY == POWER_OF_TWO_CLASSES) {
+            sizeClass = sizeInBytes <= MIN_SIZE_CLASS ? MIN_SIZE_CLASS : Long.highestOneBit(sizeInBytes - 1) << 1;
+        } else {
+            sizeClass = (sizeInBytes + SIZE_CLASS_GRANULARITY - 1) / SIZE_CLASS_GRANULARITY * SIZE_CLASS_GRANULARITY;
+        }
+        if (sizeClass <= 0 || sizeClass >= maxAllocationSize || sizeClass > TornadoOptions.DEVICE_AVAILABLE_MEMORY) {
+            return sizeInBytes;
+        }
+        return sizeClass;
+    }
+
+    private boolean reserveMemory(long size) {
+        while (true) {
+            long available = currentMemoryAvailable.get();
+            if (size > available) {
+                return false;
+            }
+            if (currentMemoryAvailable.compareAndSet(available, available - size)) {
+                return true;
+            }
+        }
+    }
+
+    private long allocate(long size, Access access) {
+        long buffer;
+        driverLock.lock();
+        try {
+            buffer = allocateBuffer(size, access);
+        } catch (RuntimeException e) {
+            currentMemoryAvailable.addAndGet(size);
+            throw e;
+        } finally {
+            driverLock.unlock();
+        }
+        poolMisses.increment();
+        BufferContainer bufferInfo = new BufferContainer(buffer, size, access);
+        usedBuffers.get(access).put(bufferInfo.buffer, bufferInfo);
+        logger.debug("Buffer %s has been allocated and included in the usedBuffers list with access: %s", bufferInfo, access);
+        return bufferInfo.buffer;
     }
 
     /**
-     * First check if there is an available buffer of a given size. Perform a
-     * sequential search through the freeBuffers to get the buffer with the smaller
-     * size than can fulfill the allocation. The number of allocated buffers is
-     * usually low, so searching sequentially should not take a lot of time.
+     * Takes a free buffer whose size class is within the given bounds. The most
+     * recently released buffer of the smallest size class is returned first.
      *
-     * @param sizeInBytes
-     *     Size in bytes for the requested buffer.
-     * @return returns the index position of a free buffer within the free buffer
-     *     list. It returns -1 if a free buffer slot is not found.
-     */
-    private synchronized int bufferIndexOfAFreeSpace(long sizeInBytes, Access access) {
-        int minBufferIndex = -1;
-        for (int i = 0; i < freeBuffers.get(access).size(); i++) {
-            BufferContainer bufferInfo = freeBuffers.get(access).get(i);
-            if (bufferInfo.size >= sizeInBytes && (minBufferIndex == -1 || bufferInfo.size < freeBuffers.get(access).get(minBufferIndex).size)) {
-                minBufferIndex = i;
+     * @return the buffer, or null if there is no free buffer within the bounds.
+     */
+    private BufferContainer pollFreeBuffer(Access access, long minSizeClass, long maxSizeClass) {
+        for (ConcurrentLinkedDeque<BufferContainer> sizeClassList : freeBuffers.get(access).subMap(minSizeClass, true, maxSizeClass, true).values()) {
+            BufferContainer bufferInfo = sizeClassList.pollLast();
+            if (bufferInfo != null) {
+                numFreeBuffers.get(access).decrementAndGet();
+                pooledFreeBytes.addAndGet(-bufferInfo.size);
+                return bufferInfo;
             }
         }
-        return minBufferIndex;
+        return null;
+    }
+
+    private long markBufferUsed(BufferContainer bufferInfo) {
+        poolHits.increment();
+        usedBuffers.get(bufferInfo.access).put(bufferInfo.buffer, bufferInfo);
+        logger.debug("Buffer %s has been reused from the freeBuffers list with access: %s", bufferInfo, bufferInfo.access);
+        return bufferInfo.buffer;
+    }
+
+    /**
+     * Releases the oldest free buffers of the given access type until the given
+     * amount of bytes has been returned to the device. Each free list is ordered
+     * by release time, so the oldest buffer is at the head of one of the lists.
+     *
+     * @return the number of bytes released.
+     */
+    private long releaseFreeBuffers(Access access, long size) {
+        long spaceDeallocated = 0;
+        driverLock.lock();
+        try {
+            while (spaceDeallocated < size) {
+                ConcurrentLinkedDeque<BufferContainer> oldestList = null;
+                long oldestRelease = Long.MAX_VALUE;
+                for (ConcurrentLinkedDeque<BufferContainer> sizeClassList : freeBuffers.get(access).values()) {
+                    BufferContainer head = sizeClassList.peekFirst();
+                    if (head != null && head.releaseOrder < oldestRelease) {
+                        oldestRelease = head.releaseOrder;
+                        oldestList = sizeClassList;
+                    }
+                }
+                BufferContainer bufferInfo = oldestList == null ? null : oldestList.pollFirst();
+                if (bufferInfo == null) {
+                    break;
+                }
+                numFreeBuffers.get(access).decrementAndGet();
+                pooledFreeBytes.addAndGet(-bufferInfo.size);
+                releaseBuffer(bufferInfo.buffer);
+                currentMemoryAvailable.addAndGet(bufferInfo.size);
+                spaceDeallocated += bufferInfo.size;
+            }
+        } finally {
+            driverLock.unlock();
+        }
+        return spaceDeallocated;
+    }
+
+    /**
+     * Releases all free buffers of the given access type.
+     *
+     * @return the number of bytes released.
+     */
+    public long deallocate(Access access) {
+        return releaseFreeBuffers(access, Long.MAX_VALUE) + releaseEmptyArenas(access);
     }
 
     /**
      * There is no buffer to fulfill the size. Start freeing unused buffers and try
-     * to allocate.
+     * to allocate. Buffers of the same access type are released first. The size
+     * class is allocated if it fits after releasing the buffers, otherwise the
+     * exact size is allocated.
      *
+     * @param sizeClass
+     *     Size class of the requested buffer.
      * @param sizeInBytes
      *     Size in bytes for the requested buffer.
      * @return It returns a buffer native pointer.
      */
-    private synchronized long freeUnusedNativeBufferAndAssignRegion(long sizeInBytes, Access access) {
-        freeBuffers(sizeInBytes, access);
-        if (sizeInBytes <= currentMemoryAvailable) {
+    private long freeUnusedNativeBufferAndAssignRegion(long sizeClass, long sizeInBytes, Access access) {
+        long remainingSize = sizeClass - currentMemoryAvailable.get();
+        remainingSize -= releaseFreeBuffers(access, remainingSize) + releaseEmptyArenas(access);
+        for (Access otherAccess : Access.values()) {
+            if (remainingSize <= 0) {
+                break;
+            }
+            if (otherAccess != access) {
+                remainingSize -= releaseFreeBuffers(otherAccess, remainingSize) + releaseEmptyArenas(otherAccess);
+            }
+        }
+        if (reserveMemory(sizeClass)) {
+            return allocate(sizeClass, access);
+        } else if (sizeInBytes < sizeClass && reserveMemory(sizeInBytes)) {
             return allocate(sizeInBytes, access);
         } else {
             throw new TornadoOutOfMemoryException("Unable to allocate " + sizeInBytes + " bytes of memory." + OUT_OF_MEMORY_MESSAGE);
@@ -156,9 +419,11 @@ public abstract class TornadoBufferProvider {
     }
 
     /**
-     * Method that finds a suitable buffer for a requested buffer size. If a free
-     * memory buffer is found, it performs the native buffer allocation on the
-     * target device. Otherwise, it throws an exception.
+     * Method that finds a suitable buffer for a requested buffer size. A free
+     * buffer of the same size class is reused if available. Otherwise, it
+     * performs the native buffer allocation on the target device. If the device
+     * does not have enough memory, it reuses a larger free buffer or releases
+     * free buffers before allocating.
      *
      * @param sizeInBytes
      *     Size in bytes for the requested buffer.
@@ -167,43 +432,105 @@ public abstract class TornadoBufferProvider {
      * @throws {@link
      *     TornadoOutOfMemoryException}
      */
-    public synchronized long getOrAllocateBufferWithSize(long sizeInBytes, Access access) {
-        TornadoTargetDevice device = deviceContext.getDevice();
-        if (sizeInBytes <= currentMemoryAvailable && sizeInBytes < device.getDeviceMaxAllocationSize()) {
-            // Allocate if there is enough device memory.
-            return allocate(sizeInBytes, access);
-        } else if (sizeInBytes < device.getDeviceMaxAllocationSize()) {
-            int minBufferIndex = bufferIndexOfAFreeSpace(sizeInBytes, access);
-            // If a buffer was found, mark it as used and return it.
-            if (minBufferIndex != -1) {
-                return markBufferUsed(minBufferIndex, access).buffer;
-            } else {
-                return freeUnusedNativeBufferAndAssignRegion(sizeInBytes, access);
-            }
-        } else {
+    public long getOrAllocateBufferWithSize(long sizeInBytes, Access access) {
+        final long maxAllocationSize = deviceContext.getDevice().getDeviceMaxAllocationSize();
+        if (sizeInBytes >= maxAllocationSize) {
             throw new TornadoOutOfMemoryException("[ERROR] Unable to allocate " + sizeInBytes + " bytes of memory." + OUT_OF_MEMORY_MESSAGE);
         }
+
+        if (isArenaAllocation(sizeInBytes, isSubBufferSupported())) {
+            long subBuffer = allocateSubBufferFromArena(sizeInBytes, access);
+            if (subBuffer != DeviceArena.NO_SPACE) {
+                return subBuffer;
+            }
+        }
+
+        final long sizeClass = sizeClassOf(sizeInBytes, maxAllocationSize);
+        BufferContainer bufferInfo = pollFreeBuffer(access, sizeClass, sizeClass);
+        if (bufferInfo != null) {
+            return markBufferUsed(bufferInfo);
+        }
+
+        if (reserveMemory(sizeClass)) {
+            return allocate(sizeClass, access);
+        }
+
+        // The device is out of memory: reuse any larger buffer before releasing the pool
+        bufferInfo = pollFreeBuffer(access, sizeInBytes, Long.MAX_VALUE);
+        if (bufferInfo != null) {
+            return markBufferUsed(bufferInfo);
+        }
+        return freeUnusedNativeBufferAndAssignRegion(sizeClass, sizeInBytes, access);
     }
 
     /**
-     * Removes the buffer from the {@link #usedBuffers} list and add it to
-     * the @{@link #freeBuffers} list.
+     * Finds a buffer for a requested buffer size, as
+     * {@link #getOrAllocateBufferWithSize(long, Access)}. When the arena mode is
+     * enabled and the backend passes buffers to the kernels as base and offset,
+     * small objects are handed out as an offset into an arena buffer.
+     *
+     * @param sizeInBytes
+     *     Size in bytes for the requested buffer.
+     * @return the buffer and the offset of the object within the buffer.
+     *
+     * @throws {@link
+     *     TornadoOutOfMemoryException}
      */
-    public synchronized void markBufferReleased(long buffer, Access access) {
-        int foundIndex = -1;
-        for (int i = 0; i < usedBuffers.get(access).size(); i++) {
-            // find the buffer slot to mark it as free
-            if (usedBuffers.get(access).get(i) != null && usedBuffers.get(access).get(i).buffer == buffer) {
-                foundIndex = i;
-                break;
+    public BufferRegion getOrAllocateBufferRegionWithSize(long sizeInBytes, Access access) {
+        if (isArenaAllocation(sizeInBytes, isBufferOffsetSupported())) {
+            ArenaRegion region = allocateFromArena(sizeInBytes, access);
+            if (region != null) {
+                return new BufferRegion(region.arena.getBuffer(), region.offset);
             }
         }
+        return new BufferRegion(getOrAllocateBufferWithSize(sizeInBytes, access), 0);
+    }
 
-        if (foundIndex != -1) {
-            // if found, we mark it as free by inserting it into the free list
-            BufferContainer removedBuffer = usedBuffers.get(access).remove(foundIndex);
-            freeBuffers.get(access).add(removedBuffer);
+    /**
+     * Releases a region obtained with
+     * {@link #getOrAllocateBufferRegionWithSize(long, Access)}. Regions of an
+     * arena are returned to the arena, other buffers to the pool.
+     */
+    public void markBufferRegionReleased(long buffer, long offset, Access access) {
+        DeviceArena arena = arenaBuffers.get(buffer);
+        if (arena != null) {
+            arena.free(offset);
+        } else {
+            markBufferReleased(buffer, access);
+        }
+    }
+
+    /**
+     * Removes the buffer from the used buffers and adds it to the free list of its
+     * size class. If the memory held by free buffers exceeds the high watermark,
+     * the pool is trimmed.
+     */
+    public void markBufferReleased(long buffer, Access access) {
+        ArenaRegion region = arenaRegions.remove(buffer);
+        if (region != null) {
+            releaseSubBuffer(buffer);
+            region.arena.free(region.offset);
+            return;
+        }
+        BufferContainer removedBuffer = usedBuffers.get(access).remove(buffer);
+        if (removedBuffer != null) {
+            removedBuffer.releaseOrder = releaseCounter.incrementAndGet();
+            freeBuffers.get(access).computeIfAbsent(removedBuffer.size, sizeClass -> new ConcurrentLinkedDeque<>()).addLast(removedBuffer);
+            numFreeBuffers.get(access).incrementAndGet();
             logger.debug("Buffer %s has been released and included in the freeBuffers list for access: %s", removedBuffer, access);
+            if (pooledFreeBytes.addAndGet(removedBuffer.size) > highWatermark) {
+                trimToLowWatermark();
+            }
+        }
+    }
+
+    private void trimToLowWatermark() {
+        for (Access access : Access.values()) {
+            long excess = pooledFreeBytes.get() - lowWatermark;
+            if (excess <= 0) {
+                return;
+            }
+            releaseFreeBuffers(access, excess);
         }
     }
 
@@ -215,14 +542,65 @@ public abstract class TornadoBufferProvider {
      * @return boolean.
      */
     public boolean isNumFreeBuffersAvailable(int numBuffers, Access access) {
-        return freeBuffers.get(access).size() >= numBuffers;
+        return numFreeBuffers.get(access).get() >= numBuffers;
+    }
+
+    /**
+     * Releases all free buffers of the given access type. It is called when there
+     * are not enough free buffers for an allocation, so the pool is not trimmed to
+     * the watermarks here.
+     */
+    public void resetBuffers(Access access) {
+        releaseFreeBuffers(access, Long.MAX_VALUE);
+    }
+
+    /**
+     * @return number of allocations served from the pool of free buffers.
+     */
+    public long getPoolHits() {
+        return poolHits.sum();
     }
 
-    public synchronized void resetBuffers(Access access) {
-        freeBuffers(DEVICE_AVAILABLE_MEMORY, access);
+    /**
+     * @return number of allocations that required a new buffer from the driver.
+     */
+    public long getPoolMisses() {
+        return poolMisses.sum();
+    }
+
+    /**
+     * @return number of bytes currently held by free buffers.
+     */
+    public long getPooledFreeBytes() {
+        return pooledFreeBytes.get();
     }
 
-    private record BufferContainer(long buffer, long size, Access access) {
+    /**
+     * Device buffer and offset of an object within the buffer.
+     */
+    public record BufferRegion(long buffer, long offset) {
+    }
+
+    private record ArenaRegion(DeviceArena arena, long offset) {
+    }
+
+    private static final class BufferContainer {
+
+        private final long buffer;
+        private final long size;
+        private final Access access;
+
+        /**
+         * Position of the buffer in the order of releases to the free lists, used
+         * to release the oldest free buffers first.
+         */
+        private volatile long releaseOrder;
+
+        private BufferContainer(long buffer, long size, Access access) {
+            this.buffer = buffer;
+            this.size = size;
+            this.access = access;
+        }
 
         @Override
         public boolean equals(Object object) {
@@ -239,5 +617,10 @@ public abstract class TornadoBufferProvider {
         public int hashCode() {
             return (int) buffer;
         }
+
+        @Override
+        public String toString() {
+            return "BufferContainer[buffer=" + buffer + ", size=" + size + ", access=" + access + "]";
+        }
     }
 }
@@ -193,6 +193,55 @@ JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLCommandQ
     return (jlong) event;
 }
 
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue
+ * Method:    clEnqueueMapBuffer
+ * Signature: (JJZJJJ[J[J)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue_clEnqueueMapBuffer
+(JNIEnv *env, jclass clazz, jlong queue_id, jlong buffer, jboolean blocking, jlong flags, jlong offset, jlong numBytes, jlongArray array, jlongArray mapEvent) {
+    jlong *arrayEvents = static_cast<jlong *>((array != NULL) ? env->GetPrimitiveArrayCritical(array, NULL) : NULL);
+    jlong *events = (array != NULL) ? &arrayEvents[1] : NULL;
+    jsize len = (array != NULL) ? arrayEvents[0] : 0;
+
+    cl_int status;
+    cl_event event;
+    /* for a non-blocking map, the host pointer is only valid once the map event completes */
+    void *mappedPtr = clEnqueueMapBuffer((cl_command_queue) queue_id, (cl_mem) buffer, blocking ? CL_TRUE : CL_FALSE, (cl_map_flags) flags,
+                                         (size_t) offset, (size_t) numBytes, (cl_uint) len, (cl_event *) events, (mapEvent != NULL) ? &event : NULL, &status);
+    LOG_OCL_AND_VALIDATE("clEnqueueMapBuffer", status);
+
+    if (array != NULL) {
+        env->ReleasePrimitiveArrayCritical(array, arrayEvents, JNI_ABORT);
+    }
+    if (mapEvent != NULL) {
+        jlong mapEventId = (status == CL_SUCCESS) ? (jlong) event : -1;
+        env->SetLongArrayRegion(mapEvent, 0, 1, &mapEventId);
+    }
+    return (jlong) mappedPtr;
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue
+ * Method:    clEnqueueUnmapMemObject
+ * Signature: (JJJ[J)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue_clEnqueueUnmapMemObject
+(JNIEnv *env, jclass clazz, jlong queue_id, jlong buffer, jlong mappedPtr, jlongArray array) {
+    jlong *arrayEvents = static_cast<jlong *>((array != NULL) ? env->GetPrimitiveArrayCritical(array, NULL) : NULL);
+    jlong *events = (array != NULL) ? &arrayEvents[1] : NULL;
+    jsize len = (array != NULL) ? arrayEvents[0] : 0;
+
+    cl_event event;
+    cl_int status = clEnqueueUnmapMemObject((cl_command_queue) queue_id, (cl_mem) buffer, (void *) mappedPtr, (cl_uint) len, (cl_event *) events, &event);
+    LOG_OCL_AND_VALIDATE("clEnqueueUnmapMemObject", status);
+
+    if (array != NULL) {
+        env->ReleasePrimitiveArrayCritical(array, arrayEvents, JNI_ABORT);
+    }
+    return (jlong) event;
+}
+
 jlong transferFromHostToDevice(JNIEnv * env, jclass javaClass,
                                jlong commandQueue,          // Pointer to the OpenCL Command Queue
                                jbyteArray hostArray,        // Host Array
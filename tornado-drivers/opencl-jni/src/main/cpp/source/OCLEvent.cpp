@@ -97,3 +97,59 @@ JNIEXPORT void JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLEvent_clR
     cl_int status = clReleaseEvent((const cl_event) event);
     LOG_OCL_AND_VALIDATE("clReleaseEvent", status);
 }
+
+/*
+ * State of a completion callback registered with clSetEventCallback. The
+ * callback runs in a thread of the OpenCL runtime, so it keeps the JavaVM to
+ * attach that thread before calling into Java.
+ */
+struct EventCallbackData {
+    JavaVM *jvm;
+    jobject callback;
+};
+
+static void CL_CALLBACK notifyEventCompleted(cl_event event, cl_int status, void *userData) {
+    EventCallbackData *data = static_cast<EventCallbackData *>(userData);
+    JNIEnv *env;
+    bool attached = false;
+    if (data->jvm->GetEnv((void **) &env, JNI_VERSION_1_8) == JNI_EDETACHED) {
+        data->jvm->AttachCurrentThreadAsDaemon((void **) &env, NULL);
+        attached = true;
+    }
+    jclass klass = env->GetObjectClass(data->callback);
+    jmethodID accept = env->GetMethodID(klass, "accept", "(I)V");
+    env->CallVoidMethod(data->callback, accept, (jint) status);
+    if (env->ExceptionCheck()) {
+        // OpenCL can not handle Java exceptions
+        env->ExceptionDescribe();
+        env->ExceptionClear();
+    }
+    env->DeleteGlobalRef(data->callback);
+    if (attached) {
+        data->jvm->DetachCurrentThread();
+    }
+    clReleaseEvent(event);
+    delete data;
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLEvent
+ * Method:    clSetEventCallback
+ * Signature: (JLjava/util/function/IntConsumer;)I
+ */
+JNIEXPORT jint JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLEvent_clSetEventCallback
+        (JNIEnv *env, jclass clazz, jlong event_id, jobject callback) {
+    EventCallbackData *data = new EventCallbackData;
+    env->GetJavaVM(&data->jvm);
+    data->callback = env->NewGlobalRef(callback);
+    // The event is retained until the callback runs, since the event pool might release it before
+    clRetainEvent((cl_event) event_id);
+    cl_int status = clSetEventCallback((cl_event) event_id, CL_COMPLETE, notifyEventCompleted, data);
+    LOG_OCL_AND_VALIDATE("clSetEventCallback", status);
+    if (status != CL_SUCCESS) {
+        clReleaseEvent((cl_event) event_id);
+        env->DeleteGlobalRef(data->callback);
+        delete data;
+    }
+    return (jint) status;
+}
@@ -39,6 +39,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.StringJoiner;
 import java.util.StringTokenizer;
@@ -48,6 +49,7 @@ import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoCompilationException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.metrics.TornadoMetrics;
 import uk.ac.manchester.tornado.drivers.opencl.enums.OCLBuildStatus;
 import uk.ac.manchester.tornado.drivers.opencl.enums.OCLDeviceType;
 import uk.ac.manchester.tornado.drivers.opencl.exceptions.OCLException;
@@ -602,8 +604,10 @@ public class OCLCodeCache {
             RuntimeUtilities.dumpKernel(source);
         }
         logger.debug("\tOpenCL compiler flags = %s", meta.getCompilerFlags(TornadoVMBackendType.OPENCL));
+        final long buildStart = System.nanoTime();
         program.build(meta.getCompilerFlags(TornadoVMBackendType.OPENCL));
         final OCLBuildStatus status = program.getStatus(deviceContext.getDeviceId());
+        publishKernelBuild(entryPoint, false, buildStart);
         logger.debug("\tOpenCL compilation status = %s", status.toString());
 
         if (status == OCLBuildStatus.CL_BUILD_ERROR) {
@@ -631,6 +635,31 @@ public class OCLCodeCache {
         return code;
     }
 
+    /**
+     * It installs a kernel without building it when the same source has already
+     * been built under another id. This is used by the tiered compilation: when
+     * the optimised tier of a task generates the same OpenCL C as its quick tier,
+     * the program of the quick tier is registered under the id of the optimised
+     * tier, and {@code clBuildProgram} is not called again.
+     *
+     * @return the installed code, or {@code null} if there is no valid code for
+     *     {@code builtId} or its source is different.
+     */
+    public OCLInstalledCode installBuiltSource(String builtId, String id, String entryPoint, byte[] source) {
+        final OCLInstalledCode code = cache.get(builtId + "-" + entryPoint);
+        if (code == null || !code.isValid() || !Arrays.equals(code.getCode(), source)) {
+            return null;
+        }
+        cache.put(id + "-" + entryPoint, code);
+        return code;
+    }
+
+    private void publishKernelBuild(String entryPoint, boolean fromBinary, long buildStart) {
+        if (TornadoMetrics.isEnabled()) {
+            TornadoMetrics.kernelBuilt(entryPoint, deviceContext.getDevice().getDeviceName(), fromBinary, System.nanoTime() - buildStart);
+        }
+    }
+
     private OCLInstalledCode installBinary(String id, String entryPoint, byte[] binary) throws OCLException {
         logger.info("Installing binary for %s into code cache", entryPoint);
 
@@ -661,9 +690,11 @@ public class OCLCodeCache {
                 throw new OCLException("unable to load binary for " + entryPoint);
             }
 
+            final long buildStart = System.nanoTime();
             program.build("");
 
             status = program.getStatus(deviceContext.getDeviceId());
+            publishKernelBuild(entryPoint, true, buildStart);
             logger.debug("\tOpenCL compilation status = %s", status.toString());
 
             final String log = program.getBuildLog(deviceContext.getDeviceId()).trim();
@@ -705,6 +736,49 @@ public class OCLCodeCache {
         return code;
     }
 
+    /**
+     * Installs a kernel binary loaded from the persistent kernel cache
+     * ({@link uk.ac.manchester.tornado.drivers.common.KernelDiskCache}). The
+     * program is created from the device binary, so the OpenCL compilation from
+     * source is skipped.
+     *
+     * @param id
+     *     Task identifier.
+     * @param entryPoint
+     *     Kernel name.
+     * @param binary
+     *     Device binary obtained from a previous build.
+     * @return the {@link OCLInstalledCode}, or null if the driver rejects the
+     *     binary (e.g., after a driver update).
+     */
+    public OCLInstalledCode installCachedBinary(String id, String entryPoint, byte[] binary) {
+        logger.info("Installing cached binary for %s into code cache", entryPoint);
+        final OCLProgram program = deviceContext.createProgramWithBinary(binary, new long[] { binary.length });
+        if (program == null) {
+            return null;
+        }
+        OCLBuildStatus status;
+        final long buildStart = System.nanoTime();
+        try {
+            program.build("");
+            status = program.getStatus(deviceContext.getDeviceId());
+        } catch (TornadoBailoutRuntimeException e) {
+            status = OCLBuildStatus.CL_BUILD_ERROR;
+        }
+        publishKernelBuild(entryPoint, true, buildStart);
+        logger.debug("\tOpenCL compilation status = %s", status.toString());
+        if (status != CL_BUILD_SUCCESS) {
+            logger.warn("\tunable to install cached binary for %s", entryPoint);
+            program.cleanup();
+            return null;
+        }
+        final OCLKernel kernel = program.clCreateKernel(entryPoint);
+        kernelAvailable = true;
+        final OCLInstalledCode code = new OCLInstalledCode(entryPoint, binary, (OCLDeviceContext) deviceContext, program, kernel, false);
+        cache.put(id + "-" + entryPoint, code);
+        return code;
+    }
+
     private boolean shouldReuseProgramObject(String entryPoint) {
         return deviceContext.getDevice().getDeviceName().toLowerCase().startsWith("xilinx");
     }
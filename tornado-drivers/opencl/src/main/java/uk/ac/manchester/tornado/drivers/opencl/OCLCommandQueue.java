@@ -125,6 +125,19 @@ public class OCLCommandQueue extends CommandQueue {
 
     static native long readArrayFromDeviceOffHeap(long queueId, long hostPointer, long hostOffset, boolean blocking, long offset, long bytes, long ptr, long[] events) throws OCLException;
 
+    /**
+     * Maps a region of a buffer into the host address space. If the call is not
+     * blocking, the returned pointer can only be accessed once the map event
+     * completes.
+     *
+     * @param mapEvent
+     *     If not null, its first element receives the event of the map operation.
+     * @return Returns the host pointer of the mapped region.
+     */
+    static native long clEnqueueMapBuffer(long queueId, long buffer, boolean blocking, long flags, long offset, long bytes, long[] events, long[] mapEvent) throws OCLException;
+
+    static native long clEnqueueUnmapMemObject(long queueId, long buffer, long mappedPointer, long[] events) throws OCLException;
+
     static native void clEnqueueWaitForEvents(long queueId, long[] events) throws OCLException;
 
     /*
@@ -371,6 +384,25 @@ public class OCLCommandQueue extends CommandQueue {
         }
     }
 
+    public long enqueueMap(long devicePtr, boolean blocking, long flags, long offset, long bytes, long[] waitEvents, long[] mapEvent) {
+        try {
+            return clEnqueueMapBuffer(commandQueuePtr, devicePtr, blocking, flags, offset, bytes, waitEvents, mapEvent);
+        } catch (OCLException e) {
+            logger.error(e.getMessage());
+            throw new TornadoBailoutRuntimeException(e.getMessage());
+        }
+    }
+
+    public long enqueueUnmap(long devicePtr, long mappedPointer, long[] waitEvents) {
+        guarantee(mappedPointer != 0, "null mapped pointer");
+        try {
+            return clEnqueueUnmapMemObject(commandQueuePtr, devicePtr, mappedPointer, waitEvents);
+        } catch (OCLException e) {
+            logger.error(e.getMessage());
+            throw new TornadoBailoutRuntimeException(e.getMessage());
+        }
+    }
+
     public void finish() {
         try {
             clFinish(commandQueuePtr);
@@ -0,0 +1,160 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * School of Engineering, The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.drivers.opencl.exceptions.OCLException;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+
+/**
+ * Bounded pool of OpenCL command queues for a device. Command queues are leased
+ * by execution plan, not by thread, so any number of threads (including virtual
+ * threads) running the same plan share its queue. A plan keeps its queue until
+ * it is reset, and then the queue is returned to the pool. When the pool has
+ * created {@link TornadoOptions#OPENCL_MAX_COMMAND_QUEUES} queues, new plans
+ * share the queue with the fewest leases. Plans sharing a queue must not
+ * synchronise with {@code clFinish}, since it would also wait for the commands
+ * of the other plans; see {@link #isShared(long)}.
+ */
+public class OCLCommandQueuePool {
+
+    private final OCLTargetDevice device;
+    private final OCLContext context;
+    private final int maxQueues;
+    private final List<PooledCommandQueue> commandQueues;
+    private final Map<Long, PooledCommandQueue> leases;
+
+    public OCLCommandQueuePool(OCLTargetDevice device, OCLContext context) {
+        this.device = device;
+        this.context = context;
+        this.maxQueues = TornadoOptions.OPENCL_MAX_COMMAND_QUEUES;
+        this.commandQueues = new ArrayList<>();
+        this.leases = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the command queue leased by an execution plan. The first call for a
+     * plan leases a queue from the pool.
+     *
+     * @param executionPlanId
+     *     Execution plan identifier.
+     * @return {@link OCLCommandQueue}
+     */
+    public OCLCommandQueue lease(long executionPlanId) {
+        PooledCommandQueue pooledCommandQueue = leases.get(executionPlanId);
+        if (pooledCommandQueue == null) {
+            pooledCommandQueue = acquire(executionPlanId);
+        }
+        return pooledCommandQueue.commandQueue;
+    }
+
+    private synchronized PooledCommandQueue acquire(long executionPlanId) {
+        PooledCommandQueue pooledCommandQueue = leases.get(executionPlanId);
+        if (pooledCommandQueue != null) {
+            return pooledCommandQueue;
+        }
+        for (PooledCommandQueue candidate : commandQueues) {
+            if (pooledCommandQueue == null || candidate.numLeases < pooledCommandQueue.numLeases) {
+                pooledCommandQueue = candidate;
+            }
+        }
+        if (pooledCommandQueue == null || (pooledCommandQueue.numLeases > 0 && commandQueues.size() < maxQueues)) {
+            pooledCommandQueue = new PooledCommandQueue(createCommandQueue());
+            commandQueues.add(pooledCommandQueue);
+        }
+        pooledCommandQueue.numLeases++;
+        leases.put(executionPlanId, pooledCommandQueue);
+        return pooledCommandQueue;
+    }
+
+    private OCLCommandQueue createCommandQueue() {
+        long commandProperties = context.getProperties();
+        long commandQueuePtr;
+        try {
+            commandQueuePtr = context.clCreateCommandQueue(context.getContextId(), device.getDevicePointer(), commandProperties);
+        } catch (OCLException e) {
+            throw new TornadoRuntimeException(e);
+        }
+        return new OCLCommandQueue(commandQueuePtr, commandProperties, device.deviceVersion());
+    }
+
+    /**
+     * Returns the command queue leased by an execution plan to the pool. The
+     * commands of the plan are completed before the queue can be leased again.
+     *
+     * @param executionPlanId
+     *     Execution plan identifier.
+     */
+    public synchronized void release(long executionPlanId) {
+        PooledCommandQueue pooledCommandQueue = leases.remove(executionPlanId);
+        if (pooledCommandQueue != null) {
+            pooledCommandQueue.numLeases--;
+            if (pooledCommandQueue.numLeases == 0) {
+                pooledCommandQueue.commandQueue.finish();
+            }
+        }
+    }
+
+    /**
+     * Releases all the OpenCL command queues of the pool.
+     */
+    public synchronized void cleanup() {
+        for (PooledCommandQueue pooledCommandQueue : commandQueues) {
+            pooledCommandQueue.commandQueue.cleanup();
+        }
+        commandQueues.clear();
+        leases.clear();
+    }
+
+    /**
+     * Checks whether the command queue leased by an execution plan is also leased
+     * by other execution plans.
+     *
+     * @param executionPlanId
+     *     Execution plan identifier.
+     * @return true if more than one plan leases the queue.
+     */
+    public boolean isShared(long executionPlanId) {
+        PooledCommandQueue pooledCommandQueue = leases.get(executionPlanId);
+        return pooledCommandQueue != null && pooledCommandQueue.numLeases > 1;
+    }
+
+    public synchronized int size() {
+        return commandQueues.size();
+    }
+
+    private static class PooledCommandQueue {
+        private final OCLCommandQueue commandQueue;
+        private volatile int numLeases;
+
+        PooledCommandQueue(OCLCommandQueue commandQueue) {
+            this.commandQueue = commandQueue;
+        }
+    }
+}
@@ -26,11 +26,13 @@
 package uk.ac.manchester.tornado.drivers.opencl;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.List;
 
 import uk.ac.manchester.tornado.api.exceptions.TornadoNoOpenCLPlatformException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.drivers.opencl.enums.OCLBufferCreateType;
 import uk.ac.manchester.tornado.drivers.opencl.enums.OCLCommandQueueProperties;
 import uk.ac.manchester.tornado.drivers.opencl.exceptions.OCLException;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
@@ -175,6 +177,10 @@ public class OCLContext implements OCLContextInterface {
             }
         }
 
+        for (OCLDeviceContext deviceContext : deviceContexts) {
+            deviceContext.releaseCommandQueues();
+        }
+
         try {
             long t1 = System.nanoTime();
             clReleaseContext(contextID);
@@ -207,7 +213,11 @@ public class OCLContext implements OCLContextInterface {
         return createBuffer(flags, bytes, 0L);
     }
 
-    private OCLBufferResult createBuffer(long flags, long bytes, long hostPointer) {
+    /**
+     * Creates a buffer. If the host pointer is not 0 and the flags contain
+     * {@code CL_MEM_USE_HOST_PTR}, the buffer is backed by the host memory.
+     */
+    public OCLBufferResult createBuffer(long flags, long bytes, long hostPointer) {
         try {
             final OCLBufferResult result = createBuffer(contextID, flags, bytes, hostPointer);
             logger.info("buffer allocated %s @ 0x%x", RuntimeUtilities.humanReadableByteCount(bytes, false), result.getBuffer());
@@ -218,6 +228,24 @@ public class OCLContext implements OCLContextInterface {
         return null;
     }
 
+    /**
+     * Creates a sub-buffer for the region [origin, origin + bytes) of a buffer.
+     * The origin must be aligned to the base address alignment of the device.
+     * The sub-buffer is released with {@link #releaseBuffer(long)}.
+     */
+    public long createSubBuffer(long bufferId, long flags, long origin, long bytes) {
+        // cl_buffer_region: {size_t origin; size_t size}
+        ByteBuffer region = ByteBuffer.allocate(2 * Long.BYTES).order(ByteOrder.nativeOrder());
+        region.putLong(origin).putLong(bytes);
+        try {
+            final long subBuffer = createSubBuffer(bufferId, flags, OCLBufferCreateType.CL_BUFFER_CREATE_TYPE_REGION.getValue(), region.array());
+            logger.info("sub-buffer created %s @ 0x%x (offset %d of 0x%x)", RuntimeUtilities.humanReadableByteCount(bytes, false), subBuffer, origin, bufferId);
+            return subBuffer;
+        } catch (OCLException e) {
+            throw new TornadoRuntimeException(e.getMessage());
+        }
+    }
+
     public void releaseBuffer(long bufferId) {
         try {
             clReleaseMemObject(bufferId);
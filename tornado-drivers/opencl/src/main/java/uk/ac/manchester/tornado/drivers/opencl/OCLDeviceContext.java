@@ -24,6 +24,7 @@
 package uk.ac.manchester.tornado.drivers.opencl;
 
 import static uk.ac.manchester.tornado.drivers.opencl.OCLCommandQueue.EMPTY_EVENT;
+import static uk.ac.manchester.tornado.drivers.opencl.enums.OCLCommandExecutionStatus.CL_COMPLETE;
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.EVENT_WINDOW;
 
 import java.nio.ByteOrder;
@@ -33,15 +34,19 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 import uk.ac.manchester.tornado.api.common.Event;
 import uk.ac.manchester.tornado.api.common.SchedulableTask;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.api.runtime.TornadoRuntimeProvider;
 import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider;
 import uk.ac.manchester.tornado.drivers.common.power.PowerMetric;
 import uk.ac.manchester.tornado.drivers.common.utils.EventDescriptor;
 import uk.ac.manchester.tornado.drivers.opencl.enums.OCLDeviceType;
+import uk.ac.manchester.tornado.drivers.opencl.enums.OCLMapFlags;
 import uk.ac.manchester.tornado.drivers.opencl.graal.OCLInstalledCode;
 import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLCompilationResult;
 import uk.ac.manchester.tornado.drivers.opencl.mm.OCLMemoryManager;
@@ -54,12 +59,17 @@ import uk.ac.manchester.tornado.runtime.tasks.meta.TaskDataContext;
 
 public class OCLDeviceContext implements OCLDeviceContextInterface {
 
+    /**
+     * Minimum alignment, in bytes, of host memory wrapped with zero-copy buffers.
+     */
+    private static final long ZERO_COPY_MIN_ALIGNMENT = 4096;
+
     private final OCLTargetDevice device;
 
     /**
-     * Table to represent {@link uk.ac.manchester.tornado.api.TornadoExecutionPlan} -> {@link OCLCommandQueueTable}
+     * Pool of command queues leased by each {@link uk.ac.manchester.tornado.api.TornadoExecutionPlan}.
      */
-    private final Map<Long, OCLCommandQueueTable> commandQueueTable;
+    private final OCLCommandQueuePool commandQueuePool;
     private final OCLContext context;
     private final PowerMetric powerMetricHandler;
     private final OCLMemoryManager memoryManager;
@@ -67,6 +77,7 @@ public class OCLDeviceContext implements OCLDeviceContextInterface {
     private final TornadoBufferProvider bufferProvider;
     private boolean wasReset;
     private final Set<Long> executionIDs;
+    private final boolean zeroCopy;
 
     /**
      * Map table to represent the compiled-code per execution plan. Each entry in the execution plan has its own
@@ -80,7 +91,7 @@ public class OCLDeviceContext implements OCLDeviceContextInterface {
         this.memoryManager = new OCLMemoryManager(this);
         this.oclEventPool = new ConcurrentHashMap<>();
         this.bufferProvider = new OCLBufferProvider(this);
-        this.commandQueueTable = new ConcurrentHashMap<>();
+        this.commandQueuePool = new OCLCommandQueuePool(device, context);
         this.device.setDeviceContext(this);
         this.executionIDs = Collections.synchronizedSet(new HashSet<>());
         if (isDeviceContextOfNvidia()) {
@@ -89,6 +100,7 @@ public class OCLDeviceContext implements OCLDeviceContextInterface {
             this.powerMetricHandler = new OCLEmptyPowerMetricHandler();
         }
         codeCache = new ConcurrentHashMap<>();
+        this.zeroCopy = TornadoOptions.OPENCL_ZERO_COPY && device.hasDeviceUnifiedMemory();
     }
 
     private boolean isDeviceContextOfNvidia() {
@@ -127,6 +139,11 @@ public class OCLDeviceContext implements OCLDeviceContextInterface {
         return executionIDs;
     }
 
+    @Override
+    public int getNumCommandQueues() {
+        return commandQueuePool.size();
+    }
+
     @Override
     public OCLContext getPlatformContext() {
         return context;
@@ -142,15 +159,57 @@ public class OCLDeviceContext implements OCLDeviceContextInterface {
         return bufferProvider;
     }
 
+    /**
+     * @return true if off-heap arrays can be wrapped with zero-copy buffers, which
+     *     requires the device to share the host memory.
+     */
+    public boolean isZeroCopySupported() {
+        return zeroCopy;
+    }
+
+    /**
+     * @return the alignment, in bytes, that the host memory must have to be
+     *     wrapped with a zero-copy buffer: the page size, or the base address
+     *     alignment of the device if it is larger.
+     */
+    public long getZeroCopyAlignment() {
+        // CL_DEVICE_MEM_BASE_ADDR_ALIGN is expressed in bits
+        if (device instanceof OCLDevice oclDevice) {
+            return Math.max(ZERO_COPY_MIN_ALIGNMENT, oclDevice.getDeviceMemoryBaseAlignment() / Byte.SIZE);
+        }
+        return ZERO_COPY_MIN_ALIGNMENT;
+    }
+
     @Override
     public void sync(long executionPlanId) {
         OCLCommandQueue commandQueue = getCommandQueue(executionPlanId);
+        if (commandQueuePool.isShared(executionPlanId)) {
+            syncSharedQueue(executionPlanId, commandQueue);
+            return;
+        }
         if (TornadoOptions.USE_SYNC_FLUSH) {
             commandQueue.flush();
         }
         commandQueue.finish();
     }
 
+    /**
+     * Synchronises an execution plan that shares its command queue with other
+     * plans. Instead of {@code clFinish}, which would wait for the commands that
+     * the other plans enqueue, it waits for the last event of the plan. On an
+     * in-order queue, this event still completes after the commands enqueued
+     * before it by the other plans, but not after the ones enqueued later.
+     */
+    private void syncSharedQueue(long executionPlanId, OCLCommandQueue commandQueue) {
+        OCLEventPool eventPool = getOCLEventPool(executionPlanId);
+        int lastEvent = eventPool.getLastEvent();
+        if (lastEvent == -1) {
+            return;
+        }
+        commandQueue.flush();
+        new OCLEvent(eventPool.getDescriptor(lastEvent).getNameDescription(), commandQueue, lastEvent, eventPool.getOCLEvent(lastEvent)).waitOn();
+    }
+
     @Override
     public long getDeviceId() {
         return device.getDevicePointer();
@@ -172,6 +231,35 @@ public class OCLDeviceContext implements OCLDeviceContextInterface {
         return commandQueue.getOpenclVersion() < 120 ? -1 : eventPool.registerEvent(oclEvent, EventDescriptor.DESC_SYNC_MARKER, commandQueue);
     }
 
+    /**
+     * It enqueues a marker after the commands of the execution plan and completes
+     * the returned future from the completion callback of the marker. The callback
+     * runs in a thread of the OpenCL runtime, which must not call OpenCL, so the
+     * future is completed in the given executor. Devices without markers (OpenCL
+     * 1.1) wait for the queue in the executor instead.
+     */
+    @Override
+    public CompletableFuture<Void> whenCompleted(long executionPlanId, Executor executor) {
+        final int marker = enqueueMarker(executionPlanId);
+        if (marker == -1) {
+            return CompletableFuture.runAsync(() -> sync(executionPlanId), executor);
+        }
+        final CompletableFuture<Void> completion = new CompletableFuture<>();
+        final int status = OCLEvent.clSetEventCallback(getOCLEventPool(executionPlanId).getOCLEvent(marker), executionStatus -> executor.execute(() -> {
+            if (executionStatus == CL_COMPLETE.getValue()) {
+                completion.complete(null);
+            } else {
+                completion.completeExceptionally(new TornadoRuntimeException("[ERROR] OpenCL commands of the execution plan failed with status " + executionStatus));
+            }
+        }));
+        if (status != 0) {
+            return CompletableFuture.runAsync(() -> sync(executionPlanId), executor);
+        }
+        // Callbacks are only triggered for commands that have been submitted to the device
+        getCommandQueue(executionPlanId).flush();
+        return completion;
+    }
+
     @Override
     public OCLProgram createProgramWithSource(byte[] source, long[] lengths) {
         return context.createProgramWithSource(source, lengths, this);
@@ -266,13 +354,20 @@ public class OCLDeviceContext implements OCLDeviceContextInterface {
 
     private OCLCommandQueue getCommandQueue(long executionPlanId) {
         executionIDs.add(executionPlanId);
-        if (!commandQueueTable.containsKey(executionPlanId)) {
-            OCLTargetDevice device = context.devices().get(getDeviceIndex());
-            OCLCommandQueueTable oclCommandQueueTable = new OCLCommandQueueTable();
-            oclCommandQueueTable.get(device, context);
-            commandQueueTable.put(executionPlanId, oclCommandQueueTable);
-        }
-        return commandQueueTable.get(executionPlanId).get(context.devices().get(getDeviceIndex()), context);
+        return commandQueuePool.lease(executionPlanId);
+    }
+
+    /**
+     * Releases the OpenCL command queues of the device. It must be called before
+     * releasing the OpenCL context.
+     */
+    public void releaseCommandQueues() {
+        commandQueuePool.cleanup();
+    }
+
+    public int getNumRetainedEvents(long executionPlanId) {
+        OCLEventPool eventPool = oclEventPool.get(executionPlanId);
+        return eventPool == null ? 0 : eventPool.getNumRetainedEvents();
     }
 
     private OCLEventPool getOCLEventPool(long executionPlanId) {
@@ -495,6 +590,37 @@ public class OCLDeviceContext implements OCLDeviceContextInterface {
                 : null), EventDescriptor.DESC_READ_SEGMENT, commandQueue);
     }
 
+    /**
+     * Synchronizes a region of a buffer created with {@code CL_MEM_USE_HOST_PTR}
+     * with the host memory by mapping and unmapping the region. On devices that
+     * share the host memory no data is copied. The map is not blocking: the unmap
+     * is enqueued after it, and only a blocking call waits for the unmap.
+     *
+     * @param blocking
+     *     If true, the call returns when the region is synchronized.
+     * @param mapFlags
+     *     {@link OCLMapFlags#CL_MAP_READ} to make the device updates visible to the
+     *     host, or {@link OCLMapFlags#CL_MAP_WRITE} to make the host updates
+     *     visible to the device.
+     * @return the event of the unmap operation.
+     */
+    public int syncHostBuffer(long executionPlanId, long bufferId, boolean blocking, long mapFlags, long offset, long bytes, int[] waitEvents) {
+        OCLCommandQueue commandQueue = getCommandQueue(executionPlanId);
+        OCLEventPool eventPool = getOCLEventPool(executionPlanId);
+        EventDescriptor descriptor = (mapFlags & OCLMapFlags.CL_MAP_READ) != 0 ? EventDescriptor.DESC_READ_SEGMENT : EventDescriptor.DESC_WRITE_SEGMENT;
+        long[] mapEvent = new long[1];
+        long mappedPointer = commandQueue.enqueueMap(bufferId, OpenCLBlocking.FALSE, mapFlags, offset, bytes, eventPool.serialiseEvents(waitEvents, commandQueue) ? eventPool.waitEventsBuffer : null,
+                mapEvent);
+        int mapEventId = eventPool.registerEvent(mapEvent[0], descriptor, commandQueue);
+        int unmapEventId = eventPool.registerEvent(commandQueue.enqueueUnmap(bufferId, mappedPointer, eventPool.serialiseEvents(new int[] { mapEventId }, commandQueue)
+                ? eventPool.waitEventsBuffer
+                : null), descriptor, commandQueue);
+        if (blocking) {
+            resolveEvent(executionPlanId, unmapEventId).waitForEvents(executionPlanId);
+        }
+        return unmapEventId;
+    }
+
     @Override
     public int enqueueBarrier(long executionPlanId, int[] events) {
         OCLCommandQueue commandQueue = getCommandQueue(executionPlanId);
@@ -516,14 +642,8 @@ public class OCLDeviceContext implements OCLDeviceContextInterface {
         OCLEventPool eventPool = getOCLEventPool(executionPlanId);
         eventPool.reset();
         oclEventPool.remove(executionPlanId);
-        OCLCommandQueueTable table = commandQueueTable.get(executionPlanId);
-        if (table != null) {
-            table.cleanup(device);
-            if (table.size() == 0) {
-                commandQueueTable.remove(executionPlanId);
-            }
-            executionIDs.remove(executionPlanId);
-        }
+        commandQueuePool.release(executionPlanId);
+        executionIDs.remove(executionPlanId);
         getMemoryManager().releaseKernelStackFrame(executionPlanId);
         OCLCodeCache oclCodeCache = getOCLCodeCache(executionPlanId);
         oclCodeCache.reset();
@@ -615,10 +735,8 @@ public class OCLDeviceContext implements OCLDeviceContextInterface {
     }
 
     private OCLCodeCache getOCLCodeCache(long executionPlanId) {
-        if (!codeCache.containsKey(executionPlanId)) {
-            codeCache.put(executionPlanId, new OCLCodeCache(this));
-        }
-        return codeCache.get(executionPlanId);
+        // Tasks of the same execution plan can be compiled concurrently
+        return codeCache.computeIfAbsent(executionPlanId, id -> new OCLCodeCache(this));
     }
 
     @Override
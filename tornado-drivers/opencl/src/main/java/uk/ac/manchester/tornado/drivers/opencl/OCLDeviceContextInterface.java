@@ -23,6 +23,9 @@
  */
 package uk.ac.manchester.tornado.drivers.opencl;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 import uk.ac.manchester.tornado.api.TornadoDeviceContext;
 import uk.ac.manchester.tornado.api.common.Event;
 import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider;
@@ -70,6 +73,8 @@ public interface OCLDeviceContextInterface extends TornadoDeviceContext {
 
     int enqueueMarker(long executionPlanId);
 
+    CompletableFuture<Void> whenCompleted(long executionPlanId, Executor executor);
+
     int enqueueMarker(long executionPlanId, int[] events);
 
     Event resolveEvent(long executionPlanId, int event);
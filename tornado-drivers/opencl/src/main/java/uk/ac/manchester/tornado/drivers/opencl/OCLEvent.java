@@ -33,6 +33,7 @@ import static uk.ac.manchester.tornado.drivers.opencl.enums.OCLProfilingInfo.CL_
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.ENABLE_OPENCL_PROFILING;
 
 import java.nio.ByteBuffer;
+import java.util.function.IntConsumer;
 
 import uk.ac.manchester.tornado.api.common.Event;
 import uk.ac.manchester.tornado.api.enums.TornadoExecutionStatus;
@@ -81,6 +82,15 @@ public class OCLEvent implements Event {
 
     native static void clReleaseEvent(long eventId) throws OCLException;
 
+    /**
+     * Registers a callback that receives the execution status of the event once
+     * it has completed, either {@code CL_COMPLETE} or a negative error code. The
+     * callback runs in a thread of the OpenCL runtime.
+     *
+     * @return The status of the registration.
+     */
+    native static int clSetEventCallback(long eventId, IntConsumer callback);
+
     private long readEventTime(OCLProfilingInfo eventType) {
         if (!ENABLE_OPENCL_PROFILING) {
             return -1;
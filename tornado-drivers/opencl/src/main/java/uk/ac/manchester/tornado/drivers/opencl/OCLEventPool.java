@@ -58,6 +58,7 @@ public class OCLEventPool {
     private final OCLCommandQueue[] eventQueues;
     private final OCLEvent internalEvent;
     private int eventIndex;
+    private int lastEvent;
     private int eventPoolSize;
     private final TornadoLogger logger;
 
@@ -69,6 +70,7 @@ public class OCLEventPool {
         this.descriptors = new EventDescriptor[eventPoolSize];
         this.eventQueues = new OCLCommandQueue[eventPoolSize];
         this.eventIndex = 0;
+        this.lastEvent = -1;
         this.waitEventsBuffer = new long[TornadoOptions.MAX_WAIT_EVENTS];
         this.internalEvent = new OCLEvent();
         this.logger = new TornadoLogger(this.getClass());
@@ -100,6 +102,7 @@ public class OCLEventPool {
         events[currentEvent] = oclEventId;
         descriptors[currentEvent] = descriptorId;
         eventQueues[currentEvent] = queue;
+        lastEvent = currentEvent;
 
         findNextEventSlot();
         return currentEvent;
@@ -158,6 +161,7 @@ public class OCLEventPool {
         }
         Arrays.fill(events, 0);
         eventIndex = 0;
+        lastEvent = -1;
     }
 
     protected void retainEvent(int localEventID) {
@@ -176,4 +180,16 @@ public class OCLEventPool {
         return descriptors[localEventID];
     }
 
+    /**
+     * @return the local identifier of the last event registered in the pool, or
+     *     -1 if the pool has no events.
+     */
+    public int getLastEvent() {
+        return lastEvent;
+    }
+
+    public int getNumRetainedEvents() {
+        return retain.cardinality();
+    }
+
 }
@@ -39,6 +39,7 @@ public class OCLKernel {
     private final OCLDeviceContext deviceContext;
     private final ByteBuffer buffer;
     private String kernelName;
+    private int numArgs;
     private final TornadoLogger logger;
 
     public OCLKernel(long id, OCLDeviceContext deviceContext) {
@@ -49,7 +50,7 @@ public class OCLKernel {
         this.kernelName = "unknown";
         this.logger = new TornadoLogger(this.getClass());
         queryName();
-
+        queryNumArgs();
     }
 
     native static void clReleaseKernel(long kernelId) throws OCLException;
@@ -124,6 +125,23 @@ public class OCLKernel {
         }
     }
 
+    private void queryNumArgs() {
+        buffer.clear();
+        try {
+            clGetKernelInfo(oclKernelID, OCLKernelInfo.CL_KERNEL_NUM_ARGS.getValue(), buffer.array());
+            numArgs = buffer.getInt();
+        } catch (OCLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * @return number of arguments in the signature of the kernel.
+     */
+    public int getNumArgs() {
+        return numArgs;
+    }
+
     public long getOclKernelID() {
         return oclKernelID;
     }
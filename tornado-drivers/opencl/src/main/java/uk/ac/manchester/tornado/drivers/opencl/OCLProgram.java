@@ -35,7 +35,6 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -166,8 +165,13 @@ public class OCLProgram {
         return result;
     }
 
-    public void dumpBinaries(String filenamePrefix) {
-
+    /**
+     * Retrieves the device binary of this program for the device associated
+     * with the device context.
+     *
+     * @return a byte array with the binary.
+     */
+    public byte[] getBinary() {
         final long[] devices = getDevices();
         final int numDevices = getNumDevices();
         final long[] sizes = getBinarySizes();
@@ -189,21 +193,24 @@ public class OCLProgram {
         final ByteBuffer binary = ByteBuffer.allocateDirect(totalSize);
         try {
             getBinaries(programPointer, numDevices, binary);
-
-            logger.info("dumping binary %s", filenamePrefix);
-            try (FileOutputStream fis = new FileOutputStream(filenamePrefix); FileChannel vChannel = fis.getChannel();) {
-                binary.position(offset);
-                binary.limit(offset + (int) sizes[index]);
-                vChannel.write(binary);
-            } catch (IOException e) {
-                logger.error("unable to dump binary: %s", e.getMessage());
-            }
-
         } catch (OCLException e) {
             logger.error("unable to retrieve binary from OpenCL driver: %s", e.getMessage());
             throw new TornadoBailoutRuntimeException(e.getMessage());
         }
+        byte[] result = new byte[(int) sizes[index]];
+        binary.position(offset);
+        binary.get(result);
+        return result;
+    }
 
+    public void dumpBinaries(String filenamePrefix) {
+        final byte[] binary = getBinary();
+        logger.info("dumping binary %s", filenamePrefix);
+        try (FileOutputStream fos = new FileOutputStream(filenamePrefix)) {
+            fos.write(binary);
+        } catch (IOException e) {
+            logger.error("unable to dump binary: %s", e.getMessage());
+        }
     }
 
     @Override
@@ -56,6 +56,8 @@ public interface OCLTargetDevice extends TornadoTargetDevice {
 
     boolean isLittleEndian();
 
+    boolean hasDeviceUnifiedMemory();
+
     OCLDeviceContextInterface getDeviceContext();
 
     void setDeviceContext(OCLDeviceContextInterface deviceContext);
@@ -194,7 +194,7 @@ public class OpenCL {
 
         // Pass arguments to the call callWrapper
         for (int i = 0; i < numArgs; i++) {
-            callWrapper.addCallArgument(states.get(i).getXPUBuffer().toBuffer(), true);
+            callWrapper.addReferenceArgument(states.get(i).getXPUBuffer());
         }
 
         // Run the code
@@ -80,6 +80,9 @@ public class OCLInstalledCode extends InstalledCode implements TornadoInstalledC
         valid = kernel != null;
         buffer.order(deviceContext.getByteOrder());
         this.isSPIRVBinary = isSPIRVBinary;
+        if (!isSPIRVBinary && code != null) {
+            scheduler.enableLocalWorkTuning(code);
+        }
     }
 
     @Override
@@ -183,6 +186,10 @@ public class OCLInstalledCode extends InstalledCode implements TornadoInstalledC
         kernel.setArg(index, buffer);
         index++;
 
+        // Kernels generated with device arenas take the offset of each buffer
+        // right after the buffer
+        final boolean withOffsets = hasBufferOffsetParameters(kernelArgs, index);
+
         // Parameters
         for (int i = 0, argIndex = 0; i < kernelArgs.getCallArguments().size(); i++) {
             KernelStackFrame.CallArgument arg = kernelArgs.getCallArguments().get(i);
@@ -198,7 +205,32 @@ public class OCLInstalledCode extends InstalledCode implements TornadoInstalledC
                 shouldNotReachHere();
             }
             argIndex++;
+            if (arg.isReferenceType()) {
+                if (withOffsets) {
+                    buffer.clear();
+                    buffer.putLong(arg.getBufferOffset());
+                    kernel.setArg(index + argIndex, buffer);
+                    argIndex++;
+                } else if (arg.getBufferOffset() != 0) {
+                    throw new TornadoRuntimeException("Kernel " + kernel.getName() + " does not take buffer offsets. Device arenas require kernels generated by TornadoVM.");
+                }
+            }
+        }
+    }
+
+    private boolean hasBufferOffsetParameters(final OCLKernelStackFrame kernelArgs, int firstParameterIndex) {
+        int numParameters = 0;
+        int numReferences = 0;
+        for (KernelStackFrame.CallArgument arg : kernelArgs.getCallArguments()) {
+            if (arg.getValue() instanceof KernelStackFrame.KernelContextArgument) {
+                continue;
+            }
+            numParameters++;
+            if (arg.isReferenceType()) {
+                numReferences++;
+            }
         }
+        return numReferences > 0 && kernel.getNumArgs() == firstParameterIndex + numParameters + numReferences;
     }
 
     private void printDebugLaunchInfo(final TaskDataContext meta) {
@@ -126,7 +126,7 @@ import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkLocalArray;
 public class OCLLoweringProvider extends DefaultJavaLoweringProvider {
 
     private static final boolean USE_ATOMICS = false;
-    private static boolean gpuSnippet = false;
+    private static volatile boolean gpuSnippet = false;
     private final ConstantReflectionProvider constantReflection;
     private final TornadoVMConfigAccess vmConfig;
     private ReduceGPUSnippets.Templates gpuReduceSnippets;
@@ -23,6 +23,7 @@
  */
 package uk.ac.manchester.tornado.drivers.opencl.graal;
 
+import org.graalvm.compiler.core.common.GraalOptions;
 import org.graalvm.compiler.java.GraphBuilderPhase;
 import org.graalvm.compiler.nodes.graphbuilderconf.GraphBuilderConfiguration;
 import org.graalvm.compiler.nodes.graphbuilderconf.GraphBuilderConfiguration.Plugins;
@@ -40,19 +41,24 @@ import uk.ac.manchester.tornado.runtime.graal.TornadoSuites;
 import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoSketchTier;
 import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoSuitesProvider;
 
+/**
+ * Provides the phase suites of the OpenCL compiler.
+ * <p>
+ * Some TornadoVM phases, such as {@code TornadoTaskSpecialisation} and the
+ * {@link OCLCanonicalizer}, keep the state of the compilation in progress in
+ * their fields. The suites are therefore created per compiler thread, so that
+ * tasks can be compiled concurrently on the same device.
+ * </p>
+ */
 public class OCLSuitesProvider implements TornadoSuitesProvider {
 
     private final PhaseSuite<HighTierContext> graphBuilderSuite;
-    private final TornadoSuites suites;
-    private final TornadoLIRSuites lirSuites;
-    private final OCLCanonicalizer canonicalizer;
+    private final ThreadLocal<ThreadSuites> threadSuites;
 
     public OCLSuitesProvider(OptionValues options, TornadoDeviceContext deviceContext, Plugins plugins, MetaAccessProvider metaAccessProvider, OCLCompilerConfiguration compilerConfig,
             AddressLowering addressLowering) {
         graphBuilderSuite = createGraphBuilderSuite(plugins);
-        canonicalizer = new OCLCanonicalizer();
-        suites = new TornadoSuites(options, deviceContext, compilerConfig, metaAccessProvider, canonicalizer, addressLowering);
-        lirSuites = new TornadoLIRSuites(suites.getPreAllocationOptimizationStage(), suites.getAllocationStage(), suites.getPostAllocationOptimizationStage());
+        threadSuites = ThreadLocal.withInitial(() -> new ThreadSuites(options, deviceContext, metaAccessProvider, compilerConfig, addressLowering));
     }
 
     private PhaseSuite<HighTierContext> createGraphBuilderSuite(Plugins plugins) {
@@ -68,7 +74,7 @@ public class OCLSuitesProvider implements TornadoSuitesProvider {
     }
 
     public TornadoSuites getSuites() {
-        return suites;
+        return threadSuites.get().suites;
     }
 
     @Override
@@ -77,12 +83,39 @@ public class OCLSuitesProvider implements TornadoSuitesProvider {
     }
 
     public TornadoLIRSuites getLIRSuites() {
-        return lirSuites;
+        return threadSuites.get().lirSuites;
+    }
+
+    public TornadoSuites getQuickSuites() {
+        return threadSuites.get().quickSuites;
+    }
+
+    public TornadoLIRSuites getQuickLIRSuites() {
+        return threadSuites.get().quickLirSuites;
     }
 
     @Override
     public TornadoSketchTier getSketchTier() {
-        return suites.getSketchTier();
+        return getSuites().getSketchTier();
+    }
+
+    private static final class ThreadSuites {
+        private final TornadoSuites suites;
+        private final TornadoLIRSuites lirSuites;
+        private final TornadoSuites quickSuites;
+        private final TornadoLIRSuites quickLirSuites;
+
+        ThreadSuites(OptionValues options, TornadoDeviceContext deviceContext, MetaAccessProvider metaAccessProvider, OCLCompilerConfiguration compilerConfig, AddressLowering addressLowering) {
+            OCLCanonicalizer canonicalizer = new OCLCanonicalizer();
+            suites = new TornadoSuites(options, deviceContext, compilerConfig, metaAccessProvider, canonicalizer, addressLowering);
+            lirSuites = new TornadoLIRSuites(suites.getPreAllocationOptimizationStage(), suites.getAllocationStage(), suites.getPostAllocationOptimizationStage());
+
+            // The quick tier skips the optimisations that are not needed to generate a
+            // valid kernel: conditional elimination, full loop unrolling and reassociation
+            OptionValues quickOptions = new OptionValues(options, GraalOptions.ConditionalElimination, false, GraalOptions.FullUnroll, false, GraalOptions.ReassociateExpressions, false);
+            quickSuites = new TornadoSuites(quickOptions, deviceContext, compilerConfig, metaAccessProvider, canonicalizer, addressLowering);
+            quickLirSuites = new TornadoLIRSuites(quickSuites.getPreAllocationOptimizationStage(), quickSuites.getAllocationStage(), quickSuites.getPostAllocationOptimizationStage());
+        }
     }
 
 }
@@ -40,6 +40,7 @@ public class OCLAssemblerConstants {
     public static final String CONSTANT_REGION_NAME = "_constant_region";
     public static final String KERNEL_CONTEXT = "_kernel_context";
     public static final String FRAME_REF_NAME = "_frame";
+    public static final String BUFFER_OFFSET_PREFIX = "_offset_";
 
     public static final String STMT_DELIMITER = ";";
     public static final String EXPR_DELIMITER = ",";
@@ -96,6 +96,7 @@ import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLLIRGenerator;
 import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLNodeLIRBuilder;
 import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLNodeMatchRules;
 import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLReferenceMapBuilder;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLGenTool;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLKind;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.FPGAWorkGroupSizeNode;
 import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
@@ -382,6 +383,9 @@ public class OCLBackend extends XPUBackend<OCLProviders> implements FrameMap.Ref
                     asm.emit(", ");
                     String parameterName = getParameterName(locals[i]);
                     asm.emit("__global %s *%s", "uchar", parameterName);
+                    if (OCLGenTool.hasBufferOffsetParameter(javaType)) {
+                        asm.emit(", __private ulong %s%s", OCLAssemblerConstants.BUFFER_OFFSET_PREFIX, parameterName);
+                    }
                 }
             } else {
                 final AllocatableValue param = incomingArguments.getArgument(i);
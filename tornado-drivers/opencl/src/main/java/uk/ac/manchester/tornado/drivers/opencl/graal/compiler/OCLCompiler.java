@@ -104,6 +104,11 @@ import uk.ac.manchester.tornado.runtime.tasks.meta.TaskDataContext;
  */
 public class OCLCompiler {
 
+    /**
+     * Suffix of the identifier of the kernels compiled with the quick tier.
+     */
+    public static final String QUICK_TIER_SUFFIX = "-quick-tier";
+
     private static final AtomicInteger compilationId = new AtomicInteger();
 
     private static final TimerKey CompilerTimer = DebugContext.timer("OpenCLGraalCompiler");
@@ -356,7 +361,23 @@ public class OCLCompiler {
         return kernelCompResult;
     }
 
-    public synchronized static OCLCompilationResult compileSketchForDevice(Sketch sketch, CompilableTask task, OCLProviders providers, OCLBackend backend, TornadoProfiler profiler) {
+    public static OCLCompilationResult compileSketchForDevice(Sketch sketch, CompilableTask task, OCLProviders providers, OCLBackend backend, TornadoProfiler profiler) {
+        return compileSketchForDevice(sketch, task, providers, backend, profiler, false);
+    }
+
+    /**
+     * It compiles a sketch for the device. When {@code quickTier} is set, the
+     * sketch is compiled with the quick suites of the {@link OCLSuitesProvider}, and
+     * the result is identified with {@link #QUICK_TIER_SUFFIX}, so the quick and
+     * the optimised kernels of a task are kept as different entries of the code
+     * cache.
+     * <p>
+     * This method is re-entrant: the phase suites and the debug context are
+     * per thread, so tasks of the same device can be compiled concurrently.
+     * </p>
+     */
+    public static OCLCompilationResult compileSketchForDevice(Sketch sketch, CompilableTask task, OCLProviders providers, OCLBackend backend, TornadoProfiler profiler,
+            boolean quickTier) {
         final StructuredGraph kernelGraph = (StructuredGraph) sketch.getGraph().copy(getDebugContext());
         ResolvedJavaMethod resolvedMethod = kernelGraph.method();
 
@@ -374,14 +395,17 @@ public class OCLCompiler {
         ProfilingInfo profilingInfo = resolvedMethod.getProfilingInfo();
 
         String kernelName = OCLDeviceContext.checkKernelName(resolvedMethod.getName());
-        OCLCompilationResult kernelCompResult = new OCLCompilationResult(task.getId(), kernelName, taskMeta, backend);
+        final String resultId = quickTier ? task.getId() + QUICK_TIER_SUFFIX : task.getId();
+        OCLCompilationResult kernelCompResult = new OCLCompilationResult(resultId, kernelName, taskMeta, backend);
         CompilationResultBuilderFactory factory = CompilationResultBuilderFactory.Default;
 
         Set<ResolvedJavaMethod> methods = new HashSet<>();
 
         final OCLSuitesProvider suitesProvider = providers.getSuitesProvider();
+        final TornadoSuites suites = quickTier ? suitesProvider.getQuickSuites() : suitesProvider.getSuites();
+        final TornadoLIRSuites lirSuites = quickTier ? suitesProvider.getQuickLIRSuites() : suitesProvider.getLIRSuites();
         Request<OCLCompilationResult> kernelCompilationRequest = new Request<>(kernelGraph, resolvedMethod, args, taskMeta, providers, backend, suitesProvider.getGraphBuilderSuite(), optimisticOpts,
-                profilingInfo, suitesProvider.getSuites(), suitesProvider.getLIRSuites(), kernelCompResult, factory, true, false, batchCompilationConfig, profiler);
+                profilingInfo, suites, lirSuites, kernelCompResult, factory, true, false, batchCompilationConfig, profiler);
 
         kernelCompilationRequest.execute();
 
@@ -413,11 +437,11 @@ public class OCLCompiler {
             final StructuredGraph graph = (StructuredGraph) currentSketch.getGraph().copy(getDebugContext());
 
             String subKernelName = OCLDeviceContext.checkKernelName(currentMethod.getName());
-            final OCLCompilationResult compResult = new OCLCompilationResult(task.getId(), subKernelName, taskMeta, backend);
+            final OCLCompilationResult compResult = new OCLCompilationResult(resultId, subKernelName, taskMeta, backend);
 
             Request<OCLCompilationResult> methodCompilationRequest = new Request<>(graph, currentMethod, //
                     null, null, providers, backend, suitesProvider.getGraphBuilderSuite(), //
-                    optimisticOpts, profilingInfo, suitesProvider.getSuites(), suitesProvider.getLIRSuites(), //
+                    optimisticOpts, profilingInfo, suites, lirSuites, //
                     compResult, factory, false, false, new BatchCompilationConfig(0, 0, 0), profiler);
 
             methodCompilationRequest.execute();
@@ -23,6 +23,7 @@
 package uk.ac.manchester.tornado.drivers.opencl.graal.compiler;
 
 import static org.graalvm.compiler.core.common.GraalOptions.ConditionalElimination;
+import static org.graalvm.compiler.core.common.GraalOptions.FullUnroll;
 import static org.graalvm.compiler.core.common.GraalOptions.OptConvertDeoptsToGuards;
 import static org.graalvm.compiler.core.common.GraalOptions.PartialEscapeAnalysis;
 import static org.graalvm.compiler.core.phases.HighTier.Options.Inline;
@@ -108,7 +109,7 @@ public class OCLHighTier extends TornadoHighTier {
 
         appendPhase(new SchedulePhase(SchedulePhase.SchedulingStrategy.EARLIEST));
 
-        if (!deviceContext.isPlatformFPGA()) {
+        if (FullUnroll.getValue(options) && !deviceContext.isPlatformFPGA()) {
             LoopPolicies loopPolicies = new DefaultLoopPolicies();
             appendPhase(new LoopFullUnrollPhase(canonicalizer, loopPolicies));
         }
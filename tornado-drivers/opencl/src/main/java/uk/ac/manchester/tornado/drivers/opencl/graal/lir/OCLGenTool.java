@@ -25,7 +25,10 @@
  */
 package uk.ac.manchester.tornado.drivers.opencl.graal.lir;
 
+import static uk.ac.manchester.tornado.drivers.common.code.CodeUtil.isHalfFloat;
+
 import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.graalvm.compiler.core.common.LIRKind;
 import org.graalvm.compiler.lir.ConstantValue;
@@ -35,15 +38,19 @@ import org.graalvm.compiler.nodes.ParameterNode;
 
 import jdk.vm.ci.meta.AllocatableValue;
 import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.JavaType;
 import jdk.vm.ci.meta.Local;
 import jdk.vm.ci.meta.PrimitiveConstant;
 import jdk.vm.ci.meta.Value;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.drivers.common.code.CodeUtil;
 import uk.ac.manchester.tornado.drivers.common.logging.Logger;
 import uk.ac.manchester.tornado.drivers.opencl.OCLTargetDescription;
 import uk.ac.manchester.tornado.drivers.opencl.graal.OCLArchitecture;
 import uk.ac.manchester.tornado.drivers.opencl.graal.OCLArchitecture.OCLMemoryBase;
 import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLBinaryIntrinsic;
 import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssembler.OCLUnaryOp;
+import uk.ac.manchester.tornado.drivers.opencl.graal.asm.OCLAssemblerConstants;
 import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLLIRGenerator;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLLIRStmt.AssignStmt;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLLIRStmt.VectorLoadStmt;
@@ -51,6 +58,7 @@ import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLUnary.MemoryAccess;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLUnary.OCLAddressCast;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.vector.VectorUtil;
 import uk.ac.manchester.tornado.runtime.common.OCLTokens;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 
 public class OCLGenTool {
 
@@ -75,6 +83,19 @@ public class OCLGenTool {
         return parameterName;
     }
 
+    /**
+     * With device arenas, objects can live at an offset of a device buffer. The
+     * kernel then receives the offset of each buffer parameter in an extra
+     * parameter that follows the buffer.
+     */
+    public static boolean hasBufferOffsetParameter(JavaType javaType) {
+        if (!TornadoOptions.DEVICE_ARENA || !CodeUtil.convertJavaKind(javaType).isObject() || isHalfFloat(javaType)) {
+            return false;
+        }
+        String typeName = javaType.toJavaName();
+        return !typeName.equals(KernelContext.class.getName()) && !typeName.equals(AtomicInteger.class.getName());
+    }
+
     public Value emitParameterLoad(Local local, ParameterNode paramNode) {
 
         Logger.traceBuildLIR(Logger.BACKEND.OpenCL, "emitParameterLoad: stamp=%s", paramNode.stamp(NodeView.DEFAULT));
@@ -85,7 +106,11 @@ public class OCLGenTool {
 
         Variable result = (oclKind.isVector()) ? gen.newVariable(LIRKind.value(oclTarget.getOCLKind(JavaKind.Object))) : gen.newVariable(lirKind);
         String parameterName = getParameterName(local);
-        gen.append(new AssignStmt(result, new OCLNullary.Parameter(OCLUnaryOp.CAST_TO_ULONG + parameterName, lirKind)));
+        String parameterValue = OCLUnaryOp.CAST_TO_ULONG + parameterName;
+        if (hasBufferOffsetParameter(local.getType())) {
+            parameterValue += " " + OCLAssemblerConstants.ADD + " " + OCLAssemblerConstants.BUFFER_OFFSET_PREFIX + parameterName;
+        }
+        gen.append(new AssignStmt(result, new OCLNullary.Parameter(parameterValue, lirKind)));
         parameterToVariable.put(paramNode, result);
 
         if (oclKind.isVector()) {
@@ -26,6 +26,9 @@ package uk.ac.manchester.tornado.drivers.opencl.graal.snippets;
 import org.graalvm.compiler.api.replacements.Snippet;
 import org.graalvm.compiler.nodes.GraphState;
 import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.calc.AndNode;
+import org.graalvm.compiler.nodes.calc.OrNode;
+import org.graalvm.compiler.nodes.calc.XorNode;
 import org.graalvm.compiler.nodes.spi.LoweringTool;
 import org.graalvm.compiler.options.OptionValues;
 import org.graalvm.compiler.phases.util.Providers;
@@ -319,6 +322,102 @@ public class ReduceCPUSnippets implements Snippets {
         }
     }
 
+    @Snippet
+    public static void partialReduceIntAnd(int[] inputArray, int[] outputArray, int gidx, int start, int globalID) {
+        OpenCLIntrinsics.localBarrier();
+        if (gidx >= start) {
+            outputArray[globalID + 1] = outputArray[globalID + 1] & inputArray[gidx];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntAndCarrierValue(int[] inputArray, int[] outputArray, int gidx, int start, int globalID, int value) {
+        OpenCLIntrinsics.localBarrier();
+        if (gidx >= start) {
+            outputArray[globalID + 1] = outputArray[globalID + 1] & value;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntOr(int[] inputArray, int[] outputArray, int gidx, int start, int globalID) {
+        OpenCLIntrinsics.localBarrier();
+        if (gidx >= start) {
+            outputArray[globalID + 1] = outputArray[globalID + 1] | inputArray[gidx];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntOrCarrierValue(int[] inputArray, int[] outputArray, int gidx, int start, int globalID, int value) {
+        OpenCLIntrinsics.localBarrier();
+        if (gidx >= start) {
+            outputArray[globalID + 1] = outputArray[globalID + 1] | value;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntXor(int[] inputArray, int[] outputArray, int gidx, int start, int globalID) {
+        OpenCLIntrinsics.localBarrier();
+        if (gidx >= start) {
+            outputArray[globalID + 1] = outputArray[globalID + 1] ^ inputArray[gidx];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntXorCarrierValue(int[] inputArray, int[] outputArray, int gidx, int start, int globalID, int value) {
+        OpenCLIntrinsics.localBarrier();
+        if (gidx >= start) {
+            outputArray[globalID + 1] = outputArray[globalID + 1] ^ value;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongAnd(long[] inputArray, long[] outputArray, int gidx, int start, int globalID) {
+        OpenCLIntrinsics.localBarrier();
+        if (gidx >= start) {
+            outputArray[globalID + 1] = outputArray[globalID + 1] & inputArray[gidx];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongAndCarrierValue(long[] inputArray, long[] outputArray, int gidx, int start, int globalID, long value) {
+        OpenCLIntrinsics.localBarrier();
+        if (gidx >= start) {
+            outputArray[globalID + 1] = outputArray[globalID + 1] & value;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongOr(long[] inputArray, long[] outputArray, int gidx, int start, int globalID) {
+        OpenCLIntrinsics.localBarrier();
+        if (gidx >= start) {
+            outputArray[globalID + 1] = outputArray[globalID + 1] | inputArray[gidx];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongOrCarrierValue(long[] inputArray, long[] outputArray, int gidx, int start, int globalID, long value) {
+        OpenCLIntrinsics.localBarrier();
+        if (gidx >= start) {
+            outputArray[globalID + 1] = outputArray[globalID + 1] | value;
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongXor(long[] inputArray, long[] outputArray, int gidx, int start, int globalID) {
+        OpenCLIntrinsics.localBarrier();
+        if (gidx >= start) {
+            outputArray[globalID + 1] = outputArray[globalID + 1] ^ inputArray[gidx];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongXorCarrierValue(long[] inputArray, long[] outputArray, int gidx, int start, int globalID, long value) {
+        OpenCLIntrinsics.localBarrier();
+        if (gidx >= start) {
+            outputArray[globalID + 1] = outputArray[globalID + 1] ^ value;
+        }
+    }
+
     protected static class Tuple2<T0, T1> {
         T0 t0;
         T1 t1;
@@ -374,6 +473,19 @@ public class ReduceCPUSnippets implements Snippets {
         // Additional tuple
         private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceAddIntSnippetCarrierValue = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceIntAddCarrierValue");
         private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceMulIntSnippet = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceIntMul");
+        // Bitwise And/Or/Xor
+        private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceAndIntSnippet = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceIntAnd");
+        private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceAndIntSnippetCarrierValue = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceIntAndCarrierValue");
+        private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceOrIntSnippet = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceIntOr");
+        private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceOrIntSnippetCarrierValue = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceIntOrCarrierValue");
+        private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceXorIntSnippet = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceIntXor");
+        private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceXorIntSnippetCarrierValue = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceIntXorCarrierValue");
+        private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceAndLongSnippet = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceLongAnd");
+        private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceAndLongSnippetCarrierValue = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceLongAndCarrierValue");
+        private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceOrLongSnippet = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceLongOr");
+        private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceOrLongSnippetCarrierValue = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceLongOrCarrierValue");
+        private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceXorLongSnippet = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceLongXor");
+        private final Tuple2<Class<? extends ReduceCPUSnippets>, String> partialReduceXorLongSnippetCarrierValue = new Tuple2<>(ReduceCPUSnippets.class, "partialReduceLongXorCarrierValue");
         Providers providers;
 
         public Templates(OptionValues options, Providers providers) {
@@ -408,8 +520,7 @@ public class ReduceCPUSnippets implements Snippets {
             }
         }
 
-        @Override
-        public SnippetInfo inferIntSnippet(ValueNode value, ValueNode extra) {
+        private SnippetInfo inferIntSnippet(ValueNode value, ValueNode extra) {
             SnippetInfo snippet = null;
             if (value instanceof TornadoReduceAddNode) {
                 snippet = (extra == null) ? snippet(partialReduceAddIntSnippet) : snippet(partialReduceAddIntSnippetCarrierValue);
@@ -417,14 +528,19 @@ public class ReduceCPUSnippets implements Snippets {
                 snippet = (extra == null) ? snippet(partialReduceMulIntSnippet) : snippet(partialReduceMulIntSnippetCarrierValue);
             } else if (value instanceof OCLIntBinaryIntrinsicNode) {
                 snippet = getSnippetFromOCLBinaryNodeInteger((OCLIntBinaryIntrinsicNode) value, extra);
+            } else if (value instanceof AndNode) {
+                snippet = (extra == null) ? snippet(partialReduceAndIntSnippet) : snippet(partialReduceAndIntSnippetCarrierValue);
+            } else if (value instanceof OrNode) {
+                snippet = (extra == null) ? snippet(partialReduceOrIntSnippet) : snippet(partialReduceOrIntSnippetCarrierValue);
+            } else if (value instanceof XorNode) {
+                snippet = (extra == null) ? snippet(partialReduceXorIntSnippet) : snippet(partialReduceXorIntSnippetCarrierValue);
             } else {
                 throw new RuntimeException("Reduce Operation no supported yet: snippet not installed");
             }
             return snippet;
         }
 
-        @Override
-        public SnippetInfo inferLongSnippet(ValueNode value, ValueNode extra) {
+        private SnippetInfo inferLongSnippet(ValueNode value, ValueNode extra) {
             SnippetInfo snippet = null;
             if (value instanceof TornadoReduceAddNode) {
                 snippet = (extra == null) ? snippet(partialReduceAddLongSnippet) : snippet(partialReduceAddLongSnippetCarrierValue);
@@ -432,6 +548,12 @@ public class ReduceCPUSnippets implements Snippets {
                 snippet = (extra == null) ? snippet(partialReduceMulLongSnippet) : snippet(partialReduceMulLongSnippetCarrierValue);
             } else if (value instanceof OCLIntBinaryIntrinsicNode) {
                 snippet = getSnippetFromOCLBinaryNodeLong((OCLIntBinaryIntrinsicNode) value, extra);
+            } else if (value instanceof AndNode) {
+                snippet = (extra == null) ? snippet(partialReduceAndLongSnippet) : snippet(partialReduceAndLongSnippetCarrierValue);
+            } else if (value instanceof OrNode) {
+                snippet = (extra == null) ? snippet(partialReduceOrLongSnippet) : snippet(partialReduceOrLongSnippetCarrierValue);
+            } else if (value instanceof XorNode) {
+                snippet = (extra == null) ? snippet(partialReduceXorLongSnippet) : snippet(partialReduceXorLongSnippetCarrierValue);
             } else {
                 throw new RuntimeException("Reduce Operation no supported yet: snippet not installed");
             }
@@ -449,8 +571,7 @@ public class ReduceCPUSnippets implements Snippets {
             }
         }
 
-        @Override
-        public SnippetInfo inferFloatSnippet(ValueNode value, ValueNode extra) {
+        private SnippetInfo inferFloatSnippet(ValueNode value, ValueNode extra) {
             SnippetInfo snippet = null;
             if (value instanceof TornadoReduceAddNode) {
                 snippet = (extra == null) ? snippet(partialReduceAddFloatSnippet) : snippet(partialReduceAddFloatSnippetCarrierValue);
@@ -475,8 +596,7 @@ public class ReduceCPUSnippets implements Snippets {
             }
         }
 
-        @Override
-        public SnippetInfo inferDoubleSnippet(ValueNode value, ValueNode extra) {
+        private SnippetInfo inferDoubleSnippet(ValueNode value, ValueNode extra) {
             SnippetInfo snippet = null;
             if (value instanceof TornadoReduceAddNode) {
                 snippet = (extra == null) ? snippet(partialReduceAddDoubleSnippet) : snippet(partialReduceAddDoubleSnippetCarrierValue);
@@ -29,14 +29,6 @@ import jdk.vm.ci.meta.JavaKind;
 /// FIXME: <Refactor> across 3 backends
 public interface TornadoSnippetTypeInference {
 
-    SnippetInfo inferIntSnippet(ValueNode value, ValueNode extra);
-
-    SnippetInfo inferLongSnippet(ValueNode value, ValueNode extra);
-
-    SnippetInfo inferFloatSnippet(ValueNode value, ValueNode extra);
-
-    SnippetInfo inferDoubleSnippet(ValueNode value, ValueNode extra);
-
     SnippetInfo getSnippetInstance(JavaKind elementKind, ValueNode value, ValueNode extra);
 
 }
@@ -39,6 +39,7 @@ import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 import uk.ac.manchester.tornado.api.exceptions.TornadoMemoryException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.api.memory.XPUBuffer;
+import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider.BufferRegion;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContext;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
@@ -104,7 +105,9 @@ public abstract class OCLArrayWrapper<T> implements XPUBuffer {
             throw new TornadoMemoryException("[ERROR] Bytes Allocated <= 0: " + bufferSize);
         }
 
-        this.bufferId = deviceContext.getBufferProvider().getOrAllocateBufferWithSize(bufferSize, access);
+        final BufferRegion region = deviceContext.getBufferProvider().getOrAllocateBufferRegionWithSize(bufferSize, access);
+        this.bufferId = region.buffer();
+        this.bufferOffset = region.offset();
 
         if (TornadoOptions.FULL_DEBUG) {
             logger.info("allocated: array kind=%s, size=%s, length offset=%d, header size=%d", kind.getJavaName(), humanReadableByteCount(bufferSize, true), arrayLengthOffset, arrayHeaderSize);
@@ -117,8 +120,9 @@ public abstract class OCLArrayWrapper<T> implements XPUBuffer {
     public void markAsFreeBuffer() {
         TornadoInternalError.guarantee(bufferId != INIT_VALUE, "Fatal error: trying to deallocate an invalid buffer");
 
-        deviceContext.getBufferProvider().markBufferReleased(bufferId, access);
+        deviceContext.getBufferProvider().markBufferRegionReleased(bufferId, bufferOffset, access);
         bufferId = INIT_VALUE;
+        bufferOffset = 0;
         bufferSize = INIT_VALUE;
 
         if (TornadoOptions.FULL_DEBUG) {
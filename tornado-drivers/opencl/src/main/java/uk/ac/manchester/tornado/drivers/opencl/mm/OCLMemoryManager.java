@@ -86,6 +86,10 @@ public class OCLMemoryManager implements TornadoMemoryProvider {
         return deviceContext.getPlatformContext().createBuffer(flags, size);
     }
 
+    public OCLContext.OCLBufferResult createBuffer(long size, long flags, long hostPointer) {
+        return deviceContext.getPlatformContext().createBuffer(flags, size, hostPointer);
+    }
+
     public void releaseBuffer(long bufferId) {
         deviceContext.getPlatformContext().releaseBuffer(bufferId);
     }
@@ -37,7 +37,12 @@ import uk.ac.manchester.tornado.api.types.collections.TornadoCollectionInterface
 import uk.ac.manchester.tornado.api.types.images.TornadoImagesInterface;
 import uk.ac.manchester.tornado.api.types.matrix.TornadoMatrixInterface;
 import uk.ac.manchester.tornado.api.types.volumes.TornadoVolumesInterface;
+import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider.BufferRegion;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContext;
+import uk.ac.manchester.tornado.drivers.opencl.OpenCLBlocking;
+import uk.ac.manchester.tornado.drivers.opencl.enums.OCLMapFlags;
+import uk.ac.manchester.tornado.drivers.opencl.enums.OCLMemFlags;
+import uk.ac.manchester.tornado.drivers.opencl.runtime.OCLBufferProvider;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.common.exceptions.TornadoUnsupportedError;
@@ -55,6 +60,14 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
     private Access access;
     private final int sizeOfType;
 
+    /**
+     * Address of the host memory segment that backs the buffer when the buffer is
+     * a zero-copy buffer ({@code CL_MEM_USE_HOST_PTR}), or 0 otherwise. Zero-copy
+     * buffers are not taken from the buffer provider, since they cannot be reused
+     * for other segments.
+     */
+    private long hostPointer;
+
     public OCLMemorySegmentWrapper(long bufferSize, OCLDeviceContext deviceContext, long batchSize, Access access, int sizeOfType) {
         this.deviceContext = deviceContext;
         this.batchSize = batchSize;
@@ -79,6 +92,7 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
 
     @Override
     public void setBuffer(XPUBufferWrapper bufferWrapper) {
+        releaseZeroCopyBuffer();
         this.bufferId = bufferWrapper.buffer;
         this.bufferOffset = bufferWrapper.bufferOffset;
 
@@ -112,16 +126,21 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
         segment = getSegmentWithHeader(reference);
         final int returnEvent;
         final long numBytes = getSizeSubRegionSize() > 0 ? getSizeSubRegionSize() : bufferSize;
-        if (partialReadSize != 0) {
+        if (isZeroCopy(segment)) {
+            // The kernel wrote to the host memory: map the region to make the data visible
+            final long offset = partialReadSize != 0 ? hostOffset : 0;
+            final long size = partialReadSize != 0 ? partialReadSize : bufferSize;
+            returnEvent = deviceContext.syncHostBuffer(executionPlanId, toBuffer(), OpenCLBlocking.TRUE, OCLMapFlags.CL_MAP_READ, offset, size, (useDeps) ? events : null);
+        } else if (partialReadSize != 0) {
             // Partial Copy Out due to an under demand copy by the user
             // in this case the host offset is equal to the device offset
-            returnEvent = deviceContext.readBuffer(executionPlanId, toBuffer(), hostOffset, partialReadSize, segment.address(), hostOffset, (useDeps) ? events : null);
+            returnEvent = deviceContext.readBuffer(executionPlanId, toBuffer(), bufferOffset + hostOffset, partialReadSize, segment.address(), hostOffset, (useDeps) ? events : null);
         } else if (batchSize <= 0) {
             // Partial Copy Out due to batch processing
             returnEvent = deviceContext.readBuffer(executionPlanId, toBuffer(), bufferOffset, numBytes, segment.address(), hostOffset, (useDeps) ? events : null);
         } else {
             // Full copy out (default)
-            returnEvent = deviceContext.readBuffer(executionPlanId, toBuffer(), TornadoNativeArray.ARRAY_HEADER, numBytes, segment.address(), hostOffset + TornadoNativeArray.ARRAY_HEADER, (useDeps)
+            returnEvent = deviceContext.readBuffer(executionPlanId, toBuffer(), bufferOffset + TornadoNativeArray.ARRAY_HEADER, numBytes, segment.address(), hostOffset + TornadoNativeArray.ARRAY_HEADER, (useDeps)
                     ? events
                     : null);
         }
@@ -134,7 +153,9 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
     public void write(long executionPlanId, Object reference) {
         MemorySegment segment;
         segment = getSegmentWithHeader(reference);
-        if (batchSize <= 0) {
+        if (isZeroCopy(segment)) {
+            deviceContext.syncHostBuffer(executionPlanId, toBuffer(), OpenCLBlocking.TRUE, OCLMapFlags.CL_MAP_WRITE, bufferOffset, bufferSize, null);
+        } else if (batchSize <= 0) {
             deviceContext.writeBuffer(executionPlanId, toBuffer(), bufferOffset, bufferSize, segment.address(), 0, null);
         } else {
             throw new TornadoUnsupportedError("[UNSUPPORTED] batch processing for writeBuffer operation");
@@ -147,7 +168,9 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
         segment = getSegmentWithHeader(reference);
 
         final int returnEvent;
-        if (batchSize <= 0) {
+        if (isZeroCopy(segment)) {
+            returnEvent = deviceContext.syncHostBuffer(executionPlanId, toBuffer(), OpenCLBlocking.FALSE, OCLMapFlags.CL_MAP_READ, bufferOffset, bufferSize, (useDeps) ? events : null);
+        } else if (batchSize <= 0) {
             returnEvent = deviceContext.enqueueReadBuffer(executionPlanId, toBuffer(), bufferOffset, bufferSize, segment.address(), hostOffset, (useDeps) ? events : null);
         } else {
             throw new TornadoUnsupportedError("[UNSUPPORTED] batch processing for enqueueReadBuffer operation");
@@ -162,10 +185,12 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
         segment = getSegmentWithHeader(reference);
 
         int internalEvent;
-        if (batchSize <= 0) {
+        if (isZeroCopy(segment)) {
+            internalEvent = deviceContext.syncHostBuffer(executionPlanId, toBuffer(), OpenCLBlocking.FALSE, OCLMapFlags.CL_MAP_WRITE, bufferOffset, bufferSize, (useDeps) ? events : null);
+        } else if (batchSize <= 0) {
             internalEvent = deviceContext.enqueueWriteBuffer(executionPlanId, toBuffer(), bufferOffset, bufferSize, segment.address(), hostOffset, (useDeps) ? events : null);
         } else {
-            internalEvent = deviceContext.enqueueWriteBuffer(executionPlanId, toBuffer(), 0, TornadoNativeArray.ARRAY_HEADER, segment.address(), 0, (useDeps) ? events : null);
+            internalEvent = deviceContext.enqueueWriteBuffer(executionPlanId, toBuffer(), bufferOffset, TornadoNativeArray.ARRAY_HEADER, segment.address(), 0, (useDeps) ? events : null);
             returnEvents.add(internalEvent);
             internalEvent = deviceContext.enqueueWriteBuffer(executionPlanId, toBuffer(), bufferOffset + TornadoNativeArray.ARRAY_HEADER, bufferSize, segment.address(),
                     hostOffset + TornadoNativeArray.ARRAY_HEADER, (useDeps) ? events : null);
@@ -174,17 +199,38 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
         return returnEvents;
     }
 
+    @Override
+    public List<Integer> enqueueWriteRanges(long executionPlanId, Object reference, long[] ranges, int[] events, boolean useDeps) {
+        MemorySegment segment = getSegmentWithHeader(reference);
+        if (isZeroCopy(segment) || !(reference instanceof TornadoNativeArray nativeArray)) {
+            return enqueueWrite(executionPlanId, reference, 0, 0, events, useDeps);
+        }
+        List<Integer> returnEvents = new ArrayList<>();
+        final long elementSize = nativeArray.getElementSize();
+        for (int i = 0; i < ranges.length; i += 2) {
+            // The host and the device buffer share the same layout, including the header
+            final long rangeOffset = TornadoNativeArray.ARRAY_HEADER + ranges[i] * elementSize;
+            final long numBytes = (ranges[i + 1] - ranges[i]) * elementSize;
+            returnEvents.add(deviceContext.enqueueWriteBuffer(executionPlanId, toBuffer(), bufferOffset + rangeOffset, numBytes, segment.address(), rangeOffset, (useDeps) ? events : null));
+        }
+        return returnEvents;
+    }
+
     @Override
     public void allocate(Object reference, long batchSize, Access access) throws TornadoOutOfMemoryException, TornadoMemoryException {
         MemorySegment segment;
         segment = getSegmentWithHeader(reference);
 
-        if (batchSize <= 0) {
+        if (batchSize <= 0 && canUseHostPointer(segment)) {
+            releaseZeroCopyBuffer();
+            bufferSize = segment.byteSize();
+            allocateZeroCopyBuffer(segment, access);
+        } else if (batchSize <= 0) {
             bufferSize = segment.byteSize();
-            bufferId = deviceContext.getBufferProvider().getOrAllocateBufferWithSize(bufferSize, access);
+            allocateBufferRegion(bufferSize, access);
         } else {
             bufferSize = batchSize;
-            bufferId = deviceContext.getBufferProvider().getOrAllocateBufferWithSize(bufferSize + TornadoNativeArray.ARRAY_HEADER, access);
+            allocateBufferRegion(bufferSize + TornadoNativeArray.ARRAY_HEADER, access);
         }
 
         if (bufferSize <= 0) {
@@ -196,11 +242,64 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
         }
     }
 
+    private void allocateBufferRegion(long size, Access access) {
+        final BufferRegion region = deviceContext.getBufferProvider().getOrAllocateBufferRegionWithSize(size, access);
+        bufferId = region.buffer();
+        bufferOffset = region.offset();
+    }
+
+    /**
+     * Drivers can only use the host memory directly if it is aligned, otherwise
+     * they create a hidden copy that is not kept in sync with the array.
+     */
+    private boolean canUseHostPointer(MemorySegment segment) {
+        return segment.isNative() && deviceContext.isZeroCopySupported() && segment.address() % deviceContext.getZeroCopyAlignment() == 0;
+    }
+
+    private void allocateZeroCopyBuffer(MemorySegment segment, Access access) {
+        final long flags = OCLBufferProvider.getOCLMemFlagForAccess(access) | OCLMemFlags.CL_MEM_USE_HOST_PTR;
+        bufferId = deviceContext.getMemoryManager().createBuffer(bufferSize, flags, segment.address()).getBuffer();
+        hostPointer = segment.address();
+    }
+
+    /**
+     * Checks if the buffer is a zero-copy buffer for the given segment. If the
+     * array was given a new segment since the allocation, the buffer is created
+     * again over the new segment.
+     */
+    private boolean isZeroCopy(MemorySegment segment) {
+        if (hostPointer == 0) {
+            return false;
+        }
+        if (segment.address() != hostPointer || segment.byteSize() != bufferSize) {
+            releaseZeroCopyBuffer();
+            bufferSize = segment.byteSize();
+            if (!canUseHostPointer(segment)) {
+                allocateBufferRegion(bufferSize, access);
+                return false;
+            }
+            allocateZeroCopyBuffer(segment, access);
+        }
+        return true;
+    }
+
+    private void releaseZeroCopyBuffer() {
+        if (hostPointer != 0) {
+            deviceContext.getMemoryManager().releaseBuffer(bufferId);
+            hostPointer = 0;
+        }
+    }
+
     @Override
     public void markAsFreeBuffer() throws TornadoMemoryException {
         TornadoInternalError.guarantee(bufferId != INIT_VALUE, "Fatal error: trying to deallocate an invalid buffer");
-        deviceContext.getBufferProvider().markBufferReleased(bufferId, access);
+        if (hostPointer != 0) {
+            releaseZeroCopyBuffer();
+        } else {
+            deviceContext.getBufferProvider().markBufferRegionReleased(bufferId, bufferOffset, access);
+        }
         bufferId = INIT_VALUE;
+        bufferOffset = 0;
         bufferSize = INIT_VALUE;
 
         if (TornadoOptions.FULL_DEBUG) {
@@ -239,7 +338,18 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
         }
         final long sizeSource = oclMemorySegmentWrapper.bufferSize;
         final long sizeDest = bufferSize;
+        final long previousBufferId = this.bufferId;
+        // The copy of a range maps whole buffers, so it cannot address regions of an arena
+        TornadoInternalError.guarantee(offset == 0 || (bufferOffset == 0 && oclMemorySegmentWrapper.bufferOffset == 0), "Mapping a range of an arena region is not supported");
         this.bufferId = deviceContext.mapOnDeviceMemoryRegion(executionPlanId, this.bufferId, oclMemorySegmentWrapper.bufferId, offset, sizeOfType, sizeSource, sizeDest);
+        if (bufferId == oclMemorySegmentWrapper.bufferId) {
+            bufferOffset = oclMemorySegmentWrapper.bufferOffset;
+        }
+        if (hostPointer != 0 && bufferId != previousBufferId) {
+            // The buffer now points to the source region, so the zero-copy buffer is not used anymore
+            deviceContext.getMemoryManager().releaseBuffer(previousBufferId);
+            hostPointer = 0;
+        }
     }
 
     @Override
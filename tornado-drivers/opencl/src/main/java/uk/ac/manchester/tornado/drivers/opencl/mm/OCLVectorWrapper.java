@@ -48,6 +48,7 @@ import uk.ac.manchester.tornado.api.types.arrays.LongArray;
 import uk.ac.manchester.tornado.api.types.arrays.ShortArray;
 import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 import uk.ac.manchester.tornado.api.types.common.PrimitiveStorage;
+import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider.BufferRegion;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContext;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
@@ -95,7 +96,9 @@ public class OCLVectorWrapper implements XPUBuffer {
             throw new TornadoMemoryException("[ERROR] Bytes Allocated <= 0: " + bufferSize);
         }
 
-        this.bufferId = deviceContext.getBufferProvider().getOrAllocateBufferWithSize(bufferSize, access);
+        final BufferRegion region = deviceContext.getBufferProvider().getOrAllocateBufferRegionWithSize(bufferSize, access);
+        this.bufferId = region.buffer();
+        this.bufferOffset = region.offset();
 
         if (TornadoOptions.FULL_DEBUG) {
             new TornadoLogger().info("allocated: array kind=%s, size=%s, length offset=%d, header size=%d", kind.getJavaName(), humanReadableByteCount(bufferSize, true), bufferOffset,
@@ -107,8 +110,9 @@ public class OCLVectorWrapper implements XPUBuffer {
     public void markAsFreeBuffer() {
         TornadoInternalError.guarantee(bufferId != INIT_VALUE, "Fatal error: trying to deallocate an invalid buffer");
 
-        deviceContext.getBufferProvider().markBufferReleased(bufferId, access);
+        deviceContext.getBufferProvider().markBufferRegionReleased(bufferId, bufferOffset, access);
         bufferId = INIT_VALUE;
+        bufferOffset = 0;
         bufferSize = INIT_VALUE;
 
         if (TornadoOptions.FULL_DEBUG) {
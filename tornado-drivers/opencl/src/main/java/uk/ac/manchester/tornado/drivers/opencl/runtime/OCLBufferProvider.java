@@ -25,8 +25,10 @@ package uk.ac.manchester.tornado.drivers.opencl.runtime;
 
 import uk.ac.manchester.tornado.api.common.Access;
 import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider;
+import uk.ac.manchester.tornado.drivers.opencl.OCLDevice;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContext;
 import uk.ac.manchester.tornado.drivers.opencl.enums.OCLMemFlags;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 
 import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.shouldNotReachHere;
 
@@ -47,7 +49,22 @@ public class OCLBufferProvider extends TornadoBufferProvider {
         ((OCLDeviceContext) deviceContext).getMemoryManager().releaseBuffer(buffer);
     }
 
-    private static long getOCLMemFlagForAccess(Access access) {
+    @Override
+    protected boolean isBufferOffsetSupported() {
+        // Kernels receive the offset of each buffer argument next to the buffer
+        return true;
+    }
+
+    @Override
+    protected long getArenaAlignment() {
+        // CL_DEVICE_MEM_BASE_ADDR_ALIGN is expressed in bits
+        if (((OCLDeviceContext) deviceContext).getDevice() instanceof OCLDevice device) {
+            return Math.max(TornadoOptions.OPENCL_ARRAY_ALIGNMENT, device.getDeviceMemoryBaseAlignment() / Byte.SIZE);
+        }
+        return TornadoOptions.OPENCL_ARRAY_ALIGNMENT;
+    }
+
+    public static long getOCLMemFlagForAccess(Access access) {
         switch (access) {
             case READ_ONLY:
                 return OCLMemFlags.CL_MEM_READ_ONLY;
@@ -28,17 +28,21 @@ import java.lang.foreign.MemorySegment;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.graalvm.compiler.graph.Node;
+
 import jdk.vm.ci.meta.ResolvedJavaMethod;
 import uk.ac.manchester.tornado.api.common.Access;
 import uk.ac.manchester.tornado.api.common.Event;
@@ -62,6 +66,8 @@ import uk.ac.manchester.tornado.api.types.arrays.HalfFloatArray;
 import uk.ac.manchester.tornado.api.types.arrays.IntArray;
 import uk.ac.manchester.tornado.api.types.arrays.LongArray;
 import uk.ac.manchester.tornado.api.types.arrays.ShortArray;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.drivers.common.KernelDiskCache;
 import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider;
 import uk.ac.manchester.tornado.drivers.opencl.OCLBackendImpl;
 import uk.ac.manchester.tornado.drivers.opencl.OCLCodeCache;
@@ -75,6 +81,9 @@ import uk.ac.manchester.tornado.drivers.opencl.graal.backend.OCLBackend;
 import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLCompilationResult;
 import uk.ac.manchester.tornado.drivers.opencl.graal.compiler.OCLCompiler;
 import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLKind;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.AtomicAddNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.AtomicAddNodeTemplate;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.NodeAtomic;
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.TornadoAtomicIntegerNode;
 import uk.ac.manchester.tornado.drivers.opencl.mm.AtomicsBuffer;
 import uk.ac.manchester.tornado.drivers.opencl.mm.OCLByteArrayWrapper;
@@ -98,8 +107,8 @@ import uk.ac.manchester.tornado.runtime.common.TornadoSchedulingStrategy;
 import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
 import uk.ac.manchester.tornado.runtime.common.XPUDeviceBufferState;
 import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
-import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketcher;
 import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
+import uk.ac.manchester.tornado.runtime.tasks.FusedTask;
 import uk.ac.manchester.tornado.runtime.tasks.PrebuiltTask;
 import uk.ac.manchester.tornado.runtime.tasks.meta.TaskDataContext;
 
@@ -245,16 +254,20 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
         return (installedCode.isLoadBinaryOptionEnabled() && (installedCode.getOpenCLBinary(deviceInfo) != null));
     }
 
-    private TornadoInstalledCode compileTask(long executionPlanId, SchedulableTask task) {
+    private TornadoInstalledCode compileTask(long executionPlanId, SchedulableTask task, boolean quickTier) {
         final OCLDeviceContextInterface deviceContext = getDeviceContext();
         final CompilableTask executable = (CompilableTask) task;
-        final ResolvedJavaMethod resolvedMethod = TornadoCoreRuntime.getTornadoRuntime().resolveMethod(executable.getMethod());
-        final Sketch sketch = TornadoSketcher.lookup(resolvedMethod, task.meta().getBackendIndex(), task.meta().getDeviceIndex());
+        final ResolvedJavaMethod resolvedMethod = executable.getResolvedMethod();
+        final Sketch sketch = executable.getSketch();
 
         // Return the code from the cache
-        if (!task.shouldCompile() && deviceContext.isCached(executionPlanId, task.getId(), resolvedMethod.getName())) {
+        if ((quickTier || !task.shouldCompile()) && deviceContext.isCached(executionPlanId, task.getId(), resolvedMethod.getName())) {
             return deviceContext.getInstalledCode(executionPlanId, task.getId(), resolvedMethod.getName());
         }
+        final String quickTierId = task.getId() + OCLCompiler.QUICK_TIER_SUFFIX;
+        if (quickTier && deviceContext.isCached(executionPlanId, quickTierId, resolvedMethod.getName())) {
+            return deviceContext.getInstalledCode(executionPlanId, quickTierId, resolvedMethod.getName());
+        }
 
         // copy meta data into task
         final TaskDataContext taskMeta = executable.meta();
@@ -262,16 +275,27 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
         final Access[] taskAccess = taskMeta.getArgumentsAccess();
         System.arraycopy(sketchAccess, 0, taskAccess, 0, sketchAccess.length);
 
+        // Lookup in the persistent kernel cache
+        String kernelCacheKey = null;
+        // Fused kernels have no bytecode of their own to build a cache key from
+        if (isKernelDiskCacheApplicable(deviceContext, taskMeta) && !(executable instanceof FusedTask)) {
+            kernelCacheKey = getKernelDiskCache().buildKey(executable, resolvedMethod, sketch.getGraph(), taskMeta.getCompilerFlags(TornadoVMBackendType.OPENCL));
+            TornadoInstalledCode cachedCode = installFromKernelDiskCache(executionPlanId, executable, resolvedMethod, kernelCacheKey);
+            if (cachedCode != null) {
+                return cachedCode;
+            }
+        }
+
         try {
             OCLProviders providers = (OCLProviders) getBackend().getProviders();
             TornadoProfiler profiler = task.getProfiler();
             profiler.start(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId());
-            final OCLCompilationResult result = OCLCompiler.compileSketchForDevice(sketch, executable, providers, getBackend(), executable.getProfiler());
+            final OCLCompilationResult result = OCLCompiler.compileSketchForDevice(sketch, executable, providers, getBackend(), executable.getProfiler(), quickTier);
 
             // Update atomics buffer for inner methods that are not inlined
             ResolvedJavaMethod[] methods = result.getMethods();
             if (methods.length > 1) {
-                HashMap<Integer, Integer> mapping;
+                Map<Integer, Integer> mapping;
                 for (ResolvedJavaMethod m : methods) {
                     if (TornadoAtomicIntegerNode.globalAtomicsParameters.containsKey(m)) {
                         mapping = TornadoAtomicIntegerNode.globalAtomicsParameters.get(m);
@@ -293,12 +317,23 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
                 // A) for FPGA
                 installedCode = deviceContext.installCode(executionPlanId, result.getId(), result.getName(), result.getTargetCode(), task.meta().isPrintKernelEnabled());
             } else {
-                // B) for CPU multi-core or GPU
-                installedCode = deviceContext.installCode(executionPlanId, result);
+                // B) for CPU multi-core or GPU. If the optimised tier generates the same
+                // source as the quick tier, the program of the quick tier is reused
+                installedCode = quickTier ? null : deviceContext.getCodeCache(executionPlanId).installBuiltSource(quickTierId, result.getId(), result.getName(), result.getTargetCode());
+                if (installedCode == null) {
+                    installedCode = deviceContext.installCode(executionPlanId, result);
+                }
             }
             profiler.stop(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
             profiler.sum(ProfilerType.TOTAL_DRIVER_COMPILE_TIME, profiler.getTaskTimer(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId()));
 
+            // Kernels with non-inlined methods or atomics depend on state created during compilation, so they are not persisted.
+            // Kernels of the quick tier are not persisted either, because the key identifies the optimised kernel
+            if (kernelCacheKey != null && !quickTier && installedCode.isValid() && methods.length <= 1 && !TornadoAtomicIntegerNode.globalAtomics.containsKey(resolvedMethod)
+                    && !TornadoAtomicIntegerNode.globalAtomicsParameters.containsKey(resolvedMethod)) {
+                getKernelDiskCache().store(kernelCacheKey, result.getName(), taskMeta.getDomain(), installedCode.getProgram().getBinary());
+            }
+
             return installedCode;
         } catch (Exception e) {
             logger.fatal("Unable to compile %s for device %s\n", task.getId(), getDeviceName());
@@ -311,6 +346,36 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
         }
     }
 
+    private boolean isKernelDiskCacheApplicable(OCLDeviceContextInterface deviceContext, TaskDataContext taskMeta) {
+        return KernelDiskCache.isEnabled() && !deviceContext.isPlatformFPGA() && !taskMeta.isPrintKernelEnabled();
+    }
+
+    private KernelDiskCache getKernelDiskCache() {
+        String deviceIdentity = platformName + "/" + device.getDeviceName() + "/" + device.getVersion() + "/" + device.getDriverVersion();
+        return KernelDiskCache.getInstance("opencl", deviceIdentity);
+    }
+
+    private TornadoInstalledCode installFromKernelDiskCache(long executionPlanId, CompilableTask task, ResolvedJavaMethod resolvedMethod, String kernelCacheKey) {
+        KernelDiskCache.Entry entry = getKernelDiskCache().lookup(kernelCacheKey);
+        if (entry == null) {
+            return null;
+        }
+        final TaskDataContext taskMeta = task.meta();
+        TornadoProfiler profiler = task.getProfiler();
+        profiler.start(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
+        OCLInstalledCode installedCode = getDeviceContext().getCodeCache(executionPlanId).installCachedBinary(task.getId(), entry.entryPoint(), entry.binary());
+        profiler.stop(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
+        profiler.sum(ProfilerType.TOTAL_DRIVER_COMPILE_TIME, profiler.getTaskTimer(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId()));
+        if (installedCode == null) {
+            return null;
+        }
+        taskMeta.setCompiledGraph(resolvedMethod);
+        if (taskMeta.getDomain() == null && entry.domain() != null) {
+            taskMeta.setDomain(entry.domain());
+        }
+        return installedCode;
+    }
+
     private TornadoInstalledCode compilePreBuiltTask(long executionPlanId, SchedulableTask task) {
         final OCLDeviceContextInterface deviceContext = getDeviceContext();
         final PrebuiltTask executable = (PrebuiltTask) task;
@@ -340,7 +405,7 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
 
     private TornadoInstalledCode compileJavaToAccelerator(long executionPlanId, SchedulableTask task) {
         if (task instanceof CompilableTask) {
-            return compileTask(executionPlanId, task);
+            return compileTask(executionPlanId, task, false);
         } else if (task instanceof PrebuiltTask) {
             return compilePreBuiltTask(executionPlanId, task);
         }
@@ -392,7 +457,7 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
     @Override
     public int[] checkAtomicsForTask(SchedulableTask task) {
         if (TornadoAtomicIntegerNode.globalAtomics.containsKey(task.meta().getCompiledResolvedJavaMethod())) {
-            ArrayList<Integer> values = TornadoAtomicIntegerNode.globalAtomics.get(task.meta().getCompiledResolvedJavaMethod());
+            List<Integer> values = TornadoAtomicIntegerNode.globalAtomics.get(task.meta().getCompiledResolvedJavaMethod());
             int[] atomicsArray = new int[values.size()];
             int j = 0;
             for (Integer i : values) {
@@ -409,7 +474,7 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
         if (value instanceof AtomicInteger) {
             AtomicInteger ai = (AtomicInteger) value;
             if (TornadoAtomicIntegerNode.globalAtomicsParameters.containsKey(task.meta().getCompiledResolvedJavaMethod())) {
-                HashMap<Integer, Integer> values = TornadoAtomicIntegerNode.globalAtomicsParameters.get(task.meta().getCompiledResolvedJavaMethod());
+                Map<Integer, Integer> values = TornadoAtomicIntegerNode.globalAtomicsParameters.get(task.meta().getCompiledResolvedJavaMethod());
                 int index = values.get(paramIndex);
                 array[index] = ai.get();
             }
@@ -431,7 +496,7 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
     @Override
     public int getAtomicsGlobalIndexForTask(SchedulableTask task, int paramIndex) {
         if (TornadoAtomicIntegerNode.globalAtomicsParameters.containsKey(task.meta().getCompiledResolvedJavaMethod())) {
-            HashMap<Integer, Integer> values = TornadoAtomicIntegerNode.globalAtomicsParameters.get(task.meta().getCompiledResolvedJavaMethod());
+            Map<Integer, Integer> values = TornadoAtomicIntegerNode.globalAtomicsParameters.get(task.meta().getCompiledResolvedJavaMethod());
             return values.get(paramIndex);
         }
         return -1;
@@ -462,6 +527,34 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
         return null;
     }
 
+    @Override
+    public TornadoInstalledCode installQuickCode(long executionPlanId, SchedulableTask task) {
+        if (task instanceof CompilableTask compilableTask && isJITTaskForGPUsAndCPUs(executionPlanId, task) && !usesAtomics(compilableTask)) {
+            return compileTask(executionPlanId, task, true);
+        }
+        return null;
+    }
+
+    /**
+     * Tasks with atomics are not compiled with the quick tier. Each compilation of
+     * a method reserves the positions of its atomics in the global tables of
+     * {@link TornadoAtomicIntegerNode}, so compiling the same method for the two
+     * tiers would shift the positions used by the optimised kernel.
+     */
+    private static boolean usesAtomics(CompilableTask task) {
+        for (Object argument : task.getArguments()) {
+            if (argument instanceof AtomicInteger) {
+                return true;
+            }
+        }
+        for (Node node : task.getSketch().getGraph().getNodes()) {
+            if (node instanceof NodeAtomic || node instanceof TornadoAtomicIntegerNode || node instanceof AtomicAddNodeTemplate || node instanceof AtomicAddNode) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public TornadoInstalledCode installCode(long executionPlanId, SchedulableTask task) {
         if (isJITTaskForFGPA(executionPlanId, task)) {
@@ -639,6 +732,7 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
     public List<Integer> ensurePresent(long executionPlanId, Object object, DeviceBufferState state, int[] events, long batchSize, long offset) {
         if (!state.hasContent()) {
             state.setContents(true);
+            state.setCopyInRanges(null, 0);
             return state.getXPUBuffer().enqueueWrite(executionPlanId, object, batchSize, offset, events, events == null);
         }
         // return a NULL list
@@ -647,7 +741,17 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
 
     @Override
     public List<Integer> streamIn(long executionPlanId, Object object, long batchSize, long offset, DeviceBufferState state, int[] events) {
+        final boolean hasContents = state.hasContent();
         state.setContents(true);
+        if (object instanceof TornadoNativeArray nativeArray) {
+            final long[] dirtyRanges = nativeArray.pollDirtyRanges(state, TornadoOptions.MAX_DIRTY_RANGES);
+            if (dirtyRanges != null && hasContents && batchSize <= 0) {
+                // The device buffer is up to date except for the ranges modified on the host since its last copy
+                state.setCopyInRanges(dirtyRanges, nativeArray.getElementSize());
+                return state.getXPUBuffer().enqueueWriteRanges(executionPlanId, object, dirtyRanges, events, events == null);
+            }
+        }
+        state.setCopyInRanges(null, 0);
         return state.getXPUBuffer().enqueueWrite(executionPlanId, object, batchSize, offset, events, events == null);
     }
 
@@ -726,6 +830,11 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
         return getDeviceContext().enqueueMarker(executionPlanId, events);
     }
 
+    @Override
+    public CompletableFuture<Void> whenCompleted(long executionPlanId, Executor executor) {
+        return getDeviceContext().whenCompleted(executionPlanId, executor);
+    }
+
     @Override
     public Event resolveEvent(long executionPlanId, int event) {
         return getDeviceContext().resolveEvent(executionPlanId, event);
@@ -810,6 +919,21 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
         reuseBuffer = bufferAtomics;
     }
 
+    @Override
+    public long getBufferPoolHits() {
+        return getDeviceContext().getBufferProvider().getPoolHits();
+    }
+
+    @Override
+    public long getBufferPoolMisses() {
+        return getDeviceContext().getBufferProvider().getPoolMisses();
+    }
+
+    @Override
+    public int getNumRetainedEvents(long executionPlanId) {
+        return getDeviceContext().getNumRetainedEvents(executionPlanId);
+    }
+
     @Override
     public TornadoVMBackendType getTornadoVMBackend() {
         return TornadoVMBackendType.OPENCL;
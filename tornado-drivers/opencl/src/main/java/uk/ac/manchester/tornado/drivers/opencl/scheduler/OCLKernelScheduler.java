@@ -22,15 +22,19 @@
  */
 package uk.ac.manchester.tornado.drivers.opencl.scheduler;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 import uk.ac.manchester.tornado.api.WorkerGrid;
 import uk.ac.manchester.tornado.api.common.Event;
+import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.api.profiler.ProfilerType;
 import uk.ac.manchester.tornado.runtime.common.UpsMeterReader;
+import uk.ac.manchester.tornado.drivers.common.LocalWorkTuner;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContext;
 import uk.ac.manchester.tornado.drivers.opencl.OCLGridInfo;
 import uk.ac.manchester.tornado.drivers.opencl.OCLKernel;
+import uk.ac.manchester.tornado.drivers.opencl.OCLTargetDevice;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.tasks.meta.TaskDataContext;
 
@@ -41,6 +45,9 @@ public abstract class OCLKernelScheduler {
     protected double min;
     protected double max;
 
+    private LocalWorkTuner localWorkTuner;
+    private String kernelHash;
+
     public final String WARNING_FPGA_THREAD_LOCAL = "[TornadoVM OCL] Warning: TornadoVM changed the user-defined local size to: " + ((getDefaultLocalWorkGroup() != null)
             ? Arrays.toString(getDefaultLocalWorkGroup())
             : "null") + ".";
@@ -61,6 +68,72 @@ public abstract class OCLKernelScheduler {
         return null;
     }
 
+    /**
+     * Enables the autotuning of the local work for a kernel. Kernels that use
+     * local memory or barriers are not tuned, since they can depend on the local
+     * work selected by the scheduler (e.g., reductions). Kernel times are measured
+     * with the OpenCL events, so it requires the OpenCL profiling.
+     *
+     * @param source
+     *     OpenCL C source of the kernel.
+     */
+    public void enableLocalWorkTuning(byte[] source) {
+        if (!LocalWorkTuner.isEnabled() || !TornadoOptions.ENABLE_OPENCL_PROFILING || deviceContext.isPlatformFPGA()) {
+            return;
+        }
+        String code = new String(source, StandardCharsets.UTF_8);
+        if (code.contains("__local") || code.contains("barrier(")) {
+            return;
+        }
+        OCLTargetDevice device = deviceContext.getDevice();
+        String deviceIdentity = deviceContext.getPlatformContext().getPlatform().getName() + "/" + device.getDeviceName() + "/" + device.getVersion() + "/" + device.getDriverVersion();
+        localWorkTuner = LocalWorkTuner.getInstance("opencl", deviceIdentity);
+        kernelHash = LocalWorkTuner.hash(source);
+    }
+
+    /**
+     * Replaces the local work calculated by the scheduler with the one selected by
+     * the autotuner. The global work is rounded up to a multiple of the local
+     * work; the generated kernels check the iteration bounds, so the extra
+     * work-items do not run any iteration.
+     */
+    private LocalWorkTuner.Trial selectTunedLocalWork(final TaskDataContext meta) {
+        if (localWorkTuner == null || meta.isGlobalWorkDefined() || meta.shouldUseOpenCLDriverScheduling() || meta.getLocalWork() == null) {
+            return null;
+        }
+        OCLTargetDevice device = deviceContext.getDevice();
+        long[] globalWork = meta.getGlobalWork();
+        long[] localWork = meta.getLocalWork();
+        LocalWorkTuner.Trial trial = localWorkTuner.select(kernelHash, meta.getDims(), globalWork, localWork, device.getDeviceMaxWorkItemSizes(), device.getDeviceMaxWorkGroupSize()[0]);
+        if (trial != null) {
+            for (int i = 0; i < meta.getDims(); i++) {
+                localWork[i] = trial.localWork()[i];
+                globalWork[i] = (globalWork[i] + localWork[i] - 1) / localWork[i] * localWork[i];
+            }
+        }
+        return trial;
+    }
+
+    private int launchTrial(long executionPlanId, final OCLKernel kernel, final TaskDataContext meta, final int[] waitEvents, long batchThreads, LocalWorkTuner.Trial trial) {
+        final int taskEvent;
+        try {
+            taskEvent = launch(executionPlanId, kernel, meta, waitEvents, batchThreads);
+        } catch (TornadoBailoutRuntimeException e) {
+            // The local work does not fit the kernel (e.g., due to its register usage). Use the default one.
+            localWorkTuner.record(trial, LocalWorkTuner.FAILED);
+            calculateGlobalWork(meta, batchThreads);
+            calculateLocalWork(meta);
+            checkAndAdaptLocalWork(meta);
+            return launch(executionPlanId, kernel, meta, waitEvents, batchThreads);
+        }
+        if (trial.isMeasured()) {
+            Event kernelEvent = deviceContext.resolveEvent(executionPlanId, taskEvent);
+            kernelEvent.waitForEvents(executionPlanId);
+            localWorkTuner.record(trial, kernelEvent.getElapsedTime());
+        }
+        return taskEvent;
+    }
+
     public int submit(long executionPlanId, final OCLKernel kernel, final TaskDataContext meta, long batchThreads) {
         return submit(executionPlanId, kernel, meta, null, batchThreads);
     }
@@ -134,6 +207,7 @@ public abstract class OCLKernelScheduler {
     }
 
     public int submit(long executionPlanId, final OCLKernel kernel, final TaskDataContext meta, final int[] waitEvents, long batchThreads) {
+        LocalWorkTuner.Trial trial = null;
         if (!meta.isWorkerGridAvailable()) {
             if (!meta.isGlobalWorkDefined()) {
                 calculateGlobalWork(meta, batchThreads);
@@ -141,6 +215,7 @@ public abstract class OCLKernelScheduler {
             if (!meta.isLocalWorkDefined()) {
                 calculateLocalWork(meta);
                 checkAndAdaptLocalWork(meta);
+                trial = selectTunedLocalWork(meta);
             }
         } else {
             checkLocalWorkGroupFitsOnDevice(meta);
@@ -149,7 +224,7 @@ public abstract class OCLKernelScheduler {
         if (meta.isThreadInfoEnabled()) {
             meta.printThreadDims();
         }
-        final int taskEvent = launch(executionPlanId, kernel, meta, waitEvents, batchThreads);
+        final int taskEvent = (trial != null) ? launchTrial(executionPlanId, kernel, meta, waitEvents, batchThreads, trial) : launch(executionPlanId, kernel, meta, waitEvents, batchThreads);
         updateProfiler(executionPlanId, taskEvent, meta);
         return taskEvent;
     }
@@ -143,9 +143,9 @@ public class TestOpenCLJITCompiler {
         // Fill header of call callWrapper with empty values
         callWrapper.setKernelContext(new HashMap<>());
 
-        callWrapper.addCallArgument(objectStateA.getXPUBuffer().toBuffer(), true);
-        callWrapper.addCallArgument(objectStateB.getXPUBuffer().toBuffer(), true);
-        callWrapper.addCallArgument(objectStateC.getXPUBuffer().toBuffer(), true);
+        callWrapper.addReferenceArgument(objectStateA.getXPUBuffer());
+        callWrapper.addReferenceArgument(objectStateB.getXPUBuffer());
+        callWrapper.addReferenceArgument(objectStateC.getXPUBuffer());
 
         // Run the code
         openCLCode.launchWithoutDependencies(executionPlanId, callWrapper, null, taskMeta, 0);
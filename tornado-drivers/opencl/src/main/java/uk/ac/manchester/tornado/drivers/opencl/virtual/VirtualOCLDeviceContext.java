@@ -24,6 +24,8 @@
 package uk.ac.manchester.tornado.drivers.opencl.virtual;
 
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import uk.ac.manchester.tornado.api.common.Event;
 import uk.ac.manchester.tornado.api.common.SchedulableTask;
@@ -132,6 +134,11 @@ public class VirtualOCLDeviceContext implements OCLDeviceContextInterface {
         return 0;
     }
 
+    @Override
+    public CompletableFuture<Void> whenCompleted(long executionPlanId, Executor executor) {
+        return CompletableFuture.completedFuture(null);
+    }
+
     @Override
     public int enqueueMarker(long executionPlanId, int[] events) {
         return 0;
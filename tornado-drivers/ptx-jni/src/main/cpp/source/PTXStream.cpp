@@ -481,6 +481,60 @@ JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuSt
     return (jlong) result;
 }
 
+/*
+ * State of a host function enqueued with cuLaunchHostFunc. The function runs in
+ * a thread of the CUDA driver, so it keeps the JavaVM to attach that thread
+ * before calling into Java.
+ */
+struct HostFuncData {
+    JavaVM *jvm;
+    jobject callback;
+};
+
+static void CUDA_CB runHostFunc(void *userData) {
+    HostFuncData *data = static_cast<HostFuncData *>(userData);
+    JNIEnv *env;
+    bool attached = false;
+    if (data->jvm->GetEnv((void **) &env, JNI_VERSION_1_8) == JNI_EDETACHED) {
+        data->jvm->AttachCurrentThreadAsDaemon((void **) &env, NULL);
+        attached = true;
+    }
+    jclass klass = env->GetObjectClass(data->callback);
+    jmethodID run = env->GetMethodID(klass, "run", "()V");
+    env->CallVoidMethod(data->callback, run);
+    if (env->ExceptionCheck()) {
+        // The CUDA driver can not handle Java exceptions
+        env->ExceptionDescribe();
+        env->ExceptionClear();
+    }
+    env->DeleteGlobalRef(data->callback);
+    if (attached) {
+        data->jvm->DetachCurrentThread();
+    }
+    delete data;
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
+ * Method:    cuLaunchHostFunc
+ * Signature: ([BLjava/lang/Runnable;)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_ptx_PTXStream_cuLaunchHostFunc
+  (JNIEnv *env, jclass clazz, jbyteArray stream_wrapper, jobject callback) {
+    CUstream stream;
+    stream_from_array(env, &stream, stream_wrapper);
+    HostFuncData *data = new HostFuncData;
+    env->GetJavaVM(&data->jvm);
+    data->callback = env->NewGlobalRef(callback);
+    CUresult result = cuLaunchHostFunc(stream, runHostFunc, data);
+    LOG_PTX_AND_VALIDATE("cuLaunchHostFunc", result);
+    if (result != CUDA_SUCCESS) {
+        env->DeleteGlobalRef(data->callback);
+        delete data;
+    }
+    return (jlong) result;
+}
+
 /*
  * Class:     uk_ac_manchester_tornado_drivers_ptx_PTXStream
  * Method:    cuEventCreateAndRecord
@@ -26,6 +26,7 @@ package uk.ac.manchester.tornado.drivers.ptx;
 import java.util.concurrent.ConcurrentHashMap;
 
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
+import uk.ac.manchester.tornado.api.metrics.TornadoMetrics;
 import uk.ac.manchester.tornado.drivers.ptx.graal.PTXInstalledCode;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 
@@ -46,7 +47,11 @@ public class PTXCodeCache {
                 RuntimeUtilities.dumpKernel(targetCode);
             }
 
+            final long buildStart = System.nanoTime();
             PTXModule module = new PTXModule(resolvedMethodName, targetCode, name);
+            if (TornadoMetrics.isEnabled()) {
+                TornadoMetrics.kernelBuilt(resolvedMethodName, deviceContext.getDevice().getDeviceName(), false, System.nanoTime() - buildStart);
+            }
 
             if (module.isPTXJITSuccess()) {
                 PTXInstalledCode code = new PTXInstalledCode(name, module, deviceContext);
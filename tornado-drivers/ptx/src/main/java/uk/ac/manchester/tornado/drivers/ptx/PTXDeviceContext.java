@@ -35,7 +35,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 import uk.ac.manchester.tornado.api.TornadoDeviceContext;
 import uk.ac.manchester.tornado.api.WorkerGrid;
@@ -45,6 +47,7 @@ import uk.ac.manchester.tornado.api.profiler.ProfilerType;
 import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
 import uk.ac.manchester.tornado.api.runtime.TornadoRuntimeProvider;
 import uk.ac.manchester.tornado.api.types.HalfFloat;
+import uk.ac.manchester.tornado.drivers.common.LocalWorkTuner;
 import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider;
 import uk.ac.manchester.tornado.drivers.common.power.PowerMetric;
 import uk.ac.manchester.tornado.drivers.ptx.graal.compiler.PTXCompilationResult;
@@ -231,6 +234,20 @@ public class PTXDeviceContext implements TornadoDeviceContext {
         stream.sync();
     }
 
+    /**
+     * It completes the returned future from a host function enqueued in the stream
+     * of the execution plan, after all its commands. Host functions must not call
+     * CUDA, so the future is completed in the given executor.
+     */
+    public CompletableFuture<Void> whenCompleted(long executionPlanId, Executor executor) {
+        PTXStream stream = getStream(executionPlanId);
+        final CompletableFuture<Void> completion = new CompletableFuture<>();
+        if (!stream.enqueueHostCallback(() -> executor.execute(() -> completion.complete(null)))) {
+            return CompletableFuture.runAsync(() -> sync(executionPlanId), executor);
+        }
+        return completion;
+    }
+
     /**
      * Sync the CUDA Stream only if the Stream Exists
      *
@@ -267,6 +284,7 @@ public class PTXDeviceContext implements TornadoDeviceContext {
     public int enqueueKernelLaunch(long executionPlanId, PTXModule module, KernelStackFrame kernelArgs, TaskDataContext taskMeta, long batchThreads) {
         int[] blockDimension = { 1, 1, 1 };
         int[] gridDimension = { 1, 1, 1 };
+        LocalWorkTuner.Trial trial = null;
         if (taskMeta.isWorkerGridAvailable()) {
             WorkerGrid grid = taskMeta.getWorkerGrid(taskMeta.getId());
             int[] global = Arrays.stream(grid.getGlobalWork()).mapToInt(l -> (int) l).toArray();
@@ -287,12 +305,23 @@ public class PTXDeviceContext implements TornadoDeviceContext {
         } else if (taskMeta.isParallel()) {
             scheduler.calculateGlobalWork(taskMeta, batchThreads);
             blockDimension = scheduler.calculateBlockDimension(module, taskMeta);
-            gridDimension = scheduler.calculateGridDimension(module, taskMeta, blockDimension);
+            trial = scheduler.selectTunedBlockDimension(module, taskMeta, blockDimension);
+            if (trial != null) {
+                blockDimension = Arrays.stream(trial.localWork()).mapToInt(l -> (int) l).toArray();
+                gridDimension = scheduler.calculatePaddedGridDimension(module, taskMeta, blockDimension);
+            } else {
+                gridDimension = scheduler.calculateGridDimension(module, taskMeta, blockDimension);
+            }
         }
 
         PTXStream stream = getStream(executionPlanId);
         int kernelLaunchEvent = stream.enqueueKernelLaunch(executionPlanId, module, taskMeta, writePTXKernelContextOnDevice(executionPlanId, (PTXKernelStackFrame) kernelArgs, taskMeta), gridDimension,
                 blockDimension);
+        if (trial != null && trial.isMeasured()) {
+            Event kernelEvent = resolveEvent(executionPlanId, kernelLaunchEvent);
+            kernelEvent.waitForEvents(executionPlanId);
+            scheduler.recordTunedBlockDimension(trial, kernelEvent.getElapsedTime());
+        }
         updateProfiler(executionPlanId, kernelLaunchEvent, taskMeta);
         return kernelLaunchEvent;
     }
@@ -577,6 +606,10 @@ public class PTXDeviceContext implements TornadoDeviceContext {
         events.forEach((e) -> System.out.printf("event: %s, %s, %s\n", deviceName, e.getName(), e.getStatus()));
     }
 
+    public int getNumRetainedEvents(long executionPlanId) {
+        return streamTable.containsKey(executionPlanId) ? getStream(executionPlanId).getEventPool().getNumRetainedEvents() : 0;
+    }
+
     private PTXStream getStream(long executionPlanId) {
         executionIDs.add(executionPlanId);
         if (!streamTable.containsKey(executionPlanId)) {
@@ -588,10 +621,8 @@ public class PTXDeviceContext implements TornadoDeviceContext {
     }
 
     private PTXCodeCache getPTXCodeCache(long executionPlanId) {
-        if (!codeCache.containsKey(executionPlanId)) {
-            codeCache.put(executionPlanId, new PTXCodeCache(this));
-        }
-        return codeCache.get(executionPlanId);
+        // Tasks of the same execution plan can be compiled concurrently
+        return codeCache.computeIfAbsent(executionPlanId, id -> new PTXCodeCache(this));
     }
 
     private PTXStream getStreamIfNeeded(long executionPlanId) {
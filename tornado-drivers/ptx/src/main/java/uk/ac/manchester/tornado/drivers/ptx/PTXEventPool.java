@@ -103,6 +103,10 @@ public class PTXEventPool {
         retain.set(localEventID);
     }
 
+    public int getNumRetainedEvents() {
+        return retain.cardinality();
+    }
+
     protected PTXEvent getEvent(int localEventID) {
         return events[localEventID];
     }
@@ -23,12 +23,18 @@
  */
 package uk.ac.manchester.tornado.drivers.ptx;
 
+import java.nio.charset.StandardCharsets;
+
+import uk.ac.manchester.tornado.drivers.common.LocalWorkTuner;
+
 public class PTXModule {
     public final byte[] moduleWrapper;
     public final String kernelFunctionName;
     private int maxBlockSize;
     public final String javaName;
     private final byte[] source;
+    private String sourceHash;
+    private Boolean blockSizeTunable;
 
     public PTXModule(String name, byte[] source, String kernelFunctionName) {
         moduleWrapper = cuModuleLoadData(source);
@@ -55,6 +61,26 @@ public class PTXModule {
         return source;
     }
 
+    public String getSourceHash() {
+        if (sourceHash == null) {
+            sourceHash = LocalWorkTuner.hash(source);
+        }
+        return sourceHash;
+    }
+
+    /**
+     * Kernels that use shared memory or barriers can depend on the block size
+     * selected by the scheduler (e.g., reductions), so their block size is not
+     * autotuned.
+     */
+    public boolean isBlockSizeTunable() {
+        if (blockSizeTunable == null) {
+            String code = new String(source, StandardCharsets.UTF_8);
+            blockSizeTunable = !code.contains("bar.sync") && !code.contains(".shared");
+        }
+        return blockSizeTunable;
+    }
+
     public boolean isPTXJITSuccess() {
         return moduleWrapper.length != 0;
     }
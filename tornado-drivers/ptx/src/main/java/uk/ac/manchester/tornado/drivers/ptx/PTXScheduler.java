@@ -30,6 +30,7 @@ import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.FULL_DEBUG;
 import java.util.Arrays;
 
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
+import uk.ac.manchester.tornado.drivers.common.LocalWorkTuner;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 import uk.ac.manchester.tornado.runtime.tasks.meta.TaskDataContext;
 
@@ -37,10 +38,34 @@ public class PTXScheduler {
 
     private final PTXDevice device;
     private final TornadoLogger logger;
+    private final LocalWorkTuner localWorkTuner;
 
     public PTXScheduler(final PTXDevice device) {
         this.device = device;
         this.logger = new TornadoLogger(this.getClass());
+        if (LocalWorkTuner.isEnabled()) {
+            CUDAComputeCapability computeCapability = device.getComputeCapability();
+            String deviceIdentity = device.getDeviceName() + "/sm_" + computeCapability.getMajor() + computeCapability.getMinor() + "/" + device.getTargetPTXVersion();
+            localWorkTuner = LocalWorkTuner.getInstance("ptx", deviceIdentity);
+        } else {
+            localWorkTuner = null;
+        }
+    }
+
+    /**
+     * Selects the block dimension with the autotuner. It returns null when the
+     * block dimension of the task is not tuned.
+     */
+    public LocalWorkTuner.Trial selectTunedBlockDimension(PTXModule module, TaskDataContext taskMeta, int[] blockDimension) {
+        if (localWorkTuner == null || taskMeta.isLocalWorkDefined() || !module.isBlockSizeTunable()) {
+            return null;
+        }
+        long[] defaultBlocks = Arrays.stream(blockDimension).mapToLong(i -> i).toArray();
+        return localWorkTuner.select(module.getSourceHash(), taskMeta.getDims(), taskMeta.getGlobalWork(), defaultBlocks, device.getDeviceMaxWorkItemSizes(), module.getPotentialBlockSizeMaxOccupancy());
+    }
+
+    public void recordTunedBlockDimension(LocalWorkTuner.Trial trial, long elapsedTime) {
+        localWorkTuner.record(trial, elapsedTime);
     }
 
     public void calculateGlobalWork(final TaskDataContext meta, long batchThreads) {
@@ -107,6 +132,19 @@ public class PTXScheduler {
         return value;
     }
 
+    /**
+     * Grid dimension for a block dimension that does not divide the global work.
+     * The number of blocks is rounded up, so all the iterations are covered.
+     */
+    public int[] calculatePaddedGridDimension(PTXModule module, TaskDataContext taskMeta, int[] blockDimension) {
+        int[] globalWork = new int[] { 1, 1, 1 };
+        for (int i = 0; i < taskMeta.getDims(); i++) {
+            long global = taskMeta.getGlobalWork()[i];
+            globalWork[i] = (int) ((global + blockDimension[i] - 1) / blockDimension[i] * blockDimension[i]);
+        }
+        return calculateGridDimension(module.javaName, taskMeta.getDims(), globalWork, blockDimension);
+    }
+
     public int[] calculateGridDimension(PTXModule module, TaskDataContext taskMeta, int[] blockDimension) {
         int[] globalWork = Arrays.stream(taskMeta.getGlobalWork()).mapToInt(l -> (int) l).toArray();
         return calculateGridDimension(module.javaName, taskMeta.getDims(), globalWork, blockDimension);
@@ -29,6 +29,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 
 import uk.ac.manchester.tornado.api.common.Event;
+import uk.ac.manchester.tornado.api.metrics.TornadoMetrics;
 import uk.ac.manchester.tornado.drivers.common.utils.EventDescriptor;
 import uk.ac.manchester.tornado.drivers.ptx.nstream.NativePTXStream;
 import uk.ac.manchester.tornado.runtime.EmptyEvent;
@@ -127,10 +128,12 @@ public class PTXStream {
 
     private static native long cuStreamSynchronize(byte[] streamWrapper);
 
+    private static native long cuLaunchHostFunc(byte[] streamWrapper, Runnable callback);
+
     private static native byte[][] cuEventCreateAndRecord(boolean isProfilingEnabled, byte[] streamWrapper);
 
     private int registerEvent(EventDescriptor descriptorId) {
-        return ptxEventPool.registerEvent(cuEventCreateAndRecord(TornadoOptions.isProfilerEnabled(), streamPool), descriptorId);
+        return ptxEventPool.registerEvent(cuEventCreateAndRecord(TornadoOptions.isProfilerEnabled() || TornadoMetrics.isEnabled(), streamPool), descriptorId);
     }
 
     private int registerEvent(byte[][] eventWrapper, EventDescriptor descriptorId) {
@@ -145,6 +148,17 @@ public class PTXStream {
         cuStreamSynchronize(streamPool);
     }
 
+    /**
+     * It enqueues a host function that runs the callback once all the commands
+     * enqueued before in the stream have completed. The callback runs in a thread
+     * of the CUDA driver and must not make any CUDA call.
+     *
+     * @return true if the host function was enqueued.
+     */
+    public boolean enqueueHostCallback(Runnable callback) {
+        return cuLaunchHostFunc(streamPool, callback) == 0;
+    }
+
     public void cuDestroyStream() {
         cuDestroyStream(streamPool);
         isDestroy = true;
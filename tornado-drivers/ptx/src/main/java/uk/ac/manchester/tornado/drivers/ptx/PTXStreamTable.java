@@ -26,9 +26,14 @@ package uk.ac.manchester.tornado.drivers.ptx;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * CUDA streams of an execution plan, one per device. Streams are not keyed by
+ * thread, so any number of threads (including virtual threads) running the same
+ * plan share its stream, and the stream is destroyed when the plan is reset.
+ */
 public class PTXStreamTable {
 
-    private final Map<PTXDevice, ThreadStreamTable> deviceStream;
+    private final Map<PTXDevice, PTXStream> deviceStream;
 
     PTXStreamTable() {
         deviceStream = new ConcurrentHashMap<>();
@@ -38,54 +43,18 @@ public class PTXStreamTable {
         if (Thread.currentThread().threadId() == PTX.SHUTDOW_THREAD_ID_HOOK) {
             return null;
         }
-        if (!deviceStream.containsKey(device)) {
-            ThreadStreamTable threadStreamTable = new ThreadStreamTable();
-            threadStreamTable.get(Thread.currentThread().threadId());
-            deviceStream.put(device, threadStreamTable);
-        }
-        return deviceStream.get(device).get(Thread.currentThread().threadId());
+        return deviceStream.computeIfAbsent(device, d -> new PTXStream());
     }
 
     public void cleanup(PTXDevice device) {
-        if (deviceStream.containsKey(device)) {
-            deviceStream.get(device).cleanup(Thread.currentThread().threadId());
-        }
-        if (deviceStream.get(device).size() == 0) {
-            deviceStream.remove(device);
+        PTXStream stream = deviceStream.remove(device);
+        if (stream != null) {
+            stream.reset();
+            stream.cuDestroyStream();
         }
     }
 
     public int size() {
         return deviceStream.size();
     }
-
-    private static class ThreadStreamTable {
-
-        private final Map<Long, PTXStream> streamTable;
-
-        ThreadStreamTable() {
-            streamTable = new ConcurrentHashMap<>();
-        }
-
-        public PTXStream get(long threadId) {
-            if (!streamTable.containsKey(threadId)) {
-                PTXStream stream = new PTXStream();
-                streamTable.put(threadId, stream);
-            }
-            return streamTable.get(threadId);
-        }
-
-        public void cleanup(long threadId) {
-            if (streamTable.containsKey(threadId)) {
-                PTXStream queue = streamTable.remove(threadId);
-                queue.reset();
-                queue.cuDestroyStream();
-            }
-        }
-
-        public int size() {
-            return streamTable.size();
-        }
-
-    }
 }
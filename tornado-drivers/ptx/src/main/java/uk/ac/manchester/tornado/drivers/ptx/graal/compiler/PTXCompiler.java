@@ -244,6 +244,11 @@ public class PTXCompiler {
         return graph.start().next() == null;
     }
 
+    /**
+     * It compiles a sketch for the device. Compilations are serialized, because
+     * the {@code PTXAssembler} keeps the variable names and the local indexes of
+     * the kernel being emitted in static fields.
+     */
     public synchronized static PTXCompilationResult compileSketchForDevice(Sketch sketch, CompilableTask task, PTXProviders providers, PTXBackend backend, TornadoProfiler profiler) {
         final StructuredGraph kernelGraph = (StructuredGraph) sketch.getGraph().copy(TornadoCoreRuntime.getDebugContext());
         ResolvedJavaMethod resolvedMethod = kernelGraph.method();
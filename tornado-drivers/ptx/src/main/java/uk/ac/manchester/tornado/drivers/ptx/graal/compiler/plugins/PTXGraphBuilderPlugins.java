@@ -86,6 +86,7 @@ import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXIntBinaryIntrinsicNod
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXIntUnaryIntrinsicNode;
 import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PrintfNode;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.graal.nodes.HalfFloatPlaceholder;
 
 public class PTXGraphBuilderPlugins {
 
@@ -114,6 +115,19 @@ public class PTXGraphBuilderPlugins {
                 return true;
             }
         });
+
+        r.register(new InvocationPlugin("floatToFloat16", float.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode floatValue) {
+                if (!HalfFloatPlaceholder.isHalfFloatStore(b.getMethod())) {
+                    // the short value is used as is, so the conversion is compiled from its Java code
+                    return false;
+                }
+                // the conversion is performed by the half float store that consumes the placeholder
+                b.push(JavaKind.Short, b.append(new HalfFloatPlaceholder(floatValue)));
+                return true;
+            }
+        });
     }
 
     private static void registerTornadoInstrinsicsPlugins(InvocationPlugins plugins) {
@@ -116,6 +116,16 @@ public class TornadoHalfFloatReplacement extends BasePhase<TornadoHighTierContex
             }
         }
 
+        // replace raw short reads that are only converted to float (e.g., HalfFloatArray::getFloat) with halfFloat reads
+        for (JavaReadNode javaRead : graph.getNodes().filter(JavaReadNode.class).snapshot()) {
+            if (javaRead.getReadKind() == JavaKind.Short && javaRead.hasUsages() && javaRead.usages().filter(n -> !(n instanceof PTXConvertHalfToFloat)).isEmpty()) {
+                ReadHalfFloatNode readHalfFloatNode = new ReadHalfFloatNode(javaRead.getAddress());
+                graph.addWithoutUnique(readHalfFloatNode);
+                javaRead.replaceAtUsages(readHalfFloatNode);
+                replaceFixed(javaRead, readHalfFloatNode);
+            }
+        }
+
         for (NewInstanceNode newInstanceNode : graph.getNodes().filter(NewInstanceNode.class)) {
             if (newInstanceNode.instanceClass().getAnnotation(HalfType.class) != null) {
                 if (newInstanceNode.successors().first() instanceof NewHalfFloatInstance) {
@@ -21,6 +21,11 @@
  */
 package uk.ac.manchester.tornado.drivers.ptx.graal.snippets;
 
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import org.graalvm.compiler.api.replacements.Snippet;
 import org.graalvm.compiler.nodes.GraphState;
 import org.graalvm.compiler.nodes.ValueNode;
@@ -35,13 +40,12 @@ import org.graalvm.compiler.replacements.SnippetTemplate.SnippetInfo;
 import org.graalvm.compiler.replacements.Snippets;
 
 import jdk.vm.ci.meta.JavaKind;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.api.math.TornadoMath;
 import uk.ac.manchester.tornado.drivers.ptx.builtins.PTXIntrinsics;
-import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXFPBinaryIntrinsicNode;
-import uk.ac.manchester.tornado.drivers.ptx.graal.nodes.PTXIntBinaryIntrinsicNode;
+import uk.ac.manchester.tornado.runtime.analyzer.ReduceCodeAnalysis;
+import uk.ac.manchester.tornado.runtime.analyzer.ReduceOperator;
 import uk.ac.manchester.tornado.runtime.graal.nodes.StoreAtomicIndexedNode;
-import uk.ac.manchester.tornado.runtime.graal.nodes.TornadoReduceAddNode;
-import uk.ac.manchester.tornado.runtime.graal.nodes.TornadoReduceMulNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.WriteAtomicNode;
 
 /**
@@ -797,199 +801,438 @@ public class PTXGPUReduceSnippets implements Snippets {
         }
     }
 
-    protected static class Tuple2<T0, T1> {
-        T0 t0;
-        T1 t1;
+    @Snippet
+    public static void partialReduceIntAnd(int[] inputArray, int[] outputArray, int gidx) {
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
 
-        public Tuple2(T0 first, T1 second) {
-            this.t0 = first;
-            this.t1 = second;
+        localArray[localIdx] = inputArray[gidx];
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] & localArray[localIdx + stride];
+            }
         }
 
-        public T0 f0() {
-            return t0;
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
         }
+    }
 
-        public T1 f1() {
-            return t1;
+    @Snippet
+    public static void partialReduceIntAndCarrierValue(int[] inputArray, int[] outputArray, int gidx, int extra) {
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = extra;
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] & localArray[localIdx + stride];
+            }
+        }
+
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
         }
     }
 
-    public static class Templates extends AbstractTemplates implements TornadoSnippetTypeInference {
+    @Snippet
+    public static void partialReduceIntOr(int[] inputArray, int[] outputArray, int gidx) {
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
 
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceIntSnippet = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceIntAdd");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceIntSnippetCarrierValue = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceIntAddCarrierValue");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceLongSnippet = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceLongAdd");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceLongSnippetCarrierValue = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceLongAddCarrierValue");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceAddFloatSnippet = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceFloatAdd");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceAddFloatSnippetCarrierValue = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceFloatAddCarrierValue");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceAddDoubleSnippet = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceDoubleAdd");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceAddDoubleSnippetCarrierValue = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceDoubleAddCarrierValue");
-
-        // Mul
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceIntMultSnippet = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceIntMult");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceIntMultSnippetCarrierValue = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceIntMultCarrierValue");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceLongMultSnippet = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceLongMult");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceLongMultSnippetCarrierValue = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceLongMultCarrierValue");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceFloatMultSnippet = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceFloatMult");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceFloatMultSnippetCarrierValue = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceFloatMultCarrierValue");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceDoubleMultSnippet = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceDoubleMult");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceDoubleMultSnippetCarrierValue = new Tuple2<>(PTXGPUReduceSnippets.class,
-                "partialReduceDoubleMultCarrierValue");
-
-        // Max
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceIntMaxSnippet = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceIntMax");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceIntMaxSnippetCarrierValue = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceIntMaxCarrierValue");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceLongMaxSnippet = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceLongMax");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceLongMaxSnippetCarrierValue = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceLongMaxCarrierValue");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceMaxFloatSnippet = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceFloatMax");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceMaxFloatSnippetCarrierValue = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceFloatMaxCarrierValue");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceMaxDoubleSnippet = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceDoubleMax");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceMaxDoubleSnippetCarrierValue = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceDoubleMaxCarrierValue");
-
-        // Min
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceIntMinSnippet = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceIntMin");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceIntMinSnippetCarrierValue = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceIntMinCarrierValue");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceLongMinSnippet = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceLongMin");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceLongMinSnippetCarrierValue = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceLongMinCarrierValue");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceMinFloatSnippet = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceFloatMin");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceMinFloatSnippetCarrierValue = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceFloatMinCarrierValue");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceMinDoubleSnippet = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceDoubleMin");
-        private final Tuple2<Class<? extends PTXGPUReduceSnippets>, String> partialReduceMinDoubleSnippetCarrierValue = new Tuple2<>(PTXGPUReduceSnippets.class, "partialReduceDoubleMinCarrierValue");
-
-        Providers providers;
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
 
-        public Templates(OptionValues options, Providers providers) {
-            super(options, providers);
-            this.providers = providers;
+        localArray[localIdx] = inputArray[gidx];
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] | localArray[localIdx + stride];
+            }
+        }
 
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
         }
+    }
+
+    @Snippet
+    public static void partialReduceIntOrCarrierValue(int[] inputArray, int[] outputArray, int gidx, int extra) {
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
 
-        private SnippetInfo snippet(PTXGPUReduceSnippets.Tuple2<Class<? extends PTXGPUReduceSnippets>, String> tuple2) {
-            return snippet(providers, tuple2.t0, tuple2.t1);
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
 
+        localArray[localIdx] = extra;
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] | localArray[localIdx + stride];
+            }
+        }
+
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
         }
+    }
 
-        private SnippetInfo getSnippetFromOCLBinaryNodeInteger(PTXIntBinaryIntrinsicNode value, ValueNode extra) {
-            switch (value.operation()) {
-                case MAX:
-                    return (extra == null) ? snippet(partialReduceIntMaxSnippet) : snippet(partialReduceIntMaxSnippetCarrierValue);
-                case MIN:
-                    return (extra == null) ? snippet(partialReduceIntMinSnippet) : snippet(partialReduceIntMinSnippetCarrierValue);
-                default:
-                    throw new RuntimeException("Reduce Operation no supported yet: snippet not installed");
+    @Snippet
+    public static void partialReduceIntXor(int[] inputArray, int[] outputArray, int gidx) {
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = inputArray[gidx];
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] ^ localArray[localIdx + stride];
             }
         }
 
-        private SnippetInfo getSnippetFromOCLBinaryNodeLong(PTXIntBinaryIntrinsicNode value, ValueNode extra) {
-            switch (value.operation()) {
-                case MAX:
-                    return (extra == null) ? snippet(partialReduceLongMaxSnippet) : snippet(partialReduceLongMaxSnippetCarrierValue);
-                case MIN:
-                    return (extra == null) ? snippet(partialReduceLongMinSnippet) : snippet(partialReduceLongMinSnippetCarrierValue);
-                default:
-                    throw new RuntimeException("Reduce Operation no supported yet: snippet not installed");
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntXorCarrierValue(int[] inputArray, int[] outputArray, int gidx, int extra) {
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = extra;
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] ^ localArray[localIdx + stride];
             }
         }
 
-        @Override
-        public SnippetInfo inferIntSnippet(ValueNode value, ValueNode extra) {
-            SnippetInfo snippet;
-            if (value instanceof TornadoReduceAddNode) {
-                snippet = (extra == null) ? snippet(partialReduceIntSnippet) : snippet(partialReduceIntSnippetCarrierValue);
-            } else if (value instanceof TornadoReduceMulNode) {
-                // operation = ATOMIC_OPERATION.MUL;
-                snippet = (extra == null) ? snippet(partialReduceIntMultSnippet) : snippet(partialReduceIntMultSnippetCarrierValue);
-            } else if (value instanceof PTXIntBinaryIntrinsicNode) {
-                PTXIntBinaryIntrinsicNode op = (PTXIntBinaryIntrinsicNode) value;
-                snippet = getSnippetFromOCLBinaryNodeInteger(op, extra);
-            } else {
-                throw new RuntimeException("Reduce Operation no supported yet: snippet not installed");
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongAnd(long[] inputArray, long[] outputArray, int gidx) {
+
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        long[] localArray = (long[]) NewArrayNode.newUninitializedArray(long.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = inputArray[gidx];
+
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] & localArray[localIdx + stride];
             }
-            return snippet;
         }
 
-        @Override
-        public SnippetInfo inferLongSnippet(ValueNode value, ValueNode extra) {
-            SnippetInfo snippet;
-            if (value instanceof TornadoReduceAddNode) {
-                snippet = (extra == null) ? snippet(partialReduceLongSnippet) : snippet(partialReduceLongSnippetCarrierValue);
-            } else if (value instanceof TornadoReduceMulNode) {
-                snippet = (extra == null) ? snippet(partialReduceLongMultSnippet) : snippet(partialReduceLongMultSnippetCarrierValue);
-            } else if (value instanceof PTXIntBinaryIntrinsicNode) {
-                PTXIntBinaryIntrinsicNode op = (PTXIntBinaryIntrinsicNode) value;
-                snippet = getSnippetFromOCLBinaryNodeLong(op, extra);
-            } else {
-                throw new RuntimeException("Reduce Operation no supported yet: snippet not installed");
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongAndCarrierValue(long[] inputArray, long[] outputArray, int gidx, long extra) {
+
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        long[] localArray = (long[]) NewArrayNode.newUninitializedArray(long.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = extra;
+
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] & localArray[localIdx + stride];
+            }
+        }
+
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongOr(long[] inputArray, long[] outputArray, int gidx) {
+
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        long[] localArray = (long[]) NewArrayNode.newUninitializedArray(long.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = inputArray[gidx];
+
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] | localArray[localIdx + stride];
             }
-            return snippet;
         }
 
-        private SnippetInfo getSnippetFromOCLBinaryNodeInteger(PTXFPBinaryIntrinsicNode value, ValueNode extra) {
-            switch (value.operation()) {
-                case FMAX:
-                    return extra == null ? snippet(partialReduceMaxFloatSnippet) : snippet(partialReduceMaxFloatSnippetCarrierValue);
-                case FMIN:
-                    return extra == null ? snippet(partialReduceMinFloatSnippet) : snippet(partialReduceMinFloatSnippetCarrierValue);
-                default:
-                    throw new RuntimeException("OCLFPBinaryIntrinsicNode operation not supported yet");
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongOrCarrierValue(long[] inputArray, long[] outputArray, int gidx, long extra) {
+
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        long[] localArray = (long[]) NewArrayNode.newUninitializedArray(long.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = extra;
+
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] | localArray[localIdx + stride];
             }
         }
 
-        @Override
-        public SnippetInfo inferFloatSnippet(ValueNode value, ValueNode extra) {
-            SnippetInfo snippet;
-            if (value instanceof TornadoReduceAddNode) {
-                snippet = (extra == null) ? snippet(partialReduceAddFloatSnippet) : snippet(partialReduceAddFloatSnippetCarrierValue);
-            } else if (value instanceof TornadoReduceMulNode) {
-                snippet = (extra == null) ? snippet(partialReduceFloatMultSnippet) : snippet(partialReduceFloatMultSnippetCarrierValue);
-            } else if (value instanceof PTXFPBinaryIntrinsicNode) {
-                snippet = getSnippetFromOCLBinaryNodeInteger((PTXFPBinaryIntrinsicNode) value, extra);
-            } else {
-                throw new RuntimeException("Reduce Operation no supported yet: snippet not installed");
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongXor(long[] inputArray, long[] outputArray, int gidx) {
+
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        long[] localArray = (long[]) NewArrayNode.newUninitializedArray(long.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = inputArray[gidx];
+
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] ^ localArray[localIdx + stride];
             }
-            return snippet;
         }
 
-        private SnippetInfo getSnippetFromOCLBinaryNodeDouble(PTXFPBinaryIntrinsicNode value, ValueNode extra) {
-            switch (value.operation()) {
-                case FMAX:
-                    return extra == null ? snippet(partialReduceMaxDoubleSnippet) : snippet(partialReduceMaxDoubleSnippetCarrierValue);
-                case FMIN:
-                    return extra == null ? snippet(partialReduceMinDoubleSnippet) : snippet(partialReduceMinDoubleSnippetCarrierValue);
-                default:
-                    throw new RuntimeException("OCLFPBinaryIntrinsicNode operation not supported yet");
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongXorCarrierValue(long[] inputArray, long[] outputArray, int gidx, long extra) {
+
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        long[] localArray = (long[]) NewArrayNode.newUninitializedArray(long.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = extra;
+
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] ^ localArray[localIdx + stride];
             }
         }
 
-        @Override
-        public SnippetInfo inferDoubleSnippet(ValueNode value, ValueNode extra) {
-            SnippetInfo snippet = null;
-            if (value instanceof TornadoReduceAddNode) {
-                snippet = (extra == null) ? snippet(partialReduceAddDoubleSnippet) : snippet(partialReduceAddDoubleSnippetCarrierValue);
-            } else if (value instanceof TornadoReduceMulNode) {
-                snippet = (extra == null) ? snippet(partialReduceDoubleMultSnippet) : snippet(partialReduceDoubleMultSnippetCarrierValue);
-            } else if (value instanceof PTXFPBinaryIntrinsicNode) {
-                snippet = getSnippetFromOCLBinaryNodeDouble((PTXFPBinaryIntrinsicNode) value, extra);
-            } else {
-                throw new RuntimeException("Reduce Operation no supported yet: snippet not installed");
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceFloatCompensatedAdd(float[] inputArray, float[] outputArray, int gidx) {
+        float[] localArray = (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+        float[] localCompensation = (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        localArray[localIdx] = inputArray[gidx];
+        localCompensation[localIdx] = 0.0f;
+
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                // Each element accumulates the rounding errors of its partial sum
+                float a = localArray[localIdx];
+                float b = localArray[localIdx + stride];
+                float sum = a + b;
+                float bVirtual = sum - a;
+                float error = (a - (sum - bVirtual)) + (b - bVirtual);
+                localArray[localIdx] = sum;
+                localCompensation[localIdx] += localCompensation[localIdx + stride] + error;
             }
-            return snippet;
         }
 
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0] + localCompensation[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceFloatCompensatedAddCarrierValue(float[] inputArray, float[] outputArray, int gidx, float value) {
+        float[] localArray = (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+        float[] localCompensation = (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        localArray[localIdx] = value;
+        localCompensation[localIdx] = 0.0f;
+
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                // Each element accumulates the rounding errors of its partial sum
+                float a = localArray[localIdx];
+                float b = localArray[localIdx + stride];
+                float sum = a + b;
+                float bVirtual = sum - a;
+                float error = (a - (sum - bVirtual)) + (b - bVirtual);
+                localArray[localIdx] = sum;
+                localCompensation[localIdx] += localCompensation[localIdx + stride] + error;
+            }
+        }
+
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0] + localCompensation[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceDoubleCompensatedAdd(double[] inputArray, double[] outputArray, int gidx) {
+        double[] localArray = (double[]) NewArrayNode.newUninitializedArray(double.class, LOCAL_WORK_GROUP_SIZE);
+        double[] localCompensation = (double[]) NewArrayNode.newUninitializedArray(double.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        localArray[localIdx] = inputArray[gidx];
+        localCompensation[localIdx] = 0.0;
+
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                // Each element accumulates the rounding errors of its partial sum
+                double a = localArray[localIdx];
+                double b = localArray[localIdx + stride];
+                double sum = a + b;
+                double bVirtual = sum - a;
+                double error = (a - (sum - bVirtual)) + (b - bVirtual);
+                localArray[localIdx] = sum;
+                localCompensation[localIdx] += localCompensation[localIdx + stride] + error;
+            }
+        }
+
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0] + localCompensation[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceDoubleCompensatedAddCarrierValue(double[] inputArray, double[] outputArray, int gidx, double value) {
+        double[] localArray = (double[]) NewArrayNode.newUninitializedArray(double.class, LOCAL_WORK_GROUP_SIZE);
+        double[] localCompensation = (double[]) NewArrayNode.newUninitializedArray(double.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = PTXIntrinsics.get_local_id(0);
+        int localGroupSize = PTXIntrinsics.get_local_size(0);
+        int groupID = PTXIntrinsics.get_group_id(0);
+
+        localArray[localIdx] = value;
+        localCompensation[localIdx] = 0.0;
+
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            PTXIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                // Each element accumulates the rounding errors of its partial sum
+                double a = localArray[localIdx];
+                double b = localArray[localIdx + stride];
+                double sum = a + b;
+                double bVirtual = sum - a;
+                double error = (a - (sum - bVirtual)) + (b - bVirtual);
+                localArray[localIdx] = sum;
+                localCompensation[localIdx] += localCompensation[localIdx + stride] + error;
+            }
+        }
+
+        PTXIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0] + localCompensation[0];
+        }
+    }
+
+    public static class Templates extends AbstractTemplates implements TornadoSnippetTypeInference {
+
+        private static final Set<String> SNIPPET_NAMES = Arrays.stream(PTXGPUReduceSnippets.class.getDeclaredMethods()) //
+                .filter(method -> method.isAnnotationPresent(Snippet.class)) //
+                .map(Method::getName) //
+                .collect(Collectors.toUnmodifiableSet());
+
+        private final Providers providers;
+
+        public Templates(OptionValues options, Providers providers) {
+            super(options, providers);
+            this.providers = providers;
+        }
+
+        /**
+         * Selects the snippet of the reduce operator implemented by the value node. The
+         * snippets follow the naming of
+         * {@link ReduceOperator#getPartialReduceSnippetName(JavaKind, boolean)}, so a
+         * new operator only needs its snippets in this class.
+         */
         @Override
         public SnippetInfo getSnippetInstance(JavaKind elementKind, ValueNode value, ValueNode extra) {
-            SnippetInfo snippet = null;
-            if (elementKind == JavaKind.Int) {
-                snippet = inferIntSnippet(value, extra);
-            } else if (elementKind == JavaKind.Long) {
-                snippet = inferLongSnippet(value, extra);
-            } else if (elementKind == JavaKind.Float) {
-                snippet = inferFloatSnippet(value, extra);
-            } else if (elementKind == JavaKind.Double) {
-                snippet = inferDoubleSnippet(value, extra);
+            ReduceOperator operator = ReduceCodeAnalysis.getReduceOperation(value);
+            String snippetName = operator.getPartialReduceSnippetName(elementKind, extra != null);
+            if (!SNIPPET_NAMES.contains(snippetName)) {
+                throw new TornadoRuntimeException("Reduce Operation no supported yet: snippet " + snippetName + " not installed");
             }
-            return snippet;
+            return snippet(providers, PTXGPUReduceSnippets.class, snippetName);
         }
 
         public void lower(StoreAtomicIndexedNode storeAtomicIndexed, ValueNode globalId, LoweringTool tool) {
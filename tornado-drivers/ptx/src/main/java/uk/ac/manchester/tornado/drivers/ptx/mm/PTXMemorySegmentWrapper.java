@@ -174,6 +174,23 @@ public class PTXMemorySegmentWrapper implements XPUBuffer {
         return returnEvents;
     }
 
+    @Override
+    public List<Integer> enqueueWriteRanges(long executionPlanId, Object reference, long[] ranges, int[] events, boolean useDeps) {
+        if (!(reference instanceof TornadoNativeArray nativeArray)) {
+            return enqueueWrite(executionPlanId, reference, 0, 0, events, useDeps);
+        }
+        List<Integer> returnEvents = new ArrayList<>();
+        MemorySegment segment = getSegmentWithHeader(reference);
+        final long elementSize = nativeArray.getElementSize();
+        for (int i = 0; i < ranges.length; i += 2) {
+            // The host and the device buffer share the same layout, including the header
+            final long rangeOffset = TornadoNativeArray.ARRAY_HEADER + ranges[i] * elementSize;
+            final long numBytes = (ranges[i + 1] - ranges[i]) * elementSize;
+            returnEvents.add(deviceContext.enqueueWriteBuffer(executionPlanId, toBuffer() + rangeOffset, numBytes, segment.address(), rangeOffset, (useDeps) ? events : null));
+        }
+        return returnEvents;
+    }
+
     @Override
     public void allocate(Object reference, long batchSize, Access access) throws TornadoOutOfMemoryException, TornadoMemoryException {
         MemorySegment segment = getSegmentWithHeader(reference);
@@ -26,6 +26,7 @@ package uk.ac.manchester.tornado.drivers.ptx.runtime;
 import uk.ac.manchester.tornado.api.common.Access;
 import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider;
 import uk.ac.manchester.tornado.drivers.ptx.PTXDeviceContext;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 
 public class PTXBufferProvider extends TornadoBufferProvider {
 
@@ -42,4 +43,25 @@ public class PTXBufferProvider extends TornadoBufferProvider {
     protected void releaseBuffer(long buffer) {
         ((PTXDeviceContext) deviceContext).getDevice().getPTXContext().freeMemory(buffer);
     }
+
+    @Override
+    protected boolean isSubBufferSupported() {
+        return true;
+    }
+
+    @Override
+    protected long createSubBuffer(long buffer, long offset, long size, Access access) {
+        // Device buffers are plain device pointers in CUDA
+        return buffer + offset;
+    }
+
+    @Override
+    protected void releaseSubBuffer(long subBuffer) {
+        // Nothing to release, the region belongs to the arena
+    }
+
+    @Override
+    protected long getArenaAlignment() {
+        return TornadoOptions.PTX_ARRAY_ALIGNMENT;
+    }
 }
@@ -33,7 +33,9 @@ import java.nio.file.Paths;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 import jdk.vm.ci.meta.ResolvedJavaMethod;
 import uk.ac.manchester.tornado.api.TornadoTargetDevice;
@@ -58,7 +60,10 @@ import uk.ac.manchester.tornado.api.types.arrays.HalfFloatArray;
 import uk.ac.manchester.tornado.api.types.arrays.IntArray;
 import uk.ac.manchester.tornado.api.types.arrays.LongArray;
 import uk.ac.manchester.tornado.api.types.arrays.ShortArray;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.drivers.common.KernelDiskCache;
 import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider;
+import uk.ac.manchester.tornado.drivers.ptx.CUDAComputeCapability;
 import uk.ac.manchester.tornado.drivers.ptx.PTX;
 import uk.ac.manchester.tornado.drivers.ptx.PTXBackendImpl;
 import uk.ac.manchester.tornado.drivers.ptx.PTXDevice;
@@ -90,8 +95,8 @@ import uk.ac.manchester.tornado.runtime.common.TornadoSchedulingStrategy;
 import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
 import uk.ac.manchester.tornado.runtime.common.XPUDeviceBufferState;
 import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
-import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketcher;
 import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
+import uk.ac.manchester.tornado.runtime.tasks.FusedTask;
 import uk.ac.manchester.tornado.runtime.tasks.PrebuiltTask;
 import uk.ac.manchester.tornado.runtime.tasks.meta.TaskDataContext;
 
@@ -167,8 +172,8 @@ public class PTXTornadoDevice implements TornadoXPUDevice {
         final PTXDeviceContext deviceContext = getDeviceContext();
 
         final CompilableTask executable = (CompilableTask) task;
-        final ResolvedJavaMethod resolvedMethod = TornadoCoreRuntime.getTornadoRuntime().resolveMethod(executable.getMethod());
-        final Sketch sketch = TornadoSketcher.lookup(resolvedMethod, task.meta().getBackendIndex(), task.meta().getDeviceIndex());
+        final ResolvedJavaMethod resolvedMethod = executable.getResolvedMethod();
+        final Sketch sketch = executable.getSketch();
 
         // copy meta data into task
         final TaskDataContext taskMeta = executable.meta();
@@ -178,7 +183,23 @@ public class PTXTornadoDevice implements TornadoXPUDevice {
 
         try {
             PTXCompilationResult result;
-            if (!deviceContext.isCached(executionPlanId, resolvedMethod.getName(), executable)) {
+            String kernelCacheKey = null;
+            KernelDiskCache.Entry cachedEntry = null;
+            // Fused kernels have no bytecode of their own to build a cache key from
+            if (!deviceContext.isCached(executionPlanId, resolvedMethod.getName(), executable) && KernelDiskCache.isEnabled() && !taskMeta.isPrintKernelEnabled() && !(executable instanceof FusedTask)) {
+                String kernelName = buildKernelName(resolvedMethod.getName(), executable);
+                kernelCacheKey = getKernelDiskCache().buildKey(executable, resolvedMethod, sketch.getGraph(), taskMeta.getCompilerFlags(TornadoVMBackendType.PTX), kernelName);
+                cachedEntry = getKernelDiskCache().lookup(kernelCacheKey);
+            }
+
+            if (cachedEntry != null) {
+                // The PTX code is loaded from the persistent kernel cache
+                result = new PTXCompilationResult(cachedEntry.entryPoint(), taskMeta);
+                result.setTargetCode(cachedEntry.binary(), cachedEntry.binary().length);
+                if (taskMeta.getDomain() == null && cachedEntry.domain() != null) {
+                    taskMeta.setDomain(cachedEntry.domain());
+                }
+            } else if (!deviceContext.isCached(executionPlanId, resolvedMethod.getName(), executable)) {
                 PTXProviders providers = (PTXProviders) getBackend().getProviders();
                 profiler.start(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId());
                 result = PTXCompiler.compileSketchForDevice(sketch, executable, providers, getBackend(), executable.getProfiler());
@@ -192,6 +213,10 @@ public class PTXTornadoDevice implements TornadoXPUDevice {
             TornadoInstalledCode installedCode = deviceContext.installCode(executionPlanId, result, resolvedMethod.getName());
             profiler.stop(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
             profiler.sum(ProfilerType.TOTAL_DRIVER_COMPILE_TIME, profiler.getTaskTimer(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId()));
+
+            if (kernelCacheKey != null && cachedEntry == null && installedCode.isValid()) {
+                getKernelDiskCache().store(kernelCacheKey, result.getName(), taskMeta.getDomain(), result.getTargetCode());
+            }
             return installedCode;
         } catch (Exception e) {
             if (TornadoOptions.DEBUG) {
@@ -203,6 +228,12 @@ public class PTXTornadoDevice implements TornadoXPUDevice {
         }
     }
 
+    private KernelDiskCache getKernelDiskCache() {
+        CUDAComputeCapability computeCapability = device.getComputeCapability();
+        String deviceIdentity = device.getDeviceName() + "/sm_" + computeCapability.getMajor() + computeCapability.getMinor() + "/" + device.getTargetPTXVersion();
+        return KernelDiskCache.getInstance("ptx", deviceIdentity);
+    }
+
     private TornadoInstalledCode compilePreBuiltTask(long executionPlanId, SchedulableTask task) {
         final PTXDeviceContext deviceContext = getDeviceContext();
         final PrebuiltTask executable = (PrebuiltTask) task;
@@ -404,6 +435,7 @@ public class PTXTornadoDevice implements TornadoXPUDevice {
     public List<Integer> ensurePresent(long executionPlanId, Object object, DeviceBufferState objectState, int[] events, long batchSize, long hostOffset) {
         if (!objectState.hasContent()) {
             objectState.setContents(true);
+            objectState.setCopyInRanges(null, 0);
             return objectState.getXPUBuffer().enqueueWrite(executionPlanId, object, batchSize, hostOffset, events, events != null);
         }
         return null;
@@ -430,7 +462,17 @@ public class PTXTornadoDevice implements TornadoXPUDevice {
      */
     @Override
     public List<Integer> streamIn(long executionPlanId, Object object, long batchSize, long hostOffset, DeviceBufferState objectState, int[] events) {
+        final boolean hasContents = objectState.hasContent();
         objectState.setContents(true);
+        if (object instanceof TornadoNativeArray nativeArray) {
+            final long[] dirtyRanges = nativeArray.pollDirtyRanges(objectState, TornadoOptions.MAX_DIRTY_RANGES);
+            if (dirtyRanges != null && hasContents && batchSize <= 0) {
+                // The device buffer is up to date except for the ranges modified on the host since its last copy
+                objectState.setCopyInRanges(dirtyRanges, nativeArray.getElementSize());
+                return objectState.getXPUBuffer().enqueueWriteRanges(executionPlanId, object, dirtyRanges, events, events != null);
+            }
+        }
+        objectState.setCopyInRanges(null, 0);
         return objectState.getXPUBuffer().enqueueWrite(executionPlanId, object, batchSize, hostOffset, events, events != null);
     }
 
@@ -530,6 +572,11 @@ public class PTXTornadoDevice implements TornadoXPUDevice {
         getDeviceContext().sync(executionPlanId);
     }
 
+    @Override
+    public CompletableFuture<Void> whenCompleted(long executionPlanId, Executor executor) {
+        return getDeviceContext().whenCompleted(executionPlanId, executor);
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (obj instanceof PTXTornadoDevice) {
@@ -686,6 +733,21 @@ public class PTXTornadoDevice implements TornadoXPUDevice {
 
     }
 
+    @Override
+    public long getBufferPoolHits() {
+        return getDeviceContext().getBufferProvider().getPoolHits();
+    }
+
+    @Override
+    public long getBufferPoolMisses() {
+        return getDeviceContext().getBufferProvider().getPoolMisses();
+    }
+
+    @Override
+    public int getNumRetainedEvents(long executionPlanId) {
+        return getDeviceContext().getNumRetainedEvents(executionPlanId);
+    }
+
     @Override
     public String toString() {
         return getPlatformName() + " -- " + device.getDeviceName();
@@ -34,6 +34,7 @@ import java.nio.file.Paths;
 import java.util.concurrent.ConcurrentHashMap;
 
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
+import uk.ac.manchester.tornado.api.metrics.TornadoMetrics;
 import uk.ac.manchester.tornado.drivers.spirv.graal.SPIRVInstalledCode;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.tasks.meta.TaskDataContext;
@@ -114,7 +115,12 @@ public abstract class SPIRVCodeCache {
         }
 
         writeBufferToFile(buffer, spirvFile);
-        return installSPIRVBinary(meta, id, entryPoint, spirvFile);
+        final long buildStart = System.nanoTime();
+        SPIRVInstalledCode installedCode = installSPIRVBinary(meta, id, entryPoint, spirvFile);
+        if (TornadoMetrics.isEnabled()) {
+            TornadoMetrics.kernelBuilt(entryPoint, deviceContext.getDeviceName(), false, System.nanoTime() - buildStart);
+        }
+        return installedCode;
     }
 
     public abstract SPIRVInstalledCode installSPIRVBinary(TaskDataContext meta, String id, String entryPoint, String pathToFile);
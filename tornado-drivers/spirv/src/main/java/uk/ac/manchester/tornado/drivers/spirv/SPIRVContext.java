@@ -23,6 +23,8 @@
  */
 package uk.ac.manchester.tornado.drivers.spirv;
 
+import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.shouldNotReachHere;
+
 import java.util.List;
 
 import uk.ac.manchester.tornado.api.common.Access;
@@ -52,6 +54,22 @@ public abstract class SPIRVContext {
 
     public abstract void freeMemory(long buffer, int deviceIndex);
 
+    /**
+     * @return true if regions of a device buffer can be used as buffers on their
+     *     own, which enables the arena mode of the buffer provider.
+     */
+    public boolean isSubBufferSupported() {
+        return false;
+    }
+
+    public long createSubBuffer(long buffer, long offset, long numBytes, int deviceIndex) {
+        throw shouldNotReachHere("sub-buffers are not supported by %s", getClass().getSimpleName());
+    }
+
+    public void freeSubBuffer(long subBuffer, int deviceIndex) {
+        throw shouldNotReachHere("sub-buffers are not supported by %s", getClass().getSimpleName());
+    }
+
     public abstract int readBuffer(long executionPlanId, int deviceIndex, long bufferId, long offset, long bytes, byte[] value, long hostOffset, int[] waitEvents, ProfilerTransfer profilerTransfer);
 
     public abstract int readBuffer(long executionPlanId, int deviceIndex, long bufferId, long offset, long bytes, char[] value, long hostOffset, int[] waitEvents, ProfilerTransfer profilerTransfer);
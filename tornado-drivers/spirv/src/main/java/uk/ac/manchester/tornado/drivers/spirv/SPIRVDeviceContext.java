@@ -189,16 +189,14 @@ public abstract class SPIRVDeviceContext implements TornadoDeviceContext {
     }
 
     private SPIRVCodeCache getSPIRVCodeCache(long executionPlanId) {
-        if (!codeCache.containsKey(executionPlanId)) {
-            SPIRVCodeCache spirvCodeCache;
+        // Tasks of the same execution plan can be compiled concurrently
+        return codeCache.computeIfAbsent(executionPlanId, id -> {
             if (this instanceof SPIRVLevelZeroDeviceContext) {
-                spirvCodeCache = new SPIRVLevelZeroCodeCache(this);
+                return new SPIRVLevelZeroCodeCache(this);
             } else {
-                spirvCodeCache = new SPIRVOCLCodeCache(this);
+                return new SPIRVOCLCodeCache(this);
             }
-            codeCache.put(executionPlanId, spirvCodeCache);
-        }
-        return codeCache.get(executionPlanId);
+        });
     }
 
     public int readBuffer(long executionPlanId, long bufferId, long offset, long bytes, byte[] value, long hostOffset, int[] waitEvents) {
@@ -338,6 +336,11 @@ public abstract class SPIRVDeviceContext implements TornadoDeviceContext {
         return null;
     }
 
+    public int getNumRetainedEvents(long executionPlanId) {
+        SPIRVEventPool eventPool = spirvEventPool.get(executionPlanId);
+        return eventPool == null ? 0 : eventPool.getNumRetainedEvents();
+    }
+
     private SPIRVEventPool getEventPool(long executionPlanId) {
         if (!spirvEventPool.containsKey(executionPlanId)) {
             SPIRVEventPool eventPool = new SPIRVEventPool(TornadoOptions.EVENT_WINDOW);
@@ -90,4 +90,8 @@ public class SPIRVEventPool {
     public EventDescriptor getDescriptor(int eventId) {
         return descriptors[eventId];
     }
+
+    public int getNumRetainedEvents() {
+        return retain.cardinality();
+    }
 }
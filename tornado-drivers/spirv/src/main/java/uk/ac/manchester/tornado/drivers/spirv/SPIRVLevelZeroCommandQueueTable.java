@@ -43,119 +43,91 @@ import uk.ac.manchester.tornado.drivers.spirv.levelzero.ZeCommandQueueMode;
 import uk.ac.manchester.tornado.drivers.spirv.levelzero.ZeCommandQueuePriority;
 import uk.ac.manchester.tornado.drivers.spirv.levelzero.utils.LevelZeroUtils;
 
+/**
+ * Level Zero command queues and command lists of an execution plan, one per
+ * device. They are not keyed by thread, so any number of threads (including
+ * virtual threads) running the same plan share them, and they are destroyed
+ * when the plan is reset.
+ */
 public class SPIRVLevelZeroCommandQueueTable {
 
-    private final Map<SPIRVDevice, ThreadCommandQueueTable> deviceCommandMap;
+    private final Map<SPIRVDevice, SPIRVLevelZeroCommandQueue> deviceCommandMap;
 
     public SPIRVLevelZeroCommandQueueTable() {
         deviceCommandMap = new ConcurrentHashMap<>();
     }
 
     public SPIRVLevelZeroCommandQueue get(SPIRVDevice device, LevelZeroContext levelZeroContext) {
-        if (!deviceCommandMap.containsKey(device)) {
-            ThreadCommandQueueTable table = new ThreadCommandQueueTable();
-            table.get(Thread.currentThread().threadId(), device, levelZeroContext);
-            deviceCommandMap.put(device, table);
-        }
-        return deviceCommandMap.get(device).get(Thread.currentThread().threadId(), device, levelZeroContext);
+        return deviceCommandMap.computeIfAbsent(device, d -> {
+            // Create Command Queue and Command List
+            LevelZeroCommandQueue commandQueue = createCommandQueue(levelZeroContext, d);
+            LevelZeroCommandList commandList = createCommandList(levelZeroContext, d);
+            return new SPIRVLevelZeroCommandQueue(commandQueue, commandList, (LevelZeroDevice) d.getDeviceRuntime());
+        });
     }
 
-    public void cleanup(SPIRVDevice device, LevelZeroContext levelZeroContext) {
-        if (deviceCommandMap.containsKey(device)) {
-            deviceCommandMap.get(device).cleanup(Thread.currentThread().threadId(), levelZeroContext);
-        }
-        if (deviceCommandMap.get(device).size() == 0) {
-            deviceCommandMap.remove(device);
-        }
+    private LevelZeroCommandQueue createCommandQueue(LevelZeroContext context, SPIRVDevice spirvDevice) {
+        LevelZeroDevice device = (LevelZeroDevice) spirvDevice.getDeviceRuntime();
+        // Create Command Queue
+        ZeCommandQueueDescriptor cmdDescriptor = new ZeCommandQueueDescriptor();
+        cmdDescriptor.setFlags(0);
+        cmdDescriptor.setMode(ZeCommandQueueMode.ZE_COMMAND_QUEUE_MODE_DEFAULT);
+        cmdDescriptor.setPriority(ZeCommandQueuePriority.ZE_COMMAND_QUEUE_PRIORITY_NORMAL);
+        cmdDescriptor.setOrdinal(getCommandQueueOrdinal(device));
+        cmdDescriptor.setIndex(0);
+
+        ZeCommandQueueHandle zeCommandQueueHandle = new ZeCommandQueueHandle();
+        int result = context.zeCommandQueueCreate(context.getContextHandle().getContextPtr()[0], device.getDeviceHandlerPtr(), cmdDescriptor, zeCommandQueueHandle);
+        LevelZeroUtils.errorLog("zeCommandQueueCreate", result);
+        return new LevelZeroCommandQueue(context, zeCommandQueueHandle);
     }
 
-    public int size() {
-        return deviceCommandMap.size();
+    private LevelZeroCommandList createCommandList(LevelZeroContext context, SPIRVDevice spirvDevice) {
+        LevelZeroDevice device = (LevelZeroDevice) spirvDevice.getDeviceRuntime();
+        ZeCommandListDescriptor cmdListDescriptor = new ZeCommandListDescriptor();
+        cmdListDescriptor.setFlags(ZeCommandListFlag.ZE_COMMAND_LIST_FLAG_RELAXED_ORDERING);
+        cmdListDescriptor.setCommandQueueGroupOrdinal(getCommandQueueOrdinal(device));
+        ZeCommandListHandle commandListHandler = new ZeCommandListHandle();
+        int result = context.zeCommandListCreate(context.getContextHandle().getContextPtr()[0], device.getDeviceHandlerPtr(), cmdListDescriptor, commandListHandler);
+        LevelZeroUtils.errorLog("zeCommandListCreate", result);
+        return new LevelZeroCommandList(context, commandListHandler);
     }
 
-    private static class ThreadCommandQueueTable {
-
-        private final Map<Long, SPIRVLevelZeroCommandQueue> commandQueueMap;
-
-        ThreadCommandQueueTable() {
-            commandQueueMap = new ConcurrentHashMap<>();
-        }
-
-        public SPIRVLevelZeroCommandQueue get(long threadId, SPIRVDevice device, LevelZeroContext levelZeroContext) {
-            if (!commandQueueMap.containsKey(threadId)) {
-                // Create Command Queue and Command List
-                LevelZeroCommandQueue commandQueue = createCommandQueue(levelZeroContext, device);
-                LevelZeroCommandList commandList = createCommandList(levelZeroContext, device);
-                SPIRVLevelZeroCommandQueue spirvLevelZeroCommandQueue = new SPIRVLevelZeroCommandQueue(commandQueue, commandList, (LevelZeroDevice) device.getDeviceRuntime());
-                commandQueueMap.put(threadId, spirvLevelZeroCommandQueue);
-            }
-            return commandQueueMap.get(threadId);
-        }
-
-        private LevelZeroCommandQueue createCommandQueue(LevelZeroContext context, SPIRVDevice spirvDevice) {
-            LevelZeroDevice device = (LevelZeroDevice) spirvDevice.getDeviceRuntime();
-            // Create Command Queue
-            ZeCommandQueueDescriptor cmdDescriptor = new ZeCommandQueueDescriptor();
-            cmdDescriptor.setFlags(0);
-            cmdDescriptor.setMode(ZeCommandQueueMode.ZE_COMMAND_QUEUE_MODE_DEFAULT);
-            cmdDescriptor.setPriority(ZeCommandQueuePriority.ZE_COMMAND_QUEUE_PRIORITY_NORMAL);
-            cmdDescriptor.setOrdinal(getCommandQueueOrdinal(device));
-            cmdDescriptor.setIndex(0);
+    private int getCommandQueueOrdinal(LevelZeroDevice device) {
+        int[] numQueueGroups = new int[1];
+        int result = device.zeDeviceGetCommandQueueGroupProperties(device.getDeviceHandlerPtr(), numQueueGroups, null);
+        LevelZeroUtils.errorLog("zeDeviceGetCommandQueueGroupProperties", result);
 
-            ZeCommandQueueHandle zeCommandQueueHandle = new ZeCommandQueueHandle();
-            int result = context.zeCommandQueueCreate(context.getContextHandle().getContextPtr()[0], device.getDeviceHandlerPtr(), cmdDescriptor, zeCommandQueueHandle);
-            LevelZeroUtils.errorLog("zeCommandQueueCreate", result);
-            return new LevelZeroCommandQueue(context, zeCommandQueueHandle);
+        if (numQueueGroups[0] == 0) {
+            throw new RuntimeException("Number of Queue Groups is 0 for device: " + device.getDeviceProperties().getName());
         }
+        int ordinal = numQueueGroups[0];
 
-        private LevelZeroCommandList createCommandList(LevelZeroContext context, SPIRVDevice spirvDevice) {
-            LevelZeroDevice device = (LevelZeroDevice) spirvDevice.getDeviceRuntime();
-            ZeCommandListDescriptor cmdListDescriptor = new ZeCommandListDescriptor();
-            cmdListDescriptor.setFlags(ZeCommandListFlag.ZE_COMMAND_LIST_FLAG_RELAXED_ORDERING);
-            cmdListDescriptor.setCommandQueueGroupOrdinal(getCommandQueueOrdinal(device));
-            ZeCommandListHandle commandListHandler = new ZeCommandListHandle();
-            int result = context.zeCommandListCreate(context.getContextHandle().getContextPtr()[0], device.getDeviceHandlerPtr(), cmdListDescriptor, commandListHandler);
-            LevelZeroUtils.errorLog("zeCommandListCreate", result);
-            return new LevelZeroCommandList(context, commandListHandler);
-        }
-
-        private int getCommandQueueOrdinal(LevelZeroDevice device) {
-            int[] numQueueGroups = new int[1];
-            int result = device.zeDeviceGetCommandQueueGroupProperties(device.getDeviceHandlerPtr(), numQueueGroups, null);
+        if (device.getCommandQueueGroupProperties() == null) {
+            ZeCommandQueueGroupProperties[] commandQueueGroupProperties = new ZeCommandQueueGroupProperties[numQueueGroups[0]];
+            result = device.zeDeviceGetCommandQueueGroupProperties(device.getDeviceHandlerPtr(), numQueueGroups, commandQueueGroupProperties);
             LevelZeroUtils.errorLog("zeDeviceGetCommandQueueGroupProperties", result);
-
-            if (numQueueGroups[0] == 0) {
-                throw new RuntimeException("Number of Queue Groups is 0 for device: " + device.getDeviceProperties().getName());
-            }
-            int ordinal = numQueueGroups[0];
-
-            if (device.getCommandQueueGroupProperties() == null) {
-                ZeCommandQueueGroupProperties[] commandQueueGroupProperties = new ZeCommandQueueGroupProperties[numQueueGroups[0]];
-                result = device.zeDeviceGetCommandQueueGroupProperties(device.getDeviceHandlerPtr(), numQueueGroups, commandQueueGroupProperties);
-                LevelZeroUtils.errorLog("zeDeviceGetCommandQueueGroupProperties", result);
-            }
-
-            for (int i = 0; i < numQueueGroups[0]; i++) {
-                if ((device.getCommandQueueGroupProperties(i).getFlags() & ZeCommandQueueGroupPropertyFlags.ZE_COMMAND_QUEUE_GROUP_PROPERTY_FLAG_COMPUTE) //
-                        == ZeCommandQueueGroupPropertyFlags.ZE_COMMAND_QUEUE_GROUP_PROPERTY_FLAG_COMPUTE) {
-                    ordinal = i;
-                    break;
-                }
-            }
-            return ordinal;
         }
 
-        public void cleanup(long threadId, LevelZeroContext levelZeroContext) {
-            if (commandQueueMap.containsKey(threadId)) {
-                SPIRVLevelZeroCommandQueue queue = commandQueueMap.remove(threadId);
-                levelZeroContext.zeCommandQueueDestroy(queue.getCommandQueue().getCommandQueueHandle());
-                levelZeroContext.zeCommandListDestroy(queue.getCommandList().getCommandListHandler());
+        for (int i = 0; i < numQueueGroups[0]; i++) {
+            if ((device.getCommandQueueGroupProperties(i).getFlags() & ZeCommandQueueGroupPropertyFlags.ZE_COMMAND_QUEUE_GROUP_PROPERTY_FLAG_COMPUTE) //
+                    == ZeCommandQueueGroupPropertyFlags.ZE_COMMAND_QUEUE_GROUP_PROPERTY_FLAG_COMPUTE) {
+                ordinal = i;
+                break;
             }
         }
+        return ordinal;
+    }
 
-        public int size() {
-            return commandQueueMap.size();
+    public void cleanup(SPIRVDevice device, LevelZeroContext levelZeroContext) {
+        SPIRVLevelZeroCommandQueue queue = deviceCommandMap.remove(device);
+        if (queue != null) {
+            levelZeroContext.zeCommandQueueDestroy(queue.getCommandQueue().getCommandQueueHandle());
+            levelZeroContext.zeCommandListDestroy(queue.getCommandList().getCommandListHandler());
         }
     }
 
+    public int size() {
+        return deviceCommandMap.size();
+    }
 }
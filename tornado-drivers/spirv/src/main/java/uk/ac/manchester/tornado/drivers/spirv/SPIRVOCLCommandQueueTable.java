@@ -32,68 +32,44 @@ import uk.ac.manchester.tornado.drivers.opencl.OCLContext;
 import uk.ac.manchester.tornado.drivers.opencl.OCLTargetDevice;
 import uk.ac.manchester.tornado.drivers.opencl.exceptions.OCLException;
 
+/**
+ * OpenCL command queues of an execution plan, one per device. Command queues are
+ * not keyed by thread, so any number of threads (including virtual threads)
+ * running the same plan share its queue, and the queue is released when the
+ * plan is reset.
+ */
 public class SPIRVOCLCommandQueueTable {
 
-    private final Map<SPIRVOCLDevice, ThreadCommandQueueTable> deviceCommandMap;
+    private final Map<SPIRVOCLDevice, OCLCommandQueue> deviceCommandMap;
 
     public SPIRVOCLCommandQueueTable() {
         deviceCommandMap = new ConcurrentHashMap<>();
     }
 
     public OCLCommandQueue get(SPIRVOCLDevice device, OCLContext context) {
-        if (!deviceCommandMap.containsKey(device)) {
-            ThreadCommandQueueTable table = new ThreadCommandQueueTable();
-            table.get(Thread.currentThread().threadId(), device, context);
-            deviceCommandMap.put(device, table);
+        return deviceCommandMap.computeIfAbsent(device, d -> createCommandQueue(d, context));
+    }
+
+    private OCLCommandQueue createCommandQueue(SPIRVOCLDevice device, OCLContext context) {
+        final int deviceVersion = device.deviceVersion();
+        long commandProperties = context.getProperties();
+        long commandQueuePtr;
+        try {
+            commandQueuePtr = context.clCreateCommandQueue(context.getContextId(), device.getId(), commandProperties);
+        } catch (OCLException e) {
+            throw new TornadoRuntimeException(e);
         }
-        return deviceCommandMap.get(device).get(Thread.currentThread().threadId(), device, context);
+        return new OCLCommandQueue(commandQueuePtr, commandProperties, deviceVersion);
     }
 
     public void cleanup(SPIRVOCLDevice device) {
-        if (deviceCommandMap.containsKey(device)) {
-            deviceCommandMap.get(device).cleanup(Thread.currentThread().threadId());
-        }
-        if (deviceCommandMap.get(device).size() == 0) {
-            deviceCommandMap.remove(device);
+        OCLCommandQueue queue = deviceCommandMap.remove(device);
+        if (queue != null) {
+            queue.cleanup();
         }
     }
 
     public int size() {
         return deviceCommandMap.size();
     }
-
-    private static class ThreadCommandQueueTable {
-        private final Map<Long, OCLCommandQueue> commandQueueMap;
-
-        ThreadCommandQueueTable() {
-            commandQueueMap = new ConcurrentHashMap<>();
-        }
-
-        public OCLCommandQueue get(long threadId, SPIRVOCLDevice device, OCLContext context) {
-            if (!commandQueueMap.containsKey(threadId)) {
-                final int deviceVersion = device.deviceVersion();
-                long commandProperties = context.getProperties();
-                long commandQueuePtr;
-                try {
-                    commandQueuePtr = context.clCreateCommandQueue(context.getContextId(), device.getId(), commandProperties);
-                } catch (OCLException e) {
-                    throw new TornadoRuntimeException(e);
-                }
-                OCLCommandQueue commandQueue = new OCLCommandQueue(commandQueuePtr, commandProperties, deviceVersion);
-                commandQueueMap.put(threadId, commandQueue);
-            }
-            return commandQueueMap.get(threadId);
-        }
-
-        public void cleanup(long threadId) {
-            if (commandQueueMap.containsKey(threadId)) {
-                OCLCommandQueue queue = commandQueueMap.remove(threadId);
-                queue.cleanup();
-            }
-        }
-
-        public int size() {
-            return commandQueueMap.size();
-        }
-    }
-}
\ No newline at end of file
+}
@@ -139,6 +139,25 @@ public class SPIRVOCLContext extends SPIRVContext {
         }
     }
 
+    @Override
+    public boolean isSubBufferSupported() {
+        return oclContext instanceof OCLContext;
+    }
+
+    @Override
+    public long createSubBuffer(long buffer, long offset, long numBytes, int deviceIndex) {
+        if (oclContext instanceof OCLContext oclContext) {
+            return oclContext.createSubBuffer(buffer, 0, offset, numBytes);
+        } else {
+            throw new RuntimeException("Unimplemented: " + oclContext.getClass());
+        }
+    }
+
+    @Override
+    public void freeSubBuffer(long subBuffer, int deviceIndex) {
+        freeMemory(subBuffer, deviceIndex);
+    }
+
     @Override
     public int readBuffer(long executionPlanId, int deviceIndex, long bufferId, long offset, long bytes, byte[] value, long hostOffset, int[] waitEvents, ProfilerTransfer profilerTransferp) {
         OCLCommandQueue commandQueue = getCommandQueue(executionPlanId, deviceIndex);
@@ -112,6 +112,11 @@ public class SPIRVCompiler {
 
     private static final SPIRVIRGenerationPhase LIR_GENERATION_PHASE = new SPIRVIRGenerationPhase();
 
+    /**
+     * Compilations are serialized, because the phase suites of a device, such as
+     * {@code TornadoTaskSpecialization}, keep the state of the compilation in
+     * progress in their fields and are shared by all the tasks of the device.
+     */
     private synchronized static SPIRVCompilationResult compile(SPIRVCompilationRequest r) {
         assert !r.graph.isFrozen();
         try (DebugContext.Scope s0 = getDebugContext().scope("GraalCompiler", r.graph, r.providers.getCodeCache()); DebugCloseable a = CompilerTimer.start(getDebugContext())) {
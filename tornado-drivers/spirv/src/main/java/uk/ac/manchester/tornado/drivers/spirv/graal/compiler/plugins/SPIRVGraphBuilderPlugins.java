@@ -84,6 +84,7 @@ import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVIntUnaryIntrinsic
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SlotsBaseAddressNode;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.directives.CompilerInternals;
+import uk.ac.manchester.tornado.runtime.graal.nodes.HalfFloatPlaceholder;
 
 public class SPIRVGraphBuilderPlugins {
 
@@ -376,6 +377,19 @@ public class SPIRVGraphBuilderPlugins {
                 return true;
             }
         });
+
+        r.register(new InvocationPlugin("floatToFloat16", float.class) {
+            @Override
+            public boolean apply(GraphBuilderContext b, ResolvedJavaMethod targetMethod, Receiver receiver, ValueNode floatValue) {
+                if (!HalfFloatPlaceholder.isHalfFloatStore(b.getMethod())) {
+                    // the short value is used as is, so the conversion is compiled from its Java code
+                    return false;
+                }
+                // the conversion is performed by the half float store that consumes the placeholder
+                b.push(JavaKind.Short, b.append(new HalfFloatPlaceholder(floatValue)));
+                return true;
+            }
+        });
     }
 
     private static void registerTornadoVMIntrinsicsPlugins(Plugins plugins) {
@@ -26,9 +26,11 @@ package uk.ac.manchester.tornado.drivers.spirv.graal.nodes;
 
 import org.graalvm.compiler.core.common.LIRKind;
 import org.graalvm.compiler.graph.NodeClass;
+import org.graalvm.compiler.lir.Variable;
 import org.graalvm.compiler.lir.gen.LIRGeneratorTool;
 import org.graalvm.compiler.nodeinfo.NodeInfo;
 import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.NodeView;
 import org.graalvm.compiler.nodes.ValueNode;
 import org.graalvm.compiler.nodes.memory.address.AddressNode;
 import org.graalvm.compiler.nodes.spi.LIRLowerable;
@@ -63,7 +65,17 @@ public class WriteHalfFloatNode extends FixedWithNextNode implements LIRLowerabl
         LIRGeneratorTool tool = generator.getLIRGeneratorTool();
 
         Value addressValue = generator.operand(addressNode);
-        Value valueToStore = generator.operand(valueNode);
+        Value valueToStore;
+        if (valueNode.stamp(NodeView.DEFAULT).isFloatStamp()) {
+            // the value to be written is in float format, so it needs to be converted to half float
+            LIRKind lirKind = LIRKind.value(SPIRVKind.OP_TYPE_FLOAT_16);
+            Variable halfValue = tool.newVariable(lirKind);
+            SPIRVUnary.CastOperations cast = new SPIRVUnary.CastFloatDouble(lirKind, halfValue, generator.operand(valueNode), SPIRVKind.OP_TYPE_FLOAT_16);
+            tool.append(new SPIRVLIRStmt.AssignStmt(halfValue, cast));
+            valueToStore = halfValue;
+        } else {
+            valueToStore = generator.operand(valueNode);
+        }
 
         if (addressValue instanceof MemoryAccess memoryAccess) {
             SPIRVUnary.SPIRVAddressCast cast = new SPIRVUnary.SPIRVAddressCast(memoryAccess.getValue(), memoryAccess.getMemoryRegion(), LIRKind.value(SPIRVKind.OP_TYPE_FLOAT_16));
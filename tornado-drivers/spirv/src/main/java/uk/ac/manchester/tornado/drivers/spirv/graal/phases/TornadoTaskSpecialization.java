@@ -224,7 +224,8 @@ public class TornadoTaskSpecialization extends BasePhase<TornadoHighTierContext>
                     if (batchThreads <= 0) {
                         constant = lookupPrimField(graph, node, value, field.getName(), field.getJavaKind());
                     } else {
-                        constant = ConstantNode.forInt((int) batchThreads);
+                        // The size field of the native arrays can be either an int or a long
+                        constant = ConstantNode.forIntegerKind(field.getJavaKind(), batchThreads);
                     }
                 } else {
                     constant = lookupPrimField(graph, node, value, field.getName(), field.getJavaKind());
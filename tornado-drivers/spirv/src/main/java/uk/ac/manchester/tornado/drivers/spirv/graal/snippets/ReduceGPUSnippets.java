@@ -24,6 +24,11 @@
  */
 package uk.ac.manchester.tornado.drivers.spirv.graal.snippets;
 
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import org.graalvm.compiler.api.replacements.Snippet;
 import org.graalvm.compiler.nodes.GraphState;
 import org.graalvm.compiler.nodes.ValueNode;
@@ -36,15 +41,14 @@ import org.graalvm.compiler.replacements.SnippetTemplate.SnippetInfo;
 import org.graalvm.compiler.replacements.Snippets;
 
 import jdk.vm.ci.meta.JavaKind;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.api.math.TornadoMath;
 import uk.ac.manchester.tornado.drivers.opencl.graal.snippets.TornadoSnippetTypeInference;
 import uk.ac.manchester.tornado.drivers.spirv.builtins.SPIRVOCLIntrinsics;
 import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.GlobalThreadSizeNode;
-import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVFPBinaryIntrinsicNode;
-import uk.ac.manchester.tornado.drivers.spirv.graal.nodes.SPIRVIntBinaryIntrinsicNode;
+import uk.ac.manchester.tornado.runtime.analyzer.ReduceCodeAnalysis;
+import uk.ac.manchester.tornado.runtime.analyzer.ReduceOperator;
 import uk.ac.manchester.tornado.runtime.graal.nodes.StoreAtomicIndexedNode;
-import uk.ac.manchester.tornado.runtime.graal.nodes.TornadoReduceAddNode;
-import uk.ac.manchester.tornado.runtime.graal.nodes.TornadoReduceMulNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.WriteAtomicNode;
 
 /**
@@ -800,197 +804,438 @@ public class ReduceGPUSnippets implements Snippets {
         }
     }
 
-    protected static class Tuple2<T0, T1> {
-        T0 t0;
-        T1 t1;
+    @Snippet
+    public static void partialReduceIntAnd(int[] inputArray, int[] outputArray, int gidx) {
+        int localIdx = SPIRVOCLIntrinsics.get_local_id(0);
+        int localGroupSize = SPIRVOCLIntrinsics.get_local_size(0);
+        int groupID = SPIRVOCLIntrinsics.get_group_id(0);
+
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
 
-        public Tuple2(T0 first, T1 second) {
-            this.t0 = first;
-            this.t1 = second;
+        localArray[localIdx] = inputArray[gidx];
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            SPIRVOCLIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] & localArray[localIdx + stride];
+            }
         }
 
-        public T0 f0() {
-            return t0;
+        SPIRVOCLIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
         }
+    }
 
-        public T1 f1() {
-            return t1;
+    @Snippet
+    public static void partialReduceIntAndCarrierValue(int[] inputArray, int[] outputArray, int gidx, int extra) {
+        int localIdx = SPIRVOCLIntrinsics.get_local_id(0);
+        int localGroupSize = SPIRVOCLIntrinsics.get_local_size(0);
+        int groupID = SPIRVOCLIntrinsics.get_group_id(0);
+
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = extra;
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            SPIRVOCLIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] & localArray[localIdx + stride];
+            }
+        }
+
+        SPIRVOCLIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
         }
     }
 
-    public static class Templates extends SnippetTemplate.AbstractTemplates implements TornadoSnippetTypeInference {
-        // Add
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceIntSnippet = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceIntAdd");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceIntSnippetCarrierValue = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceIntAddCarrierValue");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceLongSnippet = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceLongAdd");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceLongSnippetCarrierValue = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceLongAddCarrierValue");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceAddFloatSnippet = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceFloatAdd");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceAddFloatSnippetCarrierValue = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceFloatAddCarrierValue");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceAddDoubleSnippet = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceDoubleAdd");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceAddDoubleSnippetCarrierValue = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceDoubleAddCarrierValue");
-
-        // Mul
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceIntMultSnippet = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceIntMult");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceIntMultSnippetCarrierValue = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceIntMultCarrierValue");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceLongMultSnippet = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceLongMult");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceLongMultSnippetCarrierValue = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceLongMultCarrierValue");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceFloatMultSnippet = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceFloatMult");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceFloatMultSnippetCarrierValue = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceFloatMultCarrierValue");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceDoubleMultSnippet = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceDoubleMult");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceDoubleMultSnippetCarrierValue = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceDoubleMultCarrierValue");
-
-        // Max
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceIntMaxSnippet = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceIntMax");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceIntMaxSnippetCarrierValue = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceIntMaxCarrierValue");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceLongMaxSnippet = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceLongMax");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceLongMaxSnippetCarrierValue = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceLongMaxCarrierValue");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceMaxFloatSnippet = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceFloatMax");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceMaxFloatSnippetCarrierValue = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceFloatMaxCarrierValue");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceMaxDoubleSnippet = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceDoubleMax");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceMaxDoubleSnippetCarrierValue = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceDoubleMaxCarrierValue");
-
-        // Min
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceIntMinSnippet = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceIntMin");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceIntMinSnippetCarrierValue = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceIntMinCarrierValue");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceLongMinSnippet = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceLongMin");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceLongMinSnippetCarrierValue = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceLongMinCarrierValue");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceMinFloatSnippet = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceFloatMin");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceMinFloatSnippetCarrierValue = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceFloatMinCarrierValue");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceMinDoubleSnippet = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceDoubleMin");
-        private final Tuple2<Class<? extends ReduceGPUSnippets>, String> partialReduceMinDoubleSnippetCarrierValue = new Tuple2<>(ReduceGPUSnippets.class, "partialReduceDoubleMinCarrierValue");
-
-        Providers providers;
+    @Snippet
+    public static void partialReduceIntOr(int[] inputArray, int[] outputArray, int gidx) {
+        int localIdx = SPIRVOCLIntrinsics.get_local_id(0);
+        int localGroupSize = SPIRVOCLIntrinsics.get_local_size(0);
+        int groupID = SPIRVOCLIntrinsics.get_group_id(0);
 
-        public Templates(OptionValues options, Providers providers) {
-            super(options, providers);
-            this.providers = providers;
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = inputArray[gidx];
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            SPIRVOCLIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] | localArray[localIdx + stride];
+            }
+        }
+
+        SPIRVOCLIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
         }
+    }
+
+    @Snippet
+    public static void partialReduceIntOrCarrierValue(int[] inputArray, int[] outputArray, int gidx, int extra) {
+        int localIdx = SPIRVOCLIntrinsics.get_local_id(0);
+        int localGroupSize = SPIRVOCLIntrinsics.get_local_size(0);
+        int groupID = SPIRVOCLIntrinsics.get_group_id(0);
+
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = extra;
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            SPIRVOCLIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] | localArray[localIdx + stride];
+            }
+        }
+
+        SPIRVOCLIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceIntXor(int[] inputArray, int[] outputArray, int gidx) {
+        int localIdx = SPIRVOCLIntrinsics.get_local_id(0);
+        int localGroupSize = SPIRVOCLIntrinsics.get_local_size(0);
+        int groupID = SPIRVOCLIntrinsics.get_group_id(0);
+
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
 
-        private SnippetInfo snippet(Tuple2<Class<? extends ReduceGPUSnippets>, String> tuple2) {
-            return snippet(providers, tuple2.t0, tuple2.t1);
+        localArray[localIdx] = inputArray[gidx];
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            SPIRVOCLIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] ^ localArray[localIdx + stride];
+            }
+        }
 
+        SPIRVOCLIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
         }
+    }
+
+    @Snippet
+    public static void partialReduceIntXorCarrierValue(int[] inputArray, int[] outputArray, int gidx, int extra) {
+        int localIdx = SPIRVOCLIntrinsics.get_local_id(0);
+        int localGroupSize = SPIRVOCLIntrinsics.get_local_size(0);
+        int groupID = SPIRVOCLIntrinsics.get_group_id(0);
+
+        int[] localArray = (int[]) NewArrayNode.newUninitializedArray(int.class, LOCAL_WORK_GROUP_SIZE);
 
-        private SnippetTemplate.SnippetInfo getSnippetFromOCLBinaryNodeInteger(SPIRVIntBinaryIntrinsicNode value, ValueNode extra) {
-            switch (value.operation()) {
-                case MAX:
-                    return (extra == null) ? snippet(partialReduceIntMaxSnippet) : snippet(partialReduceIntMaxSnippetCarrierValue);
-                case MIN:
-                    return (extra == null) ? snippet(partialReduceIntMinSnippet) : snippet(partialReduceIntMinSnippetCarrierValue);
-                default:
-                    throw new RuntimeException("Reduce Operation no supported yet: snippet not installed");
+        localArray[localIdx] = extra;
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            SPIRVOCLIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] ^ localArray[localIdx + stride];
             }
         }
 
-        private SnippetTemplate.SnippetInfo getSnippetFromOCLBinaryNodeLong(SPIRVIntBinaryIntrinsicNode value, ValueNode extra) {
-            switch (value.operation()) {
-                case MAX:
-                    return (extra == null) ? snippet(partialReduceLongMaxSnippet) : snippet(partialReduceLongMaxSnippetCarrierValue);
-                case MIN:
-                    return (extra == null) ? snippet(partialReduceLongMinSnippet) : snippet(partialReduceLongMinSnippetCarrierValue);
-                default:
-                    throw new RuntimeException("Reduce Operation no supported yet: snippet not installed");
+        SPIRVOCLIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongAnd(long[] inputArray, long[] outputArray, int gidx) {
+
+        int localIdx = SPIRVOCLIntrinsics.get_local_id(0);
+        int localGroupSize = SPIRVOCLIntrinsics.get_local_size(0);
+        int groupID = SPIRVOCLIntrinsics.get_group_id(0);
+
+        long[] localArray = (long[]) NewArrayNode.newUninitializedArray(long.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = inputArray[gidx];
+
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            SPIRVOCLIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] & localArray[localIdx + stride];
             }
         }
 
-        @Override
-        public SnippetTemplate.SnippetInfo inferIntSnippet(ValueNode value, ValueNode extra) {
-            SnippetTemplate.SnippetInfo snippet;
-            if (value instanceof TornadoReduceAddNode) {
-                snippet = (extra == null) ? snippet(partialReduceIntSnippet) : snippet(partialReduceIntSnippetCarrierValue);
-            } else if (value instanceof TornadoReduceMulNode) {
-                // operation = ATOMIC_OPERATION.MUL;
-                snippet = (extra == null) ? snippet(partialReduceIntMultSnippet) : snippet(partialReduceIntMultSnippetCarrierValue);
-            } else if (value instanceof SPIRVIntBinaryIntrinsicNode) {
-                SPIRVIntBinaryIntrinsicNode op = (SPIRVIntBinaryIntrinsicNode) value;
-                snippet = getSnippetFromOCLBinaryNodeInteger(op, extra);
-            } else {
-                throw new RuntimeException("Reduce Operation no supported yet: snippet not installed");
+        SPIRVOCLIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongAndCarrierValue(long[] inputArray, long[] outputArray, int gidx, long extra) {
+
+        int localIdx = SPIRVOCLIntrinsics.get_local_id(0);
+        int localGroupSize = SPIRVOCLIntrinsics.get_local_size(0);
+        int groupID = SPIRVOCLIntrinsics.get_group_id(0);
+
+        long[] localArray = (long[]) NewArrayNode.newUninitializedArray(long.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = extra;
+
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            SPIRVOCLIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] & localArray[localIdx + stride];
             }
-            return snippet;
         }
 
-        @Override
-        public SnippetTemplate.SnippetInfo inferLongSnippet(ValueNode value, ValueNode extra) {
-            SnippetTemplate.SnippetInfo snippet;
-            if (value instanceof TornadoReduceAddNode) {
-                snippet = (extra == null) ? snippet(partialReduceLongSnippet) : snippet(partialReduceLongSnippetCarrierValue);
-            } else if (value instanceof TornadoReduceMulNode) {
-                snippet = (extra == null) ? snippet(partialReduceLongMultSnippet) : snippet(partialReduceLongMultSnippetCarrierValue);
-            } else if (value instanceof SPIRVIntBinaryIntrinsicNode) {
-                SPIRVIntBinaryIntrinsicNode op = (SPIRVIntBinaryIntrinsicNode) value;
-                snippet = getSnippetFromOCLBinaryNodeLong(op, extra);
-            } else {
-                throw new RuntimeException("Reduce Operation no supported yet: snippet not installed");
+        SPIRVOCLIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongOr(long[] inputArray, long[] outputArray, int gidx) {
+
+        int localIdx = SPIRVOCLIntrinsics.get_local_id(0);
+        int localGroupSize = SPIRVOCLIntrinsics.get_local_size(0);
+        int groupID = SPIRVOCLIntrinsics.get_group_id(0);
+
+        long[] localArray = (long[]) NewArrayNode.newUninitializedArray(long.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = inputArray[gidx];
+
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            SPIRVOCLIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] | localArray[localIdx + stride];
             }
-            return snippet;
         }
 
-        private SnippetTemplate.SnippetInfo getSnippetFromOCLBinaryNodeInteger(SPIRVFPBinaryIntrinsicNode value, ValueNode extra) {
-            switch (value.operation()) {
-                case FMAX:
-                    return extra == null ? snippet(partialReduceMaxFloatSnippet) : snippet(partialReduceMaxFloatSnippetCarrierValue);
-                case FMIN:
-                    return extra == null ? snippet(partialReduceMinFloatSnippet) : snippet(partialReduceMinFloatSnippetCarrierValue);
-                default:
-                    throw new RuntimeException("OCLFPBinaryIntrinsicNode operation not supported yet");
+        SPIRVOCLIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongOrCarrierValue(long[] inputArray, long[] outputArray, int gidx, long extra) {
+
+        int localIdx = SPIRVOCLIntrinsics.get_local_id(0);
+        int localGroupSize = SPIRVOCLIntrinsics.get_local_size(0);
+        int groupID = SPIRVOCLIntrinsics.get_group_id(0);
+
+        long[] localArray = (long[]) NewArrayNode.newUninitializedArray(long.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = extra;
+
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            SPIRVOCLIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] | localArray[localIdx + stride];
             }
         }
 
-        @Override
-        public SnippetTemplate.SnippetInfo inferFloatSnippet(ValueNode value, ValueNode extra) {
-            SnippetTemplate.SnippetInfo snippet;
-            if (value instanceof TornadoReduceAddNode) {
-                snippet = (extra == null) ? snippet(partialReduceAddFloatSnippet) : snippet(partialReduceAddFloatSnippetCarrierValue);
-            } else if (value instanceof TornadoReduceMulNode) {
-                snippet = (extra == null) ? snippet(partialReduceFloatMultSnippet) : snippet(partialReduceFloatMultSnippetCarrierValue);
-            } else if (value instanceof SPIRVFPBinaryIntrinsicNode) {
-                snippet = getSnippetFromOCLBinaryNodeInteger((SPIRVFPBinaryIntrinsicNode) value, extra);
-            } else {
-                throw new RuntimeException("Reduce Operation no supported yet: snippet not installed");
+        SPIRVOCLIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongXor(long[] inputArray, long[] outputArray, int gidx) {
+
+        int localIdx = SPIRVOCLIntrinsics.get_local_id(0);
+        int localGroupSize = SPIRVOCLIntrinsics.get_local_size(0);
+        int groupID = SPIRVOCLIntrinsics.get_group_id(0);
+
+        long[] localArray = (long[]) NewArrayNode.newUninitializedArray(long.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = inputArray[gidx];
+
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            SPIRVOCLIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] ^ localArray[localIdx + stride];
             }
-            return snippet;
         }
 
-        private SnippetTemplate.SnippetInfo getSnippetFromOCLBinaryNodeDouble(SPIRVFPBinaryIntrinsicNode value, ValueNode extra) {
-            switch (value.operation()) {
-                case FMAX:
-                    return extra == null ? snippet(partialReduceMaxDoubleSnippet) : snippet(partialReduceMaxDoubleSnippetCarrierValue);
-                case FMIN:
-                    return extra == null ? snippet(partialReduceMinDoubleSnippet) : snippet(partialReduceMinDoubleSnippetCarrierValue);
-                default:
-                    throw new RuntimeException("OCLFPBinaryIntrinsicNode operation not supported yet");
+        SPIRVOCLIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceLongXorCarrierValue(long[] inputArray, long[] outputArray, int gidx, long extra) {
+
+        int localIdx = SPIRVOCLIntrinsics.get_local_id(0);
+        int localGroupSize = SPIRVOCLIntrinsics.get_local_size(0);
+        int groupID = SPIRVOCLIntrinsics.get_group_id(0);
+
+        long[] localArray = (long[]) NewArrayNode.newUninitializedArray(long.class, LOCAL_WORK_GROUP_SIZE);
+
+        localArray[localIdx] = extra;
+
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            SPIRVOCLIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] ^ localArray[localIdx + stride];
             }
         }
 
-        @Override
-        public SnippetTemplate.SnippetInfo inferDoubleSnippet(ValueNode value, ValueNode extra) {
-            SnippetTemplate.SnippetInfo snippet;
-            if (value instanceof TornadoReduceAddNode) {
-                snippet = (extra == null) ? snippet(partialReduceAddDoubleSnippet) : snippet(partialReduceAddDoubleSnippetCarrierValue);
-            } else if (value instanceof TornadoReduceMulNode) {
-                snippet = (extra == null) ? snippet(partialReduceDoubleMultSnippet) : snippet(partialReduceDoubleMultSnippetCarrierValue);
-            } else if (value instanceof SPIRVFPBinaryIntrinsicNode) {
-                snippet = getSnippetFromOCLBinaryNodeDouble((SPIRVFPBinaryIntrinsicNode) value, extra);
-            } else {
-                throw new RuntimeException("Reduce Operation no supported yet: snippet not installed");
+        SPIRVOCLIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceFloatCompensatedAdd(float[] inputArray, float[] outputArray, int gidx) {
+        float[] localArray = (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+        float[] localCompensation = (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = SPIRVOCLIntrinsics.get_local_id(0);
+        int localGroupSize = SPIRVOCLIntrinsics.get_local_size(0);
+        int groupID = SPIRVOCLIntrinsics.get_group_id(0);
+
+        localArray[localIdx] = inputArray[gidx];
+        localCompensation[localIdx] = 0.0f;
+
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            SPIRVOCLIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                // Each element accumulates the rounding errors of its partial sum
+                float a = localArray[localIdx];
+                float b = localArray[localIdx + stride];
+                float sum = a + b;
+                float bVirtual = sum - a;
+                float error = (a - (sum - bVirtual)) + (b - bVirtual);
+                localArray[localIdx] = sum;
+                localCompensation[localIdx] += localCompensation[localIdx + stride] + error;
+            }
+        }
+
+        SPIRVOCLIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0] + localCompensation[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceFloatCompensatedAddCarrierValue(float[] inputArray, float[] outputArray, int gidx, float value) {
+        float[] localArray = (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+        float[] localCompensation = (float[]) NewArrayNode.newUninitializedArray(float.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = SPIRVOCLIntrinsics.get_local_id(0);
+        int localGroupSize = SPIRVOCLIntrinsics.get_local_size(0);
+        int groupID = SPIRVOCLIntrinsics.get_group_id(0);
+
+        localArray[localIdx] = value;
+        localCompensation[localIdx] = 0.0f;
+
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            SPIRVOCLIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                // Each element accumulates the rounding errors of its partial sum
+                float a = localArray[localIdx];
+                float b = localArray[localIdx + stride];
+                float sum = a + b;
+                float bVirtual = sum - a;
+                float error = (a - (sum - bVirtual)) + (b - bVirtual);
+                localArray[localIdx] = sum;
+                localCompensation[localIdx] += localCompensation[localIdx + stride] + error;
+            }
+        }
+
+        SPIRVOCLIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0] + localCompensation[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceDoubleCompensatedAdd(double[] inputArray, double[] outputArray, int gidx) {
+        double[] localArray = (double[]) NewArrayNode.newUninitializedArray(double.class, LOCAL_WORK_GROUP_SIZE);
+        double[] localCompensation = (double[]) NewArrayNode.newUninitializedArray(double.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = SPIRVOCLIntrinsics.get_local_id(0);
+        int localGroupSize = SPIRVOCLIntrinsics.get_local_size(0);
+        int groupID = SPIRVOCLIntrinsics.get_group_id(0);
+
+        localArray[localIdx] = inputArray[gidx];
+        localCompensation[localIdx] = 0.0;
+
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            SPIRVOCLIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                // Each element accumulates the rounding errors of its partial sum
+                double a = localArray[localIdx];
+                double b = localArray[localIdx + stride];
+                double sum = a + b;
+                double bVirtual = sum - a;
+                double error = (a - (sum - bVirtual)) + (b - bVirtual);
+                localArray[localIdx] = sum;
+                localCompensation[localIdx] += localCompensation[localIdx + stride] + error;
             }
-            return snippet;
         }
 
+        SPIRVOCLIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0] + localCompensation[0];
+        }
+    }
+
+    @Snippet
+    public static void partialReduceDoubleCompensatedAddCarrierValue(double[] inputArray, double[] outputArray, int gidx, double value) {
+        double[] localArray = (double[]) NewArrayNode.newUninitializedArray(double.class, LOCAL_WORK_GROUP_SIZE);
+        double[] localCompensation = (double[]) NewArrayNode.newUninitializedArray(double.class, LOCAL_WORK_GROUP_SIZE);
+
+        int localIdx = SPIRVOCLIntrinsics.get_local_id(0);
+        int localGroupSize = SPIRVOCLIntrinsics.get_local_size(0);
+        int groupID = SPIRVOCLIntrinsics.get_group_id(0);
+
+        localArray[localIdx] = value;
+        localCompensation[localIdx] = 0.0;
+
+        for (int stride = (localGroupSize / 2); stride > 0; stride /= 2) {
+            SPIRVOCLIntrinsics.localBarrier();
+            if (localIdx < stride) {
+                // Each element accumulates the rounding errors of its partial sum
+                double a = localArray[localIdx];
+                double b = localArray[localIdx + stride];
+                double sum = a + b;
+                double bVirtual = sum - a;
+                double error = (a - (sum - bVirtual)) + (b - bVirtual);
+                localArray[localIdx] = sum;
+                localCompensation[localIdx] += localCompensation[localIdx + stride] + error;
+            }
+        }
+
+        SPIRVOCLIntrinsics.globalBarrier();
+        if (localIdx == 0) {
+            outputArray[groupID + 1] = localArray[0] + localCompensation[0];
+        }
+    }
+
+    public static class Templates extends SnippetTemplate.AbstractTemplates implements TornadoSnippetTypeInference {
+
+        private static final Set<String> SNIPPET_NAMES = Arrays.stream(ReduceGPUSnippets.class.getDeclaredMethods()) //
+                .filter(method -> method.isAnnotationPresent(Snippet.class)) //
+                .map(Method::getName) //
+                .collect(Collectors.toUnmodifiableSet());
+
+        private final Providers providers;
+
+        public Templates(OptionValues options, Providers providers) {
+            super(options, providers);
+            this.providers = providers;
+        }
+
+        /**
+         * Selects the snippet of the reduce operator implemented by the value node. The
+         * snippets follow the naming of
+         * {@link ReduceOperator#getPartialReduceSnippetName(JavaKind, boolean)}, so a
+         * new operator only needs its snippets in this class.
+         */
         @Override
-        public SnippetTemplate.SnippetInfo getSnippetInstance(JavaKind elementKind, ValueNode value, ValueNode extra) {
-            SnippetTemplate.SnippetInfo snippet = null;
-            if (elementKind == JavaKind.Int) {
-                snippet = inferIntSnippet(value, extra);
-            } else if (elementKind == JavaKind.Long) {
-                snippet = inferLongSnippet(value, extra);
-            } else if (elementKind == JavaKind.Float) {
-                snippet = inferFloatSnippet(value, extra);
-            } else if (elementKind == JavaKind.Double) {
-                snippet = inferDoubleSnippet(value, extra);
+        public SnippetInfo getSnippetInstance(JavaKind elementKind, ValueNode value, ValueNode extra) {
+            ReduceOperator operator = ReduceCodeAnalysis.getReduceOperation(value);
+            String snippetName = operator.getPartialReduceSnippetName(elementKind, extra != null);
+            if (!SNIPPET_NAMES.contains(snippetName)) {
+                throw new TornadoRuntimeException("Reduce Operation no supported yet: snippet " + snippetName + " not installed");
             }
-            return snippet;
+            return snippet(providers, ReduceGPUSnippets.class, snippetName);
         }
 
         public void lower(StoreAtomicIndexedNode storeAtomicIndexed, ValueNode globalId, GlobalThreadSizeNode globalSize, LoweringTool tool) {
@@ -26,6 +26,7 @@ package uk.ac.manchester.tornado.drivers.spirv.runtime;
 import uk.ac.manchester.tornado.api.common.Access;
 import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider;
 import uk.ac.manchester.tornado.drivers.spirv.SPIRVDeviceContext;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 
 public class SPIRVBufferProvider extends TornadoBufferProvider {
 
@@ -42,4 +43,24 @@ public class SPIRVBufferProvider extends TornadoBufferProvider {
     protected void releaseBuffer(long buffer) {
         ((SPIRVDeviceContext) deviceContext).getSpirvContext().freeMemory(buffer, deviceContext.getDeviceIndex());
     }
+
+    @Override
+    protected boolean isSubBufferSupported() {
+        return ((SPIRVDeviceContext) deviceContext).getSpirvContext().isSubBufferSupported();
+    }
+
+    @Override
+    protected long createSubBuffer(long buffer, long offset, long size, Access access) {
+        return ((SPIRVDeviceContext) deviceContext).getSpirvContext().createSubBuffer(buffer, offset, size, deviceContext.getDeviceIndex());
+    }
+
+    @Override
+    protected void releaseSubBuffer(long subBuffer) {
+        ((SPIRVDeviceContext) deviceContext).getSpirvContext().freeSubBuffer(subBuffer, deviceContext.getDeviceIndex());
+    }
+
+    @Override
+    protected long getArenaAlignment() {
+        return TornadoOptions.SPIRV_ARRAY_ALIGNMENT;
+    }
 }
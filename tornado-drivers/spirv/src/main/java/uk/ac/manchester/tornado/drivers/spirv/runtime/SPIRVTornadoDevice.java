@@ -49,6 +49,7 @@ import uk.ac.manchester.tornado.api.profiler.ProfilerType;
 import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
 import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 import uk.ac.manchester.tornado.api.types.tensors.Tensor;
+import uk.ac.manchester.tornado.drivers.common.KernelDiskCache;
 import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider;
 import uk.ac.manchester.tornado.drivers.opencl.mm.AtomicsBuffer;
 import uk.ac.manchester.tornado.drivers.spirv.SPIRVBackend;
@@ -79,8 +80,8 @@ import uk.ac.manchester.tornado.runtime.common.TornadoSchedulingStrategy;
 import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
 import uk.ac.manchester.tornado.runtime.common.XPUDeviceBufferState;
 import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
-import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketcher;
 import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
+import uk.ac.manchester.tornado.runtime.tasks.FusedTask;
 import uk.ac.manchester.tornado.runtime.tasks.PrebuiltTask;
 import uk.ac.manchester.tornado.runtime.tasks.meta.TaskDataContext;
 
@@ -151,8 +152,8 @@ public class SPIRVTornadoDevice implements TornadoXPUDevice {
         TornadoProfiler profiler = task.getProfiler();
         final SPIRVDeviceContext deviceContext = getDeviceContext();
 
-        final ResolvedJavaMethod resolvedMethod = TornadoCoreRuntime.getTornadoRuntime().resolveMethod(task.getMethod());
-        final Sketch sketch = TornadoSketcher.lookup(resolvedMethod, task.meta().getBackendIndex(), task.meta().getDeviceIndex());
+        final ResolvedJavaMethod resolvedMethod = task.getResolvedMethod();
+        final Sketch sketch = task.getSketch();
 
         // copy meta data into task
         final TaskDataContext taskMeta = task.meta();
@@ -167,6 +168,24 @@ public class SPIRVTornadoDevice implements TornadoXPUDevice {
 
         System.arraycopy(sketchAccess, 0, taskAccess, 0, sketchAccess.length);
 
+        // Lookup in the persistent kernel cache
+        String kernelCacheKey = null;
+        // Fused kernels have no bytecode of their own to build a cache key from
+        if (KernelDiskCache.isEnabled() && !taskMeta.isPrintKernelEnabled() && !(task instanceof FusedTask)) {
+            kernelCacheKey = getKernelDiskCache().buildKey(task, resolvedMethod, sketch.getGraph(), taskMeta.getCompilerFlags(TornadoVMBackendType.SPIRV));
+            KernelDiskCache.Entry cachedEntry = getKernelDiskCache().lookup(kernelCacheKey);
+            if (cachedEntry != null) {
+                if (taskMeta.getDomain() == null && cachedEntry.domain() != null) {
+                    taskMeta.setDomain(cachedEntry.domain());
+                }
+                profiler.start(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
+                TornadoInstalledCode installedCode = deviceContext.installBinary(executionPlanId, taskMeta, task.getId(), cachedEntry.entryPoint(), cachedEntry.binary());
+                profiler.stop(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
+                profiler.sum(ProfilerType.TOTAL_DRIVER_COMPILE_TIME, profiler.getTaskTimer(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId()));
+                return installedCode;
+            }
+        }
+
         try {
             SPIRVCompilationResult result;
             // Compile the code and insert the SPIR-V binary into the code cache
@@ -180,6 +199,10 @@ public class SPIRVTornadoDevice implements TornadoXPUDevice {
             TornadoInstalledCode installedCode = deviceContext.installBinary(executionPlanId, result);
             profiler.stop(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
             profiler.sum(ProfilerType.TOTAL_DRIVER_COMPILE_TIME, profiler.getTaskTimer(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId()));
+
+            if (kernelCacheKey != null && installedCode.isValid()) {
+                getKernelDiskCache().store(kernelCacheKey, result.getName(), taskMeta.getDomain(), result.getSPIRVBinary());
+            }
             return installedCode;
         } catch (Exception e) {
             TornadoLogger logger = new TornadoLogger(this.getClass());
@@ -193,6 +216,11 @@ public class SPIRVTornadoDevice implements TornadoXPUDevice {
         }
     }
 
+    private KernelDiskCache getKernelDiskCache() {
+        String deviceIdentity = device.getPlatformName() + "/" + device.getName() + "/" + device.getSPIRVRuntime() + "/" + device.getDeviceOpenCLCVersion();
+        return KernelDiskCache.getInstance("spirv", deviceIdentity);
+    }
+
     @Override
     public boolean isFullJITMode(long executionPlanId, SchedulableTask task) {
         return false;
@@ -238,6 +266,21 @@ public class SPIRVTornadoDevice implements TornadoXPUDevice {
         throw new RuntimeException("Unsupported");
     }
 
+    @Override
+    public long getBufferPoolHits() {
+        return getDeviceContext().getBufferProvider().getPoolHits();
+    }
+
+    @Override
+    public long getBufferPoolMisses() {
+        return getDeviceContext().getBufferProvider().getPoolMisses();
+    }
+
+    @Override
+    public int getNumRetainedEvents(long executionPlanId) {
+        return getDeviceContext().getNumRetainedEvents(executionPlanId);
+    }
+
     private XPUBuffer createArrayWrapper(Class<?> klass, SPIRVDeviceContext device, long batchSize, Access access) {
         if (klass == int[].class) {
             return new SPIRVIntArrayWrapper(device, batchSize, access);
@@ -391,6 +434,7 @@ public class SPIRVTornadoDevice implements TornadoXPUDevice {
     public List<Integer> ensurePresent(long executionPlanId, Object object, DeviceBufferState objectState, int[] events, long batchSize, long offset) {
         if (!objectState.hasContent()) {
             objectState.setContents(true);
+            objectState.setCopyInRanges(null, 0);
             return objectState.getXPUBuffer().enqueueWrite(executionPlanId, object, batchSize, offset, events, events == null);
         }
         return null;
@@ -398,7 +442,17 @@ public class SPIRVTornadoDevice implements TornadoXPUDevice {
 
     @Override
     public List<Integer> streamIn(long executionPlanId, Object object, long batchSize, long hostOffset, DeviceBufferState objectState, int[] events) {
+        final boolean hasContents = objectState.hasContent();
         objectState.setContents(true);
+        if (object instanceof TornadoNativeArray nativeArray) {
+            final long[] dirtyRanges = nativeArray.pollDirtyRanges(objectState, TornadoOptions.MAX_DIRTY_RANGES);
+            if (dirtyRanges != null && hasContents && batchSize <= 0) {
+                // The device buffer is up to date except for the ranges modified on the host since its last copy
+                objectState.setCopyInRanges(dirtyRanges, nativeArray.getElementSize());
+                return objectState.getXPUBuffer().enqueueWriteRanges(executionPlanId, object, dirtyRanges, events, events == null);
+            }
+        }
+        objectState.setCopyInRanges(null, 0);
         return objectState.getXPUBuffer().enqueueWrite(executionPlanId, object, batchSize, hostOffset, events, events == null);
     }
 
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.runtime;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.ac.manchester.tornado.api.TornadoDeviceContext;
+import uk.ac.manchester.tornado.api.TornadoTargetDevice;
+import uk.ac.manchester.tornado.api.common.Access;
+import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider;
+
+/**
+ * Measures the allocation and release of buffers through the
+ * {@link TornadoBufferProvider}. The native allocations are replaced by a
+ * counter, so only the bookkeeping of the pool is measured.
+ *
+ * <p>
+ * How to run in isolation?
+ * </p>
+ * <code>
+ * tornado -jar tornado-runtime-benchmarks/target/jmhbenchmarks.jar uk.ac.manchester.tornado.benchmarks.runtime.JMHBufferProvider
+ * </code>
+ */
+public class JMHBufferProvider {
+
+    /**
+     * A buffer provider that hands out fake buffer addresses instead of calling
+     * the driver.
+     */
+    private static final class HostBufferProvider extends TornadoBufferProvider {
+
+        private long nextBuffer = 1;
+
+        HostBufferProvider() {
+            super(createDeviceContext());
+        }
+
+        @Override
+        protected long allocateBuffer(long size, Access access) {
+            return nextBuffer++;
+        }
+
+        @Override
+        protected void releaseBuffer(long buffer) {
+            // Nothing to release
+        }
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == float.class) {
+            return 0.0f;
+        } else if (type == double.class) {
+            return 0.0;
+        }
+        return null;
+    }
+
+    private static TornadoDeviceContext createDeviceContext() {
+        ClassLoader classLoader = JMHBufferProvider.class.getClassLoader();
+        TornadoTargetDevice device = (TornadoTargetDevice) Proxy.newProxyInstance(classLoader, new Class<?>[] { TornadoTargetDevice.class }, (proxy, method, args) -> //
+        method.getName().equals("getDeviceMaxAllocationSize") ? Long.MAX_VALUE : defaultValue(method.getReturnType()));
+        return (TornadoDeviceContext) Proxy.newProxyInstance(classLoader, new Class<?>[] { TornadoDeviceContext.class }, (proxy, method, args) -> //
+        method.getName().equals("getDevice") ? device : defaultValue(method.getReturnType()));
+    }
+
+    @State(Scope.Thread)
+    public static class BenchmarkSetup {
+
+        @Param({ "4096", "1048576", "67108864" })
+        private long size;
+
+        private TornadoBufferProvider bufferProvider;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            bufferProvider = new HostBufferProvider();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public long allocateAndRelease(BenchmarkSetup state) {
+        final long buffer = state.bufferProvider.getOrAllocateBufferWithSize(state.size, Access.READ_WRITE);
+        state.bufferProvider.markBufferReleased(buffer, Access.READ_WRITE);
+        return buffer;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.runtime;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+
+/**
+ * Measures the dispatch of the TornadoVM bytecodes by the interpreter. It must
+ * run on the virtual OpenCL device, in which no kernel or data transfer reaches
+ * a device, so the time is spent in the runtime only.
+ *
+ * <p>
+ * How to run in isolation?
+ * </p>
+ * <code>
+ * tornado --jvm="-Dtornado.virtual.device=True -Dtornado.device.desc=${TORNADO_SDK}/examples/virtual-device-GPU.json" -jar tornado-runtime-benchmarks/target/jmhbenchmarks.jar uk.ac.manchester.tornado.benchmarks.runtime.JMHInterpreterDispatch
+ * </code>
+ */
+public class JMHInterpreterDispatch {
+
+    @State(Scope.Thread)
+    public static class BenchmarkSetup {
+
+        private final int numElements = Integer.parseInt(System.getProperty("x", "1024"));
+        private TornadoExecutionPlan executionPlan;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            FloatArray[] arrays = RuntimeKernels.createArrays(numElements);
+            TaskGraph taskGraph = new TaskGraph("benchmark") //
+                    .transferToDevice(DataTransferMode.EVERY_EXECUTION, arrays[0], arrays[1]) //
+                    .task("t0", RuntimeKernels::vectorAdd, arrays[0], arrays[1], arrays[2]) //
+                    .task("t1", RuntimeKernels::vectorMul, arrays[0], arrays[2], arrays[3]) //
+                    .task("t2", RuntimeKernels::vectorAdd, arrays[0], arrays[3], arrays[4]) //
+                    .task("t3", RuntimeKernels::vectorMul, arrays[0], arrays[4], arrays[5]) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, arrays[5]);
+
+            ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+            executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+            // The first execution compiles the kernels
+            executionPlan.execute();
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() throws TornadoExecutionPlanException {
+            executionPlan.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void execute(BenchmarkSetup state, Blackhole blackhole) {
+        blackhole.consume(state.executionPlan.execute());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.runtime;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.ac.manchester.tornado.api.types.HalfFloat;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.HalfFloatArray;
+
+/**
+ * Measures the host-side accessors and the copies from and to heap arrays of
+ * the off-heap {@link FloatArray} and {@link HalfFloatArray} types.
+ *
+ * <p>
+ * How to run in isolation?
+ * </p>
+ * <code>
+ * tornado -jar tornado-runtime-benchmarks/target/jmhbenchmarks.jar uk.ac.manchester.tornado.benchmarks.runtime.JMHNativeArrays
+ * </code>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+public class JMHNativeArrays {
+
+    @State(Scope.Thread)
+    public static class BenchmarkSetup {
+
+        private final int numElements = Integer.parseInt(System.getProperty("x", "65536"));
+        private float[] heapFloats;
+        private HalfFloat[] heapHalfFloats;
+        private FloatArray floatArray;
+        private HalfFloatArray halfFloatArray;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            heapFloats = new float[numElements];
+            heapHalfFloats = new HalfFloat[numElements];
+            for (int i = 0; i < numElements; i++) {
+                heapFloats[i] = i;
+                heapHalfFloats[i] = new HalfFloat(i % 1024);
+            }
+            floatArray = FloatArray.fromArray(heapFloats);
+            halfFloatArray = HalfFloatArray.fromArray(heapHalfFloats);
+        }
+    }
+
+    @Benchmark
+    public void floatArrayGetSet(BenchmarkSetup state) {
+        final FloatArray array = state.floatArray;
+        for (int i = 0; i < array.getSize(); i++) {
+            array.set(i, array.get(i) + 1.0f);
+        }
+    }
+
+    @Benchmark
+    public FloatArray floatArrayFromArray(BenchmarkSetup state) {
+        return FloatArray.fromArray(state.heapFloats);
+    }
+
+    @Benchmark
+    public float[] floatArrayToHeapArray(BenchmarkSetup state) {
+        return state.floatArray.toHeapArray();
+    }
+
+    @Benchmark
+    public void halfFloatArrayGetSet(BenchmarkSetup state, Blackhole blackhole) {
+        final HalfFloatArray array = state.halfFloatArray;
+        for (int i = 0; i < array.getSize(); i++) {
+            HalfFloat value = array.get(i);
+            array.set(i, value);
+            blackhole.consume(value);
+        }
+    }
+
+    @Benchmark
+    public HalfFloatArray halfFloatArrayFromArray(BenchmarkSetup state) {
+        return HalfFloatArray.fromArray(state.heapHalfFloats);
+    }
+
+    @Benchmark
+    public HalfFloat[] halfFloatArrayToHeapArray(BenchmarkSetup state) {
+        return state.halfFloatArray.toHeapArray();
+    }
+}
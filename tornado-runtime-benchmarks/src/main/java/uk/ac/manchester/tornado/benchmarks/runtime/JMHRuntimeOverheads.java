@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.runtime;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs all the runtime-overhead benchmarks and stores the results in JSON
+ * format, so they can be compared across commits.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado --jvm="-Dtornado.virtual.device=True -Dtornado.device.desc=${TORNADO_SDK}/examples/virtual-device-GPU.json" -cp tornado-runtime-benchmarks/target/jmhbenchmarks.jar uk.ac.manchester.tornado.benchmarks.runtime.JMHRuntimeOverheads [results.json]
+ * </code>
+ */
+public class JMHRuntimeOverheads {
+
+    private static final String DEFAULT_RESULT_FILE = "tornado-runtime-overheads.json";
+
+    public static void main(String[] args) throws RunnerException {
+        String resultFile = args.length > 0 ? args[0] : DEFAULT_RESULT_FILE;
+        Options opt = new OptionsBuilder() //
+                .include(JMHRuntimeOverheads.class.getPackageName() + ".*") //
+                .resultFormat(ResultFormatType.JSON) //
+                .result(resultFile) //
+                .build();
+        new Runner(opt).run();
+    }
+}
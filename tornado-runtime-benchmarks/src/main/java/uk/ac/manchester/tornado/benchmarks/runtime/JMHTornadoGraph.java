@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.runtime;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.runtime.graph.TornadoGraph;
+import uk.ac.manchester.tornado.runtime.graph.TornadoVMBytecodeResult;
+import uk.ac.manchester.tornado.runtime.graph.TornadoVMGraphCompiler;
+import uk.ac.manchester.tornado.runtime.tasks.TornadoTaskGraph;
+
+/**
+ * Measures the construction of the {@link TornadoGraph} from the high-level
+ * bytecodes of a task-graph and its compilation into TornadoVM bytecodes.
+ *
+ * <p>
+ * How to run in isolation?
+ * </p>
+ * <code>
+ * tornado --jvm="-Dtornado.virtual.device=True -Dtornado.device.desc=${TORNADO_SDK}/examples/virtual-device-GPU.json" -jar tornado-runtime-benchmarks/target/jmhbenchmarks.jar uk.ac.manchester.tornado.benchmarks.runtime.JMHTornadoGraph
+ * </code>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+public class JMHTornadoGraph {
+
+    @State(Scope.Thread)
+    public static class BenchmarkSetup {
+
+        private TornadoTaskGraph taskGraph;
+        private TornadoGraph graph;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            FloatArray[] arrays = RuntimeKernels.createArrays(1024);
+            taskGraph = RuntimeKernels.createTaskGraph("benchmark", arrays);
+            graph = taskGraph.buildTornadoGraph();
+        }
+    }
+
+    @Benchmark
+    public TornadoGraph buildGraph(BenchmarkSetup state) {
+        return state.taskGraph.buildTornadoGraph();
+    }
+
+    @Benchmark
+    public TornadoVMBytecodeResult[] compileGraph(BenchmarkSetup state) {
+        return TornadoVMGraphCompiler.compile(state.graph, state.taskGraph.getExecutionContext());
+    }
+}
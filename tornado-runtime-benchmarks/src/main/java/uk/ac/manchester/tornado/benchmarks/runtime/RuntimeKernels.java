@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.runtime;
+
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.common.TaskPackage;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.runtime.tasks.TornadoTaskGraph;
+
+/**
+ * Small kernels used by the runtime benchmarks. The kernels are kept small on
+ * purpose, so the measurements are dominated by the host-side code of the
+ * runtime.
+ */
+public final class RuntimeKernels {
+
+    public static final int NUM_TASKS = 4;
+
+    private RuntimeKernels() {
+    }
+
+    public static void vectorAdd(FloatArray a, FloatArray b, FloatArray c) {
+        for (@Parallel int i = 0; i < c.getSize(); i++) {
+            c.set(i, a.get(i) + b.get(i));
+        }
+    }
+
+    public static void vectorMul(FloatArray a, FloatArray b, FloatArray c) {
+        for (@Parallel int i = 0; i < c.getSize(); i++) {
+            c.set(i, a.get(i) * b.get(i));
+        }
+    }
+
+    /**
+     * Creates a chain of {@link #NUM_TASKS} tasks in which each task consumes the
+     * output of the previous one. The arrays must contain {@link #NUM_TASKS} + 2
+     * elements.
+     */
+    static TornadoTaskGraph createTaskGraph(String name, FloatArray[] arrays) {
+        TornadoTaskGraph taskGraph = new TornadoTaskGraph(name);
+        taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, arrays[0], arrays[1]);
+        for (int i = 0; i < NUM_TASKS; i++) {
+            FloatArray input = arrays[i + 1];
+            FloatArray output = arrays[i + 2];
+            if (i % 2 == 0) {
+                taskGraph.addTask(TaskPackage.createPackage("t" + i, RuntimeKernels::vectorAdd, arrays[0], input, output));
+            } else {
+                taskGraph.addTask(TaskPackage.createPackage("t" + i, RuntimeKernels::vectorMul, arrays[0], input, output));
+            }
+        }
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, arrays[NUM_TASKS + 1]);
+        return taskGraph;
+    }
+
+    static FloatArray[] createArrays(int numElements) {
+        FloatArray[] arrays = new FloatArray[NUM_TASKS + 2];
+        for (int i = 0; i < arrays.length; i++) {
+            arrays[i] = new FloatArray(numElements);
+            arrays[i].init(i);
+        }
+        return arrays;
+    }
+}
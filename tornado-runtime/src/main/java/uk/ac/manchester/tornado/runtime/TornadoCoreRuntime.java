@@ -32,8 +32,6 @@ import java.util.ServiceLoader;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.StreamSupport;
 
 import org.graalvm.collections.EconomicMap;
@@ -79,9 +77,14 @@ public final class TornadoCoreRuntime implements TornadoRuntime {
     private static final JVMMapping JVM = new JVMMapping();
     private static final int DEFAULT_DRIVER = 0;
 
-    private static Lock lock = new ReentrantLock();
     private static final int DEFAULT_BACKEND = 0;
-    private static DebugContext debugContext = null;
+    /**
+     * A {@link DebugContext} must only be used by a single thread. Sketches and
+     * kernels are built concurrently by the sketcher and the compiler threads, so
+     * each thread gets its own context.
+     */
+    private static final ThreadLocal<DebugContext> debugContext = ThreadLocal
+            .withInitial(() -> new DebugContext.Builder(getOptions(), new GraalDebugHandlersFactory(new TornadoSnippetReflectionProvider())).build());
     private static OptionValues options;
 
     private final JVMCIBackend vmBackend;
@@ -109,12 +112,7 @@ public final class TornadoCoreRuntime implements TornadoRuntime {
     }
 
     public static DebugContext getDebugContext() {
-        lock.lock();
-        if (debugContext == null) {
-            debugContext = new DebugContext.Builder(getOptions(), new GraalDebugHandlersFactory(new TornadoSnippetReflectionProvider())).build();
-        }
-        lock.unlock();
-        return debugContext;
+        return debugContext.get();
     }
 
     public static ExecutorService getTornadoExecutor() {
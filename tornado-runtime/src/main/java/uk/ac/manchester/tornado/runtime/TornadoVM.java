@@ -31,6 +31,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import uk.ac.manchester.tornado.api.GridScheduler;
@@ -109,7 +110,7 @@ public class TornadoVM {
         Arrays.stream(tornadoVMInterpreters).forEach(tornadoVMInterpreter -> tornadoVMInterpreter.setTimeProfiler(timeProfiler));
 
         if (shouldInterpreterRunInParallel(isParallel)) {
-            return executeInterpreterThreadManager(isParallel);
+            return executeInterpreterThreadManager();
         } else {
             return executeInterpreterSingleThreaded();
         }
@@ -129,25 +130,33 @@ public class TornadoVM {
     }
 
     /**
-     * It executes the interpreter manager either in concurrently in multiple
-     * threads or in single-threaded mode.
+     * It executes the interpreters concurrently, one per device. The interpreters
+     * are dispatched to the runtime-wide {@link InterpreterExecutionPool}, except
+     * the first one, which runs on the calling thread. The call returns when all
+     * interpreters of this task graph have finished.
      *
      * @return An {@link Event} indicating the completion of execution.
      */
-    private Event executeInterpreterThreadManager(boolean isParallel) {
-        // Create a thread pool with a fixed number of threads
-        int numberOfJavaThreads = calculateNumberOfJavaThreads(isParallel);
-        ExecutorService executor = Executors.newFixedThreadPool(numberOfJavaThreads);
-
-        // Create a list to hold the futures of each execution
-        List<Future<?>> futures = new ArrayList<>();
-
-        // Submit each task to the thread pool
-        for (TornadoVMInterpreter tornadoVMInterpreter : tornadoVMInterpreters) {
-            Future<?> future = executor.submit(tornadoVMInterpreter::execute);
-            futures.add(future);
+    private Event executeInterpreterThreadManager() {
+        ExecutorService executor = InterpreterExecutionPool.EXECUTOR;
+
+        // Create a list to hold the futures of the interpreters of this execution
+        List<Future<?>> futures = new ArrayList<>(tornadoVMInterpreters.length - 1);
+        for (int i = 1; i < tornadoVMInterpreters.length; i++) {
+            futures.add(executor.submit(tornadoVMInterpreters[i]::execute));
+        }
+
+        try {
+            tornadoVMInterpreters[0].execute();
+        } finally {
+            // Wait for all interpreters to complete, even if the one running on the
+            // calling thread failed
+            waitForInterpreters(futures);
         }
-        // Wait for all tasks to complete
+        return new EmptyEvent();
+    }
+
+    private void waitForInterpreters(List<Future<?>> futures) {
         try {
             for (Future<?> future : futures) {
                 future.get();
@@ -165,12 +174,7 @@ public class TornadoVM {
             } else {
                 throw new RuntimeException(e);
             }
-        } finally {
-            // Shutdown the executor after all tasks have completed
-            executor.shutdown();
         }
-
-        return new EmptyEvent();
     }
 
     private boolean shouldRunConcurrently(boolean isTaskGraphConcurrent) {
@@ -205,8 +209,31 @@ public class TornadoVM {
         executeActionOnInterpreters(TornadoVMInterpreter::warmup);
     }
 
+    public void freeBatchSlotBuffers() {
+        executeActionOnInterpreters(TornadoVMInterpreter::freeBatchSlotBuffers);
+    }
+
     public void setGridScheduler(GridScheduler gridScheduler) {
         Arrays.stream(tornadoVMInterpreters).forEach(interpreter -> interpreter.setGridScheduler(gridScheduler));
     }
 
+    /**
+     * Shared executor that runs the interpreters of all task graphs executed with
+     * concurrent devices. Threads are daemon and are reused across executions and
+     * execution plans, so each execution only pays for the task hand-off. It is
+     * created on the first concurrent execution.
+     */
+    private static final class InterpreterExecutionPool {
+
+        private static final AtomicInteger threadCounter = new AtomicInteger(0);
+
+        private static final ExecutorService EXECUTOR = TornadoOptions.CONCURRENT_INTERPRETERS_VIRTUAL_THREADS //
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("tornado-interpreter-", 0).factory()) //
+                : Executors.newCachedThreadPool(runnable -> {
+                    Thread thread = new Thread(runnable, "tornado-interpreter-" + threadCounter.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
 }
@@ -49,10 +49,13 @@ import org.graalvm.compiler.nodes.StartNode;
 import org.graalvm.compiler.nodes.StructuredGraph;
 import org.graalvm.compiler.nodes.ValueNode;
 import org.graalvm.compiler.nodes.calc.AddNode;
+import org.graalvm.compiler.nodes.calc.AndNode;
 import org.graalvm.compiler.nodes.calc.BinaryArithmeticNode;
 import org.graalvm.compiler.nodes.calc.BinaryNode;
 import org.graalvm.compiler.nodes.calc.IntegerLessThanNode;
 import org.graalvm.compiler.nodes.calc.MulNode;
+import org.graalvm.compiler.nodes.calc.OrNode;
+import org.graalvm.compiler.nodes.calc.XorNode;
 import org.graalvm.compiler.nodes.java.ArrayLengthNode;
 import org.graalvm.compiler.nodes.java.MethodCallTargetNode;
 import org.graalvm.compiler.nodes.java.StoreIndexedNode;
@@ -63,6 +66,7 @@ import uk.ac.manchester.tornado.api.common.TaskPackage;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.graal.nodes.StoreAtomicIndexedNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.TornadoReduceAddNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.WriteAtomicNode;
@@ -92,47 +96,55 @@ public class ReduceCodeAnalysis {
         return false;
     }
 
+    /**
+     * Classifies a single reduction node into the operator it implements.
+     *
+     * @param operation
+     *     Node that combines the accumulator with a new value.
+     * @return The {@link REDUCE_OPERATION} implemented by the node.
+     * @throws TornadoRuntimeException
+     *     if the node does not correspond to a supported operator.
+     */
+    public static REDUCE_OPERATION getReduceOperation(ValueNode operation) {
+        if (operation instanceof TornadoReduceAddNode || operation instanceof AddNode) {
+            return (TornadoOptions.REDUCE_COMPENSATED_SUM && operation.getStackKind().isNumericFloat()) ? REDUCE_OPERATION.COMPENSATED_SUM : REDUCE_OPERATION.SUM;
+        } else if (operation instanceof MulNode) {
+            return REDUCE_OPERATION.MUL;
+        } else if (operation instanceof AndNode) {
+            return REDUCE_OPERATION.AND;
+        } else if (operation instanceof OrNode) {
+            return REDUCE_OPERATION.OR;
+        } else if (operation instanceof XorNode) {
+            return REDUCE_OPERATION.XOR;
+        } else if (operation instanceof InvokeNode invoke) {
+            if (invoke.callTarget().targetName().equals("Math.max")) {
+                return REDUCE_OPERATION.MAX;
+            } else if (invoke.callTarget().targetName().equals("Math.min")) {
+                return REDUCE_OPERATION.MIN;
+            }
+        } else if (operation instanceof BinaryNode && operation instanceof MarkFloatingPointIntrinsicsNode mark) {
+            String op = mark.getOperation();
+            if (op.equals("FMAX")) {
+                return REDUCE_OPERATION.MAX;
+            } else if (op.equals("FMIN")) {
+                return REDUCE_OPERATION.MIN;
+            }
+        } else if (operation instanceof BinaryNode && operation instanceof MarkIntIntrinsicNode mark) {
+            String op = mark.getOperation();
+            if (op.equals("MAX")) {
+                return REDUCE_OPERATION.MAX;
+            } else if (op.equals("MIN")) {
+                return REDUCE_OPERATION.MIN;
+            }
+        }
+        throw new TornadoRuntimeException("[ERROR] Automatic reduce operation not supported yet: " + operation);
+    }
+
     public static List<REDUCE_OPERATION> getReduceOperation(List<ValueNode> reduceOperation) {
         // Match VALUE_NODE with OPERATION
         List<REDUCE_OPERATION> operations = new ArrayList<>();
         for (ValueNode operation : reduceOperation) {
-            if (operation instanceof TornadoReduceAddNode) {
-                operations.add(REDUCE_OPERATION.SUM);
-            } else if (operation instanceof AddNode) {
-                operations.add(REDUCE_OPERATION.SUM);
-            } else if (operation instanceof MulNode) {
-                operations.add(REDUCE_OPERATION.MUL);
-            } else if (operation instanceof InvokeNode invoke) {
-                if (invoke.callTarget().targetName().equals("Math.max")) {
-                    operations.add(REDUCE_OPERATION.MAX);
-                } else if (invoke.callTarget().targetName().equals("Math.min")) {
-                    operations.add(REDUCE_OPERATION.MIN);
-                } else {
-                    throw new TornadoRuntimeException("[ERROR] Automatic reduce operation not supported yet: " + operation);
-                }
-            } else if (operation instanceof BinaryNode && operation instanceof MarkFloatingPointIntrinsicsNode) {
-                MarkFloatingPointIntrinsicsNode mark = (MarkFloatingPointIntrinsicsNode) operation;
-                String op = mark.getOperation();
-                if (op.equals("FMAX")) {
-                    operations.add(REDUCE_OPERATION.MAX);
-                } else if (op.equals("FMIN")) {
-                    operations.add(REDUCE_OPERATION.MIN);
-                } else {
-                    throw new TornadoRuntimeException("[ERROR] Automatic reduce operation not supported yet: " + operation);
-                }
-            } else if (operation instanceof BinaryNode && operation instanceof MarkIntIntrinsicNode) {
-                MarkIntIntrinsicNode mark = (MarkIntIntrinsicNode) operation;
-                String op = mark.getOperation();
-                if (op.equals("MAX")) {
-                    operations.add(REDUCE_OPERATION.MAX);
-                } else if (op.equals("MIN")) {
-                    operations.add(REDUCE_OPERATION.MIN);
-                } else {
-                    throw new TornadoRuntimeException("[ERROR] Automatic reduce operation not supported yet: " + operation);
-                }
-            } else {
-                throw new TornadoRuntimeException("[ERROR] Automatic reduce operation not supported yet: " + operation);
-            }
+            operations.add(getReduceOperation(operation));
         }
         return operations;
 
@@ -472,10 +484,132 @@ public class ReduceCodeAnalysis {
         }
     }
 
-    public enum REDUCE_OPERATION { //
-        SUM, //
-        MUL, //
-        MIN, //
-        MAX //
+    public enum REDUCE_OPERATION implements ReduceOperator { //
+        SUM("Add"), //
+        /**
+         * Floating-point sum that keeps the rounding error of every partial sum
+         * (TwoSum). Enabled with {@link TornadoOptions#REDUCE_COMPENSATED_SUM}.
+         */
+        COMPENSATED_SUM("CompensatedAdd"), //
+        MUL("Mult"), //
+        MIN("Min"), //
+        MAX("Max"), //
+        AND("And"), //
+        OR("Or"), //
+        XOR("Xor"); //
+
+        private final String snippetName;
+
+        REDUCE_OPERATION(String snippetName) {
+            this.snippetName = snippetName;
+        }
+
+        @Override
+        public String getSnippetName() {
+            return snippetName;
+        }
+
+        @Override
+        public int identityInt() {
+            return switch (this) {
+                case SUM, COMPENSATED_SUM, OR, XOR -> 0;
+                case MUL -> 1;
+                case MIN -> Integer.MAX_VALUE;
+                case MAX -> Integer.MIN_VALUE;
+                case AND -> -1;
+            };
+        }
+
+        @Override
+        public long identityLong() {
+            return switch (this) {
+                case SUM, COMPENSATED_SUM, OR, XOR -> 0L;
+                case MUL -> 1L;
+                case MIN -> Long.MAX_VALUE;
+                case MAX -> Long.MIN_VALUE;
+                case AND -> -1L;
+            };
+        }
+
+        @Override
+        public float identityFloat() {
+            return switch (this) {
+                case SUM, COMPENSATED_SUM -> 0.0f;
+                case MUL -> 1.0f;
+                case MIN -> Float.POSITIVE_INFINITY;
+                case MAX -> Float.NEGATIVE_INFINITY;
+                case AND, OR, XOR -> throw unsupportedBitwise("float");
+            };
+        }
+
+        @Override
+        public double identityDouble() {
+            return switch (this) {
+                case SUM, COMPENSATED_SUM -> 0.0;
+                case MUL -> 1.0;
+                case MIN -> Double.POSITIVE_INFINITY;
+                case MAX -> Double.NEGATIVE_INFINITY;
+                case AND, OR, XOR -> throw unsupportedBitwise("double");
+            };
+        }
+
+        @Override
+        public int combine(int a, int b) {
+            return switch (this) {
+                case SUM, COMPENSATED_SUM -> a + b;
+                case MUL -> a * b;
+                case MIN -> Math.min(a, b);
+                case MAX -> Math.max(a, b);
+                case AND -> a & b;
+                case OR -> a | b;
+                case XOR -> a ^ b;
+            };
+        }
+
+        @Override
+        public long combine(long a, long b) {
+            return switch (this) {
+                case SUM, COMPENSATED_SUM -> a + b;
+                case MUL -> a * b;
+                case MIN -> Math.min(a, b);
+                case MAX -> Math.max(a, b);
+                case AND -> a & b;
+                case OR -> a | b;
+                case XOR -> a ^ b;
+            };
+        }
+
+        @Override
+        public float combine(float a, float b) {
+            return switch (this) {
+                case SUM, COMPENSATED_SUM -> a + b;
+                case MUL -> a * b;
+                case MIN -> Math.min(a, b);
+                case MAX -> Math.max(a, b);
+                case AND, OR, XOR -> throw unsupportedBitwise("float");
+            };
+        }
+
+        @Override
+        public double combine(double a, double b) {
+            return switch (this) {
+                case SUM, COMPENSATED_SUM -> a + b;
+                case MUL -> a * b;
+                case MIN -> Math.min(a, b);
+                case MAX -> Math.max(a, b);
+                case AND, OR, XOR -> throw unsupportedBitwise("double");
+            };
+        }
+
+        /**
+         * Bitwise operators are only defined for integral types.
+         */
+        public boolean isBitwise() {
+            return this == AND || this == OR || this == XOR;
+        }
+
+        private TornadoRuntimeException unsupportedBitwise(String type) {
+            return new TornadoRuntimeException("[ERROR] Reduce operation " + this + " is not defined for type " + type);
+        }
     }
 }
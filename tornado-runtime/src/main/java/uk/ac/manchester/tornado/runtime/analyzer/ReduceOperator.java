@@ -0,0 +1,79 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.runtime.analyzer;
+
+import jdk.vm.ci.meta.JavaKind;
+
+/**
+ * An associative reduction operator described by its identity element and
+ * its combine function. The identity is used to initialise the partial results
+ * of each work-group (and the host-side buffers in hybrid mode), and the combine
+ * function is used to merge those partial results into the final value. Any
+ * operator implementing this contract can be composed in any order, which is
+ * what allows the runtime to split a reduction across work-groups and devices.
+ *
+ * <p>
+ * The GPU backends select the work-group snippet of an operator by name (see
+ * {@link #getPartialReduceSnippetName(JavaKind, boolean)}), so a new operator
+ * only needs its {@code partialReduce} snippets in each backend.
+ * </p>
+ */
+public interface ReduceOperator {
+
+    int identityInt();
+
+    long identityLong();
+
+    float identityFloat();
+
+    double identityDouble();
+
+    int combine(int a, int b);
+
+    long combine(long a, long b);
+
+    float combine(float a, float b);
+
+    double combine(double a, double b);
+
+    /**
+     * @return The suffix of the snippets implementing this operator, for example
+     *     {@code Add} for {@code partialReduceIntAdd}.
+     */
+    String getSnippetName();
+
+    /**
+     * Builds the name of the snippet that reduces the elements of a work-group.
+     *
+     * @param elementKind
+     *     Kind of the elements of the reduce array.
+     * @param hasCarrierValue
+     *     True if the value to reduce is computed in the kernel rather than read
+     *     from the input array.
+     * @return The name of the snippet, for example
+     *     {@code partialReduceFloatMaxCarrierValue}.
+     */
+    default String getPartialReduceSnippetName(JavaKind elementKind, boolean hasCarrierValue) {
+        return "partialReduce" + elementKind.name() + getSnippetName() + (hasCarrierValue ? "CarrierValue" : "");
+    }
+}
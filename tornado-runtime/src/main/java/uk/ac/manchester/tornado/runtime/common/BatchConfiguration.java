@@ -24,17 +24,10 @@
 package uk.ac.manchester.tornado.runtime.common;
 
 import java.lang.reflect.Array;
-import java.util.HashSet;
-import java.util.LinkedHashSet;
+import java.util.List;
 
+import uk.ac.manchester.tornado.api.common.Access;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
-import uk.ac.manchester.tornado.api.types.arrays.ByteArray;
-import uk.ac.manchester.tornado.api.types.arrays.CharArray;
-import uk.ac.manchester.tornado.api.types.arrays.DoubleArray;
-import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
-import uk.ac.manchester.tornado.api.types.arrays.IntArray;
-import uk.ac.manchester.tornado.api.types.arrays.LongArray;
-import uk.ac.manchester.tornado.api.types.arrays.ShortArray;
 import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 import uk.ac.manchester.tornado.runtime.common.enums.DataTypeSize;
 import uk.ac.manchester.tornado.runtime.graph.TornadoExecutionContext;
@@ -43,6 +36,13 @@ import uk.ac.manchester.tornado.runtime.graph.TornadoExecutionContext;
  * It presents the configuration for processing data in batches. This class
  * provides methods to compute chunk sizes based on the batch size and input
  * objects.
+ *
+ * <p>
+ * All objects are split in chunks (one per batch) that advance the same number
+ * of elements, even if their element types differ. Objects marked as broadcast
+ * (e.g., a read-only lookup table) are transferred whole, once, and shared by all
+ * batches.
+ * </p>
  */
 /**
  * How to test?
@@ -58,6 +58,8 @@ public class BatchConfiguration {
     private final int totalChunks;
     private final int remainingChunkSize;
     private final short numBytesType;
+    private final byte[] elementSizes;
+    private final boolean[] broadcastObjects;
 
     /**
      * Constructs a BatchConfiguration object with the specified parameters.
@@ -67,60 +69,68 @@ public class BatchConfiguration {
      * @param remainingChunkSize
      *     The size of the remaining chunk.
      * @param numBytesType
-     *     The number of bytes for the data type.
+     *     The number of bytes for the data type used to compute the chunks.
+     * @param elementSizes
+     *     The number of bytes of the element type of each object.
+     * @param broadcastObjects
+     *     Objects that are transferred whole instead of split in chunks.
      */
-    public BatchConfiguration(int totalChunks, int remainingChunkSize, short numBytesType) {
+    public BatchConfiguration(int totalChunks, int remainingChunkSize, short numBytesType, byte[] elementSizes, boolean[] broadcastObjects) {
         this.totalChunks = totalChunks;
         this.remainingChunkSize = remainingChunkSize;
         this.numBytesType = numBytesType;
+        this.elementSizes = elementSizes;
+        this.broadcastObjects = broadcastObjects;
     }
 
     public static BatchConfiguration computeChunkSizes(TornadoExecutionContext context, long batchSize) {
-        // Get the size of the batch
-        long totalSize = 0;
-
-        HashSet<Long> inputSizes = new HashSet<>();
-        LinkedHashSet<Byte> elementSizes = new LinkedHashSet<>();
-
-        for (Object o : context.getObjects()) {
+        List<Object> objects = context.getObjects();
+        final int numObjects = objects.size();
+        long[] numElements = new long[numObjects];
+        byte[] elementSizes = new byte[numObjects];
+
+        boolean[] broadcastObjects = new boolean[numObjects];
+        long chunkedElements = -1;
+        short numBytesType = 0;
+        for (int i = 0; i < numObjects; i++) {
+            Object o = objects.get(i);
             if (o.getClass().isArray()) {
                 Class<?> componentType = o.getClass().getComponentType();
                 DataTypeSize dataTypeSize = DataTypeSize.findDataTypeSize(componentType);
                 if (dataTypeSize == null) {
                     throw new TornadoRuntimeException("[UNSUPPORTED] Data type not supported for processing in batches");
                 }
-                long size = Array.getLength(o);
-                totalSize = size * dataTypeSize.getSize();
-
-                elementSizes.add(dataTypeSize.getSize());
-                inputSizes.add(totalSize);
+                numElements[i] = Array.getLength(o);
+                elementSizes[i] = dataTypeSize.getSize();
             } else if (o instanceof TornadoNativeArray tornadoNativeArray) {
-                totalSize = tornadoNativeArray.getNumBytesOfSegment();
-                inputSizes.add(totalSize);
-                byte elementSize = switch (tornadoNativeArray) {
-                    case IntArray _ -> DataTypeSize.INT.getSize();
-                    case FloatArray _ -> DataTypeSize.FLOAT.getSize();
-                    case DoubleArray _ -> DataTypeSize.DOUBLE.getSize();
-                    case LongArray _ -> DataTypeSize.LONG.getSize();
-                    case ShortArray _ -> DataTypeSize.SHORT.getSize();
-                    case ByteArray _ -> DataTypeSize.BYTE.getSize();
-                    case CharArray _ -> DataTypeSize.CHAR.getSize();
-                    default -> throw new TornadoRuntimeException("Unsupported array type: " + o.getClass());
-                };
-                elementSizes.add(elementSize);
+                numElements[i] = tornadoNativeArray.getSizeAsLong();
+                elementSizes[i] = (byte) tornadoNativeArray.getElementSize();
             } else {
                 throw new TornadoRuntimeException("Unsupported type: " + o.getClass());
             }
-        }
 
-        if (inputSizes.size() > 1) {
-            throw new TornadoRuntimeException("[UNSUPPORTED] Input objects with different sizes not currently supported");
+            if (context.isBatchBroadcastObject(o)) {
+                if (context.getObjectsAccesses().get(o) != Access.READ_ONLY) {
+                    throw new TornadoRuntimeException("[UNSUPPORTED] Broadcast objects in batch processing must be read-only: " + o);
+                }
+                broadcastObjects[i] = true;
+                continue;
+            }
+
+            // All chunked objects must advance the same number of elements per batch
+            if (chunkedElements != -1 && chunkedElements != numElements[i]) {
+                throw new TornadoRuntimeException("[UNSUPPORTED] Input objects with different sizes not currently supported");
+            }
+            chunkedElements = numElements[i];
+            numBytesType = (short) Math.max(numBytesType, elementSizes[i]);
         }
 
-        if (elementSizes.size() > 1) {
-            throw new TornadoRuntimeException("[UNSUPPORTED] Input objects with different element sizes not currently supported");
+        if (chunkedElements == -1) {
+            throw new TornadoRuntimeException("[UNSUPPORTED] Batch processing requires at least one object that is not broadcast");
         }
 
+        // The batch size refers to the widest element type of the chunked objects
+        long totalSize = chunkedElements * numBytesType;
         int totalChunks = (int) (totalSize / batchSize);
         int remainingChunkSize = (int) (totalSize % batchSize);
 
@@ -128,8 +138,13 @@ public class BatchConfiguration {
             System.out.println("Batch Size: " + batchSize);
             System.out.println("Total chunks: " + totalChunks);
             System.out.println("remainingChunkSize: " + remainingChunkSize);
+            for (int i = 0; i < numObjects; i++) {
+                if (broadcastObjects[i]) {
+                    System.out.println("Broadcast object: " + objects.get(i));
+                }
+            }
         }
-        return new BatchConfiguration(totalChunks, remainingChunkSize, elementSizes.getFirst());
+        return new BatchConfiguration(totalChunks, remainingChunkSize, numBytesType, elementSizes, broadcastObjects);
     }
 
     public int getTotalChunks() {
@@ -144,4 +159,30 @@ public class BatchConfiguration {
         return numBytesType;
     }
 
+    /**
+     * Checks whether an object is transferred whole to the device and shared across
+     * all batches.
+     *
+     * @param objectIndex
+     *     Index of the object in the execution context.
+     * @return true if the object is not split in chunks.
+     */
+    public boolean isBroadcast(int objectIndex) {
+        return broadcastObjects[objectIndex];
+    }
+
+    /**
+     * Converts a size or offset, expressed in bytes of the data type used to
+     * compute the chunks, to bytes of the element type of the given object.
+     *
+     * @param objectIndex
+     *     Index of the object in the execution context.
+     * @param bytes
+     *     Size or offset, in bytes, for the data type used to compute the chunks.
+     * @return Size or offset in bytes for the given object.
+     */
+    public long getObjectBytes(int objectIndex, long bytes) {
+        return bytes / numBytesType * elementSizes[objectIndex];
+    }
+
 }
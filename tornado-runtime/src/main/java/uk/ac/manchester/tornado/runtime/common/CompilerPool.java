@@ -0,0 +1,84 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.runtime.common;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+
+/**
+ * Compiler threads shared by all interpreters. The pool is bounded by
+ * {@link TornadoOptions#COMPILER_THREADS}, so concurrent execution plans do not
+ * oversubscribe the host while compiling.
+ */
+public final class CompilerPool {
+
+    private static final AtomicInteger threadCounter = new AtomicInteger(0);
+
+    public static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(TornadoOptions.COMPILER_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "tornado-compiler-" + threadCounter.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private CompilerPool() {
+    }
+
+    /**
+     * It waits for all the compilations and reports them in list order,
+     * regardless of the order in which they finish. {@code onCompleted} is called
+     * with the index of each compilation that succeeded.
+     *
+     * @param compilations
+     *     Futures of the compilations, in task order.
+     * @param onCompleted
+     *     Callback for each compilation that succeeded.
+     * @return the exception of the first compilation of the list that failed, or
+     *     {@code null} if all of them succeeded.
+     */
+    public static RuntimeException awaitInOrder(List<? extends Future<?>> compilations, IntConsumer onCompleted) {
+        RuntimeException failure = null;
+        for (int i = 0; i < compilations.size(); i++) {
+            try {
+                compilations.get(i).get();
+                onCompleted.accept(i);
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = (e.getCause() instanceof RuntimeException runtimeException) ? runtimeException : new TornadoRuntimeException(e);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (failure == null) {
+                    failure = new TornadoRuntimeException(e);
+                }
+            }
+        }
+        return failure;
+    }
+}
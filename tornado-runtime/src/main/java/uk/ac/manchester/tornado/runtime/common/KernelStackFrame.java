@@ -26,6 +26,8 @@ package uk.ac.manchester.tornado.runtime.common;
 import java.util.HashMap;
 import java.util.List;
 
+import uk.ac.manchester.tornado.api.memory.XPUBuffer;
+
 public interface KernelStackFrame {
 
     // Marks an argument of type KernelContext being passed explicitly as a parameter.
@@ -35,10 +37,16 @@ public interface KernelStackFrame {
     class CallArgument {
         private final Object value;
         private final boolean isReferenceType;
+        private final long bufferOffset;
 
         public CallArgument(Object value, boolean isReferenceType) {
+            this(value, isReferenceType, 0);
+        }
+
+        public CallArgument(Object value, boolean isReferenceType, long bufferOffset) {
             this.value = value;
             this.isReferenceType = isReferenceType;
+            this.bufferOffset = bufferOffset;
         }
 
         public Object getValue() {
@@ -48,6 +56,13 @@ public interface KernelStackFrame {
         public boolean isReferenceType() {
             return isReferenceType;
         }
+
+        /**
+         * @return offset of the object within the buffer passed as value.
+         */
+        public long getBufferOffset() {
+            return bufferOffset;
+        }
     }
 
     void reset();
@@ -56,6 +71,15 @@ public interface KernelStackFrame {
 
     void addCallArgument(Object value, boolean isReferenceType);
 
+    /**
+     * Adds the device buffer of an object as a reference argument. Backends that
+     * pass buffers to the kernels as base and offset also keep the offset of the
+     * object within the buffer.
+     */
+    default void addReferenceArgument(XPUBuffer buffer) {
+        addCallArgument(buffer.toBuffer(), true);
+    }
+
     void setKernelContext(HashMap<Integer, Integer> map);
 
     boolean isValid();
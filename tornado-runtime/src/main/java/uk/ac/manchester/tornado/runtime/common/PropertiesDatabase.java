@@ -0,0 +1,119 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.runtime.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+import java.util.function.Consumer;
+
+/**
+ * Properties file shared by several JVMs, used by the persistent databases of
+ * the runtime (e.g., the autotuning of the local work and the model of the
+ * dynamic reconfiguration).
+ *
+ * <p>
+ * Updates hold an exclusive lock on a lock file next to the database while
+ * they read the latest contents, apply the changes and replace the file with
+ * an atomic move. Updates from other JVMs are therefore merged instead of
+ * lost, and readers never see a partially written file.
+ * </p>
+ */
+public final class PropertiesDatabase {
+
+    private static final String LOCK_SUFFIX = ".lock";
+    private static final String TMP_SUFFIX = ".tmp";
+
+    /**
+     * File locks are held by the JVM, so threads of the same JVM must also be
+     * serialised.
+     */
+    private static final Object UPDATE_LOCK = new Object();
+
+    private final Path file;
+    private final String comment;
+
+    public PropertiesDatabase(Path file, String comment) {
+        this.file = file;
+        this.comment = comment;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Reads the database.
+     *
+     * @return the stored properties, or empty properties if the file does not
+     *     exist.
+     * @throws IOException
+     *     if the file cannot be read.
+     */
+    public Properties read() throws IOException {
+        Properties properties = new Properties();
+        if (Files.exists(file)) {
+            try (InputStream inputStream = Files.newInputStream(file)) {
+                properties.load(inputStream);
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Applies changes to the latest contents of the database and stores the
+     * result.
+     *
+     * @param updater
+     *     Function that modifies the properties read from the file.
+     * @throws IOException
+     *     if the file cannot be read or written.
+     */
+    public void update(Consumer<Properties> updater) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path lockFile = directory.resolve(file.getFileName() + LOCK_SUFFIX);
+        synchronized (UPDATE_LOCK) {
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE); FileLock ignored = channel.lock()) {
+                Properties properties = read();
+                updater.accept(properties);
+                Path tmpFile = Files.createTempFile(directory, file.getFileName().toString(), TMP_SUFFIX);
+                try {
+                    try (OutputStream outputStream = Files.newOutputStream(tmpFile)) {
+                        properties.store(outputStream, comment);
+                    }
+                    Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(tmpFile);
+                }
+            }
+        }
+    }
+}
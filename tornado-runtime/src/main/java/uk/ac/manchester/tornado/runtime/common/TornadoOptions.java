@@ -32,10 +32,18 @@ public class TornadoOptions {
     private static final String FALSE = "FALSE";
     private static final String TRUE = "TRUE";
 
+    /**
+     * Reduces floating-point sums with a compensated (TwoSum) operator that keeps
+     * the rounding error of every partial sum. Default is False. When enabled,
+     * the default OpenCL flags do not include {@code -cl-fast-relaxed-math},
+     * which allows the compiler to cancel the compensation terms.
+     */
+    public static final boolean REDUCE_COMPENSATED_SUM = getBooleanValue("tornado.reduce.compensated", FALSE);
+
     /**
      * Default OpenCL Compiler Flags.
      */
-    public static final String DEFAULT_OPENCL_COMPILER_FLAGS = getProperty("tornado.opencl.compiler.flags", "-cl-mad-enable -cl-fast-relaxed-math -w");
+    public static final String DEFAULT_OPENCL_COMPILER_FLAGS = getProperty("tornado.opencl.compiler.flags", REDUCE_COMPENSATED_SUM ? "-cl-mad-enable -w" : "-cl-mad-enable -cl-fast-relaxed-math -w");
 
     /**
      * Default PTX Compiler Flags.
@@ -102,6 +110,36 @@ public class TornadoOptions {
      * Option to set the device maximum memory usage. It is set to 1GB by default.
      */
     public static final long DEVICE_AVAILABLE_MEMORY = RuntimeUtilities.parseSize(System.getProperty("tornado.device.memory", "1GB"));
+    /**
+     * Size classes of the device buffer pool. Use {@code pow2} to round allocations
+     * up to the next power of two (default), {@code exact} to disable rounding, or
+     * a size (e.g. {@code 64KB}) to round allocations up to a multiple of it.
+     */
+    public static final String BUFFER_POOL_SIZE_CLASS = getProperty("tornado.buffer.pool.sizeclass", "pow2");
+    /**
+     * Percentage of the device memory that can be held by free buffers in the
+     * buffer pool before the pool is trimmed. Default is 50.
+     */
+    public static final int BUFFER_POOL_HIGH_WATERMARK = getIntValue("tornado.buffer.pool.high", "50");
+    /**
+     * Percentage of the device memory held by free buffers after the buffer pool
+     * has been trimmed. Default is 25.
+     */
+    public static final int BUFFER_POOL_LOW_WATERMARK = getIntValue("tornado.buffer.pool.low", "25");
+    /**
+     * Enable the arena mode for device buffers. Objects smaller than
+     * {@link #DEVICE_ARENA_THRESHOLD} are allocated as regions of large device
+     * buffers instead of using one driver allocation each. Disabled by default.
+     */
+    public static final boolean DEVICE_ARENA = getBooleanValue("tornado.device.arena.enable", FALSE);
+    /**
+     * Size of each device arena. It is rounded up to a power of two. Default is 16MB.
+     */
+    public static final long DEVICE_ARENA_SIZE = RuntimeUtilities.parseSize(getProperty("tornado.device.arena.size", "16MB"));
+    /**
+     * Maximum size of an object allocated in a device arena. Default is 64KB.
+     */
+    public static final long DEVICE_ARENA_THRESHOLD = RuntimeUtilities.parseSize(getProperty("tornado.device.arena.threshold", "64KB"));
     /**
      * Option to enable exceptions for the OpenCL generated code. This is
      * experimental.
@@ -302,12 +340,73 @@ public class TornadoOptions {
      */
     public static final boolean ENABLE_STREAM_OUT_BLOCKING = getBooleanValue("tornado.enable.streamOut.blocking", TRUE);
 
+    /**
+     * Number of device buffers that rotate per object when processing in batches.
+     * With a value greater than 1, the transfers of one batch can overlap with the
+     * kernel execution of the previous one. It is 1 (no pipelining) by default.
+     */
+    public static final int BATCH_PIPELINE_DEPTH = getIntValue("tornado.batch.pipeline.depth", "1");
+
     /**
      * Option to run concurrently on multiple device in single or multi-backend
      * configuration. False by default.
      */
     public static final boolean CONCURRENT_INTERPRETERS = Boolean.parseBoolean(System.getProperty("tornado.concurrent.devices", FALSE));
 
+    /**
+     * Option to dispatch the interpreters of concurrent devices on virtual threads
+     * instead of the shared pool of platform threads. False by default.
+     */
+    public static final boolean CONCURRENT_INTERPRETERS_VIRTUAL_THREADS = getBooleanValue("tornado.concurrent.devices.virtual.threads", FALSE);
+
+    /**
+     * Number of granules in which the iteration space is quantised when using
+     * co-execution. Partition sizes are multiples of one granule, which bounds the
+     * number of kernel variants compiled per device. It is set to 64 by default.
+     */
+    public static final int COEXECUTION_GRANULES = getIntValue("tornado.coexecution.granules", "64");
+
+    /**
+     * Imbalance that triggers a new partitioning in co-execution, expressed as the
+     * ratio between the slowest and the fastest participant. It is set to 1.2 by
+     * default.
+     */
+    public static final float COEXECUTION_REBALANCE_THRESHOLD = getFloatValue("tornado.coexecution.rebalance.threshold", "1.2");
+
+    /**
+     * Maximum number of copies used to transfer the modified ranges of a native
+     * array to the device. Above this number, the ranges separated by the
+     * smallest gaps are merged. It is set to 64 by default.
+     */
+    public static final int MAX_DIRTY_RANGES = getIntValue("tornado.dirty.ranges.max", "64");
+
+    /**
+     * Compile all tasks of an execution plan that run on the same device
+     * concurrently, during the warm-up or the first execution, instead of
+     * compiling each task when its LAUNCH bytecode is reached. On OpenCL, the
+     * Graal phases of the tasks run concurrently. The PTX and SPIR-V compilers
+     * serialize them, and only the driver builds overlap. Execution plans with
+     * batches and FPGA devices are always compiled task by task. Enabled by
+     * default.
+     */
+    public static final boolean PARALLEL_COMPILATION = getBooleanValue("tornado.compiler.parallel", TRUE);
+
+    /**
+     * Maximum number of tasks compiled concurrently when
+     * {@link #PARALLEL_COMPILATION} is enabled. It is set to 4 by default.
+     */
+    public static final int COMPILER_THREADS = getIntValue("tornado.compiler.threads", "4");
+
+    /**
+     * Tiered compilation of the tasks. Tasks are first compiled with a quick tier
+     * that skips conditional elimination, full loop unrolling and reassociation,
+     * and the fully optimised kernel is compiled in the background and swapped in
+     * before a following launch. Only the OpenCL backend provides a quick tier.
+     * Execution plans with batches and tasks with atomics are not tiered. Disabled
+     * by default.
+     */
+    public static final boolean TIERED_COMPILATION = getBooleanValue("tornado.compiler.tiered", FALSE);
+
     /**
      * Panama Object Header in TornadoVM.
      */
@@ -390,6 +489,22 @@ public class TornadoOptions {
      */
     public static final boolean USE_SYNC_FLUSH = getBooleanValue("tornado.opencl.syncflush", FALSE);
 
+    /**
+     * Maximum number of OpenCL command queues per device. Execution plans lease a
+     * queue from the pool of the device and return it when they are reset. When
+     * all queues are created, new execution plans share the least used queue.
+     * Default is 8.
+     */
+    public static final int OPENCL_MAX_COMMAND_QUEUES = Math.max(1, getIntValue("tornado.opencl.queues.max", "8"));
+
+    /**
+     * Use zero-copy buffers for off-heap arrays on OpenCL devices that share the
+     * host memory (e.g., CPUs and integrated GPUs). The device buffers are created
+     * with {@code CL_MEM_USE_HOST_PTR} over the memory segment of the array, and
+     * the data transfers become map/unmap operations. Disabled by default.
+     */
+    public static final boolean OPENCL_ZERO_COPY = getBooleanValue("tornado.opencl.zerocopy", FALSE);
+
     /**
      * Run VM Flush when TornadoVM finishes the execution of the TornadoVM interpreter.
      */
@@ -415,6 +530,14 @@ public class TornadoOptions {
      */
     public static final boolean VM_USE_DEPS = getBooleanValue("tornado.vm.deps", FALSE);
 
+    /**
+     * Decode the TornadoVM bytecodes once, after the first execution, and replay
+     * the decoded commands in the following executions. The kernel arguments of
+     * each launch are bound once and pushed again only on invalidation. Execution
+     * plans with batches are always interpreted. Disabled by default.
+     */
+    public static final boolean VM_FROZEN_PLAN = getBooleanValue("tornado.vm.frozen", FALSE);
+
     /**
      * Enable OpenCL Profiling. Enabled by default.
      */
@@ -430,6 +553,70 @@ public class TornadoOptions {
      */
     public static final boolean ENABLE_OOO_EXECUTION = getBooleanValue("tornado.ooo-execution.enable", FALSE);
 
+    /**
+     * Enable the persistent kernel cache. Compiled kernels are stored on disk, indexed by a hash of the
+     * method bytecode, the specialised arguments, the compiler flags and the device identity, and they
+     * are reused across JVM restarts. Disabled by default.
+     */
+    public static final boolean KERNEL_DISK_CACHE = getBooleanValue("tornado.kernel.cache.enable", FALSE);
+
+    /**
+     * Directory for the persistent kernel cache. By default, it uses a directory within the temporary folder
+     * of the current user.
+     */
+    public static final String KERNEL_DISK_CACHE_DIR = getProperty("tornado.kernel.cache.dir",
+            System.getProperty("java.io.tmpdir") + "/" + System.getProperty("user.name") + "/tornadoVM-kernel-cache");
+
+    /**
+     * Maximum size of the persistent kernel cache on disk. When the limit is exceeded, the least recently used
+     * kernels are evicted. Default is 512MB.
+     */
+    public static final long KERNEL_DISK_CACHE_SIZE = RuntimeUtilities.parseSize(getProperty("tornado.kernel.cache.size", "512MB"));
+
+    /**
+     * Enable the autotuning of the local work size for kernels that do not define
+     * their own work-group configuration. The first launches of each kernel try a
+     * set of local sizes and the fastest one is stored in a persistent database.
+     * Disabled by default.
+     */
+    public static final boolean AUTOTUNE_LOCAL_WORK = getBooleanValue("tornado.autotune.enable", FALSE);
+
+    /**
+     * File of the autotuning database. By default, it uses a file within the
+     * temporary folder of the current user.
+     */
+    public static final String AUTOTUNE_DB = getProperty("tornado.autotune.db",
+            System.getProperty("java.io.tmpdir") + "/" + System.getProperty("user.name") + "/tornadoVM-autotune.properties");
+
+    /**
+     * Number of launches measured for each candidate local size. The minimum time
+     * is used. Default is 3.
+     */
+    public static final int AUTOTUNE_SAMPLES = Math.max(1, getIntValue("tornado.autotune.samples", "3"));
+
+    /**
+     * Enable the performance model of the dynamic reconfiguration. The times
+     * measured when exploring the devices are stored per task-graph, device and
+     * input size, and later executions select the device from the model instead
+     * of running on all devices. Disabled by default.
+     */
+    public static final boolean DYNAMIC_MODEL = getBooleanValue("tornado.dynamic.model.enable", FALSE);
+
+    /**
+     * File of the dynamic reconfiguration model. By default, it uses a file within
+     * the temporary folder of the current user.
+     */
+    public static final String DYNAMIC_MODEL_DB = getProperty("tornado.dynamic.model.db",
+            System.getProperty("java.io.tmpdir") + "/" + System.getProperty("user.name") + "/tornadoVM-dynamic-model.properties");
+
+    /**
+     * Enable the fusion of consecutive tasks of a task-graph into a single kernel.
+     * A producer task and its consumer are fused when both are 1D parallel loops
+     * over the same iteration space. Arrays that are only used to pass data between
+     * both tasks are not allocated on the device. Disabled by default.
+     */
+    public static final boolean FUSE_KERNELS = getBooleanValue("tornado.fusion.enable", FALSE);
+
     public static final String UPS_IP_ADDRESS = getProperty("tornado.ups.ip", null);
 
     /**
@@ -22,6 +22,9 @@
  */
 package uk.ac.manchester.tornado.runtime.common;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 import jdk.vm.ci.meta.ResolvedJavaMethod;
 import uk.ac.manchester.tornado.api.common.Access;
 import uk.ac.manchester.tornado.api.common.SchedulableTask;
@@ -74,6 +77,23 @@ public interface TornadoXPUDevice extends TornadoDevice {
      */
     TornadoInstalledCode installCode(long executionPlanId, SchedulableTask task);
 
+    /**
+     * It installs the code of the specified schedulable task compiled with the
+     * quick compilation tier, which skips the optimisations that are not needed
+     * to generate a valid kernel. It is used by the tiered compilation until the
+     * optimised code from {@link #installCode} is available.
+     *
+     * @param executionPlanId
+     *     ID number for the execution plan that the task belongs to.
+     * @param task
+     *     The {@link SchedulableTask} to install the code for.
+     * @return The {@link TornadoInstalledCode}, or {@code null} if the device
+     *     does not provide a quick compilation tier for the task.
+     */
+    default TornadoInstalledCode installQuickCode(long executionPlanId, SchedulableTask task) {
+        return null;
+    }
+
     /**
      * It checks if the specified schedulable task is in full Just-In-Time (JIT)
      * mode.
@@ -183,6 +203,57 @@ public interface TornadoXPUDevice extends TornadoDevice {
      */
     void setAtomicRegion(XPUBuffer bufferAtomics);
 
+    /**
+     * It returns the number of device buffer allocations that have been served
+     * from the buffer pool of the device.
+     *
+     * @return long
+     */
+    default long getBufferPoolHits() {
+        return 0;
+    }
+
+    /**
+     * It returns the number of device buffer allocations that required a new
+     * buffer from the driver.
+     *
+     * @return long
+     */
+    default long getBufferPoolMisses() {
+        return 0;
+    }
+
+    /**
+     * It returns the number of events retained in the event pool of an execution
+     * plan for this device. The capacity of the event pool is
+     * {@link TornadoOptions#EVENT_WINDOW}.
+     *
+     * @param executionPlanId
+     *     Execution plan identifier.
+     * @return int, or -1 if the backend does not expose its event pool.
+     */
+    default int getNumRetainedEvents(long executionPlanId) {
+        return -1;
+    }
+
+    /**
+     * It returns a future that is completed once all the commands enqueued so far
+     * for an execution plan on this device have finished. Backends that expose
+     * completion callbacks complete the future from the device, without blocking
+     * any thread. The default implementation waits for the commands in a thread
+     * of the given executor.
+     *
+     * @param executionPlanId
+     *     Execution plan identifier.
+     * @param executor
+     *     {@link Executor} that completes the future. Device callbacks must not call
+     *     the driver, so the dependent actions of the future run in this executor.
+     * @return {@link CompletableFuture}
+     */
+    default CompletableFuture<Void> whenCompleted(long executionPlanId, Executor executor) {
+        return CompletableFuture.runAsync(() -> sync(executionPlanId), executor);
+    }
+
     /**
      * It returns from the sketch of a task whether the loop index is written in the output buffer.
      * 
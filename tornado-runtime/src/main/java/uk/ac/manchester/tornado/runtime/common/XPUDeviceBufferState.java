@@ -36,6 +36,9 @@ public class XPUDeviceBufferState implements DeviceBufferState {
     private boolean bufferHasContent;
     private boolean lockBuffer;
     private long partialSize;
+    private long dirtyRangesVersion;
+    private long[] copyInRanges;
+    private long copyInElementSize;
 
     @Override
     public void setXPUBuffer(XPUBuffer value) {
@@ -108,6 +111,41 @@ public class XPUDeviceBufferState implements DeviceBufferState {
         return this.partialSize;
     }
 
+    @Override
+    public long getDirtyRangesVersion() {
+        return dirtyRangesVersion;
+    }
+
+    @Override
+    public void setDirtyRangesVersion(long version) {
+        this.dirtyRangesVersion = version;
+    }
+
+    @Override
+    public void setCopyInRanges(long[] ranges, long elementSize) {
+        this.copyInRanges = ranges;
+        this.copyInElementSize = elementSize;
+    }
+
+    /**
+     * Returns the number of bytes copied by one of the transfers of the last
+     * copy-in to the buffer.
+     *
+     * @param copyIndex
+     *     Index of the transfer (event) of the copy-in.
+     * @param numCopies
+     *     Number of transfers (events) of the copy-in.
+     * @return The size of the copied range, or the size of the buffer if the
+     *     whole object was copied.
+     */
+    public long getCopyInSize(int copyIndex, int numCopies) {
+        // Buffers that cannot copy ranges (e.g., zero-copy buffers) fall back to a single whole copy
+        if (copyInRanges == null || numCopies != copyInRanges.length / 2) {
+            return xpuBuffer.size();
+        }
+        return (copyInRanges[2 * copyIndex + 1] - copyInRanges[2 * copyIndex]) * copyInElementSize;
+    }
+
     public XPUDeviceBufferState createSnapshot() {
         XPUDeviceBufferState xpuDeviceBufferState = new XPUDeviceBufferState();
         xpuDeviceBufferState.setLockBuffer(this.isLockedBuffer());
@@ -27,6 +27,9 @@ import org.graalvm.compiler.nodeinfo.NodeInfo;
 import org.graalvm.compiler.nodes.ValueNode;
 
 import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import uk.ac.manchester.tornado.api.types.arrays.HalfFloatArray;
+import uk.ac.manchester.tornado.api.types.tensors.TensorFP16;
 
 @NodeInfo
 public class HalfFloatPlaceholder extends ValueNode {
@@ -49,4 +52,20 @@ public class HalfFloatPlaceholder extends ValueNode {
         this.input = input;
     }
 
+    /**
+     * Checks whether the method stores the result of {@link Float#floatToFloat16}
+     * directly as a half float, so the conversion can be left to the half float
+     * store that consumes the placeholder. Any other use of the conversion is
+     * compiled from its Java code.
+     *
+     * @param method
+     *     The method being parsed.
+     * @return true for the {@code setFloat} accessors of {@link HalfFloatArray}
+     *     and {@link TensorFP16}.
+     */
+    public static boolean isHalfFloatStore(ResolvedJavaMethod method) {
+        final String declaringClass = method.getDeclaringClass().toJavaName();
+        return "setFloat".equals(method.getName()) && (HalfFloatArray.class.getName().equals(declaringClass) || TensorFP16.class.getName().equals(declaringClass));
+    }
+
 }
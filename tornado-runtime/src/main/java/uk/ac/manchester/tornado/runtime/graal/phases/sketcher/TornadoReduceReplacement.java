@@ -42,11 +42,14 @@ import org.graalvm.compiler.nodes.StartNode;
 import org.graalvm.compiler.nodes.StructuredGraph;
 import org.graalvm.compiler.nodes.ValueNode;
 import org.graalvm.compiler.nodes.calc.AddNode;
+import org.graalvm.compiler.nodes.calc.AndNode;
 import org.graalvm.compiler.nodes.calc.BinaryArithmeticNode;
 import org.graalvm.compiler.nodes.calc.BinaryNode;
 import org.graalvm.compiler.nodes.calc.CompareNode;
 import org.graalvm.compiler.nodes.calc.MulNode;
+import org.graalvm.compiler.nodes.calc.OrNode;
 import org.graalvm.compiler.nodes.calc.SubNode;
+import org.graalvm.compiler.nodes.calc.XorNode;
 import org.graalvm.compiler.nodes.extended.JavaReadNode;
 import org.graalvm.compiler.nodes.extended.JavaWriteNode;
 import org.graalvm.compiler.nodes.java.LoadFieldNode;
@@ -245,6 +248,10 @@ public class TornadoReduceReplacement extends BasePhase<TornadoSketchTierContext
             if (storeValue instanceof MarkFloatingPointIntrinsicsNode || storeValue instanceof MarkIntIntrinsicNode) {
                 accumulator = ((BinaryNode) storeValue).getY();
                 // TODO: Control getX case
+            } else if (storeValue instanceof AndNode || storeValue instanceof OrNode || storeValue instanceof XorNode) {
+                // Bitwise reductions (e.g., result[0] ^= input[i]): as with the
+                // intrinsics, the value combined with the accumulator is in Y.
+                accumulator = ((BinaryNode) storeValue).getY();
             } else {
                 // For any other binary node
                 // if it is a builtin, we apply the general case
@@ -85,6 +85,7 @@ public class TornadoExecutionContext {
     private TornadoXPUDevice[] taskToDeviceMapTable;
     private int nextTask;
     private long batchSize;
+    private List<Object> batchBroadcastObjects;
     private long executionPlanMemoryLimit;
     private Set<TornadoXPUDevice> lastDevices;
     private boolean redeployOnDevice;
@@ -113,6 +114,7 @@ public class TornadoExecutionContext {
         Arrays.fill(taskToDeviceMapTable, null);
         nextTask = 0;
         batchSize = INIT_VALUE;
+        batchBroadcastObjects = new ArrayList<>();
         executionPlanMemoryLimit = INIT_VALUE;
         lastDevices = new HashSet<>();
         currentDeviceMemoryUsage = 0;
@@ -156,6 +158,22 @@ public class TornadoExecutionContext {
         this.batchSize = size;
     }
 
+    public void setBatchBroadcastObjects(List<Object> broadcastObjects) {
+        this.batchBroadcastObjects = new ArrayList<>(broadcastObjects);
+    }
+
+    /**
+     * Checks if an object is transferred whole, instead of split in chunks, when
+     * processing in batches.
+     *
+     * @param object
+     *     Object to check.
+     * @return true if the object was passed as a broadcast object to withBatch.
+     */
+    public boolean isBatchBroadcastObject(Object object) {
+        return batchBroadcastObjects.stream().anyMatch(broadcastObject -> broadcastObject == object);
+    }
+
     public long getExecutionPlanMemoryLimit() {
         return executionPlanMemoryLimit;
     }
@@ -670,6 +688,7 @@ public class TornadoExecutionContext {
         newExecutionContext.profiler = this.profiler;
         newExecutionContext.nextTask = this.nextTask;
         newExecutionContext.executionPlanMemoryLimit = this.executionPlanMemoryLimit;
+        newExecutionContext.batchBroadcastObjects = new ArrayList<>(this.batchBroadcastObjects);
 
         return newExecutionContext;
     }
@@ -0,0 +1,315 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.runtime.graph;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import uk.ac.manchester.tornado.api.annotations.Reduce;
+import uk.ac.manchester.tornado.api.common.Access;
+import uk.ac.manchester.tornado.api.common.SchedulableTask;
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+import uk.ac.manchester.tornado.runtime.graph.nodes.AbstractNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.AllocateMultipleBuffersNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.AllocateNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.ConstantNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.ContextOpNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.CopyInNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.CopyOutNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.DeallocateNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.DependentReadNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.OnDeviceObjectNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.StreamInNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.TaskNode;
+import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketchFusion;
+import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketchFusion.FusedKernel;
+import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
+import uk.ac.manchester.tornado.runtime.tasks.FusedTask;
+import uk.ac.manchester.tornado.runtime.tasks.LocalObjectState;
+
+/**
+ * It fuses consecutive tasks of a {@link TornadoGraph} that run on the same
+ * device into a single kernel. The fused task takes the place of the first task
+ * in the execution context, and the node of the second task is removed from the
+ * graph.
+ *
+ * <p>
+ * An array that is written by the first task and only read by the second task
+ * is an intermediate. If the fused kernel no longer uses it, its allocation, its
+ * dependent read and its de-allocation are removed from the graph as well.
+ * </p>
+ */
+public final class TornadoKernelFusion {
+
+    private static final TornadoLogger logger = new TornadoLogger();
+
+    private TornadoKernelFusion() {
+    }
+
+    /**
+     * It puts back the original tasks in the place of the fused tasks, so the
+     * {@link TornadoGraph} can be built again from the tasks of the task-graph.
+     *
+     * @param executionContext
+     *     The {@link TornadoExecutionContext} of the task-graph.
+     */
+    public static void restoreTasks(TornadoExecutionContext executionContext) {
+        for (int i = 0; i < executionContext.getTaskCount(); i++) {
+            if (executionContext.getTask(i) instanceof FusedTask fusedTask) {
+                CompilableTask originalTask = fusedTask.getOriginalTask();
+                originalTask.setDevice(fusedTask.getDevice());
+                executionContext.setTask(i, originalTask);
+            }
+        }
+    }
+
+    /**
+     * It fuses the tasks of the {@link TornadoGraph}. Each task is fused with the
+     * next one when both can be merged into the same kernel, so a chain of tasks
+     * can end up in a single kernel.
+     *
+     * @param executionContext
+     *     The {@link TornadoExecutionContext} of the task-graph.
+     * @param graph
+     *     The {@link TornadoGraph} built from the execution context.
+     */
+    public static void fuseTasks(TornadoExecutionContext executionContext, TornadoGraph graph) {
+        if (executionContext.getBatchSize() != TornadoExecutionContext.INIT_VALUE) {
+            return;
+        }
+
+        final BitSet taskNodes = graph.filter(TaskNode.class);
+        TaskNode producerNode = null;
+        for (int i = taskNodes.nextSetBit(0); i != -1; i = taskNodes.nextSetBit(i + 1)) {
+            final TaskNode consumerNode = (TaskNode) graph.getNode(i);
+            if (producerNode == null || !fuse(executionContext, graph, producerNode, consumerNode)) {
+                producerNode = consumerNode;
+            }
+        }
+    }
+
+    private static boolean isFusionCandidate(SchedulableTask task, TaskNode taskNode) {
+        if (!(task instanceof CompilableTask compilableTask) || !Modifier.isStatic(compilableTask.getMethod().getModifiers())) {
+            return false;
+        }
+        if (task.getArguments().length != taskNode.getNumArgs()) {
+            return false;
+        }
+        for (Annotation[] annotations : compilableTask.getMethod().getParameterAnnotations()) {
+            for (Annotation annotation : annotations) {
+                if (annotation instanceof Reduce) {
+                    return false;
+                }
+            }
+        }
+
+        // The same array passed twice to a task could not be told apart from two different arrays
+        final Object[] arguments = task.getArguments();
+        for (int i = 0; i < arguments.length; i++) {
+            for (int j = i + 1; j < arguments.length; j++) {
+                if (isReference(taskNode.getArg(i)) && arguments[i] == arguments[j]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isReference(AbstractNode node) {
+        return !(node instanceof ConstantNode);
+    }
+
+    private static int getObjectIndex(AbstractNode node) {
+        if (node instanceof AllocateNode allocateNode) {
+            return allocateNode.getValue().getIndex();
+        } else if (node instanceof CopyInNode copyInNode) {
+            return copyInNode.getValue().getIndex();
+        } else if (node instanceof StreamInNode streamInNode) {
+            return streamInNode.getValue().getIndex();
+        } else if (node instanceof OnDeviceObjectNode onDeviceObjectNode) {
+            return onDeviceObjectNode.getValue().getIndex();
+        } else if (node instanceof DependentReadNode dependentReadNode) {
+            return dependentReadNode.getValue().getIndex();
+        } else if (node instanceof CopyOutNode copyOutNode) {
+            return copyOutNode.getValue().getValue().getIndex();
+        } else if (node instanceof DeallocateNode deallocateNode) {
+            return deallocateNode.getValue().getIndex();
+        }
+        return -1;
+    }
+
+    /**
+     * An array is an intermediate when the producer allocates it without reading
+     * it, the consumer only reads it, and nothing else in the task-graph uses it.
+     */
+    private static boolean isIntermediate(TornadoExecutionContext executionContext, TornadoGraph graph, TaskNode producerNode, AbstractNode producerArg, Access producerAccess,
+            TaskNode consumerNode, AbstractNode consumerArg, Access consumerAccess) {
+        if (producerAccess != Access.WRITE_ONLY || consumerAccess != Access.READ_ONLY || !(producerArg instanceof AllocateNode)) {
+            return false;
+        }
+        if (!(consumerArg instanceof DependentReadNode dependentRead) || dependentRead.getDependent() != producerNode) {
+            return false;
+        }
+
+        final int objectIndex = getObjectIndex(producerArg);
+        final LocalObjectState state = executionContext.getObjectStates().get(objectIndex);
+        if (state.isStreamOut() || state.isUnderDemand() || state.isForcedStreamIn() || state.isOnDevice()
+                || executionContext.getPersistedObjects().contains(executionContext.getObjects().get(objectIndex))) {
+            return false;
+        }
+
+        final BitSet valid = graph.getValid();
+        for (int i = valid.nextSetBit(0); i != -1; i = valid.nextSetBit(i + 1)) {
+            final AbstractNode node = graph.getNode(i);
+            if (node instanceof TaskNode taskNode && taskNode != producerNode && taskNode != consumerNode) {
+                for (int arg = 0; arg < taskNode.getNumArgs(); arg++) {
+                    if (getObjectIndex(taskNode.getArg(arg)) == objectIndex) {
+                        return false;
+                    }
+                }
+            } else if ((node instanceof CopyOutNode || node instanceof CopyInNode || node instanceof StreamInNode || node instanceof OnDeviceObjectNode) && getObjectIndex(node) == objectIndex) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean fuse(TornadoExecutionContext executionContext, TornadoGraph graph, TaskNode producerNode, TaskNode consumerNode) {
+        final SchedulableTask producerTask = executionContext.getTask(producerNode.getTaskIndex());
+        final SchedulableTask consumerTask = executionContext.getTask(consumerNode.getTaskIndex());
+        if (producerNode.getContext() != consumerNode.getContext() || consumerTask instanceof FusedTask || !isFusionCandidate(producerTask, producerNode)
+                || !isFusionCandidate(consumerTask, consumerNode)) {
+            return false;
+        }
+        final CompilableTask producer = (CompilableTask) producerTask;
+        final CompilableTask consumer = (CompilableTask) consumerTask;
+        final Access[] producerAccess = producer.getSketch().getArgumentsAccess();
+        final Access[] consumerAccess = consumer.getSketch().getArgumentsAccess();
+
+        // The arguments of the producer, followed by the arguments of the consumer that are not shared
+        final List<Object> arguments = new ArrayList<>(Arrays.asList(producer.getArguments()));
+        final List<AbstractNode> argumentNodes = new ArrayList<>();
+        for (int i = 0; i < producerNode.getNumArgs(); i++) {
+            argumentNodes.add(producerNode.getArg(i));
+        }
+
+        final int[] consumerParameters = new int[consumerNode.getNumArgs()];
+        final Set<Integer> intermediates = new HashSet<>();
+        for (int i = 0; i < consumerParameters.length; i++) {
+            final Object argument = consumer.getArguments()[i];
+            final AbstractNode argumentNode = consumerNode.getArg(i);
+            int index = -1;
+            for (int j = 0; j < producerNode.getNumArgs() && isReference(argumentNode); j++) {
+                if (isReference(argumentNodes.get(j)) && arguments.get(j) == argument) {
+                    index = j;
+                }
+            }
+            if (index == -1) {
+                index = arguments.size();
+                arguments.add(argument);
+                argumentNodes.add(argumentNode);
+            } else if (isIntermediate(executionContext, graph, producerNode, argumentNodes.get(index), producerAccess[index], consumerNode, argumentNode, consumerAccess[i])) {
+                intermediates.add(index);
+            }
+            consumerParameters[i] = index;
+        }
+
+        final FusedKernel kernel = TornadoSketchFusion.fuse(producer.getResolvedMethod(), producer.getSketch(), consumer.getResolvedMethod(), consumer.getSketch(), consumerParameters,
+                arguments.toArray(), intermediates);
+        if (kernel == null) {
+            logger.debug("Tasks %s and %s are not fused", producer.getId(), consumer.getId());
+            return false;
+        }
+
+        final int[] parameters = kernel.getParameters();
+        final Object[] fusedArguments = new Object[parameters.length];
+        final AbstractNode[] fusedArgumentNodes = new AbstractNode[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            fusedArguments[i] = arguments.get(parameters[i]);
+            fusedArgumentNodes[i] = argumentNodes.get(parameters[i]);
+        }
+
+        final String taskId = producer.getId().substring(executionContext.meta().getId().length() + 1);
+        final FusedTask fusedTask = new FusedTask(executionContext.meta(), taskId, producer, consumer, kernel.getSketch(), kernel.getMethod(), fusedArguments);
+        executionContext.setTask(producerNode.getTaskIndex(), fusedTask);
+        producerNode.setArguments(fusedArgumentNodes);
+
+        final Set<AbstractNode> deletedNodes = new HashSet<>();
+        deletedNodes.add(consumerNode);
+        delete(graph, consumerNode);
+        for (int index : intermediates) {
+            if (Arrays.stream(parameters).noneMatch(parameter -> parameter == index)) {
+                removeIntermediate(graph, getObjectIndex(argumentNodes.get(index)), producerNode, deletedNodes);
+            }
+        }
+
+        // Nodes that waited for the consumer, or for a deleted node, now wait for the fused task
+        final BitSet valid = graph.getValid();
+        for (int i = valid.nextSetBit(0); i != -1; i = valid.nextSetBit(i + 1)) {
+            final AbstractNode node = graph.getNode(i);
+            if (node instanceof DependentReadNode dependentRead && dependentRead.getDependent() == consumerNode) {
+                dependentRead.setDependent(producerNode);
+            } else if (node instanceof DeallocateNode deallocate && deletedNodes.contains(deallocate.getDependent())) {
+                deallocate.setDependent(producerNode);
+            }
+        }
+
+        logger.info("Tasks %s and %s fused into %s", producer.getId(), consumer.getId(), kernel.getMethod().getName());
+        return true;
+    }
+
+    private static void removeIntermediate(TornadoGraph graph, int objectIndex, TaskNode producerNode, Set<AbstractNode> deletedNodes) {
+        final BitSet valid = graph.getValid();
+        for (int i = valid.nextSetBit(0); i != -1; i = valid.nextSetBit(i + 1)) {
+            final AbstractNode node = graph.getNode(i);
+            if (node instanceof AllocateMultipleBuffersNode persist) {
+                persist.getValues().removeIf(value -> value.getIndex() == objectIndex);
+                if (persist.getValues().isEmpty()) {
+                    deletedNodes.add(persist);
+                }
+            } else if ((node instanceof AllocateNode || node instanceof DeallocateNode) && getObjectIndex(node) == objectIndex) {
+                deletedNodes.add(node);
+            } else if (node instanceof DependentReadNode dependentRead && dependentRead.getDependent() == producerNode && getObjectIndex(node) == objectIndex) {
+                deletedNodes.add(node);
+            }
+        }
+        for (AbstractNode node : deletedNodes) {
+            if (node.getId() >= 0 && graph.getValid().get(node.getId())) {
+                delete(graph, node);
+            }
+        }
+    }
+
+    private static void delete(TornadoGraph graph, AbstractNode node) {
+        if (node instanceof ContextOpNode contextOpNode) {
+            contextOpNode.getContext().getUses().remove(node);
+        }
+        graph.delete(node);
+    }
+}
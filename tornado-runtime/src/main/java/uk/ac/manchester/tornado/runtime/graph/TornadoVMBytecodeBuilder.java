@@ -27,8 +27,12 @@ import static uk.ac.manchester.tornado.runtime.common.Tornado.getProperty;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import uk.ac.manchester.tornado.runtime.common.BatchConfiguration;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 import uk.ac.manchester.tornado.runtime.graph.nodes.AbstractNode;
@@ -54,6 +58,10 @@ public class TornadoVMBytecodeBuilder {
 
     private boolean isSingleContext;
 
+    private BatchConfiguration batchConfiguration;
+    private int batchChunk;
+    private boolean isLastBatchChunk;
+
     /**
      * It constructs a new TornadoVMBytecodeBuilder instance. Initializes the byte
      * array to hold the bytecode with the maximum bytecode size. Initializes the
@@ -69,6 +77,24 @@ public class TornadoVMBytecodeBuilder {
         return isSingleContext;
     }
 
+    /**
+     * Set the batch (chunk) for which the following bytecodes are emitted. It is
+     * used to compute the size and offset of each object, and to transfer the
+     * broadcast objects only once.
+     *
+     * @param batchConfiguration
+     *     {@link BatchConfiguration}
+     * @param chunk
+     *     Index of the chunk.
+     * @param isLastChunk
+     *     Whether this is the last chunk.
+     */
+    public void setBatchChunk(BatchConfiguration batchConfiguration, int chunk, boolean isLastChunk) {
+        this.batchConfiguration = batchConfiguration;
+        this.batchChunk = chunk;
+        this.isLastBatchChunk = isLastChunk;
+    }
+
     public void begin(int numContexts, int numStacks, int numDeps) {
         bitcodeASM.setup(numContexts, numStacks, numDeps);
         for (int i = 0; i < numContexts; i++) {
@@ -85,22 +111,40 @@ public class TornadoVMBytecodeBuilder {
         bitcodeASM.end();
     }
 
+    public void batchSlot(int slot, int numSlots) {
+        bitcodeASM.batchSlot(slot, numSlots);
+    }
+
     void emitAsyncNode(AbstractNode node, int dependencyBC, long offset, long batchSize, long nThreads) {
         if (node instanceof AllocateMultipleBuffersNode allocateMultipleBuffersNode) {
-            bitcodeASM.allocate(allocateMultipleBuffersNode.getValues(), batchSize);
+            emitAllocate(allocateMultipleBuffersNode.getValues(), batchSize);
         } else if (node instanceof OnDeviceObjectNode onDeviceObjectNode) {
-            bitcodeASM.onDevice(onDeviceObjectNode.getIndex(), dependencyBC, offset, batchSize); 
+            final int index = onDeviceObjectNode.getIndex();
+            bitcodeASM.onDevice(index, dependencyBC, objectBatchOffset(index, offset), objectBatchSize(index, batchSize));
         } else if (node instanceof CopyInNode copyInNode) {
-            bitcodeASM.transferToDeviceOnce(copyInNode.getValue().getIndex(), dependencyBC, offset, batchSize);
+            final int index = copyInNode.getValue().getIndex();
+            if (isTransferredInPreviousBatch(index)) {
+                return;
+            }
+            bitcodeASM.transferToDeviceOnce(index, dependencyBC, objectBatchOffset(index, offset), objectBatchSize(index, batchSize));
         } else if (node instanceof AllocateNode allocateNode) {
             new TornadoLogger().info("[%s]: Skipping deprecated node %s", getClass().getSimpleName(), AllocateNode.class.getSimpleName());
         } else if (node instanceof CopyOutNode copyOutNode) {
             ObjectNode value = copyOutNode.getValue().getValue();
-            bitcodeASM.transferToHost(value.getIndex(), dependencyBC, offset, batchSize);
+            bitcodeASM.transferToHost(value.getIndex(), dependencyBC, objectBatchOffset(value.getIndex(), offset), objectBatchSize(value.getIndex(), batchSize));
         } else if (node instanceof StreamInNode streamInNode) {
-            bitcodeASM.transferToDeviceAlways(streamInNode.getValue().getIndex(), dependencyBC, offset, batchSize);
+            final int index = streamInNode.getValue().getIndex();
+            if (isTransferredInPreviousBatch(index)) {
+                return;
+            }
+            bitcodeASM.transferToDeviceAlways(index, dependencyBC, objectBatchOffset(index, offset), objectBatchSize(index, batchSize));
         } else if (node instanceof DeallocateNode deallocateNode) {
-            bitcodeASM.deallocate((deallocateNode.getValue().getIndex()));
+            final int index = deallocateNode.getValue().getIndex();
+            if (isBroadcastObject(index) && !isLastBatchChunk) {
+                // Broadcast objects are shared by all batches
+                return;
+            }
+            bitcodeASM.deallocate(index);
         } else if (node instanceof TaskNode taskNodee) {
             final TaskNode taskNode = taskNodee;
             bitcodeASM.launch(taskNode.getContext().getDeviceIndex(), taskNode.getTaskIndex(), taskNode.getNumArgs(), dependencyBC, offset, nThreads);
@@ -108,6 +152,45 @@ public class TornadoVMBytecodeBuilder {
         }
     }
 
+    private void emitAllocate(List<AbstractNode> values, long batchSize) {
+        if (batchConfiguration == null) {
+            bitcodeASM.allocate(values, batchSize);
+            return;
+        }
+        // Objects with different element sizes need buffers of different sizes per batch
+        Map<Long, List<AbstractNode>> allocationsBySize = new LinkedHashMap<>();
+        for (AbstractNode node : values) {
+            final int index = node.getIndex();
+            if (isTransferredInPreviousBatch(index)) {
+                continue;
+            }
+            allocationsBySize.computeIfAbsent(objectBatchSize(index, batchSize), size -> new ArrayList<>()).add(node);
+        }
+        allocationsBySize.forEach((size, nodes) -> bitcodeASM.allocate(nodes, size));
+    }
+
+    private boolean isBroadcastObject(int index) {
+        return batchConfiguration != null && batchConfiguration.isBroadcast(index);
+    }
+
+    private boolean isTransferredInPreviousBatch(int index) {
+        return isBroadcastObject(index) && batchChunk > 0;
+    }
+
+    private long objectBatchOffset(int index, long offset) {
+        if (batchConfiguration == null) {
+            return offset;
+        }
+        return isBroadcastObject(index) ? 0 : batchConfiguration.getObjectBytes(index, offset);
+    }
+
+    private long objectBatchSize(int index, long batchSize) {
+        if (batchConfiguration == null) {
+            return batchSize;
+        }
+        return isBroadcastObject(index) ? 0 : batchConfiguration.getObjectBytes(index, batchSize);
+    }
+
     private void emitArgList(TaskNode taskNode) {
         final int numArgs = taskNode.getNumArgs();
         for (int i = 0; i < numArgs; i++) {
@@ -256,6 +339,12 @@ public class TornadoVMBytecodeBuilder {
             buffer.putInt(dep);
         }
 
+        void batchSlot(int slot, int numSlots) {
+            buffer.put(TornadoVMBytecodes.BATCH_SLOT.value);
+            buffer.putInt(slot);
+            buffer.putInt(numSlots);
+        }
+
         void constantArg(int index) {
             buffer.put(TornadoVMBytecodes.PUSH_CONSTANT_ARGUMENT.value);
             buffer.putInt(index);
@@ -203,7 +203,20 @@ public enum TornadoVMBytecodes {
      * ON_DEVICE(obj,dest)
      * </code>
      */
-    ON_DEVICE((byte) 25);
+    ON_DEVICE((byte) 25),
+
+    /**
+     * Select the set of device buffers used by the following bytecodes when
+     * processing in pipelined batches. Each slot has its own device buffers, so
+     * consecutive batches can overlap.
+     * <p>
+     * Format:
+     *
+     * <code>
+     * BATCH_SLOT(slot, numSlots)
+     * </code>
+     */
+    BATCH_SLOT((byte) 26);
 
 
     final byte value;
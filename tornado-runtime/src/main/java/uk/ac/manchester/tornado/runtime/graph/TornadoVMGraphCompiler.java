@@ -117,22 +117,36 @@ public class TornadoVMGraphCompiler {
 
         BatchConfiguration batchConfiguration = BatchConfiguration.computeChunkSizes(executionContext, batchSize);
 
+        // When pipelining, consecutive batches rotate over independent device buffers
+        final int numSlots = Math.max(1, Math.min(TornadoOptions.BATCH_PIPELINE_DEPTH, batchConfiguration.getTotalChunks()));
+
         long offset = 0;
         long numberOfThreads = batchSize / batchConfiguration.getNumBytesType();
+        final boolean hasRemainingChunk = batchConfiguration.getRemainingChunkSize() != 0;
         for (int i = 0; i < batchConfiguration.getTotalChunks(); i++) {
             offset = (batchSize * i);
+            emitBatchSlot(tornadoVMBytecodeBuilder, i, numSlots);
+            tornadoVMBytecodeBuilder.setBatchChunk(batchConfiguration, i, !hasRemainingChunk && i == batchConfiguration.getTotalChunks() - 1);
             scheduleAndEmitTornadoVMBytecodes(tornadoVMBytecodeBuilder, graph, intermediateTornadoGraph, offset, batchSize, numberOfThreads, 1, executionContext);
         }
         // Last chunk
-        if (batchConfiguration.getRemainingChunkSize() != 0) {
+        if (hasRemainingChunk) {
             offset += (batchSize);
             numberOfThreads = batchConfiguration.getRemainingChunkSize() / batchConfiguration.getNumBytesType();
             long realBatchSize = batchConfiguration.getTotalChunks() == 0 ? 0 : batchConfiguration.getRemainingChunkSize();
             long realOffsetSize = batchConfiguration.getTotalChunks() == 0 ? 0 : offset;
+            emitBatchSlot(tornadoVMBytecodeBuilder, batchConfiguration.getTotalChunks(), numSlots);
+            tornadoVMBytecodeBuilder.setBatchChunk(batchConfiguration, batchConfiguration.getTotalChunks(), true);
             scheduleAndEmitTornadoVMBytecodes(tornadoVMBytecodeBuilder, graph, intermediateTornadoGraph, realOffsetSize, realBatchSize, numberOfThreads, 1, executionContext);
         }
     }
 
+    private static void emitBatchSlot(TornadoVMBytecodeBuilder tornadoVMBytecodeBuilder, int chunk, int numSlots) {
+        if (numSlots > 1) {
+            tornadoVMBytecodeBuilder.batchSlot(chunk % numSlots, numSlots);
+        }
+    }
+
     private static void synchronizeOperationLastByteCode(TornadoVMBytecodeBuilder result, int numDepLists) {
         final byte[] code = result.getCode();
         int position = result.getLastCopyOutPosition();
@@ -29,7 +29,7 @@ import java.util.List;
 
 public class TaskNode extends ContextOpNode {
 
-    private final AbstractNode[] arguments;
+    private AbstractNode[] arguments;
     private final int taskIndex;
 
     public TaskNode(ContextNode context, int index, AbstractNode[] arguments) {
@@ -42,6 +42,10 @@ public class TaskNode extends ContextOpNode {
         return arguments[index];
     }
 
+    public void setArguments(AbstractNode[] arguments) {
+        this.arguments = arguments;
+    }
+
     public int getTaskIndex() {
         return taskIndex;
     }
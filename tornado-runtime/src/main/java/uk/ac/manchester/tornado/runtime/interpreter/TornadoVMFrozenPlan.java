@@ -0,0 +1,138 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.runtime.interpreter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import uk.ac.manchester.tornado.runtime.graph.TornadoVMBytecodeResult;
+import uk.ac.manchester.tornado.runtime.graph.TornadoVMBytecodes;
+
+/**
+ * A frozen plan is the list of TornadoVM bytecodes of an interpreter, decoded
+ * once into an array of {@link Command}s. The {@link TornadoVMInterpreter}
+ * replays this array in the following executions instead of decoding the
+ * bytecode buffer each time.
+ *
+ * <p>
+ * Plans that contain batches are not frozen, because each batch selects
+ * different buffers and might need to recompile the kernels.
+ * </p>
+ */
+final class TornadoVMFrozenPlan {
+
+    private final Command[] commands;
+
+    private TornadoVMFrozenPlan(Command[] commands) {
+        this.commands = commands;
+    }
+
+    /**
+     * It decodes the bytecodes from the marked position of the buffer up to the
+     * END bytecode. The position of the buffer is restored afterward.
+     *
+     * @param bytecodeResult
+     *     The {@link TornadoVMBytecodeResult} of the interpreter.
+     * @return The {@link TornadoVMFrozenPlan}, or null if the bytecodes can not
+     *     be frozen.
+     */
+    static TornadoVMFrozenPlan record(TornadoVMBytecodeResult bytecodeResult) {
+        final List<Command> commands = new ArrayList<>();
+        try {
+            while (bytecodeResult.hasRemaining()) {
+                final byte op = bytecodeResult.get();
+                final Command command = new Command(op);
+                if (op == TornadoVMBytecodes.ALLOC.value()) {
+                    command.size = bytecodeResult.getLong();
+                    command.objects = new int[bytecodeResult.getInt()];
+                    for (int i = 0; i < command.objects.length; i++) {
+                        command.objects[i] = bytecodeResult.getInt();
+                    }
+                } else if (op == TornadoVMBytecodes.DEALLOC.value()) {
+                    command.objectIndex = bytecodeResult.getInt();
+                } else if (op == TornadoVMBytecodes.TRANSFER_HOST_TO_DEVICE_ONCE.value() || op == TornadoVMBytecodes.TRANSFER_HOST_TO_DEVICE_ALWAYS.value()
+                        || op == TornadoVMBytecodes.TRANSFER_DEVICE_TO_HOST_ALWAYS.value() || op == TornadoVMBytecodes.TRANSFER_DEVICE_TO_HOST_ALWAYS_BLOCKING.value()
+                        || op == TornadoVMBytecodes.ON_DEVICE.value()) {
+                    command.objectIndex = bytecodeResult.getInt();
+                    command.eventList = bytecodeResult.getInt();
+                    command.offset = bytecodeResult.getLong();
+                    command.size = bytecodeResult.getLong();
+                } else if (op == TornadoVMBytecodes.LAUNCH.value()) {
+                    command.callWrapperIndex = bytecodeResult.getInt();
+                    command.taskIndex = bytecodeResult.getInt();
+                    final int numArgs = bytecodeResult.getInt();
+                    command.eventList = bytecodeResult.getInt();
+                    command.offset = bytecodeResult.getLong();
+                    command.size = bytecodeResult.getLong();
+                    command.argTypes = new byte[numArgs];
+                    command.objects = new int[numArgs];
+                    for (int i = 0; i < numArgs; i++) {
+                        command.argTypes[i] = bytecodeResult.get();
+                        command.objects[i] = bytecodeResult.getInt();
+                    }
+                } else if (op == TornadoVMBytecodes.ADD_DEPENDENCY.value() || op == TornadoVMBytecodes.BARRIER.value()) {
+                    command.eventList = bytecodeResult.getInt();
+                } else if (op == TornadoVMBytecodes.END.value()) {
+                    commands.add(command);
+                    break;
+                } else {
+                    // Batches and unknown bytecodes are only handled by the interpreter
+                    return null;
+                }
+                commands.add(command);
+            }
+        } finally {
+            bytecodeResult.reset();
+        }
+        return new TornadoVMFrozenPlan(commands.toArray(new Command[0]));
+    }
+
+    Command[] getCommands() {
+        return commands;
+    }
+
+    /**
+     * A decoded bytecode. The meaning of each field depends on the bytecode, as
+     * in the bytecode buffer. For a LAUNCH, {@code size} holds the number of
+     * threads of the batch and {@code objects} the indexes of the arguments.
+     */
+    static final class Command {
+        final byte op;
+        int objectIndex;
+        int eventList;
+        long offset;
+        long size;
+        int[] objects;
+        byte[] argTypes;
+        int callWrapperIndex;
+        int taskIndex;
+
+        Command(byte op) {
+            this.op = op;
+        }
+
+        int getNumArgs() {
+            return argTypes.length;
+        }
+    }
+}
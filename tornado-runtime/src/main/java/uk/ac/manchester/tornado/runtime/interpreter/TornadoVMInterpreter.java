@@ -27,11 +27,14 @@ import static uk.ac.manchester.tornado.api.enums.TornadoExecutionStatus.COMPLETE
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.VIRTUAL_DEVICE_ENABLED;
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.VM_USE_DEPS;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import uk.ac.manchester.tornado.api.GridScheduler;
@@ -41,6 +44,7 @@ import uk.ac.manchester.tornado.api.common.Access;
 import uk.ac.manchester.tornado.api.common.Event;
 import uk.ac.manchester.tornado.api.common.SchedulableTask;
 import uk.ac.manchester.tornado.api.common.TornadoEvents;
+import uk.ac.manchester.tornado.api.enums.TornadoExecutionStatus;
 import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoDeviceFP64NotSupported;
@@ -49,10 +53,14 @@ import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 import uk.ac.manchester.tornado.api.exceptions.TornadoMemoryException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.api.memory.XPUBuffer;
+import uk.ac.manchester.tornado.api.metrics.TornadoMetrics;
+import uk.ac.manchester.tornado.api.metrics.TornadoMetricsListener.TransferDirection;
 import uk.ac.manchester.tornado.api.profiler.ProfilerType;
 import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
 import uk.ac.manchester.tornado.api.runtime.TaskContextInterface;
 import uk.ac.manchester.tornado.runtime.EmptyEvent;
+import uk.ac.manchester.tornado.runtime.common.BatchConfiguration;
+import uk.ac.manchester.tornado.runtime.common.CompilerPool;
 import uk.ac.manchester.tornado.runtime.common.KernelStackFrame;
 import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
@@ -78,6 +86,7 @@ public class TornadoVMInterpreter {
     private static final Event EMPTY_EVENT = new EmptyEvent();
 
     private static final int MAX_EVENTS = TornadoOptions.MAX_EVENTS;
+    private static final int MAX_BATCH_SLOT_EVENTS = 16;
     private final boolean useDependencies;
 
     private final HashMap<Object, Access> objectAccesses;
@@ -91,6 +100,15 @@ public class TornadoVMInterpreter {
     private final TornadoXPUDevice interpreterDevice;
     private final TornadoInstalledCode[] installedCodes;
 
+    /**
+     * Tasks that run the code of the quick compilation tier, when
+     * {@link TornadoOptions#TIERED_COMPILATION} is enabled. The quick code is kept
+     * in {@code installedCodes} until the optimised code compiled in the
+     * background is available, and it is swapped before the next launch of the
+     * task.
+     */
+    private final TieredCompilation[] tieredCompilations;
+
     private final List<Object> constants;
     private final List<SchedulableTask> taskExecutionContexts;
     private final List<SchedulableTask> localTaskList;
@@ -103,6 +121,81 @@ public class TornadoVMInterpreter {
 
     private GridScheduler gridScheduler;
 
+    /**
+     * Device buffers for pipelined batch processing, indexed by [slot][object].
+     * Slot 0 uses the buffers from the data object states.
+     */
+    private XPUDeviceBufferState[][] batchSlotStates;
+
+    /**
+     * Events of the commands (launches and copies out) enqueued for each batch
+     * slot in its current round, indexed by [slot][event]. When the slot rotates,
+     * they are merged into a single marker, {@code batchSlotReleaseEvents}, which
+     * every copy into the slot waits for during its next round.
+     */
+    private int[] batchSlotReleaseEvents;
+    private int[][] batchSlotRoundEvents;
+    private int[] numBatchSlotRoundEvents;
+    private int batchSlot;
+    private boolean pendingBatchTransfers;
+
+    /**
+     * When set, the blocking copies out are enqueued as non-blocking copies, and
+     * the caller waits for the completion of the execution plan on the device.
+     */
+    private boolean nonBlockingCopyOut;
+
+    /**
+     * Buffers locked while pipelined batches are in flight. Copies out are not
+     * blocking, so a buffer released by DEALLOC could be handed to the next batch
+     * before its read completes. They are released after the final sync.
+     */
+    private final List<XPUDeviceBufferState> batchLockedBuffers = new ArrayList<>();
+
+    /**
+     * Bytecodes decoded after the first execution when
+     * {@link TornadoOptions#VM_FROZEN_PLAN} is enabled. The execution frame of
+     * each LAUNCH is kept in the same position of {@code frozenFrames}, and its
+     * bound arguments in the same position of {@code frozenLaunches}.
+     */
+    private TornadoVMFrozenPlan frozenPlan;
+    private XPUExecutionFrame[] frozenFrames;
+    private BoundLaunch[] frozenLaunches;
+    private boolean frozenPlanRecorded;
+
+    /**
+     * Compilations collected by the bytecode pass of
+     * {@link #compileTasksInParallel()}. It is {@code null} when each task is
+     * compiled as its LAUNCH bytecode is reached.
+     */
+    private List<PendingCompilation> pendingCompilations;
+
+    /**
+     * Scratch state reused across launches to avoid allocations per kernel call.
+     */
+    private final HashMap<Integer, Integer> threadDeploy = new HashMap<>();
+    private byte[] launchArgTypes = new byte[0];
+    private int[] launchArgIndexes = new int[0];
+
+    /**
+     * Events of the current execution whose times are published as runtime
+     * metrics ({@link TornadoMetrics}) at the end of the execution. For each
+     * event, it keeps the kind of operation and the task index (kernels) or the
+     * number of bytes (copies). The buffers grow with the number of events of
+     * the execution.
+     */
+    private static final int INITIAL_METRIC_EVENTS = 256;
+    private static final byte METRIC_KERNEL = 0;
+    private static final byte METRIC_COPY_IN = 1;
+    private static final byte METRIC_COPY_OUT = 2;
+    private int[] metricEvents = new int[INITIAL_METRIC_EVENTS];
+    private byte[] metricKinds = new byte[INITIAL_METRIC_EVENTS];
+    private long[] metricValues = new long[INITIAL_METRIC_EVENTS];
+    private int numMetricEvents;
+    private boolean metricsEnabled;
+    private long metricsPoolHits;
+    private long metricsPoolMisses;
+
     private TornadoLogger logger = new TornadoLogger(this.getClass());
 
     /**
@@ -140,6 +233,7 @@ public class TornadoVMInterpreter {
         localTaskList = graphExecutionContext.getTasksForDevice(interpreterDevice.getDeviceContext());
 
         installedCodes = new TornadoInstalledCode[localTaskList.size()];
+        tieredCompilations = new TieredCompilation[localTaskList.size()];
 
         for (int i = 0; i < events.length; i++) {
             Arrays.fill(events[i], -1);
@@ -165,6 +259,9 @@ public class TornadoVMInterpreter {
     }
 
     public void setTimeProfiler(TornadoProfiler tornadoProfiler) {
+        if (this.timeProfiler != tornadoProfiler) {
+            invalidateFrozenPlan();
+        }
         this.timeProfiler = tornadoProfiler;
     }
 
@@ -192,7 +289,14 @@ public class TornadoVMInterpreter {
         }
     }
 
+    public void setNonBlockingCopyOut(boolean nonBlockingCopyOut) {
+        this.nonBlockingCopyOut = nonBlockingCopyOut;
+    }
+
     public void setGridScheduler(GridScheduler gridScheduler) {
+        if (this.gridScheduler != gridScheduler) {
+            invalidateFrozenPlan();
+        }
         this.gridScheduler = gridScheduler;
     }
 
@@ -255,9 +359,14 @@ public class TornadoVMInterpreter {
         }
 
         final long t0 = System.nanoTime();
-        int lastEvent = -1;
         initWaitEventList();
 
+        metricsEnabled = !isWarmup && TornadoMetrics.isEnabled();
+        if (metricsEnabled) {
+            metricsPoolHits = interpreterDevice.getBufferPoolHits();
+            metricsPoolMisses = interpreterDevice.getBufferPoolMisses();
+        }
+
         StringBuilder tornadoVMBytecodeList = null;
         if (TornadoOptions.PRINT_BYTECODES) {
             tornadoVMBytecodeList = new StringBuilder();
@@ -265,6 +374,71 @@ public class TornadoVMInterpreter {
                     .debugHighLightHelper(" Running in thread: ")).append(Thread.currentThread().getName()).append("\n");
         }
 
+        if (shouldCompileInParallel()) {
+            compileTasksInParallel();
+        }
+
+        if (!isWarmup && frozenPlan != null) {
+            replayFrozenPlan(tornadoVMBytecodeList);
+        } else {
+            interpretBytecodes(isWarmup, tornadoVMBytecodeList);
+        }
+
+        if (pendingBatchTransfers) {
+            // Non-blocking copies of previous batches might still be in flight
+            interpreterDevice.sync(graphExecutionContext.getExecutionPlanId());
+            pendingBatchTransfers = false;
+        }
+        releaseBatchLockedBuffers();
+        resetBatchSlotEvents();
+        batchSlot = 0;
+
+        Event barrier = EMPTY_EVENT;
+        if (!isWarmup) {
+            if (useDependencies) {
+                final int event = interpreterDevice.enqueueMarker(graphExecutionContext.getExecutionPlanId());
+                barrier = interpreterDevice.resolveEvent(graphExecutionContext.getExecutionPlanId(), event);
+            }
+
+            if (TornadoOptions.USE_VM_FLUSH) {
+                interpreterDevice.flush(graphExecutionContext.getExecutionPlanId());
+            }
+
+            if (metricsEnabled) {
+                publishMetrics();
+            }
+        }
+
+        final long t1 = System.nanoTime();
+        final double elapsed = (t1 - t0) * 1e-9;
+        if (!isWarmup) {
+            totalTime += elapsed;
+            invocations++;
+        }
+
+        if (graphExecutionContext.meta().isDebug()) {
+            logger.debug("bc: complete elapsed=%.9f s (%d iterations, %.9f s mean)", elapsed, invocations, (totalTime / invocations));
+        }
+
+        bytecodeResult.reset();
+
+        if (!isWarmup && !frozenPlanRecorded && isFrozenPlanApplicable()) {
+            // The first execution has resolved the kernels, so the following executions replay the decoded plan
+            frozenPlan = TornadoVMFrozenPlan.record(bytecodeResult);
+            frozenFrames = (frozenPlan != null) ? new XPUExecutionFrame[frozenPlan.getCommands().length] : null;
+            frozenLaunches = (frozenPlan != null) ? new BoundLaunch[frozenPlan.getCommands().length] : null;
+            frozenPlanRecorded = true;
+        }
+
+        if (TornadoOptions.PRINT_BYTECODES) {
+            System.out.println(tornadoVMBytecodeList);
+        }
+
+        return barrier;
+    }
+
+    private void interpretBytecodes(boolean isWarmup, StringBuilder tornadoVMBytecodeList) {
+        int lastEvent = -1;
         while (bytecodeResult.hasRemaining()) {
             final byte op = bytecodeResult.get();
             if (op == TornadoVMBytecodes.ALLOC.value()) {
@@ -293,7 +467,7 @@ public class TornadoVMInterpreter {
                 if (isWarmup) {
                     continue;
                 }
-                transferHostToDeviceOnce(tornadoVMBytecodeList, objectIndex, offset, eventList, sizeBatch, waitList);
+                transferHostToDeviceOnce(tornadoVMBytecodeList, objectIndex, offset, eventList, sizeBatch, appendBatchSlotDependency(waitList));
             } else if (op == TornadoVMBytecodes.TRANSFER_HOST_TO_DEVICE_ALWAYS.value()) {
                 final int objectIndex = bytecodeResult.getInt();
                 final int eventList = bytecodeResult.getInt();
@@ -303,7 +477,7 @@ public class TornadoVMInterpreter {
                 if (isWarmup) {
                     continue;
                 }
-                transferHostToDeviceAlways(tornadoVMBytecodeList, objectIndex, offset, eventList, sizeBatch, waitList);
+                transferHostToDeviceAlways(tornadoVMBytecodeList, objectIndex, offset, eventList, sizeBatch, appendBatchSlotDependency(waitList));
             } else if (op == TornadoVMBytecodes.TRANSFER_DEVICE_TO_HOST_ALWAYS.value()) {
                 final int objectIndex = bytecodeResult.getInt();
                 final int eventList = bytecodeResult.getInt();
@@ -314,6 +488,7 @@ public class TornadoVMInterpreter {
                     continue;
                 }
                 lastEvent = transferDeviceToHost(tornadoVMBytecodeList, objectIndex, offset, eventList, sizeBatch, waitList);
+                updateBatchSlotReleaseEvent(lastEvent);
             } else if (op == TornadoVMBytecodes.TRANSFER_DEVICE_TO_HOST_ALWAYS_BLOCKING.value()) {
                 final int objectIndex = bytecodeResult.getInt();
                 final int eventList = bytecodeResult.getInt();
@@ -323,7 +498,11 @@ public class TornadoVMInterpreter {
                 if (isWarmup) {
                     continue;
                 }
-                transferDeviceToHostBlocking(tornadoVMBytecodeList, objectIndex, offset, eventList, sizeBatch, waitList);
+                if (nonBlockingCopyOut) {
+                    lastEvent = transferDeviceToHost(tornadoVMBytecodeList, objectIndex, offset, eventList, sizeBatch, waitList);
+                } else {
+                    transferDeviceToHostBlocking(tornadoVMBytecodeList, objectIndex, offset, eventList, sizeBatch, waitList);
+                }
             } else if (op == TornadoVMBytecodes.LAUNCH.value()) {
                 final int callWrapperIndex = bytecodeResult.getInt();
                 final int taskIndex = bytecodeResult.getInt();
@@ -336,7 +515,9 @@ public class TornadoVMInterpreter {
                     popArgumentsFromCall(numArgs);
                     continue;
                 }
-                lastEvent = executeLaunch(tornadoVMBytecodeList, numArgs, eventList, taskIndex, batchThreads, offset, info);
+                readLaunchArguments(numArgs);
+                lastEvent = executeLaunch(tornadoVMBytecodeList, numArgs, launchArgTypes, launchArgIndexes, eventList, taskIndex, batchThreads, offset, info);
+                updateBatchSlotReleaseEvent(lastEvent);
             } else if (op == TornadoVMBytecodes.ADD_DEPENDENCY.value()) {
                 final int eventList = bytecodeResult.getInt();
                 if (isWarmup) {
@@ -360,6 +541,13 @@ public class TornadoVMInterpreter {
                     continue;
                 }
                 lastEvent = executeBarrier(tornadoVMBytecodeList, eventList, waitList);
+            } else if (op == TornadoVMBytecodes.BATCH_SLOT.value()) {
+                final int slot = bytecodeResult.getInt();
+                final int numSlots = bytecodeResult.getInt();
+                if (isWarmup) {
+                    continue;
+                }
+                selectBatchSlot(tornadoVMBytecodeList, slot, numSlots);
             } else if (op == TornadoVMBytecodes.END.value()) {
                 if (!isWarmup && TornadoOptions.PRINT_BYTECODES) {
                     tornadoVMBytecodeList.append("bc: ").append(InterpreterUtilities.debugHighLightBC("END\n")).append("\n");
@@ -369,37 +557,184 @@ public class TornadoVMInterpreter {
                 throwErrorInterpreter(op);
             }
         }
+    }
 
-        Event barrier = EMPTY_EVENT;
-        if (!isWarmup) {
-            if (useDependencies) {
-                final int event = interpreterDevice.enqueueMarker(graphExecutionContext.getExecutionPlanId());
-                barrier = interpreterDevice.resolveEvent(graphExecutionContext.getExecutionPlanId(), event);
-            }
+    private boolean isFrozenPlanApplicable() {
+        return TornadoOptions.VM_FROZEN_PLAN && graphExecutionContext.getBatchSize() == TornadoExecutionContext.INIT_VALUE;
+    }
 
-            if (TornadoOptions.USE_VM_FLUSH) {
-                interpreterDevice.flush(graphExecutionContext.getExecutionPlanId());
+    private void invalidateFrozenPlan() {
+        frozenPlan = null;
+        frozenFrames = null;
+        frozenLaunches = null;
+        frozenPlanRecorded = false;
+    }
+
+    /**
+     * It runs the commands of the frozen plan. It performs the same actions as
+     * {@link #interpretBytecodes}, but with the operands already decoded and the
+     * execution frames of the kernels already resolved.
+     */
+    private void replayFrozenPlan(StringBuilder tornadoVMBytecodeList) {
+        final TornadoVMFrozenPlan.Command[] commands = frozenPlan.getCommands();
+        int lastEvent = -1;
+        for (int i = 0; i < commands.length; i++) {
+            final TornadoVMFrozenPlan.Command command = commands[i];
+            final byte op = command.op;
+            if (op == TornadoVMBytecodes.ALLOC.value()) {
+                lastEvent = executeAlloc(tornadoVMBytecodeList, command.objects, command.size);
+            } else if (op == TornadoVMBytecodes.DEALLOC.value()) {
+                lastEvent = executeDeAlloc(tornadoVMBytecodeList, command.objectIndex);
+            } else if (op == TornadoVMBytecodes.TRANSFER_HOST_TO_DEVICE_ONCE.value()) {
+                transferHostToDeviceOnce(tornadoVMBytecodeList, command.objectIndex, command.offset, command.eventList, command.size, resolveWaitList(command.eventList));
+            } else if (op == TornadoVMBytecodes.TRANSFER_HOST_TO_DEVICE_ALWAYS.value()) {
+                transferHostToDeviceAlways(tornadoVMBytecodeList, command.objectIndex, command.offset, command.eventList, command.size, resolveWaitList(command.eventList));
+            } else if (op == TornadoVMBytecodes.TRANSFER_DEVICE_TO_HOST_ALWAYS.value()) {
+                lastEvent = transferDeviceToHost(tornadoVMBytecodeList, command.objectIndex, command.offset, command.eventList, command.size, useDependencies ? events[command.eventList] : null);
+            } else if (op == TornadoVMBytecodes.TRANSFER_DEVICE_TO_HOST_ALWAYS_BLOCKING.value()) {
+                if (nonBlockingCopyOut) {
+                    lastEvent = transferDeviceToHost(tornadoVMBytecodeList, command.objectIndex, command.offset, command.eventList, command.size, useDependencies ? events[command.eventList] : null);
+                } else {
+                    transferDeviceToHostBlocking(tornadoVMBytecodeList, command.objectIndex, command.offset, command.eventList, command.size, useDependencies ? events[command.eventList] : null);
+                }
+            } else if (op == TornadoVMBytecodes.LAUNCH.value()) {
+                XPUExecutionFrame info = frozenFrames[i];
+                if (info == null || isFrozenFrameStale(command, info)) {
+                    info = compileTaskFromBytecodeToBinary(command.callWrapperIndex, command.getNumArgs(), command.eventList, command.taskIndex, command.size);
+                    frozenFrames[i] = info;
+                    frozenLaunches[i] = null;
+                }
+                final BoundLaunch boundLaunch = frozenLaunches[i];
+                if (boundLaunch != null && isBoundLaunchValid(command, boundLaunch)) {
+                    lastEvent = executeBoundLaunch(tornadoVMBytecodeList, command, info, boundLaunch);
+                } else {
+                    // The arguments are pushed again, and bound for the next executions
+                    lastEvent = executeLaunch(tornadoVMBytecodeList, command.getNumArgs(), command.argTypes, command.objects, command.eventList, command.taskIndex, command.size, command.offset,
+                            info);
+                    frozenLaunches[i] = bindLaunch(command);
+                }
+            } else if (op == TornadoVMBytecodes.ADD_DEPENDENCY.value()) {
+                executeDependency(tornadoVMBytecodeList, lastEvent, command.eventList);
+            } else if (op == TornadoVMBytecodes.ON_DEVICE.value()) {
+                lastEvent = executeOnDevice(tornadoVMBytecodeList, command.objectIndex, command.offset, command.eventList, command.size, resolveWaitList(command.eventList));
+            } else if (op == TornadoVMBytecodes.BARRIER.value()) {
+                lastEvent = executeBarrier(tornadoVMBytecodeList, command.eventList, resolveWaitList(command.eventList));
+            } else if (op == TornadoVMBytecodes.END.value()) {
+                if (TornadoOptions.PRINT_BYTECODES) {
+                    tornadoVMBytecodeList.append("bc: ").append(InterpreterUtilities.debugHighLightBC("END\n")).append("\n");
+                }
+                break;
+            } else {
+                throwErrorInterpreter(op);
             }
         }
+    }
 
-        final long t1 = System.nanoTime();
-        final double elapsed = (t1 - t0) * 1e-9;
-        if (!isWarmup) {
-            totalTime += elapsed;
-            invocations++;
+    private int[] resolveWaitList(int eventList) {
+        return (useDependencies && eventList != -1) ? events[eventList] : null;
+    }
+
+    /**
+     * A frame resolved in a previous execution can not be reused if the kernel
+     * has to be compiled again or the stack frame was released.
+     */
+    private boolean isFrozenFrameStale(TornadoVMFrozenPlan.Command command, XPUExecutionFrame frame) {
+        final KernelStackFrame stackFrame = kernelStackFrame[command.callWrapperIndex];
+        return stackFrame != frame.stackFrame || !stackFrame.isValid() || graphExecutionContext.redeployOnDevice() || interpreterDevice.getDeviceContext().wasReset()
+                || shouldCompile(installedCodes[globalToLocalTaskIndex(command.taskIndex)]);
+    }
+
+    /**
+     * It records the arguments pushed by {@link #executeLaunch} into the stack
+     * frame of a frozen LAUNCH, so the following executions launch the kernel with
+     * the same stack frame and wait list without pushing the arguments again.
+     * Tasks with atomics or with a worker grid are not bound, because their
+     * arguments are updated in each launch.
+     *
+     * @return The {@link BoundLaunch}, or null if the launch can not be bound.
+     */
+    private BoundLaunch bindLaunch(TornadoVMFrozenPlan.Command command) {
+        final SchedulableTask task = taskExecutionContexts.get(command.taskIndex);
+        if (!(task.meta() instanceof TaskDataContext dataContext) || (gridScheduler != null && gridScheduler.get(task.getId()) != null)) {
+            return null;
         }
+        final int[] atomicsArray = (task instanceof PrebuiltTask prebuiltTask) ? prebuiltTask.getAtomics() : interpreterDevice.checkAtomicsForTask(task);
+        if (atomicsArray != null) {
+            return null;
+        }
+        final XPUBuffer[] buffers = new XPUBuffer[command.getNumArgs()];
+        for (int i = 0; i < command.getNumArgs(); i++) {
+            if (command.argTypes[i] == TornadoVMBytecodes.PUSH_REFERENCE_ARGUMENT.value() && !isObjectKernelContext(objects.get(command.objects[i]))) {
+                final XPUDeviceBufferState objectState = resolveObjectState(command.objects[i]);
+                if (isObjectInAtomicRegion(objectState, interpreterDevice, task)) {
+                    return null;
+                }
+                buffers[i] = objectState.getXPUBuffer();
+            }
+        }
+        final TornadoInstalledCode installedCode = installedCodes[globalToLocalTaskIndex(command.taskIndex)];
+        return (installedCode != null) ? new BoundLaunch(installedCode, dataContext, buffers) : null;
+    }
 
-        if (graphExecutionContext.meta().isDebug()) {
-            logger.debug("bc: complete elapsed=%.9f s (%d iterations, %.9f s mean)", elapsed, invocations, (totalTime / invocations));
+    /**
+     * A bound launch is invalidated when the installed code changes, e.g., the
+     * optimised tier replaces the quick tier, or when a device buffer of an
+     * argument is replaced, e.g., after the device memory is freed.
+     */
+    private boolean isBoundLaunchValid(TornadoVMFrozenPlan.Command command, BoundLaunch boundLaunch) {
+        final TornadoInstalledCode installedCode = resolveTieredCode(globalToLocalTaskIndex(command.taskIndex));
+        if (installedCode != boundLaunch.installedCode || !installedCode.isValid()) {
+            return false;
         }
+        for (int i = 0; i < boundLaunch.buffers.length; i++) {
+            if (boundLaunch.buffers[i] != null && resolveObjectState(command.objects[i]).getXPUBuffer() != boundLaunch.buffers[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-        bytecodeResult.reset();
+    private int executeBoundLaunch(StringBuilder tornadoVMBytecodeList, TornadoVMFrozenPlan.Command command, XPUExecutionFrame executionFrame, BoundLaunch boundLaunch) {
+        final SchedulableTask task = taskExecutionContexts.get(command.taskIndex);
+        final TornadoInstalledCode installedCode = boundLaunch.installedCode;
+        final TaskDataContext dataContext = boundLaunch.dataContext;
+        if (timeProfiler instanceof TimeProfiler && TornadoOptions.TIERED_COMPILATION) {
+            final ProfilerType tier = isQuickTierCode(globalToLocalTaskIndex(command.taskIndex), installedCode) ? ProfilerType.TASK_LAUNCHES_QUICK_TIER : ProfilerType.TASK_LAUNCHES_OPTIMISED_TIER;
+            timeProfiler.addValueToMetric(tier, task.getId(), 1);
+        }
 
         if (TornadoOptions.PRINT_BYTECODES) {
-            System.out.println(tornadoVMBytecodeList);
+            String verbose = String.format("bc: " + InterpreterUtilities.debugHighLightBC("LAUNCH") + " %s on %s, size=%d, offset=%d [event list=%d] (bound)", task.getFullName(), interpreterDevice,
+                    command.size, command.offset, command.eventList);
+            tornadoVMBytecodeList.append(verbose).append("\n");
         }
 
-        return barrier;
+        dataContext.setThreadInfoEnabled(graphExecutionContext.meta().isThreadInfoEnabled());
+        try {
+            int lastEvent = useDependencies
+                    ? installedCode.launchWithDependencies(graphExecutionContext.getExecutionPlanId(), executionFrame.stackFrame, null, dataContext, command.size, executionFrame.waitList)
+                    : installedCode.launchWithoutDependencies(graphExecutionContext.getExecutionPlanId(), executionFrame.stackFrame, null, dataContext, command.size);
+
+            resetEventIndexes(command.eventList);
+            addMetricEvent(METRIC_KERNEL, lastEvent, command.taskIndex);
+            return lastEvent;
+        } catch (Exception e) {
+            if (TornadoOptions.DEBUG) {
+                e.printStackTrace();
+            }
+            throw new TornadoBailoutRuntimeException("Bailout from LAUNCH Bytecode: \nReason: " + e, e);
+        }
+    }
+
+    private void readLaunchArguments(int numArgs) {
+        if (launchArgTypes.length < numArgs) {
+            launchArgTypes = new byte[numArgs];
+            launchArgIndexes = new int[numArgs];
+        }
+        for (int i = 0; i < numArgs; i++) {
+            launchArgTypes[i] = bytecodeResult.get();
+            launchArgIndexes[i] = bytecodeResult.getInt();
+        }
     }
 
     private void initWaitEventList() {
@@ -435,7 +770,8 @@ public class TornadoVMInterpreter {
                 .mapToInt(List::size)
                 .sum();
 
-        int objectsToAlloc = args.length - persistentObjects; // alloc is only performed on new objects
+        // alloc is only performed on new objects
+        int objectsToAlloc = persistentObjects == 0 ? args.length : (int) Arrays.stream(args).filter(arg -> !isPersistentObject(this.objects.get(arg))).count();
         Object[] objects = new Object[objectsToAlloc];
         Access[] accesses = new Access[objectsToAlloc];
         XPUDeviceBufferState[] objectStates = new XPUDeviceBufferState[objectsToAlloc];
@@ -461,16 +797,25 @@ public class TornadoVMInterpreter {
             }
         }
 
+        final long poolHits = interpreterDevice.getBufferPoolHits();
+        final long poolMisses = interpreterDevice.getBufferPoolMisses();
+
         // total size of objects pre-allocated and current allocation
         long allocationsTotalSize = interpreterDevice.allocateObjects(objects, sizeBatch, objectStates, accesses) + preAllocatedSizes;
 
         graphExecutionContext.setCurrentDeviceMemoryUsage(allocationsTotalSize);
 
+        if (batchSlotStates != null) {
+            lockBatchBuffers(objectStates);
+        }
+
         if (TornadoOptions.isProfilerEnabled()) {
             // Register allocations in the profiler
             for (XPUDeviceBufferState objectState : objectStates) {
                 timeProfiler.addValueToMetric(ProfilerType.ALLOCATION_BYTES, TimeProfiler.NO_TASK_NAME, objectState.getXPUBuffer().size());
             }
+            timeProfiler.addValueToMetric(ProfilerType.BUFFER_POOL_HITS, TimeProfiler.NO_TASK_NAME, interpreterDevice.getBufferPoolHits() - poolHits);
+            timeProfiler.addValueToMetric(ProfilerType.BUFFER_POOL_MISSES, TimeProfiler.NO_TASK_NAME, interpreterDevice.getBufferPoolMisses() - poolMisses);
         }
 
         return -1;
@@ -522,20 +867,21 @@ public class TornadoVMInterpreter {
             allEvents = interpreterDevice.ensurePresent(graphExecutionContext.getExecutionPlanId(), object, objectState, waitList, sizeBatch, offset);
         }
         resetEventIndexes(eventList);
+        addCopyMetricEvents(allEvents, objectState);
 
         if (TornadoOptions.PRINT_BYTECODES && isNotObjectAtomic(object)) {
             DebugInterpreter.logTransferToDeviceOnce(allEvents, object, interpreterDevice, sizeBatch, offset, eventList, tornadoVMBytecodeList);
         }
 
         if (TornadoOptions.isProfilerEnabled() && allEvents != null) {
-            for (Integer e : allEvents) {
-                Event event = interpreterDevice.resolveEvent(graphExecutionContext.getExecutionPlanId(), e);
+            for (int i = 0; i < allEvents.size(); i++) {
+                Event event = interpreterDevice.resolveEvent(graphExecutionContext.getExecutionPlanId(), allEvents.get(i));
                 event.waitForEvents(graphExecutionContext.getExecutionPlanId());
                 long copyInTimer = timeProfiler.getTimer(ProfilerType.COPY_IN_TIME);
                 copyInTimer += event.getElapsedTime();
                 timeProfiler.setTimer(ProfilerType.COPY_IN_TIME, copyInTimer);
 
-                timeProfiler.addValueToMetric(ProfilerType.TOTAL_COPY_IN_SIZE_BYTES, TimeProfiler.NO_TASK_NAME, objectState.getXPUBuffer().size());
+                timeProfiler.addValueToMetric(ProfilerType.TOTAL_COPY_IN_SIZE_BYTES, TimeProfiler.NO_TASK_NAME, objectState.getCopyInSize(i, allEvents.size()));
 
                 long dispatchValue = timeProfiler.getTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME);
                 dispatchValue += event.getDriverDispatchTime();
@@ -559,16 +905,17 @@ public class TornadoVMInterpreter {
         List<Integer> allEvents = interpreterDevice.streamIn(graphExecutionContext.getExecutionPlanId(), object, sizeBatch, offset, objectState, waitList);
 
         resetEventIndexes(eventList);
+        addCopyMetricEvents(allEvents, objectState);
 
         if (TornadoOptions.isProfilerEnabled() && allEvents != null) {
-            for (Integer e : allEvents) {
-                Event event = interpreterDevice.resolveEvent(graphExecutionContext.getExecutionPlanId(), e);
+            for (int i = 0; i < allEvents.size(); i++) {
+                Event event = interpreterDevice.resolveEvent(graphExecutionContext.getExecutionPlanId(), allEvents.get(i));
                 event.waitForEvents(graphExecutionContext.getExecutionPlanId());
                 long copyInTimer = timeProfiler.getTimer(ProfilerType.COPY_IN_TIME);
                 copyInTimer += event.getElapsedTime();
                 timeProfiler.setTimer(ProfilerType.COPY_IN_TIME, copyInTimer);
 
-                timeProfiler.addValueToMetric(ProfilerType.TOTAL_COPY_IN_SIZE_BYTES, TimeProfiler.NO_TASK_NAME, objectState.getXPUBuffer().size());
+                timeProfiler.addValueToMetric(ProfilerType.TOTAL_COPY_IN_SIZE_BYTES, TimeProfiler.NO_TASK_NAME, objectState.getCopyInSize(i, allEvents.size()));
 
                 long dispatchValue = timeProfiler.getTimer(ProfilerType.TOTAL_DISPATCH_DATA_TRANSFERS_TIME);
                 dispatchValue += event.getDriverDispatchTime();
@@ -592,9 +939,17 @@ public class TornadoVMInterpreter {
         }
 
         final XPUDeviceBufferState objectState = resolveObjectState(objectIndex);
-        int readEvent = interpreterDevice.streamOutBlocking(graphExecutionContext.getExecutionPlanId(), object, offset, objectState, waitList);
+        int readEvent;
+        if (batchSlotStates != null) {
+            // Pipelined batches: do not stall the host, so the next batch can be enqueued
+            readEvent = interpreterDevice.streamOut(graphExecutionContext.getExecutionPlanId(), object, offset, objectState, waitList);
+            pendingBatchTransfers = true;
+        } else {
+            readEvent = interpreterDevice.streamOutBlocking(graphExecutionContext.getExecutionPlanId(), object, offset, objectState, waitList);
+        }
 
         resetEventIndexes(eventList);
+        addMetricEvent(METRIC_COPY_OUT, readEvent, objectState.getXPUBuffer().size());
 
         if (TornadoOptions.isProfilerEnabled() && readEvent != -1) {
             Event event = interpreterDevice.resolveEvent(graphExecutionContext.getExecutionPlanId(), readEvent);
@@ -630,6 +985,7 @@ public class TornadoVMInterpreter {
         final XPUDeviceBufferState objectState = resolveObjectState(objectIndex);
 
         final int readEvent = interpreterDevice.streamOutBlocking(graphExecutionContext.getExecutionPlanId(), object, offset, objectState, waitList);
+        addMetricEvent(METRIC_COPY_OUT, readEvent, objectState.getXPUBuffer().size());
 
         if (TornadoOptions.isProfilerEnabled() && readEvent != -1) {
             Event event = interpreterDevice.resolveEvent(graphExecutionContext.getExecutionPlanId(), readEvent);
@@ -721,34 +1077,178 @@ public class TornadoVMInterpreter {
 
         if (shouldCompile(installedCodes[globalToLocalTaskIndex(taskIndex)])) {
             task.setDevice(interpreterDevice);
-            try {
-                task.attachProfiler(timeProfiler);
-                if (taskIndex == (taskExecutionContexts.size() - 1)) {
-                    // If it is the last task within the task-schedule or doUpdate is true -> we
-                    // force compilation. This is useful when compiling code for Xilinx/Altera
-                    // FPGAs, that has to be a single source.
-                    task.forceCompilation();
-                }
+            task.attachProfiler(timeProfiler);
+            if (taskIndex == (taskExecutionContexts.size() - 1)) {
+                // If it is the last task within the task-schedule or doUpdate is true -> we
+                // force compilation. This is useful when compiling code for Xilinx/Altera
+                // FPGAs, that has to be a single source.
+                task.forceCompilation();
+            }
 
-                installedCodes[globalToLocalTaskIndex(taskIndex)] = interpreterDevice.installCode(graphExecutionContext.getExecutionPlanId(), task);
-                profilerUpdateForPreCompiledTask(task);
+            if (pendingCompilations != null && !interpreterDevice.isFullJITMode(graphExecutionContext.getExecutionPlanId(), task)) {
+                pendingCompilations.add(new PendingCompilation(globalToLocalTaskIndex(taskIndex), task));
+            } else {
+                final long compileStart = System.nanoTime();
+                installedCodes[globalToLocalTaskIndex(taskIndex)] = installTaskCode(globalToLocalTaskIndex(taskIndex), task);
+                taskCompiled(task, System.nanoTime() - compileStart);
                 // After the compilation has been completed, increment
                 // the batch number of the task and update it.
                 if (indexInWrite && batchThreads != 0) {
                     task.setBatchNumber(++currentBatch);
                 }
-            } catch (TornadoBailoutRuntimeException e) {
-                throw new TornadoBailoutRuntimeException("Unable to compile " + task.getFullName() + "\n" + "The internal error is: " + e.getMessage() + "\n" + "Stacktrace: " + Arrays.toString(e
-                        .getStackTrace()), e);
-            } catch (TornadoDeviceFP64NotSupported e) {
-                throw e;
-            } catch (InternalError e) {
-                throw new TornadoBailoutRuntimeException("[Internal Error] Unable to compile " + task.getFullName() + "\n" + Arrays.toString(e.getStackTrace()));
             }
         }
         return new XPUExecutionFrame(callWrapper, waitList);
     }
 
+    private TornadoInstalledCode compileTask(SchedulableTask task) {
+        try {
+            return interpreterDevice.installCode(graphExecutionContext.getExecutionPlanId(), task);
+        } catch (TornadoBailoutRuntimeException e) {
+            throw new TornadoBailoutRuntimeException("Unable to compile " + task.getFullName() + "\n" + "The internal error is: " + e.getMessage() + "\n" + "Stacktrace: " + Arrays.toString(e
+                    .getStackTrace()), e);
+        } catch (TornadoDeviceFP64NotSupported e) {
+            throw e;
+        } catch (InternalError e) {
+            throw new TornadoBailoutRuntimeException("[Internal Error] Unable to compile " + task.getFullName() + "\n" + Arrays.toString(e.getStackTrace()));
+        }
+    }
+
+    private boolean isTieredCompilationEnabled() {
+        return TornadoOptions.TIERED_COMPILATION && graphExecutionContext.getBatchSize() == TornadoExecutionContext.INIT_VALUE;
+    }
+
+    /**
+     * It installs the code of a task. With tiered compilation, the task is first
+     * compiled with the quick tier of the device, and the optimised compilation is
+     * submitted to the {@link CompilerPool}. If the device has no quick tier, or
+     * the quick compilation fails, the optimised code is installed directly.
+     */
+    private TornadoInstalledCode installTaskCode(int localTaskIndex, SchedulableTask task) {
+        tieredCompilations[localTaskIndex] = null;
+        if (isTieredCompilationEnabled()) {
+            final TornadoInstalledCode quickCode = compileQuickTask(task);
+            if (quickCode != null && quickCode.isValid()) {
+                final Future<TornadoInstalledCode> optimisedCode = CompilerPool.EXECUTOR.submit(() -> {
+                    interpreterDevice.enableThreadSharing();
+                    return compileTask(task);
+                });
+                tieredCompilations[localTaskIndex] = new TieredCompilation(quickCode, optimisedCode);
+                return quickCode;
+            }
+        }
+        return compileTask(task);
+    }
+
+    private TornadoInstalledCode compileQuickTask(SchedulableTask task) {
+        try {
+            return interpreterDevice.installQuickCode(graphExecutionContext.getExecutionPlanId(), task);
+        } catch (RuntimeException | InternalError e) {
+            // The optimised compilation reports the error if the task can not be compiled
+            logger.debug("quick tier compilation failed for %s: %s", task.getFullName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * It returns the code to launch for a task. If the task runs the quick tier
+     * and its optimised compilation has completed, the optimised code replaces the
+     * quick code. The swap only happens between launches, so a kernel is never
+     * launched with a partially installed code. If the optimised compilation
+     * failed, the task keeps running the quick tier.
+     */
+    private TornadoInstalledCode resolveTieredCode(int localTaskIndex) {
+        final TornadoInstalledCode installedCode = installedCodes[localTaskIndex];
+        final TieredCompilation tieredCompilation = tieredCompilations[localTaskIndex];
+        if (tieredCompilation == null || tieredCompilation.quickCode != installedCode || tieredCompilation.optimisedCode == null || !tieredCompilation.optimisedCode.isDone()) {
+            return installedCode;
+        }
+        try {
+            final TornadoInstalledCode optimisedCode = tieredCompilation.optimisedCode.get();
+            if (optimisedCode != null && optimisedCode.isValid()) {
+                tieredCompilations[localTaskIndex] = null;
+                installedCodes[localTaskIndex] = optimisedCode;
+                return optimisedCode;
+            }
+        } catch (ExecutionException e) {
+            logger.warn("unable to compile the optimised tier of %s, the quick tier is kept: %s", localTaskList.get(localTaskIndex).getFullName(), e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        tieredCompilation.optimisedCode = null;
+        return installedCode;
+    }
+
+    private boolean isQuickTierCode(int localTaskIndex, TornadoInstalledCode installedCode) {
+        final TieredCompilation tieredCompilation = tieredCompilations[localTaskIndex];
+        return tieredCompilation != null && tieredCompilation.quickCode == installedCode;
+    }
+
+    private void taskCompiled(SchedulableTask task, long compileTime) {
+        if (TornadoMetrics.isEnabled()) {
+            TornadoMetrics.taskCompiled(task.getId(), interpreterDevice.getPhysicalDevice().getDeviceName(), compileTime);
+        }
+        profilerUpdateForPreCompiledTask(task);
+    }
+
+    /**
+     * Parallel compilation is used when at least two tasks of this device have
+     * to be compiled. Batches are excluded because each batch may recompile its
+     * task with a different number of threads.
+     */
+    private boolean shouldCompileInParallel() {
+        if (!TornadoOptions.PARALLEL_COMPILATION || graphExecutionContext.getBatchSize() != TornadoExecutionContext.INIT_VALUE) {
+            return false;
+        }
+        int tasksToCompile = 0;
+        for (TornadoInstalledCode installedCode : installedCodes) {
+            if (shouldCompile(installedCode)) {
+                tasksToCompile++;
+            }
+        }
+        return tasksToCompile > 1;
+    }
+
+    /**
+     * It walks the bytecodes as a warm-up, collecting the tasks to compile
+     * instead of compiling them, and then installs the code of all tasks on the
+     * {@link CompilerPool}. On OpenCL, the Graal compilation and the driver build
+     * of different tasks run concurrently. The PTX and SPIR-V compilers serialize
+     * the Graal phases, so only the driver builds overlap. Results are collected
+     * in bytecode order,
+     * so the error reported is always the one of the first task that fails,
+     * regardless of which compilation finishes first.
+     */
+    private void compileTasksInParallel() {
+        pendingCompilations = new ArrayList<>();
+        final List<PendingCompilation> compilations = pendingCompilations;
+        try {
+            interpretBytecodes(true, null);
+        } finally {
+            pendingCompilations = null;
+            bytecodeResult.reset();
+        }
+
+        List<Future<?>> futures = new ArrayList<>(compilations.size());
+        for (PendingCompilation compilation : compilations) {
+            futures.add(CompilerPool.EXECUTOR.submit(() -> {
+                interpreterDevice.enableThreadSharing();
+                final long compileStart = System.nanoTime();
+                compilation.installedCode = installTaskCode(compilation.localTaskIndex, compilation.task);
+                compilation.compileTime = System.nanoTime() - compileStart;
+            }));
+        }
+
+        RuntimeException failure = CompilerPool.awaitInOrder(futures, i -> {
+            final PendingCompilation compilation = compilations.get(i);
+            installedCodes[compilation.localTaskIndex] = compilation.installedCode;
+            taskCompiled(compilation.task, compilation.compileTime);
+        });
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
     private void popArgumentsFromCall(int numArgs) {
         for (int i = 0; i < numArgs; i++) {
             bytecodeResult.get();
@@ -756,8 +1256,8 @@ public class TornadoVMInterpreter {
         }
     }
 
-    private int executeLaunch(StringBuilder tornadoVMBytecodeList, final int numArgs, final int eventList, final int taskIndex, final long batchThreads, final long offset,
-            XPUExecutionFrame executionFrame) {
+    private int executeLaunch(StringBuilder tornadoVMBytecodeList, final int numArgs, final byte[] argTypes, final int[] argIndexes, final int eventList, final int taskIndex,
+            final long batchThreads, final long offset, XPUExecutionFrame executionFrame) {
 
         final SchedulableTask task = taskExecutionContexts.get(taskIndex);
         KernelStackFrame stackFrame = executionFrame.stackFrame;
@@ -769,17 +1269,22 @@ public class TornadoVMInterpreter {
             installedCodes[globalToLocalTaskIndex(taskIndex)] = interpreterDevice.getCodeFromCache(graphExecutionContext.getExecutionPlanId(), task);
         }
 
-        final TornadoInstalledCode installedCode = installedCodes[globalToLocalTaskIndex(taskIndex)];
+        final TornadoInstalledCode installedCode = resolveTieredCode(globalToLocalTaskIndex(taskIndex));
 
         if (installedCode == null) {
             throw new TornadoBailoutRuntimeException("Code generator Failed");
         }
 
+        if (timeProfiler instanceof TimeProfiler && TornadoOptions.TIERED_COMPILATION) {
+            final ProfilerType tier = isQuickTierCode(globalToLocalTaskIndex(taskIndex), installedCode) ? ProfilerType.TASK_LAUNCHES_QUICK_TIER : ProfilerType.TASK_LAUNCHES_OPTIMISED_TIER;
+            timeProfiler.addValueToMetric(tier, task.getId(), 1);
+        }
+
         int[] atomicsArray;
 
         atomicsArray = (task instanceof PrebuiltTask prebuiltTask) ? prebuiltTask.getAtomics() : interpreterDevice.checkAtomicsForTask(task);
 
-        HashMap<Integer, Integer> threadDeploy = new HashMap<>();
+        threadDeploy.clear();
         if (gridScheduler != null && gridScheduler.get(task.getId()) != null) {
             WorkerGrid workerGrid = gridScheduler.get(task.getId());
             long[] global = workerGrid.getGlobalWork();
@@ -794,8 +1299,8 @@ public class TornadoVMInterpreter {
         XPUBuffer bufferAtomics = null;
 
         for (int i = 0; i < numArgs; i++) {
-            final byte argType = bytecodeResult.get();
-            final int argIndex = bytecodeResult.getInt();
+            final byte argType = argTypes[i];
+            final int argIndex = argIndexes[i];
 
             if (argType == TornadoVMBytecodes.PUSH_CONSTANT_ARGUMENT.value()) {
                 // Add a constant argument
@@ -808,12 +1313,11 @@ public class TornadoVMInterpreter {
                     continue;
                 }
 
-                final DataObjectState globalState = resolveGlobalObjectState(argIndex);
-                final XPUDeviceBufferState objectState = globalState.getDeviceBufferState(interpreterDevice);
+                final XPUDeviceBufferState objectState = resolveObjectState(argIndex);
 
                 if (!isObjectInAtomicRegion(objectState, interpreterDevice, task)) {
                     // Add a reference (arrays, vector types, panama regions)
-                    stackFrame.addCallArgument(objectState.getXPUBuffer().toBuffer(), true);
+                    stackFrame.addReferenceArgument(objectState.getXPUBuffer());
                 } else {
                     atomicsArray = interpreterDevice.updateAtomicRegionAndObjectState(task, atomicsArray, i, objects.get(argIndex), objectState);
                 }
@@ -860,6 +1364,7 @@ public class TornadoVMInterpreter {
                         : installedCode.launchWithoutDependencies(graphExecutionContext.getExecutionPlanId(), stackFrame, bufferAtomics, dataContext, batchThreads);
 
                 resetEventIndexes(eventList);
+                addMetricEvent(METRIC_KERNEL, lastEvent, taskIndex);
                 return lastEvent;
 
             } catch (Exception e) {
@@ -905,7 +1410,228 @@ public class TornadoVMInterpreter {
     }
 
     private XPUDeviceBufferState resolveObjectState(int index) {
-        return dataObjectStates[index].getDeviceBufferState(interpreterDevice);
+        if (batchSlot == 0) {
+            return dataObjectStates[index].getDeviceBufferState(interpreterDevice);
+        }
+        XPUDeviceBufferState[] slotStates = batchSlotStates[batchSlot];
+        if (slotStates[index] == null) {
+            slotStates[index] = dataObjectStates[index].getDeviceBufferState(interpreterDevice).createSnapshot();
+        }
+        return slotStates[index];
+    }
+
+    private void selectBatchSlot(StringBuilder tornadoVMBytecodeList, int slot, int numSlots) {
+        if (TornadoOptions.PRINT_BYTECODES) {
+            tornadoVMBytecodeList.append(String.format("bc: " + InterpreterUtilities.debugHighLightBC("BATCH_SLOT") + " %d of %d%n", slot, numSlots));
+        }
+        if (batchSlotStates == null || batchSlotStates.length != numSlots) {
+            freeBatchSlotBuffers();
+            batchSlotStates = new XPUDeviceBufferState[numSlots][objects.size()];
+            batchSlotReleaseEvents = new int[numSlots];
+            Arrays.fill(batchSlotReleaseEvents, -1);
+            batchSlotRoundEvents = new int[numSlots][MAX_BATCH_SLOT_EVENTS];
+            numBatchSlotRoundEvents = new int[numSlots];
+            // Broadcast objects are transferred once and shared by all slots
+            BatchConfiguration batchConfiguration = BatchConfiguration.computeChunkSizes(graphExecutionContext, graphExecutionContext.getBatchSize());
+            for (int i = 0; i < objects.size(); i++) {
+                if (batchConfiguration.isBroadcast(i)) {
+                    for (XPUDeviceBufferState[] slotStates : batchSlotStates) {
+                        slotStates[i] = dataObjectStates[i].getDeviceBufferState(interpreterDevice);
+                    }
+                }
+            }
+        }
+        batchSlot = slot;
+        // The commands of the previous round of this slot must complete before its
+        // buffers are written again
+        batchSlotReleaseEvents[slot] = mergeBatchSlotRoundEvents(slot);
+    }
+
+    /**
+     * It merges the events recorded for the current round of a slot into a single
+     * event, so a copy waits for one event regardless of the number of commands
+     * of the round.
+     */
+    private int mergeBatchSlotRoundEvents(int slot) {
+        final int numEvents = numBatchSlotRoundEvents[slot];
+        numBatchSlotRoundEvents[slot] = 0;
+        if (numEvents == 0) {
+            return -1;
+        } else if (numEvents == 1) {
+            return batchSlotRoundEvents[slot][0];
+        }
+        final int marker = interpreterDevice.enqueueMarker(graphExecutionContext.getExecutionPlanId(), Arrays.copyOf(batchSlotRoundEvents[slot], numEvents));
+        // Devices without markers with wait lists fall back to the last command
+        return (marker != -1) ? marker : batchSlotRoundEvents[slot][numEvents - 1];
+    }
+
+    private void updateBatchSlotReleaseEvent(int event) {
+        if (!useDependencies || batchSlotStates == null || event == -1) {
+            return;
+        }
+        if (numBatchSlotRoundEvents[batchSlot] == MAX_BATCH_SLOT_EVENTS) {
+            batchSlotRoundEvents[batchSlot][0] = mergeBatchSlotRoundEvents(batchSlot);
+            numBatchSlotRoundEvents[batchSlot] = 1;
+        }
+        batchSlotRoundEvents[batchSlot][numBatchSlotRoundEvents[batchSlot]++] = event;
+    }
+
+    /**
+     * Events are only valid within an execution. The plan is synchronised at the
+     * end of each execution, so the next one starts without slot dependencies.
+     */
+    private void resetBatchSlotEvents() {
+        if (batchSlotStates != null) {
+            Arrays.fill(batchSlotReleaseEvents, -1);
+            Arrays.fill(numBatchSlotRoundEvents, 0);
+        }
+    }
+
+    /**
+     * With out-of-order execution, every transfer into the buffers of a batch slot
+     * must wait for all the commands that used the same buffers in the previous
+     * round of the slot: its kernels and each of its copies out. The dependency is
+     * kept for all the copies of the round, until the slot rotates again.
+     */
+    private int[] appendBatchSlotDependency(int[] waitList) {
+        if (!useDependencies || batchSlotStates == null || batchSlotReleaseEvents[batchSlot] == -1) {
+            return waitList;
+        }
+        final int releaseEvent = batchSlotReleaseEvents[batchSlot];
+        if (waitList == null) {
+            return new int[] { releaseEvent };
+        }
+        int size = 0;
+        while (size < waitList.length && waitList[size] != -1) {
+            size++;
+        }
+        int[] newWaitList = Arrays.copyOf(waitList, size + 1);
+        newWaitList[size] = releaseEvent;
+        return newWaitList;
+    }
+
+    private void lockBatchBuffers(XPUDeviceBufferState[] objectStates) {
+        for (XPUDeviceBufferState objectState : objectStates) {
+            if (!objectState.isLockedBuffer()) {
+                objectState.setLockBuffer(true);
+                batchLockedBuffers.add(objectState);
+            }
+        }
+    }
+
+    private void releaseBatchLockedBuffers() {
+        for (XPUDeviceBufferState objectState : batchLockedBuffers) {
+            objectState.setLockBuffer(false);
+            if (objectState.hasObjectBuffer()) {
+                long spaceDeallocated = interpreterDevice.deallocate(objectState);
+                graphExecutionContext.setCurrentDeviceMemoryUsage(graphExecutionContext.getCurrentDeviceMemoryUsage() - spaceDeallocated);
+            }
+        }
+        batchLockedBuffers.clear();
+    }
+
+    /**
+     * Release the extra device buffers allocated for pipelined batch processing.
+     */
+    public void freeBatchSlotBuffers() {
+        releaseBatchLockedBuffers();
+        if (batchSlotStates == null) {
+            return;
+        }
+        for (XPUDeviceBufferState[] slotStates : batchSlotStates) {
+            for (int i = 0; i < slotStates.length; i++) {
+                XPUDeviceBufferState slotState = slotStates[i];
+                boolean isSharedState = slotState == dataObjectStates[i].getDeviceBufferState(interpreterDevice);
+                if (slotState != null && !isSharedState && slotState.hasObjectBuffer()) {
+                    slotState.setLockBuffer(false);
+                    long spaceDeallocated = interpreterDevice.deallocate(slotState);
+                    graphExecutionContext.setCurrentDeviceMemoryUsage(graphExecutionContext.getCurrentDeviceMemoryUsage() - spaceDeallocated);
+                }
+            }
+        }
+        batchSlotStates = null;
+        batchSlotReleaseEvents = null;
+        batchSlotRoundEvents = null;
+        numBatchSlotRoundEvents = null;
+        batchSlot = 0;
+    }
+
+    private void addCopyMetricEvents(List<Integer> allEvents, XPUDeviceBufferState objectState) {
+        if (metricsEnabled && allEvents != null) {
+            for (int i = 0; i < allEvents.size(); i++) {
+                addMetricEvent(METRIC_COPY_IN, allEvents.get(i), objectState.getCopyInSize(i, allEvents.size()));
+            }
+        }
+    }
+
+    private void addMetricEvent(byte kind, int event, long value) {
+        if (!metricsEnabled || event == -1) {
+            return;
+        }
+        if (numMetricEvents == metricEvents.length) {
+            if (numMetricEvents >= TornadoOptions.EVENT_WINDOW / 2) {
+                // Publish the completed events before they can be recycled by the event pool
+                // of the device, without waiting for the pending ones
+                publishEventMetrics(true);
+            }
+            if (numMetricEvents == metricEvents.length) {
+                final int capacity = 2 * metricEvents.length;
+                metricEvents = Arrays.copyOf(metricEvents, capacity);
+                metricKinds = Arrays.copyOf(metricKinds, capacity);
+                metricValues = Arrays.copyOf(metricValues, capacity);
+            }
+        }
+        metricEvents[numMetricEvents] = event;
+        metricKinds[numMetricEvents] = kind;
+        metricValues[numMetricEvents] = value;
+        numMetricEvents++;
+    }
+
+    /**
+     * Publishes the times of the recorded events.
+     *
+     * @param onlyCompleted
+     *     If true, the events that have not completed yet are kept for a later
+     *     call instead of being waited for.
+     */
+    private void publishEventMetrics(boolean onlyCompleted) {
+        final long executionPlanId = graphExecutionContext.getExecutionPlanId();
+        final String deviceName = interpreterDevice.getPhysicalDevice().getDeviceName();
+        int numPending = 0;
+        for (int i = 0; i < numMetricEvents; i++) {
+            Event event = interpreterDevice.resolveEvent(executionPlanId, metricEvents[i]);
+            if (onlyCompleted && event.getStatus() != TornadoExecutionStatus.COMPLETE) {
+                metricEvents[numPending] = metricEvents[i];
+                metricKinds[numPending] = metricKinds[i];
+                metricValues[numPending] = metricValues[i];
+                numPending++;
+                continue;
+            }
+            event.waitForEvents(executionPlanId);
+            long elapsedTime = event.getElapsedTime();
+            switch (metricKinds[i]) {
+                case METRIC_KERNEL -> TornadoMetrics.kernelExecuted(taskExecutionContexts.get((int) metricValues[i]).getId(), deviceName, elapsedTime);
+                case METRIC_COPY_IN -> TornadoMetrics.dataTransferred(TransferDirection.HOST_TO_DEVICE, deviceName, metricValues[i], elapsedTime);
+                default -> TornadoMetrics.dataTransferred(TransferDirection.DEVICE_TO_HOST, deviceName, metricValues[i], elapsedTime);
+            }
+        }
+        numMetricEvents = numPending;
+    }
+
+    /**
+     * Publishes the kernel and copy times, and the buffer pool and event pool
+     * usage of the execution. The events are complete after the flush of the
+     * execution, so reading their times does not stall the device.
+     */
+    private void publishMetrics() {
+        publishEventMetrics(false);
+        final long executionPlanId = graphExecutionContext.getExecutionPlanId();
+        final String deviceName = interpreterDevice.getPhysicalDevice().getDeviceName();
+        TornadoMetrics.bufferPoolUsed(deviceName, interpreterDevice.getBufferPoolHits() - metricsPoolHits, interpreterDevice.getBufferPoolMisses() - metricsPoolMisses);
+        int retainedEvents = interpreterDevice.getNumRetainedEvents(executionPlanId);
+        if (retainedEvents >= 0) {
+            TornadoMetrics.eventPoolUsed(deviceName, retainedEvents, TornadoOptions.EVENT_WINDOW);
+        }
     }
 
     private boolean isObjectKernelContext(Object object) {
@@ -954,10 +1680,6 @@ public class TornadoVMInterpreter {
         }
     }
 
-    private DataObjectState resolveGlobalObjectState(int index) {
-        return dataObjectStates[index];
-    }
-
     private boolean isObjectInAtomicRegion(XPUDeviceBufferState objectState, TornadoXPUDevice device, SchedulableTask task) {
         return objectState.isAtomicRegionPresent() && device.checkAtomicsParametersForTask(task);
     }
@@ -972,6 +1694,30 @@ public class TornadoVMInterpreter {
 
     public void clearInstalledCode() {
         Arrays.fill(installedCodes, null);
+        Arrays.fill(tieredCompilations, null);
+        invalidateFrozenPlan();
+    }
+
+    private static final class PendingCompilation {
+        private final int localTaskIndex;
+        private final SchedulableTask task;
+        private TornadoInstalledCode installedCode;
+        private long compileTime;
+
+        PendingCompilation(int localTaskIndex, SchedulableTask task) {
+            this.localTaskIndex = localTaskIndex;
+            this.task = task;
+        }
+    }
+
+    private static final class TieredCompilation {
+        private final TornadoInstalledCode quickCode;
+        private Future<TornadoInstalledCode> optimisedCode;
+
+        TieredCompilation(TornadoInstalledCode quickCode, Future<TornadoInstalledCode> optimisedCode) {
+            this.quickCode = quickCode;
+            this.optimisedCode = optimisedCode;
+        }
     }
 
     private static class XPUExecutionFrame {
@@ -984,6 +1730,22 @@ public class TornadoVMInterpreter {
         }
     }
 
+    /**
+     * The code, task context and argument buffers of a frozen LAUNCH whose
+     * arguments are already pushed into its stack frame.
+     */
+    private static final class BoundLaunch {
+        private final TornadoInstalledCode installedCode;
+        private final TaskDataContext dataContext;
+        private final XPUBuffer[] buffers;
+
+        BoundLaunch(TornadoInstalledCode installedCode, TaskDataContext dataContext, XPUBuffer[] buffers) {
+            this.installedCode = installedCode;
+            this.dataContext = dataContext;
+            this.buffers = buffers;
+        }
+    }
+
     private static class DebugInterpreter {
         static void logTransferToDeviceOnce(List<Integer> allEvents, Object object, TornadoXPUDevice deviceForInterpreter, long sizeBatch, long offset, final int eventList,
                 StringBuilder tornadoVMBytecodeList) {
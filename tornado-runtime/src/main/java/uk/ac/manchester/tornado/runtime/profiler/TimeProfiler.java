@@ -23,14 +23,25 @@
  */
 package uk.ac.manchester.tornado.runtime.profiler;
 
-import java.util.HashMap;
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 import uk.ac.manchester.tornado.api.profiler.ProfilerType;
 import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 
+/**
+ * Profiler of an execution plan. It can be updated concurrently by the
+ * interpreters of the plan without locks: timers are stored in arrays indexed
+ * by the {@link ProfilerType} ordinal, and metrics are accumulated in
+ * {@link LongAdder} counters. Each task has its own set of arrays, so tasks
+ * running in different threads do not share counters. After the first
+ * invocation for a task and type, the timer and metric methods do not allocate.
+ */
 public class TimeProfiler implements TornadoProfiler {
 
     /**
@@ -40,131 +51,109 @@ public class TimeProfiler implements TornadoProfiler {
      */
     public static String NO_TASK_NAME = "noTask";
 
-    private HashMap<ProfilerType, Long> profilerTime;
-    private HashMap<String, HashMap<ProfilerType, Long>> taskTimers;
-    private HashMap<String, HashMap<ProfilerType, String>> taskPowerMetrics;
-    private HashMap<String, HashMap<ProfilerType, Long>> taskSizeMetrics;
-    private HashMap<String, HashMap<ProfilerType, String>> taskDeviceIdentifiers;
-    private HashMap<String, HashMap<ProfilerType, String>> taskMethodNames;
+    private static final ProfilerType[] PROFILER_TYPES = ProfilerType.values();
 
-    private HashMap<String, HashMap<ProfilerType, String>> taskBackends;
+    /**
+     * Value of a timer that has not been set.
+     */
+    private static final long NO_VALUE = Long.MIN_VALUE;
 
-    private StringBuilder indent;
+    private static final String NOT_AVAILABLE = "n/a";
+
+    private final AtomicLongArray profilerTime;
+    private final Map<String, TaskProfile> taskProfiles;
 
     public TimeProfiler() {
-        profilerTime = new HashMap<>();
-        taskTimers = new HashMap<>();
-        taskPowerMetrics = new HashMap<>();
-        taskDeviceIdentifiers = new HashMap<>();
-        taskMethodNames = new HashMap<>();
-        taskSizeMetrics = new HashMap<>();
-        taskBackends = new HashMap<>();
-        indent = new StringBuilder("");
+        profilerTime = newTimers();
+        taskProfiles = new ConcurrentHashMap<>();
     }
 
-    @Override
-    public synchronized void addValueToMetric(ProfilerType type, String taskName, long value) {
-        if (!taskSizeMetrics.containsKey(taskName)) {
-            taskSizeMetrics.put(taskName, new HashMap<>());
+    private static AtomicLongArray newTimers() {
+        AtomicLongArray timers = new AtomicLongArray(PROFILER_TYPES.length);
+        for (int i = 0; i < PROFILER_TYPES.length; i++) {
+            timers.set(i, NO_VALUE);
+        }
+        return timers;
+    }
+
+    private static long addToTimer(long current, long value) {
+        return (current == NO_VALUE ? 0 : current) + value;
+    }
+
+    private static long elapsedSince(long start, long end) {
+        return start == NO_VALUE ? NO_VALUE : end - start;
+    }
+
+    private TaskProfile getTaskProfile(String taskName) {
+        TaskProfile taskProfile = taskProfiles.get(taskName);
+        if (taskProfile == null) {
+            taskProfile = taskProfiles.computeIfAbsent(taskName, k -> new TaskProfile());
         }
-        HashMap<ProfilerType, Long> profilerType = taskSizeMetrics.get(taskName);
-        profilerType.put(type, profilerType.get(type) != null ? profilerType.get(type) + value : value);
-        taskSizeMetrics.put(taskName, profilerType);
+        return taskProfile;
     }
 
     @Override
-    public synchronized void start(ProfilerType type) {
-        long start = System.nanoTime();
-        profilerTime.put(type, start);
+    public void addValueToMetric(ProfilerType type, String taskName, long value) {
+        getTaskProfile(taskName).getMetric(type).add(value);
     }
 
     @Override
-    public synchronized void start(ProfilerType type, String taskName) {
-        long start = System.nanoTime();
-        if (!taskTimers.containsKey(taskName)) {
-            taskTimers.put(taskName, new HashMap<>());
-        }
-        HashMap<ProfilerType, Long> profilerType = taskTimers.get(taskName);
-        profilerType.put(type, start);
-        taskTimers.put(taskName, profilerType);
+    public void start(ProfilerType type) {
+        profilerTime.set(type.ordinal(), System.nanoTime());
     }
 
     @Override
-    public synchronized void registerMethodHandle(ProfilerType type, String taskName, String methodName) {
-        if (!taskMethodNames.containsKey(taskName)) {
-            taskMethodNames.put(taskName, new HashMap<>());
-        }
-        HashMap<ProfilerType, String> profilerType = taskMethodNames.get(taskName);
-        profilerType.put(type, methodName);
-        taskMethodNames.put(methodName, profilerType);
+    public void start(ProfilerType type, String taskName) {
+        long start = System.nanoTime();
+        getTaskProfile(taskName).setTimer(type, start);
     }
 
     @Override
-    public synchronized void registerDeviceName(String taskName, String deviceInfo) {
-        if (!taskDeviceIdentifiers.containsKey(taskName)) {
-            taskDeviceIdentifiers.put(taskName, new HashMap<>());
-        }
-        HashMap<ProfilerType, String> profilerType = taskDeviceIdentifiers.get(taskName);
-        profilerType.put(ProfilerType.DEVICE, deviceInfo);
-        taskDeviceIdentifiers.put(taskName, profilerType);
+    public void registerMethodHandle(ProfilerType type, String taskName, String methodName) {
+        getTaskProfile(taskName).attributes.set(type.ordinal(), methodName);
     }
 
     @Override
-    public synchronized void registerBackend(String taskName, String backend) {
-        if (!taskBackends.containsKey(taskName)) {
-            taskBackends.put(taskName, new HashMap<>());
-        }
-        HashMap<ProfilerType, String> profilerType = taskBackends.get(taskName);
+    public void registerDeviceName(String taskName, String deviceInfo) {
+        getTaskProfile(taskName).attributes.set(ProfilerType.DEVICE.ordinal(), deviceInfo);
+    }
 
-        profilerType.put(ProfilerType.BACKEND, backend);
-        taskBackends.put(taskName, profilerType);
+    @Override
+    public void registerBackend(String taskName, String backend) {
+        getTaskProfile(taskName).attributes.set(ProfilerType.BACKEND.ordinal(), backend);
     }
 
     @Override
-    public synchronized void registerDeviceID(String taskName, String deviceID) {
-        if (!taskDeviceIdentifiers.containsKey(taskName)) {
-            taskDeviceIdentifiers.put(taskName, new HashMap<>());
-        }
-        HashMap<ProfilerType, String> profilerType = taskDeviceIdentifiers.get(taskName);
-        profilerType.put(ProfilerType.DEVICE_ID, deviceID);
-        taskDeviceIdentifiers.put(taskName, profilerType);
+    public void registerDeviceID(String taskName, String deviceID) {
+        getTaskProfile(taskName).attributes.set(ProfilerType.DEVICE_ID.ordinal(), deviceID);
     }
 
     @Override
-    public synchronized void stop(ProfilerType type) {
+    public void stop(ProfilerType type) {
         long end = System.nanoTime();
-        long start = profilerTime.get(type);
-        long total = end - start;
-        profilerTime.put(type, total);
+        profilerTime.accumulateAndGet(type.ordinal(), end, TimeProfiler::elapsedSince);
     }
 
     @Override
-    public synchronized void stop(ProfilerType type, String taskName) {
+    public void stop(ProfilerType type, String taskName) {
         long end = System.nanoTime();
-        HashMap<ProfilerType, Long> profiledType = taskTimers.get(taskName);
-        long start = profiledType.get(type);
-        long total = end - start;
-        profiledType.put(type, total);
-        taskTimers.put(taskName, profiledType);
+        getTaskProfile(taskName).timers.accumulateAndGet(type.ordinal(), end, TimeProfiler::elapsedSince);
     }
 
     @Override
     public long getTimer(ProfilerType type) {
-        if (!profilerTime.containsKey(type)) {
-            return 0;
-        }
-        return profilerTime.get(type);
+        long value = profilerTime.get(type.ordinal());
+        return value == NO_VALUE ? 0 : value;
     }
 
     @Override
     public long getSize(ProfilerType type) {
         // for all tasks in the task graph, accumulate the size
-        Set<String> strings = taskSizeMetrics.keySet();
         long size = 0;
-        for (String s : taskSizeMetrics.keySet()) {
-            HashMap<ProfilerType, Long> copySizes = taskSizeMetrics.get(s);
-            if (copySizes.containsKey(type)) {
-                size += copySizes.get(type);
+        for (TaskProfile taskProfile : taskProfiles.values()) {
+            LongAdder metric = taskProfile.metrics.get(type.ordinal());
+            if (metric != null) {
+                size += metric.sum();
             }
         }
         return size;
@@ -172,169 +161,229 @@ public class TimeProfiler implements TornadoProfiler {
 
     @Override
     public long getTaskTimer(ProfilerType type, String taskName) {
-        if (!taskTimers.containsKey(taskName)) {
-            return 0;
-        }
-        if (!taskTimers.get(taskName).containsKey(type)) {
+        TaskProfile taskProfile = taskProfiles.get(taskName);
+        if (taskProfile == null) {
             return 0;
         }
-        return taskTimers.get(taskName).get(type);
+        long value = taskProfile.timers.get(type.ordinal());
+        return value == NO_VALUE ? 0 : value;
     }
 
     @Override
-    public synchronized void setTimer(ProfilerType type, long time) {
-        profilerTime.put(type, time);
+    public void setTimer(ProfilerType type, long time) {
+        profilerTime.set(type.ordinal(), time);
     }
 
     @Override
-    public synchronized void dump() {
-        for (ProfilerType p : profilerTime.keySet()) {
-            System.out.println("[PROFILER] " + p.getDescription() + ": " + profilerTime.get(p));
+    public void dump() {
+        for (ProfilerType p : PROFILER_TYPES) {
+            long value = profilerTime.get(p.ordinal());
+            if (value != NO_VALUE) {
+                System.out.println("[PROFILER] " + p.getDescription() + ": " + value);
+            }
         }
 
-        for (String p : taskTimers.keySet()) {
-            System.out.println("[PROFILER-TASK] " + p + ": " + taskTimers.get(p));
+        taskProfiles.forEach((taskName, taskProfile) -> {
+            if (taskProfile.hasTimers) {
+                System.out.println("[PROFILER-TASK] " + taskName + ": " + taskProfile.timersToString());
+            }
+        });
+    }
 
-        }
+    private static void appendEntry(StringBuilder json, StringBuilder indent, Object key, Object value) {
+        json.append(indent).append("\"").append(key).append("\": \"").append(value).append("\",\n");
     }
 
-    private void increaseIndent() {
+    private static void increaseIndent(StringBuilder indent) {
         indent.append("    ");
     }
 
-    private void decreaseIndent() {
+    private static void decreaseIndent(StringBuilder indent) {
         indent.delete(indent.length() - 4, indent.length());
     }
 
-    private void closeScope(StringBuilder json) {
-        json.append(indent.toString() + "}");
+    private static void closeScope(StringBuilder json, StringBuilder indent) {
+        json.append(indent).append("}");
     }
 
-    private void newLine(StringBuilder json) {
+    private static void newLine(StringBuilder json) {
         json.append("\n");
     }
 
+    private static boolean isTaskIdentifier(ProfilerType type) {
+        return type == ProfilerType.BACKEND || type == ProfilerType.METHOD || type == ProfilerType.DEVICE_ID || type == ProfilerType.DEVICE;
+    }
+
     @Override
     public String createJson(StringBuilder json, String sectionName) {
+        StringBuilder indent = new StringBuilder();
         json.append("{\n");
-        increaseIndent();
-        json.append(indent.toString() + "\"" + sectionName + "\": " + "{\n");
-        increaseIndent();
-        for (ProfilerType p : profilerTime.keySet()) {
-            json.append(indent.toString() + "\"" + p + "\"" + ": " + "\"" + profilerTime.get(p) + "\",\n");
-        }
-        if (taskSizeMetrics.containsKey(NO_TASK_NAME)) {
-            HashMap<ProfilerType, Long> noTaskValues = taskSizeMetrics.get(NO_TASK_NAME);
-            for (ProfilerType p : noTaskValues.keySet()) {
-                json.append(indent.toString() + "\"" + p + "\"" + ": " + "\"" + noTaskValues.get(p) + "\",\n");
+        increaseIndent(indent);
+        json.append(indent).append("\"").append(sectionName).append("\": {\n");
+        increaseIndent(indent);
+        for (ProfilerType p : PROFILER_TYPES) {
+            long value = profilerTime.get(p.ordinal());
+            if (value != NO_VALUE) {
+                appendEntry(json, indent, p, value);
             }
         }
+        TaskProfile noTaskProfile = taskProfiles.get(NO_TASK_NAME);
+        if (noTaskProfile != null) {
+            noTaskProfile.appendMetrics(json, indent);
+        }
 
-        final int size = taskTimers.keySet().size();
-        int counter = 0;
-        for (String p : taskTimers.keySet()) {
-            json.append(indent.toString() + "\"" + p + "\"" + ": {\n");
-            increaseIndent();
-            counter++;
+        boolean firstTask = true;
+        for (Map.Entry<String, TaskProfile> entry : taskProfiles.entrySet()) {
+            TaskProfile taskProfile = entry.getValue();
+            if (!taskProfile.hasTimers) {
+                continue;
+            }
+            if (!firstTask) {
+                // Separator between tasks
+                json.delete(json.length() - 1, json.length());
+                json.append(", \n");
+            }
+            firstTask = false;
+            json.append(indent).append("\"").append(entry.getKey()).append("\": {\n");
+            increaseIndent(indent);
             if (TornadoOptions.LOG_IP) {
-                json.append(indent.toString() + "\"" + "IP" + "\"" + ": " + "\"" + RuntimeUtilities.getTornadoInstanceIP() + "\",\n");
+                appendEntry(json, indent, "IP", RuntimeUtilities.getTornadoInstanceIP());
             }
-            json.append(indent.toString() + "\"" + ProfilerType.BACKEND + "\"" + ": " + "\"" + taskBackends.get(p).get(ProfilerType.BACKEND) + "\",\n");
-            json.append(indent.toString() + "\"" + ProfilerType.METHOD + "\"" + ": " + "\"" + taskMethodNames.get(p).get(ProfilerType.METHOD) + "\",\n");
-            json.append(indent.toString() + "\"" + ProfilerType.DEVICE_ID + "\"" + ": " + "\"" + taskDeviceIdentifiers.get(p).get(ProfilerType.DEVICE_ID) + "\",\n");
-            json.append(indent.toString() + "\"" + ProfilerType.DEVICE + "\"" + ": " + "\"" + taskDeviceIdentifiers.get(p).get(ProfilerType.DEVICE) + "\",\n");
-            if (taskSizeMetrics.containsKey(p)) {
-                for (ProfilerType p1 : taskSizeMetrics.get(p).keySet()) {
-                    json.append(indent.toString() + "\"" + p1 + "\"" + ": " + "\"" + taskSizeMetrics.get(p).get(p1) + "\",\n");
+            appendEntry(json, indent, ProfilerType.BACKEND, taskProfile.attributes.get(ProfilerType.BACKEND.ordinal()));
+            appendEntry(json, indent, ProfilerType.METHOD, taskProfile.attributes.get(ProfilerType.METHOD.ordinal()));
+            appendEntry(json, indent, ProfilerType.DEVICE_ID, taskProfile.attributes.get(ProfilerType.DEVICE_ID.ordinal()));
+            appendEntry(json, indent, ProfilerType.DEVICE, taskProfile.attributes.get(ProfilerType.DEVICE.ordinal()));
+            taskProfile.appendMetrics(json, indent);
+            for (ProfilerType p : PROFILER_TYPES) {
+                String value = taskProfile.attributes.get(p.ordinal());
+                if (value != null && !isTaskIdentifier(p)) {
+                    appendEntry(json, indent, p, value);
                 }
             }
-            if (taskPowerMetrics.containsKey(p)) {
-                for (ProfilerType p1 : taskPowerMetrics.get(p).keySet()) {
-                    json.append(indent.toString() + "\"" + p1 + "\"" + ": " + "\"" + taskPowerMetrics.get(p).get(p1) + "\",\n");
+            for (ProfilerType p : PROFILER_TYPES) {
+                long value = taskProfile.timers.get(p.ordinal());
+                if (value != NO_VALUE) {
+                    appendEntry(json, indent, p, value);
                 }
             }
-            for (ProfilerType p2 : taskTimers.get(p).keySet()) {
-                json.append(indent.toString() + "\"" + p2 + "\"" + ": " + "\"" + taskTimers.get(p).get(p2) + "\",\n");
-            }
             json.delete(json.length() - 2, json.length() - 1); // remove last comma
-            decreaseIndent();
-            closeScope(json);
-            if (counter != size) {
-                json.append(", ");
-            }
+            decreaseIndent(indent);
+            closeScope(json, indent);
             newLine(json);
         }
-        decreaseIndent();
-        closeScope(json);
+        decreaseIndent(indent);
+        closeScope(json, indent);
         newLine(json);
-        decreaseIndent();
-        closeScope(json);
+        decreaseIndent(indent);
+        closeScope(json, indent);
         newLine(json);
         return json.toString();
     }
 
     @Override
-    public synchronized void dumpJson(StringBuilder json, String id) {
+    public void dumpJson(StringBuilder json, String id) {
         String jsonContent = createJson(json, id);
         System.out.println(jsonContent);
     }
 
     @Override
-    public synchronized void clean() {
-        taskSizeMetrics.clear();
-        profilerTime.clear();
-        taskTimers.clear();
-        indent = new StringBuilder("");
+    public void clean() {
+        for (int i = 0; i < PROFILER_TYPES.length; i++) {
+            profilerTime.set(i, NO_VALUE);
+        }
+        for (TaskProfile taskProfile : taskProfiles.values()) {
+            taskProfile.clean();
+        }
     }
 
     @Override
-    public synchronized void setTaskTimer(ProfilerType type, String taskID, long timer) {
-        if (!taskTimers.containsKey(taskID)) {
-            taskTimers.put(taskID, new HashMap<>());
-        }
-        taskTimers.get(taskID).put(type, timer);
+    public void setTaskTimer(ProfilerType type, String taskID, long timer) {
+        getTaskProfile(taskID).setTimer(type, timer);
+    }
+
+    private void setPowerMetric(ProfilerType type, String taskID, String value) {
+        getTaskProfile(taskID).attributes.set(type.ordinal(), value);
     }
 
     @Override
-    public synchronized void setTaskPowerUsage(ProfilerType type, String taskID, long power) {
-        if (!taskPowerMetrics.containsKey(taskID)) {
-            taskPowerMetrics.put(taskID, new HashMap<>());
-        }
-        if (power > 0) {
-            taskPowerMetrics.get(taskID).put(type, Long.toString(power));
-        } else {
-            taskPowerMetrics.get(taskID).put(type, "n/a");
-        }
+    public void setTaskPowerUsage(ProfilerType type, String taskID, long power) {
+        setPowerMetric(type, taskID, power > 0 ? Long.toString(power) : NOT_AVAILABLE);
     }
 
     @Override
     public void setSystemPowerConsumption(ProfilerType systemPowerConsumptionType, String taskID, long powerConsumption) {
-        if (!taskPowerMetrics.containsKey(taskID)) {
-            taskPowerMetrics.put(taskID, new HashMap<>());
-        }
-        if (powerConsumption > 0) {
-            taskPowerMetrics.get(taskID).put(systemPowerConsumptionType, Long.toString(powerConsumption));
-        } else {
-            taskPowerMetrics.get(taskID).put(systemPowerConsumptionType, "n/a");
-        }
+        setPowerMetric(systemPowerConsumptionType, taskID, powerConsumption > 0 ? Long.toString(powerConsumption) : NOT_AVAILABLE);
     }
 
     @Override
     public void setSystemVoltage(ProfilerType systemPowerVoltageType, String taskID, long voltage) {
-        if (!taskPowerMetrics.containsKey(taskID)) {
-            taskPowerMetrics.put(taskID, new HashMap<>());
-        }
-        if (voltage > 0) {
-            taskPowerMetrics.get(taskID).put(systemPowerVoltageType, Float.toString(voltage));
-        } else {
-            taskPowerMetrics.get(taskID).put(systemPowerVoltageType, "n/a");
-        }
+        setPowerMetric(systemPowerVoltageType, taskID, voltage > 0 ? Float.toString(voltage) : NOT_AVAILABLE);
     }
 
     @Override
-    public synchronized void sum(ProfilerType acc, long value) {
-        long sum = getTimer(acc) + value;
-        profilerTime.put(acc, sum);
+    public void sum(ProfilerType acc, long value) {
+        profilerTime.accumulateAndGet(acc.ordinal(), value, TimeProfiler::addToTimer);
     }
 
+    /**
+     * Timers, metrics and attributes (device, backend, method and power metrics)
+     * of a task, indexed by the {@link ProfilerType} ordinal.
+     */
+    private static final class TaskProfile {
+
+        private final AtomicLongArray timers;
+        private final AtomicReferenceArray<LongAdder> metrics;
+        private final AtomicReferenceArray<String> attributes;
+        private volatile boolean hasTimers;
+
+        private TaskProfile() {
+            timers = newTimers();
+            metrics = new AtomicReferenceArray<>(PROFILER_TYPES.length);
+            attributes = new AtomicReferenceArray<>(PROFILER_TYPES.length);
+        }
+
+        private void setTimer(ProfilerType type, long value) {
+            timers.set(type.ordinal(), value);
+            if (!hasTimers) {
+                hasTimers = true;
+            }
+        }
+
+        private LongAdder getMetric(ProfilerType type) {
+            LongAdder metric = metrics.get(type.ordinal());
+            if (metric == null) {
+                metrics.compareAndSet(type.ordinal(), null, new LongAdder());
+                metric = metrics.get(type.ordinal());
+            }
+            return metric;
+        }
+
+        private void appendMetrics(StringBuilder json, StringBuilder indent) {
+            for (ProfilerType p : PROFILER_TYPES) {
+                LongAdder metric = metrics.get(p.ordinal());
+                if (metric != null) {
+                    appendEntry(json, indent, p, metric.sum());
+                }
+            }
+        }
+
+        private String timersToString() {
+            StringBuilder builder = new StringBuilder("{");
+            for (ProfilerType p : PROFILER_TYPES) {
+                long value = timers.get(p.ordinal());
+                if (value != NO_VALUE) {
+                    builder.append(builder.length() > 1 ? ", " : "").append(p).append("=").append(value);
+                }
+            }
+            return builder.append("}").toString();
+        }
+
+        private void clean() {
+            hasTimers = false;
+            for (int i = 0; i < PROFILER_TYPES.length; i++) {
+                timers.set(i, NO_VALUE);
+                metrics.set(i, null);
+            }
+        }
+    }
 }
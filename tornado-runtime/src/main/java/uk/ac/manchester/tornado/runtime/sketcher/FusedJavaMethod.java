@@ -0,0 +1,298 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.runtime.sketcher;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+
+import jdk.vm.ci.meta.Constant;
+import jdk.vm.ci.meta.ConstantPool;
+import jdk.vm.ci.meta.ExceptionHandler;
+import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.JavaType;
+import jdk.vm.ci.meta.LineNumberTable;
+import jdk.vm.ci.meta.Local;
+import jdk.vm.ci.meta.LocalVariableTable;
+import jdk.vm.ci.meta.ProfilingInfo;
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import jdk.vm.ci.meta.ResolvedJavaType;
+import jdk.vm.ci.meta.Signature;
+import jdk.vm.ci.meta.SpeculationLog;
+
+/**
+ * Method descriptor of a kernel built by {@link TornadoSketchFusion} from two
+ * task methods. The backends derive the kernel signature from the root method
+ * of the graph they compile, so a fused graph needs a method whose signature
+ * and local variable table contain the parameters of both tasks.
+ *
+ * <p>
+ * Everything that is not related to the parameter list is taken from the
+ * method of the producer task.
+ * </p>
+ */
+public class FusedJavaMethod implements ResolvedJavaMethod {
+
+    private final ResolvedJavaMethod producer;
+    private final String name;
+    private final JavaType[] parameterTypes;
+    private final LocalVariableTable localVariableTable;
+    private final byte[] code;
+    private final int maxLocals;
+
+    /**
+     * Creates the method of a fused kernel.
+     *
+     * @param producer
+     *     Method of the first task of the fused kernel.
+     * @param consumer
+     *     Method of the second task of the fused kernel.
+     * @param parameterNames
+     *     Names of the parameters of the fused kernel. They must be unique.
+     * @param parameterTypes
+     *     Types of the parameters of the fused kernel.
+     */
+    public FusedJavaMethod(ResolvedJavaMethod producer, ResolvedJavaMethod consumer, String[] parameterNames, JavaType[] parameterTypes) {
+        this.producer = producer;
+        this.name = producer.getName() + "_" + consumer.getName();
+        this.parameterTypes = parameterTypes;
+
+        // Kernels are compiled from graphs, so the bytecode is only kept to identify the method
+        byte[] producerCode = producer.getCode();
+        byte[] consumerCode = consumer.getCode();
+        producerCode = producerCode == null ? new byte[0] : producerCode;
+        consumerCode = consumerCode == null ? new byte[0] : consumerCode;
+        this.code = Arrays.copyOf(producerCode, producerCode.length + consumerCode.length);
+        System.arraycopy(consumerCode, 0, code, producerCode.length, consumerCode.length);
+
+        Local[] locals = new Local[parameterTypes.length];
+        int slot = 0;
+        for (int i = 0; i < parameterTypes.length; i++) {
+            locals[i] = new Local(parameterNames[i], parameterTypes[i], 0, code.length, slot);
+            slot += parameterTypes[i].getJavaKind().getSlotCount();
+        }
+        this.localVariableTable = new LocalVariableTable(locals);
+        this.maxLocals = slot;
+    }
+
+    public ResolvedJavaMethod getProducer() {
+        return producer;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Signature getSignature() {
+        return new FusedSignature();
+    }
+
+    @Override
+    public LocalVariableTable getLocalVariableTable() {
+        return localVariableTable;
+    }
+
+    @Override
+    public byte[] getCode() {
+        return code;
+    }
+
+    @Override
+    public int getCodeSize() {
+        return code.length;
+    }
+
+    @Override
+    public ResolvedJavaType getDeclaringClass() {
+        return producer.getDeclaringClass();
+    }
+
+    @Override
+    public int getMaxLocals() {
+        return maxLocals;
+    }
+
+    @Override
+    public int getMaxStackSize() {
+        return producer.getMaxStackSize();
+    }
+
+    @Override
+    public int getModifiers() {
+        return Modifier.PUBLIC | Modifier.STATIC;
+    }
+
+    @Override
+    public boolean isSynthetic() {
+        return true;
+    }
+
+    @Override
+    public boolean isVarArgs() {
+        return false;
+    }
+
+    @Override
+    public boolean isBridge() {
+        return false;
+    }
+
+    @Override
+    public boolean isDefault() {
+        return false;
+    }
+
+    @Override
+    public boolean isClassInitializer() {
+        return false;
+    }
+
+    @Override
+    public boolean isConstructor() {
+        return false;
+    }
+
+    @Override
+    public boolean canBeStaticallyBound() {
+        return true;
+    }
+
+    @Override
+    public ExceptionHandler[] getExceptionHandlers() {
+        return new ExceptionHandler[0];
+    }
+
+    @Override
+    public StackTraceElement asStackTraceElement(int bci) {
+        return new StackTraceElement(getDeclaringClass().toJavaName(), name, null, -1);
+    }
+
+    @Override
+    public ProfilingInfo getProfilingInfo(boolean includeNormal, boolean includeOSR) {
+        return producer.getProfilingInfo(includeNormal, includeOSR);
+    }
+
+    @Override
+    public void reprofile() {
+    }
+
+    @Override
+    public ConstantPool getConstantPool() {
+        return producer.getConstantPool();
+    }
+
+    @Override
+    public Annotation[][] getParameterAnnotations() {
+        return new Annotation[parameterTypes.length][0];
+    }
+
+    @Override
+    public Type[] getGenericParameterTypes() {
+        return new Type[0];
+    }
+
+    @Override
+    public boolean canBeInlined() {
+        return false;
+    }
+
+    @Override
+    public boolean hasNeverInlineDirective() {
+        return true;
+    }
+
+    @Override
+    public boolean shouldBeInlined() {
+        return false;
+    }
+
+    @Override
+    public LineNumberTable getLineNumberTable() {
+        return null;
+    }
+
+    @Override
+    public Constant getEncoding() {
+        return producer.getEncoding();
+    }
+
+    @Override
+    public boolean isInVirtualMethodTable(ResolvedJavaType resolved) {
+        return false;
+    }
+
+    @Override
+    public SpeculationLog getSpeculationLog() {
+        return producer.getSpeculationLog();
+    }
+
+    @Override
+    public <T extends Annotation> T getAnnotation(Class<T> annotationClass) {
+        return null;
+    }
+
+    @Override
+    public Annotation[] getAnnotations() {
+        return new Annotation[0];
+    }
+
+    @Override
+    public Annotation[] getDeclaredAnnotations() {
+        return new Annotation[0];
+    }
+
+    @Override
+    public String toString() {
+        return "FusedJavaMethod<" + getDeclaringClass().toJavaName() + "." + name + ">";
+    }
+
+    private class FusedSignature implements Signature {
+
+        @Override
+        public int getParameterCount(boolean receiver) {
+            return parameterTypes.length;
+        }
+
+        @Override
+        public JavaType getParameterType(int index, ResolvedJavaType accessingClass) {
+            JavaType type = parameterTypes[index];
+            if (accessingClass != null && !(type instanceof ResolvedJavaType)) {
+                return type.resolve(accessingClass);
+            }
+            return type;
+        }
+
+        @Override
+        public JavaType getReturnType(ResolvedJavaType accessingClass) {
+            return producer.getSignature().getReturnType(accessingClass);
+        }
+
+        @Override
+        public JavaKind getReturnKind() {
+            return JavaKind.Void;
+        }
+    }
+}
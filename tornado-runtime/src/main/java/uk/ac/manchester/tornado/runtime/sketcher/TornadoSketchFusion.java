@@ -0,0 +1,868 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.runtime.sketcher;
+
+import static uk.ac.manchester.tornado.runtime.TornadoCoreRuntime.getDebugContext;
+import static uk.ac.manchester.tornado.runtime.TornadoCoreRuntime.getOptions;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.graalvm.collections.EconomicMap;
+import org.graalvm.collections.UnmodifiableEconomicMap;
+import org.graalvm.compiler.core.common.type.StampPair;
+import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.graph.Node;
+import org.graalvm.compiler.graph.NodeBitMap;
+import org.graalvm.compiler.nodes.AbstractBeginNode;
+import org.graalvm.compiler.nodes.AbstractEndNode;
+import org.graalvm.compiler.nodes.AbstractMergeNode;
+import org.graalvm.compiler.nodes.ConstantNode;
+import org.graalvm.compiler.nodes.ControlSplitNode;
+import org.graalvm.compiler.nodes.EndNode;
+import org.graalvm.compiler.nodes.FixedGuardNode;
+import org.graalvm.compiler.nodes.FixedNode;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.FrameState;
+import org.graalvm.compiler.nodes.IfNode;
+import org.graalvm.compiler.nodes.Invoke;
+import org.graalvm.compiler.nodes.LoopBeginNode;
+import org.graalvm.compiler.nodes.LoopEndNode;
+import org.graalvm.compiler.nodes.LoopExitNode;
+import org.graalvm.compiler.nodes.NodeView;
+import org.graalvm.compiler.nodes.ParameterNode;
+import org.graalvm.compiler.nodes.PhiNode;
+import org.graalvm.compiler.nodes.PiNode;
+import org.graalvm.compiler.nodes.ReturnNode;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.StructuredGraph.AllowAssumptions;
+import org.graalvm.compiler.nodes.StructuredGraph.Builder;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.ValuePhiNode;
+import org.graalvm.compiler.nodes.calc.AddNode;
+import org.graalvm.compiler.nodes.calc.FloatingNode;
+import org.graalvm.compiler.nodes.calc.IntegerLessThanNode;
+import org.graalvm.compiler.nodes.calc.LeftShiftNode;
+import org.graalvm.compiler.nodes.calc.MulNode;
+import org.graalvm.compiler.nodes.calc.SignExtendNode;
+import org.graalvm.compiler.nodes.calc.SubNode;
+import org.graalvm.compiler.nodes.calc.ZeroExtendNode;
+import org.graalvm.compiler.nodes.extended.JavaReadNode;
+import org.graalvm.compiler.nodes.extended.JavaWriteNode;
+import org.graalvm.compiler.nodes.java.ArrayLengthNode;
+import org.graalvm.compiler.nodes.java.LoadFieldNode;
+import org.graalvm.compiler.nodes.java.LoadIndexedNode;
+import org.graalvm.compiler.nodes.java.StoreIndexedNode;
+import org.graalvm.compiler.nodes.memory.address.OffsetAddressNode;
+import org.graalvm.compiler.nodes.util.GraphUtil;
+import org.graalvm.compiler.phases.common.DeadCodeEliminationPhase;
+
+import jdk.vm.ci.meta.JavaConstant;
+import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.JavaType;
+import jdk.vm.ci.meta.Local;
+import jdk.vm.ci.meta.LocalVariableTable;
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import uk.ac.manchester.tornado.api.common.Access;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoCompilerIdentifier;
+import uk.ac.manchester.tornado.runtime.graal.nodes.ParallelRangeNode;
+
+/**
+ * It fuses the sketches of two tasks into the sketch of a single kernel. The
+ * producer and the consumer must be 1D parallel loops with the same iteration
+ * space, and each thread of the consumer must only access the elements that the
+ * same thread of the producer accesses. The body of the consumer is moved to the
+ * end of the body of the producer, so each thread runs one iteration of both
+ * tasks.
+ *
+ * <p>
+ * Arrays written by the producer and only read by the consumer are forwarded:
+ * the loads of the consumer take the value stored by the producer. When the
+ * caller marks such an array as intermediate, and all its loads have been
+ * forwarded, the stores and the parameter are removed from the fused kernel.
+ * </p>
+ *
+ * <p>
+ * The fusion is conservative. Any shape that is not recognised (multiple or
+ * nested loops, calls, atomics, reductions, control flow outside the loop, or
+ * accesses that depend on other threads) leaves the tasks unchanged.
+ * </p>
+ */
+public final class TornadoSketchFusion {
+
+    private static final String NUMBER_OF_ELEMENTS = "numberOfElements";
+    private static final AtomicInteger fusionId = new AtomicInteger(0);
+    private static final TornadoLogger logger = new TornadoLogger();
+
+    private TornadoSketchFusion() {
+    }
+
+    /**
+     * Result of the fusion of two sketches.
+     */
+    public static final class FusedKernel {
+
+        private final Sketch sketch;
+        private final FusedJavaMethod method;
+        private final int[] parameters;
+
+        private FusedKernel(Sketch sketch, FusedJavaMethod method, int[] parameters) {
+            this.sketch = sketch;
+            this.method = method;
+            this.parameters = parameters;
+        }
+
+        public Sketch getSketch() {
+            return sketch;
+        }
+
+        public FusedJavaMethod getMethod() {
+            return method;
+        }
+
+        /**
+         * It returns the parameters of the fused kernel as indexes in the list of
+         * arguments used for the fusion.
+         *
+         * @return int[]
+         */
+        public int[] getParameters() {
+            return parameters;
+        }
+    }
+
+    private record MemoryAccess(FixedWithNextNode node, ValueNode key, JavaKind kind, ValueNode value, boolean fromConsumer) {
+        boolean isWrite() {
+            return value != null;
+        }
+    }
+
+    /**
+     * It fuses the sketch of a consumer task into the sketch of a producer task.
+     * The parameters of the fused kernel are the parameters of the producer,
+     * followed by the parameters of the consumer that are not shared with the
+     * producer.
+     *
+     * @param producerMethod
+     *     Method of the producer task.
+     * @param producer
+     *     Sketch of the producer task.
+     * @param consumerMethod
+     *     Method of the consumer task.
+     * @param consumer
+     *     Sketch of the consumer task.
+     * @param consumerParameters
+     *     Index of each parameter of the consumer in the list of
+     *     arguments.
+     * @param arguments
+     *     Arguments of the producer, followed by the arguments of the
+     *     consumer that are not shared with the producer.
+     * @param intermediates
+     *     Indexes of the arguments that are only used to pass data from the
+     *     producer to the consumer.
+     * @return {@link FusedKernel}, or null if the tasks cannot be fused.
+     */
+    public static FusedKernel fuse(ResolvedJavaMethod producerMethod, Sketch producer, ResolvedJavaMethod consumerMethod, Sketch consumer, int[] consumerParameters, Object[] arguments,
+            Set<Integer> intermediates) {
+        if (producer.getBatchWriteThreadIndex() || consumer.getBatchWriteThreadIndex()) {
+            return null;
+        }
+        if (producerMethod.getLocalVariableTable() == null || consumerMethod.getLocalVariableTable() == null) {
+            return null;
+        }
+
+        final ParallelLoop producerLoop = ParallelLoop.find((StructuredGraph) producer.getGraph());
+        final ParallelLoop consumerLoop = ParallelLoop.find((StructuredGraph) consumer.getGraph());
+        if (producerLoop == null || consumerLoop == null || !consumerLoop.hasMovablePreamble() || !consumerLoop.hasPrivateHeader()) {
+            return null;
+        }
+
+        try {
+            return fuseSketches(producerMethod, producer, producerLoop, consumerMethod, consumer, consumerLoop, consumerParameters, arguments, intermediates);
+        } catch (RuntimeException e) {
+            logger.debug("Unable to fuse %s and %s (%s)", producerMethod.getName(), consumerMethod.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * It checks that each thread of a task only accesses its own element of the
+     * given parameters: the task is a 1D parallel loop that starts at 0 with
+     * stride 1, and every access to those parameters uses the thread index as the
+     * element index. Then, the iteration space can be split in ranges, and each
+     * range can run over a copy of its elements only. Stencils, gathers, and any
+     * shape that is not recognised are rejected.
+     *
+     * @param sketch
+     *     Sketch of the task.
+     * @param parameters
+     *     Indexes of the parameters that would be split.
+     * @return true if the parameters are only accessed element-wise.
+     */
+    public static boolean isElementWise(Sketch sketch, Set<Integer> parameters) {
+        if (sketch.getBatchWriteThreadIndex()) {
+            return false;
+        }
+        final StructuredGraph graph = (StructuredGraph) sketch.getGraph();
+        final List<ParallelRangeNode> ranges = graph.getNodes().filter(ParallelRangeNode.class).snapshot();
+        if (ranges.size() != 1 || !isConstant(ranges.getFirst().offset().value(), 0) || !isConstant(ranges.getFirst().stride().value(), 1)) {
+            return false;
+        }
+        ValuePhiNode threadIndex = null;
+        for (ValuePhiNode phi : graph.getNodes(ValuePhiNode.TYPE)) {
+            if (phi.merge() instanceof LoopBeginNode && phi.valueAt(0) == ranges.getFirst().offset()) {
+                threadIndex = phi;
+            }
+        }
+        final Map<ParameterNode, List<MemoryAccess>> accesses = collectAccesses(graph, graph.createNodeBitMap());
+        if (threadIndex == null || accesses == null) {
+            return false;
+        }
+        // The accesses of calls that are not inlined are unknown
+        for (Invoke invoke : graph.getInvokes()) {
+            for (ValueNode argument : invoke.callTarget().arguments()) {
+                if (getRoot(argument) instanceof ParameterNode parameter && parameters.contains(parameter.index())) {
+                    return false;
+                }
+            }
+        }
+        for (Map.Entry<ParameterNode, List<MemoryAccess>> entry : accesses.entrySet()) {
+            if (!parameters.contains(entry.getKey().index())) {
+                continue;
+            }
+            for (MemoryAccess access : entry.getValue()) {
+                final boolean isIndexed = access.node() instanceof LoadIndexedNode || access.node() instanceof StoreIndexedNode;
+                final long scale = isIndexed ? 1 : access.kind().getByteCount();
+                final long offset = isIndexed ? 0 : TornadoNativeArray.ARRAY_HEADER;
+                final long[] linear = linearForm(access.key(), threadIndex);
+                if (linear == null || linear[0] != scale || linear[1] != offset) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isConstant(ValueNode node, long value) {
+        return node.isJavaConstant() && node.asJavaConstant().getJavaKind().isNumericInteger() && node.asJavaConstant().asLong() == value;
+    }
+
+    /**
+     * It evaluates an index as {@code a * threadIndex + b}, where {@code a} and
+     * {@code b} are constants.
+     *
+     * @return {a, b}, or null if the index is not of that form.
+     */
+    private static long[] linearForm(ValueNode node, ValuePhiNode threadIndex) {
+        if (node == threadIndex) {
+            return new long[] { 1, 0 };
+        } else if (node.isJavaConstant() && node.asJavaConstant().getJavaKind().isNumericInteger()) {
+            return new long[] { 0, node.asJavaConstant().asLong() };
+        } else if (node instanceof SignExtendNode extend) {
+            return linearForm(extend.getValue(), threadIndex);
+        } else if (node instanceof ZeroExtendNode extend) {
+            return linearForm(extend.getValue(), threadIndex);
+        } else if (node instanceof AddNode add) {
+            final long[] x = linearForm(add.getX(), threadIndex);
+            final long[] y = linearForm(add.getY(), threadIndex);
+            return (x == null || y == null) ? null : new long[] { x[0] + y[0], x[1] + y[1] };
+        } else if (node instanceof SubNode sub) {
+            final long[] x = linearForm(sub.getX(), threadIndex);
+            final long[] y = linearForm(sub.getY(), threadIndex);
+            return (x == null || y == null) ? null : new long[] { x[0] - y[0], x[1] - y[1] };
+        } else if (node instanceof MulNode mul) {
+            final long[] x = linearForm(mul.getX(), threadIndex);
+            final long[] y = linearForm(mul.getY(), threadIndex);
+            if (x == null || y == null || (x[0] != 0 && y[0] != 0)) {
+                return null;
+            }
+            return new long[] { x[0] * y[1] + y[0] * x[1], x[1] * y[1] };
+        } else if (node instanceof LeftShiftNode shift && shift.getY().isJavaConstant()) {
+            final long[] x = linearForm(shift.getX(), threadIndex);
+            final long factor = 1L << shift.getY().asJavaConstant().asLong();
+            return x == null ? null : new long[] { x[0] * factor, x[1] * factor };
+        }
+        return null;
+    }
+
+    private static FusedKernel fuseSketches(ResolvedJavaMethod producerMethod, Sketch producer, ParallelLoop producerLoop, ResolvedJavaMethod consumerMethod, Sketch consumer,
+            ParallelLoop consumerLoop, int[] consumerParameters, Object[] arguments, Set<Integer> intermediates) {
+        final StructuredGraph producerGraph = (StructuredGraph) producer.getGraph();
+        final StructuredGraph consumerGraph = (StructuredGraph) consumer.getGraph();
+        final StructuredGraph graph = newGraph(producerMethod, "fusion-" + producerMethod.getName() + "_" + consumerMethod.getName());
+
+        // The producer keeps its parameters, and the consumer takes the parameters of the fused kernel
+        final UnmodifiableEconomicMap<Node, Node> producerNodes = duplicate(producerGraph, graph, EconomicMap.create());
+        final EconomicMap<Node, Node> consumerReplacements = EconomicMap.create();
+        for (ParameterNode parameter : consumerGraph.getNodes(ParameterNode.TYPE)) {
+            consumerReplacements.put(parameter, getOrCreateParameter(graph, consumerParameters[parameter.index()], parameter));
+        }
+        final UnmodifiableEconomicMap<Node, Node> consumerNodes = duplicate(consumerGraph, graph, consumerReplacements);
+
+        final ParallelLoop first = producerLoop.map(producerNodes);
+        final ParallelLoop second = consumerLoop.map(consumerNodes);
+        if (!sameIterationSpace(first.range, second.range, arguments)) {
+            return null;
+        }
+
+        final NodeBitMap fromConsumer = graph.createNodeBitMap();
+        for (Node node : consumerNodes.getValues()) {
+            fromConsumer.mark(node);
+        }
+
+        final Map<ParameterNode, List<MemoryAccess>> accesses = collectAccesses(graph, fromConsumer);
+        if (accesses == null || !hasOnlyThreadLocalDependencies(accesses, first.phi)) {
+            return null;
+        }
+
+        final FixedWithNextNode producerBodyEnd = (FixedWithNextNode) first.loopEnd.predecessor();
+        final AbstractBeginNode consumerBodyBegin = second.ifNode.trueSuccessor();
+        spliceLoops(first, second);
+        new DeadCodeEliminationPhase().apply(graph);
+
+        forwardStores(accesses, findUnconditionalNodes(graph, first, producerBodyEnd, consumerBodyBegin));
+        final Set<Integer> removed = removeIntermediates(graph, intermediates, fromConsumer);
+        final int[] parameters = IntStream.range(0, arguments.length).filter(i -> !removed.contains(i)).toArray();
+        renumberParameters(graph, parameters);
+
+        // Build the method of the fused kernel with the parameters that are left
+        final Local[] unionLocals = new Local[arguments.length];
+        final Access[] unionAccess = new Access[arguments.length];
+        final Local[] producerLocals = producerMethod.getLocalVariableTable().getLocalsAt(0);
+        final Access[] producerAccess = producer.getArgumentsAccess();
+        for (int i = 0; i < producerAccess.length; i++) {
+            unionLocals[i] = producerLocals[i];
+            unionAccess[i] = producerAccess[i];
+        }
+        final Local[] consumerLocals = consumerMethod.getLocalVariableTable().getLocalsAt(0);
+        final Access[] consumerAccess = consumer.getArgumentsAccess();
+        for (int i = 0; i < consumerParameters.length; i++) {
+            final int index = consumerParameters[i];
+            if (unionLocals[index] == null) {
+                unionLocals[index] = consumerLocals[i];
+                unionAccess[index] = consumerAccess[i];
+            } else {
+                unionAccess[index] = Access.asArray()[unionAccess[index].position | consumerAccess[i].position];
+            }
+        }
+
+        final Set<String> names = new HashSet<>();
+        final String[] parameterNames = new String[parameters.length];
+        final JavaType[] parameterTypes = new JavaType[parameters.length];
+        final Access[] parameterAccess = new Access[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            final Local local = unionLocals[parameters[i]];
+            String name = local.getName();
+            for (int suffix = 1; !names.add(name); suffix++) {
+                name = local.getName() + "_" + suffix;
+            }
+            parameterNames[i] = name;
+            parameterTypes[i] = local.getType();
+            parameterAccess[i] = unionAccess[parameters[i]];
+        }
+
+        final FusedJavaMethod fusedMethod = new FusedJavaMethod(producerMethod, consumerMethod, parameterNames, parameterTypes);
+        final StructuredGraph fusedGraph = newGraph(fusedMethod, "sketch-" + fusedMethod.getName());
+        duplicate(graph, fusedGraph, EconomicMap.create());
+        for (StructuredGraph sketchGraph : List.of(producerGraph, consumerGraph)) {
+            if (sketchGraph.getAssumptions() != null) {
+                fusedGraph.getAssumptions().record(sketchGraph.getAssumptions());
+            }
+        }
+        getDebugContext().dump(DebugContext.BASIC_LEVEL, fusedGraph, "Fused sketch");
+
+        logger.info("Fused %s and %s into %s", producerMethod.getName(), consumerMethod.getName(), fusedMethod.getName());
+        return new FusedKernel(new Sketch(fusedGraph, parameterAccess, false), fusedMethod, parameters);
+    }
+
+    private static StructuredGraph newGraph(ResolvedJavaMethod method, String name) {
+        Builder builder = new Builder(getOptions(), getDebugContext(), AllowAssumptions.YES);
+        builder.method(method);
+        builder.compilationId(new TornadoCompilerIdentifier(name, fusionId.getAndIncrement()));
+        builder.name(name);
+        return builder.build();
+    }
+
+    /**
+     * It copies all nodes of the source graph into the target graph. The start
+     * node of the source is mapped to the start node of the target.
+     */
+    private static UnmodifiableEconomicMap<Node, Node> duplicate(StructuredGraph source, StructuredGraph target, EconomicMap<Node, Node> replacements) {
+        replacements.put(source.start(), target.start());
+        final List<Node> nodes = source.getNodes().filter(node -> !replacements.containsKey(node)).snapshot();
+        final UnmodifiableEconomicMap<Node, Node> duplicates = target.addDuplicates(nodes, source, nodes.size(), replacements);
+        if (target.start().stateAfter() == null && source.start().stateAfter() != null) {
+            target.start().setStateAfter((FrameState) duplicates.get(source.start().stateAfter()));
+        }
+        return duplicates;
+    }
+
+    private static ParameterNode getOrCreateParameter(StructuredGraph graph, int index, ParameterNode template) {
+        ParameterNode parameter = graph.getParameter(index);
+        if (parameter == null) {
+            parameter = graph.addWithoutUnique(new ParameterNode(index, StampPair.create(template.stamp(NodeView.DEFAULT), template.uncheckedStamp())));
+        }
+        return parameter;
+    }
+
+    private static boolean sameIterationSpace(ParallelRangeNode producer, ParallelRangeNode consumer, Object[] arguments) {
+        if (producer.index() != consumer.index() || !sameValue(producer.offset().value(), consumer.offset().value()) || !sameValue(producer.stride().value(), consumer.stride().value())) {
+            return false;
+        }
+        if (sameValue(producer.value(), consumer.value())) {
+            return true;
+        }
+        // Loop bounds are specialised with the task arguments when compiling, so both ranges can be compared by value
+        final Long producerSize = evaluate(producer.value(), arguments);
+        return producerSize != null && producerSize.equals(evaluate(consumer.value(), arguments));
+    }
+
+    private static Long evaluate(ValueNode node, Object[] arguments) {
+        if (node instanceof ConstantNode constantNode) {
+            final JavaConstant constant = constantNode.asJavaConstant();
+            return (constant != null && constant.getJavaKind().isNumericInteger()) ? constant.asLong() : null;
+        } else if (node instanceof ParameterNode parameter) {
+            final Object value = arguments[parameter.index()];
+            return (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) ? ((Number) value).longValue() : null;
+        } else if (node instanceof ArrayLengthNode arrayLength) {
+            final Object array = evaluateObject(arrayLength.array(), arguments);
+            return (array != null && array.getClass().isArray()) ? (long) Array.getLength(array) : null;
+        } else if (node instanceof LoadFieldNode loadField && NUMBER_OF_ELEMENTS.equals(loadField.field().getName())) {
+            final Object array = evaluateObject(loadField.object(), arguments);
+            return (array instanceof TornadoNativeArray nativeArray) ? nativeArray.getSizeAsLong() : null;
+        }
+        return null;
+    }
+
+    private static Object evaluateObject(ValueNode node, Object[] arguments) {
+        final ValueNode object = (node instanceof PiNode piNode) ? piNode.object() : node;
+        return (object instanceof ParameterNode parameter) ? arguments[parameter.index()] : null;
+    }
+
+    /**
+     * It compares two values by structure: constants by value, and other nodes
+     * by their class, their data fields and their inputs. Only floating nodes and
+     * reads of array metadata are compared.
+     */
+    private static boolean sameValue(ValueNode x, ValueNode y) {
+        if (x == y) {
+            return true;
+        }
+        if (x == null || y == null || x.getClass() != y.getClass()) {
+            return false;
+        }
+        if (x instanceof ConstantNode constantX) {
+            return constantX.getValue().equals(((ConstantNode) y).getValue());
+        } else if (x instanceof LoadFieldNode loadX) {
+            final LoadFieldNode loadY = (LoadFieldNode) y;
+            return loadX.field().equals(loadY.field()) && sameValue(loadX.object(), loadY.object());
+        } else if (x instanceof ArrayLengthNode lengthX) {
+            return sameValue(lengthX.array(), ((ArrayLengthNode) y).array());
+        } else if (!(x instanceof FloatingNode) || x instanceof PhiNode || x instanceof ParameterNode || !x.valueEquals(y)) {
+            return false;
+        }
+
+        final List<Node> inputsX = x.inputs().snapshot();
+        final List<Node> inputsY = y.inputs().snapshot();
+        if (inputsX.size() != inputsY.size()) {
+            return false;
+        }
+        for (int i = 0; i < inputsX.size(); i++) {
+            final Node inputX = inputsX.get(i);
+            final Node inputY = inputsY.get(i);
+            if (inputX != inputY && !(inputX instanceof ValueNode valueX && inputY instanceof ValueNode valueY && sameValue(valueX, valueY))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ValueNode getRoot(ValueNode base) {
+        ValueNode root = base;
+        while (true) {
+            if (root instanceof PiNode piNode) {
+                root = piNode.object();
+            } else if (root instanceof LoadFieldNode loadField && loadField.object() != null) {
+                root = loadField.object();
+            } else {
+                return root;
+            }
+        }
+    }
+
+    /**
+     * It collects the array accesses of the graph by parameter.
+     *
+     * @return the accesses by parameter, or null if an access is not made
+     *     through a parameter.
+     */
+    private static Map<ParameterNode, List<MemoryAccess>> collectAccesses(StructuredGraph graph, NodeBitMap fromConsumer) {
+        final Map<ParameterNode, List<MemoryAccess>> accesses = new HashMap<>();
+        for (Node node : graph.getNodes()) {
+            final ValueNode base;
+            final MemoryAccess access;
+            if (node instanceof LoadIndexedNode load) {
+                base = load.array();
+                access = new MemoryAccess(load, load.index(), load.elementKind(), null, fromConsumer.isMarked(load));
+            } else if (node instanceof StoreIndexedNode store) {
+                base = store.array();
+                access = new MemoryAccess(store, store.index(), store.elementKind(), store.value(), fromConsumer.isMarked(store));
+            } else if (node instanceof JavaReadNode read && read.getAddress() instanceof OffsetAddressNode address) {
+                base = address.getBase();
+                access = new MemoryAccess(read, address.getOffset(), read.getReadKind(), null, fromConsumer.isMarked(read));
+            } else if (node instanceof JavaWriteNode write && write.getAddress() instanceof OffsetAddressNode address) {
+                base = address.getBase();
+                access = new MemoryAccess(write, address.getOffset(), write.getWriteKind(), write.value(), fromConsumer.isMarked(write));
+            } else if (node instanceof JavaReadNode || node instanceof JavaWriteNode) {
+                return null;
+            } else {
+                continue;
+            }
+
+            if (!(getRoot(base) instanceof ParameterNode parameter)) {
+                return null;
+            }
+            accesses.computeIfAbsent(parameter, p -> new ArrayList<>()).add(access);
+        }
+        return accesses;
+    }
+
+    /**
+     * It checks that, for each array accessed by both tasks and written by any of
+     * them, all accesses use the same index, and the index is an injective
+     * function of the thread index. Then, each thread only reads the elements
+     * written by itself.
+     */
+    private static boolean hasOnlyThreadLocalDependencies(Map<ParameterNode, List<MemoryAccess>> accesses, ValuePhiNode threadIndex) {
+        for (List<MemoryAccess> list : accesses.values()) {
+            final boolean fromProducer = list.stream().anyMatch(access -> !access.fromConsumer());
+            final boolean fromConsumer = list.stream().anyMatch(MemoryAccess::fromConsumer);
+            final boolean hasWrites = list.stream().anyMatch(MemoryAccess::isWrite);
+            if (!fromProducer || !fromConsumer || !hasWrites) {
+                continue;
+            }
+            final ValueNode key = list.getFirst().key();
+            for (MemoryAccess access : list) {
+                if (!sameValue(access.key(), key) || !isAffine(access.key(), threadIndex)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAffine(ValueNode node, ValuePhiNode threadIndex) {
+        if (node == threadIndex) {
+            return true;
+        } else if (node instanceof AddNode add) {
+            return (isAffine(add.getX(), threadIndex) && isInvariant(add.getY())) || (isInvariant(add.getX()) && isAffine(add.getY(), threadIndex));
+        } else if (node instanceof SubNode sub) {
+            return (isAffine(sub.getX(), threadIndex) && isInvariant(sub.getY())) || (isInvariant(sub.getX()) && isAffine(sub.getY(), threadIndex));
+        } else if (node instanceof MulNode mul) {
+            return (isAffine(mul.getX(), threadIndex) && isNonZeroConstant(mul.getY())) || (isNonZeroConstant(mul.getX()) && isAffine(mul.getY(), threadIndex));
+        } else if (node instanceof LeftShiftNode shift) {
+            return isAffine(shift.getX(), threadIndex) && shift.getY().isConstant();
+        } else if (node instanceof SignExtendNode extend) {
+            return isAffine(extend.getValue(), threadIndex);
+        } else if (node instanceof ZeroExtendNode extend) {
+            return isAffine(extend.getValue(), threadIndex);
+        }
+        return false;
+    }
+
+    private static boolean isNonZeroConstant(ValueNode node) {
+        return node.isJavaConstant() && node.asJavaConstant().getJavaKind().isNumericInteger() && node.asJavaConstant().asLong() != 0;
+    }
+
+    private static boolean isInvariant(ValueNode node) {
+        if (node instanceof ConstantNode || node instanceof ParameterNode || node instanceof LoadFieldNode || node instanceof ArrayLengthNode) {
+            return true;
+        } else if (!(node instanceof FloatingNode) || node instanceof PhiNode) {
+            return false;
+        }
+        for (Node input : node.inputs()) {
+            if (!(input instanceof ValueNode value) || !isInvariant(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * It moves the preamble of the consumer before the loop of the producer, and
+     * the body of the consumer to the end of the body of the producer. The rest
+     * of the consumer becomes unreachable.
+     */
+    private static void spliceLoops(ParallelLoop producer, ParallelLoop consumer) {
+        final EndNode producerForwardEnd = producer.loopBegin.forwardEndAt(0);
+        if (!consumer.preamble.isEmpty()) {
+            final FixedWithNextNode preambleBegin = consumer.preamble.getFirst();
+            final FixedWithNextNode preambleEnd = consumer.preamble.getLast();
+            final FixedWithNextNode beforeLoop = (FixedWithNextNode) producerForwardEnd.predecessor();
+            preambleEnd.setNext(null);
+            beforeLoop.setNext(null);
+            beforeLoop.setNext(preambleBegin);
+            preambleEnd.setNext(producerForwardEnd);
+        }
+
+        consumer.phi.replaceAtUsages(producer.phi);
+        consumer.range.offset().replaceAtUsages(producer.range.offset());
+        consumer.range.stride().replaceAtUsages(producer.range.stride());
+        consumer.range.replaceAtUsages(producer.range);
+        for (Node usage : consumer.loopBegin.usages().snapshot()) {
+            if (!(usage instanceof PhiNode || usage instanceof LoopEndNode || usage instanceof LoopExitNode)) {
+                usage.replaceFirstInput(consumer.loopBegin, producer.loopBegin);
+            }
+        }
+
+        final AbstractBeginNode bodyBegin = consumer.ifNode.trueSuccessor();
+        final FixedWithNextNode bodyEnd = (FixedWithNextNode) consumer.loopEnd.predecessor();
+        final FixedWithNextNode producerBodyEnd = (FixedWithNextNode) producer.loopEnd.predecessor();
+        consumer.ifNode.setTrueSuccessor(null);
+        bodyEnd.setNext(null);
+        producerBodyEnd.setNext(null);
+        producerBodyEnd.setNext(bodyBegin);
+        bodyEnd.setNext(producer.loopEnd);
+    }
+
+    /**
+     * It finds the nodes of the body of the producer that run in all iterations
+     * of the fused loop.
+     */
+    private static NodeBitMap findUnconditionalNodes(StructuredGraph graph, ParallelLoop producer, FixedWithNextNode producerBodyEnd, AbstractBeginNode consumerBodyBegin) {
+        final NodeBitMap unconditional = graph.createNodeBitMap();
+        FixedNode current = producer.ifNode.trueSuccessor();
+        while (current instanceof FixedWithNextNode fixedWithNext && current != consumerBodyBegin) {
+            unconditional.mark(fixedWithNext);
+            current = fixedWithNext.next();
+        }
+
+        // There is a single loop end, so all branches of the body meet before it
+        current = producerBodyEnd;
+        while (current instanceof FixedWithNextNode fixedWithNext && !unconditional.isMarked(fixedWithNext)) {
+            unconditional.mark(fixedWithNext);
+            if (current instanceof AbstractMergeNode || current.predecessor() instanceof ControlSplitNode) {
+                break;
+            }
+            current = (FixedNode) current.predecessor();
+        }
+        return unconditional;
+    }
+
+    /**
+     * The loads of the consumer from an array that is written once by the
+     * producer, in all iterations, take the value stored by the producer.
+     */
+    private static void forwardStores(Map<ParameterNode, List<MemoryAccess>> accesses, NodeBitMap unconditional) {
+        for (List<MemoryAccess> list : accesses.values()) {
+            final List<MemoryAccess> producerWrites = list.stream().filter(access -> !access.fromConsumer() && access.isWrite()).toList();
+            final boolean consumerWrites = list.stream().anyMatch(access -> access.fromConsumer() && access.isWrite());
+            if (producerWrites.size() != 1 || consumerWrites) {
+                continue;
+            }
+            final MemoryAccess write = producerWrites.getFirst();
+            if (!unconditional.isMarked(write.node()) || !isForwardable(write.kind())) {
+                continue;
+            }
+            for (MemoryAccess read : list) {
+                if (read.fromConsumer() && read.kind() == write.kind() && sameValue(read.key(), write.key())) {
+                    read.node().replaceAtUsages(write.value());
+                    GraphUtil.removeFixedWithUnusedInputs(read.node());
+                }
+            }
+        }
+    }
+
+    private static boolean isForwardable(JavaKind kind) {
+        // Sub-word stores truncate the value, so the stored value is not the value that a load returns
+        return kind == JavaKind.Int || kind == JavaKind.Long || kind == JavaKind.Float || kind == JavaKind.Double;
+    }
+
+    /**
+     * It removes the intermediate arrays that are no longer read. Their stores
+     * are deleted, and the parameter is deleted if nothing else uses it.
+     *
+     * @return indexes of the parameters that were removed.
+     */
+    private static Set<Integer> removeIntermediates(StructuredGraph graph, Set<Integer> intermediates, NodeBitMap fromConsumer) {
+        final Set<Integer> removed = new HashSet<>();
+        final Map<ParameterNode, List<MemoryAccess>> accesses = collectAccesses(graph, fromConsumer);
+        for (int index : intermediates) {
+            final List<MemoryAccess> list = accesses.getOrDefault(graph.getParameter(index), List.of());
+            if (list.stream().allMatch(MemoryAccess::isWrite)) {
+                list.forEach(access -> GraphUtil.removeFixedWithUnusedInputs(access.node()));
+            }
+        }
+        new DeadCodeEliminationPhase().apply(graph);
+
+        for (int index : intermediates) {
+            final ParameterNode parameter = graph.getParameter(index);
+            if (parameter == null) {
+                removed.add(index);
+            } else if (parameter.usages().filter(usage -> !(usage instanceof FrameState)).isEmpty()) {
+                parameter.replaceAtUsages(ConstantNode.defaultForKind(JavaKind.Object, graph));
+                parameter.safeDelete();
+                removed.add(index);
+            }
+        }
+        return removed;
+    }
+
+    private static void renumberParameters(StructuredGraph graph, int[] parameters) {
+        for (int i = 0; i < parameters.length; i++) {
+            final ParameterNode parameter = graph.getParameter(parameters[i]);
+            if (parameter != null && parameters[i] != i) {
+                final StampPair stamp = StampPair.create(parameter.stamp(NodeView.DEFAULT), parameter.uncheckedStamp());
+                parameter.replaceAndDelete(graph.addWithoutUnique(new ParameterNode(i, stamp)));
+            }
+        }
+    }
+
+    /**
+     * Structure of a sketch with a single 1D parallel loop.
+     */
+    private static final class ParallelLoop {
+
+        private final LoopBeginNode loopBegin;
+        private final ValuePhiNode phi;
+        private final ParallelRangeNode range;
+        private final IfNode ifNode;
+        private final LoopEndNode loopEnd;
+        private final List<FixedWithNextNode> preamble;
+        private final List<FixedWithNextNode> header;
+
+        private ParallelLoop(LoopBeginNode loopBegin, ValuePhiNode phi, ParallelRangeNode range, IfNode ifNode, LoopEndNode loopEnd, List<FixedWithNextNode> preamble,
+                List<FixedWithNextNode> header) {
+            this.loopBegin = loopBegin;
+            this.phi = phi;
+            this.range = range;
+            this.ifNode = ifNode;
+            this.loopEnd = loopEnd;
+            this.preamble = preamble;
+            this.header = header;
+        }
+
+        private static boolean isSupported(FixedNode node) {
+            return node instanceof AbstractBeginNode || node instanceof AbstractEndNode || node instanceof IfNode || node instanceof ReturnNode || node instanceof FixedGuardNode
+                    || node instanceof LoadFieldNode || node instanceof ArrayLengthNode || node instanceof LoadIndexedNode || node instanceof StoreIndexedNode || node instanceof JavaReadNode
+                    || node instanceof JavaWriteNode;
+        }
+
+        static ParallelLoop find(StructuredGraph graph) {
+            if (graph.getNodes(LoopBeginNode.TYPE).count() != 1 || graph.getNodes().filter(ParallelRangeNode.class).count() != 1) {
+                return null;
+            }
+            for (Node node : graph.getNodes()) {
+                if (node instanceof FixedNode fixedNode && !isSupported(fixedNode)) {
+                    return null;
+                }
+            }
+
+            final LoopBeginNode loopBegin = graph.getNodes(LoopBeginNode.TYPE).first();
+            if (loopBegin.forwardEndCount() != 1 || loopBegin.loopEnds().count() != 1 || loopBegin.loopExits().count() != 1 || loopBegin.phis().count() != 1) {
+                return null;
+            }
+            if (!(loopBegin.phis().first() instanceof ValuePhiNode phi)) {
+                return null;
+            }
+            final ParallelRangeNode range = graph.getNodes().filter(ParallelRangeNode.class).first();
+            if (phi.valueAt(0) != range.offset()) {
+                return null;
+            }
+
+            // Code before the loop must be straight-line
+            final List<FixedWithNextNode> preamble = new ArrayList<>();
+            final EndNode forwardEnd = loopBegin.forwardEndAt(0);
+            FixedNode current = graph.start().next();
+            while (current != forwardEnd) {
+                if (!(current instanceof FixedWithNextNode fixedWithNext) || current instanceof AbstractBeginNode) {
+                    return null;
+                }
+                preamble.add(fixedWithNext);
+                current = fixedWithNext.next();
+            }
+
+            // The loop condition can only read array sizes
+            final List<FixedWithNextNode> header = new ArrayList<>();
+            current = loopBegin.next();
+            while (current instanceof LoadFieldNode || current instanceof ArrayLengthNode) {
+                header.add((FixedWithNextNode) current);
+                current = ((FixedWithNextNode) current).next();
+            }
+            if (!(current instanceof IfNode ifNode) || !(ifNode.condition() instanceof IntegerLessThanNode condition) || condition.getX() != phi || condition.getY() != range) {
+                return null;
+            }
+            if (!(ifNode.falseSuccessor() instanceof LoopExitNode exit) || exit.proxies().isNotEmpty() || !(exit.next() instanceof ReturnNode returnNode) || returnNode.result() != null) {
+                return null;
+            }
+
+            final LoopEndNode loopEnd = loopBegin.loopEnds().first();
+            if (!(loopEnd.predecessor() instanceof FixedWithNextNode)) {
+                return null;
+            }
+            return new ParallelLoop(loopBegin, phi, range, ifNode, loopEnd, preamble, header);
+        }
+
+        /**
+         * The preamble of a consumer is moved before the loop of the producer, so it
+         * can only read array sizes and check them.
+         */
+        boolean hasMovablePreamble() {
+            return preamble.stream().allMatch(node -> node instanceof LoadFieldNode || node instanceof ArrayLengthNode || node instanceof FixedGuardNode);
+        }
+
+        /**
+         * The header of a consumer is removed, so its values can only be used by the
+         * loop condition.
+         */
+        boolean hasPrivateHeader() {
+            for (FixedWithNextNode node : header) {
+                for (Node usage : node.usages()) {
+                    if (usage != range && usage != ifNode.condition() && !header.contains(usage)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        ParallelLoop map(UnmodifiableEconomicMap<Node, Node> duplicates) {
+            return new ParallelLoop(get(duplicates, loopBegin), get(duplicates, phi), get(duplicates, range), get(duplicates, ifNode), get(duplicates, loopEnd),
+                    preamble.stream().map(node -> get(duplicates, node)).toList(), header.stream().map(node -> get(duplicates, node)).toList());
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T extends Node> T get(UnmodifiableEconomicMap<Node, Node> duplicates, T node) {
+            return (T) duplicates.get(node);
+        }
+    }
+}
@@ -31,6 +31,7 @@ import static uk.ac.manchester.tornado.runtime.TornadoCoreRuntime.getDebugContex
 import static uk.ac.manchester.tornado.runtime.TornadoCoreRuntime.getOptions;
 import static uk.ac.manchester.tornado.runtime.TornadoCoreRuntime.getTornadoExecutor;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -63,12 +64,14 @@ import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.runtime.TornadoAcceleratorBackend;
 import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
 import uk.ac.manchester.tornado.runtime.common.OCLTokens;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoCompilerIdentifier;
 import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoSketchTier;
+import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoSuitesProvider;
 import uk.ac.manchester.tornado.runtime.graal.phases.TornadoSketchTierContext;
 
 public class TornadoSketcher {
@@ -127,6 +130,26 @@ public class TornadoSketcher {
         return sketch;
     }
 
+    /**
+     * Builds the sketch of a method without reading or updating the sketch cache.
+     * Callees that are not inlined are still taken from the cache. It is used to
+     * measure the cost of the sketcher in isolation.
+     *
+     * @param method
+     *     The Java method of the task.
+     * @param backendIndex
+     *     Index of the backend that provides the Graal providers and suites.
+     * @param deviceIndex
+     *     Index of the device within the backend.
+     * @return The {@link Sketch} of the method.
+     */
+    public static Sketch buildSketchWithoutCache(Method method, int backendIndex, int deviceIndex) {
+        final ResolvedJavaMethod resolvedMethod = TornadoCoreRuntime.getTornadoRuntime().resolveMethod(method);
+        final TornadoAcceleratorBackend backend = TornadoCoreRuntime.getTornadoRuntime().getBackend(backendIndex);
+        final TornadoSuitesProvider suites = backend.getSuitesProvider();
+        return buildSketch(resolvedMethod, backend.getProviders(), suites.getGraphBuilderSuite(), suites.getSketchTier(), backendIndex, deviceIndex);
+    }
+
     static void buildSketch(SketchRequest request) {
         if (cacheContainsSketch(request.resolvedMethod, request.driverIndex, request.deviceIndex)) {
             return;
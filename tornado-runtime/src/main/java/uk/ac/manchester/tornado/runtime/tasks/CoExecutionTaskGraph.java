@@ -0,0 +1,608 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.runtime.tasks;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.common.TaskPackage;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.ByteArray;
+import uk.ac.manchester.tornado.api.types.arrays.CharArray;
+import uk.ac.manchester.tornado.api.types.arrays.DoubleArray;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.HalfFloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
+import uk.ac.manchester.tornado.api.types.arrays.ShortArray;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
+import uk.ac.manchester.tornado.runtime.analyzer.TaskUtils;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
+import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketchFusion;
+import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketcher;
+
+/**
+ * Co-execution of a task-graph across several devices and, optionally, the host
+ * JVM. The iteration space is split in contiguous partitions, one per
+ * participant. Each participant runs all tasks of the graph over copies of its
+ * range of the data, and the partial outputs are copied back into the user
+ * arrays, in the same way as partial copy-outs with a data range.
+ *
+ * <p>
+ * Partitions start with the same size and are resized from the throughput
+ * measured for each participant when the imbalance between participants is
+ * above {@link TornadoOptions#COEXECUTION_REBALANCE_THRESHOLD}. Kernels are
+ * specialised on the size of the arrays, so partition sizes are multiples of a
+ * granule and the execution plan of each size is kept for the next time the
+ * same size is selected, up to {@link #MAX_CACHED_PARTITIONS} sizes per
+ * participant.
+ * </p>
+ *
+ * <p>
+ * Each partition runs the tasks with the same scalar arguments as the original
+ * graph. Integral scalars usually carry sizes or indexes of the full iteration
+ * space (e.g., a loop bound), which would be out of range in a partition, so
+ * tasks with integral scalar parameters are rejected. Tasks must bound their
+ * loops with the size of the arrays.
+ * </p>
+ *
+ * <p>
+ * Each partition only holds its own range of the partitioned arrays, so every
+ * task must access them element-wise: thread {@code i} only accesses element
+ * {@code i}. Graphs with stencils, gathers, or any access that the sketch
+ * analysis cannot prove element-wise are rejected.
+ * </p>
+ */
+class CoExecutionTaskGraph {
+
+    private static final String TASK_GRAPH_PREFIX = "XXX__GENERATED_COEXEC";
+    private static final double THROUGHPUT_SMOOTHING = 0.5;
+    private static final int MAX_CACHED_PARTITIONS = 4;
+    private static final AtomicInteger counterName = new AtomicInteger(0);
+
+    private final List<TaskPackage> taskPackages;
+    private final List<StreamingObject> inputModeObjects;
+    private final TornadoTaskGraph originalTaskGraph;
+    private final List<TornadoDevice> devices;
+    private final boolean includeHostJVM;
+    private final long numElements;
+    private final Set<TornadoNativeArray> partitionedArrays;
+    private final List<TornadoNativeArray> outputArrays;
+    private final List<Participant> participants;
+
+    CoExecutionTaskGraph(List<TaskPackage> taskPackages, List<StreamingObject> inputModeObjects, List<StreamingObject> outputModeObjects, List<TornadoDevice> devices, boolean includeHostJVM,
+            TornadoTaskGraph originalTaskGraph) {
+        this.taskPackages = new ArrayList<>(taskPackages);
+        this.inputModeObjects = new ArrayList<>(inputModeObjects);
+        this.originalTaskGraph = originalTaskGraph;
+        this.devices = devices;
+        this.includeHostJVM = includeHostJVM;
+        this.numElements = findNumElements(this.taskPackages);
+        this.partitionedArrays = findPartitionedArrays(this.taskPackages, numElements);
+        checkElementWise(this.taskPackages, partitionedArrays, devices);
+        this.outputArrays = findOutputArrays(outputModeObjects, partitionedArrays);
+
+        participants = new ArrayList<>();
+        if (includeHostJVM) {
+            participants.add(new HostParticipant());
+        }
+        for (TornadoDevice device : devices) {
+            participants.add(new DeviceParticipant(device));
+        }
+        partition();
+    }
+
+    private static long findNumElements(List<TaskPackage> taskPackages) {
+        long numElements = 0;
+        for (TaskPackage taskPackage : taskPackages) {
+            if (taskPackage.isPrebuiltTask()) {
+                throw new TornadoRuntimeException("[ERROR] Co-execution does not support prebuilt tasks: " + taskPackage.getId());
+            }
+            // Note: the first element in the object list is a lambda expression
+            // (computation)
+            Object[] taskParameters = taskPackage.getTaskParameters();
+            for (int i = 1; i < taskParameters.length; i++) {
+                Object parameter = taskParameters[i];
+                if (parameter instanceof TornadoNativeArray nativeArray) {
+                    numElements = Math.max(numElements, nativeArray.getSizeAsLong());
+                } else if (parameter instanceof Byte || parameter instanceof Short || parameter instanceof Integer || parameter instanceof Long || parameter instanceof Character) {
+                    throw new TornadoRuntimeException("[ERROR] Co-execution does not support integral scalar parameters, since they are not rewritten for each partition. Parameter #" + i + " of task "
+                            + taskPackage.getId() + " is " + parameter + ". Use the size of the arrays instead.");
+                } else if (!(parameter instanceof Number || parameter instanceof Boolean)) {
+                    throw new TornadoRuntimeException("[ERROR] Co-execution only supports native arrays and scalar values. Parameter #" + i + " of task " + taskPackage.getId() + " is " + parameter);
+                }
+            }
+        }
+        if (numElements == 0) {
+            throw new TornadoRuntimeException("[ERROR] Co-execution requires at least one native array with elements");
+        }
+        return numElements;
+    }
+
+    private static Set<TornadoNativeArray> findPartitionedArrays(List<TaskPackage> taskPackages, long numElements) {
+        Set<TornadoNativeArray> partitionedArrays = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (TaskPackage taskPackage : taskPackages) {
+            Object[] taskParameters = taskPackage.getTaskParameters();
+            for (int i = 1; i < taskParameters.length; i++) {
+                if (taskParameters[i] instanceof TornadoNativeArray nativeArray && nativeArray.getSizeAsLong() == numElements) {
+                    partitionedArrays.add(nativeArray);
+                }
+            }
+        }
+        return partitionedArrays;
+    }
+
+    /**
+     * Checks with the sketch of each task that the partitioned arrays are only
+     * accessed at the index of the thread. Sketches are built for the backend of
+     * the first device, or of the default device if only the host JVM
+     * participates.
+     */
+    private static void checkElementWise(List<TaskPackage> taskPackages, Set<TornadoNativeArray> partitionedArrays, List<TornadoDevice> devices) {
+        TornadoDevice device = devices.isEmpty() ? TornadoCoreRuntime.getTornadoRuntime().getDefaultDevice() : devices.getFirst();
+        for (TaskPackage taskPackage : taskPackages) {
+            Object[] taskParameters = taskPackage.getTaskParameters();
+            Method method = TaskUtils.resolveMethodHandle(taskParameters[0]);
+            int receiver = Modifier.isStatic(method.getModifiers()) ? 0 : 1;
+            Set<Integer> parameters = new HashSet<>();
+            for (int i = 1; i < taskParameters.length; i++) {
+                if (taskParameters[i] instanceof TornadoNativeArray nativeArray && partitionedArrays.contains(nativeArray)) {
+                    parameters.add(i - 1 + receiver);
+                }
+            }
+            Sketch sketch = TornadoSketcher.buildSketchWithoutCache(method, device.getBackendIndex(), device.getDeviceContext().getDeviceIndex());
+            if (!TornadoSketchFusion.isElementWise(sketch, parameters)) {
+                throw new TornadoRuntimeException("[ERROR] Co-execution requires tasks that access the arrays element-wise (thread i only accesses element i). Task " + taskPackage.getId()
+                        + " uses other indexes (e.g., a stencil or a gather), or is not a 1D parallel loop starting at 0 with stride 1.");
+            }
+        }
+    }
+
+    private static List<TornadoNativeArray> findOutputArrays(List<StreamingObject> outputModeObjects, Set<TornadoNativeArray> partitionedArrays) {
+        List<TornadoNativeArray> outputArrays = new ArrayList<>();
+        for (StreamingObject streamingObject : outputModeObjects) {
+            if (!(streamingObject.object instanceof TornadoNativeArray nativeArray) || !partitionedArrays.contains(nativeArray)) {
+                // Outputs with a different size than the iteration space (e.g.,
+                // reductions) cannot be merged from partial results
+                throw new TornadoRuntimeException("[ERROR] Co-execution requires all outputs to be arrays with the same number of elements. Invalid output: " + streamingObject.object);
+            }
+            outputArrays.add(nativeArray);
+        }
+        return outputArrays;
+    }
+
+    private static TornadoNativeArray allocateSlice(TornadoNativeArray array, long numElements) {
+        return switch (array) {
+            case FloatArray floatArray -> new FloatArray(numElements);
+            case IntArray intArray -> new IntArray(numElements);
+            case ByteArray byteArray -> new ByteArray(numElements);
+            case DoubleArray doubleArray -> new DoubleArray(Math.toIntExact(numElements));
+            case LongArray longArray -> new LongArray(Math.toIntExact(numElements));
+            case ShortArray shortArray -> new ShortArray(Math.toIntExact(numElements));
+            case CharArray charArray -> new CharArray(Math.toIntExact(numElements));
+            case HalfFloatArray halfFloatArray -> new HalfFloatArray(Math.toIntExact(numElements));
+            default -> throw new TornadoRuntimeException("[ERROR] Co-execution does not support arrays of type " + array.getClass().getName());
+        };
+    }
+
+    private static void copyElements(TornadoNativeArray source, long sourceIndex, TornadoNativeArray destination, long destinationIndex, long numElements) {
+        long elementSize = source.getElementSize();
+        MemorySegment.copy(source.getSegment(), sourceIndex * elementSize, destination.getSegment(), destinationIndex * elementSize, numElements * elementSize);
+    }
+
+    boolean hasParticipants(List<TornadoDevice> devices, boolean includeHostJVM) {
+        return this.includeHostJVM == includeHostJVM && this.devices.equals(devices);
+    }
+
+    /**
+     * Releases the device buffers of all execution plans created for the
+     * partitions.
+     */
+    void free() {
+        for (Participant participant : participants) {
+            participant.free();
+        }
+    }
+
+    void execute() {
+        List<Participant> activeParticipants = participants.stream().filter(participant -> participant.size > 0).toList();
+
+        // Copies from and to the user arrays are done by the calling thread, so
+        // arrays allocated in a confined arena can also be co-executed.
+        for (Participant participant : activeParticipants) {
+            participant.prepare();
+        }
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (Participant participant : activeParticipants.subList(1, activeParticipants.size())) {
+            futures.add(CoExecutionPool.EXECUTOR.submit(participant::run));
+        }
+        try {
+            activeParticipants.getFirst().run();
+        } finally {
+            waitForParticipants(futures);
+        }
+
+        for (Participant participant : activeParticipants) {
+            participant.finish();
+        }
+
+        if (isImbalanced(activeParticipants)) {
+            partition();
+        }
+    }
+
+    private void waitForParticipants(List<Future<?>> futures) {
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TornadoRuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new TornadoRuntimeException(e);
+        }
+    }
+
+    private boolean isImbalanced(List<Participant> activeParticipants) {
+        long fastest = Long.MAX_VALUE;
+        long slowest = 0;
+        for (Participant participant : activeParticipants) {
+            if (!participant.lastRunMeasured) {
+                // Wait until all participants run with compiled code
+                return false;
+            }
+            fastest = Math.min(fastest, participant.elapsedTime);
+            slowest = Math.max(slowest, participant.elapsedTime);
+        }
+        return activeParticipants.size() > 1 && slowest > fastest * TornadoOptions.COEXECUTION_REBALANCE_THRESHOLD;
+    }
+
+    /**
+     * Splits the iteration space in contiguous ranges proportional to the
+     * throughput of each participant. Participants without measurements are
+     * assigned the average throughput. Every participant keeps at least one
+     * granule, so that its throughput can still be measured.
+     */
+    private void partition() {
+        final int numParticipants = participants.size();
+        final long granule = Math.max(1, numElements / TornadoOptions.COEXECUTION_GRANULES);
+        final long numGranules = Math.ceilDiv(numElements, granule);
+
+        double measuredThroughput = 0;
+        int numMeasured = 0;
+        for (Participant participant : participants) {
+            if (participant.measured) {
+                measuredThroughput += participant.throughput;
+                numMeasured++;
+            }
+        }
+        double defaultThroughput = numMeasured == 0 ? 1.0 : measuredThroughput / numMeasured;
+
+        double[] weights = new double[numParticipants];
+        double totalWeight = 0;
+        int fastest = 0;
+        for (int i = 0; i < numParticipants; i++) {
+            Participant participant = participants.get(i);
+            weights[i] = participant.measured ? participant.throughput : defaultThroughput;
+            totalWeight += weights[i];
+            if (weights[i] > weights[fastest]) {
+                fastest = i;
+            }
+        }
+
+        long[] granules = new long[numParticipants];
+        long assigned = 0;
+        for (int i = 0; i < numParticipants; i++) {
+            granules[i] = (long) (numGranules * (weights[i] / totalWeight));
+            assigned += granules[i];
+        }
+        granules[fastest] += numGranules - assigned;
+        for (int i = 0; i < numParticipants; i++) {
+            if (granules[i] == 0 && granules[fastest] > 1) {
+                granules[i]++;
+                granules[fastest]--;
+            }
+        }
+
+        long offset = 0;
+        for (int i = 0; i < numParticipants; i++) {
+            Participant participant = participants.get(i);
+            participant.offset = offset;
+            participant.size = Math.min(granules[i] * granule, numElements - offset);
+            offset += participant.size;
+        }
+    }
+
+    private void configureExecutionPlan(TornadoExecutionPlan executionPlan) {
+        if (originalTaskGraph.isProfilerEnabled()) {
+            executionPlan.withProfiler(originalTaskGraph.getProfilerMode());
+        }
+        if (originalTaskGraph.meta().isPrintKernelEnabled()) {
+            executionPlan.withPrintKernel();
+        }
+        if (originalTaskGraph.meta().isThreadInfoEnabled()) {
+            executionPlan.withThreadInfo();
+        }
+    }
+
+    /**
+     * Copies of the partitioned arrays for one range of the iteration space, and
+     * the tasks of the graph rewritten to use them.
+     */
+    private final class PartitionSlices {
+
+        private final long size;
+        private final Map<Object, TornadoNativeArray> slices;
+        private final List<TaskPackage> tasks;
+
+        PartitionSlices(long size) {
+            this.size = size;
+            this.slices = new IdentityHashMap<>();
+            for (TornadoNativeArray array : partitionedArrays) {
+                slices.put(array, allocateSlice(array, size));
+            }
+            this.tasks = new ArrayList<>();
+            for (TaskPackage taskPackage : taskPackages) {
+                Object[] taskParameters = taskPackage.getTaskParameters();
+                Object[] arguments = new Object[taskParameters.length - 1];
+                for (int i = 1; i < taskParameters.length; i++) {
+                    arguments[i - 1] = lookup(taskParameters[i]);
+                }
+                tasks.add(taskPackage.copyWithArguments(taskPackage.getId(), arguments));
+            }
+        }
+
+        Object lookup(Object object) {
+            TornadoNativeArray slice = slices.get(object);
+            return slice != null ? slice : object;
+        }
+
+        void copyIn(long offset) {
+            for (Map.Entry<Object, TornadoNativeArray> entry : slices.entrySet()) {
+                copyElements((TornadoNativeArray) entry.getKey(), offset, entry.getValue(), 0, size);
+            }
+        }
+
+        void copyOut(long offset) {
+            for (TornadoNativeArray outputArray : outputArrays) {
+                copyElements(slices.get(outputArray), 0, outputArray, offset, size);
+            }
+        }
+    }
+
+    private abstract static class Participant {
+
+        long offset;
+        long size;
+
+        // Throughput in elements per nanosecond, smoothed across invocations
+        double throughput;
+        boolean measured;
+        boolean lastRunMeasured;
+        long elapsedTime;
+
+        abstract void prepare();
+
+        /**
+         * @return true if the elapsed time is representative of the throughput
+         *     (e.g., it does not include the JIT compilation).
+         */
+        abstract boolean compute();
+
+        abstract void finish();
+
+        abstract void free();
+
+        void run() {
+            long start = System.nanoTime();
+            lastRunMeasured = compute();
+            long end = System.nanoTime();
+            if (lastRunMeasured) {
+                elapsedTime = Math.max(end - start, 1);
+                double observed = (double) size / elapsedTime;
+                throughput = measured ? THROUGHPUT_SMOOTHING * observed + (1 - THROUGHPUT_SMOOTHING) * throughput : observed;
+                measured = true;
+            }
+        }
+    }
+
+    private record DevicePartition(PartitionSlices slices, TornadoExecutionPlan executionPlan) {
+    }
+
+    private final class DeviceParticipant extends Participant {
+
+        private final TornadoDevice device;
+        // Least recently used partition sizes are evicted and their device
+        // buffers released
+        private final Map<Long, DevicePartition> partitions = new LinkedHashMap<>(MAX_CACHED_PARTITIONS + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, DevicePartition> eldest) {
+                if (size() > MAX_CACHED_PARTITIONS) {
+                    eldest.getValue().executionPlan().freeDeviceMemory();
+                    return true;
+                }
+                return false;
+            }
+        };
+        private DevicePartition current;
+        private boolean firstRun;
+
+        DeviceParticipant(TornadoDevice device) {
+            this.device = device;
+        }
+
+        private DevicePartition createPartition(long partitionSize) {
+            PartitionSlices slices = new PartitionSlices(partitionSize);
+            TaskGraph taskGraph = new TaskGraph(TASK_GRAPH_PREFIX + counterName.getAndIncrement());
+
+            // Slices are updated before every execution. Objects that are not
+            // partitioned keep the transfer mode of the original task-graph.
+            for (StreamingObject streamingObject : inputModeObjects) {
+                Object object = slices.lookup(streamingObject.object);
+                int mode = object != streamingObject.object ? DataTransferMode.EVERY_EXECUTION : streamingObject.mode;
+                TornadoTaskGraph.performStreamInObject(taskGraph, object, mode);
+            }
+            slices.tasks.forEach(taskGraph::addTask);
+            for (TornadoNativeArray outputArray : outputArrays) {
+                TornadoTaskGraph.performStreamOutThreads(DataTransferMode.EVERY_EXECUTION, taskGraph, slices.lookup(outputArray));
+            }
+
+            TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+            executionPlan.withDevice(device);
+            configureExecutionPlan(executionPlan);
+            return new DevicePartition(slices, executionPlan);
+        }
+
+        @Override
+        void prepare() {
+            current = partitions.get(size);
+            firstRun = current == null;
+            if (firstRun) {
+                current = createPartition(size);
+                partitions.put(size, current);
+            }
+            current.slices.copyIn(offset);
+        }
+
+        @Override
+        boolean compute() {
+            current.executionPlan.execute();
+            return !firstRun;
+        }
+
+        @Override
+        void finish() {
+            current.slices.copyOut(offset);
+        }
+
+        @Override
+        void free() {
+            for (DevicePartition partition : partitions.values()) {
+                partition.executionPlan().freeDeviceMemory();
+            }
+            partitions.clear();
+            current = null;
+        }
+    }
+
+    /**
+     * Runs its partition with the Java code of the tasks. The partition is split
+     * again in one chunk per thread of the common fork-join pool.
+     */
+    private final class HostParticipant extends Participant {
+
+        private final Map<Long, List<PartitionSlices>> chunksPerSize = new LinkedHashMap<>(MAX_CACHED_PARTITIONS + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, List<PartitionSlices>> eldest) {
+                return size() > MAX_CACHED_PARTITIONS;
+            }
+        };
+        private List<PartitionSlices> chunks;
+        private boolean warm;
+
+        private List<PartitionSlices> createChunks(long partitionSize) {
+            long numChunks = Math.min(ForkJoinPool.getCommonPoolParallelism(), partitionSize);
+            long chunkSize = Math.ceilDiv(partitionSize, numChunks);
+            List<PartitionSlices> newChunks = new ArrayList<>();
+            for (long chunkOffset = 0; chunkOffset < partitionSize; chunkOffset += chunkSize) {
+                newChunks.add(new PartitionSlices(Math.min(chunkSize, partitionSize - chunkOffset)));
+            }
+            return newChunks;
+        }
+
+        @Override
+        void prepare() {
+            chunks = chunksPerSize.computeIfAbsent(size, this::createChunks);
+            long chunkOffset = offset;
+            for (PartitionSlices chunk : chunks) {
+                chunk.copyIn(chunkOffset);
+                chunkOffset += chunk.size;
+            }
+        }
+
+        @Override
+        boolean compute() {
+            chunks.parallelStream().forEach(chunk -> chunk.tasks.forEach(TornadoTaskGraph::runSequentialCodeInThread));
+            // The first run is dominated by the Java interpreter
+            boolean measurable = warm;
+            warm = true;
+            return measurable;
+        }
+
+        @Override
+        void finish() {
+            long chunkOffset = offset;
+            for (PartitionSlices chunk : chunks) {
+                chunk.copyOut(chunkOffset);
+                chunkOffset += chunk.size;
+            }
+        }
+
+        @Override
+        void free() {
+            chunksPerSize.clear();
+            chunks = null;
+        }
+    }
+
+    /**
+     * Shared executor that runs the device participants of all co-executed task
+     * graphs. Threads are daemon and are reused across executions.
+     */
+    private static final class CoExecutionPool {
+
+        private static final AtomicInteger threadCounter = new AtomicInteger(0);
+
+        private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "tornado-coexecution-" + threadCounter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
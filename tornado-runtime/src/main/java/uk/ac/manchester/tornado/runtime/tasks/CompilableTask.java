@@ -26,12 +26,16 @@ package uk.ac.manchester.tornado.runtime.tasks;
 import java.lang.reflect.Method;
 import java.util.Objects;
 
+import jdk.vm.ci.meta.ResolvedJavaMethod;
 import uk.ac.manchester.tornado.api.GridScheduler;
 import uk.ac.manchester.tornado.api.common.Access;
 import uk.ac.manchester.tornado.api.common.SchedulableTask;
 import uk.ac.manchester.tornado.api.common.TornadoDevice;
 import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
+import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
 import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
+import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
+import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketcher;
 import uk.ac.manchester.tornado.runtime.tasks.meta.ScheduleContext;
 import uk.ac.manchester.tornado.runtime.tasks.meta.TaskDataContext;
 
@@ -113,6 +117,24 @@ public class CompilableTask implements SchedulableTask {
         return method;
     }
 
+    /**
+     * It returns the method to compile for this task.
+     *
+     * @return {@link ResolvedJavaMethod}
+     */
+    public ResolvedJavaMethod getResolvedMethod() {
+        return TornadoCoreRuntime.getTornadoRuntime().resolveMethod(method);
+    }
+
+    /**
+     * It returns the sketch of the method to compile for the device of this task.
+     *
+     * @return {@link Sketch}
+     */
+    public Sketch getSketch() {
+        return TornadoSketcher.lookup(getResolvedMethod(), meta.getBackendIndex(), meta.getDeviceIndex());
+    }
+
     @Override
     public String getId() {
         return meta.getId();
@@ -0,0 +1,303 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.runtime.tasks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import uk.ac.manchester.tornado.api.Policy;
+import uk.ac.manchester.tornado.runtime.common.PropertiesDatabase;
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+
+/**
+ * Performance model used by the dynamic reconfiguration to select a device
+ * without running the task-graph on every device.
+ *
+ * <p>
+ * For each policy, task-graph signature (the methods of its tasks), device and
+ * input size bucket (the power of two below the largest input), the model keeps
+ * the mean of the time measured by the exploration, and the kernel, data
+ * transfer and compilation times reported by the profiler. Times for sizes that
+ * have not been measured are interpolated between the two closest buckets. The
+ * model is stored in a persistent database, so later runs (also in other JVMs)
+ * skip the exploration.
+ * </p>
+ *
+ * <p>
+ * Options:
+ * <ul>
+ * <li><code>-Dtornado.dynamic.model.enable=true</code></li>
+ * <li><code>-Dtornado.dynamic.model.db=FILE</code></li>
+ * </ul>
+ * </p>
+ */
+final class DeviceSelectionModel {
+
+    /**
+     * Value returned by {@link #selectDevice} when the model cannot predict the
+     * time of all devices.
+     */
+    static final int NO_PREDICTION = -1;
+
+    /**
+     * Identity of the sequential execution on the JVM.
+     */
+    static final String JVM_IDENTITY = "JVM";
+
+    /**
+     * Maximum distance, in buckets, between the input size and a measured size to
+     * use it without a second point to interpolate with.
+     */
+    private static final int MAX_BUCKET_DISTANCE = 1;
+
+    /**
+     * Number of samples after which the mean becomes an exponential moving
+     * average, so the model follows changes in the system.
+     */
+    private static final int MAX_SAMPLE_WEIGHT = 8;
+
+    private static final int KEY_HASH_LENGTH = 16;
+    private static final String DATABASE_COMMENT = "TornadoVM dynamic reconfiguration model";
+
+    private static final TornadoLogger logger = new TornadoLogger(DeviceSelectionModel.class);
+    private static final DeviceSelectionModel INSTANCE = new DeviceSelectionModel(Paths.get(TornadoOptions.DYNAMIC_MODEL_DB));
+
+    private final PropertiesDatabase database;
+
+    /**
+     * Measured buckets per policy, task-graph signature and device.
+     */
+    private final ConcurrentHashMap<String, ConcurrentSkipListMap<Integer, Sample>> entries;
+
+    private DeviceSelectionModel(Path file) {
+        this.database = new PropertiesDatabase(file, DATABASE_COMMENT);
+        this.entries = new ConcurrentHashMap<>();
+        load();
+    }
+
+    static boolean isEnabled() {
+        return TornadoOptions.DYNAMIC_MODEL;
+    }
+
+    static DeviceSelectionModel getInstance() {
+        return INSTANCE;
+    }
+
+    private static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, KEY_HASH_LENGTH / 2);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int bucketOf(long size) {
+        return 63 - Long.numberOfLeadingZeros(Math.max(1, size));
+    }
+
+    private static String buildKey(Policy policy, String signature, String deviceIdentity) {
+        return policy.name() + "." + hash(signature) + "." + hash(deviceIdentity);
+    }
+
+    /**
+     * Selects the device with the lowest predicted time.
+     *
+     * @param policy
+     *     Policy of the dynamic reconfiguration.
+     * @param signature
+     *     Signature of the task-graph.
+     * @param deviceIdentities
+     *     Identity of each candidate device, in the order of the device indexes
+     *     used by the dynamic reconfiguration. The last one is the JVM.
+     * @param inputSize
+     *     Size of the largest input of the task-graph.
+     * @return Index of the selected device, or {@link #NO_PREDICTION} if any of
+     *     the devices has not been measured close enough to the input size.
+     */
+    int selectDevice(Policy policy, String signature, String[] deviceIdentities, long inputSize) {
+        int winner = NO_PREDICTION;
+        double bestTime = Double.MAX_VALUE;
+        for (int i = 0; i < deviceIdentities.length; i++) {
+            double predicted = predict(buildKey(policy, signature, deviceIdentities[i]), inputSize);
+            if (Double.isNaN(predicted)) {
+                return NO_PREDICTION;
+            }
+            if (predicted < bestTime) {
+                bestTime = predicted;
+                winner = i;
+            }
+        }
+        return winner;
+    }
+
+    /**
+     * Predicts the time of a task-graph on a device, interpolating in log-log
+     * space between the closest measured buckets.
+     *
+     * @return predicted time in nanoseconds, or NaN if unknown.
+     */
+    private double predict(String key, long inputSize) {
+        ConcurrentSkipListMap<Integer, Sample> buckets = entries.get(key);
+        if (buckets == null) {
+            return Double.NaN;
+        }
+        int bucket = bucketOf(inputSize);
+        Map.Entry<Integer, Sample> lower = buckets.floorEntry(bucket);
+        Map.Entry<Integer, Sample> upper = buckets.ceilingEntry(bucket);
+        if (lower != null && lower.getKey() == bucket) {
+            return lower.getValue().totalTime();
+        }
+        if (lower == null || upper == null) {
+            Map.Entry<Integer, Sample> closest = lower != null ? lower : upper;
+            if (closest == null || Math.abs(closest.getKey() - bucket) > MAX_BUCKET_DISTANCE) {
+                return Double.NaN;
+            }
+            return closest.getValue().totalTime();
+        }
+        Sample low = lower.getValue();
+        Sample high = upper.getValue();
+        double x0 = Math.log(low.size());
+        double x1 = Math.log(high.size());
+        if (x1 <= x0) {
+            return low.totalTime();
+        }
+        double weight = (Math.log(inputSize) - x0) / (x1 - x0);
+        double y0 = Math.log(Math.max(1, low.totalTime()));
+        double y1 = Math.log(Math.max(1, high.totalTime()));
+        return Math.exp(y0 + weight * (y1 - y0));
+    }
+
+    /**
+     * Records the times measured by the exploration of the dynamic
+     * reconfiguration and updates the persistent database.
+     *
+     * @param policy
+     *     Policy of the dynamic reconfiguration.
+     * @param signature
+     *     Signature of the task-graph.
+     * @param deviceIdentities
+     *     Identity of each device.
+     * @param inputSize
+     *     Size of the largest input of the task-graph.
+     * @param measurements
+     *     Measurement of each device. Null entries (e.g., ignored devices) are
+     *     not recorded.
+     */
+    synchronized void record(Policy policy, String signature, String[] deviceIdentities, long inputSize, Measurement[] measurements) {
+        int bucket = bucketOf(inputSize);
+        Map<String, String> updates = new HashMap<>();
+        for (int i = 0; i < deviceIdentities.length; i++) {
+            if (measurements[i] == null) {
+                continue;
+            }
+            String key = buildKey(policy, signature, deviceIdentities[i]);
+            ConcurrentSkipListMap<Integer, Sample> buckets = entries.computeIfAbsent(key, k -> new ConcurrentSkipListMap<>());
+            Sample sample = buckets.getOrDefault(bucket, Sample.EMPTY).update(inputSize, measurements[i]);
+            buckets.put(bucket, sample);
+            updates.put(key + "." + bucket, sample.encode());
+        }
+        try {
+            // Entries stored by other JVMs since the model was loaded are kept
+            database.update(properties -> properties.putAll(updates));
+        } catch (IOException e) {
+            logger.warn("Unable to update the dynamic reconfiguration model %s: %s", database.getFile(), e.getMessage());
+        }
+    }
+
+    private void load() {
+        if (!isEnabled()) {
+            return;
+        }
+        for (var entry : read().entrySet()) {
+            String key = (String) entry.getKey();
+            int separator = key.lastIndexOf('.');
+            try {
+                Sample sample = Sample.decode((String) entry.getValue());
+                entries.computeIfAbsent(key.substring(0, separator), k -> new ConcurrentSkipListMap<>()).put(Integer.parseInt(key.substring(separator + 1)), sample);
+            } catch (RuntimeException e) {
+                logger.warn("Ignoring invalid entry %s in the dynamic reconfiguration model %s", key, database.getFile());
+            }
+        }
+    }
+
+    private Properties read() {
+        try {
+            return database.read();
+        } catch (IOException e) {
+            logger.warn("Unable to read the dynamic reconfiguration model %s: %s", database.getFile(), e.getMessage());
+            return new Properties();
+        }
+    }
+
+    /**
+     * Times of one execution of a task-graph on a device, in nanoseconds. The
+     * kernel, data transfer and compilation times are zero when the profiler does
+     * not report them (e.g., on the JVM).
+     */
+    record Measurement(long totalTime, long kernelTime, long dataTransferTime, long compileTime) {
+    }
+
+    /**
+     * Mean of the measurements of a device for a size bucket.
+     */
+    private record Sample(long samples, double size, double totalTime, double kernelTime, double dataTransferTime, double compileTime) {
+
+        private static final Sample EMPTY = new Sample(0, 0, 0, 0, 0, 0);
+
+        private static double mean(double mean, double value, double weight) {
+            return mean + (value - mean) / weight;
+        }
+
+        private Sample update(long inputSize, Measurement measurement) {
+            double weight = Math.min(samples + 1, MAX_SAMPLE_WEIGHT);
+            return new Sample(samples + 1, //
+                    mean(size, inputSize, weight), //
+                    mean(totalTime, measurement.totalTime(), weight), //
+                    mean(kernelTime, measurement.kernelTime(), weight), //
+                    mean(dataTransferTime, measurement.dataTransferTime(), weight), //
+                    mean(compileTime, measurement.compileTime(), weight));
+        }
+
+        private String encode() {
+            return samples + "," + size + "," + totalTime + "," + kernelTime + "," + dataTransferTime + "," + compileTime;
+        }
+
+        private static Sample decode(String value) {
+            String[] fields = value.split(",");
+            return new Sample(Long.parseLong(fields[0]), Double.parseDouble(fields[1]), Double.parseDouble(fields[2]), Double.parseDouble(fields[3]), Double.parseDouble(fields[4]),
+                    Double.parseDouble(fields[5]));
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.runtime.tasks;
+
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
+import uk.ac.manchester.tornado.runtime.sketcher.FusedJavaMethod;
+import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
+import uk.ac.manchester.tornado.runtime.tasks.meta.ScheduleContext;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskDataContext;
+
+/**
+ * Task that runs a producer task and its consumer as a single kernel. It takes
+ * the place of the producer in the execution context, and it keeps its task
+ * identifier, so the thread-scheduler and the profiler entries of the producer
+ * are used for the fused kernel.
+ */
+public class FusedTask extends CompilableTask {
+
+    private final CompilableTask producer;
+    private final CompilableTask consumer;
+    private final Sketch sketch;
+    private final FusedJavaMethod fusedMethod;
+
+    /**
+     * Creates a fused task.
+     *
+     * @param scheduleMeta
+     *     Context of the task-graph.
+     * @param id
+     *     Identifier of the producer task within the task-graph.
+     * @param producer
+     *     First task of the fused kernel.
+     * @param consumer
+     *     Second task of the fused kernel.
+     * @param sketch
+     *     Sketch of the fused kernel.
+     * @param fusedMethod
+     *     Method of the fused kernel.
+     * @param args
+     *     Arguments of the fused kernel.
+     */
+    public FusedTask(ScheduleContext scheduleMeta, String id, CompilableTask producer, CompilableTask consumer, Sketch sketch, FusedJavaMethod fusedMethod, Object... args) {
+        super(scheduleMeta, id, producer.getMethod(), args);
+        this.producer = producer;
+        this.consumer = consumer;
+        this.sketch = sketch;
+        this.fusedMethod = fusedMethod;
+        this.meta = new TaskDataContext(scheduleMeta, id, args.length);
+        this.meta.setArgumentsAccess(sketch.getArgumentsAccess().clone());
+        setDevice(producer.getDevice());
+    }
+
+    public CompilableTask getProducer() {
+        return producer;
+    }
+
+    public CompilableTask getConsumer() {
+        return consumer;
+    }
+
+    /**
+     * It returns the task that was replaced by this fused task in the execution
+     * context.
+     *
+     * @return {@link CompilableTask}
+     */
+    public CompilableTask getOriginalTask() {
+        return (producer instanceof FusedTask fusedProducer) ? fusedProducer.getOriginalTask() : producer;
+    }
+
+    @Override
+    public ResolvedJavaMethod getResolvedMethod() {
+        return fusedMethod;
+    }
+
+    @Override
+    public Sketch getSketch() {
+        return sketch;
+    }
+
+    @Override
+    public String getTaskName() {
+        return fusedMethod.getName();
+    }
+
+    @Override
+    public String getFullName() {
+        return "task " + meta.getId() + " - " + fusedMethod.getName();
+    }
+
+    @Override
+    public String getNormalizedName() {
+        return meta.getId() + "." + fusedMethod.getName();
+    }
+
+    @Override
+    public void setDevice(TornadoDevice device) {
+        super.setDevice(device);
+        producer.setDevice(device);
+    }
+
+    @Override
+    public void attachProfiler(TornadoProfiler tornadoProfiler) {
+        super.attachProfiler(tornadoProfiler);
+        producer.attachProfiler(tornadoProfiler);
+    }
+
+    @Override
+    public boolean shouldCompile() {
+        return super.shouldCompile() || producer.shouldCompile() || consumer.shouldCompile();
+    }
+
+    @Override
+    public void enableDefaultThreadScheduler(boolean useDefaultScheduler) {
+        super.enableDefaultThreadScheduler(useDefaultScheduler);
+        producer.enableDefaultThreadScheduler(useDefaultScheduler);
+    }
+
+    @Override
+    public void setUseGridScheduler(boolean use) {
+        super.setUseGridScheduler(use);
+        producer.setUseGridScheduler(use);
+    }
+
+    @Override
+    public void setGridScheduler(GridScheduler gridScheduler) {
+        super.setGridScheduler(gridScheduler);
+        producer.setGridScheduler(gridScheduler);
+    }
+}
@@ -98,6 +98,58 @@ class ReduceFactory {
         array.set(0, acc);
     }
 
+    private static void rCompensatedAdd(float[] array, final int size) {
+        // Compensated (Kahan) summation of the partial results
+        float acc = array[0];
+        float compensation = 0.0f;
+        for (int i = 1; i < size; i++) {
+            float y = array[i] - compensation;
+            float t = acc + y;
+            compensation = (t - acc) - y;
+            acc = t;
+        }
+        array[0] = acc;
+    }
+
+    private static void rCompensatedAdd(double[] array, final int size) {
+        // Compensated (Kahan) summation of the partial results
+        double acc = array[0];
+        double compensation = 0.0;
+        for (int i = 1; i < size; i++) {
+            double y = array[i] - compensation;
+            double t = acc + y;
+            compensation = (t - acc) - y;
+            acc = t;
+        }
+        array[0] = acc;
+    }
+
+    private static void rCompensatedAdd(FloatArray array, final int size) {
+        // Compensated (Kahan) summation of the partial results
+        float acc = array.get(0);
+        float compensation = 0.0f;
+        for (int i = 1; i < size; i++) {
+            float y = array.get(i) - compensation;
+            float t = acc + y;
+            compensation = (t - acc) - y;
+            acc = t;
+        }
+        array.set(0, acc);
+    }
+
+    private static void rCompensatedAdd(DoubleArray array, final int size) {
+        // Compensated (Kahan) summation of the partial results
+        double acc = array.get(0);
+        double compensation = 0.0;
+        for (int i = 1; i < size; i++) {
+            double y = array.get(i) - compensation;
+            double t = acc + y;
+            compensation = (t - acc) - y;
+            acc = t;
+        }
+        array.set(0, acc);
+    }
+
     private static void rMul(int[] array, final int size) {
         int acc = array[0];
         for (int i = 1; i < size; i++) {
@@ -290,6 +342,102 @@ class ReduceFactory {
         array.set(0, acc);
     }
 
+    private static void rAnd(int[] array, final int size) {
+        int acc = array[0];
+        for (int i = 1; i < size; i++) {
+            acc &= array[i];
+        }
+        array[0] = acc;
+    }
+
+    private static void rAnd(long[] array, final int size) {
+        long acc = array[0];
+        for (int i = 1; i < size; i++) {
+            acc &= array[i];
+        }
+        array[0] = acc;
+    }
+
+    private static void rAnd(IntArray array, final int size) {
+        int acc = array.get(0);
+        for (int i = 1; i < size; i++) {
+            acc &= array.get(i);
+        }
+        array.set(0, acc);
+    }
+
+    private static void rAnd(LongArray array, final int size) {
+        long acc = array.get(0);
+        for (int i = 1; i < size; i++) {
+            acc &= array.get(i);
+        }
+        array.set(0, acc);
+    }
+
+    private static void rOr(int[] array, final int size) {
+        int acc = array[0];
+        for (int i = 1; i < size; i++) {
+            acc |= array[i];
+        }
+        array[0] = acc;
+    }
+
+    private static void rOr(long[] array, final int size) {
+        long acc = array[0];
+        for (int i = 1; i < size; i++) {
+            acc |= array[i];
+        }
+        array[0] = acc;
+    }
+
+    private static void rOr(IntArray array, final int size) {
+        int acc = array.get(0);
+        for (int i = 1; i < size; i++) {
+            acc |= array.get(i);
+        }
+        array.set(0, acc);
+    }
+
+    private static void rOr(LongArray array, final int size) {
+        long acc = array.get(0);
+        for (int i = 1; i < size; i++) {
+            acc |= array.get(i);
+        }
+        array.set(0, acc);
+    }
+
+    private static void rXor(int[] array, final int size) {
+        int acc = array[0];
+        for (int i = 1; i < size; i++) {
+            acc ^= array[i];
+        }
+        array[0] = acc;
+    }
+
+    private static void rXor(long[] array, final int size) {
+        long acc = array[0];
+        for (int i = 1; i < size; i++) {
+            acc ^= array[i];
+        }
+        array[0] = acc;
+    }
+
+    private static void rXor(IntArray array, final int size) {
+        int acc = array.get(0);
+        for (int i = 1; i < size; i++) {
+            acc ^= array.get(i);
+        }
+        array.set(0, acc);
+    }
+
+    private static void rXor(LongArray array, final int size) {
+        long acc = array.get(0);
+        for (int i = 1; i < size; i++) {
+            acc ^= array.get(i);
+        }
+        array.set(0, acc);
+    }
+
     static void handleAdd(Object newArray, TaskGraph task, int sizeReduceArray, String taskName) {
         switch (newArray.getClass().getTypeName()) {
             case "int[]":
@@ -321,6 +469,25 @@ class ReduceFactory {
         }
     }
 
+    static void handleCompensatedAdd(Object newArray, TaskGraph task, int sizeReduceArray, String taskName) {
+        switch (newArray.getClass().getTypeName()) {
+            case "float[]":
+                task.task(taskName, ReduceFactory::rCompensatedAdd, (float[]) newArray, sizeReduceArray);
+                break;
+            case "double[]":
+                task.task(taskName, ReduceFactory::rCompensatedAdd, (double[]) newArray, sizeReduceArray);
+                break;
+            case "uk.ac.manchester.tornado.api.types.arrays.FloatArray":
+                task.task(taskName, ReduceFactory::rCompensatedAdd, (FloatArray) newArray, sizeReduceArray);
+                break;
+            case "uk.ac.manchester.tornado.api.types.arrays.DoubleArray":
+                task.task(taskName, ReduceFactory::rCompensatedAdd, (DoubleArray) newArray, sizeReduceArray);
+                break;
+            default:
+                throw new TornadoRuntimeException(ERROR_MESSAGE + newArray.getClass().getTypeName());
+        }
+    }
+
     static void handleMul(Object newArray, TaskGraph task, int sizeReduceArray, String taskName) {
         switch (newArray.getClass().getTypeName()) {
             case "int[]":
@@ -413,4 +580,61 @@ class ReduceFactory {
                 throw new TornadoRuntimeException(ERROR_MESSAGE + newArray.getClass().getTypeName());
         }
     }
+
+    static void handleAnd(Object newArray, TaskGraph task, int sizeReduceArray, String taskName) {
+        switch (newArray.getClass().getTypeName()) {
+            case "int[]":
+                task.task(taskName, ReduceFactory::rAnd, (int[]) newArray, sizeReduceArray);
+                break;
+            case "long[]":
+                task.task(taskName, ReduceFactory::rAnd, (long[]) newArray, sizeReduceArray);
+                break;
+            case "uk.ac.manchester.tornado.api.types.arrays.IntArray":
+                task.task(taskName, ReduceFactory::rAnd, (IntArray) newArray, sizeReduceArray);
+                break;
+            case "uk.ac.manchester.tornado.api.types.arrays.LongArray":
+                task.task(taskName, ReduceFactory::rAnd, (LongArray) newArray, sizeReduceArray);
+                break;
+            default:
+                throw new TornadoRuntimeException(ERROR_MESSAGE + newArray.getClass().getTypeName());
+        }
+    }
+
+    static void handleOr(Object newArray, TaskGraph task, int sizeReduceArray, String taskName) {
+        switch (newArray.getClass().getTypeName()) {
+            case "int[]":
+                task.task(taskName, ReduceFactory::rOr, (int[]) newArray, sizeReduceArray);
+                break;
+            case "long[]":
+                task.task(taskName, ReduceFactory::rOr, (long[]) newArray, sizeReduceArray);
+                break;
+            case "uk.ac.manchester.tornado.api.types.arrays.IntArray":
+                task.task(taskName, ReduceFactory::rOr, (IntArray) newArray, sizeReduceArray);
+                break;
+            case "uk.ac.manchester.tornado.api.types.arrays.LongArray":
+                task.task(taskName, ReduceFactory::rOr, (LongArray) newArray, sizeReduceArray);
+                break;
+            default:
+                throw new TornadoRuntimeException(ERROR_MESSAGE + newArray.getClass().getTypeName());
+        }
+    }
+
+    static void handleXor(Object newArray, TaskGraph task, int sizeReduceArray, String taskName) {
+        switch (newArray.getClass().getTypeName()) {
+            case "int[]":
+                task.task(taskName, ReduceFactory::rXor, (int[]) newArray, sizeReduceArray);
+                break;
+            case "long[]":
+                task.task(taskName, ReduceFactory::rXor, (long[]) newArray, sizeReduceArray);
+                break;
+            case "uk.ac.manchester.tornado.api.types.arrays.IntArray":
+                task.task(taskName, ReduceFactory::rXor, (IntArray) newArray, sizeReduceArray);
+                break;
+            case "uk.ac.manchester.tornado.api.types.arrays.LongArray":
+                task.task(taskName, ReduceFactory::rXor, (LongArray) newArray, sizeReduceArray);
+                break;
+            default:
+                throw new TornadoRuntimeException(ERROR_MESSAGE + newArray.getClass().getTypeName());
+        }
+    }
 }
@@ -63,6 +63,7 @@ import uk.ac.manchester.tornado.runtime.analyzer.MetaReduceCodeAnalysis;
 import uk.ac.manchester.tornado.runtime.analyzer.MetaReduceTasks;
 import uk.ac.manchester.tornado.runtime.analyzer.ReduceCodeAnalysis;
 import uk.ac.manchester.tornado.runtime.analyzer.ReduceCodeAnalysis.REDUCE_OPERATION;
+import uk.ac.manchester.tornado.runtime.analyzer.ReduceOperator;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.tasks.meta.MetaDataUtils;
 import uk.ac.manchester.tornado.runtime.tasks.meta.MetaDataUtils.BackendSelectionContainer;
@@ -71,7 +72,6 @@ import uk.ac.manchester.tornado.runtime.tasks.meta.TaskDataContext;
 class ReduceTaskGraph {
 
     private static final String EXCEPTION_MESSAGE_ERROR = "[ERROR] reduce type not supported yet: ";
-    private static final String OPERATION_NOT_SUPPORTED_MESSAGE = "Operation not supported";
     private static final String SEQUENTIAL_TASK_REDUCE_NAME = "reduce_seq";
 
     private static final String TASK_GRAPH_PREFIX = "XXX__GENERATED_REDUCE";
@@ -92,12 +92,12 @@ class ReduceTaskGraph {
     private Map<Object, Object> hostHybridVariables;
     private List<Thread> threadSequentialExecution;
     private List<HybridThreadMeta> hybridThreadMetas;
-    private Map<Object, Object> neutralElementsNew = new HashMap<>();
+    private Map<Object, NeutralElement> neutralElementsNew = new HashMap<>();
     private Map<Object, Object> neutralElementsOriginal = new HashMap<>();
     private TaskGraph rewrittenTaskGraph;
     private Map<Object, List<Integer>> reduceOperandTable;
     private boolean hybridMode;
-    private Map<Object, REDUCE_OPERATION> hybridMergeTable;
+    private Map<Object, ReduceOperator> hybridMergeTable;
     private boolean hybridInitialized;
     private TornadoExecutionPlan executionPlan;
 
@@ -267,6 +267,62 @@ class ReduceTaskGraph {
         };
     }
 
+    /**
+     * Obtains the identity element of the reduce operator for the element type
+     * of the given array. If the operator could not be determined, the initial
+     * value of the reduce variable is used instead.
+     */
+    private Object getIdentityElement(ReduceOperator operator, Object originalArray) {
+        if (operator == null) {
+            return getNeutralElement(originalArray);
+        }
+        return switch (originalArray) {
+            case int[] ints -> operator.identityInt();
+            case float[] floats -> operator.identityFloat();
+            case double[] doubles -> operator.identityDouble();
+            case long[] longs -> operator.identityLong();
+            case IntArray intArray -> operator.identityInt();
+            case FloatArray floatArray -> operator.identityFloat();
+            case DoubleArray doubleArray -> operator.identityDouble();
+            case LongArray longArray -> operator.identityLong();
+            case null, default -> throw new TornadoRuntimeException(EXCEPTION_MESSAGE_ERROR + originalArray.getClass());
+        };
+    }
+
+    private void setFirstElement(Object reduceArray, Object value) {
+        switch (reduceArray) {
+            case int[] ints -> ints[0] = (int) value;
+            case float[] floats -> floats[0] = (float) value;
+            case double[] doubles -> doubles[0] = (double) value;
+            case long[] longs -> longs[0] = (long) value;
+            case IntArray intArray -> intArray.set(0, (int) value);
+            case FloatArray floatArray -> floatArray.set(0, (float) value);
+            case DoubleArray doubleArray -> doubleArray.set(0, (double) value);
+            case LongArray longArray -> longArray.set(0, (long) value);
+            case null, default -> throw new TornadoRuntimeException(EXCEPTION_MESSAGE_ERROR + reduceArray.getClass());
+        }
+    }
+
+    /**
+     * Initializes the array that holds the partial results of a reduction. Every
+     * partial result starts from the identity element of the operator, while the
+     * first position keeps the initial value of the reduce variable. In this way,
+     * the initial value is only accounted once in the final reduction.
+     */
+    private void initPartialResults(Object reduceArray, NeutralElement neutralElement) {
+        fillOutputArrayWithNeutral(reduceArray, neutralElement.identity());
+        setFirstElement(reduceArray, neutralElement.initialValue());
+    }
+
+    private ReduceOperator findReduceOperator(MetaReduceTasks metaReduceTasks, int paramIndex) {
+        List<Integer> reduceParameter = List.of(paramIndex);
+        List<REDUCE_OPERATION> operations = ReduceCodeAnalysis.getReduceOperation(metaReduceTasks.getGraph(), reduceParameter);
+        if (operations.isEmpty()) {
+            operations = ReduceCodeAnalysis.getReduceOperatorFromSketch(sketchGraph, reduceParameter);
+        }
+        return operations.isEmpty() ? null : operations.getFirst();
+    }
+
     private Object getNeutralElement(Object originalArray) {
         return switch (originalArray) {
             case int[] ints -> ints[0];
@@ -376,14 +432,13 @@ class ReduceTaskGraph {
         }
     }
 
-    private Object createHostArrayForHybridMode(Object originalReduceArray, TaskPackage taskPackage, int sizeTargetDevice) {
+    private Object createHostArrayForHybridMode(Object originalReduceArray, TaskPackage taskPackage, int sizeTargetDevice, NeutralElement neutralElement) {
         hybridMode = true;
         if (hostHybridVariables == null) {
             hostHybridVariables = new HashMap<>();
         }
         Object hybridArray = createNewReduceArray(originalReduceArray);
-        Object neutralElement = getNeutralElement(originalReduceArray);
-        fillOutputArrayWithNeutral(hybridArray, neutralElement);
+        fillOutputArrayWithNeutral(hybridArray, neutralElement.identity());
         taskPackage.setNumThreadsToRun(sizeTargetDevice);
         return hybridArray;
     }
@@ -458,6 +513,10 @@ class ReduceTaskGraph {
 
                     inputSize = metaReduceTasks.getInputSize(taskNumber);
 
+                    ReduceOperator operator = findReduceOperator(metaReduceTasks, paramIndex);
+                    Object initialValue = getNeutralElement(originalReduceArray);
+                    NeutralElement neutralElement = new NeutralElement(getIdentityElement(operator, originalReduceArray), initialValue);
+
                     updateGlobalAndLocalDimensionsFPGA(deviceToRun, taskScheduleReduceName, taskPackage, inputSize);
 
                     // Analyse Input Size - if not power of 2 -> split host and device executions
@@ -470,18 +529,17 @@ class ReduceTaskGraph {
                         inputSize -= elementsReductionLeftOver;
                         final int sizeTargetDevice = inputSize;
                         if (isTaskEligibleSplitHostAndDevice(deviceToRun, elementsReductionLeftOver)) {
-                            hostHybridModeArray = createHostArrayForHybridMode(originalReduceArray, taskPackage, sizeTargetDevice);
+                            hostHybridModeArray = createHostArrayForHybridMode(originalReduceArray, taskPackage, sizeTargetDevice, neutralElement);
                         }
                     }
 
                     // Set the new array size
                     int sizeReductionArray = obtainSizeArrayResult(backendToRun, deviceToRun, inputSize);
                     Object newDeviceArray = createNewReduceArray(originalReduceArray, sizeReductionArray);
-                    Object neutralElement = getNeutralElement(originalReduceArray);
-                    fillOutputArrayWithNeutral(newDeviceArray, neutralElement);
+                    initPartialResults(newDeviceArray, neutralElement);
 
                     neutralElementsNew.put(newDeviceArray, neutralElement);
-                    neutralElementsOriginal.put(originalReduceArray, neutralElement);
+                    neutralElementsOriginal.put(originalReduceArray, initialValue);
 
                     // Store metadata
                     streamReduceList.add(newDeviceArray);
@@ -576,9 +634,13 @@ class ReduceTaskGraph {
 
                         switch (operation) {
                             case SUM -> ReduceFactory.handleAdd(newArray, rewrittenTaskGraph, sizeReduceArray, newTaskSequentialName);
+                            case COMPENSATED_SUM -> ReduceFactory.handleCompensatedAdd(newArray, rewrittenTaskGraph, sizeReduceArray, newTaskSequentialName);
                             case MUL -> ReduceFactory.handleMul(newArray, rewrittenTaskGraph, sizeReduceArray, newTaskSequentialName);
                             case MAX -> ReduceFactory.handleMax(newArray, rewrittenTaskGraph, sizeReduceArray, newTaskSequentialName);
                             case MIN -> ReduceFactory.handleMin(newArray, rewrittenTaskGraph, sizeReduceArray, newTaskSequentialName);
+                            case AND -> ReduceFactory.handleAnd(newArray, rewrittenTaskGraph, sizeReduceArray, newTaskSequentialName);
+                            case OR -> ReduceFactory.handleOr(newArray, rewrittenTaskGraph, sizeReduceArray, newTaskSequentialName);
+                            case XOR -> ReduceFactory.handleXor(newArray, rewrittenTaskGraph, sizeReduceArray, newTaskSequentialName);
                             default -> throw new TornadoRuntimeException("[ERROR] Reduce operation not supported yet.");
                         }
 
@@ -669,15 +731,15 @@ class ReduceTaskGraph {
     }
 
     private void setNeutralElement() {
-        for (Entry<Object, Object> pair : neutralElementsNew.entrySet()) {
+        for (Entry<Object, NeutralElement> pair : neutralElementsNew.entrySet()) {
             Object newArray = pair.getKey();
-            Object neutralElement = pair.getValue();
-            fillOutputArrayWithNeutral(newArray, neutralElement);
+            NeutralElement neutralElement = pair.getValue();
+            initPartialResults(newArray, neutralElement);
 
             // Hybrid Execution
             if (hostHybridVariables != null && hostHybridVariables.containsKey(newArray)) {
                 Object arrayCPU = hostHybridVariables.get(newArray);
-                fillOutputArrayWithNeutral(arrayCPU, neutralElement);
+                fillOutputArrayWithNeutral(arrayCPU, neutralElement.identity());
             }
 
         }
@@ -689,46 +751,6 @@ class ReduceTaskGraph {
         }
     }
 
-    private int operateFinalReduction(int a, int b, REDUCE_OPERATION operation) {
-        return switch (operation) {
-            case SUM -> a + b;
-            case MUL -> a * b;
-            case MAX -> Math.max(a, b);
-            case MIN -> Math.min(a, b);
-            default -> throw new TornadoRuntimeException(OPERATION_NOT_SUPPORTED_MESSAGE);
-        };
-    }
-
-    private float operateFinalReduction(float a, float b, REDUCE_OPERATION operation) {
-        return switch (operation) {
-            case SUM -> a + b;
-            case MUL -> a * b;
-            case MAX -> Math.max(a, b);
-            case MIN -> Math.min(a, b);
-            default -> throw new TornadoRuntimeException(OPERATION_NOT_SUPPORTED_MESSAGE);
-        };
-    }
-
-    private double operateFinalReduction(double a, double b, REDUCE_OPERATION operation) {
-        return switch (operation) {
-            case SUM -> a + b;
-            case MUL -> a * b;
-            case MAX -> Math.max(a, b);
-            case MIN -> Math.min(a, b);
-            default -> throw new TornadoRuntimeException(OPERATION_NOT_SUPPORTED_MESSAGE);
-        };
-    }
-
-    private long operateFinalReduction(long a, long b, REDUCE_OPERATION operation) {
-        return switch (operation) {
-            case SUM -> a + b;
-            case MUL -> a * b;
-            case MAX -> Math.max(a, b);
-            case MIN -> Math.min(a, b);
-            default -> throw new TornadoRuntimeException(OPERATION_NOT_SUPPORTED_MESSAGE);
-        };
-    }
-
     private void updateVariableFromAccelerator(Object originalReduceVariable, Object newArray) {
         switch (newArray) {
             case int[] intArray -> ((int[]) originalReduceVariable)[0] = intArray[0];
@@ -748,42 +770,42 @@ class ReduceTaskGraph {
             case int[] intArray -> {
                 int a = ((int[]) hostHybridVariables.get(intArray))[0];
                 int b = intArray[0];
-                ((int[]) originalReduceVariable)[0] = operateFinalReduction(a, b, hybridMergeTable.get(intArray));
+                ((int[]) originalReduceVariable)[0] = hybridMergeTable.get(intArray).combine(a, b);
             }
             case float[] floatArray -> {
                 float af = ((float[]) hostHybridVariables.get(floatArray))[0];
                 float bf = floatArray[0];
-                ((float[]) originalReduceVariable)[0] = operateFinalReduction(af, bf, hybridMergeTable.get(floatArray));
+                ((float[]) originalReduceVariable)[0] = hybridMergeTable.get(floatArray).combine(af, bf);
             }
             case double[] doubleArray -> {
                 double ad = ((double[]) hostHybridVariables.get(doubleArray))[0];
                 double bd = doubleArray[0];
-                ((double[]) originalReduceVariable)[0] = operateFinalReduction(ad, bd, hybridMergeTable.get(doubleArray));
+                ((double[]) originalReduceVariable)[0] = hybridMergeTable.get(doubleArray).combine(ad, bd);
             }
             case long[] longArray -> {
                 long al = ((long[]) hostHybridVariables.get(longArray))[0];
                 long bl = longArray[0];
-                ((long[]) originalReduceVariable)[0] = operateFinalReduction(al, bl, hybridMergeTable.get(longArray));
+                ((long[]) originalReduceVariable)[0] = hybridMergeTable.get(longArray).combine(al, bl);
             }
             case IntArray panamaIntArray -> {
                 int ani = ((IntArray) hostHybridVariables.get(panamaIntArray)).get(0);
                 int bni = panamaIntArray.get(0);
-                ((IntArray) originalReduceVariable).set(0, operateFinalReduction(ani, bni, hybridMergeTable.get(panamaIntArray)));
+                ((IntArray) originalReduceVariable).set(0, hybridMergeTable.get(panamaIntArray).combine(ani, bni));
             }
             case FloatArray panamaFloatArray -> {
                 float anf = ((FloatArray) hostHybridVariables.get(panamaFloatArray)).get(0);
                 float bnf = panamaFloatArray.get(0);
-                ((FloatArray) originalReduceVariable).set(0, operateFinalReduction(anf, bnf, hybridMergeTable.get(panamaFloatArray)));
+                ((FloatArray) originalReduceVariable).set(0, hybridMergeTable.get(panamaFloatArray).combine(anf, bnf));
             }
             case DoubleArray panamaDoubleArray -> {
                 double and = ((DoubleArray) hostHybridVariables.get(panamaDoubleArray)).get(0);
                 double bnd = panamaDoubleArray.get(0);
-                ((DoubleArray) originalReduceVariable).set(0, operateFinalReduction(and, bnd, hybridMergeTable.get(panamaDoubleArray)));
+                ((DoubleArray) originalReduceVariable).set(0, hybridMergeTable.get(panamaDoubleArray).combine(and, bnd));
             }
             case LongArray panamaLongArray -> {
                 long anl = ((LongArray) hostHybridVariables.get(panamaLongArray)).get(0);
                 long bnl = panamaLongArray.get(0);
-                ((LongArray) originalReduceVariable).set(0, operateFinalReduction(anl, bnl, hybridMergeTable.get(panamaLongArray)));
+                ((LongArray) originalReduceVariable).set(0, hybridMergeTable.get(panamaLongArray).combine(anl, bnl));
             }
             default -> throw new TornadoRuntimeException("[ERROR] Reduce data type not supported yet: " + newArray.getClass().getTypeName());
         }
@@ -850,6 +872,13 @@ class ReduceTaskGraph {
         }
     }
 
+    /**
+     * Values used to initialize the partial results of a reduction: the identity
+     * element of the reduce operator and the initial value of the reduce variable.
+     */
+    private record NeutralElement(Object identity, Object initialValue) {
+    }
+
     private static class SequentialExecutionThread extends Thread {
 
         final ReduceCompilationThread compilationThread;
@@ -45,8 +45,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
@@ -63,6 +65,8 @@ import uk.ac.manchester.tornado.api.Policy;
 import uk.ac.manchester.tornado.api.TaskGraph;
 import uk.ac.manchester.tornado.api.TornadoBackend;
 import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.TornadoExecutionResult;
+import uk.ac.manchester.tornado.api.TornadoProfilerResult;
 import uk.ac.manchester.tornado.api.TornadoRuntime;
 import uk.ac.manchester.tornado.api.TornadoTaskGraphInterface;
 import uk.ac.manchester.tornado.api.common.Access;
@@ -95,6 +99,7 @@ import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoDynamicReconfigurationException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoTaskRuntimeException;
+import uk.ac.manchester.tornado.api.metrics.TornadoMetrics;
 import uk.ac.manchester.tornado.api.profiler.ProfilerType;
 import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
 import uk.ac.manchester.tornado.api.runtime.ExecutorFrame;
@@ -104,6 +109,7 @@ import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
 import uk.ac.manchester.tornado.api.types.arrays.IntArray;
 import uk.ac.manchester.tornado.api.types.arrays.LongArray;
 import uk.ac.manchester.tornado.api.types.arrays.ShortArray;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
 import uk.ac.manchester.tornado.runtime.TornadoVM;
 import uk.ac.manchester.tornado.runtime.analyzer.MetaReduceCodeAnalysis;
@@ -120,12 +126,14 @@ import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoSuitesProvider;
 import uk.ac.manchester.tornado.runtime.graph.TornadoExecutionContext;
 import uk.ac.manchester.tornado.runtime.graph.TornadoGraph;
 import uk.ac.manchester.tornado.runtime.graph.TornadoGraphBuilder;
+import uk.ac.manchester.tornado.runtime.graph.TornadoKernelFusion;
 import uk.ac.manchester.tornado.runtime.graph.TornadoVMBytecodeBuilder;
 import uk.ac.manchester.tornado.runtime.profiler.EmptyProfiler;
 import uk.ac.manchester.tornado.runtime.profiler.TimeProfiler;
 import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
 import uk.ac.manchester.tornado.runtime.sketcher.SketchRequest;
 import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketcher;
+import uk.ac.manchester.tornado.runtime.tasks.DeviceSelectionModel.Measurement;
 import uk.ac.manchester.tornado.runtime.tasks.meta.ScheduleContext;
 import uk.ac.manchester.tornado.runtime.tasks.meta.TaskDataContext;
 
@@ -142,7 +150,6 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     private static final int PERFORMANCE_WARMUP_DYNAMIC_RECONF_PARALLEL = 3;
     private static final boolean TIME_IN_NANOSECONDS = TornadoOptions.TIME_IN_NANOSECONDS;
     private static final String TASK_GRAPH_PREFIX = "XXX";
-    private static final ConcurrentHashMap<Policy, ConcurrentHashMap<String, HistoryTable>> executionHistoryPolicy = new ConcurrentHashMap<>();
 
     private static final boolean USE_GLOBAL_TASK_CACHE = false;
 
@@ -156,7 +163,6 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     private static final int MAX_ITERATIONS_DYNAMIC_RECONF_SEQUENTIAL = 100;
 
     private static ConcurrentHashMap<Integer, TaskGraph> globalTaskGraphIndex = new ConcurrentHashMap<>();
-    private static int baseGlobalIndex = 0;
     private static AtomicInteger offsetGlobalIndex = new AtomicInteger(0);
     MetaReduceCodeAnalysis analysisTaskGraph;
     private TornadoExecutionContext executionContext;
@@ -168,6 +174,9 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
     private TornadoVM vm;  // One TornadoVM instance per TornadoExecutionPlan
 
+    // Set while an asynchronous execution dispatches its commands
+    private boolean nonBlockingDispatch;
+
     // HashMap to keep an instance of the TornadoVM per Device
     private Map<TornadoXPUDevice, TornadoVM> vmTable;
     private Event event;
@@ -195,6 +204,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
      */
     private boolean reduceExpressionRewritten = false;
     private ReduceTaskGraph reduceTaskGraph;
+    private CoExecutionTaskGraph coExecutionTaskGraph;
     private boolean reduceAnalysis = false;
     private TornadoProfiler timeProfiler;
     private boolean updateData;
@@ -815,11 +825,12 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
      *     boolean that specifies if set a new device or not.
      */
     private TornadoVM compileGraphAndBuildVM(boolean setNewDevice) {
-        final ByteBuffer buffer = ByteBuffer.wrap(highLevelCode);
-        buffer.order(ByteOrder.LITTLE_ENDIAN);
-        buffer.limit(hlBuffer.position());
+        if (TornadoOptions.FUSE_KERNELS) {
+            // The graph is built from the original tasks, and fused again below
+            TornadoKernelFusion.restoreTasks(executionContext);
+        }
 
-        final TornadoGraph tornadoGraph = TornadoGraphBuilder.buildGraph(executionContext, buffer);
+        final TornadoGraph tornadoGraph = buildTornadoGraph();
 
         if (setNewDevice) {
             // setNewDevice does not need to propagate any further as executionContext is
@@ -827,6 +838,10 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
             updateDeviceContext();
         }
 
+        if (TornadoOptions.FUSE_KERNELS) {
+            TornadoKernelFusion.fuseTasks(executionContext, tornadoGraph);
+        }
+
         // TornadoVM byte-code generation
         TornadoVM tornadoVM = new TornadoVM(executionContext, tornadoGraph, timeProfiler);
 
@@ -1000,6 +1015,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         }
 
         try {
+            vm.executeActionOnInterpreters(interpreter -> interpreter.setNonBlockingCopyOut(nonBlockingDispatch));
             event = vm.execute(isConcurrentDevicesEnabled, timeProfiler);
             timeProfiler.stop(ProfilerType.TOTAL_TASK_GRAPH_TIME);
             updateProfiler();
@@ -1263,9 +1279,14 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     }
 
     private void free() {
+        if (coExecutionTaskGraph != null) {
+            coExecutionTaskGraph.free();
+            coExecutionTaskGraph = null;
+        }
         if (vm == null) {
             return;
         }
+        vm.freeBatchSlotBuffers();
         for (StreamingObject inputStreamObject : inputModesObjects) {
             if (streamOutObjects.contains(inputStreamObject.object)) {
                 // READ-WRITE
@@ -1354,15 +1375,21 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         Event eventParameter = null;
         if (batchSizeBytes != TornadoExecutionContext.INIT_VALUE) {
             BatchConfiguration batchConfiguration = BatchConfiguration.computeChunkSizes(executionContext, batchSizeBytes);
-            long hostOffset = 0;
-            for (int i = 0; i < batchConfiguration.getTotalChunks(); i++) {
-                hostOffset = (batchSizeBytes * i);
-                eventParameter = syncObjectInnerLazy(object, hostOffset, batchSizeBytes);
-            }
-            // Last chunk
-            if (batchConfiguration.getRemainingChunkSize() != 0) {
-                hostOffset += batchSizeBytes;
-                eventParameter = syncObjectInnerLazy(object, hostOffset, batchConfiguration.getRemainingChunkSize());
+            final int objectIndex = executionContext.getObjects().indexOf(object);
+            if (batchConfiguration.isBroadcast(objectIndex)) {
+                eventParameter = syncObjectInner(object);
+            } else {
+                final long objectBatchSize = batchConfiguration.getObjectBytes(objectIndex, batchSizeBytes);
+                long hostOffset = 0;
+                for (int i = 0; i < batchConfiguration.getTotalChunks(); i++) {
+                    hostOffset = (objectBatchSize * i);
+                    eventParameter = syncObjectInnerLazy(object, hostOffset, objectBatchSize);
+                }
+                // Last chunk
+                if (batchConfiguration.getRemainingChunkSize() != 0) {
+                    hostOffset += objectBatchSize;
+                    eventParameter = syncObjectInnerLazy(object, hostOffset, batchConfiguration.getObjectBytes(objectIndex, batchConfiguration.getRemainingChunkSize()));
+                }
             }
         } else {
             eventParameter = syncObjectInner(object);
@@ -1484,6 +1511,24 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         return executionContext.meta();
     }
 
+    public TornadoExecutionContext getExecutionContext() {
+        return executionContext;
+    }
+
+    /**
+     * Builds the {@link TornadoGraph} of the tasks and data transfers recorded so
+     * far, as done before the first execution of the task-graph. The task-graph is
+     * not modified.
+     *
+     * @return The {@link TornadoGraph} of the task-graph.
+     */
+    public TornadoGraph buildTornadoGraph() {
+        final ByteBuffer buffer = ByteBuffer.wrap(highLevelCode);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.limit(hlBuffer.position());
+        return TornadoGraphBuilder.buildGraph(executionContext, buffer);
+    }
+
     private void runReduceTaskGraph() {
         this.reduceTaskGraph.executeExpression();
     }
@@ -1655,17 +1700,70 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         };
     }
 
+    private TornadoTaskGraphInterface executeWithCoExecution(ExecutorFrame executorFrame) {
+        if (coExecutionTaskGraph == null || !coExecutionTaskGraph.hasParticipants(executorFrame.getCoExecutionDevices(), executorFrame.isCoExecutionOnHostJVM())) {
+            if (coExecutionTaskGraph != null) {
+                coExecutionTaskGraph.free();
+            }
+            coExecutionTaskGraph = new CoExecutionTaskGraph(taskPackages, inputModesObjects, outputModeObjects, executorFrame.getCoExecutionDevices(), executorFrame.isCoExecutionOnHostJVM(), this);
+        }
+        coExecutionTaskGraph.execute();
+        return this;
+    }
+
     @Override
     public TornadoTaskGraphInterface execute(ExecutorFrame executorFrame) {
         executionPlanId = executorFrame.getExecutionPlanId();
         checkProfilerOn(executorFrame);
-        if (executorFrame.getDynamicReconfigurationPolicy() == null) {
+        if (executorFrame.isCoExecutionEnabled()) {
+            return executeWithCoExecution(executorFrame);
+        } else if (executorFrame.getDynamicReconfigurationPolicy() == null) {
             return execute();
         } else {
             return executeWithDynamicReconfiguration(executorFrame);
         }
     }
 
+    @Override
+    public CompletableFuture<Void> executeAsync(ExecutorFrame executorFrame, Executor executor) {
+        executionPlanId = executorFrame.getExecutionPlanId();
+        checkProfilerOn(executorFrame);
+        if (!isNonBlockingDispatchSupported(executorFrame)) {
+            execute(executorFrame).waitOn();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        nonBlockingDispatch = true;
+        try {
+            execute();
+        } finally {
+            nonBlockingDispatch = false;
+        }
+
+        List<CompletableFuture<Void>> completions = new ArrayList<>();
+        for (TornadoXPUDevice tornadoXPUDevice : executionContext.getDevices()) {
+            if (tornadoXPUDevice != null) {
+                completions.add(tornadoXPUDevice.whenCompleted(executionPlanId, executor));
+            }
+        }
+        return CompletableFuture.allOf(completions.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * The profiler, the metrics, batches, reductions and the co-execution and
+     * dynamic reconfiguration modes read the results of the devices while
+     * dispatching, so they keep the blocking execution.
+     */
+    private boolean isNonBlockingDispatchSupported(ExecutorFrame executorFrame) {
+        return !executorFrame.isCoExecutionEnabled() //
+                && executorFrame.getDynamicReconfigurationPolicy() == null //
+                && !isProfilerEnabled() //
+                && !TornadoMetrics.isEnabled() //
+                && batchSizeBytes == TornadoExecutionContext.INIT_VALUE //
+                && !TornadoOptions.EXPERIMENTAL_REDUCE //
+                && !bailout;
+    }
+
     private boolean isTaskNamePresent(String taskName) {
         for (TaskPackage taskPackage : taskPackages) {
             if (taskName.equals(taskGraphName + "." + taskPackage.getId())) {
@@ -1686,7 +1784,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     }
 
     @SuppressWarnings("unchecked")
-    private void runSequentialCodeInThread(TaskPackage taskPackage) {
+    static void runSequentialCodeInThread(TaskPackage taskPackage) {
         int type = taskPackage.getTaskType();
         switch (type) {
             case 0:
@@ -1863,7 +1961,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         });
     }
 
-    private void runParallelTaskGraphs(int numDevices, Thread[] threads, Timer timer, Policy policy, long[] totalTimers) {
+    private void runParallelTaskGraphs(int numDevices, Thread[] threads, Timer timer, Policy policy, long[] totalTimers, Measurement[] measurements) {
         for (int i = 0; i < numDevices; i++) {
             final int taskScheduleNumber = i;
             threads[i] = new Thread(() -> {
@@ -1890,17 +1988,18 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
                 }
 
                 ImmutableTaskGraph immutableTaskGraph = task.snapshot();
-                TornadoExecutionPlan executor = new TornadoExecutionPlan(immutableTaskGraph);
+                TornadoExecutionPlan executor = createExplorationPlan(immutableTaskGraph);
 
+                long warmupCompileTime = 0;
                 if (policy == Policy.PERFORMANCE) {
                     // first warm up
                     for (int k = 0; k < PERFORMANCE_WARMUP_DYNAMIC_RECONF_PARALLEL; k++) {
-                        executor.execute();
+                        warmupCompileTime += executor.execute().getProfilerResult().getCompileTime();
                     }
                 }
 
                 long start = timer.time();
-                executor.execute();
+                TornadoExecutionResult executionResult = executor.execute();
                 final long end = timer.time();
                 taskGraphIndex.put(taskScheduleNumber, task);
 
@@ -1912,6 +2011,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
                 }
 
                 totalTimers[taskScheduleNumber] = (end - start);
+                measurements[taskScheduleNumber] = createMeasurement(end - start, executionResult, warmupCompileTime);
             });
         }
 
@@ -1928,12 +2028,13 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         final int numThreads = numDevices + 1;
         Thread[] threads = new Thread[numThreads];
         long[] totalTimers = new long[numThreads];
+        Measurement[] measurements = new Measurement[numThreads];
 
         // Last Thread runs the sequential code
         runThreadSequentialVersion(policy, threads, numDevices, timer, totalTimers);
 
         // Run all task schedules in parallel
-        runParallelTaskGraphs(numDevices, threads, timer, policy, totalTimers);
+        runParallelTaskGraphs(numDevices, threads, timer, policy, totalTimers, measurements);
 
         // FORK
         for (int i = 0; i < numThreads; i++) {
@@ -1960,6 +2061,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         if ((policy == Policy.PERFORMANCE || policy == Policy.END_2_END) && (masterThreadID == Thread.currentThread().getId())) {
             int deviceWinnerIndex = synchronizeWithPolicy(policy, totalTimers);
             policyTimeTable.put(policy, deviceWinnerIndex);
+            updateDeviceSelectionModel(policy, totalTimers, measurements);
             if (DEBUG) {
                 System.out.println(getListDevices());
                 System.out.println("BEST Position: #" + deviceWinnerIndex + " " + Arrays.toString(totalTimers));
@@ -2012,7 +2114,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     }
 
     private TornadoTaskGraphInterface scheduleDynamicReconfigurationParallel(Policy policy) {
-        if (policyTimeTable.get(policy) == null) {
+        if (policyTimeTable.get(policy) == null && !selectDeviceFromModel(policy)) {
             runScheduleWithParallelProfiler(policy);
         } else {
             // Run with the winner device
@@ -2079,7 +2181,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         totalTimers[indexSequential] = (endSequentialCode - startSequential);
     }
 
-    private void runAllTaskGraphsInAcceleratorsSequentially(int numDevices, Timer timer, Policy policy, long[] totalTimers) {
+    private void runAllTaskGraphsInAcceleratorsSequentially(int numDevices, Timer timer, Policy policy, long[] totalTimers, Measurement[] measurements) {
         String[] ignoreTaskNames = System.getProperties().getProperty("tornado.ignore.tasks", "").split(",");
 
         // Running sequentially for all the devices
@@ -2119,16 +2221,17 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
             }
 
             ImmutableTaskGraph immutableTaskGraph = task.snapshot();
-            TornadoExecutionPlan executor = new TornadoExecutionPlan(immutableTaskGraph);
+            TornadoExecutionPlan executor = createExplorationPlan(immutableTaskGraph);
 
+            long warmupCompileTime = 0;
             if (policy == Policy.PERFORMANCE) {
                 for (int k = 0; k < PERFORMANCE_WARMUP_DYNAMIC_RECONF_PARALLEL; k++) {
-                    executor.execute();
+                    warmupCompileTime += executor.execute().getProfilerResult().getCompileTime();
                 }
             }
 
             final long start = timer.time();
-            executor.execute();
+            TornadoExecutionResult executionResult = executor.execute();
             final long end = timer.time();
             taskGraphIndex.put(taskNumber, task);
 
@@ -2141,43 +2244,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
             }
 
             totalTimers[taskNumber] = end - start;
-        }
-    }
-
-    private void updateHistoryTables(Policy policy, int deviceWinnerIndex) {
-        // Matching the name
-        for (TaskPackage taskPackage : taskPackages) {
-            Object code = taskPackage.getTaskParameters()[0];
-            Method m = TaskUtils.resolveMethodHandle(code);
-            ConcurrentHashMap<String, HistoryTable> tableSizes = null;
-
-            int dev = baseGlobalIndex + deviceWinnerIndex;
-
-            if (!executionHistoryPolicy.containsKey(policy)) {
-                tableSizes = new ConcurrentHashMap<>();
-                HistoryTable table = new HistoryTable();
-                int size = getMaxInputSize();
-                table.getTree().put(size, dev);
-
-                tableSizes.put(m.toGenericString(), table);
-
-            } else {
-                tableSizes = executionHistoryPolicy.get(policy);
-                if (!tableSizes.containsKey(m.toGenericString())) {
-                    HistoryTable table = new HistoryTable();
-                    int size = getMaxInputSize();
-                    table.getTree().put(size, dev);
-                    tableSizes.put(m.toGenericString(), table);
-                } else {
-                    // update the size
-                    HistoryTable table = tableSizes.get(m.toGenericString());
-                    int size = getMaxInputSize();
-                    table.getTree().put(size, dev);
-                    tableSizes.put(m.toGenericString(), table);
-                }
-            }
-            executionHistoryPolicy.put(policy, tableSizes);
-            baseGlobalIndex = offsetGlobalIndex.get();
+            measurements[taskNumber] = createMeasurement(end - start, executionResult, warmupCompileTime);
         }
     }
 
@@ -2205,18 +2272,19 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         int numDevices = TornadoCoreRuntime.getTornadoRuntime().getBackend(DEFAULT_DRIVER_INDEX).getNumDevices();
         final int totalTornadoDevices = numDevices + 1;
         long[] totalTimers = new long[totalTornadoDevices];
+        Measurement[] measurements = new Measurement[totalTornadoDevices];
 
         // Run Sequential
         runSequentialTaskGraph(policy, timer, totalTimers, numDevices);
 
         // Run Task Schedules on the accelerator
-        runAllTaskGraphsInAcceleratorsSequentially(numDevices, timer, policy, totalTimers);
+        runAllTaskGraphsInAcceleratorsSequentially(numDevices, timer, policy, totalTimers, measurements);
 
         if (policy == Policy.PERFORMANCE || policy == Policy.END_2_END) {
             int deviceWinnerIndex = synchronizeWithPolicy(policy, totalTimers);
             policyTimeTable.put(policy, deviceWinnerIndex);
 
-            updateHistoryTables(policy, deviceWinnerIndex);
+            updateDeviceSelectionModel(policy, totalTimers, measurements);
 
             if (DEBUG) {
                 System.out.println(getListDevices());
@@ -2250,25 +2318,101 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     }
 
     /**
-     * It obtains the maximum input size for an input task.
+     * It obtains the maximum input size of the tasks of the task-graph.
      *
-     * @return max size of all input arrays.
+     * @return max size of all input arrays, including off-heap arrays and tensors.
      */
-    private int getMaxInputSize() {
-        Object[] parameters = taskPackages.getFirst().getTaskParameters();
-        int size = 0;
-        for (int i = 1; i < parameters.length; i++) {
-            Object o = parameters[i];
-            if (o.getClass().isArray()) {
-                int currentSize = Array.getLength(o);
-                size = Math.max(currentSize, size);
-            } else {
-                size = Math.max(1, size);
+    private long getMaxInputSize() {
+        long size = 0;
+        for (TaskPackage taskPackage : taskPackages) {
+            Object[] parameters = taskPackage.getTaskParameters();
+            for (int i = 1; i < parameters.length; i++) {
+                Object o = parameters[i];
+                if (o instanceof TornadoNativeArray nativeArray) {
+                    size = Math.max(nativeArray.getSizeAsLong(), size);
+                } else if (o.getClass().isArray()) {
+                    size = Math.max(Array.getLength(o), size);
+                } else {
+                    size = Math.max(1, size);
+                }
             }
         }
         return size;
     }
 
+    private String getTaskGraphSignature() {
+        StringBuilder signature = new StringBuilder();
+        for (TaskPackage taskPackage : taskPackages) {
+            Method method = TaskUtils.resolveMethodHandle(taskPackage.getTaskParameters()[0]);
+            signature.append(method.toGenericString()).append(';');
+        }
+        return signature.toString();
+    }
+
+    private String[] getDeviceIdentities() {
+        TornadoBackend backend = TornadoCoreRuntime.getTornadoRuntime().getBackend(DEFAULT_DRIVER_INDEX);
+        int numDevices = backend.getNumDevices();
+        // The last index is the sequential execution, as in the exploration
+        String[] deviceIdentities = new String[numDevices + 1];
+        for (int i = 0; i < numDevices; i++) {
+            TornadoDevice device = backend.getDevice(i);
+            deviceIdentities[i] = device.getTornadoVMBackend() + ":" + device.getPlatformName() + ":" + device.getDeviceName();
+        }
+        deviceIdentities[numDevices] = DeviceSelectionModel.JVM_IDENTITY;
+        return deviceIdentities;
+    }
+
+    private TornadoExecutionPlan createExplorationPlan(ImmutableTaskGraph immutableTaskGraph) {
+        TornadoExecutionPlan executor = new TornadoExecutionPlan(immutableTaskGraph);
+        if (DeviceSelectionModel.isEnabled()) {
+            // The model also keeps the kernel, data transfer and compilation times
+            executor.withProfiler(ProfilerMode.SILENT);
+        }
+        return executor;
+    }
+
+    private static Measurement createMeasurement(long elapsedTime, TornadoExecutionResult executionResult, long warmupCompileTime) {
+        long totalTime = TIME_IN_NANOSECONDS ? elapsedTime : TimeUnit.MILLISECONDS.toNanos(elapsedTime);
+        if (executionResult == null) {
+            return new Measurement(totalTime, 0, 0, 0);
+        }
+        TornadoProfilerResult profilerResult = executionResult.getProfilerResult();
+        return new Measurement(totalTime, profilerResult.getDeviceKernelTime(), profilerResult.getDataTransfersTime(), warmupCompileTime + profilerResult.getCompileTime());
+    }
+
+    /**
+     * Selects the device for a policy from the performance model of the dynamic
+     * reconfiguration, if enabled.
+     *
+     * @return true if the model selected a device, false if the devices must be
+     *     explored.
+     */
+    private boolean selectDeviceFromModel(Policy policy) {
+        if (!DeviceSelectionModel.isEnabled() || policy == Policy.LATENCY) {
+            return false;
+        }
+        int deviceIndex = DeviceSelectionModel.getInstance().selectDevice(policy, getTaskGraphSignature(), getDeviceIdentities(), getMaxInputSize());
+        if (deviceIndex == DeviceSelectionModel.NO_PREDICTION) {
+            return false;
+        }
+        policyTimeTable.put(policy, deviceIndex);
+        if (DEBUG) {
+            System.out.println(getListDevices());
+            System.out.println("MODEL Position: #" + deviceIndex);
+        }
+        return true;
+    }
+
+    private void updateDeviceSelectionModel(Policy policy, long[] totalTimers, Measurement[] measurements) {
+        if (!DeviceSelectionModel.isEnabled()) {
+            return;
+        }
+        // The last position is the sequential execution, which has no profiler information
+        int indexSequential = measurements.length - 1;
+        measurements[indexSequential] = createMeasurement(totalTimers[indexSequential], null, 0);
+        DeviceSelectionModel.getInstance().record(policy, getTaskGraphSignature(), getDeviceIdentities(), getMaxInputSize(), measurements);
+    }
+
     private TornadoTaskGraphInterface scheduleDynamicReconfigurationSequential(Policy policy) {
 
         if (policy == Policy.LATENCY) {
@@ -2280,7 +2424,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
         int numDevices = TornadoRuntimeProvider.getTornadoRuntime().getBackend(DEFAULT_DRIVER_INDEX).getNumDevices();
 
-        if (policyTimeTable.get(policy) == null) {
+        if (policyTimeTable.get(policy) == null && !selectDeviceFromModel(policy)) {
             runWithSequentialProfiler(policy);
 
             if (EXPERIMENTAL_MULTI_HOST_HEAP) {
@@ -2490,9 +2634,10 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     }
 
     @Override
-    public void withBatch(String batchSize) {
+    public void withBatch(String batchSize, Object... broadcastObjects) {
         this.batchSizeBytes = parseSizeToBytes(batchSize);
         executionContext.setBatchSize(this.batchSizeBytes);
+        executionContext.setBatchBroadcastObjects(List.of(broadcastObjects));
     }
 
     @Override
@@ -2669,36 +2814,4 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
             this.updateDevice = updateDevice;
         }
     }
-
-    /**
-     * Class that keeps the history of executions based on their data sizes. It has a sorted map (TreeMap) that keeps the relationship between the input size and the actual Tornado device in which the
-     * task was executed based on the profiler for the dynamic reconfiguration.
-     */
-    private static class HistoryTable {
-        /**
-         * TreeMap between input size -> device index.
-         */
-        private TreeMap<Integer, Integer> table = new TreeMap<>();
-
-        private int getClosestKey(int goal) {
-            Set<Integer> keySet = table.keySet();
-            return keySet.stream().reduce((prev, current) -> Math.abs(current - goal) < Math.abs(prev - goal) ? current : prev).get();
-        }
-
-        private TreeMap<Integer, Integer> getTree() {
-            return table;
-        }
-
-        private int getNumKeys() {
-            return table.keySet().size();
-        }
-
-        private int getDeviceNumber(int key) {
-            return table.get(key);
-        }
-
-        private boolean isKeyInTable(int key) {
-            return table.containsKey(key);
-        }
-    }
 }
@@ -1,6 +1,7 @@
 open module tornado.unittests {
     requires transitive junit;
     requires transitive tornado.api;
+    requires tornado.drivers.common;
     requires lucene.core;
     requires java.desktop;
     requires jdk.incubator.vector;
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.api;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.tensors.Shape;
+import uk.ac.manchester.tornado.api.types.tensors.TensorFP32;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * How to run?
+ *
+ * <p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.api.TestBuildFromFiles
+ * </code>
+ * </p>
+ */
+public class TestBuildFromFiles extends TornadoTestBase {
+
+    private static final int SIZE = 1024;
+
+    /**
+     * Bytes that precede the data in the test files. It leaves room for the array header.
+     */
+    private static final long FILE_HEADER = 64;
+
+    private static Path createFloatFile(long headerBytes, int numberOfElements) throws IOException {
+        Path path = Files.createTempFile("tornado-floats", ".bin");
+        path.toFile().deleteOnExit();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE); Arena arena = Arena.ofConfined()) {
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, headerBytes + numberOfElements * Float.BYTES, arena);
+            for (int i = 0; i < numberOfElements; i++) {
+                segment.set(ValueLayout.JAVA_FLOAT_UNALIGNED, headerBytes + (long) i * Float.BYTES, i);
+            }
+        }
+        return path;
+    }
+
+    public static void addOne(FloatArray input, FloatArray output) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            output.set(i, input.get(i) + 1.0f);
+        }
+    }
+
+    @Test
+    public void testFloatArrayFromFile() throws IOException, TornadoExecutionPlanException {
+        Path path = createFloatFile(FILE_HEADER, SIZE);
+        FloatArray input = FloatArray.fromFile(path, FILE_HEADER, SIZE);
+        FloatArray output = new FloatArray(SIZE);
+
+        assertEquals(SIZE, input.getSize());
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, input) //
+                .task("t0", TestBuildFromFiles::addOne, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.execute();
+        }
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i + 1.0f, output.get(i), 0.0f);
+        }
+    }
+
+    @Test
+    public void testFileIsNotModified() throws IOException {
+        Path path = createFloatFile(FILE_HEADER, SIZE);
+        FloatArray array = FloatArray.fromFile(path, FILE_HEADER, SIZE);
+        array.init(-1.0f);
+
+        FloatArray reloaded = FloatArray.fromFile(path, FILE_HEADER, SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i, reloaded.get(i), 0.0f);
+        }
+    }
+
+    @Test
+    public void testFloatArrayFromWholeFile() throws IOException {
+        Path path = createFloatFile(0, SIZE);
+        FloatArray array = FloatArray.fromFile(path);
+
+        assertEquals(SIZE, array.getSize());
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i, array.get(i), 0.0f);
+        }
+    }
+
+    @Test
+    public void testIntArrayFromFileUnaligned() throws IOException {
+        // The offset is not a multiple of the element size, so the data is copied
+        Path path = Files.createTempFile("tornado-ints", ".bin");
+        path.toFile().deleteOnExit();
+        byte[] bytes = new byte[1 + SIZE * Integer.BYTES];
+        MemorySegment data = MemorySegment.ofArray(bytes);
+        for (int i = 0; i < SIZE; i++) {
+            data.set(ValueLayout.JAVA_INT_UNALIGNED, 1 + (long) i * Integer.BYTES, i);
+        }
+        Files.write(path, bytes);
+
+        IntArray array = IntArray.fromFile(path, 1, SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i, array.get(i));
+        }
+    }
+
+    @Test
+    public void testTensorFromFile() throws IOException {
+        Path path = createFloatFile(FILE_HEADER, SIZE);
+        Shape shape = new Shape(32, 32);
+        TensorFP32 tensor = TensorFP32.fromFile(shape, path, FILE_HEADER);
+
+        assertEquals(SIZE, tensor.getSize());
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i, tensor.get(i), 0.0f);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromFileOutOfBounds() throws IOException {
+        Path path = createFloatFile(FILE_HEADER, SIZE);
+        FloatArray.fromFile(path, FILE_HEADER, SIZE + 1);
+    }
+
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.api;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.ByteArray;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.tensors.Shape;
+import uk.ac.manchester.tornado.api.types.tensors.TensorFP32;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * How to run?
+ *
+ * <p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.api.TestLongIndexedArrays
+ * </code>
+ * </p>
+ */
+public class TestLongIndexedArrays extends TornadoTestBase {
+
+    private static final int SIZE = 1024;
+
+    public static void scaleWithLongIndex(FloatArray input, FloatArray output) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            long index = i;
+            output.set(index, input.get(index) * 2.0f);
+        }
+    }
+
+    public static void transposeWithLongIndex(FloatArray input, FloatArray output, int rows, int columns) {
+        for (@Parallel int i = 0; i < rows; i++) {
+            for (@Parallel int j = 0; j < columns; j++) {
+                // 64-bit index arithmetic
+                output.set((long) j * rows + i, input.get((long) i * columns + j));
+            }
+        }
+    }
+
+    public static void copyWithLongIndex(IntArray input, IntArray output) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            output.set((long) i, input.get((long) i) + 1);
+        }
+    }
+
+    @Test
+    public void testLongAccessors() {
+        FloatArray floatArray = new FloatArray((long) SIZE);
+        IntArray intArray = new IntArray((long) SIZE);
+        ByteArray byteArray = new ByteArray((long) SIZE);
+        for (long i = 0; i < SIZE; i++) {
+            floatArray.set(i, i);
+            intArray.set(i, (int) i);
+            byteArray.set(i, (byte) i);
+        }
+
+        assertEquals(SIZE, floatArray.getSizeAsLong());
+        assertEquals(SIZE, intArray.getSizeAsLong());
+        assertEquals(SIZE, byteArray.getSizeAsLong());
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i, floatArray.get(i), 0.0f);
+            assertEquals(i, intArray.get(i));
+            assertEquals((byte) i, byteArray.get(i));
+        }
+    }
+
+    @Test
+    public void testShapeSizeAsLong() {
+        Shape shape = new Shape(65536, 65536, 2);
+        assertEquals(1L << 33, shape.getSizeAsLong());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testShapeSizeOverflow() {
+        Shape shape = new Shape(65536, 65536, 2);
+        // The size does not fit in an int, so it must not be truncated
+        shape.getSize();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFloatArrayAboveIntRangeIsRejected() {
+        // Kernels iterate with int induction variables, so the size is checked at construction
+        new FloatArray(1L << 31);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIntArrayAboveIntRangeIsRejected() {
+        new IntArray(1L << 31);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testByteArrayAboveIntRangeIsRejected() {
+        new ByteArray(1L << 31);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTensorAboveIntRangeIsRejected() {
+        new TensorFP32(new Shape(65536, 65536, 2));
+    }
+
+    @Test
+    public void testTensorLongAccessors() {
+        TensorFP32 tensor = new TensorFP32(new Shape(32, 32));
+        tensor.init(1.0f);
+        tensor.set(SIZE - 1L, 2.0f);
+
+        assertEquals(SIZE, tensor.getSizeAsLong());
+        assertEquals(1.0f, tensor.get(0L), 0.0f);
+        assertEquals(2.0f, tensor.get(SIZE - 1L), 0.0f);
+    }
+
+    @Test
+    public void testFloatLongIndexInKernel() throws TornadoExecutionPlanException {
+        FloatArray input = new FloatArray(SIZE);
+        FloatArray output = new FloatArray(SIZE);
+        FloatArray sequential = new FloatArray(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            input.set(i, i);
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestLongIndexedArrays::scaleWithLongIndex, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.execute();
+        }
+
+        scaleWithLongIndex(input, sequential);
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(sequential.get(i), output.get(i), 0.0f);
+        }
+    }
+
+    @Test
+    public void testIntLongIndexInKernel() throws TornadoExecutionPlanException {
+        IntArray input = new IntArray(SIZE);
+        IntArray output = new IntArray(SIZE);
+        input.init(41);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestLongIndexedArrays::copyWithLongIndex, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.execute();
+        }
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(42, output.get(i));
+        }
+    }
+
+    @Test
+    public void testLongIndexArithmeticInKernel() throws TornadoExecutionPlanException {
+        final int rows = 64;
+        final int columns = SIZE / rows;
+        FloatArray input = new FloatArray(SIZE);
+        FloatArray output = new FloatArray(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            input.set(i, i);
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestLongIndexedArrays::transposeWithLongIndex, input, output, rows, columns) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.execute();
+        }
+
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                assertEquals(input.get(i * columns + j), output.get(j * rows + i), 0.0f);
+            }
+        }
+    }
+
+}
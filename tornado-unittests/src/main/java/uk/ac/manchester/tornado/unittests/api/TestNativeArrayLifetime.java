@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.lang.foreign.Arena;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.NativeSegmentPool;
+import uk.ac.manchester.tornado.api.types.tensors.Shape;
+import uk.ac.manchester.tornado.api.types.tensors.TensorFP32;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * How to run?
+ *
+ * <p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.api.TestNativeArrayLifetime
+ * </code>
+ * </p>
+ */
+public class TestNativeArrayLifetime extends TornadoTestBase {
+
+    private static final int SIZE = 1024;
+
+    public static void vectorAdd(FloatArray a, FloatArray b, FloatArray c) {
+        for (@Parallel int i = 0; i < c.getSize(); i++) {
+            c.set(i, a.get(i) + b.get(i));
+        }
+    }
+
+    private static void runVectorAdd(FloatArray a, FloatArray b, FloatArray c) throws TornadoExecutionPlanException {
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestNativeArrayLifetime::vectorAdd, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.execute();
+        }
+    }
+
+    @Test
+    public void testSharedArena() throws TornadoExecutionPlanException {
+        try (Arena arena = Arena.ofShared()) {
+            FloatArray a = new FloatArray(SIZE, arena);
+            FloatArray b = new FloatArray(SIZE, arena);
+            FloatArray c = new FloatArray(SIZE, arena);
+            a.init(1.0f);
+            b.init(2.0f);
+
+            runVectorAdd(a, b, c);
+
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(3.0f, c.get(i), 0.0f);
+            }
+        }
+    }
+
+    @Test
+    public void testConfinedArenaReleasesMemory() {
+        IntArray array;
+        try (Arena arena = Arena.ofConfined()) {
+            array = new IntArray(SIZE, arena);
+            array.init(7);
+            assertEquals(7, array.get(SIZE - 1));
+        }
+        final IntArray released = array;
+        assertThrows(IllegalStateException.class, () -> released.get(0));
+    }
+
+    @Test
+    public void testPoolReusesSegments() throws TornadoExecutionPlanException {
+        try (NativeSegmentPool pool = new NativeSegmentPool()) {
+            long address;
+            try (FloatArray a = new FloatArray(SIZE, pool); FloatArray b = new FloatArray(SIZE, pool); FloatArray c = new FloatArray(SIZE, pool)) {
+                a.init(1.0f);
+                b.init(2.0f);
+                runVectorAdd(a, b, c);
+                assertEquals(3.0f, c.get(0), 0.0f);
+                address = a.getSegmentWithHeader().address();
+                assertEquals(3, pool.getNumberOfUsedSegments());
+            }
+            assertEquals(0, pool.getNumberOfUsedSegments());
+            assertEquals(3, pool.getNumberOfFreeSegments());
+
+            try (FloatArray reused = new FloatArray(SIZE, pool)) {
+                // The resources are closed in reverse order, so the segment of "a" is the last one returned to the pool
+                assertEquals(address, reused.getSegmentWithHeader().address());
+                assertEquals(SIZE, reused.getSize());
+                for (int i = 0; i < SIZE; i++) {
+                    assertEquals(0.0f, reused.get(i), 0.0f);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPoolCapacity() {
+        try (NativeSegmentPool pool = new NativeSegmentPool(1)) {
+            FloatArray a = new FloatArray(SIZE, pool);
+            FloatArray b = new FloatArray(SIZE, pool);
+            IntArray c = new IntArray(SIZE * 2, pool);
+            a.close();
+            b.close();
+            c.close();
+            // One free segment for each size
+            assertEquals(2, pool.getNumberOfFreeSegments());
+            assertThrows(IllegalStateException.class, () -> b.get(0));
+        }
+    }
+
+    @Test
+    public void testTensorWithPool() {
+        try (NativeSegmentPool pool = new NativeSegmentPool()) {
+            try (TensorFP32 tensor = new TensorFP32(new Shape(32, 32), pool)) {
+                tensor.init(1.0f);
+                assertEquals(1.0f, tensor.get(SIZE - 1), 0.0f);
+                assertEquals(1, pool.getNumberOfUsedSegments());
+            }
+            assertEquals(0, pool.getNumberOfUsedSegments());
+            assertEquals(1, pool.getNumberOfFreeSegments());
+        }
+    }
+
+}
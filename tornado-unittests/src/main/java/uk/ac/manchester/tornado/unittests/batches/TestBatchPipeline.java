@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.unittests.batches;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Testing batches with a pipeline of device buffers that rotate per object
+ * ({@code tornado.batch.pipeline.depth} greater than 1). Each batch copies in two
+ * arrays, and copies out two arrays, so the buffers of a slot can only be reused
+ * when all the copies out of its previous round have completed.
+ * <p>
+ * How to test?
+ * </p>
+ * <code>
+ * tornado-test -V --jvm="-Dtornado.batch.pipeline.depth=2" uk.ac.manchester.tornado.unittests.batches.TestBatchPipeline
+ * tornado-test -V --jvm="-Dtornado.batch.pipeline.depth=3 -Dtornado.ooo-execution.enable=True -Dtornado.vm.deps=True" uk.ac.manchester.tornado.unittests.batches.TestBatchPipeline
+ * </code>
+ */
+public class TestBatchPipeline extends TornadoTestBase {
+
+    // 16 MB per array, processed in 16 batches of 1 MB
+    private static final int NUM_ELEMENTS = 4 * 1024 * 1024;
+
+    @Override
+    public void before() {
+        super.before();
+        System.setProperty("tornado.reuse.device.buffers", "False");
+    }
+
+    public static void addAndSubtract(FloatArray a, FloatArray b, FloatArray sum, FloatArray difference) {
+        for (@Parallel int i = 0; i < a.getSize(); i++) {
+            sum.set(i, a.get(i) + b.get(i));
+            difference.set(i, a.get(i) - b.get(i));
+        }
+    }
+
+    public static void scale(FloatArray sum, FloatArray difference) {
+        for (@Parallel int i = 0; i < sum.getSize(); i++) {
+            sum.set(i, sum.get(i) * 2);
+            difference.set(i, difference.get(i) * 3);
+        }
+    }
+
+    private static void initInputs(FloatArray a, FloatArray b, int seed) {
+        for (int i = 0; i < a.getSize(); i++) {
+            a.set(i, (i + seed) % 1024);
+            b.set(i, (i * 7 + seed) % 512);
+        }
+    }
+
+    @Test
+    public void testTwoOutputsPerBatch() throws TornadoExecutionPlanException {
+        FloatArray a = new FloatArray(NUM_ELEMENTS);
+        FloatArray b = new FloatArray(NUM_ELEMENTS);
+        FloatArray sum = new FloatArray(NUM_ELEMENTS);
+        FloatArray difference = new FloatArray(NUM_ELEMENTS);
+        initInputs(a, b, 0);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestBatchPipeline::addAndSubtract, a, b, sum, difference) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, sum, difference);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withBatch("1MB").execute();
+        }
+
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            assertEquals(a.get(i) + b.get(i), sum.get(i), 0.01f);
+            assertEquals(a.get(i) - b.get(i), difference.get(i), 0.01f);
+        }
+    }
+
+    @Test
+    public void testTwoTasksPerBatch() throws TornadoExecutionPlanException {
+        FloatArray a = new FloatArray(NUM_ELEMENTS);
+        FloatArray b = new FloatArray(NUM_ELEMENTS);
+        FloatArray sum = new FloatArray(NUM_ELEMENTS);
+        FloatArray difference = new FloatArray(NUM_ELEMENTS);
+        initInputs(a, b, 0);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestBatchPipeline::addAndSubtract, a, b, sum, difference) //
+                .task("t1", TestBatchPipeline::scale, sum, difference) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, sum, difference);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withBatch("1MB").execute();
+        }
+
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            assertEquals((a.get(i) + b.get(i)) * 2, sum.get(i), 0.01f);
+            assertEquals((a.get(i) - b.get(i)) * 3, difference.get(i), 0.01f);
+        }
+    }
+
+    /**
+     * The events of the slots are only valid within an execution. Each execution
+     * uses new inputs, so stale results of a previous execution are detected.
+     */
+    @Test
+    public void testMultipleExecutions() throws TornadoExecutionPlanException {
+        FloatArray a = new FloatArray(NUM_ELEMENTS);
+        FloatArray b = new FloatArray(NUM_ELEMENTS);
+        FloatArray sum = new FloatArray(NUM_ELEMENTS);
+        FloatArray difference = new FloatArray(NUM_ELEMENTS);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestBatchPipeline::addAndSubtract, a, b, sum, difference) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, sum, difference);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withBatch("1MB");
+            for (int seed = 0; seed < 3; seed++) {
+                initInputs(a, b, seed);
+                executionPlan.execute();
+                for (int i = 0; i < NUM_ELEMENTS; i++) {
+                    assertEquals(a.get(i) + b.get(i), sum.get(i), 0.01f);
+                    assertEquals(a.get(i) - b.get(i), difference.get(i), 0.01f);
+                }
+            }
+        }
+    }
+
+    /**
+     * The number of batches (5) is not a multiple of the pipeline depth.
+     */
+    @Test
+    public void testLastRoundNotFull() throws TornadoExecutionPlanException {
+        final int numElements = 5 * 256 * 1024;
+        FloatArray a = new FloatArray(numElements);
+        FloatArray b = new FloatArray(numElements);
+        FloatArray sum = new FloatArray(numElements);
+        FloatArray difference = new FloatArray(numElements);
+        initInputs(a, b, 0);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestBatchPipeline::addAndSubtract, a, b, sum, difference) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, sum, difference);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withBatch("1MB").execute();
+        }
+
+        for (int i = 0; i < numElements; i++) {
+            assertEquals(a.get(i) + b.get(i), sum.get(i), 0.01f);
+            assertEquals(a.get(i) - b.get(i), difference.get(i), 0.01f);
+        }
+    }
+}
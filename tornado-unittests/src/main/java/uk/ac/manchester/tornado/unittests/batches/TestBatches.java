@@ -34,6 +34,7 @@ import uk.ac.manchester.tornado.api.annotations.Parallel;
 import uk.ac.manchester.tornado.api.enums.DataTransferMode;
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.ByteArray;
 import uk.ac.manchester.tornado.api.types.arrays.DoubleArray;
 import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
 import uk.ac.manchester.tornado.api.types.arrays.IntArray;
@@ -169,6 +170,12 @@ public class TestBatches extends TornadoTestBase {
         }
     }
 
+    public static void computeWithLookupTable(FloatArray input, ByteArray mask, IntArray lookupTable, FloatArray output) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            output.set(i, input.get(i) * lookupTable.get(mask.get(i)));
+        }
+    }
+
     @Test
     public void test100MBSmall() throws TornadoExecutionPlanException {
 
@@ -935,6 +942,40 @@ public class TestBatches extends TornadoTestBase {
         }
     }
 
+    @Test
+    public void testMixedTypesWithBroadcast() throws TornadoExecutionPlanException {
+        checkMaxHeapAllocationOnDevice(16, MemoryUnit.MB);
+
+        // Chunked: FloatArray (4 bytes per element) and ByteArray (1 byte per element)
+        FloatArray input = new FloatArray(1024 * 1024);
+        ByteArray mask = new ByteArray(1024 * 1024);
+        FloatArray output = new FloatArray(1024 * 1024);
+        // Broadcast: small lookup table transferred whole to all batches
+        IntArray lookupTable = new IntArray(4);
+
+        for (int i = 0; i < input.getSize(); i++) {
+            input.set(i, i);
+            mask.set(i, (byte) (i % 4));
+        }
+        for (int i = 0; i < lookupTable.getSize(); i++) {
+            lookupTable.set(i, i + 1);
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, input, mask, lookupTable) //
+                .task("t0", TestBatches::computeWithLookupTable, input, mask, lookupTable, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+            executionPlan.withBatch("1MB", lookupTable) // 4 batches of 256K elements
+                    .execute();
+        }
+
+        for (int i = 0; i < output.getSize(); i++) {
+            assertEquals(input.get(i) * lookupTable.get(mask.get(i)), output.get(i), 0.01f);
+        }
+    }
+
     private long checkMaxHeapAllocationOnDevice(int size, MemoryUnit memoryUnit) throws UnsupportedConfigurationException {
         long maxAllocMemory = getTornadoRuntime().getDefaultDevice().getDeviceContext().getMemoryManager().getHeapSize();
 
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.dynamic;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.DRMode;
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.Policy;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests for the performance model of the dynamic reconfiguration.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V --jvm="-Dtornado.dynamic.model.enable=True" uk.ac.manchester.tornado.unittests.dynamic.TestDynamicModel
+ * </code>
+ */
+public class TestDynamicModel extends TornadoTestBase {
+
+    private static void runSaxpy(String taskGraphName, int numElements, Policy policy, DRMode mode) throws TornadoExecutionPlanException {
+        FloatArray x = new FloatArray(numElements);
+        FloatArray y = new FloatArray(numElements);
+        x.init(10);
+
+        TaskGraph taskGraph = new TaskGraph(taskGraphName) //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, x) //
+                .task("t0", TestDynamic::saxpy, 2.0f, x, y) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withDynamicReconfiguration(policy, mode).execute();
+            executionPlan.execute();
+        }
+
+        for (int i = 0; i < y.getSize(); i++) {
+            assertEquals(20.0f, y.get(i), 0.01f);
+        }
+    }
+
+    @Test
+    public void testSelectionFromModel() throws TornadoExecutionPlanException {
+        // The first execution explores all devices and records the times in the model
+        runSaxpy("model0", 8192, Policy.PERFORMANCE, DRMode.SERIAL);
+
+        // Sizes within the measured bucket: the device is selected by the model
+        runSaxpy("model1", 8192, Policy.PERFORMANCE, DRMode.SERIAL);
+        runSaxpy("model2", 12000, Policy.PERFORMANCE, DRMode.SERIAL);
+    }
+
+    @Test
+    public void testExplorationForNewSizes() throws TornadoExecutionPlanException {
+        runSaxpy("model3", 1024, Policy.END_2_END, DRMode.PARALLEL);
+
+        // Far from the measured sizes, so the devices are explored again
+        runSaxpy("model4", 1024 * 1024, Policy.END_2_END, DRMode.PARALLEL);
+        runSaxpy("model5", 1024 * 1024, Policy.END_2_END, DRMode.PARALLEL);
+    }
+}
@@ -23,6 +23,9 @@ import static org.junit.Assert.fail;
 
 import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.Test;
 
@@ -403,5 +406,82 @@ public class TestExecutor extends TornadoTestBase {
         }
     }
 
+    /**
+     * Test to launch the same execution plan asynchronously multiple times.
+     */
+    @Test
+    public void test08() throws TornadoExecutionPlanException {
+        int numElements = 16;
+        IntArray a = new IntArray(numElements);
+        IntArray b = new IntArray(numElements);
+        IntArray c = new IntArray(numElements);
+
+        a.init(1);
+        b.init(2);
+
+        TaskGraph tg = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestHello::add, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(tg.snapshot())) {
+
+            CompletableFuture<TornadoExecutionResult> future = null;
+            for (int i = 0; i < 10; i++) {
+                future = executionPlan.executeAsync();
+            }
+
+            // Executions of the same plan are serialized: the last future completes last
+            TornadoExecutionResult executionResult = future.join();
+            assertNotNull(executionResult);
+
+            for (int i = 0; i < c.getSize(); i++) {
+                assertEquals(a.get(i) + b.get(i), c.get(i));
+            }
+        }
+    }
+
+    /**
+     * Test to launch an execution plan with two dependent task-graphs
+     * asynchronously from a single thread. The second task-graph is dispatched
+     * when the device signals the completion of the first one.
+     */
+    @Test
+    public void test09() throws TornadoExecutionPlanException {
+        int numElements = 16;
+        IntArray a = new IntArray(numElements);
+        IntArray b = new IntArray(numElements);
+        IntArray c = new IntArray(numElements);
+
+        a.init(1);
+        b.init(2);
+
+        TaskGraph tg1 = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestHello::add, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        TaskGraph tg2 = new TaskGraph("s1") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, c) //
+                .task("t1", TestHello::compute, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(tg1.snapshot(), tg2.snapshot())) {
+
+            CompletableFuture<TornadoExecutionResult> future = null;
+            for (int i = 0; i < 4; i++) {
+                future = executionPlan.executeAsync(executor);
+            }
+            assertNotNull(future.join());
+
+            for (int i = 0; i < c.getSize(); i++) {
+                assertEquals((a.get(i) + b.get(i)) * 2, c.get(i));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     // CHECKSTYLE:ON
 }
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.fusion;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Set;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.metrics.TornadoMetrics;
+import uk.ac.manchester.tornado.api.metrics.TornadoMetricsRegistry;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests for element-wise tasks that are fused into a single kernel. The
+ * results must be the same with and without fusion. The kernels launched are
+ * checked with the runtime metrics: a fused task reports its kernel time under
+ * the name of the producer.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V --jvm="-Dtornado.fusion.enable=True" uk.ac.manchester.tornado.unittests.fusion.TestKernelFusion
+ * </code>
+ */
+public class TestKernelFusion extends TornadoTestBase {
+
+    private static final int NUM_ELEMENTS = 4096;
+
+    private static final boolean FUSION_ENABLED = Boolean.parseBoolean(System.getProperty("tornado.fusion.enable", "False"));
+
+    public static void scale(FloatArray input, FloatArray output, float alpha) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            output.set(i, input.get(i) * alpha);
+        }
+    }
+
+    public static void add(FloatArray a, FloatArray b, FloatArray output) {
+        for (@Parallel int i = 0; i < a.getSize(); i++) {
+            output.set(i, a.get(i) + b.get(i));
+        }
+    }
+
+    public static void relu(FloatArray input, FloatArray output) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            output.set(i, Math.max(0.0f, input.get(i)));
+        }
+    }
+
+    public static void shiftLeft(FloatArray input, FloatArray output) {
+        for (@Parallel int i = 0; i < output.getSize(); i++) {
+            output.set(i, input.get(i + 1));
+        }
+    }
+
+    public static void scale(float[] input, float[] output, float alpha) {
+        for (@Parallel int i = 0; i < input.length; i++) {
+            output[i] = input[i] * alpha;
+        }
+    }
+
+    public static void relu(float[] input, float[] output) {
+        for (@Parallel int i = 0; i < input.length; i++) {
+            output[i] = Math.max(0.0f, input[i]);
+        }
+    }
+
+    /**
+     * It executes the plan and returns the names of the tasks that launched a
+     * kernel.
+     */
+    private static Set<String> executeAndGetKernels(TornadoExecutionPlan executionPlan) {
+        TornadoMetricsRegistry registry = new TornadoMetricsRegistry();
+        TornadoMetrics.register(registry);
+        try {
+            executionPlan.execute();
+        } finally {
+            TornadoMetrics.unregister(registry);
+        }
+        return registry.getTaskNames();
+    }
+
+    @Test
+    public void testFuseTwoTasks() throws TornadoExecutionPlanException {
+        FloatArray input = new FloatArray(NUM_ELEMENTS);
+        FloatArray tmp = new FloatArray(NUM_ELEMENTS);
+        FloatArray output = new FloatArray(NUM_ELEMENTS);
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            input.set(i, i - (NUM_ELEMENTS / 2.0f));
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestKernelFusion::scale, input, tmp, 2.0f) //
+                .task("t1", TestKernelFusion::relu, tmp, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            Set<String> kernels = executeAndGetKernels(executionPlan);
+            assertEquals(FUSION_ENABLED ? Set.of("s0.t0") : Set.of("s0.t0", "s0.t1"), kernels);
+        }
+
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            assertEquals(Math.max(0.0f, input.get(i) * 2.0f), output.get(i), 0.001f);
+        }
+    }
+
+    @Test
+    public void testFuseChainOfTasks() throws TornadoExecutionPlanException {
+        FloatArray a = new FloatArray(NUM_ELEMENTS);
+        FloatArray b = new FloatArray(NUM_ELEMENTS);
+        FloatArray scaled = new FloatArray(NUM_ELEMENTS);
+        FloatArray sum = new FloatArray(NUM_ELEMENTS);
+        FloatArray output = new FloatArray(NUM_ELEMENTS);
+        FloatArray seq = new FloatArray(NUM_ELEMENTS);
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            a.set(i, i - (NUM_ELEMENTS / 2.0f));
+            b.set(i, i % 7);
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestKernelFusion::scale, a, scaled, 0.5f) //
+                .task("t1", TestKernelFusion::add, scaled, b, sum) //
+                .task("t2", TestKernelFusion::relu, sum, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            // Run twice, so the fused kernel is also reused from the code cache
+            executionPlan.execute();
+            Set<String> kernels = executeAndGetKernels(executionPlan);
+            assertEquals(FUSION_ENABLED ? Set.of("s0.t0") : Set.of("s0.t0", "s0.t1", "s0.t2"), kernels);
+        }
+
+        scale(a, scaled, 0.5f);
+        add(scaled, b, sum);
+        relu(sum, seq);
+
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            assertEquals(seq.get(i), output.get(i), 0.001f);
+        }
+    }
+
+    @Test
+    public void testIntermediateCopiedOut() throws TornadoExecutionPlanException {
+        FloatArray input = new FloatArray(NUM_ELEMENTS);
+        FloatArray tmp = new FloatArray(NUM_ELEMENTS);
+        FloatArray output = new FloatArray(NUM_ELEMENTS);
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            input.set(i, i - (NUM_ELEMENTS / 2.0f));
+        }
+
+        // tmp is copied back to the host, so it must be kept in the fused kernel
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestKernelFusion::scale, input, tmp, 3.0f) //
+                .task("t1", TestKernelFusion::relu, tmp, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, tmp, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            Set<String> kernels = executeAndGetKernels(executionPlan);
+            assertEquals(FUSION_ENABLED ? Set.of("s0.t0") : Set.of("s0.t0", "s0.t1"), kernels);
+        }
+
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            assertEquals(input.get(i) * 3.0f, tmp.get(i), 0.001f);
+            assertEquals(Math.max(0.0f, input.get(i) * 3.0f), output.get(i), 0.001f);
+        }
+    }
+
+    @Test
+    public void testFuseJavaArrays() throws TornadoExecutionPlanException {
+        float[] input = new float[NUM_ELEMENTS];
+        float[] tmp = new float[NUM_ELEMENTS];
+        float[] output = new float[NUM_ELEMENTS];
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            input[i] = i - (NUM_ELEMENTS / 2.0f);
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestKernelFusion::scale, input, tmp, -1.0f) //
+                .task("t1", TestKernelFusion::relu, tmp, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            Set<String> kernels = executeAndGetKernels(executionPlan);
+            assertEquals(FUSION_ENABLED ? Set.of("s0.t0") : Set.of("s0.t0", "s0.t1"), kernels);
+        }
+
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            assertEquals(Math.max(0.0f, -input[i]), output[i], 0.001f);
+        }
+    }
+
+    @Test
+    public void testNoFusionNeighbourRead() throws TornadoExecutionPlanException {
+        FloatArray input = new FloatArray(NUM_ELEMENTS);
+        FloatArray tmp = new FloatArray(NUM_ELEMENTS + 1);
+        FloatArray output = new FloatArray(NUM_ELEMENTS);
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            input.set(i, i - (NUM_ELEMENTS / 2.0f));
+        }
+
+        // Both loops have the same iteration space, but each thread of t1 reads the
+        // element of tmp written by the next thread of t0, so the tasks must not be fused
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestKernelFusion::scale, input, tmp, 2.0f) //
+                .task("t1", TestKernelFusion::shiftLeft, tmp, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            Set<String> kernels = executeAndGetKernels(executionPlan);
+            assertEquals(Set.of("s0.t0", "s0.t1"), kernels);
+        }
+
+        // The last element of tmp is not written by t0
+        for (int i = 0; i < NUM_ELEMENTS - 1; i++) {
+            assertEquals(input.get(i + 1) * 2.0f, output.get(i), 0.001f);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.grid;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.drivers.common.LocalWorkTuner;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests for the selection of candidate local sizes and the persistent database
+ * of the {@link LocalWorkTuner}. They do not launch kernels: the kernel times
+ * are passed to the tuner directly.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.grid.TestLocalWorkTuner
+ * </code>
+ */
+public class TestLocalWorkTuner extends TornadoTestBase {
+
+    private static final String BACKEND = "test";
+    private static final String DEVICE = "device";
+    private static final String KERNEL = LocalWorkTuner.hash(new byte[] { 1, 2, 3 });
+
+    private static final long[] MAX_WORK_ITEM_SIZES = { 1024, 1024, 64 };
+
+    private Path directory;
+    private Path databaseFile;
+
+    @Before
+    public void createDatabase() throws IOException {
+        directory = Files.createTempDirectory("tornado-autotune");
+        databaseFile = directory.resolve("autotune.properties");
+    }
+
+    @After
+    public void deleteDatabase() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * Selects trials until all candidates are in flight.
+     */
+    private static List<LocalWorkTuner.Trial> selectAll(LocalWorkTuner tuner, int dims, long[] globalWork, long[] defaultLocalWork, long maxWorkGroupSize) {
+        List<LocalWorkTuner.Trial> trials = new ArrayList<>();
+        LocalWorkTuner.Trial trial;
+        while ((trial = tuner.select(KERNEL, dims, globalWork, defaultLocalWork, MAX_WORK_ITEM_SIZES, maxWorkGroupSize)) != null) {
+            assertTrue(trial.isMeasured());
+            trials.add(trial);
+        }
+        return trials;
+    }
+
+    private static List<long[]> distinctLocalWork(List<LocalWorkTuner.Trial> trials) {
+        List<long[]> localWork = new ArrayList<>();
+        for (int i = 0; i < trials.size(); i += TornadoOptions.AUTOTUNE_SAMPLES) {
+            localWork.add(trials.get(i).localWork());
+        }
+        return localWork;
+    }
+
+    @Test
+    public void testCandidates1D() {
+        LocalWorkTuner tuner = new LocalWorkTuner(BACKEND, DEVICE, databaseFile);
+        List<LocalWorkTuner.Trial> trials = selectAll(tuner, 1, new long[] { 4096, 1, 1 }, new long[] { 64, 1, 1 }, 256);
+
+        // The default comes first. Candidates above the maximum work-group size are
+        // skipped, and so is the candidate equal to the default.
+        List<long[]> candidates = distinctLocalWork(trials);
+        assertEquals(4 * TornadoOptions.AUTOTUNE_SAMPLES, trials.size());
+        assertArrayEquals(new long[] { 64, 1, 1 }, candidates.get(0));
+        assertArrayEquals(new long[] { 32, 1, 1 }, candidates.get(1));
+        assertArrayEquals(new long[] { 128, 1, 1 }, candidates.get(2));
+        assertArrayEquals(new long[] { 256, 1, 1 }, candidates.get(3));
+    }
+
+    @Test
+    public void testCandidates2DBoundedByGlobalWork() {
+        LocalWorkTuner tuner = new LocalWorkTuner(BACKEND, DEVICE, databaseFile);
+        List<LocalWorkTuner.Trial> trials = selectAll(tuner, 2, new long[] { 16, 12, 1 }, new long[] { 4, 4, 1 }, 1024);
+
+        // The global work of 12 is rounded up to a bucket of 16
+        List<long[]> candidates = distinctLocalWork(trials);
+        assertEquals(5, candidates.size());
+        assertArrayEquals(new long[] { 4, 4, 1 }, candidates.get(0));
+        for (long[] candidate : candidates) {
+            assertTrue(candidate[0] <= 16 && candidate[1] <= 16);
+        }
+    }
+
+    @Test
+    public void testRecordAndReload() {
+        LocalWorkTuner tuner = new LocalWorkTuner(BACKEND, DEVICE, databaseFile);
+        long[] globalWork = { 4096, 1, 1 };
+        long[] defaultLocalWork = { 64, 1, 1 };
+        for (LocalWorkTuner.Trial trial : selectAll(tuner, 1, globalWork, defaultLocalWork, 256)) {
+            long elapsedTime = trial.localWork()[0] == 128 ? 100 : 1000;
+            tuner.record(trial, elapsedTime);
+        }
+
+        LocalWorkTuner.Trial tuned = tuner.select(KERNEL, 1, globalWork, defaultLocalWork, MAX_WORK_ITEM_SIZES, 256);
+        assertNotNull(tuned);
+        assertFalse(tuned.isMeasured());
+        assertArrayEquals(new long[] { 128, 1, 1 }, tuned.localWork());
+        assertTrue(Files.exists(databaseFile));
+
+        // Another tuner, as in a new JVM, loads the result from the database.
+        // Global sizes in the same bucket share the result.
+        LocalWorkTuner reloaded = new LocalWorkTuner(BACKEND, DEVICE, databaseFile);
+        LocalWorkTuner.Trial stored = reloaded.select(KERNEL, 1, new long[] { 3000, 1, 1 }, defaultLocalWork, MAX_WORK_ITEM_SIZES, 256);
+        assertNotNull(stored);
+        assertFalse(stored.isMeasured());
+        assertArrayEquals(new long[] { 128, 1, 1 }, stored.localWork());
+
+        // Other devices are tuned separately
+        LocalWorkTuner otherDevice = new LocalWorkTuner(BACKEND, "other-device", databaseFile);
+        LocalWorkTuner.Trial untuned = otherDevice.select(KERNEL, 1, globalWork, defaultLocalWork, MAX_WORK_ITEM_SIZES, 256);
+        assertNotNull(untuned);
+        assertTrue(untuned.isMeasured());
+    }
+
+    @Test
+    public void testFailedCandidatesKeepDefault() {
+        LocalWorkTuner tuner = new LocalWorkTuner(BACKEND, DEVICE, databaseFile);
+        long[] globalWork = { 4096, 1, 1 };
+        long[] defaultLocalWork = { 64, 1, 1 };
+        for (LocalWorkTuner.Trial trial : selectAll(tuner, 1, globalWork, defaultLocalWork, 256)) {
+            // The default is the slowest candidate, but the others cannot be launched
+            boolean isDefault = trial.localWork()[0] == 64;
+            tuner.record(trial, isDefault ? 1000 : LocalWorkTuner.FAILED);
+        }
+
+        LocalWorkTuner.Trial tuned = tuner.select(KERNEL, 1, globalWork, defaultLocalWork, MAX_WORK_ITEM_SIZES, 256);
+        assertNotNull(tuned);
+        assertArrayEquals(defaultLocalWork, tuned.localWork());
+    }
+
+    @Test
+    public void testMergeUpdatesFromOtherTuners() {
+        // Two tuners with separate caches of the same file, as in two JVMs
+        LocalWorkTuner first = new LocalWorkTuner(BACKEND, "first", databaseFile);
+        LocalWorkTuner second = new LocalWorkTuner(BACKEND, "second", databaseFile);
+        long[] globalWork = { 1024, 1, 1 };
+        long[] defaultLocalWork = { 32, 1, 1 };
+        for (LocalWorkTuner.Trial trial : selectAll(first, 1, globalWork, defaultLocalWork, 1024)) {
+            first.record(trial, trial.localWork()[0] == 256 ? 10 : 100);
+        }
+        for (LocalWorkTuner.Trial trial : selectAll(second, 1, globalWork, defaultLocalWork, 1024)) {
+            second.record(trial, trial.localWork()[0] == 512 ? 10 : 100);
+        }
+
+        LocalWorkTuner firstReloaded = new LocalWorkTuner(BACKEND, "first", databaseFile);
+        LocalWorkTuner secondReloaded = new LocalWorkTuner(BACKEND, "second", databaseFile);
+        assertArrayEquals(new long[] { 256, 1, 1 }, firstReloaded.select(KERNEL, 1, globalWork, defaultLocalWork, MAX_WORK_ITEM_SIZES, 1024).localWork());
+        assertArrayEquals(new long[] { 512, 1, 1 }, secondReloaded.select(KERNEL, 1, globalWork, defaultLocalWork, MAX_WORK_ITEM_SIZES, 1024).localWork());
+    }
+}
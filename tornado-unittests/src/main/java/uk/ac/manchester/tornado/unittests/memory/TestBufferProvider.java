@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.memory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.TornadoDeviceContext;
+import uk.ac.manchester.tornado.api.TornadoTargetDevice;
+import uk.ac.manchester.tornado.api.common.Access;
+import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests for the pool of device buffers of the {@link TornadoBufferProvider}.
+ * The native allocations are replaced by fake buffer addresses, so the tests
+ * only check the bookkeeping of the pool. The sizes of the tests assume the
+ * options given in the command below.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test --jvm="-Dtornado.device.memory=1GB -Dtornado.buffer.pool.sizeclass=pow2" -V uk.ac.manchester.tornado.unittests.memory.TestBufferProvider
+ * </code>
+ */
+public class TestBufferProvider extends TornadoTestBase {
+
+    private static final long MB = 1024 * 1024;
+
+    /**
+     * A buffer provider that hands out fake buffer addresses and records the
+     * buffers it releases.
+     */
+    private static final class HostBufferProvider extends TornadoBufferProvider {
+
+        private final List<Long> releasedBuffers = new ArrayList<>();
+        private long nextBuffer = 1;
+
+        HostBufferProvider() {
+            super(createDeviceContext());
+        }
+
+        @Override
+        protected long allocateBuffer(long size, Access access) {
+            return nextBuffer++;
+        }
+
+        @Override
+        protected void releaseBuffer(long buffer) {
+            releasedBuffers.add(buffer);
+        }
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+    private static TornadoDeviceContext createDeviceContext() {
+        ClassLoader classLoader = TestBufferProvider.class.getClassLoader();
+        TornadoTargetDevice device = (TornadoTargetDevice) Proxy.newProxyInstance(classLoader, new Class<?>[] { TornadoTargetDevice.class }, (proxy, method, args) -> //
+        method.getName().equals("getDeviceMaxAllocationSize") ? Long.MAX_VALUE : defaultValue(method.getReturnType()));
+        return (TornadoDeviceContext) Proxy.newProxyInstance(classLoader, new Class<?>[] { TornadoDeviceContext.class }, (proxy, method, args) -> //
+        method.getName().equals("getDevice") ? device : defaultValue(method.getReturnType()));
+    }
+
+    /**
+     * Two sizes of the same size class share the free buffer.
+     */
+    @Test
+    public void testReuseSizeClass() {
+        HostBufferProvider bufferProvider = new HostBufferProvider();
+        long buffer = bufferProvider.getOrAllocateBufferWithSize(4000, Access.READ_WRITE);
+        bufferProvider.markBufferReleased(buffer, Access.READ_WRITE);
+        assertEquals(4096, bufferProvider.getPooledFreeBytes());
+
+        long reused = bufferProvider.getOrAllocateBufferWithSize(4080, Access.READ_WRITE);
+        assertEquals(buffer, reused);
+        assertEquals(1, bufferProvider.getPoolHits());
+        assertEquals(1, bufferProvider.getPoolMisses());
+        assertEquals(0, bufferProvider.getPooledFreeBytes());
+    }
+
+    /**
+     * Buffers of different access types are not shared.
+     */
+    @Test
+    public void testAccessTypes() {
+        HostBufferProvider bufferProvider = new HostBufferProvider();
+        long buffer = bufferProvider.getOrAllocateBufferWithSize(4096, Access.READ_ONLY);
+        bufferProvider.markBufferReleased(buffer, Access.READ_ONLY);
+
+        long other = bufferProvider.getOrAllocateBufferWithSize(4096, Access.WRITE_ONLY);
+        assertNotEquals(buffer, other);
+        assertTrue(bufferProvider.isNumFreeBuffersAvailable(1, Access.READ_ONLY));
+        assertEquals(0, bufferProvider.getPoolHits());
+    }
+
+    /**
+     * The size class (1GB) of the second buffer does not fit in the remaining
+     * device memory, but its exact size does.
+     */
+    @Test
+    public void testExactSizeWhenSizeClassDoesNotFit() {
+        HostBufferProvider bufferProvider = new HostBufferProvider();
+        long buffer = bufferProvider.getOrAllocateBufferWithSize(100 * MB, Access.READ_WRITE);
+        long exactBuffer = bufferProvider.getOrAllocateBufferWithSize(600 * MB, Access.READ_WRITE);
+        assertNotEquals(buffer, exactBuffer);
+        assertEquals(2, bufferProvider.getPoolMisses());
+        assertTrue(bufferProvider.releasedBuffers.isEmpty());
+    }
+
+    /**
+     * The size class does not fit until the free buffers are released. The free
+     * buffer of another access type is released to make room for it.
+     */
+    @Test
+    public void testReleaseFreeBuffersWhenOutOfMemory() {
+        HostBufferProvider bufferProvider = new HostBufferProvider();
+        long buffer = bufferProvider.getOrAllocateBufferWithSize(256 * MB, Access.READ_ONLY);
+        bufferProvider.getOrAllocateBufferWithSize(512 * MB, Access.READ_WRITE);
+        bufferProvider.markBufferReleased(buffer, Access.READ_ONLY);
+
+        bufferProvider.getOrAllocateBufferWithSize(300 * MB, Access.READ_WRITE);
+        assertEquals(List.of(buffer), bufferProvider.releasedBuffers);
+        assertEquals(0, bufferProvider.getPooledFreeBytes());
+    }
+
+    /**
+     * When the free buffers exceed the high watermark (50% of the device memory),
+     * the pool is trimmed starting from the oldest free buffer, not from the
+     * largest one.
+     */
+    @Test
+    public void testTrimOldestFirst() {
+        HostBufferProvider bufferProvider = new HostBufferProvider();
+        long older = bufferProvider.getOrAllocateBufferWithSize(64 * MB, Access.READ_WRITE);
+        long newer = bufferProvider.getOrAllocateBufferWithSize(512 * MB, Access.READ_WRITE);
+        bufferProvider.markBufferReleased(older, Access.READ_WRITE);
+        assertTrue(bufferProvider.releasedBuffers.isEmpty());
+
+        bufferProvider.markBufferReleased(newer, Access.READ_WRITE);
+        assertEquals(older, (long) bufferProvider.releasedBuffers.get(0));
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.memory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.TornadoDeviceContext;
+import uk.ac.manchester.tornado.api.TornadoTargetDevice;
+import uk.ac.manchester.tornado.api.common.Access;
+import uk.ac.manchester.tornado.drivers.common.DeviceArena;
+import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider;
+import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider.BufferRegion;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests for the arena mode of the device buffers. The buddy allocator of the
+ * {@link DeviceArena} only computes offsets within its buffer, and the native
+ * allocations of the {@link TornadoBufferProvider} are replaced by fake buffer
+ * addresses, so the tests do not need a device.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test --jvm="-Dtornado.device.arena.enable=True" -V uk.ac.manchester.tornado.unittests.memory.TestDeviceArena
+ * </code>
+ */
+public class TestDeviceArena extends TornadoTestBase {
+
+    private static final long BUFFER = 0xCAFEL;
+    private static final long CAPACITY = 1024;
+    private static final long MIN_BLOCK = 64;
+
+    /**
+     * A buffer provider that passes buffers to the kernels as base and offset,
+     * hands out fake buffer addresses and records the buffers it releases.
+     */
+    private static final class HostBufferProvider extends TornadoBufferProvider {
+
+        private final List<Long> releasedBuffers = new ArrayList<>();
+        private long nextBuffer = 1;
+
+        HostBufferProvider() {
+            super(createDeviceContext());
+        }
+
+        @Override
+        protected boolean isBufferOffsetSupported() {
+            return true;
+        }
+
+        @Override
+        protected long allocateBuffer(long size, Access access) {
+            return nextBuffer++;
+        }
+
+        @Override
+        protected void releaseBuffer(long buffer) {
+            releasedBuffers.add(buffer);
+        }
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+    private static TornadoDeviceContext createDeviceContext() {
+        ClassLoader classLoader = TestDeviceArena.class.getClassLoader();
+        TornadoTargetDevice device = (TornadoTargetDevice) Proxy.newProxyInstance(classLoader, new Class<?>[] { TornadoTargetDevice.class }, (proxy, method, args) -> //
+        method.getName().equals("getDeviceMaxAllocationSize") ? Long.MAX_VALUE : defaultValue(method.getReturnType()));
+        return (TornadoDeviceContext) Proxy.newProxyInstance(classLoader, new Class<?>[] { TornadoDeviceContext.class }, (proxy, method, args) -> //
+        method.getName().equals("getDevice") ? device : defaultValue(method.getReturnType()));
+    }
+
+    @Test
+    public void testAllocateAligned() {
+        DeviceArena arena = new DeviceArena(BUFFER, CAPACITY, MIN_BLOCK);
+        assertEquals(BUFFER, arena.getBuffer());
+        assertEquals(CAPACITY, arena.getCapacity());
+
+        long first = arena.allocate(1);
+        long second = arena.allocate(100);
+        long third = arena.allocate(MIN_BLOCK);
+        assertEquals(0, first);
+        assertEquals(0, second % 128);
+        assertEquals(0, third % MIN_BLOCK);
+        assertNotEquals(first, third);
+    }
+
+    @Test
+    public void testCapacityRoundedDown() {
+        DeviceArena arena = new DeviceArena(BUFFER, CAPACITY + 100, MIN_BLOCK);
+        assertEquals(CAPACITY, arena.getCapacity());
+    }
+
+    @Test
+    public void testSplit() {
+        DeviceArena arena = new DeviceArena(BUFFER, CAPACITY, MIN_BLOCK);
+        // Splitting the arena leaves one free buddy per order: 64, 128, 256 and 512
+        assertEquals(0, arena.allocate(MIN_BLOCK));
+        assertEquals(64, arena.allocate(MIN_BLOCK));
+        assertEquals(128, arena.allocate(128));
+        assertEquals(256, arena.allocate(256));
+        assertEquals(512, arena.allocate(512));
+        assertEquals(DeviceArena.NO_SPACE, arena.allocate(1));
+    }
+
+    @Test
+    public void testFreeAndCoalesce() {
+        DeviceArena arena = new DeviceArena(BUFFER, CAPACITY, MIN_BLOCK);
+        long a = arena.allocate(MIN_BLOCK);
+        long b = arena.allocate(MIN_BLOCK);
+        long c = arena.allocate(128);
+
+        // The buddy of a is still in use, so a cannot be merged into a block of 128
+        // and blocks of 128 are split from the free block of 256
+        arena.free(a);
+        assertEquals(256, arena.allocate(128));
+        assertEquals(384, arena.allocate(128));
+
+        // Once both buddies are free, they are merged again
+        arena.free(b);
+        assertEquals(0, arena.allocate(128));
+        assertEquals(128, c);
+    }
+
+    @Test
+    public void testCoalesceWholeArena() {
+        DeviceArena arena = new DeviceArena(BUFFER, CAPACITY, MIN_BLOCK);
+        final int numBlocks = (int) (CAPACITY / MIN_BLOCK);
+        long[] offsets = new long[numBlocks];
+        for (int i = 0; i < numBlocks; i++) {
+            offsets[i] = arena.allocate(MIN_BLOCK);
+            assertNotEquals(DeviceArena.NO_SPACE, offsets[i]);
+        }
+        assertEquals(DeviceArena.NO_SPACE, arena.allocate(1));
+
+        for (long offset : offsets) {
+            arena.free(offset);
+        }
+        assertEquals(0, arena.allocate(CAPACITY));
+    }
+
+    @Test
+    public void testExhaustion() {
+        DeviceArena arena = new DeviceArena(BUFFER, CAPACITY, MIN_BLOCK);
+        assertEquals(DeviceArena.NO_SPACE, arena.allocate(CAPACITY + 1));
+        assertEquals(0, arena.allocate(CAPACITY));
+        assertEquals(DeviceArena.NO_SPACE, arena.allocate(1));
+
+        arena.free(0);
+        assertEquals(0, arena.allocate(CAPACITY / 2));
+        assertEquals(CAPACITY / 2, arena.allocate(CAPACITY / 2));
+        assertEquals(DeviceArena.NO_SPACE, arena.allocate(MIN_BLOCK));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFreeUnallocatedOffset() {
+        DeviceArena arena = new DeviceArena(BUFFER, CAPACITY, MIN_BLOCK);
+        arena.allocate(MIN_BLOCK);
+        arena.free(MIN_BLOCK);
+    }
+
+    @Test
+    public void testRetireIfEmpty() {
+        DeviceArena arena = new DeviceArena(BUFFER, CAPACITY, MIN_BLOCK);
+        long offset = arena.allocate(MIN_BLOCK);
+        assertFalse(arena.retireIfEmpty());
+
+        arena.free(offset);
+        assertTrue(arena.retireIfEmpty());
+        // A retired arena is about to be released, so it does not hand out blocks
+        assertEquals(DeviceArena.NO_SPACE, arena.allocate(MIN_BLOCK));
+    }
+
+    /**
+     * Small objects are regions of the same arena buffer at different offsets.
+     * Objects above the threshold get a buffer of their own.
+     */
+    @Test
+    public void testRegionsShareArena() {
+        HostBufferProvider bufferProvider = new HostBufferProvider();
+        BufferRegion first = bufferProvider.getOrAllocateBufferRegionWithSize(100, Access.READ_WRITE);
+        BufferRegion second = bufferProvider.getOrAllocateBufferRegionWithSize(100, Access.READ_WRITE);
+        assertEquals(first.buffer(), second.buffer());
+        assertNotEquals(first.offset(), second.offset());
+
+        BufferRegion large = bufferProvider.getOrAllocateBufferRegionWithSize(1024 * 1024, Access.READ_WRITE);
+        assertNotEquals(first.buffer(), large.buffer());
+        assertEquals(0, large.offset());
+    }
+
+    /**
+     * A released region is handed out again and the arena buffer is only
+     * released once it is empty.
+     */
+    @Test
+    public void testReleaseRegion() {
+        HostBufferProvider bufferProvider = new HostBufferProvider();
+        BufferRegion first = bufferProvider.getOrAllocateBufferRegionWithSize(100, Access.READ_WRITE);
+        BufferRegion second = bufferProvider.getOrAllocateBufferRegionWithSize(100, Access.READ_WRITE);
+
+        bufferProvider.markBufferRegionReleased(first.buffer(), first.offset(), Access.READ_WRITE);
+        BufferRegion reused = bufferProvider.getOrAllocateBufferRegionWithSize(100, Access.READ_WRITE);
+        assertEquals(first, reused);
+
+        bufferProvider.markBufferRegionReleased(reused.buffer(), reused.offset(), Access.READ_WRITE);
+        bufferProvider.deallocate(Access.READ_WRITE);
+        assertTrue(bufferProvider.releasedBuffers.isEmpty());
+
+        bufferProvider.markBufferRegionReleased(second.buffer(), second.offset(), Access.READ_WRITE);
+        bufferProvider.deallocate(Access.READ_WRITE);
+        assertEquals(List.of(first.buffer()), bufferProvider.releasedBuffers);
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.memory;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.TornadoExecutionResult;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.ProfilerMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests for partial host-to-device transfers of the ranges of native arrays
+ * marked as modified.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.memory.TestDirtyRanges
+ * </code>
+ */
+public class TestDirtyRanges extends TornadoTestBase {
+
+    private static final int NUM_ELEMENTS = 1024 * 1024;
+    private static final int ITERATIONS = 4;
+    private static final int UNMARKED_INDEX = NUM_ELEMENTS / 2 + 100;
+
+    public static void scale(FloatArray input, FloatArray output) {
+        for (@Parallel int i = 0; i < output.getSize(); i++) {
+            output.set(i, input.get(i) * 2.0f);
+        }
+    }
+
+    @Test
+    public void testCoalesceRanges() {
+        FloatArray array = new FloatArray(128);
+        assertNull(array.getDirtyRangesSince(0, 8));
+
+        array.markDirty(10, 20);
+        array.markDirty(20, 30);
+        array.markDirty(15, 25);
+        array.markDirty(40);
+        array.markDirty(100, 110);
+        assertArrayEquals(new long[] { 10, 30, 40, 41, 100, 110 }, array.getDirtyRangesSince(0, 8));
+
+        // A buffer that copied the current version has no ranges to copy
+        final long version = array.getDirtyRangesVersion();
+        assertArrayEquals(new long[0], array.getDirtyRangesSince(version, 8));
+
+        // The smallest gap (between 30 and 40) is merged first
+        array.markDirty(10, 30);
+        array.markDirty(40, 41);
+        array.markDirty(100, 110);
+        assertArrayEquals(new long[] { 10, 41, 100, 110 }, array.getDirtyRangesSince(version, 2));
+
+        array.markAllDirty();
+        assertNull(array.getDirtyRangesSince(version, 8));
+    }
+
+    @Test
+    public void testRangesPerBuffer() {
+        FloatArray array = new FloatArray(128);
+        array.markDirty(0, 10);
+        final long firstBuffer = array.getDirtyRangesVersion();
+
+        array.markDirty(50, 60);
+        final long secondBuffer = array.getDirtyRangesVersion();
+
+        // Each buffer gets the ranges marked since its own copy, so one transfer does not consume them for another
+        assertArrayEquals(new long[] { 0, 10, 50, 60 }, array.getDirtyRangesSince(0, 8));
+        assertArrayEquals(new long[] { 50, 60 }, array.getDirtyRangesSince(firstBuffer, 8));
+        assertArrayEquals(new long[0], array.getDirtyRangesSince(secondBuffer, 8));
+
+        // Buffers copied before tracking restarts must be copied whole
+        array.markAllDirty();
+        array.markDirty(0, 1);
+        assertNull(array.getDirtyRangesSince(secondBuffer, 8));
+    }
+
+    @Test
+    public void testRangesLongLog() {
+        FloatArray array = new FloatArray(4096);
+        for (int i = 0; i < 1000; i++) {
+            array.markDirty(4 * i);
+        }
+        final long version = array.getDirtyRangesVersion();
+        array.markDirty(4001);
+
+        // The old ranges are folded together, but still cover every marked element
+        long[] ranges = array.getDirtyRangesSince(0, 4096);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(isCovered(ranges, 4 * i));
+        }
+        assertTrue(isCovered(ranges, 4001));
+
+        // The newest ranges are kept exactly
+        assertArrayEquals(new long[] { 4001, 4002 }, array.getDirtyRangesSince(version, 8));
+    }
+
+    private static boolean isCovered(long[] ranges, long index) {
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (ranges[i] <= index && index < ranges[i + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testInvalidRange() {
+        FloatArray array = new FloatArray(128);
+        array.markDirty(100, 129);
+    }
+
+    @Test
+    public void testMarkedRangesEveryExecution() throws TornadoExecutionPlanException {
+        FloatArray input = new FloatArray(NUM_ELEMENTS);
+        FloatArray output = new FloatArray(NUM_ELEMENTS);
+        input.init(1.0f);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestDirtyRanges::scale, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.execute();
+
+            for (int iteration = 1; iteration <= ITERATIONS; iteration++) {
+                // Update a few scattered entries between executions
+                for (int i = iteration; i < NUM_ELEMENTS; i += NUM_ELEMENTS / 8) {
+                    input.set(i, iteration);
+                    input.markDirty(i);
+                }
+                input.set(NUM_ELEMENTS - 1, iteration);
+                input.markDirty(NUM_ELEMENTS - 1);
+
+                // A change that is not marked must not be transferred
+                final float deviceValue = input.get(UNMARKED_INDEX);
+                input.set(UNMARKED_INDEX, -iteration);
+
+                executionPlan.execute();
+
+                for (int i = 0; i < NUM_ELEMENTS; i++) {
+                    if (i == UNMARKED_INDEX) {
+                        assertEquals(deviceValue * 2.0f, output.get(i), DELTA);
+                    } else {
+                        assertEquals(input.get(i) * 2.0f, output.get(i), DELTA);
+                    }
+                }
+                // Keep the host and the device copies equal for the next iteration
+                input.set(UNMARKED_INDEX, deviceValue);
+            }
+        }
+    }
+
+    @Test
+    public void testCopyInBytesOfMarkedRanges() throws TornadoExecutionPlanException {
+        FloatArray input = new FloatArray(NUM_ELEMENTS);
+        FloatArray output = new FloatArray(NUM_ELEMENTS);
+        input.init(1.0f);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestDirtyRanges::scale, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withProfiler(ProfilerMode.SILENT).execute();
+
+            input.markDirty(0, 16);
+            input.markDirty(NUM_ELEMENTS - 32, NUM_ELEMENTS);
+            TornadoExecutionResult executionResult = executionPlan.execute();
+
+            // Only the bytes of the two ranges are copied in
+            assertEquals((16 + 32) * (long) input.getElementSize(), executionResult.getProfilerResult().getTotalBytesCopyIn());
+        }
+    }
+}
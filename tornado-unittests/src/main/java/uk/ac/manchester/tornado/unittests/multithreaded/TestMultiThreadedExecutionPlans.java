@@ -17,20 +17,31 @@
  */
 package uk.ac.manchester.tornado.unittests.multithreaded;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.Test;
 
 import uk.ac.manchester.tornado.api.GridScheduler;
 import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
 import uk.ac.manchester.tornado.api.KernelContext;
 import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoDeviceContext;
 import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
 import uk.ac.manchester.tornado.api.WorkerGrid;
 import uk.ac.manchester.tornado.api.WorkerGrid1D;
 import uk.ac.manchester.tornado.api.annotations.Parallel;
 import uk.ac.manchester.tornado.api.enums.DataTransferMode;
 import uk.ac.manchester.tornado.api.enums.ProfilerMode;
+import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
 import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
 import uk.ac.manchester.tornado.api.math.TornadoMath;
 import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
@@ -257,4 +268,48 @@ public class TestMultiThreadedExecutionPlans extends TornadoTestBase {
 
         }
     }
+
+    /**
+     * Execution plans launched from many virtual threads. The plans lease their
+     * command queues from a bounded pool per device, so the number of threads does
+     * not increase the number of native queues (OpenCL backend).
+     */
+    @Test
+    public void test05() throws InterruptedException, ExecutionException {
+        final int numThreads = 64;
+        final int size = 1024 * 256;
+        List<Future<FloatArray>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < numThreads; i++) {
+                final int id = i;
+                results.add(executor.submit(() -> {
+                    FloatArray input = new FloatArray(size);
+                    input.init(id);
+                    FloatArray output = new FloatArray(size);
+                    TaskGraph taskGraph = new TaskGraph("virtual" + id) //
+                            .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                            .task("compute01", TestMultiThreadedExecutionPlans::computeForThread2, input, output) //
+                            .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+                    try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+                        executionPlan.execute();
+                    }
+                    return output;
+                }));
+            }
+        }
+
+        for (int i = 0; i < numThreads; i++) {
+            FloatArray output = results.get(i).get();
+            float expected = i * 100 * TornadoMath.sqrt(i);
+            for (int j = 0; j < size; j++) {
+                assertEquals(expected, output.get(j), 0.1f);
+            }
+        }
+
+        TornadoDeviceContext deviceContext = getTornadoRuntime().getDefaultDevice().getDeviceContext();
+        if (getTornadoRuntime().getBackendType(getTornadoRuntime().getDefaultDevice().getBackendIndex()) == TornadoVMBackendType.OPENCL) {
+            int maxQueues = Math.max(1, Integer.parseInt(System.getProperty("tornado.opencl.queues.max", "8")));
+            assertTrue(deviceContext.getNumCommandQueues() <= maxQueues);
+        }
+    }
 }
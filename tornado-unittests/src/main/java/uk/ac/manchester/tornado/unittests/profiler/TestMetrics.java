@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.profiler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.metrics.LatencyHistogram;
+import uk.ac.manchester.tornado.api.metrics.TornadoMetrics;
+import uk.ac.manchester.tornado.api.metrics.TornadoMetricsListener.TransferDirection;
+import uk.ac.manchester.tornado.api.metrics.TornadoMetricsRegistry;
+import uk.ac.manchester.tornado.api.runtime.TornadoRuntimeProvider;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.unittests.TestHello;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.profiler.TestMetrics
+ * </code>
+ */
+public class TestMetrics extends TornadoTestBase {
+
+    @Test
+    public void testMetricsRegistry() throws TornadoExecutionPlanException {
+        final int numElements = 1024;
+        final int iterations = 10;
+        IntArray a = new IntArray(numElements);
+        IntArray b = new IntArray(numElements);
+        IntArray c = new IntArray(numElements);
+
+        a.init(1);
+        b.init(2);
+
+        // Make sure the task is compiled within this test
+        TornadoRuntimeProvider.getTornadoRuntime().getDefaultDevice().clean();
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b)//
+                .task("t0", TestHello::add, a, b, c)//
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+
+        TornadoMetricsRegistry registry = new TornadoMetricsRegistry();
+        TornadoMetrics.register(registry);
+        try (TornadoExecutionPlan plan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            assertTrue(TornadoMetrics.isEnabled());
+            for (int i = 0; i < iterations; i++) {
+                plan.execute();
+            }
+        } finally {
+            TornadoMetrics.unregister(registry);
+        }
+
+        for (int i = 0; i < numElements; i++) {
+            assertEquals(3, c.get(i));
+        }
+
+        assertFalse(registry.getTaskNames().isEmpty());
+        for (String taskName : registry.getTaskNames()) {
+            LatencyHistogram kernelLatency = registry.getKernelLatency(taskName);
+            assertEquals(iterations, kernelLatency.getCount());
+            assertTrue(kernelLatency.getPercentile(50) <= kernelLatency.getPercentile(99));
+            assertTrue(kernelLatency.getPercentile(99) <= kernelLatency.getMax());
+            assertEquals(1, registry.getCompilationTime(taskName).getCount());
+        }
+
+        final long bytesIn = registry.getTransferredBytes(TransferDirection.HOST_TO_DEVICE);
+        final long bytesOut = registry.getTransferredBytes(TransferDirection.DEVICE_TO_HOST);
+        assertTrue(bytesIn >= 2L * iterations * numElements * Integer.BYTES);
+        assertTrue(bytesOut >= (long) iterations * numElements * Integer.BYTES);
+        assertTrue(registry.getMaxRetainedEvents() >= 0);
+    }
+
+    /**
+     * Batched executions record a copy-in, kernel and copy-out event per batch,
+     * which exceeds the initial capacity of the metric events of the
+     * interpreter. All transfers must still be published.
+     */
+    @Test
+    public void testMetricsManyEvents() throws TornadoExecutionPlanException {
+        // 96MB per array: 96 batches of 1MB, 4 events per batch
+        final int numElements = 24 * 1024 * 1024;
+        IntArray a = new IntArray(numElements);
+        IntArray b = new IntArray(numElements);
+        IntArray c = new IntArray(numElements);
+
+        a.init(1);
+        b.init(2);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b)//
+                .task("t0", TestHello::add, a, b, c)//
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+
+        TornadoMetricsRegistry registry = new TornadoMetricsRegistry();
+        TornadoMetrics.register(registry);
+        try (TornadoExecutionPlan plan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            plan.withBatch("1MB").execute();
+        } finally {
+            TornadoMetrics.unregister(registry);
+        }
+
+        for (int i = 0; i < numElements; i++) {
+            assertEquals(3, c.get(i));
+        }
+
+        final long bytesIn = registry.getTransferredBytes(TransferDirection.HOST_TO_DEVICE);
+        final long bytesOut = registry.getTransferredBytes(TransferDirection.DEVICE_TO_HOST);
+        assertTrue(bytesIn >= 2L * numElements * Integer.BYTES);
+        assertTrue(bytesOut >= (long) numElements * Integer.BYTES);
+    }
+
+    @Test
+    public void testLatencyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1000_000L, histogram.getMax());
+        // Log-linear buckets keep the relative error of the percentiles below 1/16
+        long p50 = histogram.getPercentile(50);
+        assertTrue(Math.abs(p50 - 500_000L) <= 500_000L / 16);
+        long p99 = histogram.getPercentile(99);
+        assertTrue(Math.abs(p99 - 990_000L) <= 990_000L / 16);
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+    }
+
+}
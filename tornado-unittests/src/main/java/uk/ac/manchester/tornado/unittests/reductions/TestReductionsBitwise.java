@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.reductions;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.annotations.Reduce;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.reductions.TestReductionsBitwise
+ * </code>
+ */
+public class TestReductionsBitwise extends TornadoTestBase {
+
+    private static final int SIZE = 4096;
+
+    private static void andReduction(IntArray input, @Reduce IntArray result) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            result.set(0, result.get(0) & input.get(i));
+        }
+    }
+
+    private static void orReduction(IntArray input, @Reduce IntArray result) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            result.set(0, result.get(0) | input.get(i));
+        }
+    }
+
+    private static void xorReduction(IntArray input, @Reduce IntArray result) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            result.set(0, result.get(0) ^ input.get(i));
+        }
+    }
+
+    private static void orReductionWithMask(IntArray input, @Reduce IntArray result) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            result.set(0, result.get(0) | (input.get(i) & 0xF0F0));
+        }
+    }
+
+    private static void xorReductionLong(LongArray input, @Reduce LongArray result) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            result.set(0, result.get(0) ^ input.get(i));
+        }
+    }
+
+    private static IntArray randomInput(int size) {
+        IntArray input = new IntArray(size);
+        Random r = new Random();
+        IntStream.range(0, size).forEach(i -> input.set(i, r.nextInt()));
+        return input;
+    }
+
+    private static void runReduction(TaskGraph taskGraph) throws TornadoExecutionPlanException {
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.execute();
+        }
+    }
+
+    @Test
+    public void testAndReduction() throws TornadoExecutionPlanException {
+        IntArray input = new IntArray(SIZE);
+        // Every element has the bits 0x00FF set, plus some random high bits
+        Random r = new Random();
+        IntStream.range(0, SIZE).forEach(i -> input.set(i, r.nextInt() | 0x00FF));
+
+        IntArray result = new IntArray(1);
+        result.init(-1);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestReductionsBitwise::andReduction, input, result) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+        runReduction(taskGraph);
+
+        IntArray sequential = new IntArray(1);
+        sequential.init(-1);
+        andReduction(input, sequential);
+
+        assertEquals(sequential.get(0), result.get(0));
+    }
+
+    @Test
+    public void testOrReduction() throws TornadoExecutionPlanException {
+        IntArray input = new IntArray(SIZE);
+        // A single bit per element, so the result depends on every partial value
+        IntStream.range(0, SIZE).forEach(i -> input.set(i, 1 << (i % 31)));
+
+        IntArray result = new IntArray(1);
+        result.init(0);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestReductionsBitwise::orReduction, input, result) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+        runReduction(taskGraph);
+
+        IntArray sequential = new IntArray(1);
+        sequential.init(0);
+        orReduction(input, sequential);
+
+        assertEquals(sequential.get(0), result.get(0));
+    }
+
+    @Test
+    public void testXorReduction() throws TornadoExecutionPlanException {
+        IntArray input = randomInput(SIZE);
+
+        IntArray result = new IntArray(1);
+        result.init(0);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestReductionsBitwise::xorReduction, input, result) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+        runReduction(taskGraph);
+
+        IntArray sequential = new IntArray(1);
+        sequential.init(0);
+        xorReduction(input, sequential);
+
+        assertEquals(sequential.get(0), result.get(0));
+    }
+
+    /**
+     * The initial value of the reduce variable must be combined only once, even
+     * though the input is split across several work-groups. With XOR, counting it
+     * twice cancels it out.
+     */
+    @Test
+    public void testXorReductionInitialValue() throws TornadoExecutionPlanException {
+        IntArray input = randomInput(SIZE);
+
+        final int initialValue = 0x5A5A5A5A;
+        IntArray result = new IntArray(1);
+        result.init(initialValue);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestReductionsBitwise::xorReduction, input, result) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+        runReduction(taskGraph);
+
+        IntArray sequential = new IntArray(1);
+        sequential.init(initialValue);
+        xorReduction(input, sequential);
+
+        assertEquals(sequential.get(0), result.get(0));
+    }
+
+    /**
+     * With an input size that is not a power of two, GPUs reduce the leftover
+     * elements on the host (hybrid mode). The host partial result must start from
+     * the identity, so the initial value is still combined only once.
+     */
+    @Test
+    public void testXorReductionInitialValueHybrid() throws TornadoExecutionPlanException {
+        final int size = SIZE + 100;
+        IntArray input = randomInput(size);
+
+        final int initialValue = 0x5A5A5A5A;
+        IntArray result = new IntArray(1);
+        result.init(initialValue);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestReductionsBitwise::xorReduction, input, result) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+        runReduction(taskGraph);
+
+        IntArray sequential = new IntArray(1);
+        sequential.init(initialValue);
+        xorReduction(input, sequential);
+
+        assertEquals(sequential.get(0), result.get(0));
+    }
+
+    @Test
+    public void testOrReductionCarrierValue() throws TornadoExecutionPlanException {
+        IntArray input = randomInput(SIZE);
+
+        IntArray result = new IntArray(1);
+        result.init(0);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestReductionsBitwise::orReductionWithMask, input, result) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+        runReduction(taskGraph);
+
+        IntArray sequential = new IntArray(1);
+        sequential.init(0);
+        orReductionWithMask(input, sequential);
+
+        assertEquals(sequential.get(0), result.get(0));
+    }
+
+    @Test
+    public void testXorReductionLong() throws TornadoExecutionPlanException {
+        LongArray input = new LongArray(SIZE);
+        Random r = new Random();
+        IntStream.range(0, SIZE).forEach(i -> input.set(i, r.nextLong()));
+
+        LongArray result = new LongArray(1);
+        result.init(0);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestReductionsBitwise::xorReductionLong, input, result) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+        runReduction(taskGraph);
+
+        LongArray sequential = new LongArray(1);
+        sequential.init(0);
+        xorReductionLong(input, sequential);
+
+        assertEquals(sequential.get(0), result.get(0));
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.reductions;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.annotations.Reduce;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.TornadoDeviceType;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.DoubleArray;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Accuracy of the compensated floating-point sum, enabled with
+ * {@code -Dtornado.reduce.compensated=True}.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V -J"-Dtornado.reduce.compensated=True" uk.ac.manchester.tornado.unittests.reductions.TestReductionsCompensated
+ * </code>
+ */
+public class TestReductionsCompensated extends TornadoTestBase {
+
+    private static final int SIZE = 4096;
+
+    /**
+     * Each element represents {@link #SMALL} almost exactly, but the partial sums
+     * of a work-group grow until their rounding error is larger than it.
+     */
+    private static final float LARGE = 1024.0f;
+
+    private static final float SMALL = 0.01f;
+
+    private static void reductionAddFloats(FloatArray input, @Reduce FloatArray result) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            result.set(0, result.get(0) + input.get(i));
+        }
+    }
+
+    private static void reductionAddDoubles(DoubleArray input, @Reduce DoubleArray result) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            result.set(0, result.get(0) + input.get(i));
+        }
+    }
+
+    /**
+     * Even elements are {@code LARGE + SMALL} and odd elements are
+     * {@code -LARGE + SMALL}. Every level of the work-group tree except the last
+     * adds elements of the same sign, which rounds the small terms. Only the last
+     * level cancels the large terms, so an uncompensated sum is left with the
+     * accumulated rounding errors instead of {@code SIZE * SMALL}.
+     */
+    private static FloatArray cancellingInput() {
+        FloatArray input = new FloatArray(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            input.set(i, ((i % 2 == 0) ? LARGE : -LARGE) + SMALL);
+        }
+        return input;
+    }
+
+    private static boolean isRunningOnCPU() {
+        // CPU devices reduce each chunk sequentially and do not use the work-group snippets
+        return getTornadoRuntime().getDefaultDevice().getDeviceType() == TornadoDeviceType.CPU;
+    }
+
+    @Test
+    public void testCompensatedSumFloats() throws TornadoExecutionPlanException {
+        if (isRunningOnCPU()) {
+            return;
+        }
+        FloatArray input = cancellingInput();
+        FloatArray result = new FloatArray(1);
+        result.init(0.0f);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestReductionsCompensated::reductionAddFloats, input, result) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.execute();
+        }
+
+        // Reference in double precision over the same float inputs
+        double reference = 0.0;
+        for (int i = 0; i < SIZE; i++) {
+            reference += input.get(i);
+        }
+
+        assertEquals((float) reference, result.get(0), DELTA);
+    }
+
+    @Test
+    public void testCompensatedSumDoubles() throws TornadoExecutionPlanException {
+        if (isRunningOnCPU()) {
+            return;
+        }
+        // Same shape as the float input, scaled to the double precision
+        final double large = 0x1p40;
+        final double small = 0.01;
+        DoubleArray input = new DoubleArray(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            input.set(i, ((i % 2 == 0) ? large : -large) + small);
+        }
+        DoubleArray result = new DoubleArray(1);
+        result.init(0.0);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestReductionsCompensated::reductionAddDoubles, input, result) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.execute();
+        }
+
+        // Each input is exactly (+/-large + its rounded small part), so the exact sum
+        // is the sum of the small parts
+        double reference = 0.0;
+        for (int i = 0; i < SIZE; i++) {
+            reference += input.get(i) - ((i % 2 == 0) ? large : -large);
+        }
+
+        assertEquals(reference, result.get(0), DELTA);
+    }
+}
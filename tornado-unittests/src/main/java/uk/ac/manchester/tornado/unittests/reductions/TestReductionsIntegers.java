@@ -201,6 +201,12 @@ public class TestReductionsIntegers extends TornadoTestBase {
         }
     }
 
+    private static void reductionAddIntsInitialValue(IntArray input, @Reduce IntArray result) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            result.set(0, result.get(0) + input.get(i));
+        }
+    }
+
     private static void maxReductionAnnotation2(IntArray input, @Reduce IntArray result, int neutral) {
         result.set(0, neutral);
         for (@Parallel int i = 0; i < input.getSize(); i++) {
@@ -686,4 +692,36 @@ public class TestReductionsIntegers extends TornadoTestBase {
         minReductionAnnotation2(input, sequential, Integer.MAX_VALUE);
         assertEquals(sequential.get(0), result.get(0));
     }
+
+    /**
+     * The input size is not a power of two, so GPUs reduce the leftover elements
+     * on the host (hybrid mode). The initial value of the result must be added
+     * only once across the device and host partial results.
+     */
+    @Test
+    public void testReductionAddHybridInitialValue() throws TornadoExecutionPlanException {
+        final int size = SIZE + 123;
+        final int initialValue = 1000;
+        IntArray input = new IntArray(size);
+        IntArray result = new IntArray(1);
+        result.init(initialValue);
+
+        Random r = new Random();
+        IntStream.range(0, size).forEach(idx -> input.set(idx, r.nextInt(100)));
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestReductionsIntegers::reductionAddIntsInitialValue, input, result) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.execute();
+        }
+
+        IntArray sequential = new IntArray(1);
+        sequential.init(initialValue);
+        reductionAddIntsInitialValue(input, sequential);
+        assertEquals(sequential.get(0), result.get(0));
+    }
 }
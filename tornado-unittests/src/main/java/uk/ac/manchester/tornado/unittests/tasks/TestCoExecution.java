@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.tasks;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.annotations.Reduce;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.runtime.TornadoRuntimeProvider;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+import uk.ac.manchester.tornado.unittests.common.TornadoVMMultiDeviceNotSupported;
+
+/**
+ * Test the co-execution of a task-graph across the host JVM and one or more
+ * devices.
+ *
+ * How to test?
+ *
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.tasks.TestCoExecution
+ * </code>
+ */
+public class TestCoExecution extends TornadoTestBase {
+
+    private static final int NUM_ELEMENTS = 1024 * 64;
+    private static final int ITERATIONS = 8;
+
+    public static void vectorAdd(FloatArray a, FloatArray b, FloatArray c) {
+        for (@Parallel int i = 0; i < c.getSize(); i++) {
+            c.set(i, a.get(i) + b.get(i));
+        }
+    }
+
+    public static void scale(FloatArray c, FloatArray lookup, FloatArray d) {
+        for (@Parallel int i = 0; i < d.getSize(); i++) {
+            d.set(i, c.get(i) * lookup.get(i % lookup.getSize()));
+        }
+    }
+
+    public static void vectorAddWithSize(FloatArray a, FloatArray b, FloatArray c, int size) {
+        for (@Parallel int i = 0; i < size; i++) {
+            c.set(i, a.get(i) + b.get(i));
+        }
+    }
+
+    public static void stencil(FloatArray a, FloatArray b) {
+        for (@Parallel int i = 0; i < b.getSize() - 1; i++) {
+            b.set(i, a.get(i) + a.get(i + 1));
+        }
+    }
+
+    public static void sum(IntArray input, @Reduce IntArray result) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            result.set(0, result.get(0) + input.get(i));
+        }
+    }
+
+    private static FloatArray createArray(int size, int offset) {
+        FloatArray array = new FloatArray(size);
+        IntStream.range(0, size).forEach(i -> array.set(i, i + offset));
+        return array;
+    }
+
+    @Test
+    public void testCoExecutionHostAndDefaultDevice() throws TornadoExecutionPlanException {
+        FloatArray a = createArray(NUM_ELEMENTS, 1);
+        FloatArray b = createArray(NUM_ELEMENTS, 2);
+        FloatArray c = new FloatArray(NUM_ELEMENTS);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestCoExecution::vectorAdd, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withCoExecution(true, TornadoExecutionPlan.DEFAULT_DEVICE);
+            // Several iterations, so partitions are resized between executions
+            for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+                c.init(0.0f);
+                executionPlan.execute();
+                for (int i = 0; i < NUM_ELEMENTS; i++) {
+                    assertEquals(a.get(i) + b.get(i), c.get(i), 0.01f);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCoExecutionTwoTasksWithBroadcast() throws TornadoExecutionPlanException {
+        FloatArray a = createArray(NUM_ELEMENTS, 1);
+        FloatArray b = createArray(NUM_ELEMENTS, 2);
+        FloatArray c = new FloatArray(NUM_ELEMENTS);
+        FloatArray d = new FloatArray(NUM_ELEMENTS);
+        FloatArray lookup = createArray(16, 0);
+
+        TaskGraph taskGraph = new TaskGraph("s1") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, lookup) //
+                .task("t0", TestCoExecution::vectorAdd, a, b, c) //
+                .task("t1", TestCoExecution::scale, c, lookup, d) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, d);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withCoExecution(true, TornadoExecutionPlan.DEFAULT_DEVICE).execute();
+        }
+
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            assertEquals((a.get(i) + b.get(i)) * lookup.get(i % lookup.getSize()), d.get(i), 0.01f);
+        }
+    }
+
+    @Test
+    public void testCoExecutionTwoDevices() throws TornadoExecutionPlanException {
+        if (TornadoRuntimeProvider.getTornadoRuntime().getBackend(0).getNumDevices() < 2) {
+            throw new TornadoVMMultiDeviceNotSupported("This test needs at least 2 devices enabled");
+        }
+
+        FloatArray a = createArray(NUM_ELEMENTS, 1);
+        FloatArray b = createArray(NUM_ELEMENTS, 2);
+        FloatArray c = new FloatArray(NUM_ELEMENTS);
+
+        TaskGraph taskGraph = new TaskGraph("s2") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestCoExecution::vectorAdd, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withCoExecution(false, TornadoExecutionPlan.getDevice(0, 0), TornadoExecutionPlan.getDevice(0, 1));
+            for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+                executionPlan.execute();
+            }
+        }
+
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            assertEquals(a.get(i) + b.get(i), c.get(i), 0.01f);
+        }
+    }
+
+    @Test(expected = TornadoRuntimeException.class)
+    public void testCoExecutionReductionNotSupported() throws TornadoExecutionPlanException {
+        IntArray input = new IntArray(NUM_ELEMENTS);
+        IntArray result = new IntArray(1);
+        input.init(1);
+
+        TaskGraph taskGraph = new TaskGraph("s3") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestCoExecution::sum, input, result) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withCoExecution(true, TornadoExecutionPlan.DEFAULT_DEVICE).execute();
+        }
+    }
+
+    @Test(expected = TornadoRuntimeException.class)
+    public void testCoExecutionSizeScalarNotSupported() throws TornadoExecutionPlanException {
+        FloatArray a = createArray(NUM_ELEMENTS, 0);
+        FloatArray b = createArray(NUM_ELEMENTS, 100);
+        FloatArray c = new FloatArray(NUM_ELEMENTS);
+
+        // The size would index out of the range of each partition
+        TaskGraph taskGraph = new TaskGraph("s4") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestCoExecution::vectorAddWithSize, a, b, c, NUM_ELEMENTS) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withCoExecution(true, TornadoExecutionPlan.DEFAULT_DEVICE).execute();
+        }
+    }
+
+    @Test(expected = TornadoRuntimeException.class)
+    public void testCoExecutionStencilNotSupported() throws TornadoExecutionPlanException {
+        FloatArray a = createArray(NUM_ELEMENTS, 0);
+        FloatArray b = new FloatArray(NUM_ELEMENTS);
+
+        // Thread i reads element i + 1, which belongs to the next partition at the
+        // end of each range
+        TaskGraph taskGraph = new TaskGraph("s5") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestCoExecution::stencil, a, b) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, b);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withCoExecution(true, TornadoExecutionPlan.DEFAULT_DEVICE).execute();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.unittests.tasks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.runtime.common.CompilerPool;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Testing task-graphs with many tasks on the same device, which are compiled
+ * concurrently during the warm-up or the first execution.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.tasks.TestParallelCompilation
+ * </code>
+ *
+ */
+public class TestParallelCompilation extends TornadoTestBase {
+
+    private static final int NUM_TASKS = 16;
+
+    public static void addValue(IntArray a, int value) {
+        for (@Parallel int i = 0; i < a.getSize(); i++) {
+            a.set(i, a.get(i) + value);
+        }
+    }
+
+    public static void multiplyValue(IntArray a, int value) {
+        for (@Parallel int i = 0; i < a.getSize(); i++) {
+            a.set(i, a.get(i) * value);
+        }
+    }
+
+    private static TaskGraph createTaskGraph(IntArray a) {
+        TaskGraph taskGraph = new TaskGraph("s0").transferToDevice(DataTransferMode.EVERY_EXECUTION, a);
+        for (int i = 0; i < NUM_TASKS; i++) {
+            if (i % 2 == 0) {
+                taskGraph.task("t" + i, TestParallelCompilation::addValue, a, i);
+            } else {
+                taskGraph.task("t" + i, TestParallelCompilation::multiplyValue, a, 2);
+            }
+        }
+        return taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, a);
+    }
+
+    private static int expectedValue(int initialValue) {
+        int value = initialValue;
+        for (int i = 0; i < NUM_TASKS; i++) {
+            value = (i % 2 == 0) ? value + i : value * 2;
+        }
+        return value;
+    }
+
+    @Test
+    public void testManyTasksWithWarmUp() throws TornadoExecutionPlanException {
+        final int numElements = 1024;
+        IntArray a = new IntArray(numElements);
+        a.init(1);
+
+        ImmutableTaskGraph immutableTaskGraph = createTaskGraph(a).snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withWarmUp();
+            executionPlan.execute();
+        }
+
+        final int expected = expectedValue(1);
+        for (int i = 0; i < a.getSize(); i++) {
+            assertEquals(expected, a.get(i));
+        }
+    }
+
+    @Test
+    public void testManyTasksFirstExecution() throws TornadoExecutionPlanException {
+        final int numElements = 1024;
+        IntArray a = new IntArray(numElements);
+        a.init(1);
+
+        ImmutableTaskGraph immutableTaskGraph = createTaskGraph(a).snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.execute();
+            final int expected = expectedValue(1);
+            for (int i = 0; i < a.getSize(); i++) {
+                assertEquals(expected, a.get(i));
+            }
+
+            // The second execution reuses the kernels compiled in the first one
+            a.init(1);
+            executionPlan.execute();
+            for (int i = 0; i < a.getSize(); i++) {
+                assertEquals(expected, a.get(i));
+            }
+        }
+    }
+
+    /**
+     * The compilation of the third task fails before the one of the second task.
+     * The error reported must still be the one of the second task, which is the
+     * first failing task in task order, and the tasks that compiled must be
+     * installed.
+     */
+    @Test
+    public void testFirstFailureInTaskOrderIsReported() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            CountDownLatch thirdTaskFailed = new CountDownLatch(1);
+            TornadoRuntimeException secondTaskError = new TornadoRuntimeException("t1");
+            TornadoRuntimeException thirdTaskError = new TornadoRuntimeException("t2");
+
+            List<Future<?>> compilations = new ArrayList<>();
+            compilations.add(CompletableFuture.runAsync(() -> {
+            }, executor));
+            compilations.add(CompletableFuture.runAsync(() -> {
+                try {
+                    thirdTaskFailed.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw secondTaskError;
+            }, executor));
+            compilations.add(CompletableFuture.runAsync(() -> {
+                thirdTaskFailed.countDown();
+                throw thirdTaskError;
+            }, executor));
+            compilations.add(CompletableFuture.runAsync(() -> {
+            }, executor));
+
+            List<Integer> installed = new ArrayList<>();
+            RuntimeException failure = CompilerPool.awaitInOrder(compilations, installed::add);
+
+            assertSame(secondTaskError, failure);
+            assertEquals(List.of(0, 3), installed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2025, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package uk.ac.manchester.tornado.unittests.tasks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.TornadoExecutionResult;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.ProfilerMode;
+import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.profiler.ProfilerType;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Testing the tiered compilation. The first executions run the kernels of the
+ * quick tier, and the following ones the optimised kernels, once they are
+ * compiled in the background. Results must be the same with both tiers.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V --jvm="-Dtornado.compiler.tiered=True" uk.ac.manchester.tornado.unittests.tasks.TestTieredCompilation
+ * </code>
+ *
+ */
+public class TestTieredCompilation extends TornadoTestBase {
+
+    private static final int ITERATIONS = 50;
+
+    public static void polynomial(FloatArray input, FloatArray output) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            float x = input.get(i);
+            float value = 0.0f;
+            // Constant trip count, fully unrolled by the optimised tier
+            for (int j = 0; j < 8; j++) {
+                value = value * x + j;
+            }
+            output.set(i, value);
+        }
+    }
+
+    public static void scale(FloatArray output, float alpha) {
+        for (@Parallel int i = 0; i < output.getSize(); i++) {
+            output.set(i, output.get(i) * alpha);
+        }
+    }
+
+    public static void countElements(IntArray input, AtomicInteger counter) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            input.set(i, counter.incrementAndGet());
+        }
+    }
+
+    private static float expected(float x, float alpha) {
+        float value = 0.0f;
+        for (int j = 0; j < 8; j++) {
+            value = value * x + j;
+        }
+        return value * alpha;
+    }
+
+    @Test
+    public void testTieredCompilation() throws TornadoExecutionPlanException {
+        final int numElements = 1024;
+        FloatArray input = new FloatArray(numElements);
+        FloatArray output = new FloatArray(numElements);
+        for (int i = 0; i < numElements; i++) {
+            input.set(i, (i % 16) * 0.125f);
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, input) //
+                .task("t0", TestTieredCompilation::polynomial, input, output) //
+                .task("t1", TestTieredCompilation::scale, output, 2.0f) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            // The optimised kernels are swapped in at some point during the iterations
+            for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+                executionPlan.execute();
+                for (int i = 0; i < numElements; i++) {
+                    assertEquals(expected(input.get(i), 2.0f), output.get(i), 0.01f);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sums the values of a launch counter over all the executions accumulated in
+     * the profiler log.
+     */
+    private static long countLaunches(String profileLog, ProfilerType tier) {
+        Matcher matcher = Pattern.compile("\"" + tier + "\": \"(\\d+)\"").matcher(profileLog);
+        long launches = 0;
+        while (matcher.find()) {
+            launches += Long.parseLong(matcher.group(1));
+        }
+        return launches;
+    }
+
+    /**
+     * The first execution launches the quick tier. The plan is executed until the
+     * optimised kernels are swapped in, so both launch counters must be reported.
+     */
+    @Test
+    public void testQuickAndOptimisedTiersAreLaunched() throws TornadoExecutionPlanException {
+        assertNotBackend(TornadoVMBackendType.PTX);
+        assertNotBackend(TornadoVMBackendType.SPIRV);
+
+        final int numElements = 1024;
+        FloatArray input = new FloatArray(numElements);
+        FloatArray output = new FloatArray(numElements);
+        for (int i = 0; i < numElements; i++) {
+            input.set(i, (i % 16) * 0.125f);
+        }
+
+        TaskGraph taskGraph = new TaskGraph("s1") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, input) //
+                .task("t0", TestTieredCompilation::polynomial, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.withProfiler(ProfilerMode.SILENT);
+
+            TornadoExecutionResult executionResult = executionPlan.execute();
+            assertEquals(1, countLaunches(executionResult.getProfilerResult().getProfileLog(), ProfilerType.TASK_LAUNCHES_QUICK_TIER));
+
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+            long optimisedLaunches = 0;
+            while (optimisedLaunches == 0 && System.nanoTime() < deadline) {
+                executionResult = executionPlan.execute();
+                optimisedLaunches = countLaunches(executionResult.getProfilerResult().getProfileLog(), ProfilerType.TASK_LAUNCHES_OPTIMISED_TIER);
+            }
+            assertTrue(optimisedLaunches > 0);
+            for (int i = 0; i < numElements; i++) {
+                assertEquals(expected(input.get(i), 1.0f), output.get(i), 0.01f);
+            }
+        }
+    }
+
+    /**
+     * Tasks with atomics are compiled with the optimised tier only.
+     */
+    @Test
+    public void testAtomicsAreNotTiered() throws TornadoExecutionPlanException {
+        assertNotBackend(TornadoVMBackendType.PTX);
+        assertNotBackend(TornadoVMBackendType.SPIRV);
+
+        final int numElements = 32;
+        final int initialValue = 311;
+        IntArray input = new IntArray(numElements);
+        AtomicInteger counter = new AtomicInteger(initialValue);
+
+        TaskGraph taskGraph = new TaskGraph("s2") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input, counter) //
+                .task("t0", TestTieredCompilation::countElements, input, counter) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, input, counter);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            TornadoExecutionResult executionResult = executionPlan.withProfiler(ProfilerMode.SILENT).execute();
+            String profileLog = executionResult.getProfilerResult().getProfileLog();
+            assertEquals(0, countLaunches(profileLog, ProfilerType.TASK_LAUNCHES_QUICK_TIER));
+            assertEquals(1, countLaunches(profileLog, ProfilerType.TASK_LAUNCHES_OPTIMISED_TIER));
+        }
+
+        assertEquals(initialValue + numElements, counter.get());
+    }
+
+}
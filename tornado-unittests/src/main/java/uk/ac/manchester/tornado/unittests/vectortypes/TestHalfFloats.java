@@ -30,7 +30,9 @@ import uk.ac.manchester.tornado.api.annotations.Parallel;
 import uk.ac.manchester.tornado.api.enums.DataTransferMode;
 import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
 import uk.ac.manchester.tornado.api.types.HalfFloat;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
 import uk.ac.manchester.tornado.api.types.arrays.HalfFloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.ShortArray;
 import uk.ac.manchester.tornado.api.types.collections.VectorHalf;
 import uk.ac.manchester.tornado.api.types.collections.VectorHalf16;
 import uk.ac.manchester.tornado.api.types.collections.VectorHalf2;
@@ -148,6 +150,20 @@ public class TestHalfFloats extends TornadoTestBase {
         output.set(0, sum);
     }
 
+    public static void scaleWithPrimitiveAccessors(HalfFloatArray input, HalfFloatArray output) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            output.setFloat(i, input.getFloat(i) * 2.0f + 1.0f);
+        }
+    }
+
+    public static void exponentOfHalfFloat(FloatArray input, ShortArray output) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            // the float-16 bits are not stored as a half float, but used as a short value
+            short halfFloatBits = Float.floatToFloat16(input.get(i));
+            output.set(i, (short) ((halfFloatBits >> 10) & 0x1F));
+        }
+    }
+
     public static void testPrivateVectorHalf2(VectorHalf2 output) {
         VectorHalf2 vectorHalf2 = new VectorHalf2(output.getLength());
 
@@ -927,6 +943,83 @@ public class TestHalfFloats extends TornadoTestBase {
         }
     }
 
+    @Test
+    public void testPrimitiveAccessors() throws TornadoExecutionPlanException {
+        final int size = 1024;
+        HalfFloatArray input = new HalfFloatArray(size);
+        HalfFloatArray output = new HalfFloatArray(size);
+        HalfFloatArray sequentialOutput = new HalfFloatArray(size);
+
+        Random r = new Random();
+        for (int i = 0; i < size; i++) {
+            input.setFloat(i, r.nextFloat());
+        }
+
+        TaskGraph graph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestHalfFloats::scaleWithPrimitiveAccessors, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = graph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.execute();
+        }
+
+        scaleWithPrimitiveAccessors(input, sequentialOutput);
+
+        for (int i = 0; i < size; i++) {
+            assertEquals(sequentialOutput.getFloat(i), output.getFloat(i), DELTA);
+        }
+    }
+
+    @Test
+    public void testFloatToFloat16Bits() throws TornadoExecutionPlanException {
+        final int size = 1024;
+        FloatArray input = new FloatArray(size);
+        ShortArray output = new ShortArray(size);
+        ShortArray sequentialOutput = new ShortArray(size);
+
+        Random r = new Random();
+        for (int i = 0; i < size; i++) {
+            input.set(i, (r.nextFloat() - 0.5f) * 1000.0f);
+        }
+
+        TaskGraph graph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestHalfFloats::exponentOfHalfFloat, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        ImmutableTaskGraph immutableTaskGraph = graph.snapshot();
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph)) {
+            executionPlan.execute();
+        }
+
+        exponentOfHalfFloat(input, sequentialOutput);
+
+        for (int i = 0; i < size; i++) {
+            assertEquals(sequentialOutput.get(i), output.get(i));
+        }
+    }
+
+    @Test
+    public void testBulkFloatConversion() {
+        final int size = 4096;
+        FloatArray floats = new FloatArray(size);
+        Random r = new Random();
+        for (int i = 0; i < size; i++) {
+            floats.set(i, r.nextFloat());
+        }
+
+        HalfFloatArray halfFloats = HalfFloatArray.fromFloatArray(floats);
+        FloatArray converted = halfFloats.toFloatArray();
+
+        for (int i = 0; i < size; i++) {
+            assertEquals(Float.floatToFloat16(floats.get(i)), halfFloats.getRawShort(i));
+            assertEquals(halfFloats.get(i).getFloat32(), halfFloats.getFloat(i), 0.0f);
+            assertEquals(floats.get(i), converted.get(i), DELTA);
+        }
+    }
+
     @Test(timeout = 1000) //timeout of 1sec
     public void testAllocationIssue() {
         int size = 8192 * 4096;